@@ -0,0 +1,661 @@
+package com.lethe_river.util.primitive.codegen;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * codegen/templates以下のテンプレートからプリミティブ型のコレクションと写像の実装を生成する.
+ *
+ * <pre>
+ * java com.lethe_river.util.primitive.codegen.PrimitiveTemplates codegen/templates src
+ * </pre>
+ *
+ * テンプレート中の${name}を型ごとの文字列で置き換え，
+ * 出力先のcom/lethe_river/util/primitive以下に書き出す．
+ * ${name(式)}は変数の値を関数名として式に適用する．値が空文字列のときは式をそのまま残す．
+ *
+ * コレクションのテンプレートは要素型ごとに生成する．
+ * 要素型ごとに異なるStreamなどのビューはcodegen/templates/fragments以下の断片を${views}に，
+ * 特定の型にのみ存在する操作は同じく${extras}に埋め込む．
+ * 拡大する型の断片がなければ拡大しない型の断片を用いる．
+ * ${imports}は生成結果で用いられている型からimport宣言を組み立てて置き換える．
+ *
+ * 写像のテンプレートは始域と終域の型の組ごとに，像がオブジェクトの写像は始域の型ごとに生成する．
+ * 始域はint, long，終域はint, long, doubleに限り，それ以外の型の写像は生成しない．
+ * 手書きで最適化されているScatterIntIntMapは生成対象に含めない．
+ * テーブルをヒープ外に置く写像は値がintの組についてのみ生成する．
+ *
+ * @author YuyaAizawa
+ *
+ */
+public final class PrimitiveTemplates {
+	private PrimitiveTemplates() {}
+
+	private static final Pattern VARIABLE = Pattern.compile("\\$\\{([A-Za-z]+)(?:\\(((?:[^()]|\\([^()]*\\))*)\\))?\\}");
+
+	private static final String PACKAGE_DIR = "com/lethe_river/util/primitive";
+
+	// import宣言の挿入位置を表す印
+	private static final String IMPORTS_MARKER = "\u0000imports\u0000";
+
+	/**
+	 * 生成結果に現れたときにimportする型.
+	 */
+	private static final String[] IMPORTABLE = {
+			"java.io.IOException",
+			"java.io.InvalidObjectException",
+			"java.io.ObjectInputStream",
+			"java.io.ObjectOutputStream",
+			"java.io.Serializable",
+			"java.lang.reflect.Array",
+			"java.nio.channels.ReadableByteChannel",
+			"java.nio.channels.WritableByteChannel",
+			"java.util.AbstractCollection",
+			"java.util.AbstractList",
+			"java.util.AbstractSet",
+			"java.util.Arrays",
+			"java.util.Collection",
+			"java.util.ConcurrentModificationException",
+			"java.util.Iterator",
+			"java.util.List",
+			"java.util.ListIterator",
+			"java.util.NoSuchElementException",
+			"java.util.Objects",
+			"java.util.PrimitiveIterator",
+			"java.util.RandomAccess",
+			"java.util.Set",
+			"java.util.Spliterator",
+			"java.util.Spliterators",
+			"java.util.StringJoiner",
+			"java.util.function.Consumer",
+			"java.util.function.DoubleBinaryOperator",
+			"java.util.function.DoubleConsumer",
+			"java.util.function.IntBinaryOperator",
+			"java.util.function.IntConsumer",
+			"java.util.function.IntToDoubleFunction",
+			"java.util.function.IntToLongFunction",
+			"java.util.function.IntUnaryOperator",
+			"java.util.function.LongBinaryOperator",
+			"java.util.function.LongConsumer",
+			"java.util.stream.DoubleStream",
+			"java.util.stream.IntStream",
+			"java.util.stream.LongStream",
+			"java.util.stream.StreamSupport",
+			"com.lethe_river.util.primitive.HashSupport",
+			"com.lethe_river.util.primitive.IntIntHash",
+			"com.lethe_river.util.primitive.LongLongHash",
+			"com.lethe_river.util.primitive.function.ByteConsumer",
+			"com.lethe_river.util.primitive.function.CharConsumer",
+			"com.lethe_river.util.primitive.function.FloatConsumer",
+			"com.lethe_river.util.primitive.function.IntToByteFunction",
+			"com.lethe_river.util.primitive.function.IntToCharFunction",
+			"com.lethe_river.util.primitive.function.IntToFloatFunction",
+			"com.lethe_river.util.primitive.function.IntToShortFunction",
+			"com.lethe_river.util.primitive.function.ShortConsumer",
+	};
+
+	/**
+	 * 要素型ごとのビューの種類.
+	 * fragments以下の断片の名前に用いる．
+	 */
+	enum Views {
+		// java.util.PrimitiveIteratorとStreamが用意されている型
+		WIDE("Wide"),
+		// intに符号付きと符号無しで拡張する型
+		SIGNED("Signed"),
+		// 1通りに拡張する型
+		WIDENED("Widened");
+
+		final String fragment;
+
+		Views(String fragment) {
+			this.fragment = fragment;
+		}
+	}
+
+	/**
+	 * コレクションの要素，写像の始域，終域に用いる型.
+	 */
+	enum Type {
+		INT("int", "Int", "Integer", "i", "is", Views.WIDE, null, true,
+				"HashSupport.thomasMueller(j)", 6035304906597368933L, 79705527432289910L),
+		LONG("long", "Long", "Long", "l", "ls", Views.WIDE, null, true,
+				"HashSupport.thomasMueller((int)j)", -4425683470911938021L, -8146814681573930878L),
+		DOUBLE("double", "Double", "Double", "d", "ds", Views.WIDE, null, false,
+				"HashSupport.thomasMueller(Double.hashCode(j))", 2987165127331146460L, 5377912644906457263L),
+		BYTE("byte", "Byte", "Byte", "b", "bs", Views.SIGNED, INT, true,
+				"HashSupport.thomasMueller(j)", 9164685108597624187L, -2209413873564013950L),
+		SHORT("short", "Short", "Short", "s", "ss", Views.SIGNED, INT, false,
+				"HashSupport.thomasMueller(j)", -6730944861570125396L, 4616702968421053372L),
+		CHAR("char", "Char", "Character", "ch", "chs", Views.WIDENED, INT, true,
+				"HashSupport.thomasMueller(j)", 1549276315688203117L, 236463521532321741L),
+		FLOAT("float", "Float", "Float", "f", "fs", Views.WIDENED, DOUBLE, false,
+				"HashSupport.thomasMueller(Float.floatToIntBits(j))", -8068215570236693978L, -7330285162094773421L);
+
+		final String primitive;
+		final String capital;
+		final String boxed;
+		final String element;
+		final String elements;
+		final Views views;
+		// java.util.streamで扱うために拡張する先の型(拡張しない型ではnull)
+		final Type widened;
+		// SortedSetが用意されているか
+		final boolean sorted;
+		// AbstractSet#hashCode()で要素jに用いるハッシュ
+		final String elementHash;
+		// ArrayListのSerializationProxyのserialVersionUID
+		final long listSerialVersionUID;
+		// ScatterSetのSerializationProxyのserialVersionUID
+		final long setSerialVersionUID;
+
+		Type(String primitive, String capital, String boxed, String element, String elements,
+				Views views, Type widened, boolean sorted, String elementHash,
+				long listSerialVersionUID, long setSerialVersionUID) {
+			this.primitive = primitive;
+			this.capital = capital;
+			this.boxed = boxed;
+			this.element = element;
+			this.elements = elements;
+			this.views = views;
+			this.widened = widened;
+			this.sorted = sorted;
+			this.elementHash = elementHash;
+			this.listSerialVersionUID = listSerialVersionUID;
+			this.setSerialVersionUID = setSerialVersionUID;
+		}
+
+		/**
+		 * java.util.PrimitiveIteratorが用意されている型かを返す.
+		 * @return 用意されていればtrue
+		 */
+		boolean wide() {
+			return widened == null;
+		}
+
+		/**
+		 * 要素の同一性を比べるための値に変換する関数名を返す.
+		 * 浮動小数点数は{@link Double#equals(Object)}と同じくビット列で比べる．
+		 * @return 関数名(変換しない型では空文字列)
+		 */
+		String raw() {
+			switch(this) {
+			case DOUBLE:
+				return "Double.doubleToLongBits";
+			case FLOAT:
+				return "Float.floatToIntBits";
+			default:
+				return "";
+			}
+		}
+
+		/**
+		 * 拡張した値を元の型の値に戻す関数を返す.
+		 * @return ラッパー型の関数を表す式(拡張しない型では空文字列)
+		 */
+		String narrowing() {
+			switch(this) {
+			case CHAR:
+				return "i -> (char)(int)i";
+			case FLOAT:
+				return "Double::floatValue";
+			default:
+				return wide() ? "" : widened.boxed+"::"+primitive+"Value";
+			}
+		}
+
+		/**
+		 * ScatterSetで要素jの位置を決めるハッシュの式を返す.
+		 * @return 式(符号は問わない)
+		 */
+		String slotHash() {
+			switch(this) {
+			case LONG:
+				return "((int) HashSupport.thomasMueller(j))";
+			case DOUBLE:
+				return "((int) HashSupport.thomasMueller(Double.doubleToLongBits(j)))";
+			case FLOAT:
+				return "HashSupport.thomasMueller(Float.floatToIntBits(j))";
+			default:
+				return "HashSupport.thomasMueller(j)";
+			}
+		}
+
+		/**
+		 * ScatterSetの位置を決めるハッシュ関数の指紋を求める式を返す.
+		 * @return 式
+		 */
+		String setFingerprint() {
+			String hash = "Scatter"+capital+"Set::hash";
+			switch(this) {
+			case INT:
+				return "PrimitiveCodec.fingerprintOfInt("+hash+")";
+			case LONG:
+				return "PrimitiveCodec.fingerprintOfLong("+hash+")";
+			case DOUBLE:
+				return "PrimitiveCodec.fingerprintOfLong(l -> hash(Double.longBitsToDouble(l)))";
+			case FLOAT:
+				return "PrimitiveCodec.fingerprintOfInt(i -> hash(Float.intBitsToFloat(i)))";
+			default:
+				return "PrimitiveCodec.fingerprintOfInt(i -> hash(("+primitive+")i))";
+			}
+		}
+
+		/**
+		 * 位置から要素を求める関数の型を返す.
+		 * @return 関数型の単純名
+		 */
+		String indexFunction() {
+			switch(this) {
+			case INT:
+				return "IntUnaryOperator";
+			default:
+				return "IntTo"+capital+"Function";
+			}
+		}
+
+		/**
+		 * 要素型としての変数を登録する.
+		 * @param vars 登録先
+		 */
+		void putElementVariables(Map<String, String> vars) {
+			vars.put("t", primitive);
+			vars.put("T", capital);
+			vars.put("TName", name());
+			vars.put("TBoxed", boxed);
+			vars.put("e", element);
+			vars.put("es", elements);
+			vars.put("raw", raw());
+			vars.put("Iterator", wide() ? "PrimitiveIterator.Of"+capital : capital+"Iterator");
+			vars.put("next", "next"+capital);
+			vars.put("Consumer", capital+"Consumer");
+			vars.put("elementHash", elementHash);
+			vars.put("SortedSetOrSet", sorted ? capital+"SortedSet" : capital+"Set");
+			Type w = wide() ? this : widened;
+			vars.put("w", w.primitive);
+			vars.put("W", w.capital);
+			vars.put("WBoxed", w.boxed);
+			vars.put("narrowing", narrowing());
+			vars.put("IndexFunction", indexFunction());
+			vars.put("listSerialVersionUID", listSerialVersionUID+"L");
+			vars.put("setSerialVersionUID", setSerialVersionUID+"L");
+			vars.put("slotHash", slotHash());
+			vars.put("setFingerprint", setFingerprint());
+		}
+
+		/**
+		 * 始域に関する変数を登録する.
+		 * @param vars 登録先
+		 */
+		void putKeyVariables(Map<String, String> vars) {
+			vars.put("k", primitive);
+			vars.put("K", capital);
+			vars.put("KBoxed", boxed);
+			vars.put("kElem", element);
+			vars.put("keyHash", capital+capital+"Hash");
+			vars.put("randomizedKeyHash", "randomized"+capital+capital+"Hash");
+			vars.put("hashBody", hashBody());
+		}
+
+		private String hashBody() {
+			switch(this) {
+			case INT:
+				return "return Integer.MAX_VALUE & hashFunction.hash(i);";
+			case LONG:
+				return "long h = hashFunction.hash(l);\n\t\treturn Integer.MAX_VALUE & ((int)(h^(h>>>32)));";
+			default:
+				throw new IllegalStateException("no hash function for "+this);
+			}
+		}
+	}
+
+	/**
+	 * 生成する写像の型の組.
+	 */
+	enum Pair {
+		// ScatterIntIntMapは手書きのため，インタフェースとカーソルのみ生成する
+		INT_INT(Type.INT, Type.INT, 3220698768531770632L, false),
+		INT_LONG(Type.INT, Type.LONG, 6203447128455063731L, true),
+		LONG_INT(Type.LONG, Type.INT, 4859447273358466041L, true),
+		LONG_LONG(Type.LONG, Type.LONG, -2946028712583364127L, true),
+		INT_DOUBLE(Type.INT, Type.DOUBLE, 7391054418826620913L, true),
+		LONG_DOUBLE(Type.LONG, Type.DOUBLE, -1582270934667459302L, true);
+
+		final Type key;
+		final Type value;
+		final long serialVersionUID;
+		// Scatter実装を生成するか
+		final boolean scatter;
+
+		Pair(Type key, Type value, long serialVersionUID, boolean scatter) {
+			this.key = key;
+			this.value = value;
+			this.serialVersionUID = serialVersionUID;
+			this.scatter = scatter;
+		}
+
+		Map<String, String> variables() {
+			Map<String, String> vars = new HashMap<>();
+			key.putKeyVariables(vars);
+			vars.put("v", value.primitive);
+			vars.put("V", value.capital);
+			vars.put("VBoxed", value.boxed);
+			vars.put("vRaw", value.raw());
+			vars.put("serialVersionUID", String.valueOf(serialVersionUID));
+			vars.put("codecKind", "PrimitiveCodec.SCATTER_"+key.name()+"_"+value.name()+"_MAP");
+			vars.put("scatterFunctionImports", functionImports(
+					key.capital+"Consumer", value.capital+"Consumer", value.capital+"UnaryOperator"));
+			return vars;
+		}
+
+		String prefix() {
+			return key.capital + value.capital;
+		}
+	}
+
+	/**
+	 * テーブルをヒープ外に置く写像を生成する型の組.
+	 */
+	enum OffHeapPair {
+		INT_INT(Pair.INT_INT, 6406405163812880125L),
+		LONG_INT(Pair.LONG_INT, -2730938101626390853L);
+
+		final Pair pair;
+		final long serialVersionUID;
+
+		OffHeapPair(Pair pair, long serialVersionUID) {
+			this.pair = pair;
+			this.serialVersionUID = serialVersionUID;
+		}
+
+		Map<String, String> variables() {
+			Map<String, String> vars = pair.variables();
+			vars.put("serialVersionUID", String.valueOf(serialVersionUID));
+			vars.put("imports", IMPORTS_MARKER);
+			// valueの位置をkeyの大きさに揃える
+			int keyBytes = pair.key == Type.LONG ? 8 : 4;
+			vars.put("slot", String.valueOf(keyBytes * 2));
+			vars.put("valueOffset", String.valueOf(keyBytes));
+			vars.put("slotComment", keyBytes == 4 ?
+					"エントリのバイト数 keyとvalueを並べて置く" :
+					"エントリのバイト数 keyとvalueを並べて置き，境界を揃えるため4バイトを空ける");
+			return vars;
+		}
+
+		String prefix() {
+			return pair.prefix();
+		}
+	}
+
+	/**
+	 * 像がオブジェクトの写像を生成する始域の型.
+	 */
+	enum ObjectKey {
+		INT(Type.INT, -5034127843469210658L),
+		LONG(Type.LONG, 3412783046619052519L);
+
+		final Type key;
+		final long serialVersionUID;
+
+		ObjectKey(Type key, long serialVersionUID) {
+			this.key = key;
+			this.serialVersionUID = serialVersionUID;
+		}
+
+		Map<String, String> variables() {
+			Map<String, String> vars = new HashMap<>();
+			key.putKeyVariables(vars);
+			vars.put("serialVersionUID", String.valueOf(serialVersionUID));
+			return vars;
+		}
+
+		String prefix() {
+			return key.capital;
+		}
+	}
+
+	/**
+	 * テンプレートを展開する型の範囲.
+	 */
+	enum Scope {
+		// 全ての要素型
+		ELEMENT,
+		// java.util.PrimitiveIteratorが用意されていない要素型
+		NARROW_ELEMENT,
+		// intに符号付きと符号無しで拡張する要素型
+		SIGNED_ELEMENT,
+		// 写像の始域と終域の組
+		PAIR,
+		// 手書きの実装がない写像の始域と終域の組
+		SCATTER_PAIR,
+		// テーブルをヒープ外に置く写像の始域と終域の組
+		OFF_HEAP_PAIR,
+		// 像がオブジェクトの写像の始域
+		OBJECT_KEY
+	}
+
+	/**
+	 * テンプレートとそれから生成されるクラス名の対応.
+	 */
+	enum Template {
+		CONSUMER("Consumer", "function", "%sConsumer", Scope.NARROW_ELEMENT),
+		INDEX_FUNCTION("IndexFunction", "function", "IntTo%sFunction", Scope.NARROW_ELEMENT),
+		ITERATOR("Iterator", "collection", "%sIterator", Scope.NARROW_ELEMENT),
+		SPLITERATOR("Spliterator", "collection", "%sSpliterator", Scope.SIGNED_ELEMENT),
+		ITERABLE("Iterable", "collection", "%sIterable", Scope.ELEMENT),
+		COLLECTION("Collection", "collection", "%sCollection", Scope.ELEMENT),
+		SET("Set", "collection", "%sSet", Scope.ELEMENT),
+		LIST("List", "collection", "%sList", Scope.ELEMENT),
+		LIST_ITERATOR("ListIterator", "collection", "%sListIterator", Scope.ELEMENT),
+		ABSTRACT_COLLECTION("AbstractCollection", "collection", "Abstract%sCollection", Scope.ELEMENT),
+		ABSTRACT_SET("AbstractSet", "collection", "Abstract%sSet", Scope.ELEMENT),
+		ABSTRACT_LIST("AbstractList", "collection", "Abstract%sList", Scope.ELEMENT),
+		ARRAY_LIST("ArrayList", "collection", "Array%sList", Scope.ELEMENT),
+		BOXED_COLLECTION("BoxedCollection", "collection", "Boxed%sCollection", Scope.ELEMENT),
+		BOXED_SET("BoxedSet", "collection", "Boxed%sSet", Scope.ELEMENT),
+		BOXED_LIST("BoxedList", "collection", "Boxed%sList", Scope.ELEMENT),
+		SCATTER_SET("ScatterSet", "collection", "Scatter%sSet", Scope.ELEMENT),
+		MAP("KeyValueMap", "collection", "%sMap", Scope.PAIR),
+		CURSOR("KeyValueCursor", "collection", "%sCursor", Scope.PAIR),
+		SCATTER_MAP("ScatterKeyValueMap", "collection", "Scatter%sMap", Scope.SCATTER_PAIR),
+		OFF_HEAP_MAP("OffHeapKeyValueMap", "collection", "OffHeap%sMap", Scope.OFF_HEAP_PAIR),
+		OBJECT_MAP("KeyObjectMap", "collection", "%sObjectMap", Scope.OBJECT_KEY),
+		OBJECT_CURSOR("KeyObjectCursor", "collection", "%sObjectCursor", Scope.OBJECT_KEY),
+		SCATTER_OBJECT_MAP("ScatterKeyObjectMap", "collection", "Scatter%sObjectMap", Scope.OBJECT_KEY);
+
+		final String file;
+		final String packageName;
+		final String className;
+		final Scope scope;
+
+		Template(String file, String packageName, String className, Scope scope) {
+			this.file = file;
+			this.packageName = packageName;
+			this.className = className;
+			this.scope = scope;
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if(args.length != 2) {
+			System.err.println("usage: PrimitiveTemplates <template dir> <source dir>");
+			System.exit(1);
+		}
+		Path templateDir = Paths.get(args[0]);
+		Path outputDir = Paths.get(args[1]).resolve(PACKAGE_DIR);
+
+		for(Template template : Template.values()) {
+			String source = read(templateDir.resolve(template.file + ".java.template"));
+			switch(template.scope) {
+			case ELEMENT:
+			case NARROW_ELEMENT:
+			case SIGNED_ELEMENT:
+				for(Type type : Type.values()) {
+					if(template.scope == Scope.NARROW_ELEMENT && type.wide()) {
+						continue;
+					}
+					if(template.scope == Scope.SIGNED_ELEMENT && type.views != Views.SIGNED) {
+						continue;
+					}
+					Map<String, String> vars = elementVariables(templateDir, template, type);
+					write(outputDir, template, type.capital, expand(source, vars));
+				}
+				break;
+			case PAIR:
+			case SCATTER_PAIR:
+				for(Pair pair : Pair.values()) {
+					if(template.scope == Scope.SCATTER_PAIR && !pair.scatter) {
+						continue;
+					}
+					write(outputDir, template, pair.prefix(), expand(source, pair.variables()));
+				}
+				break;
+			case OFF_HEAP_PAIR:
+				for(OffHeapPair pair : OffHeapPair.values()) {
+					write(outputDir, template, pair.prefix(), expand(source, pair.variables()));
+				}
+				break;
+			case OBJECT_KEY:
+				for(ObjectKey key : ObjectKey.values()) {
+					write(outputDir, template, key.prefix(), expand(source, key.variables()));
+				}
+				break;
+			}
+		}
+	}
+
+	/**
+	 * 要素型のテンプレートに用いる変数を返す.
+	 * ${views}と${extras}にはfragments以下の断片を展開したものを登録する．
+	 * @param templateDir テンプレートのディレクトリ
+	 * @param template テンプレート
+	 * @param type 要素型
+	 * @return 変数名から値への対応
+	 * @throws IOException 断片の読み込みに失敗した場合
+	 */
+	static Map<String, String> elementVariables(Path templateDir, Template template, Type type) throws IOException {
+		Map<String, String> vars = new HashMap<>();
+		type.putElementVariables(vars);
+		vars.put("imports", IMPORTS_MARKER);
+		Path fragments = templateDir.resolve("fragments");
+		Path views = fragments.resolve(template.file + "." + type.views.fragment + ".fragment");
+		if(type.views == Views.WIDENED && !Files.exists(views)) {
+			views = fragments.resolve(template.file + "." + Views.WIDE.fragment + ".fragment");
+		}
+		vars.put("views", fragment(views, vars));
+		vars.put("extras", fragment(fragments.resolve(template.file + "." + type.capital + ".fragment"), vars));
+		return vars;
+	}
+
+	/**
+	 * 断片を読み込んで展開する.
+	 * @param path 断片のパス
+	 * @param vars 変数名から値への対応
+	 * @return 展開した断片，断片が存在しなければ空文字列
+	 * @throws IOException 読み込みに失敗した場合
+	 */
+	private static String fragment(Path path, Map<String, String> vars) throws IOException {
+		if(!Files.exists(path)) {
+			return "";
+		}
+		return expand(read(path), vars);
+	}
+
+	/**
+	 * java.util.functionの型のimport宣言を重複を除いて名前順に並べる.
+	 * 始域と終域が同じ型のときに同じ宣言が並ばないようにする．
+	 * @param names 型の単純名
+	 * @return import宣言(末尾の改行を含まない)
+	 */
+	static String functionImports(String... names) {
+		return Arrays.stream(names)
+				.distinct()
+				.sorted()
+				.map(name -> "import java.util.function."+name+";")
+				.collect(Collectors.joining("\n"));
+	}
+
+	/**
+	 * 生成結果のコードで用いられている型のimport宣言を組み立てる.
+	 * コメントと文字列リテラルは除いて調べる．同じパッケージの型はimportしない．
+	 * java以下とそれ以外の宣言は空行で区切る．
+	 * @param source 生成結果
+	 * @param packageName 生成結果のパッケージ名
+	 * @return import宣言(末尾の改行を含まない)
+	 */
+	static String imports(String source, String packageName) {
+		String code = source
+				.replaceAll("(?s)/\\*.*?\\*/", "")
+				.replaceAll("//[^\n]*", "")
+				.replaceAll("\"(\\\\.|[^\"\\\\])*\"", "\"\"");
+		TreeSet<String> java = new TreeSet<>();
+		TreeSet<String> others = new TreeSet<>();
+		for(String name : IMPORTABLE) {
+			int dot = name.lastIndexOf('.');
+			if(name.substring(0, dot).equals(packageName)) {
+				continue;
+			}
+			if(Pattern.compile("(?<![\\w.])" + name.substring(dot + 1) + "\\b").matcher(code).find()) {
+				(name.startsWith("java.") ? java : others).add("import "+name+";");
+			}
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.join("\n", java));
+		if(!java.isEmpty() && !others.isEmpty()) {
+			sb.append("\n\n");
+		}
+		sb.append(String.join("\n", others));
+		return sb.toString();
+	}
+
+	private static String read(Path path) throws IOException {
+		return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+	}
+
+	private static void write(Path outputDir, Template template, String prefix, String source) throws IOException {
+		String className = String.format(template.className, prefix);
+		if(source.contains(IMPORTS_MARKER)) {
+			String packageName = (PACKAGE_DIR + "/" + template.packageName).replace('/', '.');
+			source = source.replace(IMPORTS_MARKER, imports(source, packageName));
+		}
+		Path output = outputDir.resolve(template.packageName).resolve(className + ".java");
+		Files.write(output, source.getBytes(StandardCharsets.UTF_8));
+		System.out.println(output);
+	}
+
+	/**
+	 * テンプレート中の${name}と${name(式)}を置き換える.
+	 * @param template テンプレート
+	 * @param vars 変数名から値への対応
+	 * @return 置き換えた結果
+	 * @throws IllegalArgumentException 未定義の変数が含まれていた場合
+	 */
+	static String expand(String template, Map<String, String> vars) {
+		Matcher m = VARIABLE.matcher(template);
+		StringBuffer sb = new StringBuffer();
+		while(m.find()) {
+			String value = vars.get(m.group(1));
+			if(value == null) {
+				throw new IllegalArgumentException("undefined variable: "+m.group());
+			}
+			String argument = m.group(2);
+			if(argument != null) {
+				argument = expand(argument, vars);
+				value = value.isEmpty() ? argument : value+"("+argument+")";
+			}
+			m.appendReplacement(sb, Matcher.quoteReplacement(value));
+		}
+		m.appendTail(sb);
+		return sb.toString();
+	}
+}
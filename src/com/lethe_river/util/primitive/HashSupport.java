@@ -1,5 +1,7 @@
 package com.lethe_river.util.primitive;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * ハッシュを利用するときに使うユーティリティ
  * ハッシュ関数は以下のサイトを参照した．
@@ -111,6 +113,38 @@ public class HashSupport {
 		return hash32shiftmult(0x27d4eb2d, i);
 	}
 
+	/**
+	 * 乱数で選んだsaltを用いる{@link #hash32shiftmult(int, int)}を返す.
+	 * インスタンスごとに異なるハッシュ関数を使うことで，入力の分布や
+	 * 意図的に選ばれた入力によって衝突が偏ることを防ぐ．
+	 * @return saltを固定したハッシュ関数
+	 */
+	public static IntIntHash randomizedIntIntHash() {
+		int salt = ThreadLocalRandom.current().nextInt() | 1;
+		return i -> hash32shiftmult(salt, i);
+	}
+
+	/**
+	 * 乱数で選んだsaltを用いる{@link #hash32shiftmult(int, int)}をlong値に拡張したものを返す.
+	 * 下位32bitのハッシュと上位32bitを合わせて再度ハッシュする．
+	 * @return saltを固定したハッシュ関数
+	 */
+	public static LongLongHash randomizedLongLongHash() {
+		int salt = ThreadLocalRandom.current().nextInt() | 1;
+		return l -> hash32shiftmult(salt, ((int)(l>>>32)) ^ hash32shiftmult(salt, (int)l));
+	}
+
+	/**
+	 * 乱数で選んだsaltとxorしてから{@link #thomasMueller(long)}を適用するハッシュ関数を返す.
+	 * {@link #randomizedLongLongHash()}と異なり64bitすべてが撹拌されるため，
+	 * 2^32を超える長さのテーブルの位置決めに用いることができる．
+	 * @return saltを固定したハッシュ関数
+	 */
+	public static LongLongHash randomizedThomasMueller() {
+		long salt = ThreadLocalRandom.current().nextLong();
+		return l -> thomasMueller(l ^ salt);
+	}
+
 	public static int robertJenkins(int i) {
 		i = (i+0x7ed55d16) + (i<<12);
 		i = (i^0xc761c23c) ^ (i>>>19);
@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/AbstractCollection.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.StringJoiner;
@@ -8,8 +9,11 @@ import java.util.StringJoiner;
  *
  */
 public abstract class AbstractByteCollection implements ByteCollection {
-	protected AbstractByteCollection() {
 
+	/**
+	 * 基底の(そして規定の)コンストラクタ
+	 */
+	protected AbstractByteCollection() {
 	}
 
 	@Override
@@ -22,7 +26,7 @@ public abstract class AbstractByteCollection implements ByteCollection {
 
 	@Override
 	public void clear() {
-		for(ByteIterator i = iterator();i.hasNext();) {
+		for (ByteIterator i = iterator();i.hasNext();) {
 			i.nextByte();
 			i.remove();
 		}
@@ -41,10 +45,11 @@ public abstract class AbstractByteCollection implements ByteCollection {
 	@Override
 	public abstract ByteIterator iterator();
 
+
 	@Override
-	public boolean contains(byte i) {
+	public boolean contains(byte b) {
 		for (ByteIterator it = iterator();it.hasNext();) {
-			if (i == it.nextByte()) {
+			if (b == it.nextByte()) {
 				return true;
 			}
 		}
@@ -53,24 +58,26 @@ public abstract class AbstractByteCollection implements ByteCollection {
 
 	@Override
 	public boolean containsAll(byte... bs) {
-		boolean f = false;
 		for (int i = 0; i < bs.length; i++) {
-			f &= contains(bs[i]);
+			if(!contains(bs[i])) {
+				return false;
+			}
 		}
-		return f;
+		return true;
 	}
 
 	@Override
 	public boolean containsAll(ByteCollection bs) {
-		boolean f = false;
 		for (ByteIterator it = bs.iterator();it.hasNext();) {
-			f &= contains(it.nextByte());
+			if(!contains(it.nextByte())) {
+				return false;
+			}
 		}
-		return f;
+		return true;
 	}
 
 	@Override
-	public boolean add(byte i) {
+	public boolean add(byte b) {
 		throw new UnsupportedOperationException();
 	}
 
@@ -80,7 +87,7 @@ public abstract class AbstractByteCollection implements ByteCollection {
 	}
 
 	@Override
-	public boolean addAll(byte bs[], int offset, int length) {
+	public boolean addAll(byte[] bs, int offset, int length) {
 		PrimitiveSupport.checkBounds(bs, offset, length);
 
 		boolean changed = false;
@@ -91,25 +98,19 @@ public abstract class AbstractByteCollection implements ByteCollection {
 	}
 
 	@Override
-	public boolean addAll(ByteCollection is) {
-		if(is.isEmpty()) {
-			return false;
-		}
-
+	public boolean addAll(ByteCollection bs) {
 		boolean changed = false;
-
-		ByteIterator i = is.iterator();
+		ByteIterator i = bs.iterator();
 		while(i.hasNext()) {
 			changed |= add(i.nextByte());
-
 		}
 		return changed;
 	}
 
 	@Override
-	public boolean remove(byte i) {
+	public boolean remove(byte b) {
 		for (ByteIterator it = iterator();it.hasNext();) {
-			if (i == it.nextByte()) {
+			if (b == it.nextByte()) {
 				it.remove();
 				return true;
 			}
@@ -154,10 +155,10 @@ public abstract class AbstractByteCollection implements ByteCollection {
 	}
 
 	@Override
-	public boolean retainAll(ByteCollection is) {
+	public boolean retainAll(ByteCollection bs) {
 		boolean modified = false;
 		for(ByteIterator i = iterator();i.hasNext();) {
-			if(!is.contains(i.nextByte())) {
+			if(!bs.contains(i.nextByte())) {
 				i.remove();
 				modified = true;
 			}
@@ -168,7 +169,7 @@ public abstract class AbstractByteCollection implements ByteCollection {
 	@Override
 	public String toString() {
 		StringJoiner sj = new StringJoiner(", ", "[", "]");
-		forEach(i -> sj.add(Byte.toString(i)));
+		forEach(b -> sj.add(Byte.toString(b)));
 		return sj.toString();
 	}
 }
@@ -1,10 +1,10 @@
+// このファイルはcodegen/templates/AbstractList.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.PrimitiveIterator;
-import java.util.PrimitiveIterator.OfInt;
 import java.util.RandomAccess;
 import java.util.StringJoiner;
 
@@ -14,6 +14,7 @@ import java.util.StringJoiner;
  *
  */
 public abstract class AbstractByteList extends AbstractByteCollection implements ByteList {
+
 	/**
 	 * 構造的変更検知用
 	 *  add, removeなどの際に増加させる
@@ -100,7 +101,7 @@ public abstract class AbstractByteList extends AbstractByteCollection implements
 
 			@Override
 			public int nextInt() {
-				return i.nextSigned();
+				return i.nextByte();
 			}
 
 			@Override
@@ -111,7 +112,7 @@ public abstract class AbstractByteList extends AbstractByteCollection implements
 	}
 
 	@Override
-	public OfInt reversedIteratorUnsigned() {
+	public PrimitiveIterator.OfInt reversedIteratorUnsigned() {
 		return new PrimitiveIterator.OfInt() {
 			private final ByteIterator i = reversedIterator();
 
@@ -122,7 +123,7 @@ public abstract class AbstractByteList extends AbstractByteCollection implements
 
 			@Override
 			public int nextInt() {
-				return i.nextUnsigned();
+				return Byte.toUnsignedInt(i.nextByte());
 			}
 
 			@Override
@@ -187,8 +188,8 @@ public abstract class AbstractByteList extends AbstractByteCollection implements
 	}
 
 	@Override
-	public boolean add(byte i) {
-		insert(size(), i);
+	public boolean add(byte b) {
+		insert(size(), b);
 		return true;
 	}
 
@@ -197,7 +198,7 @@ public abstract class AbstractByteList extends AbstractByteCollection implements
 		int hash = 0;
 		ByteIterator i = iterator();
 		while(i.hasNext()) {
-			hash = hash*31 + i.nextByte();
+			hash = hash*31 + Byte.hashCode(i.nextByte());
 		}
 		return hash;
 	}
@@ -241,7 +242,7 @@ public abstract class AbstractByteList extends AbstractByteCollection implements
 	public String toString() {
 		StringJoiner sj = new StringJoiner(", ", "<", ">");
 		forEach(b -> sj.add(Byte.toString(b)));
-		return super.toString();
+		return sj.toString();
 	}
 
 	private static class SubList extends AbstractByteList {
@@ -254,7 +255,7 @@ public abstract class AbstractByteList extends AbstractByteCollection implements
 				throw new IndexOutOfBoundsException("fromIndex: "+fromIndex);
 			}
 			if(toIndex > original.size()) {
-				throw new IndexOutOfBoundsException("toIndex: "+fromIndex);
+				throw new IndexOutOfBoundsException("toIndex: "+toIndex);
 			}
 			if(fromIndex > toIndex) {
 				throw new IllegalArgumentException("fromIndex: "+fromIndex+", toIndex:"+toIndex);
@@ -274,7 +275,7 @@ public abstract class AbstractByteList extends AbstractByteCollection implements
 		public byte get(int index) {
 			checkRange(index);
 			checkModCount();
-			return super.get(index+offset);
+			return original.get(index+offset);
 		}
 
 		@Override
@@ -286,7 +287,9 @@ public abstract class AbstractByteList extends AbstractByteCollection implements
 
 		@Override
 		public void insert(int index, byte element) {
-			checkRange(index);
+			if(index < 0 || size < index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
 			checkModCount();
 			original.insert(index+offset, element);
 			modCount = original.modCount;
@@ -387,5 +390,10 @@ public abstract class AbstractByteList extends AbstractByteCollection implements
 		RandomAccessSubList(AbstractByteList original, int fromIndex, int toIndex) {
 			super(original, fromIndex, toIndex);
 		}
+
+		@Override
+		public ByteList subList(int fromIndex, int toIndex) {
+			return new RandomAccessSubList(this, fromIndex, toIndex);
+		}
 	}
 }
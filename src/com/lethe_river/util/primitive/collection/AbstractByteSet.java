@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/AbstractSet.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.Objects;
@@ -40,7 +41,8 @@ public abstract class AbstractByteSet extends AbstractByteCollection implements
 	public int hashCode() {
 		int hash = 0;
 		for(ByteIterator i = iterator();i.hasNext();) {
-			hash += HashSupport.thomasMueller(i.nextByte());
+			byte j = i.nextByte();
+			hash += HashSupport.thomasMueller(j);
 		}
 		return hash;
 	}
@@ -99,7 +101,7 @@ public abstract class AbstractByteSet extends AbstractByteCollection implements
 	@Override
 	public String toString() {
 		StringJoiner sj = new StringJoiner(", ", "{", "}");
-		forEach(i -> sj.add(Byte.toString(i)));
-		return super.toString();
+		forEach(b -> sj.add(Byte.toString(b)));
+		return sj.toString();
 	}
 }
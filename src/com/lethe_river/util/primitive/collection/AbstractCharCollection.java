@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/AbstractCollection.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.StringJoiner;
@@ -8,8 +9,11 @@ import java.util.StringJoiner;
  *
  */
 public abstract class AbstractCharCollection implements CharCollection {
-	protected AbstractCharCollection() {
 
+	/**
+	 * 基底の(そして規定の)コンストラクタ
+	 */
+	protected AbstractCharCollection() {
 	}
 
 	@Override
@@ -22,7 +26,7 @@ public abstract class AbstractCharCollection implements CharCollection {
 
 	@Override
 	public void clear() {
-		for(CharIterator i = iterator();i.hasNext();) {
+		for (CharIterator i = iterator();i.hasNext();) {
 			i.nextChar();
 			i.remove();
 		}
@@ -41,6 +45,7 @@ public abstract class AbstractCharCollection implements CharCollection {
 	@Override
 	public abstract CharIterator iterator();
 
+
 	@Override
 	public boolean contains(char ch) {
 		for (CharIterator it = iterator();it.hasNext();) {
@@ -53,20 +58,22 @@ public abstract class AbstractCharCollection implements CharCollection {
 
 	@Override
 	public boolean containsAll(char... chs) {
-		boolean f = false;
 		for (int i = 0; i < chs.length; i++) {
-			f &= contains(chs[i]);
+			if(!contains(chs[i])) {
+				return false;
+			}
 		}
-		return f;
+		return true;
 	}
 
 	@Override
 	public boolean containsAll(CharCollection chs) {
-		boolean f = false;
 		for (CharIterator it = chs.iterator();it.hasNext();) {
-			f &= contains(it.nextChar());
+			if(!contains(it.nextChar())) {
+				return false;
+			}
 		}
-		return f;
+		return true;
 	}
 
 	@Override
@@ -80,7 +87,7 @@ public abstract class AbstractCharCollection implements CharCollection {
 	}
 
 	@Override
-	public boolean addAll(char chs[], int offset, int length) {
+	public boolean addAll(char[] chs, int offset, int length) {
 		PrimitiveSupport.checkBounds(chs, offset, length);
 
 		boolean changed = false;
@@ -93,11 +100,9 @@ public abstract class AbstractCharCollection implements CharCollection {
 	@Override
 	public boolean addAll(CharCollection chs) {
 		boolean changed = false;
-
 		CharIterator i = chs.iterator();
 		while(i.hasNext()) {
 			changed |= add(i.nextChar());
-
 		}
 		return changed;
 	}
@@ -164,8 +169,7 @@ public abstract class AbstractCharCollection implements CharCollection {
 	@Override
 	public String toString() {
 		StringJoiner sj = new StringJoiner(", ", "[", "]");
-		forEach(i -> sj.add(Character.toString(i)));
+		forEach(ch -> sj.add(Character.toString(ch)));
 		return sj.toString();
 	}
 }
-
@@ -0,0 +1,377 @@
+// このファイルはcodegen/templates/AbstractList.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.StringJoiner;
+
+/**
+ * CharListのスケルトン
+ * @author YuyaAizawa
+ *
+ */
+public abstract class AbstractCharList extends AbstractCharCollection implements CharList {
+
+	/**
+	 * 構造的変更検知用
+	 *  add, removeなどの際に増加させる
+	 */
+	protected transient int modCount = 0;
+
+	/**
+	 * 基底のコンストラクタ
+	 */
+	protected AbstractCharList() {}
+
+	@Override
+	public CharListIterator listIterator() {
+		return listIterator(0);
+	}
+
+	@Override
+	public abstract CharListIterator listIterator(int index);
+
+	@Override
+	public abstract int size();
+
+	@Override
+	public boolean equals(Object obj) {
+		if(obj == null) {
+			return false;
+		}
+		if(obj == this) {
+			return true;
+		}
+		if(!(obj instanceof CharList)) {
+			return false;
+		}
+		CharList list = (CharList) obj;
+		if(list.size() != this.size()) {
+			return false;
+		}
+		CharIterator i = this.iterator();
+		CharIterator j = list.iterator();
+		while(i.hasNext()) {
+			if(i.nextChar() != j.nextChar()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public CharIterator iterator() {
+		return listIterator();
+	}
+
+	@Override
+	public CharIterator reversedIterator() {
+		return new CharIterator() {
+			CharListIterator i = listIterator(size());
+
+			@Override
+			public boolean hasNext() {
+				return i.hasPrevious();
+			}
+
+			@Override
+			public char nextChar() {
+				return i.previousChar();
+			}
+
+			@Override
+			public void remove() {
+				i.remove();
+			}
+		};
+	}
+
+	@Override
+	public PrimitiveIterator.OfInt reversedIteratorOfInt() {
+		return new PrimitiveIterator.OfInt() {
+			private final CharIterator i = reversedIterator();
+
+			@Override
+			public boolean hasNext() {
+				return i.hasNext();
+			}
+
+			@Override
+			public int nextInt() {
+				return i.nextChar();
+			}
+
+			@Override
+			public void remove() {
+				i.remove();
+			}
+		};
+	}
+
+	@Override
+	public void insert(int index, char element) {
+		CharListIterator i = listIterator(index);
+		i.add(element);
+	}
+
+	@Override
+	public void insertAll(int index, char[] chs, int offset, int length) {
+		PrimitiveSupport.checkBounds(chs, offset, length);
+
+		CharListIterator i = listIterator(index);
+		for (int j = 0; j < length; j++) {
+			i.add(chs[offset+j]);
+		}
+	}
+
+	@Override
+	public void insertAll(int index, CharCollection c) {
+		CharListIterator itr = listIterator(index);
+		c.forEach((char ch) -> itr.add(ch));
+	}
+
+	@Override
+	public char removeAt(int index) {
+		if(index < 0 || size() <= index) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		CharListIterator i = listIterator(index);
+		char removed = i.nextChar();
+		i.remove();
+		return removed;
+	}
+
+	@Override
+	public char get(int index) {
+		if(index < 0 || size() <= index) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		CharListIterator i = listIterator(index);
+		return i.nextChar();
+	}
+
+	@Override
+	public char set(int index, char element) {
+		CharListIterator i = listIterator(index);
+		try {
+			char removed = i.nextChar();
+			i.set(element);
+			return removed;
+		} catch (NoSuchElementException e) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	@Override
+	public boolean add(char ch) {
+		insert(size(), ch);
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		CharIterator i = iterator();
+		while(i.hasNext()) {
+			hash = hash*31 + Character.hashCode(i.nextChar());
+		}
+		return hash;
+	}
+
+	@Override
+	public int indexOf(char element) {
+		CharListIterator i = listIterator();
+		while(i.hasNext()) {
+			if(i.nextChar() == element) {
+				return i.previousIndex();
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(char element) {
+		CharListIterator i = listIterator(size());
+		while(i.hasPrevious()) {
+			if(i.previousChar() == element) {
+				return i.nextIndex();
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public CharList subList(int fromIndex, int toIndex) {
+		if(this instanceof RandomAccess) {
+			return new RandomAccessSubList(this, fromIndex, toIndex);
+		}
+		return new SubList(this, fromIndex, toIndex);
+	}
+
+	@Override
+	public List<Character> boxedView() {
+		return PrimitiveSupport.boxed(this);
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner sj = new StringJoiner(", ", "<", ">");
+		forEach(ch -> sj.add(Character.toString(ch)));
+		return sj.toString();
+	}
+
+	private static class SubList extends AbstractCharList {
+		private final AbstractCharList original;
+		private final int offset;
+		private int size;
+
+		SubList(AbstractCharList original, int fromIndex, int toIndex) {
+			if(fromIndex < 0) {
+				throw new IndexOutOfBoundsException("fromIndex: "+fromIndex);
+			}
+			if(toIndex > original.size()) {
+				throw new IndexOutOfBoundsException("toIndex: "+toIndex);
+			}
+			if(fromIndex > toIndex) {
+				throw new IllegalArgumentException("fromIndex: "+fromIndex+", toIndex:"+toIndex);
+			}
+			this.original = original;
+			offset = fromIndex;
+			size = toIndex - fromIndex;
+			modCount = original.modCount;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public char get(int index) {
+			checkRange(index);
+			checkModCount();
+			return original.get(index+offset);
+		}
+
+		@Override
+		public char set(int index, char element) {
+			checkRange(index);
+			checkModCount();
+			return original.set(index+offset, element);
+		}
+
+		@Override
+		public void insert(int index, char element) {
+			if(index < 0 || size < index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+			checkModCount();
+			original.insert(index+offset, element);
+			modCount = original.modCount;
+			size++;
+		}
+
+		@Override
+		public char removeAt(int index) {
+			checkRange(index);
+			checkModCount();
+			char removed = original.removeAt(index+offset);
+			modCount = original.modCount;
+			size--;
+			return removed;
+		}
+
+		@Override
+		public CharListIterator listIterator(int index) {
+			if(index < 0 || size < index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+			checkModCount();
+
+			return new CharListIterator() {
+				private final CharListIterator i = original.listIterator(index+offset);
+
+				@Override
+				public void remove() {
+					i.remove();
+					SubList.this.modCount = original.modCount;
+					size--;
+				}
+
+				@Override
+				public int previousIndex() {
+					return i.previousIndex() - offset;
+				}
+
+				@Override
+				public int nextIndex() {
+					return i.nextIndex() - offset;
+				}
+
+				@Override
+				public boolean hasPrevious() {
+					return previousIndex() >= 0;
+				}
+
+				@Override
+				public boolean hasNext() {
+					return nextIndex() < size;
+				}
+
+				@Override
+				public void set(char e) {
+					i.set(e);
+				}
+
+				@Override
+				public char previousChar() {
+					if(hasPrevious()) {
+						return i.previousChar();
+					}
+					throw new NoSuchElementException();
+				}
+
+				@Override
+				public char nextChar() {
+					if(hasNext()) {
+						return i.nextChar();
+					}
+					throw new NoSuchElementException();
+				}
+
+				@Override
+				public void add(char e) {
+					i.add(e);
+					SubList.this.modCount = original.modCount;
+					size++;
+				}
+			};
+		}
+
+		private void checkModCount() {
+			if(modCount != original.modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		private void checkRange(int index) {
+			if(index < 0 || size <= index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+		}
+	}
+
+	private static class RandomAccessSubList extends SubList implements RandomAccess {
+		RandomAccessSubList(AbstractCharList original, int fromIndex, int toIndex) {
+			super(original, fromIndex, toIndex);
+		}
+
+		@Override
+		public CharList subList(int fromIndex, int toIndex) {
+			return new RandomAccessSubList(this, fromIndex, toIndex);
+		}
+	}
+}
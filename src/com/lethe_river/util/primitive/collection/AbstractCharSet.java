@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/AbstractSet.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.Objects;
@@ -40,7 +41,8 @@ public abstract class AbstractCharSet extends AbstractCharCollection implements
 	public int hashCode() {
 		int hash = 0;
 		for(CharIterator i = iterator();i.hasNext();) {
-			hash += HashSupport.thomasMueller(i.nextChar());
+			char j = i.nextChar();
+			hash += HashSupport.thomasMueller(j);
 		}
 		return hash;
 	}
@@ -99,8 +101,7 @@ public abstract class AbstractCharSet extends AbstractCharCollection implements
 	@Override
 	public String toString() {
 		StringJoiner sj = new StringJoiner(", ", "{", "}");
-		forEach(i -> sj.add(Character.toString(i)));
-		return super.toString();
+		forEach(ch -> sj.add(Character.toString(ch)));
+		return sj.toString();
 	}
 }
-
@@ -0,0 +1,176 @@
+// このファイルはcodegen/templates/AbstractCollection.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.PrimitiveIterator;
+import java.util.StringJoiner;
+
+/**
+ * DoubleCollectionのスケルトン実装
+ * @author YuyaAizawa
+ *
+ */
+public abstract class AbstractDoubleCollection implements DoubleCollection {
+
+	/**
+	 * 基底の(そして規定の)コンストラクタ
+	 */
+	protected AbstractDoubleCollection() {
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public abstract int size();
+
+	@Override
+	public void clear() {
+		for (PrimitiveIterator.OfDouble i = iterator();i.hasNext();) {
+			i.nextDouble();
+			i.remove();
+		}
+	}
+
+	@Override
+	public double[] toArray() {
+		double[] ds = new double[size()];
+		int i = 0;
+		for (PrimitiveIterator.OfDouble it = iterator();it.hasNext();) {
+			ds[i++] = it.nextDouble();
+		}
+		return ds;
+	}
+
+	@Override
+	public abstract PrimitiveIterator.OfDouble iterator();
+
+
+	@Override
+	public boolean contains(double d) {
+		for (PrimitiveIterator.OfDouble it = iterator();it.hasNext();) {
+			if (Double.doubleToLongBits(d) == Double.doubleToLongBits(it.nextDouble())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsAll(double... ds) {
+		for (int i = 0; i < ds.length; i++) {
+			if(!contains(ds[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean containsAll(DoubleCollection ds) {
+		for (PrimitiveIterator.OfDouble it = ds.iterator();it.hasNext();) {
+			if(!contains(it.nextDouble())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean add(double d) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean addAll(double... ds) {
+		return addAll(ds, 0, ds.length);
+	}
+
+	@Override
+	public boolean addAll(double[] ds, int offset, int length) {
+		PrimitiveSupport.checkBounds(ds, offset, length);
+
+		boolean changed = false;
+		for (int i = 0; i < length; i++) {
+			changed |= add(ds[offset + i]);
+		}
+		return changed;
+	}
+
+	@Override
+	public boolean addAll(DoubleCollection ds) {
+		boolean changed = false;
+		PrimitiveIterator.OfDouble i = ds.iterator();
+		while(i.hasNext()) {
+			changed |= add(i.nextDouble());
+		}
+		return changed;
+	}
+
+	@Override
+	public boolean remove(double d) {
+		for (PrimitiveIterator.OfDouble it = iterator();it.hasNext();) {
+			if (Double.doubleToLongBits(d) == Double.doubleToLongBits(it.nextDouble())) {
+				it.remove();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean removeAll(double... ds) {
+		boolean modified = false;
+		for (int i = 0; i < ds.length; i++) {
+			while(remove(ds[i])) {
+				modified |= true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean removeAll(DoubleCollection ds) {
+		boolean modified = false;
+		PrimitiveIterator.OfDouble i = ds.iterator();
+		while(i.hasNext()) {
+			double j = i.nextDouble();
+			while(remove(j)) {
+				modified |= true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean retainAll(double... ds) {
+		boolean modified = false;
+		for(int j = 0;j < ds.length;j++) {
+			if(!contains(ds[j])) {
+				remove(ds[j]);
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean retainAll(DoubleCollection ds) {
+		boolean modified = false;
+		for(PrimitiveIterator.OfDouble i = iterator();i.hasNext();) {
+			if(!ds.contains(i.nextDouble())) {
+				i.remove();
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner sj = new StringJoiner(", ", "[", "]");
+		forEach(d -> sj.add(Double.toString(d)));
+		return sj.toString();
+	}
+}
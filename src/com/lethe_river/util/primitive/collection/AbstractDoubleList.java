@@ -0,0 +1,355 @@
+// このファイルはcodegen/templates/AbstractList.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.StringJoiner;
+
+/**
+ * DoubleListのスケルトン
+ * @author YuyaAizawa
+ *
+ */
+public abstract class AbstractDoubleList extends AbstractDoubleCollection implements DoubleList {
+
+	/**
+	 * 構造的変更検知用
+	 *  add, removeなどの際に増加させる
+	 */
+	protected transient int modCount = 0;
+
+	/**
+	 * 基底のコンストラクタ
+	 */
+	protected AbstractDoubleList() {}
+
+	@Override
+	public DoubleListIterator listIterator() {
+		return listIterator(0);
+	}
+
+	@Override
+	public abstract DoubleListIterator listIterator(int index);
+
+	@Override
+	public abstract int size();
+
+	@Override
+	public boolean equals(Object obj) {
+		if(obj == null) {
+			return false;
+		}
+		if(obj == this) {
+			return true;
+		}
+		if(!(obj instanceof DoubleList)) {
+			return false;
+		}
+		DoubleList list = (DoubleList) obj;
+		if(list.size() != this.size()) {
+			return false;
+		}
+		PrimitiveIterator.OfDouble i = this.iterator();
+		PrimitiveIterator.OfDouble j = list.iterator();
+		while(i.hasNext()) {
+			if(Double.doubleToLongBits(i.nextDouble()) != Double.doubleToLongBits(j.nextDouble())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public PrimitiveIterator.OfDouble iterator() {
+		return listIterator();
+	}
+
+	@Override
+	public PrimitiveIterator.OfDouble reversedIterator() {
+		return new PrimitiveIterator.OfDouble() {
+			DoubleListIterator i = listIterator(size());
+
+			@Override
+			public boolean hasNext() {
+				return i.hasPrevious();
+			}
+
+			@Override
+			public double nextDouble() {
+				return i.previousDouble();
+			}
+
+			@Override
+			public void remove() {
+				i.remove();
+			}
+		};
+	}
+
+	@Override
+	public void insert(int index, double element) {
+		DoubleListIterator i = listIterator(index);
+		i.add(element);
+	}
+
+	@Override
+	public void insertAll(int index, double[] ds, int offset, int length) {
+		PrimitiveSupport.checkBounds(ds, offset, length);
+
+		DoubleListIterator i = listIterator(index);
+		for (int j = 0; j < length; j++) {
+			i.add(ds[offset+j]);
+		}
+	}
+
+	@Override
+	public void insertAll(int index, DoubleCollection c) {
+		DoubleListIterator itr = listIterator(index);
+		c.forEach((double d) -> itr.add(d));
+	}
+
+	@Override
+	public double removeAt(int index) {
+		if(index < 0 || size() <= index) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		DoubleListIterator i = listIterator(index);
+		double removed = i.nextDouble();
+		i.remove();
+		return removed;
+	}
+
+	@Override
+	public double get(int index) {
+		if(index < 0 || size() <= index) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		DoubleListIterator i = listIterator(index);
+		return i.nextDouble();
+	}
+
+	@Override
+	public double set(int index, double element) {
+		DoubleListIterator i = listIterator(index);
+		try {
+			double removed = i.nextDouble();
+			i.set(element);
+			return removed;
+		} catch (NoSuchElementException e) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	@Override
+	public boolean add(double d) {
+		insert(size(), d);
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		PrimitiveIterator.OfDouble i = iterator();
+		while(i.hasNext()) {
+			hash = hash*31 + Double.hashCode(i.nextDouble());
+		}
+		return hash;
+	}
+
+	@Override
+	public int indexOf(double element) {
+		DoubleListIterator i = listIterator();
+		while(i.hasNext()) {
+			if(Double.doubleToLongBits(i.nextDouble()) == Double.doubleToLongBits(element)) {
+				return i.previousIndex();
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(double element) {
+		DoubleListIterator i = listIterator(size());
+		while(i.hasPrevious()) {
+			if(Double.doubleToLongBits(i.previousDouble()) == Double.doubleToLongBits(element)) {
+				return i.nextIndex();
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public DoubleList subList(int fromIndex, int toIndex) {
+		if(this instanceof RandomAccess) {
+			return new RandomAccessSubList(this, fromIndex, toIndex);
+		}
+		return new SubList(this, fromIndex, toIndex);
+	}
+
+	@Override
+	public List<Double> boxedView() {
+		return PrimitiveSupport.boxed(this);
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner sj = new StringJoiner(", ", "<", ">");
+		forEach(d -> sj.add(Double.toString(d)));
+		return sj.toString();
+	}
+
+	private static class SubList extends AbstractDoubleList {
+		private final AbstractDoubleList original;
+		private final int offset;
+		private int size;
+
+		SubList(AbstractDoubleList original, int fromIndex, int toIndex) {
+			if(fromIndex < 0) {
+				throw new IndexOutOfBoundsException("fromIndex: "+fromIndex);
+			}
+			if(toIndex > original.size()) {
+				throw new IndexOutOfBoundsException("toIndex: "+toIndex);
+			}
+			if(fromIndex > toIndex) {
+				throw new IllegalArgumentException("fromIndex: "+fromIndex+", toIndex:"+toIndex);
+			}
+			this.original = original;
+			offset = fromIndex;
+			size = toIndex - fromIndex;
+			modCount = original.modCount;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public double get(int index) {
+			checkRange(index);
+			checkModCount();
+			return original.get(index+offset);
+		}
+
+		@Override
+		public double set(int index, double element) {
+			checkRange(index);
+			checkModCount();
+			return original.set(index+offset, element);
+		}
+
+		@Override
+		public void insert(int index, double element) {
+			if(index < 0 || size < index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+			checkModCount();
+			original.insert(index+offset, element);
+			modCount = original.modCount;
+			size++;
+		}
+
+		@Override
+		public double removeAt(int index) {
+			checkRange(index);
+			checkModCount();
+			double removed = original.removeAt(index+offset);
+			modCount = original.modCount;
+			size--;
+			return removed;
+		}
+
+		@Override
+		public DoubleListIterator listIterator(int index) {
+			if(index < 0 || size < index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+			checkModCount();
+
+			return new DoubleListIterator() {
+				private final DoubleListIterator i = original.listIterator(index+offset);
+
+				@Override
+				public void remove() {
+					i.remove();
+					SubList.this.modCount = original.modCount;
+					size--;
+				}
+
+				@Override
+				public int previousIndex() {
+					return i.previousIndex() - offset;
+				}
+
+				@Override
+				public int nextIndex() {
+					return i.nextIndex() - offset;
+				}
+
+				@Override
+				public boolean hasPrevious() {
+					return previousIndex() >= 0;
+				}
+
+				@Override
+				public boolean hasNext() {
+					return nextIndex() < size;
+				}
+
+				@Override
+				public void set(double e) {
+					i.set(e);
+				}
+
+				@Override
+				public double previousDouble() {
+					if(hasPrevious()) {
+						return i.previousDouble();
+					}
+					throw new NoSuchElementException();
+				}
+
+				@Override
+				public double nextDouble() {
+					if(hasNext()) {
+						return i.nextDouble();
+					}
+					throw new NoSuchElementException();
+				}
+
+				@Override
+				public void add(double e) {
+					i.add(e);
+					SubList.this.modCount = original.modCount;
+					size++;
+				}
+			};
+		}
+
+		private void checkModCount() {
+			if(modCount != original.modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		private void checkRange(int index) {
+			if(index < 0 || size <= index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+		}
+	}
+
+	private static class RandomAccessSubList extends SubList implements RandomAccess {
+		RandomAccessSubList(AbstractDoubleList original, int fromIndex, int toIndex) {
+			super(original, fromIndex, toIndex);
+		}
+
+		@Override
+		public DoubleList subList(int fromIndex, int toIndex) {
+			return new RandomAccessSubList(this, fromIndex, toIndex);
+		}
+	}
+}
@@ -0,0 +1,108 @@
+// このファイルはcodegen/templates/AbstractSet.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import com.lethe_river.util.primitive.HashSupport;
+
+/**
+ * DoubleSetのスケルトン
+ * @author YuyaAizawa
+ *
+ */
+public abstract class AbstractDoubleSet extends AbstractDoubleCollection implements DoubleSet {
+
+	/**
+	 * 基底のコンストラクタ
+	 */
+	protected AbstractDoubleSet() {}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(obj == null) {
+			return false;
+		}
+		if(obj == this) {
+			return true;
+		}
+		if(!(obj instanceof DoubleSet)) {
+			return false;
+		}
+		DoubleSet set = (DoubleSet) obj;
+		if(set.size() != this.size()) {
+			return false;
+		}
+		return containsAll(set);
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		for(PrimitiveIterator.OfDouble i = iterator();i.hasNext();) {
+			double j = i.nextDouble();
+			hash += HashSupport.thomasMueller(Double.hashCode(j));
+		}
+		return hash;
+	}
+
+	@Override
+	public boolean removeAll(DoubleCollection ds) {
+		Objects.requireNonNull(ds);
+
+		boolean modified = false;
+		if (size() > ds.size()) {
+			for (PrimitiveIterator.OfDouble i = ds.iterator(); i.hasNext(); )
+				modified |= remove(i.nextDouble());
+		} else {
+			for (PrimitiveIterator.OfDouble i = iterator(); i.hasNext(); ) {
+				if (ds.contains(i.nextDouble())) {
+					i.remove();
+					modified = true;
+				}
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean removeAll(double... ds) {
+		Objects.requireNonNull(ds);
+
+		boolean modified = false;
+		if (size() > ds.length) {
+			for (int i = 0;i < ds.length;i++)
+				modified |= remove(ds[i]);
+		} else {
+			for (PrimitiveIterator.OfDouble i = iterator(); i.hasNext(); ) {
+				if (PrimitiveSupport.linearSearchFirst(ds, i.nextDouble()) != -1) {
+					i.remove();
+					modified = true;
+				}
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean containsAll(DoubleSet ds) {
+		Objects.requireNonNull(ds);
+		if(ds == this) { return true; }
+		if(ds.size() > this.size()) { return false; }
+		return super.containsAll(ds);
+	}
+
+	@Override
+	public Set<Double> boxedView() {
+		return PrimitiveSupport.boxed(this);
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner sj = new StringJoiner(", ", "{", "}");
+		forEach(d -> sj.add(Double.toString(d)));
+		return sj.toString();
+	}
+}
@@ -0,0 +1,175 @@
+// このファイルはcodegen/templates/AbstractCollection.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.StringJoiner;
+
+/**
+ * FloatCollectionのスケルトン実装
+ * @author YuyaAizawa
+ *
+ */
+public abstract class AbstractFloatCollection implements FloatCollection {
+
+	/**
+	 * 基底の(そして規定の)コンストラクタ
+	 */
+	protected AbstractFloatCollection() {
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public abstract int size();
+
+	@Override
+	public void clear() {
+		for (FloatIterator i = iterator();i.hasNext();) {
+			i.nextFloat();
+			i.remove();
+		}
+	}
+
+	@Override
+	public float[] toArray() {
+		float[] fs = new float[size()];
+		int i = 0;
+		for (FloatIterator it = iterator();it.hasNext();) {
+			fs[i++] = it.nextFloat();
+		}
+		return fs;
+	}
+
+	@Override
+	public abstract FloatIterator iterator();
+
+
+	@Override
+	public boolean contains(float f) {
+		for (FloatIterator it = iterator();it.hasNext();) {
+			if (Float.floatToIntBits(f) == Float.floatToIntBits(it.nextFloat())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsAll(float... fs) {
+		for (int i = 0; i < fs.length; i++) {
+			if(!contains(fs[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean containsAll(FloatCollection fs) {
+		for (FloatIterator it = fs.iterator();it.hasNext();) {
+			if(!contains(it.nextFloat())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean add(float f) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean addAll(float... fs) {
+		return addAll(fs, 0, fs.length);
+	}
+
+	@Override
+	public boolean addAll(float[] fs, int offset, int length) {
+		PrimitiveSupport.checkBounds(fs, offset, length);
+
+		boolean changed = false;
+		for (int i = 0; i < length; i++) {
+			changed |= add(fs[offset + i]);
+		}
+		return changed;
+	}
+
+	@Override
+	public boolean addAll(FloatCollection fs) {
+		boolean changed = false;
+		FloatIterator i = fs.iterator();
+		while(i.hasNext()) {
+			changed |= add(i.nextFloat());
+		}
+		return changed;
+	}
+
+	@Override
+	public boolean remove(float f) {
+		for (FloatIterator it = iterator();it.hasNext();) {
+			if (Float.floatToIntBits(f) == Float.floatToIntBits(it.nextFloat())) {
+				it.remove();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean removeAll(float... fs) {
+		boolean modified = false;
+		for (int i = 0; i < fs.length; i++) {
+			while(remove(fs[i])) {
+				modified |= true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean removeAll(FloatCollection fs) {
+		boolean modified = false;
+		FloatIterator i = fs.iterator();
+		while(i.hasNext()) {
+			float j = i.nextFloat();
+			while(remove(j)) {
+				modified |= true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean retainAll(float... fs) {
+		boolean modified = false;
+		for(int j = 0;j < fs.length;j++) {
+			if(!contains(fs[j])) {
+				remove(fs[j]);
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean retainAll(FloatCollection fs) {
+		boolean modified = false;
+		for(FloatIterator i = iterator();i.hasNext();) {
+			if(!fs.contains(i.nextFloat())) {
+				i.remove();
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner sj = new StringJoiner(", ", "[", "]");
+		forEach(f -> sj.add(Float.toString(f)));
+		return sj.toString();
+	}
+}
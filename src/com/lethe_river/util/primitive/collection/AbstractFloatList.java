@@ -0,0 +1,377 @@
+// このファイルはcodegen/templates/AbstractList.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.StringJoiner;
+
+/**
+ * FloatListのスケルトン
+ * @author YuyaAizawa
+ *
+ */
+public abstract class AbstractFloatList extends AbstractFloatCollection implements FloatList {
+
+	/**
+	 * 構造的変更検知用
+	 *  add, removeなどの際に増加させる
+	 */
+	protected transient int modCount = 0;
+
+	/**
+	 * 基底のコンストラクタ
+	 */
+	protected AbstractFloatList() {}
+
+	@Override
+	public FloatListIterator listIterator() {
+		return listIterator(0);
+	}
+
+	@Override
+	public abstract FloatListIterator listIterator(int index);
+
+	@Override
+	public abstract int size();
+
+	@Override
+	public boolean equals(Object obj) {
+		if(obj == null) {
+			return false;
+		}
+		if(obj == this) {
+			return true;
+		}
+		if(!(obj instanceof FloatList)) {
+			return false;
+		}
+		FloatList list = (FloatList) obj;
+		if(list.size() != this.size()) {
+			return false;
+		}
+		FloatIterator i = this.iterator();
+		FloatIterator j = list.iterator();
+		while(i.hasNext()) {
+			if(Float.floatToIntBits(i.nextFloat()) != Float.floatToIntBits(j.nextFloat())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public FloatIterator iterator() {
+		return listIterator();
+	}
+
+	@Override
+	public FloatIterator reversedIterator() {
+		return new FloatIterator() {
+			FloatListIterator i = listIterator(size());
+
+			@Override
+			public boolean hasNext() {
+				return i.hasPrevious();
+			}
+
+			@Override
+			public float nextFloat() {
+				return i.previousFloat();
+			}
+
+			@Override
+			public void remove() {
+				i.remove();
+			}
+		};
+	}
+
+	@Override
+	public PrimitiveIterator.OfDouble reversedIteratorOfDouble() {
+		return new PrimitiveIterator.OfDouble() {
+			private final FloatIterator i = reversedIterator();
+
+			@Override
+			public boolean hasNext() {
+				return i.hasNext();
+			}
+
+			@Override
+			public double nextDouble() {
+				return i.nextFloat();
+			}
+
+			@Override
+			public void remove() {
+				i.remove();
+			}
+		};
+	}
+
+	@Override
+	public void insert(int index, float element) {
+		FloatListIterator i = listIterator(index);
+		i.add(element);
+	}
+
+	@Override
+	public void insertAll(int index, float[] fs, int offset, int length) {
+		PrimitiveSupport.checkBounds(fs, offset, length);
+
+		FloatListIterator i = listIterator(index);
+		for (int j = 0; j < length; j++) {
+			i.add(fs[offset+j]);
+		}
+	}
+
+	@Override
+	public void insertAll(int index, FloatCollection c) {
+		FloatListIterator itr = listIterator(index);
+		c.forEach((float f) -> itr.add(f));
+	}
+
+	@Override
+	public float removeAt(int index) {
+		if(index < 0 || size() <= index) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		FloatListIterator i = listIterator(index);
+		float removed = i.nextFloat();
+		i.remove();
+		return removed;
+	}
+
+	@Override
+	public float get(int index) {
+		if(index < 0 || size() <= index) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		FloatListIterator i = listIterator(index);
+		return i.nextFloat();
+	}
+
+	@Override
+	public float set(int index, float element) {
+		FloatListIterator i = listIterator(index);
+		try {
+			float removed = i.nextFloat();
+			i.set(element);
+			return removed;
+		} catch (NoSuchElementException e) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	@Override
+	public boolean add(float f) {
+		insert(size(), f);
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		FloatIterator i = iterator();
+		while(i.hasNext()) {
+			hash = hash*31 + Float.hashCode(i.nextFloat());
+		}
+		return hash;
+	}
+
+	@Override
+	public int indexOf(float element) {
+		FloatListIterator i = listIterator();
+		while(i.hasNext()) {
+			if(Float.floatToIntBits(i.nextFloat()) == Float.floatToIntBits(element)) {
+				return i.previousIndex();
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(float element) {
+		FloatListIterator i = listIterator(size());
+		while(i.hasPrevious()) {
+			if(Float.floatToIntBits(i.previousFloat()) == Float.floatToIntBits(element)) {
+				return i.nextIndex();
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public FloatList subList(int fromIndex, int toIndex) {
+		if(this instanceof RandomAccess) {
+			return new RandomAccessSubList(this, fromIndex, toIndex);
+		}
+		return new SubList(this, fromIndex, toIndex);
+	}
+
+	@Override
+	public List<Float> boxedView() {
+		return PrimitiveSupport.boxed(this);
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner sj = new StringJoiner(", ", "<", ">");
+		forEach(f -> sj.add(Float.toString(f)));
+		return sj.toString();
+	}
+
+	private static class SubList extends AbstractFloatList {
+		private final AbstractFloatList original;
+		private final int offset;
+		private int size;
+
+		SubList(AbstractFloatList original, int fromIndex, int toIndex) {
+			if(fromIndex < 0) {
+				throw new IndexOutOfBoundsException("fromIndex: "+fromIndex);
+			}
+			if(toIndex > original.size()) {
+				throw new IndexOutOfBoundsException("toIndex: "+toIndex);
+			}
+			if(fromIndex > toIndex) {
+				throw new IllegalArgumentException("fromIndex: "+fromIndex+", toIndex:"+toIndex);
+			}
+			this.original = original;
+			offset = fromIndex;
+			size = toIndex - fromIndex;
+			modCount = original.modCount;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public float get(int index) {
+			checkRange(index);
+			checkModCount();
+			return original.get(index+offset);
+		}
+
+		@Override
+		public float set(int index, float element) {
+			checkRange(index);
+			checkModCount();
+			return original.set(index+offset, element);
+		}
+
+		@Override
+		public void insert(int index, float element) {
+			if(index < 0 || size < index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+			checkModCount();
+			original.insert(index+offset, element);
+			modCount = original.modCount;
+			size++;
+		}
+
+		@Override
+		public float removeAt(int index) {
+			checkRange(index);
+			checkModCount();
+			float removed = original.removeAt(index+offset);
+			modCount = original.modCount;
+			size--;
+			return removed;
+		}
+
+		@Override
+		public FloatListIterator listIterator(int index) {
+			if(index < 0 || size < index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+			checkModCount();
+
+			return new FloatListIterator() {
+				private final FloatListIterator i = original.listIterator(index+offset);
+
+				@Override
+				public void remove() {
+					i.remove();
+					SubList.this.modCount = original.modCount;
+					size--;
+				}
+
+				@Override
+				public int previousIndex() {
+					return i.previousIndex() - offset;
+				}
+
+				@Override
+				public int nextIndex() {
+					return i.nextIndex() - offset;
+				}
+
+				@Override
+				public boolean hasPrevious() {
+					return previousIndex() >= 0;
+				}
+
+				@Override
+				public boolean hasNext() {
+					return nextIndex() < size;
+				}
+
+				@Override
+				public void set(float e) {
+					i.set(e);
+				}
+
+				@Override
+				public float previousFloat() {
+					if(hasPrevious()) {
+						return i.previousFloat();
+					}
+					throw new NoSuchElementException();
+				}
+
+				@Override
+				public float nextFloat() {
+					if(hasNext()) {
+						return i.nextFloat();
+					}
+					throw new NoSuchElementException();
+				}
+
+				@Override
+				public void add(float e) {
+					i.add(e);
+					SubList.this.modCount = original.modCount;
+					size++;
+				}
+			};
+		}
+
+		private void checkModCount() {
+			if(modCount != original.modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		private void checkRange(int index) {
+			if(index < 0 || size <= index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+		}
+	}
+
+	private static class RandomAccessSubList extends SubList implements RandomAccess {
+		RandomAccessSubList(AbstractFloatList original, int fromIndex, int toIndex) {
+			super(original, fromIndex, toIndex);
+		}
+
+		@Override
+		public FloatList subList(int fromIndex, int toIndex) {
+			return new RandomAccessSubList(this, fromIndex, toIndex);
+		}
+	}
+}
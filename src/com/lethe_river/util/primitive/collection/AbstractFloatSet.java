@@ -0,0 +1,107 @@
+// このファイルはcodegen/templates/AbstractSet.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import com.lethe_river.util.primitive.HashSupport;
+
+/**
+ * FloatSetのスケルトン
+ * @author YuyaAizawa
+ *
+ */
+public abstract class AbstractFloatSet extends AbstractFloatCollection implements FloatSet {
+
+	/**
+	 * 基底のコンストラクタ
+	 */
+	protected AbstractFloatSet() {}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(obj == null) {
+			return false;
+		}
+		if(obj == this) {
+			return true;
+		}
+		if(!(obj instanceof FloatSet)) {
+			return false;
+		}
+		FloatSet set = (FloatSet) obj;
+		if(set.size() != this.size()) {
+			return false;
+		}
+		return containsAll(set);
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		for(FloatIterator i = iterator();i.hasNext();) {
+			float j = i.nextFloat();
+			hash += HashSupport.thomasMueller(Float.floatToIntBits(j));
+		}
+		return hash;
+	}
+
+	@Override
+	public boolean removeAll(FloatCollection fs) {
+		Objects.requireNonNull(fs);
+
+		boolean modified = false;
+		if (size() > fs.size()) {
+			for (FloatIterator i = fs.iterator(); i.hasNext(); )
+				modified |= remove(i.nextFloat());
+		} else {
+			for (FloatIterator i = iterator(); i.hasNext(); ) {
+				if (fs.contains(i.nextFloat())) {
+					i.remove();
+					modified = true;
+				}
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean removeAll(float... fs) {
+		Objects.requireNonNull(fs);
+
+		boolean modified = false;
+		if (size() > fs.length) {
+			for (int i = 0;i < fs.length;i++)
+				modified |= remove(fs[i]);
+		} else {
+			for (FloatIterator i = iterator(); i.hasNext(); ) {
+				if (PrimitiveSupport.linearSearchFirst(fs, i.nextFloat()) != -1) {
+					i.remove();
+					modified = true;
+				}
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean containsAll(FloatSet fs) {
+		Objects.requireNonNull(fs);
+		if(fs == this) { return true; }
+		if(fs.size() > this.size()) { return false; }
+		return super.containsAll(fs);
+	}
+
+	@Override
+	public Set<Float> boxedView() {
+		return PrimitiveSupport.boxed(this);
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner sj = new StringJoiner(", ", "{", "}");
+		forEach(f -> sj.add(Float.toString(f)));
+		return sj.toString();
+	}
+}
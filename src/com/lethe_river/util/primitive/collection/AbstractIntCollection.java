@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/AbstractCollection.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.PrimitiveIterator;
@@ -58,16 +59,22 @@ public abstract class AbstractIntCollection implements IntCollection {
 
 	@Override
 	public boolean containsAll(int... is) {
-		boolean f = false;
 		for (int i = 0; i < is.length; i++) {
-			f &= contains(is[i]);
+			if(!contains(is[i])) {
+				return false;
+			}
 		}
-		return f;
+		return true;
 	}
 
 	@Override
 	public boolean containsAll(IntCollection is) {
-		return is.stream().allMatch(i -> contains(i));
+		for (PrimitiveIterator.OfInt it = is.iterator();it.hasNext();) {
+			if(!contains(it.nextInt())) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/AbstractList.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.ConcurrentModificationException;
@@ -153,7 +154,7 @@ public abstract class AbstractIntList extends AbstractIntCollection implements I
 		int hash = 0;
 		PrimitiveIterator.OfInt i = iterator();
 		while(i.hasNext()) {
-			hash = hash*31 + i.nextInt();
+			hash = hash*31 + Integer.hashCode(i.nextInt());
 		}
 		return hash;
 	}
@@ -199,154 +200,156 @@ public abstract class AbstractIntList extends AbstractIntCollection implements I
 		forEach(i -> sj.add(Integer.toString(i)));
 		return sj.toString();
 	}
-}
-class SubList extends AbstractIntList {
-	private final AbstractIntList original;
-	private final int offset;
-	private int size;
-
-	public SubList(AbstractIntList original, int fromIndex, int toIndex) {
-		if(fromIndex < 0) {
-			throw new IndexOutOfBoundsException("fromIndex: "+fromIndex);
-		}
-		if(toIndex > original.size()) {
-			throw new IndexOutOfBoundsException("toIndex: "+fromIndex);
-		}
-		if(fromIndex > toIndex) {
-			throw new IllegalArgumentException("fromIndex: "+fromIndex+", toIndex:"+toIndex);
-		}
-		this.original = original;
-		offset = fromIndex;
-		size = toIndex - fromIndex;
-		modCount = original.modCount;
-	}
 
-	@Override
-	public int size() {
-		return size;
-	}
+	private static class SubList extends AbstractIntList {
+		private final AbstractIntList original;
+		private final int offset;
+		private int size;
 
-	@Override
-	public int get(int index) {
-		checkRange(index);
-		checkModCount();
-		return super.get(index+offset);
-	}
+		SubList(AbstractIntList original, int fromIndex, int toIndex) {
+			if(fromIndex < 0) {
+				throw new IndexOutOfBoundsException("fromIndex: "+fromIndex);
+			}
+			if(toIndex > original.size()) {
+				throw new IndexOutOfBoundsException("toIndex: "+toIndex);
+			}
+			if(fromIndex > toIndex) {
+				throw new IllegalArgumentException("fromIndex: "+fromIndex+", toIndex:"+toIndex);
+			}
+			this.original = original;
+			offset = fromIndex;
+			size = toIndex - fromIndex;
+			modCount = original.modCount;
+		}
 
-	@Override
-	public int set(int index, int element) {
-		checkRange(index);
-		checkModCount();
-		return original.set(index+offset, element);
-	}
+		@Override
+		public int size() {
+			return size;
+		}
 
-	@Override
-	public void insert(int index, int element) {
-		checkRange(index);
-		checkModCount();
-		original.insert(index+offset, element);
-		modCount = original.modCount;
-		size++;
-	}
+		@Override
+		public int get(int index) {
+			checkRange(index);
+			checkModCount();
+			return original.get(index+offset);
+		}
 
-	@Override
-	public int removeAt(int index) {
-		checkRange(index);
-		checkModCount();
-		int removed = original.removeAt(index+offset);
-		modCount = original.modCount;
-		size--;
-		return removed;
-	}
+		@Override
+		public int set(int index, int element) {
+			checkRange(index);
+			checkModCount();
+			return original.set(index+offset, element);
+		}
 
-	@Override
-	public IntListIterator listIterator(int index) {
-		if(index < 0 || size < index) {
-			throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+		@Override
+		public void insert(int index, int element) {
+			if(index < 0 || size < index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+			checkModCount();
+			original.insert(index+offset, element);
+			modCount = original.modCount;
+			size++;
 		}
-		checkModCount();
 
-		return new IntListIterator() {
-			private final IntListIterator i = original.listIterator(index+offset);
+		@Override
+		public int removeAt(int index) {
+			checkRange(index);
+			checkModCount();
+			int removed = original.removeAt(index+offset);
+			modCount = original.modCount;
+			size--;
+			return removed;
+		}
 
-			@Override
-			public void remove() {
-				i.remove();
-				SubList.this.modCount = original.modCount;
-				size--;
+		@Override
+		public IntListIterator listIterator(int index) {
+			if(index < 0 || size < index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
 			}
+			checkModCount();
 
-			@Override
-			public int previousIndex() {
-				return i.previousIndex() - offset;
-			}
+			return new IntListIterator() {
+				private final IntListIterator i = original.listIterator(index+offset);
 
-			@Override
-			public int nextIndex() {
-				return i.nextIndex() - offset;
-			}
+				@Override
+				public void remove() {
+					i.remove();
+					SubList.this.modCount = original.modCount;
+					size--;
+				}
 
-			@Override
-			public boolean hasPrevious() {
-				return previousIndex() >= 0;
-			}
+				@Override
+				public int previousIndex() {
+					return i.previousIndex() - offset;
+				}
 
-			@Override
-			public boolean hasNext() {
-				return nextIndex() < size;
-			}
+				@Override
+				public int nextIndex() {
+					return i.nextIndex() - offset;
+				}
 
-			@Override
-			public void set(int e) {
-				i.set(e);
-			}
+				@Override
+				public boolean hasPrevious() {
+					return previousIndex() >= 0;
+				}
 
-			@Override
-			public int previousInt() {
-				if(hasPrevious()) {
-					return i.previousInt();
+				@Override
+				public boolean hasNext() {
+					return nextIndex() < size;
 				}
-				throw new NoSuchElementException();
-			}
 
-			@Override
-			public int nextInt() {
-				if(hasNext()) {
-					return i.nextInt();
+				@Override
+				public void set(int e) {
+					i.set(e);
 				}
-				throw new NoSuchElementException();
-			}
 
-			@Override
-			public void add(int e) {
-				i.add(e);
-				SubList.this.modCount = original.modCount;
-				size++;
-			}
-		};
-	}
+				@Override
+				public int previousInt() {
+					if(hasPrevious()) {
+						return i.previousInt();
+					}
+					throw new NoSuchElementException();
+				}
 
-	private void checkModCount() {
-		if(modCount != original.modCount) {
-			throw new ConcurrentModificationException();
+				@Override
+				public int nextInt() {
+					if(hasNext()) {
+						return i.nextInt();
+					}
+					throw new NoSuchElementException();
+				}
+
+				@Override
+				public void add(int e) {
+					i.add(e);
+					SubList.this.modCount = original.modCount;
+					size++;
+				}
+			};
+		}
+
+		private void checkModCount() {
+			if(modCount != original.modCount) {
+				throw new ConcurrentModificationException();
+			}
 		}
-	}
 
-	private void checkRange(int index) {
-		if(index < 0 || size <= index) {
-			throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+		private void checkRange(int index) {
+			if(index < 0 || size <= index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
 		}
 	}
-}
 
-class RandomAccessSubList extends SubList implements RandomAccess {
+	private static class RandomAccessSubList extends SubList implements RandomAccess {
+		RandomAccessSubList(AbstractIntList original, int fromIndex, int toIndex) {
+			super(original, fromIndex, toIndex);
+		}
 
-	public RandomAccessSubList(AbstractIntList original, int fromIndex, int toIndex) {
-		super(original, fromIndex, toIndex);
-	}
-	@Override
-	public IntList subList(int fromIndex, int toIndex) {
-		return new RandomAccessSubList(this, fromIndex, toIndex);
+		@Override
+		public IntList subList(int fromIndex, int toIndex) {
+			return new RandomAccessSubList(this, fromIndex, toIndex);
+		}
 	}
 }
-
@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/AbstractSet.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.Objects;
@@ -41,7 +42,8 @@ public abstract class AbstractIntSet extends AbstractIntCollection implements In
 	public int hashCode() {
 		int hash = 0;
 		for(PrimitiveIterator.OfInt i = iterator();i.hasNext();) {
-			hash += HashSupport.thomasMueller(i.nextInt());
+			int j = i.nextInt();
+			hash += HashSupport.thomasMueller(j);
 		}
 		return hash;
 	}
@@ -101,6 +103,6 @@ public abstract class AbstractIntSet extends AbstractIntCollection implements In
 	public String toString() {
 		StringJoiner sj = new StringJoiner(", ", "{", "}");
 		forEach(i -> sj.add(Integer.toString(i)));
-		return super.toString();
+		return sj.toString();
 	}
 }
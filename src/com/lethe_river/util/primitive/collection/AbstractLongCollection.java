@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/AbstractCollection.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.PrimitiveIterator;
@@ -58,20 +59,26 @@ public abstract class AbstractLongCollection implements LongCollection {
 
 	@Override
 	public boolean containsAll(long... ls) {
-		boolean f = false;
 		for (int i = 0; i < ls.length; i++) {
-			f &= contains(ls[i]);
+			if(!contains(ls[i])) {
+				return false;
+			}
 		}
-		return f;
+		return true;
 	}
 
 	@Override
 	public boolean containsAll(LongCollection ls) {
-		return ls.stream().allMatch(l -> contains(l));
+		for (PrimitiveIterator.OfLong it = ls.iterator();it.hasNext();) {
+			if(!contains(it.nextLong())) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
-	public boolean add(long i) {
+	public boolean add(long l) {
 		throw new UnsupportedOperationException();
 	}
 
@@ -128,8 +135,8 @@ public abstract class AbstractLongCollection implements LongCollection {
 		boolean modified = false;
 		PrimitiveIterator.OfLong i = ls.iterator();
 		while(i.hasNext()) {
-			long l = i.nextLong();
-			while(remove(l)) {
+			long j = i.nextLong();
+			while(remove(j)) {
 				modified |= true;
 			}
 		}
@@ -139,9 +146,9 @@ public abstract class AbstractLongCollection implements LongCollection {
 	@Override
 	public boolean retainAll(long... ls) {
 		boolean modified = false;
-		for(int i = 0;i < ls.length;i++) {
-			if(!contains(ls[i])) {
-				remove(ls[i]);
+		for(int j = 0;j < ls.length;j++) {
+			if(!contains(ls[j])) {
+				remove(ls[j]);
 				modified = true;
 			}
 		}
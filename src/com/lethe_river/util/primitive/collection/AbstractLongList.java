@@ -0,0 +1,355 @@
+// このファイルはcodegen/templates/AbstractList.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.StringJoiner;
+
+/**
+ * LongListのスケルトン
+ * @author YuyaAizawa
+ *
+ */
+public abstract class AbstractLongList extends AbstractLongCollection implements LongList {
+
+	/**
+	 * 構造的変更検知用
+	 *  add, removeなどの際に増加させる
+	 */
+	protected transient int modCount = 0;
+
+	/**
+	 * 基底のコンストラクタ
+	 */
+	protected AbstractLongList() {}
+
+	@Override
+	public LongListIterator listIterator() {
+		return listIterator(0);
+	}
+
+	@Override
+	public abstract LongListIterator listIterator(int index);
+
+	@Override
+	public abstract int size();
+
+	@Override
+	public boolean equals(Object obj) {
+		if(obj == null) {
+			return false;
+		}
+		if(obj == this) {
+			return true;
+		}
+		if(!(obj instanceof LongList)) {
+			return false;
+		}
+		LongList list = (LongList) obj;
+		if(list.size() != this.size()) {
+			return false;
+		}
+		PrimitiveIterator.OfLong i = this.iterator();
+		PrimitiveIterator.OfLong j = list.iterator();
+		while(i.hasNext()) {
+			if(i.nextLong() != j.nextLong()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public PrimitiveIterator.OfLong iterator() {
+		return listIterator();
+	}
+
+	@Override
+	public PrimitiveIterator.OfLong reversedIterator() {
+		return new PrimitiveIterator.OfLong() {
+			LongListIterator i = listIterator(size());
+
+			@Override
+			public boolean hasNext() {
+				return i.hasPrevious();
+			}
+
+			@Override
+			public long nextLong() {
+				return i.previousLong();
+			}
+
+			@Override
+			public void remove() {
+				i.remove();
+			}
+		};
+	}
+
+	@Override
+	public void insert(int index, long element) {
+		LongListIterator i = listIterator(index);
+		i.add(element);
+	}
+
+	@Override
+	public void insertAll(int index, long[] ls, int offset, int length) {
+		PrimitiveSupport.checkBounds(ls, offset, length);
+
+		LongListIterator i = listIterator(index);
+		for (int j = 0; j < length; j++) {
+			i.add(ls[offset+j]);
+		}
+	}
+
+	@Override
+	public void insertAll(int index, LongCollection c) {
+		LongListIterator itr = listIterator(index);
+		c.forEach((long l) -> itr.add(l));
+	}
+
+	@Override
+	public long removeAt(int index) {
+		if(index < 0 || size() <= index) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		LongListIterator i = listIterator(index);
+		long removed = i.nextLong();
+		i.remove();
+		return removed;
+	}
+
+	@Override
+	public long get(int index) {
+		if(index < 0 || size() <= index) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		LongListIterator i = listIterator(index);
+		return i.nextLong();
+	}
+
+	@Override
+	public long set(int index, long element) {
+		LongListIterator i = listIterator(index);
+		try {
+			long removed = i.nextLong();
+			i.set(element);
+			return removed;
+		} catch (NoSuchElementException e) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	@Override
+	public boolean add(long l) {
+		insert(size(), l);
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		PrimitiveIterator.OfLong i = iterator();
+		while(i.hasNext()) {
+			hash = hash*31 + Long.hashCode(i.nextLong());
+		}
+		return hash;
+	}
+
+	@Override
+	public int indexOf(long element) {
+		LongListIterator i = listIterator();
+		while(i.hasNext()) {
+			if(i.nextLong() == element) {
+				return i.previousIndex();
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(long element) {
+		LongListIterator i = listIterator(size());
+		while(i.hasPrevious()) {
+			if(i.previousLong() == element) {
+				return i.nextIndex();
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public LongList subList(int fromIndex, int toIndex) {
+		if(this instanceof RandomAccess) {
+			return new RandomAccessSubList(this, fromIndex, toIndex);
+		}
+		return new SubList(this, fromIndex, toIndex);
+	}
+
+	@Override
+	public List<Long> boxedView() {
+		return PrimitiveSupport.boxed(this);
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner sj = new StringJoiner(", ", "<", ">");
+		forEach(l -> sj.add(Long.toString(l)));
+		return sj.toString();
+	}
+
+	private static class SubList extends AbstractLongList {
+		private final AbstractLongList original;
+		private final int offset;
+		private int size;
+
+		SubList(AbstractLongList original, int fromIndex, int toIndex) {
+			if(fromIndex < 0) {
+				throw new IndexOutOfBoundsException("fromIndex: "+fromIndex);
+			}
+			if(toIndex > original.size()) {
+				throw new IndexOutOfBoundsException("toIndex: "+toIndex);
+			}
+			if(fromIndex > toIndex) {
+				throw new IllegalArgumentException("fromIndex: "+fromIndex+", toIndex:"+toIndex);
+			}
+			this.original = original;
+			offset = fromIndex;
+			size = toIndex - fromIndex;
+			modCount = original.modCount;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public long get(int index) {
+			checkRange(index);
+			checkModCount();
+			return original.get(index+offset);
+		}
+
+		@Override
+		public long set(int index, long element) {
+			checkRange(index);
+			checkModCount();
+			return original.set(index+offset, element);
+		}
+
+		@Override
+		public void insert(int index, long element) {
+			if(index < 0 || size < index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+			checkModCount();
+			original.insert(index+offset, element);
+			modCount = original.modCount;
+			size++;
+		}
+
+		@Override
+		public long removeAt(int index) {
+			checkRange(index);
+			checkModCount();
+			long removed = original.removeAt(index+offset);
+			modCount = original.modCount;
+			size--;
+			return removed;
+		}
+
+		@Override
+		public LongListIterator listIterator(int index) {
+			if(index < 0 || size < index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+			checkModCount();
+
+			return new LongListIterator() {
+				private final LongListIterator i = original.listIterator(index+offset);
+
+				@Override
+				public void remove() {
+					i.remove();
+					SubList.this.modCount = original.modCount;
+					size--;
+				}
+
+				@Override
+				public int previousIndex() {
+					return i.previousIndex() - offset;
+				}
+
+				@Override
+				public int nextIndex() {
+					return i.nextIndex() - offset;
+				}
+
+				@Override
+				public boolean hasPrevious() {
+					return previousIndex() >= 0;
+				}
+
+				@Override
+				public boolean hasNext() {
+					return nextIndex() < size;
+				}
+
+				@Override
+				public void set(long e) {
+					i.set(e);
+				}
+
+				@Override
+				public long previousLong() {
+					if(hasPrevious()) {
+						return i.previousLong();
+					}
+					throw new NoSuchElementException();
+				}
+
+				@Override
+				public long nextLong() {
+					if(hasNext()) {
+						return i.nextLong();
+					}
+					throw new NoSuchElementException();
+				}
+
+				@Override
+				public void add(long e) {
+					i.add(e);
+					SubList.this.modCount = original.modCount;
+					size++;
+				}
+			};
+		}
+
+		private void checkModCount() {
+			if(modCount != original.modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		private void checkRange(int index) {
+			if(index < 0 || size <= index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+		}
+	}
+
+	private static class RandomAccessSubList extends SubList implements RandomAccess {
+		RandomAccessSubList(AbstractLongList original, int fromIndex, int toIndex) {
+			super(original, fromIndex, toIndex);
+		}
+
+		@Override
+		public LongList subList(int fromIndex, int toIndex) {
+			return new RandomAccessSubList(this, fromIndex, toIndex);
+		}
+	}
+}
@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/AbstractSet.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.Objects;
@@ -41,7 +42,8 @@ public abstract class AbstractLongSet extends AbstractLongCollection implements
 	public int hashCode() {
 		int hash = 0;
 		for(PrimitiveIterator.OfLong i = iterator();i.hasNext();) {
-			hash += HashSupport.thomasMueller((int)i.nextLong());
+			long j = i.nextLong();
+			hash += HashSupport.thomasMueller((int)j);
 		}
 		return hash;
 	}
@@ -101,6 +103,6 @@ public abstract class AbstractLongSet extends AbstractLongCollection implements
 	public String toString() {
 		StringJoiner sj = new StringJoiner(", ", "{", "}");
 		forEach(l -> sj.add(Long.toString(l)));
-		return super.toString();
+		return sj.toString();
 	}
 }
@@ -0,0 +1,175 @@
+// このファイルはcodegen/templates/AbstractCollection.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.StringJoiner;
+
+/**
+ * ShortCollectionのスケルトン実装
+ * @author YuyaAizawa
+ *
+ */
+public abstract class AbstractShortCollection implements ShortCollection {
+
+	/**
+	 * 基底の(そして規定の)コンストラクタ
+	 */
+	protected AbstractShortCollection() {
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public abstract int size();
+
+	@Override
+	public void clear() {
+		for (ShortIterator i = iterator();i.hasNext();) {
+			i.nextShort();
+			i.remove();
+		}
+	}
+
+	@Override
+	public short[] toArray() {
+		short[] ss = new short[size()];
+		int i = 0;
+		for (ShortIterator it = iterator();it.hasNext();) {
+			ss[i++] = it.nextShort();
+		}
+		return ss;
+	}
+
+	@Override
+	public abstract ShortIterator iterator();
+
+
+	@Override
+	public boolean contains(short s) {
+		for (ShortIterator it = iterator();it.hasNext();) {
+			if (s == it.nextShort()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsAll(short... ss) {
+		for (int i = 0; i < ss.length; i++) {
+			if(!contains(ss[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean containsAll(ShortCollection ss) {
+		for (ShortIterator it = ss.iterator();it.hasNext();) {
+			if(!contains(it.nextShort())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean add(short s) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean addAll(short... ss) {
+		return addAll(ss, 0, ss.length);
+	}
+
+	@Override
+	public boolean addAll(short[] ss, int offset, int length) {
+		PrimitiveSupport.checkBounds(ss, offset, length);
+
+		boolean changed = false;
+		for (int i = 0; i < length; i++) {
+			changed |= add(ss[offset + i]);
+		}
+		return changed;
+	}
+
+	@Override
+	public boolean addAll(ShortCollection ss) {
+		boolean changed = false;
+		ShortIterator i = ss.iterator();
+		while(i.hasNext()) {
+			changed |= add(i.nextShort());
+		}
+		return changed;
+	}
+
+	@Override
+	public boolean remove(short s) {
+		for (ShortIterator it = iterator();it.hasNext();) {
+			if (s == it.nextShort()) {
+				it.remove();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean removeAll(short... ss) {
+		boolean modified = false;
+		for (int i = 0; i < ss.length; i++) {
+			while(remove(ss[i])) {
+				modified |= true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean removeAll(ShortCollection ss) {
+		boolean modified = false;
+		ShortIterator i = ss.iterator();
+		while(i.hasNext()) {
+			short j = i.nextShort();
+			while(remove(j)) {
+				modified |= true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean retainAll(short... ss) {
+		boolean modified = false;
+		for(int j = 0;j < ss.length;j++) {
+			if(!contains(ss[j])) {
+				remove(ss[j]);
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean retainAll(ShortCollection ss) {
+		boolean modified = false;
+		for(ShortIterator i = iterator();i.hasNext();) {
+			if(!ss.contains(i.nextShort())) {
+				i.remove();
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner sj = new StringJoiner(", ", "[", "]");
+		forEach(s -> sj.add(Short.toString(s)));
+		return sj.toString();
+	}
+}
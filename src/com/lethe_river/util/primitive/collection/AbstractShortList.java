@@ -0,0 +1,399 @@
+// このファイルはcodegen/templates/AbstractList.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.StringJoiner;
+
+/**
+ * ShortListのスケルトン
+ * @author YuyaAizawa
+ *
+ */
+public abstract class AbstractShortList extends AbstractShortCollection implements ShortList {
+
+	/**
+	 * 構造的変更検知用
+	 *  add, removeなどの際に増加させる
+	 */
+	protected transient int modCount = 0;
+
+	/**
+	 * 基底のコンストラクタ
+	 */
+	protected AbstractShortList() {}
+
+	@Override
+	public ShortListIterator listIterator() {
+		return listIterator(0);
+	}
+
+	@Override
+	public abstract ShortListIterator listIterator(int index);
+
+	@Override
+	public abstract int size();
+
+	@Override
+	public boolean equals(Object obj) {
+		if(obj == null) {
+			return false;
+		}
+		if(obj == this) {
+			return true;
+		}
+		if(!(obj instanceof ShortList)) {
+			return false;
+		}
+		ShortList list = (ShortList) obj;
+		if(list.size() != this.size()) {
+			return false;
+		}
+		ShortIterator i = this.iterator();
+		ShortIterator j = list.iterator();
+		while(i.hasNext()) {
+			if(i.nextShort() != j.nextShort()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public ShortIterator iterator() {
+		return listIterator();
+	}
+
+	@Override
+	public ShortIterator reversedIterator() {
+		return new ShortIterator() {
+			ShortListIterator i = listIterator(size());
+
+			@Override
+			public boolean hasNext() {
+				return i.hasPrevious();
+			}
+
+			@Override
+			public short nextShort() {
+				return i.previousShort();
+			}
+
+			@Override
+			public void remove() {
+				i.remove();
+			}
+		};
+	}
+
+	@Override
+	public PrimitiveIterator.OfInt reversedIteratorSigned() {
+		return new PrimitiveIterator.OfInt() {
+			private final ShortIterator i = reversedIterator();
+
+			@Override
+			public boolean hasNext() {
+				return i.hasNext();
+			}
+
+			@Override
+			public int nextInt() {
+				return i.nextShort();
+			}
+
+			@Override
+			public void remove() {
+				i.remove();
+			}
+		};
+	}
+
+	@Override
+	public PrimitiveIterator.OfInt reversedIteratorUnsigned() {
+		return new PrimitiveIterator.OfInt() {
+			private final ShortIterator i = reversedIterator();
+
+			@Override
+			public boolean hasNext() {
+				return i.hasNext();
+			}
+
+			@Override
+			public int nextInt() {
+				return Short.toUnsignedInt(i.nextShort());
+			}
+
+			@Override
+			public void remove() {
+				i.remove();
+			}
+		};
+	}
+
+	@Override
+	public void insert(int index, short element) {
+		ShortListIterator i = listIterator(index);
+		i.add(element);
+	}
+
+	@Override
+	public void insertAll(int index, short[] ss, int offset, int length) {
+		PrimitiveSupport.checkBounds(ss, offset, length);
+
+		ShortListIterator i = listIterator(index);
+		for (int j = 0; j < length; j++) {
+			i.add(ss[offset+j]);
+		}
+	}
+
+	@Override
+	public void insertAll(int index, ShortCollection c) {
+		ShortListIterator itr = listIterator(index);
+		c.forEach((short s) -> itr.add(s));
+	}
+
+	@Override
+	public short removeAt(int index) {
+		if(index < 0 || size() <= index) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		ShortListIterator i = listIterator(index);
+		short removed = i.nextShort();
+		i.remove();
+		return removed;
+	}
+
+	@Override
+	public short get(int index) {
+		if(index < 0 || size() <= index) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		ShortListIterator i = listIterator(index);
+		return i.nextShort();
+	}
+
+	@Override
+	public short set(int index, short element) {
+		ShortListIterator i = listIterator(index);
+		try {
+			short removed = i.nextShort();
+			i.set(element);
+			return removed;
+		} catch (NoSuchElementException e) {
+			throw new IndexOutOfBoundsException();
+		}
+	}
+
+	@Override
+	public boolean add(short s) {
+		insert(size(), s);
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		ShortIterator i = iterator();
+		while(i.hasNext()) {
+			hash = hash*31 + Short.hashCode(i.nextShort());
+		}
+		return hash;
+	}
+
+	@Override
+	public int indexOf(short element) {
+		ShortListIterator i = listIterator();
+		while(i.hasNext()) {
+			if(i.nextShort() == element) {
+				return i.previousIndex();
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(short element) {
+		ShortListIterator i = listIterator(size());
+		while(i.hasPrevious()) {
+			if(i.previousShort() == element) {
+				return i.nextIndex();
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public ShortList subList(int fromIndex, int toIndex) {
+		if(this instanceof RandomAccess) {
+			return new RandomAccessSubList(this, fromIndex, toIndex);
+		}
+		return new SubList(this, fromIndex, toIndex);
+	}
+
+	@Override
+	public List<Short> boxedView() {
+		return PrimitiveSupport.boxed(this);
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner sj = new StringJoiner(", ", "<", ">");
+		forEach(s -> sj.add(Short.toString(s)));
+		return sj.toString();
+	}
+
+	private static class SubList extends AbstractShortList {
+		private final AbstractShortList original;
+		private final int offset;
+		private int size;
+
+		SubList(AbstractShortList original, int fromIndex, int toIndex) {
+			if(fromIndex < 0) {
+				throw new IndexOutOfBoundsException("fromIndex: "+fromIndex);
+			}
+			if(toIndex > original.size()) {
+				throw new IndexOutOfBoundsException("toIndex: "+toIndex);
+			}
+			if(fromIndex > toIndex) {
+				throw new IllegalArgumentException("fromIndex: "+fromIndex+", toIndex:"+toIndex);
+			}
+			this.original = original;
+			offset = fromIndex;
+			size = toIndex - fromIndex;
+			modCount = original.modCount;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public short get(int index) {
+			checkRange(index);
+			checkModCount();
+			return original.get(index+offset);
+		}
+
+		@Override
+		public short set(int index, short element) {
+			checkRange(index);
+			checkModCount();
+			return original.set(index+offset, element);
+		}
+
+		@Override
+		public void insert(int index, short element) {
+			if(index < 0 || size < index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+			checkModCount();
+			original.insert(index+offset, element);
+			modCount = original.modCount;
+			size++;
+		}
+
+		@Override
+		public short removeAt(int index) {
+			checkRange(index);
+			checkModCount();
+			short removed = original.removeAt(index+offset);
+			modCount = original.modCount;
+			size--;
+			return removed;
+		}
+
+		@Override
+		public ShortListIterator listIterator(int index) {
+			if(index < 0 || size < index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+			checkModCount();
+
+			return new ShortListIterator() {
+				private final ShortListIterator i = original.listIterator(index+offset);
+
+				@Override
+				public void remove() {
+					i.remove();
+					SubList.this.modCount = original.modCount;
+					size--;
+				}
+
+				@Override
+				public int previousIndex() {
+					return i.previousIndex() - offset;
+				}
+
+				@Override
+				public int nextIndex() {
+					return i.nextIndex() - offset;
+				}
+
+				@Override
+				public boolean hasPrevious() {
+					return previousIndex() >= 0;
+				}
+
+				@Override
+				public boolean hasNext() {
+					return nextIndex() < size;
+				}
+
+				@Override
+				public void set(short e) {
+					i.set(e);
+				}
+
+				@Override
+				public short previousShort() {
+					if(hasPrevious()) {
+						return i.previousShort();
+					}
+					throw new NoSuchElementException();
+				}
+
+				@Override
+				public short nextShort() {
+					if(hasNext()) {
+						return i.nextShort();
+					}
+					throw new NoSuchElementException();
+				}
+
+				@Override
+				public void add(short e) {
+					i.add(e);
+					SubList.this.modCount = original.modCount;
+					size++;
+				}
+			};
+		}
+
+		private void checkModCount() {
+			if(modCount != original.modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		private void checkRange(int index) {
+			if(index < 0 || size <= index) {
+				throw new IndexOutOfBoundsException("index: "+index+", size: "+size);
+			}
+		}
+	}
+
+	private static class RandomAccessSubList extends SubList implements RandomAccess {
+		RandomAccessSubList(AbstractShortList original, int fromIndex, int toIndex) {
+			super(original, fromIndex, toIndex);
+		}
+
+		@Override
+		public ShortList subList(int fromIndex, int toIndex) {
+			return new RandomAccessSubList(this, fromIndex, toIndex);
+		}
+	}
+}
@@ -0,0 +1,107 @@
+// このファイルはcodegen/templates/AbstractSet.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import com.lethe_river.util.primitive.HashSupport;
+
+/**
+ * ShortSetのスケルトン
+ * @author YuyaAizawa
+ *
+ */
+public abstract class AbstractShortSet extends AbstractShortCollection implements ShortSet {
+
+	/**
+	 * 基底のコンストラクタ
+	 */
+	protected AbstractShortSet() {}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(obj == null) {
+			return false;
+		}
+		if(obj == this) {
+			return true;
+		}
+		if(!(obj instanceof ShortSet)) {
+			return false;
+		}
+		ShortSet set = (ShortSet) obj;
+		if(set.size() != this.size()) {
+			return false;
+		}
+		return containsAll(set);
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		for(ShortIterator i = iterator();i.hasNext();) {
+			short j = i.nextShort();
+			hash += HashSupport.thomasMueller(j);
+		}
+		return hash;
+	}
+
+	@Override
+	public boolean removeAll(ShortCollection ss) {
+		Objects.requireNonNull(ss);
+
+		boolean modified = false;
+		if (size() > ss.size()) {
+			for (ShortIterator i = ss.iterator(); i.hasNext(); )
+				modified |= remove(i.nextShort());
+		} else {
+			for (ShortIterator i = iterator(); i.hasNext(); ) {
+				if (ss.contains(i.nextShort())) {
+					i.remove();
+					modified = true;
+				}
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean removeAll(short... ss) {
+		Objects.requireNonNull(ss);
+
+		boolean modified = false;
+		if (size() > ss.length) {
+			for (int i = 0;i < ss.length;i++)
+				modified |= remove(ss[i]);
+		} else {
+			for (ShortIterator i = iterator(); i.hasNext(); ) {
+				if (PrimitiveSupport.linearSearchFirst(ss, i.nextShort()) != -1) {
+					i.remove();
+					modified = true;
+				}
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public boolean containsAll(ShortSet ss) {
+		Objects.requireNonNull(ss);
+		if(ss == this) { return true; }
+		if(ss.size() > this.size()) { return false; }
+		return super.containsAll(ss);
+	}
+
+	@Override
+	public Set<Short> boxedView() {
+		return PrimitiveSupport.boxed(this);
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner sj = new StringJoiner(", ", "{", "}");
+		forEach(s -> sj.add(Short.toString(s)));
+		return sj.toString();
+	}
+}
@@ -1,11 +1,21 @@
+// このファイルはcodegen/templates/ArrayList.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
+import com.lethe_river.util.primitive.function.ByteConsumer;
+import com.lethe_river.util.primitive.function.IntToByteFunction;
 
 /**
  * 配列をベースにしたbyte値を格納するPrimitiveList
@@ -13,9 +23,9 @@ import java.util.RandomAccess;
  * @author YuyaAizawa
  *
  */
-public final class ArrayByteList extends AbstractByteList implements RandomAccess {
 
-	private static final long serialVersionUID = -1268344803729165353L;
+@SuppressWarnings("serial") // SerializationProxyを利用
+public final class ArrayByteList extends AbstractByteList implements RandomAccess {
 
 	private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE >> 1;
 
@@ -31,15 +41,13 @@ public final class ArrayByteList extends AbstractByteList implements RandomAcces
 
 	public static ArrayByteList of(byte... bs) {
 		ArrayByteList result = new ArrayByteList(bs.length);
-		for (int i = 0; i < bs.length; i++) {
-			result.add(bs[i]);
-		}
+		result.addAll(bs);
 		return result;
 	}
 
-	public static ArrayByteList of(ByteList bl) {
-		ArrayByteList result = new ArrayByteList(bl.size());
-		result.addAll(bl);
+	public static ArrayByteList of(ByteList list) {
+		ArrayByteList result = new ArrayByteList(list.size());
+		result.addAll(list);
 		return result;
 	}
 
@@ -50,6 +58,7 @@ public final class ArrayByteList extends AbstractByteList implements RandomAcces
 		}
 		if(initialCapacity == 0) {
 			field = EMPTY_ELEMENTS;
+			return;
 		}
 		throw new IllegalArgumentException("initalCapacity must be positive : "+initialCapacity);
 	}
@@ -77,6 +86,12 @@ public final class ArrayByteList extends AbstractByteList implements RandomAcces
 		return true;
 	}
 
+	@Override
+	public boolean addAll(byte... bs) {
+		insertAll(size, bs, 0, bs.length);
+		return bs.length != 0;
+	}
+
 	@Override
 	public void insert(int index, byte element) {
 		if(index < 0 || size < index) {
@@ -84,9 +99,7 @@ public final class ArrayByteList extends AbstractByteList implements RandomAcces
 		}
 		ensureCapacity(size+1);
 
-		for(int i = size;i > index;i--) {
-			field[i+1] = field[i];
-		}
+		System.arraycopy(field, index, field, index+1, size-index);
 		field[index] = element;
 		size++;
 	}
@@ -98,22 +111,17 @@ public final class ArrayByteList extends AbstractByteList implements RandomAcces
 		}
 		PrimitiveSupport.checkBounds(bs, offset, length);
 
-		int bsize = length;
-		if(bsize == 0) {
+		if(length == 0) {
 			return;
 		}
-		ensureCapacity(size+bsize);
+		ensureCapacity(size+length);
 
 		// 退避
-		for(int i = size;i > index;i--) {
-			field[bsize+i] = field[i];
-		}
+		System.arraycopy(field, index, field, index+length, size-index);
 
 		// 挿入
-		for (int i = 0; i < bsize; i++) {
-			field[size+i] = bs[offset+i];
-		}
-		size += bsize;
+		System.arraycopy(bs, offset, field, index, length);
+		size += length;
 	}
 
 	@Override
@@ -128,9 +136,7 @@ public final class ArrayByteList extends AbstractByteList implements RandomAcces
 		ensureCapacity(size+csize);
 
 		// 退避
-		for(int i = size;i > index;i--) {
-			field[csize + i] = field[i];
-		}
+		System.arraycopy(field, index, field, index+csize, size-index);
 
 		// 挿入
 		ByteIterator itr = c.iterator();
@@ -148,9 +154,7 @@ public final class ArrayByteList extends AbstractByteList implements RandomAcces
 
 		byte removed = field[index];
 
-		for(int i = index;i < size-1;i++) {
-			field[i] = field[i+1];
-		}
+		System.arraycopy(field, index+1, field, index, size-index-1);
 		size--;
 		modCount++;
 		return removed;
@@ -198,10 +202,10 @@ public final class ArrayByteList extends AbstractByteList implements RandomAcces
 
 	@Override
 	public ByteListIterator listIterator(int i) {
-		return new ArrayListLterator(i);
+		return new ArrayListIterator(i);
 	}
 
-	private class ArrayListLterator implements ByteListIterator {
+	private class ArrayListIterator implements ByteListIterator {
 
 		// 構造的変更検出用
 		int expectedModCount = modCount;
@@ -216,7 +220,7 @@ public final class ArrayByteList extends AbstractByteList implements RandomAcces
 		 */
 		int index;
 
-		public ArrayListLterator(int index) {
+		public ArrayListIterator(int index) {
 			if(index < 0 || size() < index) {
 				throw new IndexOutOfBoundsException(index);
 			}
@@ -308,7 +312,212 @@ public final class ArrayByteList extends AbstractByteList implements RandomAcces
 		}
 	}
 
+	/**
+	 * 要素を昇順に並べ替える．要素が多い場合は並列に処理する.
+	 */
+	public void parallelSort() {
+		Arrays.parallelSort(field, 0, size);
+		modCount++;
+	}
+
+	/**
+	 * 各要素を，その位置に指定した関数を適用した結果で置き換える．並列に処理する.
+	 * @param generator 位置を受け取って要素を返す副作用のない関数
+	 */
+	public void parallelSetAll(IntToByteFunction generator) {
+		Objects.requireNonNull(generator);
+		byte[] field = this.field;
+		IntStream.range(0, size).parallel().forEach(i -> field[i] = generator.applyAsByte(i));
+		modCount++;
+	}
+
+	/**
+	 * 内部配列を添字の範囲で二分するByteSpliteratorを返す.
+	 * 走査中に構造的変更があった場合は走査の終わりにConcurrentModificationExceptionを投げる．
+	 * @return spliterator
+	 */
+	public ByteSpliterator spliterator() {
+		return new ArraySpliterator(0, size, modCount);
+	}
+
+	@Override
+	public Spliterator.OfInt spliteratorSigned() {
+		return new ArrayIntSpliterator(0, size, modCount, false);
+	}
+
+	@Override
+	public Spliterator.OfInt spliteratorUnsigned() {
+		return new ArrayIntSpliterator(0, size, modCount, true);
+	}
+
+	private class ArraySpliterator extends RangeSpliterator implements ByteSpliterator {
+
+		ArraySpliterator(int index, int fence, int expectedModCount) {
+			super(index, fence, expectedModCount);
+		}
+
+		@Override
+		public ByteSpliterator trySplit() {
+			int lo = split();
+			return lo == -1 ? null : new ArraySpliterator(lo, index, expectedModCount);
+		}
+
+		@Override
+		public boolean tryAdvance(ByteConsumer action) {
+			Objects.requireNonNull(action);
+			if(index >= fence) {
+				return false;
+			}
+			action.accept(field[index++]);
+			modificationCheck();
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(ByteConsumer action) {
+			Objects.requireNonNull(action);
+			byte[] field = ArrayByteList.this.field;
+			for(int i = index;i < fence;i++) {
+				action.accept(field[i]);
+			}
+			index = fence;
+			modificationCheck();
+		}
+	}
+
+	private class ArrayIntSpliterator extends RangeSpliterator implements Spliterator.OfInt {
+
+		// byte値を符号無しとみなすならtrue
+		final boolean unsigned;
+
+		ArrayIntSpliterator(int index, int fence, int expectedModCount, boolean unsigned) {
+			super(index, fence, expectedModCount);
+			this.unsigned = unsigned;
+		}
+
+		@Override
+		public Spliterator.OfInt trySplit() {
+			int lo = split();
+			return lo == -1 ? null : new ArrayIntSpliterator(lo, index, expectedModCount, unsigned);
+		}
+
+		@Override
+		public boolean tryAdvance(IntConsumer action) {
+			Objects.requireNonNull(action);
+			if(index >= fence) {
+				return false;
+			}
+			byte b = field[index++];
+			action.accept(unsigned ? Byte.toUnsignedInt(b) : b);
+			modificationCheck();
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(IntConsumer action) {
+			Objects.requireNonNull(action);
+			byte[] field = ArrayByteList.this.field;
+			if(unsigned) {
+				for(int i = index;i < fence;i++) {
+					action.accept(Byte.toUnsignedInt(field[i]));
+				}
+			} else {
+				for(int i = index;i < fence;i++) {
+					action.accept(field[i]);
+				}
+			}
+			index = fence;
+			modificationCheck();
+		}
+	}
+
+	/**
+	 * 配列の[index, fence)の範囲を辿るSpliteratorの骨格.
+	 * 走査中に構造的変更があった場合は走査の終わりにConcurrentModificationExceptionを投げる．
+	 */
+	private abstract class RangeSpliterator {
+
+		// 次に返す位置
+		int index;
+
+		// 範囲の終端(この位置を含まない)
+		final int fence;
+
+		// 構造的変更検出用
+		final int expectedModCount;
+
+		RangeSpliterator(int index, int fence, int expectedModCount) {
+			this.index = index;
+			this.fence = fence;
+			this.expectedModCount = expectedModCount;
+		}
+
+		/**
+		 * 範囲を二分し，自身は後半を受け持つ.
+		 * @return 前半の先頭，分割できなければ-1
+		 */
+		int split() {
+			int lo = index;
+			int mid = (lo + fence) >>> 1;
+			if(lo >= mid) {
+				return -1;
+			}
+			index = mid;
+			return lo;
+		}
+
+		public long estimateSize() {
+			return fence - index;
+		}
+
+		public int characteristics() {
+			return Spliterator.NONNULL | Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+
+		void modificationCheck() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	/**
+	 * このリストの要素をチャネルに書き出す.
+	 *
+	 * 要素数に続けて要素の配列をリトルエンディアンでそのまま書き出す．{@link #readFrom(ReadableByteChannel)}で読み込める．
+	 * @param channel 書き出し先
+	 * @throws IOException 書き出しに失敗したとき
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		PrimitiveCodec.Writer out = new PrimitiveCodec.Writer(channel, PrimitiveCodec.ARRAY_BYTE_LIST);
+		out.putInt(size);
+		out.putBytes(field, 0, size);
+		out.flush();
+	}
+
+	/**
+	 * {@link #writeTo(WritableByteChannel)}で書き出したリストを読み込む.
+	 * @param channel 読み込み元
+	 * @return 読み込んだリスト
+	 * @throws IOException 読み込みに失敗したとき，または形式が不正なとき
+	 */
+	public static ArrayByteList readFrom(ReadableByteChannel channel) throws IOException {
+		PrimitiveCodec.Reader in = new PrimitiveCodec.Reader(channel, PrimitiveCodec.ARRAY_BYTE_LIST);
+		int size = in.getInt();
+		if(size < 0 || MAX_ARRAY_SIZE < size) {
+			throw PrimitiveCodec.invalid("size "+size);
+		}
+		ArrayByteList result = new ArrayByteList();
+		if(size > 0) {
+			result.field = new byte[size];
+			in.getBytes(result.field, 0, size);
+			result.size = size;
+		}
+		return result;
+	}
+
 	private static class SerializationProxy implements Serializable {
+
 		private static final long serialVersionUID = 9164685108597624187L;
 
 		/**
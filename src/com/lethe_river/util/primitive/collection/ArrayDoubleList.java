@@ -0,0 +1,504 @@
+// このファイルはcodegen/templates/ArrayList.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * 配列をベースにしたdouble値を格納するPrimitiveList
+ *
+ * @author YuyaAizawa
+ *
+ */
+
+@SuppressWarnings("serial") // SerializationProxyを利用
+public final class ArrayDoubleList extends AbstractDoubleList implements RandomAccess {
+
+	private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE >> 1;
+
+	private static final double[] EMPTY_ELEMENTS = {};
+	private static final double[] DEFAULT_CAPACITY_EMPTY_ELEMENTS = {};
+
+	private static final int DEFAULT_CAPACITY = 10;
+
+	// リストの内容
+	private double[] field;
+
+	private int size;
+
+	public static ArrayDoubleList of(double... ds) {
+		ArrayDoubleList result = new ArrayDoubleList(ds.length);
+		result.addAll(ds);
+		return result;
+	}
+
+	public static ArrayDoubleList of(DoubleList list) {
+		ArrayDoubleList result = new ArrayDoubleList(list.size());
+		result.addAll(list);
+		return result;
+	}
+
+	public ArrayDoubleList(int initialCapacity) {
+		if(initialCapacity > 0) {
+			field = new double[initialCapacity];
+			return;
+		}
+		if(initialCapacity == 0) {
+			field = EMPTY_ELEMENTS;
+			return;
+		}
+		throw new IllegalArgumentException("initalCapacity must be positive : "+initialCapacity);
+	}
+
+	public ArrayDoubleList() {
+		field = DEFAULT_CAPACITY_EMPTY_ELEMENTS;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean add(double d) {
+		ensureCapacity(size+1);
+		field[size] = d;
+		size++;
+		return true;
+	}
+
+	@Override
+	public boolean addAll(double... ds) {
+		insertAll(size, ds, 0, ds.length);
+		return ds.length != 0;
+	}
+
+	@Override
+	public void insert(int index, double element) {
+		if(index < 0 || size < index) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		ensureCapacity(size+1);
+
+		System.arraycopy(field, index, field, index+1, size-index);
+		field[index] = element;
+		size++;
+	}
+
+	@Override
+	public void insertAll(int index, double[] ds, int offset, int length) {
+		if(index < 0 || size < index) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		PrimitiveSupport.checkBounds(ds, offset, length);
+
+		if(length == 0) {
+			return;
+		}
+		ensureCapacity(size+length);
+
+		// 退避
+		System.arraycopy(field, index, field, index+length, size-index);
+
+		// 挿入
+		System.arraycopy(ds, offset, field, index, length);
+		size += length;
+	}
+
+	@Override
+	public void insertAll(int index, DoubleCollection c) {
+		if(index < 0 || size < index) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		int csize = c.size();
+		if(csize == 0) {
+			return;
+		}
+		ensureCapacity(size+csize);
+
+		// 退避
+		System.arraycopy(field, index, field, index+csize, size-index);
+
+		// 挿入
+		PrimitiveIterator.OfDouble itr = c.iterator();
+		for(int i = index;itr.hasNext();i++) {
+			field[i] = itr.nextDouble();
+		}
+		size += csize;
+	}
+
+	@Override
+	public double removeAt(int index) {
+		if(index < 0 || size <= index) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+
+		double removed = field[index];
+
+		System.arraycopy(field, index+1, field, index, size-index-1);
+		size--;
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public double get(int index) {
+		if(index < 0 || size <= index) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		return field[index];
+	}
+
+	@Override
+	public double set(int index, double element) {
+		if(index < 0 || size <= index) {
+			throw new IndexOutOfBoundsException(Integer.toString(index));
+		}
+		double previous = field[index];
+		field[index] = element;
+		return previous;
+	}
+
+	/**
+	 * 指定した数の要素が内部配列の拡張なしに格納できるように内部配列を拡張する
+	 * @param minCapacity 格納する要素数
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if(minCapacity > MAX_ARRAY_SIZE) {
+			throw new RuntimeException("too big array!");
+		}
+		if(field == DEFAULT_CAPACITY_EMPTY_ELEMENTS) {
+			minCapacity = Math.max(DEFAULT_CAPACITY, minCapacity);
+		}
+
+		modCount++;
+		if(minCapacity > field.length) {
+			int oldCap = field.length;
+			int recommend = oldCap + (oldCap >>> 1);
+			int newCap = Math.min(Math.max(minCapacity, recommend), MAX_ARRAY_SIZE);
+
+			field = Arrays.copyOf(field, newCap);
+		}
+	}
+
+	@Override
+	public DoubleListIterator listIterator(int i) {
+		return new ArrayListIterator(i);
+	}
+
+	private class ArrayListIterator implements DoubleListIterator {
+
+		// 構造的変更検出用
+		int expectedModCount = modCount;
+
+		// removeやsetで変更されるindex 対象がない場合-1
+		int pIndex = -1;
+
+		/*
+		 *  ここでのインデックスは配列の要素の間を指すものとする
+		 *  index=nがさすのはfield[n-1]とfield[n]の間である
+		 *  操作の前後でindex∈[0, size]を満たすこととする
+		 */
+		int index;
+
+		public ArrayListIterator(int index) {
+			if(index < 0 || size() < index) {
+				throw new IndexOutOfBoundsException(index);
+			}
+			this.index = index;
+		}
+
+
+		@Override
+		public boolean hasNext() {
+			return index < size;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return index > 0;
+		}
+
+		@Override
+		public int nextIndex() {
+			return index;
+		}
+
+		@Override
+		public int previousIndex() {
+			return index - 1;
+		}
+
+		@Override
+		public void add(double e) {
+			modificationCheck();
+			ArrayDoubleList.this.insert(index, e);
+
+			expectedModCount = modCount;
+			pIndex = -1;
+			index++;
+		}
+
+
+		@Override
+		public void remove() {
+			modificationCheck();
+			if(pIndex == -1) {
+				throw new IllegalStateException();
+			}
+			removeAt(pIndex);
+			if(pIndex<index) {
+				// 前向き探索時は配列をつめた分indexを戻す
+				index--;
+			}
+			expectedModCount = modCount;
+			pIndex = -1;
+		}
+
+		@Override
+		public void set(double e) {
+			modificationCheck();
+			if(pIndex == -1) {
+				throw new IllegalStateException();
+			}
+			ArrayDoubleList.this.set(pIndex, e);
+		}
+
+		@Override
+		public double nextDouble() {
+			modificationCheck();
+			if(!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			pIndex = index;
+			index++;
+			return field[index-1];
+		}
+
+		@Override
+		public double previousDouble() {
+			modificationCheck();
+			if(!hasPrevious()) {
+				throw new NoSuchElementException();
+			}
+			pIndex = index-1;
+			index--;
+			return field[index];
+		}
+
+		private void modificationCheck() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	/**
+	 * 要素を昇順に並べ替える．要素が多い場合は並列に処理する.
+	 */
+	public void parallelSort() {
+		Arrays.parallelSort(field, 0, size);
+		modCount++;
+	}
+
+	/**
+	 * 各要素を，その位置に指定した関数を適用した結果で置き換える．並列に処理する.
+	 * @param generator 位置を受け取って要素を返す副作用のない関数
+	 */
+	public void parallelSetAll(IntToDoubleFunction generator) {
+		Objects.requireNonNull(generator);
+		double[] field = this.field;
+		IntStream.range(0, size).parallel().forEach(i -> field[i] = generator.applyAsDouble(i));
+		modCount++;
+	}
+
+	/**
+	 * 各要素を，先頭からその要素までを指定した演算で累積した値で置き換える．並列に処理する.
+	 * 例えば加算を指定すると累積和が得られる．
+	 * @param op 結合的で副作用のない演算
+	 */
+	public void parallelPrefix(DoubleBinaryOperator op) {
+		Objects.requireNonNull(op);
+		if(size > 0) {
+			Arrays.parallelPrefix(field, 0, size, op);
+		}
+		modCount++;
+	}
+
+	/**
+	 * 内部配列を添字の範囲で二分するSpliteratorを返す.
+	 * 走査中に構造的変更があった場合は走査の終わりにConcurrentModificationExceptionを投げる．
+	 * @return spliterator
+	 */
+	@Override
+	public Spliterator.OfDouble spliterator() {
+		return new ArraySpliterator(0, size, modCount);
+	}
+
+	private class ArraySpliterator extends RangeSpliterator implements Spliterator.OfDouble {
+
+		ArraySpliterator(int index, int fence, int expectedModCount) {
+			super(index, fence, expectedModCount);
+		}
+
+		@Override
+		public Spliterator.OfDouble trySplit() {
+			int lo = split();
+			return lo == -1 ? null : new ArraySpliterator(lo, index, expectedModCount);
+		}
+
+		@Override
+		public boolean tryAdvance(DoubleConsumer action) {
+			Objects.requireNonNull(action);
+			if(index >= fence) {
+				return false;
+			}
+			action.accept(field[index++]);
+			modificationCheck();
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(DoubleConsumer action) {
+			Objects.requireNonNull(action);
+			double[] field = ArrayDoubleList.this.field;
+			for(int i = index;i < fence;i++) {
+				action.accept(field[i]);
+			}
+			index = fence;
+			modificationCheck();
+		}
+	}
+
+	/**
+	 * 配列の[index, fence)の範囲を辿るSpliteratorの骨格.
+	 * 走査中に構造的変更があった場合は走査の終わりにConcurrentModificationExceptionを投げる．
+	 */
+	private abstract class RangeSpliterator {
+
+		// 次に返す位置
+		int index;
+
+		// 範囲の終端(この位置を含まない)
+		final int fence;
+
+		// 構造的変更検出用
+		final int expectedModCount;
+
+		RangeSpliterator(int index, int fence, int expectedModCount) {
+			this.index = index;
+			this.fence = fence;
+			this.expectedModCount = expectedModCount;
+		}
+
+		/**
+		 * 範囲を二分し，自身は後半を受け持つ.
+		 * @return 前半の先頭，分割できなければ-1
+		 */
+		int split() {
+			int lo = index;
+			int mid = (lo + fence) >>> 1;
+			if(lo >= mid) {
+				return -1;
+			}
+			index = mid;
+			return lo;
+		}
+
+		public long estimateSize() {
+			return fence - index;
+		}
+
+		public int characteristics() {
+			return Spliterator.NONNULL | Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+
+		void modificationCheck() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	/**
+	 * このリストの要素をチャネルに書き出す.
+	 *
+	 * 要素数に続けて要素の配列をリトルエンディアンでそのまま書き出す．{@link #readFrom(ReadableByteChannel)}で読み込める．
+	 * @param channel 書き出し先
+	 * @throws IOException 書き出しに失敗したとき
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		PrimitiveCodec.Writer out = new PrimitiveCodec.Writer(channel, PrimitiveCodec.ARRAY_DOUBLE_LIST);
+		out.putInt(size);
+		out.putDoubles(field, 0, size);
+		out.flush();
+	}
+
+	/**
+	 * {@link #writeTo(WritableByteChannel)}で書き出したリストを読み込む.
+	 * @param channel 読み込み元
+	 * @return 読み込んだリスト
+	 * @throws IOException 読み込みに失敗したとき，または形式が不正なとき
+	 */
+	public static ArrayDoubleList readFrom(ReadableByteChannel channel) throws IOException {
+		PrimitiveCodec.Reader in = new PrimitiveCodec.Reader(channel, PrimitiveCodec.ARRAY_DOUBLE_LIST);
+		int size = in.getInt();
+		if(size < 0 || MAX_ARRAY_SIZE < size) {
+			throw PrimitiveCodec.invalid("size "+size);
+		}
+		ArrayDoubleList result = new ArrayDoubleList();
+		if(size > 0) {
+			result.field = new double[size];
+			in.getDoubles(result.field, 0, size);
+			result.size = size;
+		}
+		return result;
+	}
+
+	private static class SerializationProxy implements Serializable {
+
+		private static final long serialVersionUID = 2987165127331146460L;
+
+		/**
+		 * @serial
+		 */
+		private final double[] elements;
+
+		public SerializationProxy(DoubleList list) {
+			this.elements = list.toArray();
+		}
+
+		private Object readResolve() {
+			ArrayDoubleList result = new ArrayDoubleList(elements.length);
+			result.addAll(elements);
+			return result;
+		}
+	}
+
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	private void readObject(java.io.ObjectInputStream s) throws java.io.InvalidObjectException {
+		throw new java.io.InvalidObjectException("Proxy required");
+	}
+}
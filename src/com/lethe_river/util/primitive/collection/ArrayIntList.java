@@ -1,11 +1,21 @@
+// このファイルはcodegen/templates/ArrayList.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.PrimitiveIterator;
 import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
 
 /**
  * 配列をベースにしたint値を格納するPrimitiveList
@@ -31,15 +41,13 @@ public final class ArrayIntList extends AbstractIntList implements RandomAccess
 
 	public static ArrayIntList of(int... is) {
 		ArrayIntList result = new ArrayIntList(is.length);
-		for (int i = 0; i < is.length; i++) {
-			result.add(is[i]);
-		}
+		result.addAll(is);
 		return result;
 	}
 
-	public static IntList of(IntList il) {
-		ArrayIntList result = new ArrayIntList(il.size());
-		result.addAll(il);
+	public static ArrayIntList of(IntList list) {
+		ArrayIntList result = new ArrayIntList(list.size());
+		result.addAll(list);
 		return result;
 	}
 
@@ -50,6 +58,7 @@ public final class ArrayIntList extends AbstractIntList implements RandomAccess
 		}
 		if(initialCapacity == 0) {
 			field = EMPTY_ELEMENTS;
+			return;
 		}
 		throw new IllegalArgumentException("initalCapacity must be positive : "+initialCapacity);
 	}
@@ -77,6 +86,12 @@ public final class ArrayIntList extends AbstractIntList implements RandomAccess
 		return true;
 	}
 
+	@Override
+	public boolean addAll(int... is) {
+		insertAll(size, is, 0, is.length);
+		return is.length != 0;
+	}
+
 	@Override
 	public void insert(int index, int element) {
 		if(index < 0 || size < index) {
@@ -84,9 +99,7 @@ public final class ArrayIntList extends AbstractIntList implements RandomAccess
 		}
 		ensureCapacity(size+1);
 
-		for(int i = size;i > index;i--) {
-			field[i+1] = field[i];
-		}
+		System.arraycopy(field, index, field, index+1, size-index);
 		field[index] = element;
 		size++;
 	}
@@ -104,14 +117,10 @@ public final class ArrayIntList extends AbstractIntList implements RandomAccess
 		ensureCapacity(size+length);
 
 		// 退避
-		for(int i = size;i > index;i--) {
-			field[length+i] = field[i];
-		}
+		System.arraycopy(field, index, field, index+length, size-index);
 
 		// 挿入
-		for (int i = 0; i < length; i++) {
-			field[size+i] = is[offset+i];
-		}
+		System.arraycopy(is, offset, field, index, length);
 		size += length;
 	}
 
@@ -127,9 +136,7 @@ public final class ArrayIntList extends AbstractIntList implements RandomAccess
 		ensureCapacity(size+csize);
 
 		// 退避
-		for(int i = size;i > index;i--) {
-			field[csize + i] = field[i];
-		}
+		System.arraycopy(field, index, field, index+csize, size-index);
 
 		// 挿入
 		PrimitiveIterator.OfInt itr = c.iterator();
@@ -147,9 +154,7 @@ public final class ArrayIntList extends AbstractIntList implements RandomAccess
 
 		int removed = field[index];
 
-		for(int i = index;i < size-1;i++) {
-			field[i] = field[i+1];
-		}
+		System.arraycopy(field, index+1, field, index, size-index-1);
 		size--;
 		modCount++;
 		return removed;
@@ -307,6 +312,168 @@ public final class ArrayIntList extends AbstractIntList implements RandomAccess
 		}
 	}
 
+	/**
+	 * 要素を昇順に並べ替える．要素が多い場合は並列に処理する.
+	 */
+	public void parallelSort() {
+		Arrays.parallelSort(field, 0, size);
+		modCount++;
+	}
+
+	/**
+	 * 各要素を，その位置に指定した関数を適用した結果で置き換える．並列に処理する.
+	 * @param generator 位置を受け取って要素を返す副作用のない関数
+	 */
+	public void parallelSetAll(IntUnaryOperator generator) {
+		Objects.requireNonNull(generator);
+		int[] field = this.field;
+		IntStream.range(0, size).parallel().forEach(i -> field[i] = generator.applyAsInt(i));
+		modCount++;
+	}
+
+	/**
+	 * 各要素を，先頭からその要素までを指定した演算で累積した値で置き換える．並列に処理する.
+	 * 例えば加算を指定すると累積和が得られる．
+	 * @param op 結合的で副作用のない演算
+	 */
+	public void parallelPrefix(IntBinaryOperator op) {
+		Objects.requireNonNull(op);
+		if(size > 0) {
+			Arrays.parallelPrefix(field, 0, size, op);
+		}
+		modCount++;
+	}
+
+	/**
+	 * 内部配列を添字の範囲で二分するSpliteratorを返す.
+	 * 走査中に構造的変更があった場合は走査の終わりにConcurrentModificationExceptionを投げる．
+	 * @return spliterator
+	 */
+	@Override
+	public Spliterator.OfInt spliterator() {
+		return new ArraySpliterator(0, size, modCount);
+	}
+
+	private class ArraySpliterator extends RangeSpliterator implements Spliterator.OfInt {
+
+		ArraySpliterator(int index, int fence, int expectedModCount) {
+			super(index, fence, expectedModCount);
+		}
+
+		@Override
+		public Spliterator.OfInt trySplit() {
+			int lo = split();
+			return lo == -1 ? null : new ArraySpliterator(lo, index, expectedModCount);
+		}
+
+		@Override
+		public boolean tryAdvance(IntConsumer action) {
+			Objects.requireNonNull(action);
+			if(index >= fence) {
+				return false;
+			}
+			action.accept(field[index++]);
+			modificationCheck();
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(IntConsumer action) {
+			Objects.requireNonNull(action);
+			int[] field = ArrayIntList.this.field;
+			for(int i = index;i < fence;i++) {
+				action.accept(field[i]);
+			}
+			index = fence;
+			modificationCheck();
+		}
+	}
+
+	/**
+	 * 配列の[index, fence)の範囲を辿るSpliteratorの骨格.
+	 * 走査中に構造的変更があった場合は走査の終わりにConcurrentModificationExceptionを投げる．
+	 */
+	private abstract class RangeSpliterator {
+
+		// 次に返す位置
+		int index;
+
+		// 範囲の終端(この位置を含まない)
+		final int fence;
+
+		// 構造的変更検出用
+		final int expectedModCount;
+
+		RangeSpliterator(int index, int fence, int expectedModCount) {
+			this.index = index;
+			this.fence = fence;
+			this.expectedModCount = expectedModCount;
+		}
+
+		/**
+		 * 範囲を二分し，自身は後半を受け持つ.
+		 * @return 前半の先頭，分割できなければ-1
+		 */
+		int split() {
+			int lo = index;
+			int mid = (lo + fence) >>> 1;
+			if(lo >= mid) {
+				return -1;
+			}
+			index = mid;
+			return lo;
+		}
+
+		public long estimateSize() {
+			return fence - index;
+		}
+
+		public int characteristics() {
+			return Spliterator.NONNULL | Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+
+		void modificationCheck() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	/**
+	 * このリストの要素をチャネルに書き出す.
+	 *
+	 * 要素数に続けて要素の配列をリトルエンディアンでそのまま書き出す．{@link #readFrom(ReadableByteChannel)}で読み込める．
+	 * @param channel 書き出し先
+	 * @throws IOException 書き出しに失敗したとき
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		PrimitiveCodec.Writer out = new PrimitiveCodec.Writer(channel, PrimitiveCodec.ARRAY_INT_LIST);
+		out.putInt(size);
+		out.putInts(field, 0, size);
+		out.flush();
+	}
+
+	/**
+	 * {@link #writeTo(WritableByteChannel)}で書き出したリストを読み込む.
+	 * @param channel 読み込み元
+	 * @return 読み込んだリスト
+	 * @throws IOException 読み込みに失敗したとき，または形式が不正なとき
+	 */
+	public static ArrayIntList readFrom(ReadableByteChannel channel) throws IOException {
+		PrimitiveCodec.Reader in = new PrimitiveCodec.Reader(channel, PrimitiveCodec.ARRAY_INT_LIST);
+		int size = in.getInt();
+		if(size < 0 || MAX_ARRAY_SIZE < size) {
+			throw PrimitiveCodec.invalid("size "+size);
+		}
+		ArrayIntList result = new ArrayIntList();
+		if(size > 0) {
+			result.field = new int[size];
+			in.getInts(result.field, 0, size);
+			result.size = size;
+		}
+		return result;
+	}
+
 	private static class SerializationProxy implements Serializable {
 
 		private static final long serialVersionUID = 6035304906597368933L;
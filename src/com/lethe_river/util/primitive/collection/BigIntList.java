@@ -0,0 +1,611 @@
+package com.lethe_river.util.primitive.collection;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * long値のインデックスで扱う，intの範囲を超える数の要素を格納できるリスト
+ *
+ * 要素は2^24要素ごとのセグメントに分けて格納する．末尾のセグメント以外は満杯で，
+ * 末尾のセグメントだけを倍々に伸ばすため，拡張時に全体をコピーすることはない．
+ * 変更は末尾への追加と削除，および要素の置き換えに限る．
+ *
+ * 要素数がintの範囲に収まる間は{@link #asIntList()}でIntListとして扱える．
+ *
+ * @author YuyaAizawa
+ *
+ */
+@SuppressWarnings("serial") // SerializationProxyに委譲
+public final class BigIntList implements Serializable {
+
+	private static final int SEGMENT_SHIFT = 24;
+	private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+	private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+	private static final int MIN_SEGMENT_CAPACITY = 16;
+	private static final int[][] EMPTY_SEGMENTS = {};
+
+	// 要素を格納するセグメント．末尾以外の長さはSEGMENT_SIZE
+	private int[][] segments;
+
+	// 使用中のセグメント数
+	private int segmentCount;
+
+	// 要素数
+	private long size;
+
+	// 構造的変更検出用
+	private int modCount;
+
+	/**
+	 * 空のBigIntListを生成する.
+	 */
+	public BigIntList() {
+		segments = EMPTY_SEGMENTS;
+		segmentCount = 0;
+		size = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * 初期容量を指定してBigIntListを生成する.
+	 * @param initialCapacity 初期容量
+	 * @throws IllegalArgumentException initialCapacityが負のとき
+	 */
+	public BigIntList(long initialCapacity) {
+		this();
+		if(initialCapacity < 0) {
+			throw new IllegalArgumentException("initialCapacity : "+initialCapacity);
+		}
+		if(initialCapacity > 0) {
+			ensureCapacity(initialCapacity);
+		}
+	}
+
+	/**
+	 * 要素数を返す.
+	 * @return 要素数
+	 */
+	public long size64() {
+		return size;
+	}
+
+	/**
+	 * 要素を含まなければtrueを返す.
+	 * @return 要素を含まなければtrue
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * 指定した位置の要素を返す.
+	 * @param index 位置
+	 * @return 要素
+	 * @throws IndexOutOfBoundsException indexが[0, size64())の範囲外のとき
+	 */
+	public int get(long index) {
+		checkIndex(index);
+		return segments[(int)(index >>> SEGMENT_SHIFT)][(int) index & SEGMENT_MASK];
+	}
+
+	/**
+	 * 指定した位置の要素を置き換える.
+	 * @param index 位置
+	 * @param element 新しい要素
+	 * @return 置き換えられた要素
+	 * @throws IndexOutOfBoundsException indexが[0, size64())の範囲外のとき
+	 */
+	public int set(long index, int element) {
+		checkIndex(index);
+		int[] segment = segments[(int)(index >>> SEGMENT_SHIFT)];
+		int offset = (int) index & SEGMENT_MASK;
+		int old = segment[offset];
+		segment[offset] = element;
+		return old;
+	}
+
+	/**
+	 * 末尾に要素を追加する.
+	 * @param element 要素
+	 */
+	public void add(int element) {
+		long index = size;
+		ensureCapacity(index + 1);
+		segments[(int)(index >>> SEGMENT_SHIFT)][(int) index & SEGMENT_MASK] = element;
+		size = index + 1;
+		modCount++;
+	}
+
+	/**
+	 * 配列の指定した範囲の要素を末尾に追加する.
+	 * @param is 追加する要素を含む配列
+	 * @param offset 範囲の始点
+	 * @param length 範囲の長さ
+	 */
+	public void addAll(int[] is, int offset, int length) {
+		PrimitiveSupport.checkBounds(is, offset, length);
+		ensureCapacity(size + length);
+		long index = size;
+		while(length > 0) {
+			int pos = (int) index & SEGMENT_MASK;
+			int n = Math.min(length, SEGMENT_SIZE - pos);
+			System.arraycopy(is, offset, segments[(int)(index >>> SEGMENT_SHIFT)], pos, n);
+			index += n;
+			offset += n;
+			length -= n;
+		}
+		size = index;
+		modCount++;
+	}
+
+	/**
+	 * 末尾の要素を削除する.
+	 * @return 削除した要素
+	 * @throws NoSuchElementException 要素を含まないとき
+	 */
+	public int removeLast() {
+		if(size == 0) {
+			throw new NoSuchElementException();
+		}
+		long index = --size;
+		modCount++;
+		return segments[(int)(index >>> SEGMENT_SHIFT)][(int) index & SEGMENT_MASK];
+	}
+
+	/**
+	 * すべての要素を削除する．セグメントは解放する.
+	 */
+	public void clear() {
+		segments = EMPTY_SEGMENTS;
+		segmentCount = 0;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * 指定した数の要素を格納できるよう内部のセグメントを確保する.
+	 * @param minCapacity 保持する要素の数
+	 */
+	public void ensureCapacity(long minCapacity) {
+		if(minCapacity <= capacity()) {
+			return;
+		}
+		int needed = (int)((minCapacity + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+		if(needed > segments.length) {
+			segments = Arrays.copyOf(segments, Math.max(needed, segments.length * 2));
+		}
+		// 末尾のセグメントは満杯にするか，必要な長さまで倍々に伸ばす
+		if(segmentCount > 0) {
+			int last = segmentCount - 1;
+			segments[last] = Arrays.copyOf(segments[last], segmentLength(last, needed, minCapacity));
+		}
+		while(segmentCount < needed) {
+			segments[segmentCount] = new int[segmentLength(segmentCount, needed, minCapacity)];
+			segmentCount++;
+		}
+	}
+
+	/**
+	 * セグメントの新しい長さを返す.
+	 * @param s セグメントの番号
+	 * @param needed 必要なセグメントの数
+	 * @param minCapacity 保持する要素の数
+	 * @return 末尾でなければSEGMENT_SIZE，末尾であれば必要な長さ以上の2の冪
+	 */
+	private int segmentLength(int s, int needed, long minCapacity) {
+		if(s < needed - 1) {
+			return SEGMENT_SIZE;
+		}
+		int required = (int)(minCapacity - ((long) s << SEGMENT_SHIFT));
+		int current = s < segmentCount ? segments[s].length : 0;
+		int length = Math.max(MIN_SEGMENT_CAPACITY, current * 2);
+		while(length < required) {
+			length <<= 1;
+		}
+		return Math.min(length, SEGMENT_SIZE);
+	}
+
+	private long capacity() {
+		if(segmentCount == 0) {
+			return 0;
+		}
+		return ((long)(segmentCount - 1) << SEGMENT_SHIFT) + segments[segmentCount - 1].length;
+	}
+
+	private void checkIndex(long index) {
+		if(index < 0 || size <= index) {
+			throw new IndexOutOfBoundsException("Index: "+index+", Size: "+size);
+		}
+	}
+
+	/**
+	 * 先頭から順に要素を返すイテレータを返す.
+	 * @return イテレータ
+	 */
+	public PrimitiveIterator.OfInt iterator() {
+		return new PrimitiveIterator.OfInt() {
+
+			// 次に返す位置
+			long index = 0;
+
+			// 構造的変更検出用
+			final int expectedModCount = modCount;
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			public int nextInt() {
+				if(expectedModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+				if(index >= size) {
+					throw new NoSuchElementException();
+				}
+				long i = index++;
+				return segments[(int)(i >>> SEGMENT_SHIFT)][(int) i & SEGMENT_MASK];
+			}
+		};
+	}
+
+	/**
+	 * 指定した操作を先頭から順にそれぞれの要素に適用する.
+	 * @param action 適用する操作
+	 */
+	public void forEach(IntConsumer action) {
+		spliterator().forEachRemaining(action);
+	}
+
+	/**
+	 * long値の範囲で分割できるSpliteratorを返す.
+	 * 分割はなるべくセグメントの境界で行う．
+	 * @return Spliterator
+	 */
+	public Spliterator.OfInt spliterator() {
+		return new SegmentSpliterator(0, size, modCount);
+	}
+
+	/**
+	 * 要素の逐次ストリームを返す.
+	 * @return ストリーム
+	 */
+	public IntStream stream() {
+		return StreamSupport.intStream(spliterator(), false);
+	}
+
+	/**
+	 * 要素の並列ストリームを返す.
+	 * @return ストリーム
+	 */
+	public IntStream parallelStream() {
+		return StreamSupport.intStream(spliterator(), true);
+	}
+
+	/**
+	 * このリストをIntListとして扱うビューを返す.
+	 *
+	 * ビューはget，set，末尾への追加と末尾の削除をこのリストに反映する．
+	 * 要素数がintの範囲を超えた状態でビューを操作するとIllegalStateExceptionを投げる．
+	 * @return IntListのビュー
+	 * @throws IllegalStateException 要素数がintの範囲を超えているとき
+	 */
+	public IntList asIntList() {
+		checkIntSize();
+		return new IntListView();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(obj == this) {
+			return true;
+		}
+		if(!(obj instanceof BigIntList)) {
+			return false;
+		}
+		BigIntList list = (BigIntList) obj;
+		if(list.size != size) {
+			return false;
+		}
+		for (long i = 0; i < size; i++) {
+			if(get(i) != list.get(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 1;
+		for(PrimitiveIterator.OfInt i = iterator();i.hasNext();) {
+			hash = 31 * hash + i.nextInt();
+		}
+		return hash;
+	}
+
+	private int checkIntSize() {
+		if(size > Integer.MAX_VALUE) {
+			throw new IllegalStateException("Too many elements for IntList: "+size);
+		}
+		return (int) size;
+	}
+
+	private class SegmentSpliterator implements Spliterator.OfInt {
+
+		// 次に返す位置
+		long index;
+
+		// 範囲の終端(この位置を含まない)
+		final long fence;
+
+		// 構造的変更検出用
+		final int expectedModCount;
+
+		SegmentSpliterator(long index, long fence, int expectedModCount) {
+			this.index = index;
+			this.fence = fence;
+			this.expectedModCount = expectedModCount;
+		}
+
+		@Override
+		public Spliterator.OfInt trySplit() {
+			long lo = index;
+			long mid = (lo + fence) >>> 1;
+			if(lo >= mid) {
+				return null;
+			}
+			// 範囲が複数のセグメントにまたがるならmidに最も近い境界で分割する
+			long boundary = (mid + (SEGMENT_SIZE >> 1)) & ~(long) SEGMENT_MASK;
+			if(lo < boundary && boundary < fence) {
+				mid = boundary;
+			}
+			index = mid;
+			return new SegmentSpliterator(lo, mid, expectedModCount);
+		}
+
+		@Override
+		public boolean tryAdvance(IntConsumer action) {
+			Objects.requireNonNull(action);
+			if(index >= fence) {
+				return false;
+			}
+			long i = index++;
+			action.accept(segments[(int)(i >>> SEGMENT_SHIFT)][(int) i & SEGMENT_MASK]);
+			modificationCheck();
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(IntConsumer action) {
+			Objects.requireNonNull(action);
+			int[][] segments = BigIntList.this.segments;
+			long i = index;
+			while(i < fence) {
+				int[] segment = segments[(int)(i >>> SEGMENT_SHIFT)];
+				int from = (int) i & SEGMENT_MASK;
+				int to = (int) Math.min(SEGMENT_SIZE, from + (fence - i));
+				for(int j = from;j < to;j++) {
+					action.accept(segment[j]);
+				}
+				i += to - from;
+			}
+			index = fence;
+			modificationCheck();
+		}
+
+		@Override
+		public long estimateSize() {
+			return fence - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.NONNULL | Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+
+		private void modificationCheck() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	private class IntListView extends AbstractIntList implements RandomAccess {
+
+		@Override
+		public int size() {
+			return checkIntSize();
+		}
+
+		@Override
+		public int get(int index) {
+			if(index < 0 || size() <= index) {
+				throw new IndexOutOfBoundsException(index);
+			}
+			return BigIntList.this.get(index);
+		}
+
+		@Override
+		public int set(int index, int element) {
+			if(index < 0 || size() <= index) {
+				throw new IndexOutOfBoundsException(index);
+			}
+			return BigIntList.this.set(index, element);
+		}
+
+		@Override
+		public boolean add(int i) {
+			if(size() == Integer.MAX_VALUE) {
+				throw new IllegalStateException("Too many elements for IntList");
+			}
+			BigIntList.this.add(i);
+			return true;
+		}
+
+		@Override
+		public void insert(int index, int element) {
+			if(index != size()) {
+				throw new UnsupportedOperationException();
+			}
+			add(element);
+		}
+
+		@Override
+		public int removeAt(int index) {
+			if(index != size() - 1) {
+				throw new UnsupportedOperationException();
+			}
+			return removeLast();
+		}
+
+		@Override
+		public void clear() {
+			BigIntList.this.clear();
+		}
+
+		@Override
+		public Spliterator.OfInt spliterator() {
+			return new SegmentSpliterator(0, checkIntSize(), BigIntList.this.modCount);
+		}
+
+		@Override
+		public IntListIterator listIterator(int index) {
+			if(index < 0 || size() < index) {
+				throw new IndexOutOfBoundsException(index);
+			}
+			return new IntListIterator() {
+
+				// 次に返す位置
+				int cursor = index;
+
+				// setで変更される位置 対象がない場合-1
+				int last = -1;
+
+				@Override
+				public boolean hasNext() {
+					return cursor < size();
+				}
+
+				@Override
+				public int nextInt() {
+					if(!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					last = cursor++;
+					return BigIntList.this.get(last);
+				}
+
+				@Override
+				public boolean hasPrevious() {
+					return cursor > 0;
+				}
+
+				@Override
+				public int previousInt() {
+					if(!hasPrevious()) {
+						throw new NoSuchElementException();
+					}
+					last = --cursor;
+					return BigIntList.this.get(last);
+				}
+
+				@Override
+				public int nextIndex() {
+					return cursor;
+				}
+
+				@Override
+				public int previousIndex() {
+					return cursor - 1;
+				}
+
+				@Override
+				public void remove() {
+					if(last == -1) {
+						throw new IllegalStateException();
+					}
+					removeAt(last);
+					cursor = last;
+					last = -1;
+				}
+
+				@Override
+				public void set(int e) {
+					if(last == -1) {
+						throw new IllegalStateException();
+					}
+					BigIntList.this.set(last, e);
+				}
+
+				@Override
+				public void add(int e) {
+					insert(cursor, e);
+					cursor++;
+					last = -1;
+				}
+			};
+		}
+	}
+
+	/**
+	 * 要素を配列に移さず1つずつ書き出す．そのためintの範囲を超える数の要素も直列化できる.
+	 */
+	private static class SerializationProxy implements Serializable {
+		private static final long serialVersionUID = -5106693896870218035L;
+
+		// 書き出すリストまたは読み込んだリスト
+		private transient BigIntList list;
+
+		public SerializationProxy(BigIntList list) {
+			this.list = list;
+		}
+
+		/**
+		 * @serialData 要素数(long)に続けて，各要素(int)
+		 */
+		private void writeObject(ObjectOutputStream s) throws IOException {
+			s.defaultWriteObject();
+			s.writeLong(list.size64());
+			for(PrimitiveIterator.OfInt i = list.iterator();i.hasNext();) {
+				s.writeInt(i.nextInt());
+			}
+		}
+
+		private void readObject(ObjectInputStream s) throws IOException, ClassNotFoundException {
+			s.defaultReadObject();
+			long size = s.readLong();
+			list = new BigIntList(size);
+			for (long i = 0; i < size; i++) {
+				list.add(s.readInt());
+			}
+		}
+
+		private Object readResolve() {
+			return list;
+		}
+	}
+
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	private void readObject(ObjectInputStream s) throws InvalidObjectException {
+		throw new InvalidObjectException("Proxy required");
+	}
+}
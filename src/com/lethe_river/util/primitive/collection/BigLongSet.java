@@ -0,0 +1,607 @@
+package com.lethe_river.util.primitive.collection;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+import com.lethe_river.util.primitive.HashSupport;
+import com.lethe_river.util.primitive.LongLongHash;
+
+/**
+ * テーブルを複数の配列に分けることで，intの範囲を超える数の要素を格納できるLongSetの実装
+ *
+ * - open address
+ * - power of two bucket
+ * - liner probing
+ * - backward shift deletion
+ *
+ * テーブルは2^24要素ごとのセグメントに分け，位置はlong値で扱う．
+ * 要素数は{@link #size64()}で得られる．{@link #size()}は要素数がintの範囲を超えると{@link Integer#MAX_VALUE}を返す．
+ *
+ * @author YuyaAizawa
+ *
+ */
+@SuppressWarnings("serial") // SerializationProxyに委譲
+public final class BigLongSet extends AbstractLongSet {
+
+	// NULLをあらわす数字
+	private static final long NULL = 0;
+
+	private static final int SEGMENT_SHIFT = 24;
+	private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+	private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+	private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+	private static final long MIN_CAPACITY = 16;
+	private static final long MAX_CAPACITY = 1L<<40;
+
+	// NULL以外の要素を格納するテーブル
+	private long[][] segments;
+
+	// テーブルの長さ-1
+	private long mask;
+
+	// NULLで使われている数字を含むか
+	private boolean hasNull;
+
+	// 要素数の合計
+	private long size;
+
+	// 負荷係数
+	private final float loadFactor;
+
+	// 要素の位置を決めるハッシュ関数
+	private final LongLongHash hashFunction;
+
+	// 次にリハッシュする容量
+	private long threshold;
+
+	// 構造的変更検出用
+	private int modCount;
+
+	/**
+	 * 初期容量，負荷係数とハッシュ関数を指定してBigLongSetを生成する.
+	 *
+	 * ハッシュ関数は下位ビットがよく撹拌されるものを選ぶこと．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 * @param hashFunction 要素の位置を決めるハッシュ関数
+	 */
+	public BigLongSet(long initCapacity, float loadFactor, LongLongHash hashFunction) {
+		if(initCapacity < 0) {
+			throw new IllegalArgumentException("initCapacity must be positive :"+initCapacity);
+		}
+		if(!(loadFactor > 0 && loadFactor < 1)) {
+			throw new IllegalArgumentException("loadFactor : "+loadFactor);
+		}
+		this.loadFactor = loadFactor;
+		this.hashFunction = Objects.requireNonNull(hashFunction);
+		allocate(lengthFor(initCapacity));
+		hasNull = false;
+		size = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * 初期容量と負荷係数を指定してBigLongSetを生成する.
+	 *
+	 * ハッシュ関数にはインスタンスごとにsaltを乱数で選んだ{@link HashSupport#randomizedThomasMueller()}が用いられる．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 */
+	public BigLongSet(long initCapacity, float loadFactor) {
+		this(initCapacity, loadFactor, HashSupport.randomizedThomasMueller());
+	}
+
+	/**
+	 * 初期容量を指定してBigLongSetを生成する.
+	 *
+	 * 負荷係数はデフォルトの値(0.75)が用いられる
+	 * @param initCapacity 初期容量
+	 */
+	public BigLongSet(long initCapacity) {
+		this(initCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * デフォルトの初期容量(16)と負荷係数を利用してBigLongSetを生成する.
+	 */
+	public BigLongSet() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * 指定した容量に対するテーブルの長さを返す.
+	 * @param capacity 容量
+	 * @return MIN_CAPACITY以上の2の冪
+	 */
+	private static long lengthFor(long capacity) {
+		if(capacity <= MIN_CAPACITY) {
+			return MIN_CAPACITY;
+		}
+		return Long.highestOneBit(Math.min(capacity, MAX_CAPACITY)-1) << 1;
+	}
+
+	private void allocate(long length) {
+		segments = newTable(length);
+		mask = length - 1;
+		threshold = (long) (length * (double) loadFactor);
+	}
+
+	private static long[][] newTable(long length) {
+		if(length <= SEGMENT_SIZE) {
+			return new long[][] {new long[(int) length]};
+		}
+		long[][] segments = new long[(int)(length >>> SEGMENT_SHIFT)][];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = new long[SEGMENT_SIZE];
+		}
+		return segments;
+	}
+
+	private static long slot(long[][] segments, long index) {
+		return segments[(int)(index >>> SEGMENT_SHIFT)][(int) index & SEGMENT_MASK];
+	}
+
+	private static void setSlot(long[][] segments, long index, long l) {
+		segments[(int)(index >>> SEGMENT_SHIFT)][(int) index & SEGMENT_MASK] = l;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * 要素数がintの範囲を超える場合は{@link Integer#MAX_VALUE}を返す．
+	 */
+	@Override
+	public int size() {
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * このセットの要素数を返す.
+	 * @return 要素数
+	 */
+	public long size64() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean contains(long l) {
+		if(l == NULL) {
+			return hasNull;
+		}
+		return find(l) != -1;
+	}
+
+	/**
+	 * 指定した要素が格納されている位置を返す.
+	 * @param l NULL以外の要素
+	 * @return 要素の位置，存在しなければ-1
+	 */
+	private long find(long l) {
+		long[][] segments = this.segments;
+		long mask = this.mask;
+		for(long index = hash(l) & mask;;index = (index + 1) & mask) {
+			long j = slot(segments, index);
+			if(j == l) {
+				return index;
+			}
+			if(j == NULL) {
+				return -1;
+			}
+		}
+	}
+
+	@Override
+	public boolean add(long l) {
+		if(l == NULL) {
+			if(hasNull) {
+				return false;
+			}
+			hasNull = true;
+			size++;
+			modCount++;
+			return true;
+		}
+
+		try {
+			ensureCapacity(size+1);
+		} catch(IllegalArgumentException e) {
+			throw new RuntimeException("Too many entries!");
+		}
+
+		long[][] segments = this.segments;
+		long mask = this.mask;
+		long index = hash(l) & mask;
+		for(;;index = (index + 1) & mask) {
+			long j = slot(segments, index);
+			if(j == l) {
+				return false;
+			}
+			if(j == NULL) {
+				break;
+			}
+		}
+		setSlot(segments, index, l);
+		size++;
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public boolean remove(long l) {
+		if(l == NULL) {
+			if(hasNull) {
+				hasNull = false;
+				size--;
+				modCount++;
+				return true;
+			}
+			return false;
+		}
+
+		long index = find(l);
+		if(index == -1) {
+			return false;
+		}
+		pull(index);
+		size--;
+		return true;
+	}
+
+	/**
+	 * 指定した位置の要素を削除する.
+	 * 後続の要素のうち，本来の位置から空いた位置までの間にあるものを空いた位置へ詰めることを空きに達するまで繰り返す(backward shift deletion)．
+	 * @param index 要素の位置
+	 */
+	private void pull(long index) {
+		long[][] segments = this.segments;
+		long mask = this.mask;
+		long hole = index;
+		for(long src = (index + 1) & mask;;src = (src + 1) & mask) {
+			long l = slot(segments, src);
+			if(l == NULL) {
+				break;
+			}
+			long home = hash(l) & mask;
+			if(((src - home) & mask) >= ((src - hole) & mask)) {
+				setSlot(segments, hole, l);
+				hole = src;
+			}
+		}
+		setSlot(segments, hole, NULL);
+		modCount++;
+	}
+
+	@Override
+	public void clear() {
+		allocate(mask + 1);
+		hasNull = false;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * 指定した容量を格納できるようこのBigLongSetのテーブルを拡張する.
+	 * @param minCapacity 保持する要素の数
+	 * @throws IllegalArgumentException minCapacityが[1, 最大容量]の範囲外だったとき
+	 */
+	public void ensureCapacity(long minCapacity) {
+		if(minCapacity <= 0 || (long) (MAX_CAPACITY * (double) loadFactor) < minCapacity) {
+			throw new IllegalArgumentException("minCapacity : "+minCapacity);
+		}
+		if(threshold >= minCapacity) {
+			return;
+		}
+		rehash(Math.max((mask + 1) << 1, lengthFor((long) (minCapacity / (double) loadFactor) + 1)));
+	}
+
+	private void rehash(long length) {
+		long[][] oldSegments = segments;
+		long[][] segments = newTable(length);
+		long mask = length - 1;
+		for(long[] oldSegment : oldSegments) {
+			for(long l : oldSegment) {
+				if(l == NULL) {
+					continue;
+				}
+				long index = hash(l) & mask;
+				while(slot(segments, index) != NULL) {
+					index = (index + 1) & mask;
+				}
+				setSlot(segments, index, l);
+			}
+		}
+		this.segments = segments;
+		this.mask = mask;
+		threshold = (long) (length * (double) loadFactor);
+		modCount++;
+	}
+
+	/**
+	 * 要素のテーブル上での位置を決めるためのhashを返す．
+	 * {@link #hashCode()}とは無関係
+	 * @param l 要素
+	 * @return 要素のハッシュ
+	 */
+	private long hash(long l) {
+		return hashFunction.hash(l);
+	}
+
+	@Override
+	public PrimitiveIterator.OfLong iterator() {
+		// 1つ目は0を返す
+		return new PrimitiveIterator.OfLong() {
+
+			// 走査を始める位置 NULLの直後から一周する
+			final long start;
+
+			// 調べ終えた位置の数
+			long scanned = 0;
+
+			// 構造的変更検出用
+			int expectedModCount = modCount;
+
+			// nextで返した数
+			long replied = 0;
+
+			// 削除した要素の数
+			long removed = 0;
+
+			// 次のremoveで削除する位置，-1ならremove不可，-2ならNULL
+			long removeTarget = -1;
+
+			{
+				long s = 0;
+				for (long i = 0; i <= mask; i++) {
+					if(slot(segments, i) == NULL) {
+						s = i+1;
+						break;
+					}
+				}
+				start = s;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return replied < size + removed;
+			}
+
+			@Override
+			public long nextLong() {
+				if(expectedModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+				if(replied == 0 && hasNull) {
+					replied++;
+					removeTarget = -2;
+					return NULL;
+				}
+				long[][] segments = BigLongSet.this.segments;
+				long length = mask + 1;
+				while(scanned < length) {
+					long index = (start + scanned) & mask;
+					scanned++;
+					long l = slot(segments, index);
+					if(l != NULL) {
+						replied++;
+						removeTarget = index;
+						return l;
+					}
+				}
+				throw new NoSuchElementException();
+			}
+
+			@Override
+			public void remove() {
+				if(expectedModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+				if(removeTarget == -1) {
+					throw new IllegalStateException();
+				}
+				if(removeTarget == -2) {
+					BigLongSet.this.remove(NULL);
+				} else {
+					pull(removeTarget);
+					size--;
+					// 後続の要素が詰められた場合はその位置をもう一度調べる
+					if(slot(segments, removeTarget) != NULL) {
+						scanned--;
+					}
+				}
+				expectedModCount = modCount;
+				removed++;
+				removeTarget = -1;
+			}
+		};
+	}
+
+	@Override
+	public Spliterator.OfLong spliterator() {
+		return new TableSpliterator(segments, 0, mask + 1, hasNull, size, true);
+	}
+
+	/**
+	 * テーブルの[index, fence)の範囲を辿るSpliterator.
+	 * 分割はなるべくセグメントの境界で行う．NULLの要素は先頭の範囲が受け持つ．
+	 */
+	private class TableSpliterator implements Spliterator.OfLong {
+
+		// 辿るテーブル
+		final long[][] segments;
+
+		// 次に調べる位置
+		long index;
+
+		// 範囲の終端(この位置を含まない)
+		final long fence;
+
+		// NULLの要素を受け持つならtrue
+		boolean withNull;
+
+		// 残りの要素数の見積もり
+		long est;
+
+		// 分割していなければtrue
+		boolean sized;
+
+		// 構造的変更検出用
+		final int expectedModCount = modCount;
+
+		TableSpliterator(long[][] segments, long index, long fence, boolean withNull, long est, boolean sized) {
+			this.segments = segments;
+			this.index = index;
+			this.fence = fence;
+			this.withNull = withNull;
+			this.est = est;
+			this.sized = sized;
+		}
+
+		@Override
+		public Spliterator.OfLong trySplit() {
+			long lo = index;
+			long mid = (lo + fence) >>> 1;
+			if(lo >= mid) {
+				return null;
+			}
+			long boundary = (mid + (SEGMENT_SIZE >> 1)) & ~(long) SEGMENT_MASK;
+			if(lo < boundary && boundary < fence) {
+				mid = boundary;
+			}
+			long prefixEst = (long) (est * ((double) (mid - lo) / (fence - lo)));
+			TableSpliterator prefix = new TableSpliterator(segments, lo, mid, withNull, prefixEst, false);
+			index = mid;
+			withNull = false;
+			est -= prefixEst;
+			sized = false;
+			return prefix;
+		}
+
+		@Override
+		public boolean tryAdvance(LongConsumer action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(NULL);
+				checkModCount();
+				return true;
+			}
+			while(index < fence) {
+				long l = slot(segments, index++);
+				if(l != NULL) {
+					action.accept(l);
+					checkModCount();
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(LongConsumer action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(NULL);
+			}
+			long i = index;
+			while(i < fence) {
+				long[] segment = segments[(int)(i >>> SEGMENT_SHIFT)];
+				int from = (int) i & SEGMENT_MASK;
+				int to = (int) Math.min(segment.length, from + (fence - i));
+				for(int j = from;j < to;j++) {
+					long l = segment[j];
+					if(l != NULL) {
+						action.accept(l);
+					}
+				}
+				i += to - from;
+			}
+			index = fence;
+			checkModCount();
+		}
+
+		@Override
+		public long estimateSize() {
+			return est;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.DISTINCT | Spliterator.NONNULL | (sized ? Spliterator.SIZED : 0);
+		}
+
+		private void checkModCount() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	/**
+	 * 要素を配列に移さず1つずつ書き出す．そのためintの範囲を超える数の要素も直列化できる.
+	 */
+	private static class SerializationProxy implements Serializable {
+		private static final long serialVersionUID = 7436216030813839516L;
+
+		/**
+		 * @serial
+		 */
+		private final float loadFactor;
+
+		// 書き出すセットまたは読み込んだセット
+		private transient BigLongSet set;
+
+		public SerializationProxy(BigLongSet set) {
+			this.loadFactor = set.loadFactor;
+			this.set = set;
+		}
+
+		/**
+		 * @serialData 要素数(long)に続けて，各要素(long)
+		 */
+		private void writeObject(ObjectOutputStream s) throws IOException {
+			s.defaultWriteObject();
+			s.writeLong(set.size64());
+			for(PrimitiveIterator.OfLong i = set.iterator();i.hasNext();) {
+				s.writeLong(i.nextLong());
+			}
+		}
+
+		private void readObject(ObjectInputStream s) throws IOException, ClassNotFoundException {
+			s.defaultReadObject();
+			long size = s.readLong();
+			// ハッシュ関数は直列化できるとは限らないため引き継がない
+			set = new BigLongSet((long) (size / (double) loadFactor) + 1, loadFactor);
+			for (long i = 0; i < size; i++) {
+				set.add(s.readLong());
+			}
+		}
+
+		private Object readResolve() {
+			return set;
+		}
+	}
+
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	private void readObject(ObjectInputStream s) throws InvalidObjectException {
+		throw new InvalidObjectException("Proxy required");
+	}
+}
@@ -1,24 +1,53 @@
 package com.lethe_river.util.primitive.collection;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 import java.util.RandomAccess;
 
 /**
- * 内部をn^(1/2)程度の大きさの配列に分けることで高速処理を可能にするリスト
+ * 内部を大きさの上限が決まった配列(ブロック)に分けることで途中への挿入や削除を高速に行えるリスト
+ *
+ * - 各ブロックの要素数に対するFenwick木を持ち，インデックスからブロックをO(log n)で求める
+ * - 挿入はブロック内の要素をずらすだけで行い，ブロックが満杯になったときのみ半分に分割する
+ * - 削除で小さくなったブロックは隣のブロックと併合する
+ * - イテレータはブロックを直接たどるため，全体の走査はO(n)
+ *
  * @author YuyaAizawa
  *
  */
 public final class BlockLinkedIntList extends AbstractIntList implements RandomAccess {
 
-	private final ArrayList<IntList> root;
-	private int size;
+	// ブロックの最大の大きさ
+	private static final int MAX_BLOCK_SIZE = 1024;
+
+	// 新しいブロックの初期容量
+	private static final int INIT_BLOCK_CAPACITY = 16;
+
+	// 初期のブロック数の上限
+	private static final int INIT_BLOCKS = 4;
 
-	private int modCount;
+	// 要素を格納するブロック．[0, blockCount)を使用する
+	private int[][] blocks;
+
+	// 各ブロックの要素数
+	private int[] counts;
+
+	// countsに対するFenwick木(1-origin)
+	private int[] tree;
+
+	// 使用中のブロック数
+	private int blockCount;
+
+	// 要素数の合計
+	private int size;
 
 	public BlockLinkedIntList() {
-		root = new ArrayList<>();
+		blocks = new int[INIT_BLOCKS][];
+		counts = new int[INIT_BLOCKS];
+		tree = new int[INIT_BLOCKS+1];
+		blockCount = 0;
+		size = 0;
 	}
 
 	@Override
@@ -36,16 +65,8 @@ public final class BlockLinkedIntList extends AbstractIntList implements RandomA
 		if(index < 0 || size() <= index) {
 			throw new IndexOutOfBoundsException(index);
 		}
-
-		int offset = index;
-		for (int i = 0; i < root.size(); i++) {
-			IntList list = root.get(i);
-			if(offset < list.size()) {
-				return list.get(offset);
-			}
-			offset -= list.size();
-		}
-		throw new Error();
+		long location = locate(index);
+		return blocks[(int)(location >>> 32)][(int) location];
 	}
 
 	@Override
@@ -53,16 +74,12 @@ public final class BlockLinkedIntList extends AbstractIntList implements RandomA
 		if(index < 0 || size() <= index) {
 			throw new IndexOutOfBoundsException(index);
 		}
-
-		int offset = index;
-		for (int i = 0; i < root.size(); i++) {
-			IntList list = root.get(i);
-			if(offset < list.size()) {
-				return list.set(offset, element);
-			}
-			offset -= list.size();
-		}
-		throw new Error();
+		long location = locate(index);
+		int[] block = blocks[(int)(location >>> 32)];
+		int offset = (int) location;
+		int old = block[offset];
+		block[offset] = element;
+		return old;
 	}
 
 	@Override
@@ -71,20 +88,40 @@ public final class BlockLinkedIntList extends AbstractIntList implements RandomA
 			throw new IndexOutOfBoundsException(index);
 		}
 
-		int offset = index;
-		int i = 0;
-		for (; i < root.size(); i++) {
-			IntList list = root.get(i);
-			if(offset < list.size() || i == root.size()-1) {
-				list.insert(offset, element);
-
-				size++;
-				splitCheck(i);
-				return;
+		int b;
+		int offset;
+		if(index == size) {
+			if(blockCount == 0 || counts[blockCount-1] == MAX_BLOCK_SIZE) {
+				// 末尾への追加では満杯のブロックを分割せず新しいブロックを足す
+				insertBlock(blockCount, new int[INIT_BLOCK_CAPACITY], 0);
+				rebuildIndex();
+			}
+			b = blockCount-1;
+			offset = counts[b];
+		} else {
+			long location = locate(index);
+			b = (int)(location >>> 32);
+			offset = (int) location;
+			if(counts[b] == MAX_BLOCK_SIZE) {
+				split(b);
+				if(offset >= counts[b]) {
+					offset -= counts[b];
+					b++;
+				}
 			}
-			offset -= list.size();
 		}
 
+		int[] block = blocks[b];
+		int count = counts[b];
+		if(count == block.length) {
+			block = blocks[b] = Arrays.copyOf(block, Math.min(block.length<<1, MAX_BLOCK_SIZE));
+		}
+		System.arraycopy(block, offset, block, offset+1, count-offset);
+		block[offset] = element;
+		counts[b] = count+1;
+		fenwickAdd(b, 1);
+		size++;
+		modCount++;
 	}
 
 	@Override
@@ -93,82 +130,150 @@ public final class BlockLinkedIntList extends AbstractIntList implements RandomA
 			throw new IndexOutOfBoundsException(index);
 		}
 
-		int result = 0;
-		int offset = index;
-		int i = 0;
-		for (; i < root.size(); i++) {
-			IntList list = root.get(i);
-			if(offset < list.size()) {
-				result = list.removeAt(offset);
-				size--;
-				mergeCheck(i);
-
-				return result;
-			}
-			offset -= list.size();
+		long location = locate(index);
+		int b = (int)(location >>> 32);
+		int offset = (int) location;
+		int[] block = blocks[b];
+		int result = block[offset];
+		int count = --counts[b];
+		System.arraycopy(block, offset+1, block, offset, count-offset);
+		size--;
+		modCount++;
+
+		if(count == 0) {
+			removeBlock(b);
+			rebuildIndex();
+		} else if(b+1 < blockCount && count + counts[b+1] <= MAX_BLOCK_SIZE>>1) {
+			merge(b);
+		} else if(b > 0 && counts[b-1] + count <= MAX_BLOCK_SIZE>>1) {
+			merge(b-1);
+		} else {
+			fenwickAdd(b, -1);
 		}
+		return result;
+	}
 
-		throw new Error();
+	@Override
+	public void clear() {
+		Arrays.fill(blocks, 0, blockCount, null);
+		blockCount = 0;
+		size = 0;
+		modCount++;
 	}
 
 	/**
-	 * i番目のリストの大きさが2*n^(1/2)を超えていれば分割する
-	 * @param i
+	 * 指定したインデックスの要素の位置を返す.
+	 * @param index [0, size)のインデックス
+	 * @return 上位32bitにブロックの番号，下位32bitにブロック内の位置
 	 */
-	private void splitCheck(int listNum) {
-		int[] target = root.get(listNum).toArray();
-		int targetSize = target.length;
-		if(targetSize < 11) {
-			return;
+	private long locate(int index) {
+		int[] tree = this.tree;
+		int blockCount = this.blockCount;
+		int b = 0;
+		int rest = index;
+		for(int step = Integer.highestOneBit(blockCount);step > 0;step >>= 1) {
+			int next = b + step;
+			if(next <= blockCount && tree[next] <= rest) {
+				b = next;
+				rest -= tree[next];
+			}
 		}
-		if(((long) targetSize) * targetSize > ((long) size())<<2) {
-			int init = (targetSize>>1) + (targetSize>>2);
-			IntList firstHalf = new ArrayIntList(init);
-			IntList lastHalf = new ArrayIntList(init);
-
-			firstHalf.addAll(target, 0, targetSize>>1);
-			lastHalf.addAll(target, targetSize>>1, targetSize - (targetSize>>1));
+		return ((long) b << 32) | rest;
+	}
 
-			root.set(listNum, firstHalf);
-			root.add(listNum+1, lastHalf);
-			modCount++;
+	/**
+	 * ブロックの要素数の変化をFenwick木に反映する.
+	 * @param b ブロックの番号
+	 * @param delta 要素数の変化
+	 */
+	private void fenwickAdd(int b, int delta) {
+		int[] tree = this.tree;
+		for(int i = b+1;i <= blockCount;i += i & -i) {
+			tree[i] += delta;
 		}
 	}
 
-	private void mergeCheck(int listNum) {
-		int targetSize = root.get(listNum).size();
-		if(((long) targetSize) * targetSize < size()>>2) {
-			if(listNum > 0) {
-				long fhSize = root.get(listNum-1).size();
-				if(fhSize * fhSize < size()>>2) {
-					merge(listNum-1);
-					return;
-				}
-			}
-			if(listNum < root.size()-1) {
-				long lhSize = root.get(listNum+1).size();
-				if(lhSize * lhSize < size()>>2) {
-					merge(listNum);
-					return;
-				}
+	/**
+	 * ブロックの増減の後にFenwick木をO(ブロック数)で作り直す.
+	 */
+	private void rebuildIndex() {
+		int[] tree = this.tree;
+		int blockCount = this.blockCount;
+		System.arraycopy(counts, 0, tree, 1, blockCount);
+		for(int i = 1;i <= blockCount;i++) {
+			int parent = i + (i & -i);
+			if(parent <= blockCount) {
+				tree[parent] += tree[i];
 			}
 		}
 	}
 
-	private void merge(int firstListNum) {
-		IntList target = root.get(firstListNum);
-		target.addAll(root.get(firstListNum+1));
-		root.remove(firstListNum+1);
-		modCount++;
+	/**
+	 * ブロックを指定した位置に挿入する．Fenwick木は更新しない.
+	 * @param b 挿入する位置
+	 * @param block ブロック
+	 * @param count ブロックの要素数
+	 */
+	private void insertBlock(int b, int[] block, int count) {
+		if(blockCount == blocks.length) {
+			int length = blocks.length<<1;
+			blocks = Arrays.copyOf(blocks, length);
+			counts = Arrays.copyOf(counts, length);
+			tree = new int[length+1];
+		}
+		System.arraycopy(blocks, b, blocks, b+1, blockCount-b);
+		System.arraycopy(counts, b, counts, b+1, blockCount-b);
+		blocks[b] = block;
+		counts[b] = count;
+		blockCount++;
+	}
+
+	/**
+	 * 指定した位置のブロックを取り除く．Fenwick木は更新しない.
+	 * @param b ブロックの番号
+	 */
+	private void removeBlock(int b) {
+		blockCount--;
+		System.arraycopy(blocks, b+1, blocks, b, blockCount-b);
+		System.arraycopy(counts, b+1, counts, b, blockCount-b);
+		blocks[blockCount] = null;
+	}
+
+	/**
+	 * 満杯のブロックを半分に分割する.
+	 * @param b ブロックの番号
+	 */
+	private void split(int b) {
+		int count = counts[b];
+		int half = count>>1;
+		int[] latter = new int[MAX_BLOCK_SIZE];
+		System.arraycopy(blocks[b], half, latter, 0, count-half);
+		counts[b] = half;
+		insertBlock(b+1, latter, count-half);
+		rebuildIndex();
+	}
+
+	/**
+	 * 指定したブロックに次のブロックを併合する.
+	 * @param b ブロックの番号
+	 */
+	private void merge(int b) {
+		int former = counts[b];
+		int latter = counts[b+1];
+		int[] block = blocks[b];
+		if(block.length < former+latter) {
+			block = blocks[b] = Arrays.copyOf(block, MAX_BLOCK_SIZE>>1);
+		}
+		System.arraycopy(blocks[b+1], 0, block, former, latter);
+		counts[b] = former+latter;
+		removeBlock(b+1);
+		rebuildIndex();
 	}
 
 	private class BlockLinkedIntListIterator implements IntListIterator {
 		// 構造的変更検出用
 		int expectedModCount = modCount;
 
-		// removeやsetで変更されるindex 対象がない場合-1
-		int pIndex = -1;
-
 		/*
 		 *  ここでのインデックスは配列の要素の間を指すものとする
 		 *  index=nがさすのはn-1番目の要素とn番目の要素の間である
@@ -176,11 +281,34 @@ public final class BlockLinkedIntList extends AbstractIntList implements RandomA
 		 */
 		int index;
 
+		// index番目の要素のブロックとブロック内の位置．index=sizeのときは(blockCount, 0)
+		int block;
+		int offset;
+
+		// removeやsetで変更される要素の位置 対象がない場合pBlock=-1
+		int pBlock = -1;
+		int pOffset;
+
+		// removeで変更されるindex
+		int pIndex;
+
 		public BlockLinkedIntListIterator(int index) {
 			if(index < 0 || size() < index) {
 				throw new IndexOutOfBoundsException(index);
 			}
+			seek(index);
+		}
+
+		private void seek(int index) {
 			this.index = index;
+			if(index == size) {
+				block = blockCount;
+				offset = 0;
+			} else {
+				long location = locate(index);
+				block = (int)(location >>> 32);
+				offset = (int) location;
+			}
 		}
 
 		@Override
@@ -209,32 +337,30 @@ public final class BlockLinkedIntList extends AbstractIntList implements RandomA
 			BlockLinkedIntList.this.insert(index, e);
 
 			expectedModCount = modCount;
-			pIndex = -1;
-			index++;
+			pBlock = -1;
+			seek(index+1);
 		}
 
 		@Override
 		public void remove() {
 			modificationCheck();
-			if(pIndex == -1) {
+			if(pBlock == -1) {
 				throw new IllegalStateException();
 			}
 			BlockLinkedIntList.this.removeAt(pIndex);
-			if(pIndex<index) {
-				// 前向き探索時は配列をつめた分indexを戻す
-				index--;
-			}
+			// 前向き探索時は配列をつめた分indexを戻す
+			seek(pIndex<index ? index-1 : index);
 			expectedModCount = modCount;
-			pIndex = -1;
+			pBlock = -1;
 		}
 
 		@Override
 		public void set(int e) {
 			modificationCheck();
-			if(pIndex == -1) {
+			if(pBlock == -1) {
 				throw new IllegalStateException();
 			}
-			BlockLinkedIntList.this.set(pIndex, e);
+			blocks[pBlock][pOffset] = e;
 		}
 
 		@Override
@@ -244,9 +370,15 @@ public final class BlockLinkedIntList extends AbstractIntList implements RandomA
 				throw new NoSuchElementException();
 			}
 
+			pBlock = block;
+			pOffset = offset;
 			pIndex = index;
 			index++;
-			return BlockLinkedIntList.this.get(index-1);
+			if(++offset == counts[block]) {
+				block++;
+				offset = 0;
+			}
+			return blocks[pBlock][pOffset];
 		}
 
 		@Override
@@ -255,9 +387,16 @@ public final class BlockLinkedIntList extends AbstractIntList implements RandomA
 			if(!hasPrevious()) {
 				throw new NoSuchElementException();
 			}
-			pIndex = index-1;
+			if(offset == 0) {
+				block--;
+				offset = counts[block];
+			}
+			offset--;
 			index--;
-			return BlockLinkedIntList.this.get(index);
+			pBlock = block;
+			pOffset = offset;
+			pIndex = index;
+			return blocks[block][offset];
 		}
 
 		private void modificationCheck() {
@@ -0,0 +1,205 @@
+// このファイルはcodegen/templates/BoxedList.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * ByteListのList&lt;Byte&gt;のビュー
+ * @author YuyaAizawa
+ *
+ */
+class BoxedByteList extends AbstractList<Byte> {
+	final ByteList original;
+
+	BoxedByteList(ByteList original) {
+		this.original = original;
+	}
+
+	@Override
+	public int size() {
+		return original.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return original.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (o != null && o instanceof Byte) {
+			return original.contains((byte) o);
+		}
+		return false;
+	}
+
+	@Override
+	public Iterator<Byte> iterator() {
+		return original.iterator();
+	}
+
+	@Override
+	public Object[] toArray() {
+		return PrimitiveSupport.boxed(original.toArray());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T[] toArray(T[] a) {
+		Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
+
+		Iterator<Byte> j = iterator();
+		for (int i = 0; i < array.length; i++) {
+			array[i] = j.next();
+		}
+		return (T[]) array;
+	}
+
+	@Override
+	public boolean add(Byte e) {
+		return original.add(e);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (o instanceof Byte) {
+			return original.remove((byte) o);
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return c.stream().allMatch(e -> contains(e));
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Byte> c) {
+		return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends Byte> c) {
+		if(c.isEmpty()) {
+			return false;
+		}
+		original.insertAll(index, new AbstractByteCollection() {
+			@Override
+			public int size() {
+				return c.size();
+			}
+
+			@Override
+			public ByteIterator iterator() {
+				Iterator<? extends Byte> pi = c.iterator();
+				return new ByteIterator() {
+					@Override
+					public boolean hasNext() {
+						return pi.hasNext();
+					}
+
+					@Override
+					public byte nextByte() {
+						return pi.next();
+					}
+				};
+			}
+		});
+		return true;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		boolean modified = false;
+		Iterator<Byte> i = iterator();
+		for (; i.hasNext();) {
+			if (!c.contains(i.next())) {
+				i.remove();
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public void clear() {
+		original.clear();
+	}
+
+	@Override
+	public Byte get(int index) {
+		return original.get(index);
+	}
+
+	@Override
+	public Byte set(int index, Byte element) {
+		return original.set(index, element);
+	}
+
+	@Override
+	public void add(int index, Byte element) {
+		original.insert(index, element);
+	}
+
+	@Override
+	public Byte remove(int index) {
+		return original.removeAt(index);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		if (o != null && o instanceof Byte) {
+			return original.indexOf((byte) o);
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		if (o != null && o instanceof Byte) {
+			return original.lastIndexOf((byte) o);
+		}
+		return -1;
+	}
+
+	@Override
+	public ListIterator<Byte> listIterator() {
+		return original.listIterator();
+	}
+
+	@Override
+	public ListIterator<Byte> listIterator(int index) {
+		return original.listIterator(index);
+	}
+
+	@Override
+	public List<Byte> subList(int fromIndex, int toIndex) {
+		return original.subList(fromIndex, toIndex).boxedView();
+	}
+
+	@Override
+	public Spliterator<Byte> spliterator() {
+		return PrimitiveSupport.narrowed(original.spliteratorSigned(), Integer::byteValue);
+	}
+
+	/**
+	 * RandomAccessなByteListのList&lt;Byte&gt;のビュー
+	 */
+	static class OfRandomAccess extends BoxedByteList implements RandomAccess {
+		OfRandomAccess(ByteList original) {
+			super(original);
+		}
+	}
+}
@@ -0,0 +1,112 @@
+// このファイルはcodegen/templates/BoxedCollection.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.lang.reflect.Array;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Spliterator;
+
+/**
+ * CharCollectionのCollection&lt;Character&gt;のビュー
+ * @author YuyaAizawa
+ *
+ */
+class BoxedCharCollection extends AbstractCollection<Character> {
+	final CharCollection original;
+
+	BoxedCharCollection(CharCollection original) {
+		this.original = original;
+	}
+
+	@Override
+	public int size() {
+		return original.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return original.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (o != null && o instanceof Character) {
+			return original.contains((char) o);
+		}
+		return false;
+	}
+
+	@Override
+	public Iterator<Character> iterator() {
+		return original.iterator();
+	}
+
+	@Override
+	public Object[] toArray() {
+		return PrimitiveSupport.boxed(original.toArray());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T[] toArray(T[] a) {
+		Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
+
+		Iterator<Character> j = iterator();
+		for (int i = 0; i < array.length; i++) {
+			array[i] = j.next();
+		}
+		return (T[]) array;
+	}
+
+	@Override
+	public boolean add(Character e) {
+		return original.add(e);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (o instanceof Character) {
+			return original.remove((char) o);
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return c.stream().allMatch(e -> contains(e));
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Character> c) {
+		return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		boolean modified = false;
+		Iterator<Character> i = iterator();
+		for (; i.hasNext();) {
+			if (!c.contains(i.next())) {
+				i.remove();
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public void clear() {
+		original.clear();
+	}
+
+	@Override
+	public Spliterator<Character> spliterator() {
+		return PrimitiveSupport.narrowed(original.spliterator(), i -> (char)(int)i);
+	}
+}
@@ -0,0 +1,205 @@
+// このファイルはcodegen/templates/BoxedList.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * CharListのList&lt;Character&gt;のビュー
+ * @author YuyaAizawa
+ *
+ */
+class BoxedCharList extends AbstractList<Character> {
+	final CharList original;
+
+	BoxedCharList(CharList original) {
+		this.original = original;
+	}
+
+	@Override
+	public int size() {
+		return original.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return original.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (o != null && o instanceof Character) {
+			return original.contains((char) o);
+		}
+		return false;
+	}
+
+	@Override
+	public Iterator<Character> iterator() {
+		return original.iterator();
+	}
+
+	@Override
+	public Object[] toArray() {
+		return PrimitiveSupport.boxed(original.toArray());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T[] toArray(T[] a) {
+		Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
+
+		Iterator<Character> j = iterator();
+		for (int i = 0; i < array.length; i++) {
+			array[i] = j.next();
+		}
+		return (T[]) array;
+	}
+
+	@Override
+	public boolean add(Character e) {
+		return original.add(e);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (o instanceof Character) {
+			return original.remove((char) o);
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return c.stream().allMatch(e -> contains(e));
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Character> c) {
+		return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends Character> c) {
+		if(c.isEmpty()) {
+			return false;
+		}
+		original.insertAll(index, new AbstractCharCollection() {
+			@Override
+			public int size() {
+				return c.size();
+			}
+
+			@Override
+			public CharIterator iterator() {
+				Iterator<? extends Character> pi = c.iterator();
+				return new CharIterator() {
+					@Override
+					public boolean hasNext() {
+						return pi.hasNext();
+					}
+
+					@Override
+					public char nextChar() {
+						return pi.next();
+					}
+				};
+			}
+		});
+		return true;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		boolean modified = false;
+		Iterator<Character> i = iterator();
+		for (; i.hasNext();) {
+			if (!c.contains(i.next())) {
+				i.remove();
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public void clear() {
+		original.clear();
+	}
+
+	@Override
+	public Character get(int index) {
+		return original.get(index);
+	}
+
+	@Override
+	public Character set(int index, Character element) {
+		return original.set(index, element);
+	}
+
+	@Override
+	public void add(int index, Character element) {
+		original.insert(index, element);
+	}
+
+	@Override
+	public Character remove(int index) {
+		return original.removeAt(index);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		if (o != null && o instanceof Character) {
+			return original.indexOf((char) o);
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		if (o != null && o instanceof Character) {
+			return original.lastIndexOf((char) o);
+		}
+		return -1;
+	}
+
+	@Override
+	public ListIterator<Character> listIterator() {
+		return original.listIterator();
+	}
+
+	@Override
+	public ListIterator<Character> listIterator(int index) {
+		return original.listIterator(index);
+	}
+
+	@Override
+	public List<Character> subList(int fromIndex, int toIndex) {
+		return original.subList(fromIndex, toIndex).boxedView();
+	}
+
+	@Override
+	public Spliterator<Character> spliterator() {
+		return PrimitiveSupport.narrowed(original.spliterator(), i -> (char)(int)i);
+	}
+
+	/**
+	 * RandomAccessなCharListのList&lt;Character&gt;のビュー
+	 */
+	static class OfRandomAccess extends BoxedCharList implements RandomAccess {
+		OfRandomAccess(CharList original) {
+			super(original);
+		}
+	}
+}
@@ -0,0 +1,206 @@
+// このファイルはcodegen/templates/BoxedList.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * DoubleListのList&lt;Double&gt;のビュー
+ * @author YuyaAizawa
+ *
+ */
+class BoxedDoubleList extends AbstractList<Double> {
+	final DoubleList original;
+
+	BoxedDoubleList(DoubleList original) {
+		this.original = original;
+	}
+
+	@Override
+	public int size() {
+		return original.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return original.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (o != null && o instanceof Double) {
+			return original.contains((double) o);
+		}
+		return false;
+	}
+
+	@Override
+	public Iterator<Double> iterator() {
+		return original.iterator();
+	}
+
+	@Override
+	public Object[] toArray() {
+		return PrimitiveSupport.boxed(original.toArray());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T[] toArray(T[] a) {
+		Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
+
+		Iterator<Double> j = iterator();
+		for (int i = 0; i < array.length; i++) {
+			array[i] = j.next();
+		}
+		return (T[]) array;
+	}
+
+	@Override
+	public boolean add(Double e) {
+		return original.add(e);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (o instanceof Double) {
+			return original.remove((double) o);
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return c.stream().allMatch(e -> contains(e));
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Double> c) {
+		return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends Double> c) {
+		if(c.isEmpty()) {
+			return false;
+		}
+		original.insertAll(index, new AbstractDoubleCollection() {
+			@Override
+			public int size() {
+				return c.size();
+			}
+
+			@Override
+			public PrimitiveIterator.OfDouble iterator() {
+				Iterator<? extends Double> pi = c.iterator();
+				return new PrimitiveIterator.OfDouble() {
+					@Override
+					public boolean hasNext() {
+						return pi.hasNext();
+					}
+
+					@Override
+					public double nextDouble() {
+						return pi.next();
+					}
+				};
+			}
+		});
+		return true;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		boolean modified = false;
+		Iterator<Double> i = iterator();
+		for (; i.hasNext();) {
+			if (!c.contains(i.next())) {
+				i.remove();
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public void clear() {
+		original.clear();
+	}
+
+	@Override
+	public Double get(int index) {
+		return original.get(index);
+	}
+
+	@Override
+	public Double set(int index, Double element) {
+		return original.set(index, element);
+	}
+
+	@Override
+	public void add(int index, Double element) {
+		original.insert(index, element);
+	}
+
+	@Override
+	public Double remove(int index) {
+		return original.removeAt(index);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		if (o != null && o instanceof Double) {
+			return original.indexOf((double) o);
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		if (o != null && o instanceof Double) {
+			return original.lastIndexOf((double) o);
+		}
+		return -1;
+	}
+
+	@Override
+	public ListIterator<Double> listIterator() {
+		return original.listIterator();
+	}
+
+	@Override
+	public ListIterator<Double> listIterator(int index) {
+		return original.listIterator(index);
+	}
+
+	@Override
+	public List<Double> subList(int fromIndex, int toIndex) {
+		return original.subList(fromIndex, toIndex).boxedView();
+	}
+
+	@Override
+	public Spliterator<Double> spliterator() {
+		return original.spliterator();
+	}
+
+	/**
+	 * RandomAccessなDoubleListのList&lt;Double&gt;のビュー
+	 */
+	static class OfRandomAccess extends BoxedDoubleList implements RandomAccess {
+		OfRandomAccess(DoubleList original) {
+			super(original);
+		}
+	}
+}
@@ -0,0 +1,205 @@
+// このファイルはcodegen/templates/BoxedList.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * FloatListのList&lt;Float&gt;のビュー
+ * @author YuyaAizawa
+ *
+ */
+class BoxedFloatList extends AbstractList<Float> {
+	final FloatList original;
+
+	BoxedFloatList(FloatList original) {
+		this.original = original;
+	}
+
+	@Override
+	public int size() {
+		return original.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return original.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (o != null && o instanceof Float) {
+			return original.contains((float) o);
+		}
+		return false;
+	}
+
+	@Override
+	public Iterator<Float> iterator() {
+		return original.iterator();
+	}
+
+	@Override
+	public Object[] toArray() {
+		return PrimitiveSupport.boxed(original.toArray());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T[] toArray(T[] a) {
+		Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
+
+		Iterator<Float> j = iterator();
+		for (int i = 0; i < array.length; i++) {
+			array[i] = j.next();
+		}
+		return (T[]) array;
+	}
+
+	@Override
+	public boolean add(Float e) {
+		return original.add(e);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (o instanceof Float) {
+			return original.remove((float) o);
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return c.stream().allMatch(e -> contains(e));
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Float> c) {
+		return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends Float> c) {
+		if(c.isEmpty()) {
+			return false;
+		}
+		original.insertAll(index, new AbstractFloatCollection() {
+			@Override
+			public int size() {
+				return c.size();
+			}
+
+			@Override
+			public FloatIterator iterator() {
+				Iterator<? extends Float> pi = c.iterator();
+				return new FloatIterator() {
+					@Override
+					public boolean hasNext() {
+						return pi.hasNext();
+					}
+
+					@Override
+					public float nextFloat() {
+						return pi.next();
+					}
+				};
+			}
+		});
+		return true;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		boolean modified = false;
+		Iterator<Float> i = iterator();
+		for (; i.hasNext();) {
+			if (!c.contains(i.next())) {
+				i.remove();
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public void clear() {
+		original.clear();
+	}
+
+	@Override
+	public Float get(int index) {
+		return original.get(index);
+	}
+
+	@Override
+	public Float set(int index, Float element) {
+		return original.set(index, element);
+	}
+
+	@Override
+	public void add(int index, Float element) {
+		original.insert(index, element);
+	}
+
+	@Override
+	public Float remove(int index) {
+		return original.removeAt(index);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		if (o != null && o instanceof Float) {
+			return original.indexOf((float) o);
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		if (o != null && o instanceof Float) {
+			return original.lastIndexOf((float) o);
+		}
+		return -1;
+	}
+
+	@Override
+	public ListIterator<Float> listIterator() {
+		return original.listIterator();
+	}
+
+	@Override
+	public ListIterator<Float> listIterator(int index) {
+		return original.listIterator(index);
+	}
+
+	@Override
+	public List<Float> subList(int fromIndex, int toIndex) {
+		return original.subList(fromIndex, toIndex).boxedView();
+	}
+
+	@Override
+	public Spliterator<Float> spliterator() {
+		return PrimitiveSupport.narrowed(original.spliterator(), Double::floatValue);
+	}
+
+	/**
+	 * RandomAccessなFloatListのList&lt;Float&gt;のビュー
+	 */
+	static class OfRandomAccess extends BoxedFloatList implements RandomAccess {
+		OfRandomAccess(FloatList original) {
+			super(original);
+		}
+	}
+}
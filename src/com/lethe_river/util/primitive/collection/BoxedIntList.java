@@ -0,0 +1,206 @@
+// このファイルはcodegen/templates/BoxedList.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * IntListのList&lt;Integer&gt;のビュー
+ * @author YuyaAizawa
+ *
+ */
+class BoxedIntList extends AbstractList<Integer> {
+	final IntList original;
+
+	BoxedIntList(IntList original) {
+		this.original = original;
+	}
+
+	@Override
+	public int size() {
+		return original.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return original.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (o != null && o instanceof Integer) {
+			return original.contains((int) o);
+		}
+		return false;
+	}
+
+	@Override
+	public Iterator<Integer> iterator() {
+		return original.iterator();
+	}
+
+	@Override
+	public Object[] toArray() {
+		return PrimitiveSupport.boxed(original.toArray());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T[] toArray(T[] a) {
+		Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
+
+		Iterator<Integer> j = iterator();
+		for (int i = 0; i < array.length; i++) {
+			array[i] = j.next();
+		}
+		return (T[]) array;
+	}
+
+	@Override
+	public boolean add(Integer e) {
+		return original.add(e);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (o instanceof Integer) {
+			return original.remove((int) o);
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return c.stream().allMatch(e -> contains(e));
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Integer> c) {
+		return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends Integer> c) {
+		if(c.isEmpty()) {
+			return false;
+		}
+		original.insertAll(index, new AbstractIntCollection() {
+			@Override
+			public int size() {
+				return c.size();
+			}
+
+			@Override
+			public PrimitiveIterator.OfInt iterator() {
+				Iterator<? extends Integer> pi = c.iterator();
+				return new PrimitiveIterator.OfInt() {
+					@Override
+					public boolean hasNext() {
+						return pi.hasNext();
+					}
+
+					@Override
+					public int nextInt() {
+						return pi.next();
+					}
+				};
+			}
+		});
+		return true;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		boolean modified = false;
+		Iterator<Integer> i = iterator();
+		for (; i.hasNext();) {
+			if (!c.contains(i.next())) {
+				i.remove();
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public void clear() {
+		original.clear();
+	}
+
+	@Override
+	public Integer get(int index) {
+		return original.get(index);
+	}
+
+	@Override
+	public Integer set(int index, Integer element) {
+		return original.set(index, element);
+	}
+
+	@Override
+	public void add(int index, Integer element) {
+		original.insert(index, element);
+	}
+
+	@Override
+	public Integer remove(int index) {
+		return original.removeAt(index);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		if (o != null && o instanceof Integer) {
+			return original.indexOf((int) o);
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		if (o != null && o instanceof Integer) {
+			return original.lastIndexOf((int) o);
+		}
+		return -1;
+	}
+
+	@Override
+	public ListIterator<Integer> listIterator() {
+		return original.listIterator();
+	}
+
+	@Override
+	public ListIterator<Integer> listIterator(int index) {
+		return original.listIterator(index);
+	}
+
+	@Override
+	public List<Integer> subList(int fromIndex, int toIndex) {
+		return original.subList(fromIndex, toIndex).boxedView();
+	}
+
+	@Override
+	public Spliterator<Integer> spliterator() {
+		return original.spliterator();
+	}
+
+	/**
+	 * RandomAccessなIntListのList&lt;Integer&gt;のビュー
+	 */
+	static class OfRandomAccess extends BoxedIntList implements RandomAccess {
+		OfRandomAccess(IntList original) {
+			super(original);
+		}
+	}
+}
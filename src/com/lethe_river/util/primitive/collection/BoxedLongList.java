@@ -0,0 +1,206 @@
+// このファイルはcodegen/templates/BoxedList.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * LongListのList&lt;Long&gt;のビュー
+ * @author YuyaAizawa
+ *
+ */
+class BoxedLongList extends AbstractList<Long> {
+	final LongList original;
+
+	BoxedLongList(LongList original) {
+		this.original = original;
+	}
+
+	@Override
+	public int size() {
+		return original.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return original.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (o != null && o instanceof Long) {
+			return original.contains((long) o);
+		}
+		return false;
+	}
+
+	@Override
+	public Iterator<Long> iterator() {
+		return original.iterator();
+	}
+
+	@Override
+	public Object[] toArray() {
+		return PrimitiveSupport.boxed(original.toArray());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T[] toArray(T[] a) {
+		Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
+
+		Iterator<Long> j = iterator();
+		for (int i = 0; i < array.length; i++) {
+			array[i] = j.next();
+		}
+		return (T[]) array;
+	}
+
+	@Override
+	public boolean add(Long e) {
+		return original.add(e);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (o instanceof Long) {
+			return original.remove((long) o);
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return c.stream().allMatch(e -> contains(e));
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Long> c) {
+		return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends Long> c) {
+		if(c.isEmpty()) {
+			return false;
+		}
+		original.insertAll(index, new AbstractLongCollection() {
+			@Override
+			public int size() {
+				return c.size();
+			}
+
+			@Override
+			public PrimitiveIterator.OfLong iterator() {
+				Iterator<? extends Long> pi = c.iterator();
+				return new PrimitiveIterator.OfLong() {
+					@Override
+					public boolean hasNext() {
+						return pi.hasNext();
+					}
+
+					@Override
+					public long nextLong() {
+						return pi.next();
+					}
+				};
+			}
+		});
+		return true;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		boolean modified = false;
+		Iterator<Long> i = iterator();
+		for (; i.hasNext();) {
+			if (!c.contains(i.next())) {
+				i.remove();
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public void clear() {
+		original.clear();
+	}
+
+	@Override
+	public Long get(int index) {
+		return original.get(index);
+	}
+
+	@Override
+	public Long set(int index, Long element) {
+		return original.set(index, element);
+	}
+
+	@Override
+	public void add(int index, Long element) {
+		original.insert(index, element);
+	}
+
+	@Override
+	public Long remove(int index) {
+		return original.removeAt(index);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		if (o != null && o instanceof Long) {
+			return original.indexOf((long) o);
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		if (o != null && o instanceof Long) {
+			return original.lastIndexOf((long) o);
+		}
+		return -1;
+	}
+
+	@Override
+	public ListIterator<Long> listIterator() {
+		return original.listIterator();
+	}
+
+	@Override
+	public ListIterator<Long> listIterator(int index) {
+		return original.listIterator(index);
+	}
+
+	@Override
+	public List<Long> subList(int fromIndex, int toIndex) {
+		return original.subList(fromIndex, toIndex).boxedView();
+	}
+
+	@Override
+	public Spliterator<Long> spliterator() {
+		return original.spliterator();
+	}
+
+	/**
+	 * RandomAccessなLongListのList&lt;Long&gt;のビュー
+	 */
+	static class OfRandomAccess extends BoxedLongList implements RandomAccess {
+		OfRandomAccess(LongList original) {
+			super(original);
+		}
+	}
+}
@@ -0,0 +1,205 @@
+// このファイルはcodegen/templates/BoxedList.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+/**
+ * ShortListのList&lt;Short&gt;のビュー
+ * @author YuyaAizawa
+ *
+ */
+class BoxedShortList extends AbstractList<Short> {
+	final ShortList original;
+
+	BoxedShortList(ShortList original) {
+		this.original = original;
+	}
+
+	@Override
+	public int size() {
+		return original.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return original.isEmpty();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (o != null && o instanceof Short) {
+			return original.contains((short) o);
+		}
+		return false;
+	}
+
+	@Override
+	public Iterator<Short> iterator() {
+		return original.iterator();
+	}
+
+	@Override
+	public Object[] toArray() {
+		return PrimitiveSupport.boxed(original.toArray());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T[] toArray(T[] a) {
+		Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
+
+		Iterator<Short> j = iterator();
+		for (int i = 0; i < array.length; i++) {
+			array[i] = j.next();
+		}
+		return (T[]) array;
+	}
+
+	@Override
+	public boolean add(Short e) {
+		return original.add(e);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (o instanceof Short) {
+			return original.remove((short) o);
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		return c.stream().allMatch(e -> contains(e));
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Short> c) {
+		return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean addAll(int index, Collection<? extends Short> c) {
+		if(c.isEmpty()) {
+			return false;
+		}
+		original.insertAll(index, new AbstractShortCollection() {
+			@Override
+			public int size() {
+				return c.size();
+			}
+
+			@Override
+			public ShortIterator iterator() {
+				Iterator<? extends Short> pi = c.iterator();
+				return new ShortIterator() {
+					@Override
+					public boolean hasNext() {
+						return pi.hasNext();
+					}
+
+					@Override
+					public short nextShort() {
+						return pi.next();
+					}
+				};
+			}
+		});
+		return true;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		boolean modified = false;
+		Iterator<Short> i = iterator();
+		for (; i.hasNext();) {
+			if (!c.contains(i.next())) {
+				i.remove();
+				modified = true;
+			}
+		}
+		return modified;
+	}
+
+	@Override
+	public void clear() {
+		original.clear();
+	}
+
+	@Override
+	public Short get(int index) {
+		return original.get(index);
+	}
+
+	@Override
+	public Short set(int index, Short element) {
+		return original.set(index, element);
+	}
+
+	@Override
+	public void add(int index, Short element) {
+		original.insert(index, element);
+	}
+
+	@Override
+	public Short remove(int index) {
+		return original.removeAt(index);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		if (o != null && o instanceof Short) {
+			return original.indexOf((short) o);
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		if (o != null && o instanceof Short) {
+			return original.lastIndexOf((short) o);
+		}
+		return -1;
+	}
+
+	@Override
+	public ListIterator<Short> listIterator() {
+		return original.listIterator();
+	}
+
+	@Override
+	public ListIterator<Short> listIterator(int index) {
+		return original.listIterator(index);
+	}
+
+	@Override
+	public List<Short> subList(int fromIndex, int toIndex) {
+		return original.subList(fromIndex, toIndex).boxedView();
+	}
+
+	@Override
+	public Spliterator<Short> spliterator() {
+		return PrimitiveSupport.narrowed(original.spliteratorSigned(), Integer::shortValue);
+	}
+
+	/**
+	 * RandomAccessなShortListのList&lt;Short&gt;のビュー
+	 */
+	static class OfRandomAccess extends BoxedShortList implements RandomAccess {
+		OfRandomAccess(ShortList original) {
+			super(original);
+		}
+	}
+}
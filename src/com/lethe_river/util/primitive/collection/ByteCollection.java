@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/Collection.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.Collection;
@@ -13,7 +14,6 @@ import java.util.stream.StreamSupport;
  *
  */
 public interface ByteCollection extends PrimitiveCollection<Byte>, ByteIterable {
-
 	/**
 	 * {@inheritDoc}
 	 */
@@ -47,7 +47,7 @@ public interface ByteCollection extends PrimitiveCollection<Byte>, ByteIterable
 
 	/**
 	 * このコレクションの要素に対する反復操作を提供するByteIteratorを返す.
-	 * @return PrimitiveIterator.OfInt
+	 * @return ByteIterator
 	 */
 	@Override
 	ByteIterator iterator();
@@ -63,9 +63,9 @@ public interface ByteCollection extends PrimitiveCollection<Byte>, ByteIterable
 	 * 指定されたbyte値をこのコレクションに追加する(オプションの操作).
 	 *
 	 * @param b 追加する値
-	 * @return 追加されればtrue
+	 * @return このコレクションが変更されればtrue
 	 *
-	 * @throws UnsupportedOperationException 操作が実装されていない場合
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
 	 */
 	boolean add(byte b);
 
@@ -75,7 +75,7 @@ public interface ByteCollection extends PrimitiveCollection<Byte>, ByteIterable
 	 * @param bs
 	 * @return このコレクションが変更されればtrue
 	 *
-	 * @throws UnsupportedOperationException 操作が実装されていない場合
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
 	 */
 	default boolean addAll(byte... bs) {
 		return addAll(bs, 0, bs.length);
@@ -101,7 +101,7 @@ public interface ByteCollection extends PrimitiveCollection<Byte>, ByteIterable
 	 * @param bs
 	 * @return このコレクションが変更されればtrue
 	 *
-	 * @throws UnsupportedOperationException 操作が実装されていない場合
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
 	 * @throws NullPointerException コレクションがnullだった場合
 	 */
 	boolean addAll(ByteCollection bs);
@@ -112,7 +112,7 @@ public interface ByteCollection extends PrimitiveCollection<Byte>, ByteIterable
 	 * @param b
 	 * @return 指定された要素を保持していればtrue
 	 *
-	 * @throws UnsupportedOperationException 操作が実装されていない場合
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
 	 */
 	boolean remove(byte b);
 
@@ -122,7 +122,7 @@ public interface ByteCollection extends PrimitiveCollection<Byte>, ByteIterable
 	 * @param bs
 	 * @return 指定された要素を保持していればtrue
 	 *
-	 * @throws UnsupportedOperationException 操作が実装されていない場合
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
 	 */
 	boolean removeAll(byte... bs);
 
@@ -132,7 +132,7 @@ public interface ByteCollection extends PrimitiveCollection<Byte>, ByteIterable
 	 * @param bs
 	 * @return 指定された要素を保持していればtrue
 	 *
-	 * @throws UnsupportedOperationException 操作が実装されていない場合
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
 	 */
 	boolean removeAll(ByteCollection bs);
 
@@ -144,29 +144,29 @@ public interface ByteCollection extends PrimitiveCollection<Byte>, ByteIterable
 	boolean containsAll(byte... bs);
 
 	/**
-	 * 指定されたコレクション値がすべてこのコレクションに含まれていればtrueを返す.
+	 * 指定されたコレクションの値がすべてこのコレクションに含まれていればtrueを返す.
 	 * @param bs
 	 * @return 指定されたbyte値がすべて含まれていればtrue
 	 */
 	boolean containsAll(ByteCollection bs);
 
 	/**
-	 * このByteCollectionから指定された要素以外の要素を全て削除する(オプションの操作).
+	 * このコレクションから指定された要素以外の要素を全て削除する(オプションの操作).
 	 * @param bs
 	 * @return 要素が1つでも削除されればtrue
 	 *
-	 *  @throws UnsupportedOperationException 操作が実装されていない場合
+	 *  @throws UnsupportedOperationException 操作がサポートされていない場合
 	 */
 	boolean retainAll(byte... bs);
 
 	/**
-	 * このByteCollectionから指定された要素以外の要素を全て削除する(オプションの操作).
+	 * このコレクションから指定された要素以外の要素を全て削除する(オプションの操作).
 	 * @param bs
 	 * @return 要素が1つでも削除されればtrue
 	 *
-	 *  @throws UnsupportedOperationException 操作が実装されていない場合
+	 *  @throws UnsupportedOperationException 操作がサポートされていない場合
 	 */
-	boolean retainAll(ByteCollection is);
+	boolean retainAll(ByteCollection bs);
 
 	/**
 	 * このコレクションに対する逐次的なIntStreamを返す．byte値は符号付きとみなされる．
@@ -201,7 +201,7 @@ public interface ByteCollection extends PrimitiveCollection<Byte>, ByteIterable
 	}
 
 	/**
-	 * このコレクションの要素に対する反復的な操作を提供するSpliteratorを返す.
+	 * このコレクションの要素を符号付き整数として列挙するSpliteratorを返す.
 	 * @return spliterator
 	 */
 	@Override
@@ -210,6 +210,10 @@ public interface ByteCollection extends PrimitiveCollection<Byte>, ByteIterable
 				Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED);
 	}
 
+	/**
+	 * このコレクションの要素を符号無し整数として列挙するSpliteratorを返す.
+	 * @return spliterator
+	 */
 	@Override
 	default Spliterator.OfInt spliteratorUnsigned() {
 		return Spliterators.spliterator(iteratorUnsigned(), size(),
@@ -217,9 +221,9 @@ public interface ByteCollection extends PrimitiveCollection<Byte>, ByteIterable
 	}
 
 	/**
-	 * このコレクションのCollection&lt;Integer&gt;のビューを返す.
+	 * このコレクションのCollection&lt;Byte&gt;のビューを返す.
 	 * ビューに対する操作はこのインタンスに反映される．
-	 * @return このIntCollectionのCollection&lt;Integer&gt;のビュー
+	 * @return このByteCollectionのCollection&lt;Byte&gt;のビュー
 	 */
 	@Override
 	default Collection<Byte> boxedView() {
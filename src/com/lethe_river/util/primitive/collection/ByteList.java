@@ -1,13 +1,19 @@
+// このファイルはcodegen/templates/List.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.List;
-import java.util.ListIterator;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
+/**
+ * プリミティブのbyteを扱う，順序付けられたコレクション.
+ *
+ * @author YuyaAizawa
+ *
+ */
 public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 
 	/**
@@ -22,7 +28,6 @@ public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 		return true;
 	}
 
-
 	/**
 	 * このリストの最後に指定した要素をすべて追加する(オプションの操作)
 	 * @param bs 追加する要素
@@ -32,13 +37,13 @@ public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 	boolean addAll(byte... bs);
 
 	/**
-	 * このリストの最後に指定された配列の要素の一部区間を追加する(オプションの操作)
+	 * このリストの最後に指定された配列の要素の一部区間を追加する(オプションの操作).
 	 *
 	 * @param bs 配列
 	 * @param offset 追加する区間の開始インデックス
 	 * @param length 追加する区間の長さ
 	 *
-	 * @throws UnsupportedOperationException 操作が実装されていない場合
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされていない場合
 	 * @throws IndexOutOfBoundsException offsetまたはlengthが不正だった場合
 	 * @throws NullPointerException 配列がnullだった場合
 	 */
@@ -51,6 +56,7 @@ public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 	/**
 	 * このリストの最後に指定した要素をすべて追加する(オプションの操作)
 	 * @param bs 追加する要素
+	 * @return
 	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
 	 */
 	@Override
@@ -66,8 +72,6 @@ public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 	 * このリストの指定した位置に挿入的に要素を追加する(オプションの操作)
 	 * @param index 挿入する位置
 	 * @param element 追加する要素
-	 *
-	 * @throws IndexOutOfBoundsException インデックスが範囲外の場合(index < 0 || index >= size())
 	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
 	 */
 	void insert(int index, byte element);
@@ -99,9 +103,9 @@ public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 
 	/**
 	 * このリストの指定した位置に挿入的に要素を追加する(オプションの操作)
-	 * @param index 挿入の開始インデックス
+	 * @param index 置換される要素のインデックス
 	 * @param c 指定された位置に格納される要素
-	 *
+	 * @return 指定された位置に以前あった要素
 	 * @throws IndexOutOfBoundsException インデックスが範囲外の場合(index < 0 || index >= size())
 	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
 	 */
@@ -167,7 +171,7 @@ public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 	int lastIndexOf(byte element);
 
 	/**
-	 * このIntListが引数の部分系列かどうか判定する
+	 * このByteListが引数の部分系列かどうか判定する
 	 * @param target
 	 * @return 部分系列ならtrue
 	 */
@@ -179,9 +183,9 @@ public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 		ByteIterator i2 = list.iterator();
 
 		loop: while(i1.hasNext()) {
-			int t1 = i1.nextByte();
+			byte t1 = i1.nextByte();
 			while(i2.hasNext()) {
-				int t2 = i2.nextByte();
+				byte t2 = i2.nextByte();
 				if(t1 == t2) {
 					continue loop;
 				}
@@ -192,7 +196,7 @@ public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 	}
 
 	/**
-	 * このIntListが引数の上位系列かどうか判定する
+	 * このByteListが引数の上位系列かどうか判定する
 	 * @param target
 	 * @return 上位系列ならtrue
 	 */
@@ -204,7 +208,6 @@ public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 	 * このリスト内の要素を指定した位置から適切な順序で繰り返し処理する反復子を返す．
 	 * @param index 繰り返しの開始位置
 	 * @return このリスト要素の繰り返し処理に関する{@link ListIterator}
-	 *
 	 * @throws IndexOutOfBoundsException index &lt; sizeまたはsize+1 &lt; indexのとき
 	 */
 	@Override
@@ -217,7 +220,7 @@ public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 
 	/**
 	 * このリスト内の要素を逆順で繰り返し処理する反復子を返す．
-	 * @return このリスト要素の逆順繰り返し処理に関する{@link PrimitiveIterator}
+	 * @return このリスト要素の逆順繰り返し処理に関する反復子
 	 */
 	@Override
 	ByteIterator reversedIterator();
@@ -235,7 +238,7 @@ public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 	PrimitiveIterator.OfInt reversedIteratorUnsigned();
 
 	/**
-	 * このリストを逆順に処理する逐次的なIntStreamを返す．
+	 * このリストを逆順に処理する逐次的なIntStreamを返す．byte値は符号付きとみなされる．
 	 * @return stream
 	 */
 	default IntStream reversedStreamSigned() {
@@ -248,7 +251,7 @@ public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 	}
 
 	/**
-	 * このリストを逆順に処理する逐次的なIntStreamを返す．
+	 * このリストを逆順に処理する逐次的なIntStreamを返す．byte値は符号無しとみなされる．
 	 * @return stream
 	 */
 	default IntStream reversedStreamUnsigned() {
@@ -261,7 +264,7 @@ public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 	}
 
 	/**
-	 * このリストの要素を列挙するSpliteratorを返す.
+	 * このリストの要素を符号付き整数として列挙するSpliteratorを返す.
 	 * @return spliterator
 	 */
 	@Override
@@ -271,7 +274,7 @@ public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 	}
 
 	/**
-	 * このリストの要素を列挙するSpliteratorを返す.
+	 * このリストの要素を符号無し整数として列挙するSpliteratorを返す.
 	 * @return spliterator
 	 */
 	@Override
@@ -293,4 +296,12 @@ public interface ByteList extends PrimitiveList<Byte>, ByteCollection {
 
 	@Override
 	List<Byte> boxedView();
+
+	/**
+	 * 空のByteListを表すSingletonのインスタンスを返す
+	 * @return 空のByteList
+	 */
+	public static ByteList empty() {
+		return EmptyList.ofByte();
+	}
 }
@@ -1,9 +1,15 @@
+// このファイルはcodegen/templates/ListIterator.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.ListIterator;
-import java.util.NoSuchElementException;
 
+/**
+ * ListIteratorのプリミティブ版
+ * @author YuyaAizawa
+ *
+ */
 public interface ByteListIterator extends ListIterator<Byte>, ByteIterator {
+
 	@Override
 	default void add(Byte e) {
 		add(e.byteValue());
@@ -52,4 +58,11 @@ public interface ByteListIterator extends ListIterator<Byte>, ByteIterator {
 	 */
 	void set(byte e);
 
+	/**
+	 * 空のByteListIteratorのシングルトンインスタンスを返す．
+	 * @return 空のByteListIterator
+	 */
+	static ByteListIterator empty() {
+		return EmptyListIterator.ofByte();
+	}
 }
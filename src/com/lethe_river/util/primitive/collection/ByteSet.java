@@ -1,10 +1,19 @@
+// このファイルはcodegen/templates/Set.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
+import java.util.Arrays;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 
+/**
+ * プリミティブのbyteを扱う，要素の重複を許さないコレクション.
+ *
+ * @author YuyaAizawa
+ *
+ */
 public interface ByteSet extends PrimitiveSet<Byte>, ByteCollection {
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -54,12 +63,7 @@ public interface ByteSet extends PrimitiveSet<Byte>, ByteCollection {
 	byte[] toArray();
 
 	/**
-	 * 指定されたbyte値をこのByteSetに追加する(オプションの操作).
-	 *
-	 * @param b 追加する値
-	 * @return 追加されればtrue
-	 *
-	 * @throws UnsupportedOperationException 操作が実装されていない場合
+	 * {@inheritDoc}
 	 */
 	@Override
 	boolean add(byte b);
@@ -70,18 +74,6 @@ public interface ByteSet extends PrimitiveSet<Byte>, ByteCollection {
 	@Override
 	boolean addAll(byte... bs);
 
-	/**
-	 * 指定された配列の要素の一部区間をこのByteSetに追加する(オプションの操作)
-	 *
-	 * @param bs 配列
-	 * @param offset 追加する区間の開始インデックス
-	 * @param length 追加する区間の長さ
-	 *
-	 * @throws UnsupportedOperationException 操作が実装されていない場合
-	 */
-	@Override
-	boolean addAll(byte[] bs, int offset, int length);
-
 	/**
 	 * {@inheritDoc}
 	 */
@@ -124,6 +116,45 @@ public interface ByteSet extends PrimitiveSet<Byte>, ByteCollection {
 	@Override
 	boolean retainAll(ByteCollection bs);
 
+	/**
+	 * 指定した配列の各要素がこの集合に含まれるか判定し，結果をビットマスクに書き込む.
+	 * in[i]が含まれるとき，bitmaskOut[i/64]のi%64ビット目が1になる．
+	 * @param in 判定する要素の配列
+	 * @param bitmaskOut 結果を書き込む配列
+	 * @return 含まれていた要素の数
+	 * @throws ArrayIndexOutOfBoundsException bitmaskOutの長さが足りないとき
+	 */
+	default int containsMask(byte[] in, long[] bitmaskOut) {
+		return containsMask(in, 0, in.length, bitmaskOut);
+	}
+
+	/**
+	 * 指定した配列の範囲の各要素がこの集合に含まれるか判定し，結果をビットマスクに書き込む.
+	 * in[offset+i]が含まれるとき，bitmaskOut[i/64]のi%64ビット目が1になる．
+	 * bitmaskOutの先頭から(length+63)/64個の要素は上書きされる．
+	 *
+	 * 実装は複数の要素の探索をまとめて行い，メモリアクセスの待ち時間を重ねることが望ましい．
+	 * @param in 判定する要素の配列
+	 * @param offset 開始インデックス
+	 * @param length 要素の数
+	 * @param bitmaskOut 結果を書き込む配列
+	 * @return 含まれていた要素の数
+	 * @throws ArrayIndexOutOfBoundsException offsetまたはlengthが不正なとき，bitmaskOutの長さが足りないとき
+	 */
+	default int containsMask(byte[] in, int offset, int length, long[] bitmaskOut) {
+		PrimitiveSupport.checkBounds(in, offset, length);
+		PrimitiveSupport.checkBounds(bitmaskOut, 0, (length+63)>>>6);
+		Arrays.fill(bitmaskOut, 0, (length+63)>>>6, 0L);
+		int count = 0;
+		for (int i = 0; i < length; i++) {
+			if(contains(in[offset + i])) {
+				bitmaskOut[i>>>6] |= 1L << i;
+				count++;
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * 指定した集合の要素すべてがこの集合に含まれるか判定する.
 	 * @param bs
@@ -132,7 +163,7 @@ public interface ByteSet extends PrimitiveSet<Byte>, ByteCollection {
 	boolean containsAll(ByteSet bs);
 
 	/**
-	 * この集合の要素を列挙するSpliteratorを返す.
+	 * この集合の要素を符号付き整数として列挙するSpliteratorを返す.
 	 * @return spliterator
 	 */
 	@Override
@@ -141,6 +172,16 @@ public interface ByteSet extends PrimitiveSet<Byte>, ByteCollection {
 				Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.DISTINCT);
 	}
 
+	/**
+	 * この集合の要素を符号無し整数として列挙するSpliteratorを返す.
+	 * @return spliterator
+	 */
+	@Override
+	default Spliterator.OfInt spliteratorUnsigned() {
+		return Spliterators.spliterator(iteratorUnsigned(), size(),
+				Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.DISTINCT);
+	}
+
 	/**
 	 * このコレクションのSet&lt;Byte&gt;のビューを返す.
 	 * ビューに対する操作はこのインタンスに反映される．
@@ -149,7 +190,7 @@ public interface ByteSet extends PrimitiveSet<Byte>, ByteCollection {
 	@Override
 	Set<Byte> boxedView();
 
-	public static ByteSet empty() {
+	public static ByteSortedSet empty() {
 		return EmptySet.ofByte();
 	}
 }
@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/Spliterator.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.Spliterator;
@@ -5,6 +6,11 @@ import java.util.function.Consumer;
 
 import com.lethe_river.util.primitive.function.ByteConsumer;
 
+/**
+ * byte値を列挙するSpliterator
+ * @author YuyaAizawa
+ *
+ */
 public interface ByteSpliterator extends Spliterator.OfPrimitive<Byte, ByteConsumer, ByteSpliterator> {
 	@Override
 	ByteSpliterator trySplit();
@@ -14,9 +20,7 @@ public interface ByteSpliterator extends Spliterator.OfPrimitive<Byte, ByteConsu
 
 	@Override
 	default void forEachRemaining(ByteConsumer action) {
-		for (;;) {
-			tryAdvance(action);
-		}
+		while(tryAdvance(action));
 	}
 
 	@Override
@@ -31,6 +35,7 @@ public interface ByteSpliterator extends Spliterator.OfPrimitive<Byte, ByteConsu
 	default void forEachRemaining(Consumer<? super Byte> action) {
 		if (action instanceof ByteConsumer) {
 			forEachRemaining((ByteConsumer) action);
+			return;
 		}
 		forEachRemaining((ByteConsumer) action::accept);
 	}
@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/Collection.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.Collection;
@@ -165,10 +166,10 @@ public interface CharCollection extends PrimitiveCollection<Character>, CharIter
 	 *
 	 *  @throws UnsupportedOperationException 操作がサポートされていない場合
 	 */
-	boolean retainAll(CharCollection is);
+	boolean retainAll(CharCollection chs);
 
 	/**
-	 * このコレクションに対する逐次的なIntStreamを返す．
+	 * このコレクションに対する逐次的なIntStreamを返す．char値はintに拡張される．
 	 * @return stream
 	 */
 	default IntStream stream() {
@@ -176,7 +177,7 @@ public interface CharCollection extends PrimitiveCollection<Character>, CharIter
 	}
 
 	/**
-	 * このコレクションに対する並列なIntStreamを返す．
+	 * このコレクションに対する並列なIntStreamを返す．char値はintに拡張される．
 	 * @return stream
 	 */
 	default IntStream parallelStream() {
@@ -184,7 +185,7 @@ public interface CharCollection extends PrimitiveCollection<Character>, CharIter
 	}
 
 	/**
-	 * このコレクションの要素に対する反復的な操作を提供するSpliteratorを返す.
+	 * このコレクションの要素をintに拡張して列挙するSpliteratorを返す.
 	 * @return spliterator
 	 */
 	@Override
@@ -194,9 +195,9 @@ public interface CharCollection extends PrimitiveCollection<Character>, CharIter
 	}
 
 	/**
-	 * このコレクションのCollection&lt;Integer&gt;のビューを返す.
+	 * このコレクションのCollection&lt;Character&gt;のビューを返す.
 	 * ビューに対する操作はこのインタンスに反映される．
-	 * @return このIntCollectionのCollection&lt;Integer&gt;のビュー
+	 * @return このCharCollectionのCollection&lt;Character&gt;のビュー
 	 */
 	@Override
 	default Collection<Character> boxedView() {
@@ -0,0 +1,48 @@
+// このファイルはcodegen/templates/Iterable.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+
+import com.lethe_river.util.primitive.function.CharConsumer;
+
+/**
+ * charの要素それぞれに対する操作を提供するインターフェース
+ * @author YuyaAizawa
+ *
+ */
+interface CharIterable extends PrimitiveIterable<Character, CharConsumer> {
+	@Override
+	CharIterator iterator();
+
+	/**
+	 * 要素をintに拡張して列挙する反復子を返す.
+	 * @return 反復子
+	 */
+	default PrimitiveIterator.OfInt iteratorOfInt() {
+		return new PrimitiveIterator.OfInt() {
+			final CharIterator original = iterator();
+			@Override
+			public boolean hasNext() {
+				return original.hasNext();
+			}
+			@Override
+			public int nextInt() {
+				return original.nextChar();
+			}
+			@Override
+			public void remove() {
+				original.remove();
+			}
+		};
+	}
+
+	Spliterator.OfInt spliterator();
+
+	@Override
+	default void forEach(CharConsumer action) {
+		Objects.requireNonNull(action);
+		iterator().forEachRemaining(action);
+	}
+}
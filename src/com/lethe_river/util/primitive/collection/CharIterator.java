@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/Iterator.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.Objects;
@@ -6,7 +7,13 @@ import java.util.function.Consumer;
 
 import com.lethe_river.util.primitive.function.CharConsumer;
 
-public interface CharIterator extends PrimitiveIterator<Character, CharConsumer>{
+/**
+ * charの要素に対する反復子
+ * @author YuyaAizawa
+ *
+ */
+public interface CharIterator extends PrimitiveIterator<Character, CharConsumer> {
+
 	char nextChar();
 
 	@Override
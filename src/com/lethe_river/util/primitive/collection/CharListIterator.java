@@ -0,0 +1,68 @@
+// このファイルはcodegen/templates/ListIterator.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.ListIterator;
+
+/**
+ * ListIteratorのプリミティブ版
+ * @author YuyaAizawa
+ *
+ */
+public interface CharListIterator extends ListIterator<Character>, CharIterator {
+
+	@Override
+	default void add(Character e) {
+		add(e.charValue());
+	}
+
+	@Override
+	default Character next() {
+		return Character.valueOf(nextChar());
+	}
+
+	@Override
+	default Character previous() {
+		return Character.valueOf(previousChar());
+	}
+
+	@Override
+	default void set(Character e) {
+		set(e.charValue());
+	}
+
+	/**
+	 * 指定された要素をリストに挿入する(オプションの操作)．挿入する位置はnextChar()が返す要素の直前，previousChar()が返す要素の直後.
+	 * @param element
+	 */
+	void add(char e);
+
+	/**
+	 * リスト内の次の要素を返す．
+	 * @return 次の要素
+	 * @throws NoSuchElementException 次の要素がない場合
+	 */
+	@Override
+	char nextChar();
+
+	/**
+	 * リスト内の前の要素を返す
+	 * @return 前の要素
+	 * @throws NoSuchElementException 前の要素がない場合
+	 */
+	char previousChar();
+
+	/**
+	 * next()またはprevious()から最後に返された要素を指定された要素で置き換える(オプションの操作).
+	 * 最後のnext(), previous()の呼び出しからremove(),add(char)のどちらも呼ばれていないときのみ行える
+	 * @param e
+	 */
+	void set(char e);
+
+	/**
+	 * 空のCharListIteratorのシングルトンインスタンスを返す．
+	 * @return 空のCharListIterator
+	 */
+	static CharListIterator empty() {
+		return EmptyListIterator.ofChar();
+	}
+}
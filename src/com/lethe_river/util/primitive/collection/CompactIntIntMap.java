@@ -0,0 +1,739 @@
+package com.lethe_river.util.primitive.collection;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.IntUnaryOperator;
+
+import com.lethe_river.util.primitive.HashSupport;
+import com.lethe_river.util.primitive.IntIntHash;
+
+/**
+ * 挿入順に並べたエントリの配列と，それを指す疎な索引からなるIntIntMapの実装
+ *
+ * - key, valueは挿入順に密な配列へ追記する
+ * - 索引はpower of twoの長さのopen address(線形探索)で，エントリの位置+1を保持する(0は空き)
+ * - 削除したエントリはビットマップで印を付けるだけで，詰めるのは削除済みのエントリが生きているエントリより多くなったときとする
+ *
+ * 走査は密な配列を先頭から辿るだけなので，要素数に比例した時間で挿入順に行える．
+ * 既存のkeyのvalueを更新しても順序は変わらない．
+ * 拡張時に作り直すのは索引だけで，エントリは配列ごと複写する．
+ * NULLに相当するkeyは存在せず，0も他のkeyと同じように扱う．
+ *
+ * @author YuyaAizawa
+ *
+ */
+@SuppressWarnings("serial") // SerializationProxyに委譲
+public final class CompactIntIntMap implements IntIntMap {
+
+	private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+	private static final int DEFAULT_CAPACITY = 12;
+
+	// 索引の長さの最小値と最大値
+	private static final int MIN_INDEX_LENGTH = 8;
+	private static final int MAX_INDEX_LENGTH = 1<<30;
+
+	// 挿入順に並べたkey, value
+	private int[] keys;
+	private int[] values;
+
+	// dead[e>>>6]のビットe&63は，e番目のエントリが削除済みであることを示す
+	private long[] dead;
+
+	// 密な配列の使用済みの長さ(削除済みのエントリを含む)
+	private int used;
+
+	// エントリの位置+1を保持する索引，0は空き
+	private int[] index;
+
+	// 索引の長さ-1
+	private int mask;
+
+	// 要素数の合計
+	private int size;
+
+	// 負荷係数
+	private final float loadFactor;
+
+	// keyの位置を決めるハッシュ関数
+	private final IntIntHash hashFunction;
+
+	// 構造的変更検出用
+	private int modCount;
+
+	/**
+	 * 初期容量，負荷係数とハッシュ関数を指定してCompactIntIntMapを生成する.
+	 *
+	 * 負荷係数は索引の長さに対するエントリの配列の長さの比である．
+	 * ハッシュ関数は下位ビットがよく撹拌されるものを選ぶこと．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 * @param hashFunction keyの位置を決めるハッシュ関数
+	 */
+	public CompactIntIntMap(int initCapacity, float loadFactor, IntIntHash hashFunction) {
+		if(initCapacity < 0) {
+			throw new IllegalArgumentException("initCapacity must be positive :"+initCapacity);
+		}
+		if(!(loadFactor > 0 && loadFactor < 1)) {
+			throw new IllegalArgumentException("loadFactor : "+loadFactor);
+		}
+		this.loadFactor = loadFactor;
+		this.hashFunction = Objects.requireNonNull(hashFunction);
+		int length = indexLengthFor(initCapacity);
+		int capacity = capacityOf(length);
+		keys = new int[capacity];
+		values = new int[capacity];
+		dead = new long[(capacity+63)>>>6];
+		used = 0;
+		index = new int[length];
+		mask = length - 1;
+		size = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * 初期容量と負荷係数を指定してCompactIntIntMapを生成する.
+	 *
+	 * ハッシュ関数にはインスタンスごとにsaltを乱数で選んだ{@link HashSupport#hash32shiftmult(int, int)}が用いられる．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 */
+	public CompactIntIntMap(int initCapacity, float loadFactor) {
+		this(initCapacity, loadFactor, HashSupport.randomizedIntIntHash());
+	}
+
+	/**
+	 * 初期容量を指定してCompactIntIntMapを生成する.
+	 *
+	 * 負荷係数はデフォルトの値(0.75)が用いられる
+	 * @param initCapacity 初期容量
+	 */
+	public CompactIntIntMap(int initCapacity) {
+		this(initCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * デフォルトの初期容量(12)と負荷係数を利用してCompactIntIntMapを生成する.
+	 */
+	public CompactIntIntMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * 指定した容量に対する索引の長さを返す.
+	 * @param capacity 容量
+	 * @return 2の冪の索引の長さ
+	 */
+	private int indexLengthFor(int capacity) {
+		long length = (long)(capacity / loadFactor) + 1;
+		if(length <= MIN_INDEX_LENGTH) {
+			return MIN_INDEX_LENGTH;
+		}
+		if(length > MAX_INDEX_LENGTH) {
+			return MAX_INDEX_LENGTH;
+		}
+		return Integer.highestOneBit((int)length-1) << 1;
+	}
+
+	/**
+	 * 指定した長さの索引で保持するエントリの数を返す.
+	 * @param length 索引の長さ
+	 * @return エントリの配列の長さ
+	 */
+	private int capacityOf(int length) {
+		return Math.max(Math.min((int)(length * loadFactor), length-1), 1);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(int key) {
+		return find(key) != -1;
+	}
+
+	@Override
+	public boolean containsValue(int value) {
+		for (int e = 0; e < used; e++) {
+			if(values[e] == value && !isDead(e)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(index, 0);
+		Arrays.fill(dead, 0, (used+63)>>>6, 0L);
+		used = 0;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public int get(int key) {
+		int slot = find(key);
+		if(slot == -1) {
+			throw new NoSuchElementException("key: "+key);
+		}
+		return values[index[slot]-1];
+	}
+
+	@Override
+	public int getOrDefault(int key, int def) {
+		int slot = find(key);
+		return slot == -1 ? def : values[index[slot]-1];
+	}
+
+	/**
+	 * 指定したkeyのエントリを指す索引上の位置を返す.
+	 * @param key key
+	 * @return 索引上の位置，存在しなければ-1
+	 */
+	private int find(int key) {
+		int[] index = this.index;
+		int[] keys = this.keys;
+		int mask = this.mask;
+		for(int slot = hash(key) & mask;;slot = (slot+1) & mask) {
+			int e = index[slot];
+			if(e == 0) {
+				return -1;
+			}
+			if(keys[e-1] == key) {
+				return slot;
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void put(int key, int value) {
+		int slot = find(key);
+		if(slot == -1) {
+			insertNew(key, value);
+		} else {
+			values[index[slot]-1] = value;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void merge(int key, int value, IntUnaryOperator updater) {
+		int slot = find(key);
+		if(slot == -1) {
+			insertNew(key, value);
+		} else {
+			int e = index[slot]-1;
+			values[e] = updater.applyAsInt(values[e]);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getAndAdd(int key, int delta) {
+		int slot = find(key);
+		if(slot == -1) {
+			insertNew(key, delta);
+			return 0;
+		}
+		int e = index[slot]-1;
+		int old = values[e];
+		values[e] = old + delta;
+		return old;
+	}
+
+	/**
+	 * 含まれていないエントリを末尾に追加する.
+	 * @param key 含まれていないkey
+	 * @param value value
+	 */
+	private void insertNew(int key, int value) {
+		if(used == keys.length) {
+			if(used - size >= size) {
+				// 削除済みのエントリが半分以上なら詰めるだけにする
+				rebuild(index.length);
+			} else {
+				if(index.length == MAX_INDEX_LENGTH) {
+					throw new RuntimeException("Too many entries!");
+				}
+				rebuild(index.length << 1);
+			}
+		}
+		int e = used++;
+		keys[e] = key;
+		values[e] = value;
+		link(e);
+		size++;
+		modCount++;
+	}
+
+	/**
+	 * 索引の空き位置にエントリを登録する.
+	 * @param e エントリの位置
+	 */
+	private void link(int e) {
+		int[] index = this.index;
+		int mask = this.mask;
+		int slot = hash(keys[e]) & mask;
+		while(index[slot] != 0) {
+			slot = (slot+1) & mask;
+		}
+		index[slot] = e+1;
+	}
+
+	@Override
+	public boolean remove(int key) {
+		int slot = find(key);
+		if(slot == -1) {
+			return false;
+		}
+		removeAt(slot);
+		if(used - size > size && used > MIN_INDEX_LENGTH) {
+			rebuild(index.length);
+		}
+		return true;
+	}
+
+	/**
+	 * 索引上の指定した位置が指すエントリを削除する．他のエントリの順序と位置は変わらない.
+	 * @param slot 索引上の位置
+	 */
+	private void removeAt(int slot) {
+		int e = index[slot]-1;
+		unlink(slot);
+		if(e == used-1) {
+			// 末尾なら削除済みのエントリごと切り詰める
+			used--;
+			while(used > 0 && isDead(used-1)) {
+				used--;
+				dead[used>>>6] &= ~(1L << used);
+			}
+		} else {
+			dead[e>>>6] |= 1L << e;
+		}
+		size--;
+		modCount++;
+	}
+
+	/**
+	 * 索引上の指定した位置を空け，後続の位置を本来の位置を越えない範囲で詰める(backward shift deletion).
+	 * @param slot 索引上の位置
+	 */
+	private void unlink(int slot) {
+		int[] index = this.index;
+		int[] keys = this.keys;
+		int mask = this.mask;
+		int dst = slot;
+		for(int src = (dst+1) & mask;;src = (src+1) & mask) {
+			int e = index[src];
+			if(e == 0) {
+				index[dst] = 0;
+				return;
+			}
+			int home = hash(keys[e-1]) & mask;
+			if(((src - home) & mask) >= ((src - dst) & mask)) {
+				index[dst] = e;
+				dst = src;
+			}
+		}
+	}
+
+	/**
+	 * 指定したエントリの位置を指す索引上の位置を返す.
+	 * @param e 削除されていないエントリの位置
+	 * @return 索引上の位置
+	 */
+	private int slotOf(int e) {
+		int mask = this.mask;
+		int slot = hash(keys[e]) & mask;
+		while(index[slot] != e+1) {
+			slot = (slot+1) & mask;
+		}
+		return slot;
+	}
+
+	private boolean isDead(int e) {
+		return (dead[e>>>6] & (1L << e)) != 0;
+	}
+
+	/**
+	 * 指定した容量を格納できるようこのCompactIntIntMapの内部配列を拡張する.
+	 * @param minCapacity 保持するエントリの数
+	 * @throws IllegalArgumentException minCapacityが[1, 索引の最大長*負荷係数]の範囲外だったとき
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if(minCapacity <= 0 || capacityOf(MAX_INDEX_LENGTH) < minCapacity) {
+			throw new IllegalArgumentException("minCapacity : "+minCapacity);
+		}
+		if(keys.length >= minCapacity) {
+			return;
+		}
+		rebuild(indexLengthFor(minCapacity));
+	}
+
+	/**
+	 * 削除済みのエントリを詰め，内部配列を現在の要素数に見合った長さまで縮小する.
+	 */
+	public void trimToSize() {
+		int length = indexLengthFor(size);
+		if(length < index.length || used > size) {
+			rebuild(Math.min(length, index.length));
+		}
+	}
+
+	/**
+	 * 削除済みのエントリを詰めて，指定した長さの索引を作り直す.
+	 * エントリの配列は索引に見合った長さとし，長さが変わらなければそのまま使う．
+	 * @param length 索引の長さ
+	 */
+	private void rebuild(int length) {
+		int capacity = capacityOf(length);
+		int[] newKeys = capacity == keys.length ? keys : new int[capacity];
+		int[] newValues = capacity == keys.length ? values : new int[capacity];
+		int n = 0;
+		for (int e = 0; e < used; e++) {
+			if(!isDead(e)) {
+				newKeys[n] = keys[e];
+				newValues[n] = values[e];
+				n++;
+			}
+		}
+		keys = newKeys;
+		values = newValues;
+		dead = new long[(capacity+63)>>>6];
+		used = n;
+
+		if(length == index.length) {
+			Arrays.fill(index, 0);
+		} else {
+			index = new int[length];
+			mask = length - 1;
+		}
+		for (int e = 0; e < n; e++) {
+			link(e);
+		}
+		modCount++;
+	}
+
+	/**
+	 * keyの索引上での位置を決めるためのhashを返す．
+	 * {@link #hashCode()}とは無関係
+	 * @param key key
+	 * @return keyのハッシュ
+	 */
+	private int hash(int key) {
+		return hashFunction.hash(key);
+	}
+
+	/**
+	 * 挿入順でkeyのSetを返す.
+	 */
+	@Override
+	public IntSet keys() {
+		return new KeySet();
+	}
+
+	/**
+	 * 挿入順でvalueのCollectionを返す.
+	 */
+	@Override
+	public IntCollection values() {
+		return new ValueCollection();
+	}
+
+	/**
+	 * 挿入順でエントリを辿るカーソルを返す.
+	 */
+	@Override
+	public IntIntCursor entryCursor() {
+		return new EntryCursor();
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if(object == this) {
+			return true;
+		}
+		if(object == null || !(object instanceof IntIntMap)) {
+			return false;
+		}
+		IntIntMap target = (IntIntMap) object;
+		if(target.size() != size()) {
+			return false;
+		}
+
+		IntIntCursor entries = target.entryCursor();
+		while(entries.next()) {
+			if(getOrDefault(entries.key(), entries.value()+1) != entries.value()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int sum = 0;
+		IntIntCursor cursor = entryCursor();
+		while(cursor.next()) {
+			sum += cursor.key() ^ cursor.value();
+		}
+		return sum;
+	}
+
+	/**
+	 * 削除されていないエントリを挿入順に辿る.
+	 * 削除で他のエントリは移動しないため，走査中に現在のエントリを削除してもよい．
+	 */
+	private class EntryWalker {
+		// 次に調べる位置
+		int next = 0;
+
+		// 現在の位置
+		int index = -1;
+
+		/**
+		 * 次のエントリに進む
+		 * @return エントリがあればtrue
+		 */
+		boolean advance() {
+			index = -1;
+			while(next < used) {
+				int e = next++;
+				if(!isDead(e)) {
+					index = e;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * 現在のエントリを削除する
+		 */
+		void remove() {
+			removeAt(slotOf(index));
+		}
+	}
+
+	/**
+	 * エントリを挿入順に辿るIteratorの骨格.
+	 */
+	private abstract class EntryIterator {
+
+		final EntryWalker walker = new EntryWalker();
+
+		// 構造的変更検出用
+		int expectedModCount = modCount;
+
+		// nextで返した数
+		int replied = 0;
+
+		// 削除した要素の数
+		int removed = 0;
+
+		// removeが行える状態
+		boolean removable = false;
+
+		public boolean hasNext() {
+			return replied < size + removed;
+		}
+
+		/**
+		 * 次のエントリに進む
+		 * @return 進んだ先のエントリの位置
+		 */
+		int nextIndex() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(!walker.advance()) {
+				throw new NoSuchElementException();
+			}
+			replied++;
+			removable = true;
+			return walker.index;
+		}
+
+		public void remove() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(!removable) {
+				throw new IllegalStateException();
+			}
+			walker.remove();
+			expectedModCount = modCount;
+			removed++;
+			removable = false;
+		}
+	}
+
+	private class KeySet extends AbstractIntSet {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator() {
+			class KeyIterator extends EntryIterator implements PrimitiveIterator.OfInt {
+				@Override
+				public int nextInt() {
+					return keys[nextIndex()];
+				}
+			}
+			return new KeyIterator();
+		}
+
+		@Override
+		public boolean contains(int i) {
+			return CompactIntIntMap.this.containsKey(i);
+		}
+
+		@Override
+		public boolean remove(int i) {
+			return CompactIntIntMap.this.remove(i);
+		}
+	}
+
+	private class ValueCollection extends AbstractIntCollection {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator() {
+			class ValueIterator extends EntryIterator implements PrimitiveIterator.OfInt {
+				@Override
+				public int nextInt() {
+					return values[nextIndex()];
+				}
+			}
+			return new ValueIterator();
+		}
+	}
+
+	private class EntryCursor implements IntIntCursor {
+
+		final EntryWalker walker = new EntryWalker();
+
+		// 構造的変更検出用
+		int expectedModCount = modCount;
+
+		// removeしたことを示す
+		boolean removed = false;
+
+		@Override
+		public boolean next() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			removed = false;
+			return walker.advance();
+		}
+
+		@Override
+		public int key() {
+			checkPosition();
+			return keys[walker.index];
+		}
+
+		@Override
+		public int value() {
+			checkPosition();
+			return values[walker.index];
+		}
+
+		@Override
+		public void remove() {
+			checkPosition();
+			walker.remove();
+			expectedModCount = modCount;
+			removed = true;
+		}
+
+		@Override
+		public void setValue(int value) {
+			checkPosition();
+			values[walker.index] = value;
+		}
+
+		private void checkPosition() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(removed || walker.index == -1) {
+				throw new IllegalStateException();
+			}
+		}
+	}
+
+	private static class SerializationProxy implements Serializable {
+		private static final long serialVersionUID = -3391802742786612707L;
+
+		/**
+		 * @serial
+		 */
+		private final int[] keys;
+
+		/**
+		 * @serial
+		 */
+		private final int[] values;
+
+		/**
+		 * @serial
+		 */
+		private final float loadFactor;
+
+		public SerializationProxy(CompactIntIntMap map) {
+			this.keys = new int[map.size()];
+			this.values = new int[map.size()];
+
+			int index = 0;
+			for(IntIntCursor cursor = map.entryCursor();cursor.next();) {
+				keys[index] = cursor.key();
+				values[index] = cursor.value();
+				index++;
+			}
+
+			this.loadFactor = map.loadFactor;
+		}
+
+		private Object readResolve() {
+			// ハッシュ関数は直列化できるとは限らないため引き継がない
+			CompactIntIntMap result = new CompactIntIntMap(keys.length, loadFactor);
+			for (int i = 0; i < keys.length; i++) {
+				result.put(keys[i], values[i]);
+			}
+			return result;
+		}
+	}
+
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	private void readObject(java.io.ObjectInputStream s) throws java.io.InvalidObjectException {
+		throw new java.io.InvalidObjectException("Proxy required");
+	}
+}
@@ -0,0 +1,888 @@
+package com.lethe_river.util.primitive.collection;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntUnaryOperator;
+
+import com.lethe_river.util.primitive.HashSupport;
+import com.lethe_river.util.primitive.IntIntHash;
+
+/**
+ * 複数のスレッドから同時に操作できるscatter tableを用いたIntIntMapの実装
+ *
+ * - open address
+ * - power of two bucket
+ * - liner probing
+ * - ロックを用いず，VarHandleによるスロット単位のCASで更新する
+ * - リハッシュは操作を行ったスレッドが分担して進める
+ *
+ * keyは一度スロットに書かれると，その配列が使われる間は変わらない．
+ * valueは状態を表すbitと合わせてlongで保持し，移行中のスロットは凍結してから次の配列へ移す．
+ *
+ * get, getOrDefault, containsKeyは待たずに完了する．
+ * mergeの更新関数は競合時に複数回呼ばれることがあるため，副作用を持たないこと．
+ * keys, values, entryCursorによる走査は弱一貫性をもち，ConcurrentModificationExceptionを投げない．
+ * size, containsValue, equals, hashCodeは並行な変更を反映しない場合がある．
+ *
+ * @author YuyaAizawa
+ *
+ */
+@SuppressWarnings("serial") // SerializationProxyに委譲
+public final class ConcurrentScatterIntIntMap implements IntIntMap {
+
+	private static final int NULL = 0;
+
+	private static final int DEFAULT_INIT_CAPACITY = 16;
+	private static final int MAX_CAPACITY = 1<<30;
+
+	// リハッシュで1回に分担するスロットの数
+	private static final int COPY_CHUNK = 64;
+
+	// valueの状態．下位32bitに値をもつ
+	// 0は一度も書かれていないことを表す
+	private static final long PRESENT   = 1L<<32;
+	private static final long FROZEN    = 1L<<33;
+	private static final long TOMBSTONE = 1L<<34;
+
+	// 次の配列へ移行済み
+	private static final long MOVED = FROZEN;
+
+	// 更新の種類
+	private static final int MODE_MERGE  = 0;
+	private static final int MODE_PUT    = 1;
+	private static final int MODE_REMOVE = 2;
+	private static final int MODE_COPY   = 3;
+	private static final int MODE_ADD    = 4;
+
+	private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(int[].class);
+	private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(long[].class);
+	private static final VarHandle TABLE;
+	private static final VarHandle NULL_ENTRY;
+	private static final VarHandle NEXT;
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			TABLE = lookup.findVarHandle(ConcurrentScatterIntIntMap.class, "table", Table.class);
+			NULL_ENTRY = lookup.findVarHandle(ConcurrentScatterIntIntMap.class, "nullEntry", long.class);
+			NEXT = lookup.findVarHandle(Table.class, "next", Table.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	// 現在の配列
+	private volatile Table table;
+
+	// NULLのkeyに対するvalueの状態
+	private volatile long nullEntry;
+
+	// 要素数の合計
+	private final LongAdder size;
+
+	// keyの位置を決めるハッシュ関数
+	private final IntIntHash hashFunction;
+
+	/**
+	 * 初期容量とハッシュ関数を指定してConcurrentScatterIntIntMapを生成する.
+	 *
+	 * ハッシュ関数は下位ビットがよく撹拌されるものを選ぶこと．
+	 * @param initCapacity 初期容量
+	 * @param hashFunction keyの位置を決めるハッシュ関数
+	 */
+	public ConcurrentScatterIntIntMap(int initCapacity, IntIntHash hashFunction) {
+		if(initCapacity < 0) {
+			throw new IllegalArgumentException("initCapacity must be positive :"+initCapacity);
+		}
+		Objects.requireNonNull(hashFunction);
+		table = new Table(TableSizing.POWER_OF_TWO.roundUp(Math.min(Math.max(initCapacity, 2), MAX_CAPACITY)));
+		nullEntry = 0;
+		size = new LongAdder();
+		this.hashFunction = hashFunction;
+	}
+
+	/**
+	 * 初期容量を指定してConcurrentScatterIntIntMapを生成する.
+	 *
+	 * ハッシュ関数にはインスタンスごとにsaltを乱数で選んだ{@link HashSupport#hash32shiftmult(int, int)}が用いられる．
+	 * @param initCapacity 初期容量
+	 */
+	public ConcurrentScatterIntIntMap(int initCapacity) {
+		this(initCapacity, HashSupport.randomizedIntIntHash());
+	}
+
+	/**
+	 * デフォルトの初期容量(16)を利用してConcurrentScatterIntIntMapを生成する.
+	 */
+	public ConcurrentScatterIntIntMap() {
+		this(DEFAULT_INIT_CAPACITY);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		long sum = size.sum();
+		return sum < 0 ? 0 : sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+	}
+
+	@Override
+	public boolean containsKey(int key) {
+		if(key == NULL) {
+			return (nullEntry & PRESENT) != 0;
+		}
+		return (lookup(key) & PRESENT) != 0;
+	}
+
+	@Override
+	public boolean containsValue(int value) {
+		IntIntCursor cursor = entryCursor();
+		while(cursor.next()) {
+			if(cursor.value() == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * 並行に追加された対応関係は残る場合がある．
+	 */
+	@Override
+	public void clear() {
+		remove(NULL);
+		Table t = snapshot();
+		int[] keys = t.keys;
+		for (int i = 0; i < keys.length; i++) {
+			int k = (int) KEYS.getVolatile(keys, i);
+			if(k != NULL) {
+				remove(k);
+			}
+		}
+	}
+
+	@Override
+	public int get(int key) {
+		long w = key == NULL ? nullEntry : lookup(key);
+		if((w & PRESENT) == 0) {
+			throw new NoSuchElementException("key: "+key);
+		}
+		return (int) w;
+	}
+
+	@Override
+	public int getOrDefault(int key, int def) {
+		long w = key == NULL ? nullEntry : lookup(key);
+		return (w & PRESENT) == 0 ? def : (int) w;
+	}
+
+	/**
+	 * 指定したkeyのvalueの状態を返す.
+	 * 移行済みのスロットに当たった場合，またはリハッシュ中の配列でkeyが見つからなかった場合は次の配列を探す．
+	 * @param key NULL以外のkey
+	 * @return valueの状態，存在しなければPRESENTを含まない値
+	 */
+	private long lookup(int key) {
+		Table t = table;
+		outer:
+		for(;;) {
+			int[] keys = t.keys;
+			long[] values = t.values;
+			int mask = t.mask;
+			int index = hashFunction.hash(key) & mask;
+			for(int probe = 0;probe <= mask;probe++) {
+				int k = (int) KEYS.getVolatile(keys, index);
+				if(k == key || k == NULL) {
+					long w = (long) VALUES.getVolatile(values, index);
+					if(w == MOVED) {
+						t = t.next;
+						continue outer;
+					}
+					if(k == key) {
+						return w;
+					}
+					// リハッシュ中に追加されたkeyは次の配列にある
+					Table next = t.next;
+					if(next == null) {
+						return 0;
+					}
+					t = next;
+					continue outer;
+				}
+				index = (index+1) & mask;
+			}
+			// 空きが無い配列を一周した
+			Table next = t.next;
+			if(next == null) {
+				return 0;
+			}
+			t = next;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * updaterは競合時に複数回呼ばれることがある．
+	 */
+	@Override
+	public void merge(int key, int value, IntUnaryOperator updater) {
+		if(key == NULL) {
+			for(;;) {
+				long w = nullEntry;
+				boolean present = (w & PRESENT) != 0;
+				long x = present ? live(updater.applyAsInt((int) w)) : live(value);
+				if(NULL_ENTRY.compareAndSet(this, w, x)) {
+					if(!present) {
+						size.increment();
+					}
+					return;
+				}
+			}
+		}
+		update(top(), key, MODE_MERGE, value, updater);
+	}
+
+	@Override
+	public void put(int key, int value) {
+		if(key == NULL) {
+			long w = (long) NULL_ENTRY.getAndSet(this, live(value));
+			if((w & PRESENT) == 0) {
+				size.increment();
+			}
+			return;
+		}
+		update(top(), key, MODE_PUT, value, null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void addTo(int key, int delta) {
+		getAndAdd(key, delta);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * 加算は1回のCASで不可分に行われる．
+	 */
+	@Override
+	public int getAndAdd(int key, int delta) {
+		long w;
+		if(key == NULL) {
+			for(;;) {
+				w = nullEntry;
+				boolean present = (w & PRESENT) != 0;
+				if(NULL_ENTRY.compareAndSet(this, w, live(present ? (int) w + delta : delta))) {
+					if(!present) {
+						size.increment();
+					}
+					break;
+				}
+			}
+		} else {
+			w = update(top(), key, MODE_ADD, delta, null);
+		}
+		return (w & PRESENT) == 0 ? 0 : (int) w;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int addAndGet(int key, int delta) {
+		return getAndAdd(key, delta) + delta;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int incrementAndGet(int key) {
+		return getAndAdd(key, 1) + 1;
+	}
+
+	@Override
+	public boolean remove(int key) {
+		if(key == NULL) {
+			for(;;) {
+				long w = nullEntry;
+				if((w & PRESENT) == 0) {
+					return false;
+				}
+				if(NULL_ENTRY.compareAndSet(this, w, 0L)) {
+					size.decrement();
+					return true;
+				}
+			}
+		}
+		return (update(top(), key, MODE_REMOVE, 0, null) & PRESENT) != 0;
+	}
+
+	/**
+	 * 更新を始める配列を返す.
+	 * リハッシュ中であれば一定数のスロットの移行を分担する．
+	 * @return 現在の配列
+	 */
+	private Table top() {
+		Table t = table;
+		if(t.next != null) {
+			helpCopy(t);
+		}
+		return t;
+	}
+
+	/**
+	 * 指定した配列から順にkeyのスロットを探し，valueを更新する.
+	 * keyが無ければ(MODE_REMOVE以外では)スロットを確保する．
+	 * スロットが凍結されていればその移行を済ませ，次の配列でやり直す．
+	 * リハッシュ中の配列には新たなkeyを確保せず，空きスロットを凍結して次の配列へ進む．
+	 * @param t 探索を始める配列
+	 * @param key NULL以外のkey
+	 * @param mode 更新の種類
+	 * @param value 追加または移行するvalue，MODE_ADDでは加える値
+	 * @param updater MODE_MERGEで既存の値に適用する関数
+	 * @return 更新前のvalueの状態
+	 */
+	private long update(Table t, int key, int mode, int value, IntUnaryOperator updater) {
+		outer:
+		for(;;) {
+			int[] keys = t.keys;
+			long[] values = t.values;
+			int mask = t.mask;
+			int index = hashFunction.hash(key) & mask;
+			for(int probe = 0;;probe++) {
+				if(probe > mask) {
+					// 空きが無い
+					if(mode == MODE_REMOVE) {
+						if(t.next == null) {
+							return 0;
+						}
+						t = t.next;
+					} else {
+						t = resize(t);
+					}
+					continue outer;
+				}
+				int k = (int) KEYS.getVolatile(keys, index);
+				if(k == NULL) {
+					if(mode == MODE_REMOVE) {
+						if(t.next == null) {
+							return 0;
+						}
+						t = t.next;
+						continue outer;
+					}
+					if(t.next != null || t.claimed.get() >= t.threshold) {
+						// この位置を凍結し，以降の探索が次の配列へ進むようにする
+						Table next = resize(t);
+						copySlot(t, index);
+						t = next;
+						continue outer;
+					}
+					if(KEYS.compareAndSet(keys, index, NULL, key)) {
+						if((long) VALUES.getVolatile(values, index) == MOVED) {
+							// 確保する前に凍結されていたスロットは使えない
+							t = t.next;
+							continue outer;
+						}
+						t.claimed.incrementAndGet();
+						k = key;
+					} else {
+						k = (int) KEYS.getVolatile(keys, index);
+					}
+				}
+				if(k == key) {
+					break;
+				}
+				index = (index+1) & mask;
+			}
+
+			for(;;) {
+				long w = (long) VALUES.getVolatile(values, index);
+				if((w & FROZEN) != 0) {
+					copySlot(t, index);
+					t = t.next;
+					continue outer;
+				}
+				boolean present = (w & PRESENT) != 0;
+				long x;
+				switch(mode) {
+				case MODE_MERGE:
+					x = present ? live(updater.applyAsInt((int) w)) : live(value);
+					break;
+				case MODE_PUT:
+					x = live(value);
+					break;
+				case MODE_ADD:
+					x = live(present ? (int) w + value : value);
+					break;
+				case MODE_REMOVE:
+					if(!present) {
+						return w;
+					}
+					x = TOMBSTONE;
+					break;
+				default:
+					// 移行先では一度も書かれていないスロットにだけ書く
+					if(w != 0) {
+						return w;
+					}
+					x = live(value);
+				}
+				if(VALUES.compareAndSet(values, index, w, x)) {
+					if(mode != MODE_COPY) {
+						if(!present && mode != MODE_REMOVE) {
+							size.increment();
+						} else if(present && mode == MODE_REMOVE) {
+							size.decrement();
+						}
+					}
+					return w;
+				}
+			}
+		}
+	}
+
+	/**
+	 * 指定した配列の次の配列を返す．無ければ作成してリハッシュを始める.
+	 * 生きている要素が少なければ同じ長さの配列に移し，削除済みのスロットを回収する．
+	 * @param t 拡張する配列
+	 * @return 次の配列
+	 */
+	private Table resize(Table t) {
+		Table next = t.next;
+		if(next == null) {
+			int length = t.keys.length;
+			long live = size.sum();
+			int nextLength = live >= (length>>2) ? length<<1 : length;
+			if(nextLength > MAX_CAPACITY) {
+				if(live >= t.threshold) {
+					throw new RuntimeException("Too many entries!");
+				}
+				nextLength = length;
+			}
+			Table created = new Table(nextLength);
+			Table witness = (Table) NEXT.compareAndExchange(t, null, created);
+			next = witness == null ? created : witness;
+		}
+		helpCopy(t);
+		return next;
+	}
+
+	/**
+	 * 指定した配列のまだ誰も担当していないスロットを一定数移す.
+	 * @param t リハッシュ中の配列
+	 */
+	private void helpCopy(Table t) {
+		int length = t.keys.length;
+		if(t.copyIndex.get() >= length) {
+			return;
+		}
+		int start = t.copyIndex.getAndAdd(COPY_CHUNK);
+		if(start >= length) {
+			return;
+		}
+		int end = Math.min(start + COPY_CHUNK, length);
+		int done = 0;
+		for (int i = start; i < end; i++) {
+			if(transfer(t, i)) {
+				done++;
+			}
+		}
+		finishCopy(t, done);
+	}
+
+	/**
+	 * 指定したスロットを移す.
+	 * @param t リハッシュ中の配列
+	 * @param index スロットの位置
+	 */
+	private void copySlot(Table t, int index) {
+		if(transfer(t, index)) {
+			finishCopy(t, 1);
+		}
+	}
+
+	/**
+	 * 指定したスロットを凍結し，値があれば次の配列へ書いてから移行済みにする.
+	 * 複数のスレッドが同じスロットに対して呼んでもよい．
+	 * @param t リハッシュ中の配列
+	 * @param index スロットの位置
+	 * @return このスレッドがスロットを移行済みにしたときtrue
+	 */
+	private boolean transfer(Table t, int index) {
+		long[] values = t.values;
+		long w;
+		for(;;) {
+			w = (long) VALUES.getVolatile(values, index);
+			if((w & FROZEN) != 0) {
+				break;
+			}
+			long frozen = (w & PRESENT) != 0 ? w | FROZEN : MOVED;
+			if(VALUES.compareAndSet(values, index, w, frozen)) {
+				if(frozen == MOVED) {
+					return true;
+				}
+				w = frozen;
+				break;
+			}
+		}
+		if(w == MOVED) {
+			return false;
+		}
+		int key = (int) KEYS.getVolatile(t.keys, index);
+		update(t.next, key, MODE_COPY, (int) w, null);
+		return VALUES.compareAndSet(values, index, w, MOVED);
+	}
+
+	/**
+	 * 移したスロットの数を記録し，全て移し終えていれば現在の配列を差し替える.
+	 * @param t リハッシュ中の配列
+	 * @param done 新たに移行済みにしたスロットの数
+	 */
+	private void finishCopy(Table t, int done) {
+		if(done == 0 || t.copyDone.addAndGet(done) != t.keys.length) {
+			return;
+		}
+		for(;;) {
+			Table top = table;
+			Table next = top.next;
+			if(next == null || top.copyDone.get() != top.keys.length) {
+				return;
+			}
+			TABLE.compareAndSet(this, top, next);
+		}
+	}
+
+	/**
+	 * 進行中のリハッシュを全て済ませ，走査に用いる配列を返す.
+	 * @return 移行中でない配列
+	 */
+	private Table snapshot() {
+		Table t = table;
+		for(Table next = t.next;next != null;next = t.next) {
+			int done = 0;
+			for (int i = 0; i < t.keys.length; i++) {
+				if(transfer(t, i)) {
+					done++;
+				}
+			}
+			finishCopy(t, done);
+			t = next;
+		}
+		return t;
+	}
+
+	private static long live(int value) {
+		return PRESENT | (value & 0xFFFFFFFFL);
+	}
+
+	@Override
+	public IntSet keys() {
+		return new KeySet();
+	}
+
+	@Override
+	public IntCollection values() {
+		return new ValueCollection();
+	}
+
+	@Override
+	public IntIntCursor entryCursor() {
+		return new EntryCursor();
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if(object == this) {
+			return true;
+		}
+		if(object == null || !(object instanceof IntIntMap)) {
+			return false;
+		}
+		IntIntMap target = (IntIntMap) object;
+		if(target.size() != size()) {
+			return false;
+		}
+
+		IntIntCursor entries = target.entryCursor();
+		while(entries.next()) {
+			if(getOrDefault(entries.key(), entries.value()+1) != entries.value()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int sum = 0;
+		IntIntCursor cursor = entryCursor();
+		while(cursor.next()) {
+			sum += cursor.key() ^ cursor.value();
+		}
+		return sum;
+	}
+
+	/**
+	 * keyとvalueの状態を保持する配列
+	 */
+	private static final class Table {
+		final int[] keys;
+		final long[] values;
+		final int mask;
+
+		// 確保されたスロットの数がこれに達したらリハッシュする
+		final int threshold;
+
+		// 確保されたスロットの数
+		final AtomicInteger claimed = new AtomicInteger();
+
+		// 次に分担されるスロットの位置
+		final AtomicInteger copyIndex = new AtomicInteger();
+
+		// 移行済みにしたスロットの数
+		final AtomicInteger copyDone = new AtomicInteger();
+
+		// リハッシュ先の配列
+		volatile Table next;
+
+		Table(int length) {
+			keys = new int[length];
+			values = new long[length];
+			mask = length-1;
+			threshold = length - (length>>2);
+		}
+	}
+
+	/**
+	 * 走査を始めた時点の配列のスロットを順に辿る.
+	 * 移行済みのスロットのvalueは現在の配列から読み直す．
+	 */
+	private class EntryCursor implements IntIntCursor {
+
+		private static final int INDEX_BEGIN = -2;
+		private static final int INDEX_NULL  = -1;
+
+		final Table t = snapshot();
+
+		int index = INDEX_BEGIN;
+
+		// 現在のエントリ
+		int key;
+		int value;
+
+		// 現在のエントリが有効
+		boolean valid = false;
+
+		@Override
+		public boolean next() {
+			if(index == INDEX_BEGIN) {
+				index = INDEX_NULL;
+				long w = nullEntry;
+				if((w & PRESENT) != 0) {
+					key = NULL;
+					value = (int) w;
+					valid = true;
+					return true;
+				}
+			}
+			int[] keys = t.keys;
+			long[] values = t.values;
+			while(index+1 < keys.length) {
+				index++;
+				int k = (int) KEYS.getVolatile(keys, index);
+				if(k == NULL) {
+					continue;
+				}
+				long w = (long) VALUES.getVolatile(values, index);
+				if(w == MOVED) {
+					w = lookup(k);
+				}
+				if((w & PRESENT) != 0) {
+					key = k;
+					value = (int) w;
+					valid = true;
+					return true;
+				}
+			}
+			valid = false;
+			return false;
+		}
+
+		@Override
+		public int key() {
+			checkPosition();
+			return key;
+		}
+
+		@Override
+		public int value() {
+			checkPosition();
+			return value;
+		}
+
+		@Override
+		public void remove() {
+			checkPosition();
+			ConcurrentScatterIntIntMap.this.remove(key);
+			valid = false;
+		}
+
+		@Override
+		public void setValue(int value) {
+			checkPosition();
+			put(key, value);
+			this.value = value;
+		}
+
+		private void checkPosition() {
+			if(!valid) {
+				throw new IllegalStateException();
+			}
+		}
+	}
+
+	/**
+	 * カーソルを1つ先読みする反復子
+	 */
+	private abstract class CursorIterator implements PrimitiveIterator.OfInt {
+
+		final EntryCursor cursor = new EntryCursor();
+
+		boolean hasNext = cursor.next();
+
+		// 最後に返したエントリのkey
+		int lastKey;
+
+		// removeが行える状態
+		boolean removable = false;
+
+		abstract int element(EntryCursor cursor);
+
+		@Override
+		public boolean hasNext() {
+			return hasNext;
+		}
+
+		@Override
+		public int nextInt() {
+			if(!hasNext) {
+				throw new NoSuchElementException();
+			}
+			lastKey = cursor.key;
+			int result = element(cursor);
+			removable = true;
+			hasNext = cursor.next();
+			return result;
+		}
+
+		@Override
+		public void remove() {
+			if(!removable) {
+				throw new IllegalStateException();
+			}
+			ConcurrentScatterIntIntMap.this.remove(lastKey);
+			removable = false;
+		}
+	}
+
+	private class KeySet extends AbstractIntSet {
+
+		@Override
+		public int size() {
+			return ConcurrentScatterIntIntMap.this.size();
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator() {
+			return new CursorIterator() {
+				@Override
+				int element(EntryCursor cursor) {
+					return cursor.key;
+				}
+			};
+		}
+
+		@Override
+		public boolean contains(int i) {
+			return ConcurrentScatterIntIntMap.this.containsKey(i);
+		}
+
+		@Override
+		public boolean remove(int i) {
+			return ConcurrentScatterIntIntMap.this.remove(i);
+		}
+	}
+
+	private class ValueCollection extends AbstractIntCollection {
+
+		@Override
+		public int size() {
+			return ConcurrentScatterIntIntMap.this.size();
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator() {
+			return new CursorIterator() {
+				@Override
+				int element(EntryCursor cursor) {
+					return cursor.value;
+				}
+			};
+		}
+	}
+
+	private static class SerializationProxy implements Serializable {
+		private static final long serialVersionUID = -6281794129337052043L;
+
+		/**
+		 * @serial
+		 */
+		private final int[] keys;
+
+		/**
+		 * @serial
+		 */
+		private final int[] values;
+
+		public SerializationProxy(ConcurrentScatterIntIntMap map) {
+			ArrayIntList keys = new ArrayIntList();
+			ArrayIntList values = new ArrayIntList();
+			for(IntIntCursor cursor = map.entryCursor();cursor.next();) {
+				keys.add(cursor.key());
+				values.add(cursor.value());
+			}
+			this.keys = keys.toArray();
+			this.values = values.toArray();
+		}
+
+		private Object readResolve() {
+			// ハッシュ関数は直列化できるとは限らないため引き継がない
+			ConcurrentScatterIntIntMap result = new ConcurrentScatterIntIntMap(keys.length*2);
+			for (int i = 0; i < keys.length; i++) {
+				result.put(keys[i], values[i]);
+			}
+			return result;
+		}
+	}
+
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	private void readObject(java.io.ObjectInputStream s) throws java.io.InvalidObjectException {
+		throw new java.io.InvalidObjectException("Proxy required");
+	}
+}
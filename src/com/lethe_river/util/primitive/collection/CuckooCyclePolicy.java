@@ -0,0 +1,23 @@
+package com.lethe_river.util.primitive.collection;
+
+/**
+ * カッコーハッシュの挿入で追い出しが一巡して要素を置けなかったときの扱い.
+ *
+ * @author YuyaAizawa
+ *
+ */
+public enum CuckooCyclePolicy {
+
+	/**
+	 * 表の外の小さなstashに置く.
+	 * stashが一杯になったときはハッシュ関数を取り替えて再構築する．
+	 * 負荷係数を高く保てるが，探索のたびにstashも調べる．
+	 */
+	STASH,
+
+	/**
+	 * 直ちにバケット数を倍にして再構築する.
+	 * 探索は常に2バケットで終わるが，負荷係数が低いうちに拡張されることがある．
+	 */
+	RESIZE;
+}
@@ -0,0 +1,873 @@
+package com.lethe_river.util.primitive.collection;
+
+import java.io.Serializable;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+import com.lethe_river.util.primitive.HashSupport;
+import com.lethe_river.util.primitive.IntIntHash;
+
+/**
+ * カッコーハッシュを利用したIntIntMap
+ *
+ * - 4要素ずつのバケットを持つ1つの表
+ * - keyごとに2つの候補バケット
+ * - ランダムウォークによる追い出し
+ * - 置けなかったエントリの扱いは{@link CuckooCyclePolicy}で選ぶ
+ *
+ * keyは2つの候補バケットの計8か所(とstash)のどこかにあるため，keyの分布によらず
+ * getが調べるのは高々2バケットである．候補バケットの決め方は{@link CuckooHashIntSet}と共通．
+ *
+ * @author YuyaAizawa
+ *
+ */
+@SuppressWarnings("serial") // SerializationProxyに委譲
+public final class CuckooHashIntIntMap implements IntIntMap {
+
+	private static final int NULL = 0;
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	// NULL以外のkey, value．バケットbはkeys[b*4]からkeys[b*4+3]
+	private int[] keys;
+	private int[] values;
+
+	// 候補バケットの決め方
+	private final CuckooHashing hashing;
+
+	// 置けなかったエントリの扱い
+	private final CuckooCyclePolicy policy;
+
+	// 表に入りきらなかったkey, value
+	private final int[] stashKeys = new int[CuckooHashing.STASH_SIZE];
+	private final int[] stashValues = new int[CuckooHashing.STASH_SIZE];
+	private int stashSize;
+
+	// insertで置けなかったkeyのvalue
+	private int homelessValue;
+
+	// NULLのkey, value
+	private boolean nullKey;
+	private int nullValue;
+
+	// 要素数の合計
+	private int size;
+
+	// 次に拡張する要素数
+	private int threshold;
+
+	// 構造的変更検出用
+	private int modCount;
+
+	/**
+	 * 初期容量，置けなかったエントリの扱いとハッシュ関数の供給元を指定してCuckooHashIntIntMapを生成する.
+	 *
+	 * hashSourceは生成時と再構築のたびに2回ずつ呼ばれ，互いに独立したハッシュ関数を返さなければならない．
+	 * @param initCapacity 初期容量
+	 * @param policy 置けなかったエントリの扱い
+	 * @param hashSource ハッシュ関数の供給元
+	 */
+	public CuckooHashIntIntMap(int initCapacity, CuckooCyclePolicy policy, Supplier<IntIntHash> hashSource) {
+		if(initCapacity < 0) {
+			throw new IllegalArgumentException("initCapacity must be positive :"+initCapacity);
+		}
+		this.policy = Objects.requireNonNull(policy);
+		hashing = new CuckooHashing(hashSource);
+		allocate(CuckooHashing.bucketsFor(initCapacity));
+		nullKey = false;
+		size = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * 初期容量と置けなかったエントリの扱いを指定してCuckooHashIntIntMapを生成する.
+	 *
+	 * ハッシュ関数にはインスタンスごとにsaltを乱数で選んだ{@link HashSupport#hash32shiftmult(int, int)}が用いられる．
+	 * @param initCapacity 初期容量
+	 * @param policy 置けなかったエントリの扱い
+	 */
+	public CuckooHashIntIntMap(int initCapacity, CuckooCyclePolicy policy) {
+		this(initCapacity, policy, HashSupport::randomizedIntIntHash);
+	}
+
+	/**
+	 * 初期容量を指定してCuckooHashIntIntMapを生成する.
+	 *
+	 * 置けなかったエントリは{@link CuckooCyclePolicy#STASH}で扱う．
+	 * @param initCapacity 初期容量
+	 */
+	public CuckooHashIntIntMap(int initCapacity) {
+		this(initCapacity, CuckooCyclePolicy.STASH);
+	}
+
+	/**
+	 * デフォルトの初期容量でCuckooHashIntIntMapを生成する.
+	 */
+	public CuckooHashIntIntMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * 空の表を確保し，ハッシュ関数を取り替える.
+	 * @param buckets バケット数
+	 */
+	private void allocate(int buckets) {
+		keys = new int[buckets << CuckooHashing.BUCKET_SHIFT];
+		values = new int[buckets << CuckooHashing.BUCKET_SHIFT];
+		stashSize = 0;
+		threshold = (int)(keys.length * CuckooHashing.LOAD_FACTOR);
+		hashing.reset(buckets);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(int key) {
+		if(key == NULL) {
+			return nullKey;
+		}
+		return find(key) != -1;
+	}
+
+	@Override
+	public boolean containsValue(int value) {
+		if(nullKey && nullValue == value) {
+			return true;
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if(keys[i] != NULL && values[i] == value) {
+				return true;
+			}
+		}
+		for (int j = 0; j < stashSize; j++) {
+			if(stashValues[j] == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		allocate(CuckooHashing.bucketsFor(DEFAULT_CAPACITY));
+		nullKey = false;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public int get(int key) {
+		if(key == NULL) {
+			if(!nullKey) {
+				throw new NoSuchElementException("key: "+key);
+			}
+			return nullValue;
+		}
+
+		int position = find(key);
+		if(position == -1) {
+			throw new NoSuchElementException("key: "+key);
+		}
+		return valueAt(position);
+	}
+
+	@Override
+	public int getOrDefault(int key, int def) {
+		if(key == NULL) {
+			return nullKey ? nullValue : def;
+		}
+
+		int[] keys = this.keys;
+		int b1 = hashing.bucket1(key);
+		int index = CuckooHashing.indexIn(keys, b1, key);
+		if(index != -1) {
+			return values[index];
+		}
+		index = CuckooHashing.indexIn(keys, hashing.bucket2(key, b1), key);
+		if(index != -1) {
+			return values[index];
+		}
+		if(stashSize != 0) {
+			index = indexInStash(key);
+			if(index != -1) {
+				return stashValues[index];
+			}
+		}
+		return def;
+	}
+
+	/**
+	 * 指定したkeyが格納されている位置を返す.
+	 * @param key NULL以外のkey
+	 * @return 表上の位置，stashにあればkeys.length+stash上の位置，存在しなければ-1
+	 */
+	private int find(int key) {
+		int[] keys = this.keys;
+		int b1 = hashing.bucket1(key);
+		int index = CuckooHashing.indexIn(keys, b1, key);
+		if(index != -1) {
+			return index;
+		}
+		index = CuckooHashing.indexIn(keys, hashing.bucket2(key, b1), key);
+		if(index != -1) {
+			return index;
+		}
+		if(stashSize != 0) {
+			index = indexInStash(key);
+			if(index != -1) {
+				return keys.length + index;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * stash内で指定したkeyがある位置を返す.
+	 * @param key key
+	 * @return stash上の位置，無ければ-1
+	 */
+	private int indexInStash(int key) {
+		for (int j = 0; j < stashSize; j++) {
+			if(stashKeys[j] == key) {
+				return j;
+			}
+		}
+		return -1;
+	}
+
+	private int keyAt(int position) {
+		return position < keys.length ? keys[position] : stashKeys[position - keys.length];
+	}
+
+	private int valueAt(int position) {
+		return position < values.length ? values[position] : stashValues[position - values.length];
+	}
+
+	private void setValueAt(int position, int value) {
+		if(position < values.length) {
+			values[position] = value;
+		} else {
+			stashValues[position - values.length] = value;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void put(int key, int value) {
+		if(key == NULL) {
+			if(!nullKey) {
+				nullKey = true;
+				size++;
+				modCount++;
+			}
+			nullValue = value;
+			return;
+		}
+
+		int position = find(key);
+		if(position == -1) {
+			insertNew(key, value);
+		} else {
+			setValueAt(position, value);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void merge(int key, int value, IntUnaryOperator updater) {
+		if(key == NULL) {
+			if(!nullKey) {
+				nullKey = true;
+				nullValue = value;
+				size++;
+				modCount++;
+			} else {
+				nullValue = updater.applyAsInt(nullValue);
+			}
+			return;
+		}
+
+		int position = find(key);
+		if(position == -1) {
+			insertNew(key, value);
+		} else {
+			setValueAt(position, updater.applyAsInt(valueAt(position)));
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getAndAdd(int key, int delta) {
+		if(key == NULL) {
+			int old = nullKey ? nullValue : 0;
+			if(!nullKey) {
+				nullKey = true;
+				size++;
+				modCount++;
+			}
+			nullValue = old + delta;
+			return old;
+		}
+
+		int position = find(key);
+		if(position == -1) {
+			insertNew(key, delta);
+			return 0;
+		}
+		int old = valueAt(position);
+		setValueAt(position, old + delta);
+		return old;
+	}
+
+	/**
+	 * 含まれていないエントリを追加する.
+	 * @param key 含まれていないNULL以外のkey
+	 * @param value value
+	 */
+	private void insertNew(int key, int value) {
+		if(size + 1 > threshold) {
+			rehash(hashing.buckets() << 1, NULL, 0);
+		}
+		int homeless = insert(key, value);
+		if(homeless != NULL && !stash(homeless, homelessValue)) {
+			rehash(policy == CuckooCyclePolicy.RESIZE ?
+					hashing.buckets() << 1 :
+					hashing.buckets(), homeless, homelessValue);
+		}
+		size++;
+		modCount++;
+	}
+
+	/**
+	 * 表にエントリを置く.
+	 * 候補バケットが共に埋まっていれば，ランダムに選んだエントリを追い出してもう一方の候補バケットへ移すことを繰り返す．
+	 * @param key 表に含まれないNULL以外のkey
+	 * @param value value
+	 * @return 置ききれずに残ったkey，全て置けたらNULL．残ったkeyのvalueはhomelessValueに入る
+	 */
+	private int insert(int key, int value) {
+		int b1 = hashing.bucket1(key);
+		int b2 = hashing.bucket2(key, b1);
+		if(putIn(b1, key, value) || putIn(b2, key, value)) {
+			return NULL;
+		}
+		int[] keys = this.keys;
+		int[] values = this.values;
+		int bucket = (hashing.nextRandom() & 1) == 0 ? b1 : b2;
+		for (int kick = 0; kick < CuckooHashing.MAX_KICKS; kick++) {
+			int index = (bucket << CuckooHashing.BUCKET_SHIFT) + (hashing.nextRandom() & (CuckooHashing.BUCKET_SIZE-1));
+			int victimKey = keys[index];
+			int victimValue = values[index];
+			keys[index] = key;
+			values[index] = value;
+			key = victimKey;
+			value = victimValue;
+			bucket = hashing.alternate(key, bucket);
+			if(putIn(bucket, key, value)) {
+				return NULL;
+			}
+		}
+		homelessValue = value;
+		return key;
+	}
+
+	/**
+	 * バケットの空き位置にエントリを置く.
+	 * @param bucket バケット番号
+	 * @param key NULL以外のkey
+	 * @param value value
+	 * @return 置けたらtrue
+	 */
+	private boolean putIn(int bucket, int key, int value) {
+		int index = CuckooHashing.indexIn(keys, bucket, NULL);
+		if(index == -1) {
+			return false;
+		}
+		keys[index] = key;
+		values[index] = value;
+		return true;
+	}
+
+	/**
+	 * 置けなかったエントリをstashに置く.
+	 * @param key NULL以外のkey
+	 * @param value value
+	 * @return 置けたらtrue．{@link CuckooCyclePolicy#RESIZE}では常にfalse
+	 */
+	private boolean stash(int key, int value) {
+		if(policy != CuckooCyclePolicy.STASH || stashSize == CuckooHashing.STASH_SIZE) {
+			return false;
+		}
+		stashKeys[stashSize] = key;
+		stashValues[stashSize] = value;
+		stashSize++;
+		return true;
+	}
+
+	@Override
+	public boolean remove(int key) {
+		if(key == NULL) {
+			if(nullKey) {
+				nullKey = false;
+				size--;
+				modCount++;
+				return true;
+			}
+			return false;
+		}
+
+		int position = find(key);
+		if(position == -1) {
+			return false;
+		}
+		removeAt(position);
+		drainStash();
+		return true;
+	}
+
+	/**
+	 * 指定した位置のエントリを削除する.
+	 * stashのエントリを削除した場合は末尾のエントリがその位置に移る．
+	 * @param position 表上の位置またはkeys.length+stash上の位置
+	 */
+	private void removeAt(int position) {
+		if(position < keys.length) {
+			keys[position] = NULL;
+		} else {
+			int j = position - keys.length;
+			stashSize--;
+			stashKeys[j] = stashKeys[stashSize];
+			stashValues[j] = stashValues[stashSize];
+		}
+		size--;
+		modCount++;
+	}
+
+	/**
+	 * 表に空きができた後，stashのエントリを候補バケットへ戻す.
+	 */
+	private void drainStash() {
+		for (int j = 0; j < stashSize;) {
+			int key = stashKeys[j];
+			int b1 = hashing.bucket1(key);
+			if(putIn(b1, key, stashValues[j]) || putIn(hashing.bucket2(key, b1), key, stashValues[j])) {
+				stashSize--;
+				stashKeys[j] = stashKeys[stashSize];
+				stashValues[j] = stashValues[stashSize];
+			} else {
+				j++;
+			}
+		}
+	}
+
+	/**
+	 * ハッシュ関数を取り替えて表を作り直す.
+	 * 全エントリを置けなかった場合はハッシュ関数を取り替えて再試行する．
+	 * バケット数は{@link CuckooCyclePolicy#RESIZE}では毎回，{@link CuckooCyclePolicy#STASH}では2回に1回倍にする．
+	 * @param buckets バケット数
+	 * @param extraKey 追加で置くkey，無ければNULL
+	 * @param extraValue 追加で置くvalue
+	 */
+	private void rehash(int buckets, int extraKey, int extraValue) {
+		int[] oldKeys = new int[keys.length + stashSize + 1];
+		int[] oldValues = new int[oldKeys.length];
+		int count = 0;
+		for (int i = 0; i < keys.length; i++) {
+			if(keys[i] != NULL) {
+				oldKeys[count] = keys[i];
+				oldValues[count] = values[i];
+				count++;
+			}
+		}
+		for (int j = 0; j < stashSize; j++) {
+			oldKeys[count] = stashKeys[j];
+			oldValues[count] = stashValues[j];
+			count++;
+		}
+		if(extraKey != NULL) {
+			oldKeys[count] = extraKey;
+			oldValues[count] = extraValue;
+			count++;
+		}
+
+		for(int attempt = 1;;attempt++) {
+			if(buckets > CuckooHashing.MAX_BUCKETS) {
+				throw new RuntimeException("Too many entries!");
+			}
+			allocate(buckets);
+			if(placeAll(oldKeys, oldValues, count)) {
+				modCount++;
+				return;
+			}
+			if(policy == CuckooCyclePolicy.RESIZE || attempt % 2 == 0) {
+				buckets <<= 1;
+			}
+		}
+	}
+
+	/**
+	 * 確保したばかりの表にエントリを置く.
+	 * @param keys NULL以外のkey
+	 * @param values value
+	 * @param count 置くエントリの数
+	 * @return 置けないエントリが出たらfalse
+	 */
+	private boolean placeAll(int[] keys, int[] values, int count) {
+		for (int j = 0; j < count; j++) {
+			int homeless = insert(keys[j], values[j]);
+			if(homeless != NULL && !stash(homeless, homelessValue)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public IntSet keys() {
+		return new KeySet();
+	}
+
+	@Override
+	public IntCollection values() {
+		return new ValueCollection();
+	}
+
+	@Override
+	public IntIntCursor entryCursor() {
+		return new EntryCursor();
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if(object == this) {
+			return true;
+		}
+		if(object == null || !(object instanceof IntIntMap)) {
+			return false;
+		}
+		IntIntMap target = (IntIntMap) object;
+		if(target.size() != size()) {
+			return false;
+		}
+
+		IntIntCursor entries = target.entryCursor();
+		while(entries.next()) {
+			if(getOrDefault(entries.key(), entries.value()+1) != entries.value()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int sum = 0;
+		IntIntCursor cursor = entryCursor();
+		while(cursor.next()) {
+			sum += cursor.key() ^ cursor.value();
+		}
+		return sum;
+	}
+
+	/**
+	 * 表，stashの順にエントリを辿る.
+	 *
+	 * 走査中に現在のエントリを削除してもstashのエントリは表に戻さない．
+	 * stashのエントリを削除した場合は末尾のエントリが移ってくるため，その位置をもう一度調べる．
+	 */
+	private class TableWalker {
+		// 次に調べる位置．keys.length以降はstash
+		int next = 0;
+
+		// 現在の位置
+		int index = -1;
+
+		/**
+		 * 次のエントリに進む
+		 * @return エントリがあればtrue
+		 */
+		boolean advance() {
+			int[] keys = CuckooHashIntIntMap.this.keys;
+			index = -1;
+			while(next < keys.length) {
+				if(keys[next++] != NULL) {
+					index = next-1;
+					return true;
+				}
+			}
+			if(next - keys.length < stashSize) {
+				index = next++;
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * 現在のエントリを削除する
+		 */
+		void removeCurrent() {
+			removeAt(index);
+			if(index >= keys.length) {
+				next--;
+			}
+		}
+	}
+
+	/**
+	 * NULLのエントリ，表のエントリの順に辿るIteratorの骨格.
+	 */
+	private abstract class EntryIterator {
+
+		final TableWalker walker = new TableWalker();
+
+		// 構造的変更検出用
+		int expectedModCount = modCount;
+
+		// nextで返した数
+		int replied = 0;
+
+		// 削除した要素の数
+		int removed = 0;
+
+		// removeが行える状態
+		boolean removable = false;
+		boolean removeNull = false;
+
+		public boolean hasNext() {
+			return replied < size + removed;
+		}
+
+		/**
+		 * 次のエントリに進む
+		 * @return 進んだ先の位置，NULLのエントリなら-1
+		 */
+		int nextPosition() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(replied==0 && nullKey) {
+				replied++;
+				removable = true;
+				removeNull = true;
+				return -1;
+			}
+			if(!walker.advance()) {
+				throw new NoSuchElementException();
+			}
+			replied++;
+			removable = true;
+			removeNull = false;
+			return walker.index;
+		}
+
+		public void remove() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(!removable) {
+				throw new IllegalStateException();
+			}
+			if(removeNull) {
+				CuckooHashIntIntMap.this.remove(NULL);
+			} else {
+				walker.removeCurrent();
+			}
+			expectedModCount = modCount;
+			removed++;
+			removable = false;
+		}
+	}
+
+	private class KeySet extends AbstractIntSet {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator() {
+			class KeyIterator extends EntryIterator implements PrimitiveIterator.OfInt {
+				@Override
+				public int nextInt() {
+					int position = nextPosition();
+					return position == -1 ? NULL : keyAt(position);
+				}
+			}
+			return new KeyIterator();
+		}
+
+		@Override
+		public boolean contains(int i) {
+			return CuckooHashIntIntMap.this.containsKey(i);
+		}
+
+		@Override
+		public boolean remove(int i) {
+			return CuckooHashIntIntMap.this.remove(i);
+		}
+	}
+
+	private class ValueCollection extends AbstractIntCollection {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator() {
+			class ValueIterator extends EntryIterator implements PrimitiveIterator.OfInt {
+				@Override
+				public int nextInt() {
+					int position = nextPosition();
+					return position == -1 ? nullValue : valueAt(position);
+				}
+			}
+			return new ValueIterator();
+		}
+	}
+
+	private class EntryCursor implements IntIntCursor {
+
+		private static final int INDEX_BEGIN = -2;
+		private static final int INDEX_NULL  = -1;
+		private static final int INDEX_TABLE = 0;
+
+		final TableWalker walker = new TableWalker();
+
+		int state = INDEX_BEGIN;
+
+		// 構造的変更検出用
+		int expectedModCount = modCount;
+
+		// removeしたことを示す
+		boolean removed = false;
+
+		@Override
+		public boolean next() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			removed = false;
+			if(state == INDEX_BEGIN) {
+				state = INDEX_NULL;
+				if(nullKey) {
+					return true;
+				}
+			}
+			state = INDEX_TABLE;
+			return walker.advance();
+		}
+
+		@Override
+		public int key() {
+			checkPosition();
+			return state == INDEX_NULL ? NULL : keyAt(walker.index);
+		}
+
+		@Override
+		public int value() {
+			checkPosition();
+			return state == INDEX_NULL ? nullValue : valueAt(walker.index);
+		}
+
+		@Override
+		public void remove() {
+			checkPosition();
+			if(state == INDEX_NULL) {
+				CuckooHashIntIntMap.this.remove(NULL);
+			} else {
+				walker.removeCurrent();
+			}
+			expectedModCount = modCount;
+			removed = true;
+		}
+
+		@Override
+		public void setValue(int value) {
+			checkPosition();
+			if(state == INDEX_NULL) {
+				nullValue = value;
+			} else {
+				setValueAt(walker.index, value);
+			}
+		}
+
+		private void checkPosition() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(removed || state == INDEX_BEGIN || (state == INDEX_TABLE && walker.index == -1)) {
+				throw new IllegalStateException();
+			}
+		}
+	}
+
+	private static class SerializationProxy implements Serializable {
+		private static final long serialVersionUID = -6630712471283349415L;
+
+		/**
+		 * @serial
+		 */
+		private final int[] keys;
+
+		/**
+		 * @serial
+		 */
+		private final int[] values;
+
+		/**
+		 * @serial
+		 */
+		private final CuckooCyclePolicy policy;
+
+		public SerializationProxy(CuckooHashIntIntMap map) {
+			this.keys = new int[map.size()];
+			this.values = new int[map.size()];
+
+			int index = 0;
+			for(IntIntCursor cursor = map.entryCursor();cursor.next();) {
+				keys[index] = cursor.key();
+				values[index] = cursor.value();
+				index++;
+			}
+
+			this.policy = map.policy;
+		}
+
+		private Object readResolve() {
+			// ハッシュ関数は直列化できるとは限らないため引き継がない
+			CuckooHashIntIntMap result = new CuckooHashIntIntMap(keys.length,
+					policy == null ? CuckooCyclePolicy.STASH : policy);
+			for (int i = 0; i < keys.length; i++) {
+				result.put(keys[i], values[i]);
+			}
+			return result;
+		}
+	}
+
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	private void readObject(java.io.ObjectInputStream s) throws java.io.InvalidObjectException {
+		throw new java.io.InvalidObjectException("Proxy required");
+	}
+}
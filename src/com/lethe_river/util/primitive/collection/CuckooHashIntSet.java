@@ -1,38 +1,43 @@
 package com.lethe_river.util.primitive.collection;
 
+import java.io.Serializable;
 import java.util.ConcurrentModificationException;
-import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.PrimitiveIterator;
-import java.util.stream.IntStream;
+import java.util.function.Supplier;
 
 import com.lethe_river.util.primitive.HashSupport;
 import com.lethe_river.util.primitive.IntIntHash;
 
 /**
  * カッコーハッシュを利用したIntSet
+ *
+ * - 4要素ずつのバケットを持つ1つの表
+ * - 要素ごとに2つの候補バケット
+ * - ランダムウォークによる追い出し
+ * - 行き場を失った要素を格納する小さなstash
+ *
+ * 要素は2つの候補バケットの計8か所かstashのどこかにあるため，探索は最悪でも2バケットとstashで終わる．
+ * バケット化とstashにより負荷係数0.95程度まで埋めることができる．
+ * ハッシュ関数はインスタンスごとに生成し，再構築のたびに取り替える．
+ *
  * @author YuyaAizawa
  *
  */
+@SuppressWarnings("serial") // SerializationProxyに委譲
 public class CuckooHashIntSet extends AbstractIntSet {
 
-	private static final int DEFAULT_CAPACITY = 5;
-	private static final float DEFAULT_LOAD_FACTOR = 0.5f;
-	private static final int RETRY = 20;
+	private static final int DEFAULT_CAPACITY = 16;
 
-	private static final Iterator<IntIntHash> HASH_LIST =
-			IntStream.iterate(1, HashSupport::avoid2357)
-					.mapToObj(p -> (IntIntHash)(i -> HashSupport.hash32shiftmult(p, i)))
-					.iterator();
+	// 0以外の要素を入れる表．バケットbはtable[b*4]からtable[b*4+3]
+	private int[] table;
 
-	// 0以外の要素を入れる配列
-	private int[] table1, table2;
+	// 候補バケットの決め方
+	private final CuckooHashing hashing;
 
-	// ハッシュとして使う関数
-	private IntIntHash hash1, hash2;
-
-	// ハッシュ関数の予備
-	private final Iterator<IntIntHash> hashes;
+	// 入りきらなかった要素
+	private final int[] stash = new int[CuckooHashing.STASH_SIZE];
+	private int stashSize;
 
 	// 0を含むか
 	private boolean hasZero;
@@ -40,30 +45,56 @@ public class CuckooHashIntSet extends AbstractIntSet {
 	// 要素数の合計
 	private int size;
 
+	// 次に拡張する要素数
+	private int threshold;
+
 	// 構造的変更検出用
-	private int modifyId;
+	private int modCount;
 
+	/**
+	 * デフォルトの初期容量でCuckooHashIntSetを生成する.
+	 */
 	public CuckooHashIntSet() {
 		this(DEFAULT_CAPACITY);
 	}
 
-	public CuckooHashIntSet(int tableSize) {
-		this(tableSize, () -> HASH_LIST);
+	/**
+	 * 初期容量を指定してCuckooHashIntSetを生成する.
+	 *
+	 * ハッシュ関数にはインスタンスごとにsaltを乱数で選んだ{@link HashSupport#hash32shiftmult(int, int)}が用いられる．
+	 * @param initCapacity 初期容量
+	 */
+	public CuckooHashIntSet(int initCapacity) {
+		this(initCapacity, HashSupport::randomizedIntIntHash);
 	}
 
-	public CuckooHashIntSet(int tableSize, Iterable<IntIntHash> hashFunctions) {
-		table1 = new int[tableSize];
-		table2 = new int[tableSize];
-		hashes = hashFunctions.iterator();
-		try {
-			hash1 = hashes.next();
-			hash2 = hashes.next();
-		} catch(NoSuchElementException e) {
-			throw new IllegalArgumentException("No enough hash functions.");
+	/**
+	 * 初期容量とハッシュ関数の供給元を指定してCuckooHashIntSetを生成する.
+	 *
+	 * hashSourceは生成時と再構築のたびに2回ずつ呼ばれ，互いに独立したハッシュ関数を返さなければならない．
+	 * @param initCapacity 初期容量
+	 * @param hashSource ハッシュ関数の供給元
+	 */
+	public CuckooHashIntSet(int initCapacity, Supplier<IntIntHash> hashSource) {
+		if(initCapacity < 0) {
+			throw new IllegalArgumentException("initCapacity must be positive :"+initCapacity);
 		}
+		hashing = new CuckooHashing(hashSource);
+		allocate(CuckooHashing.bucketsFor(initCapacity));
 		hasZero = false;
-		size  = 0;
-		modifyId = 0;
+		size = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * 空の表を確保し，ハッシュ関数を取り替える.
+	 * @param buckets バケット数
+	 */
+	private void allocate(int buckets) {
+		table = new int[buckets << CuckooHashing.BUCKET_SHIFT];
+		stashSize = 0;
+		threshold = (int)(table.length * CuckooHashing.LOAD_FACTOR);
+		hashing.reset(buckets);
 	}
 
 	@Override
@@ -77,107 +108,45 @@ public class CuckooHashIntSet extends AbstractIntSet {
 	}
 
 	@Override
-	public PrimitiveIterator.OfInt iterator() {
-		return new PrimitiveIterator.OfInt() {
-
-			// 構造的変更検出用
-			int buildId = modifyId;
-
-			// テーブル走査用
-			PrimitiveIterator.OfInt iterator1 = ArrayIterator.of(table1);
-			PrimitiveIterator.OfInt iterator2 = ArrayIterator.of(table2);
-
-			// nextで返した数
-			int replied = 0;
-			boolean repliedZero = false;
-
-			@Override
-			public boolean hasNext() {
-				if(buildId != modifyId) {
-					throw new ConcurrentModificationException();
-				}
-				return (hasZero && !repliedZero) ||
-						replied < size;
-			}
-
-			@Override
-			public int nextInt() {
-				if(buildId != modifyId) {
-					throw new ConcurrentModificationException();
-				}
-				if(hasZero && !repliedZero) {
-					repliedZero = true;
-					return 0;
-				}
-
-				int value = 0;
-				while(value == 0 && iterator1.hasNext()){
-					value = iterator1.nextInt();
-				}
-				while(value == 0 && iterator2.hasNext()){
-					value = iterator2.nextInt();
-				}
-				if(value == 0) {
-					throw new NoSuchElementException();
-				}
-
-				replied++;
-				return value;
-			}
-		};
-	}
-
-	@Override
-	public void clear() {
-		table1 = new int[DEFAULT_CAPACITY];
-		table2 = new int[DEFAULT_CAPACITY];
-		hasZero = false;
-		size = 0;
-		modifyId++;
+	public boolean contains(int i) {
+		if(i == 0) {
+			return hasZero;
+		}
+		int b1 = hashing.bucket1(i);
+		return CuckooHashing.indexIn(table, b1, i) != -1 ||
+				CuckooHashing.indexIn(table, hashing.bucket2(i, b1), i) != -1 ||
+				(stashSize != 0 && indexInStash(i) != -1);
 	}
 
 	@Override
 	public boolean add(int i) {
-		if(contains(i)) {
-			return true;
-		}
 		if(i == 0) {
+			if(hasZero) {
+				return false;
+			}
 			hasZero = true;
 			size++;
-			modifyId++;
+			modCount++;
+			return true;
+		}
+		if(contains(i)) {
 			return false;
 		}
 
-		if(size > table1.length * DEFAULT_LOAD_FACTOR * 2) {
-			expand();
+		if(size + 1 > threshold) {
+			rehash(hashing.buckets() << 1, 0);
 		}
-
-		for (int j = 0; j < RETRY; j++) {
-			int h1 = hash1.hash(i) % table1.length;
-			int tmp = table1[h1];
-			table1[h1] = i;
-			i = tmp;
-
-			if(i == 0) {
-				size++;
-				modifyId++;
-				return false;
-			}
-
-			int h2 = hash2.hash(i) % table2.length;
-			tmp = table2[h2];
-			table2[h2] = i;
-			i = tmp;
-
-			if(i == 0) {
-				size++;
-				modifyId++;
-				return false;
+		int homeless = insert(i);
+		if(homeless != 0) {
+			if(stashSize < CuckooHashing.STASH_SIZE) {
+				stash[stashSize++] = homeless;
+			} else {
+				rehash(hashing.buckets(), homeless);
 			}
 		}
-		rehash();
-
-		return add(i);
+		size++;
+		modCount++;
+		return true;
 	}
 
 	@Override
@@ -186,85 +155,272 @@ public class CuckooHashIntSet extends AbstractIntSet {
 			if(hasZero) {
 				hasZero = false;
 				size--;
-				modifyId++;
+				modCount++;
 				return true;
 			}
 			return false;
 		}
-		if(table1[hash1.hash(i)%table1.length] == i) {
-			table1[hash1.hash(i)%table1.length] = 0;
-			size--;
-			modifyId++;
-			return true;
+		int b1 = hashing.bucket1(i);
+		int index = CuckooHashing.indexIn(table, b1, i);
+		if(index == -1) {
+			index = CuckooHashing.indexIn(table, hashing.bucket2(i, b1), i);
 		}
-		if(table2[hash2.hash(i)%table1.length] == i) {
-			table2[hash2.hash(i)%table1.length] = 0;
+		if(index != -1) {
+			table[index] = 0;
 			size--;
-			modifyId++;
+			modCount++;
+			drainStash();
 			return true;
 		}
+		if(stashSize != 0) {
+			index = indexInStash(i);
+			if(index != -1) {
+				stash[index] = stash[--stashSize];
+				size--;
+				modCount++;
+				return true;
+			}
+		}
 		return false;
 	}
 
-	private void expand() {
-		CuckooHashIntSet nset = new CuckooHashIntSet(table1.length * 2);
-		nset.addAll(this);
-		table1 = nset.table1;
-		table2 = nset.table2;
+	@Override
+	public void clear() {
+		allocate(CuckooHashing.bucketsFor(DEFAULT_CAPACITY));
+		hasZero = false;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * stash内で指定した値がある位置を返す.
+	 * @param i 値
+	 * @return stash上の位置，無ければ-1
+	 */
+	private int indexInStash(int i) {
+		for (int j = 0; j < stashSize; j++) {
+			if(stash[j] == i) {
+				return j;
+			}
+		}
+		return -1;
 	}
 
 	/**
-	 * 再ハッシュする
+	 * バケットの空き位置に要素を置く.
+	 * @param bucket バケット番号
+	 * @param i 0以外の要素
+	 * @return 置けたらtrue
 	 */
-	private void rehash() {
-		IntIntHash nextHash1;
-		IntIntHash nextHash2;
-		try {
-			nextHash1 = hashes.next();
-			nextHash2 = hashes.next();
-		} catch (NoSuchElementException e) {
-			throw new RuntimeException("Hash source is exhausted.");
+	private boolean putIn(int bucket, int i) {
+		int index = CuckooHashing.indexIn(table, bucket, 0);
+		if(index == -1) {
+			return false;
 		}
+		table[index] = i;
+		return true;
+	}
 
-		int[] nextTable1 = new int[table1.length];
-		int[] nextTable2 = new int[table2.length];
+	/**
+	 * 表に要素を置く.
+	 * 候補バケットが共に埋まっていれば，ランダムに選んだ要素を追い出してもう一方の候補バケットへ移すことを繰り返す．
+	 * @param i 表に含まれない0以外の要素
+	 * @return 置ききれずに残った要素，全て置けたら0
+	 */
+	private int insert(int i) {
+		int b1 = hashing.bucket1(i);
+		int b2 = hashing.bucket2(i, b1);
+		if(putIn(b1, i) || putIn(b2, i)) {
+			return 0;
+		}
+		int bucket = (hashing.nextRandom() & 1) == 0 ? b1 : b2;
+		for (int kick = 0; kick < CuckooHashing.MAX_KICKS; kick++) {
+			int index = (bucket << CuckooHashing.BUCKET_SHIFT) + (hashing.nextRandom() & (CuckooHashing.BUCKET_SIZE-1));
+			int victim = table[index];
+			table[index] = i;
+			i = victim;
+			bucket = hashing.alternate(i, bucket);
+			if(putIn(bucket, i)) {
+				return 0;
+			}
+		}
+		return i;
+	}
+
+	/**
+	 * 表に空きができた後，stashの要素を候補バケットへ戻す.
+	 */
+	private void drainStash() {
+		for (int j = 0; j < stashSize;) {
+			int i = stash[j];
+			int b1 = hashing.bucket1(i);
+			if(putIn(b1, i) || putIn(hashing.bucket2(i, b1), i)) {
+				stash[j] = stash[--stashSize];
+			} else {
+				j++;
+			}
+		}
+	}
 
-		forEach(i -> {
-			if(i == 0) {
+	/**
+	 * ハッシュ関数を取り替えて表を作り直す.
+	 * 全要素を置けなかった場合はハッシュ関数を取り替えて再試行し，2回に1回はバケット数を倍にする．
+	 * @param buckets バケット数
+	 * @param extra 追加で置く0以外の要素，無ければ0
+	 */
+	private void rehash(int buckets, int extra) {
+		int[] elements = new int[table.length + stashSize + 1];
+		int count = 0;
+		for(int i : table) {
+			if(i != 0) {
+				elements[count++] = i;
+			}
+		}
+		for (int j = 0; j < stashSize; j++) {
+			elements[count++] = stash[j];
+		}
+		if(extra != 0) {
+			elements[count++] = extra;
+		}
+
+		for(int attempt = 1;;attempt++) {
+			if(buckets > CuckooHashing.MAX_BUCKETS) {
+				throw new RuntimeException("Too many entries!");
+			}
+			allocate(buckets);
+			if(placeAll(elements, count)) {
+				modCount++;
 				return;
 			}
+			if(attempt % 2 == 0) {
+				buckets <<= 1;
+			}
+		}
+	}
 
-			for(int j = 0; j < RETRY; j++) {
-				int h1 = nextHash1.hash(i) % table1.length;
-				int tmp = nextTable1[h1];
-				nextTable1[h1] = i;
-				i = tmp;
-				if(i == 0) {
-					return;
+	/**
+	 * 確保したばかりの表に要素を置く.
+	 * @param elements 0以外の要素
+	 * @param count 置く要素の数
+	 * @return stashに収まらない要素が出たらfalse
+	 */
+	private boolean placeAll(int[] elements, int count) {
+		for (int j = 0; j < count; j++) {
+			int homeless = insert(elements[j]);
+			if(homeless != 0) {
+				if(stashSize == CuckooHashing.STASH_SIZE) {
+					return false;
 				}
+				stash[stashSize++] = homeless;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public PrimitiveIterator.OfInt iterator() {
+		return new PrimitiveIterator.OfInt() {
 
-				int h2 = nextHash2.hash(i) % table2.length;
-				tmp = nextTable2[h2];
-				nextTable2[h2] = i;
-				i = tmp;
-				if(i== 0) {
-					return;
+			// 構造的変更検出用
+			int expectedModCount = modCount;
+
+			// 次に調べる位置．table.length以降はstash
+			int index = 0;
+
+			// nextで返した数
+			int replied = 0;
+
+			// 削除した要素の数
+			int removed = 0;
+
+			// 次のremoveで削除する位置，-1ならremove不可，-2なら0
+			int removeTarget = -1;
+
+			@Override
+			public boolean hasNext() {
+				return replied < size + removed;
+			}
+
+			@Override
+			public int nextInt() {
+				if(expectedModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+				if(replied == 0 && hasZero) {
+					replied++;
+					removeTarget = -2;
+					return 0;
+				}
+				int[] table = CuckooHashIntSet.this.table;
+				while(index < table.length) {
+					int i = table[index++];
+					if(i != 0) {
+						replied++;
+						removeTarget = index-1;
+						return i;
+					}
 				}
+				int j = index - table.length;
+				if(j >= stashSize) {
+					throw new NoSuchElementException();
+				}
+				index++;
+				replied++;
+				removeTarget = index-1;
+				return stash[j];
 			}
-			throw new RuntimeException("Rehash failed.");
-		});
 
-		table1 = nextTable1;
-		table2 = nextTable2;
-		hash1 = nextHash1;
-		hash2 = nextHash2;
+			@Override
+			public void remove() {
+				if(expectedModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+				if(removeTarget == -1) {
+					throw new IllegalStateException();
+				}
+				if(removeTarget == -2) {
+					hasZero = false;
+				} else if(removeTarget < table.length) {
+					// 走査中の位置関係を保つためstashは戻さない
+					table[removeTarget] = 0;
+				} else {
+					stash[removeTarget - table.length] = stash[--stashSize];
+					index--;
+				}
+				size--;
+				modCount++;
+				expectedModCount = modCount;
+				removed++;
+				removeTarget = -1;
+			}
+		};
 	}
 
-	@Override
-	public boolean contains(int i) {
-		if(i == 0) {
-			return hasZero;
+	private static class SerializationProxy implements Serializable {
+		private static final long serialVersionUID = 2916087442361049521L;
+
+		/**
+		 * @serial
+		 */
+		private final int[] elements;
+
+		public SerializationProxy(CuckooHashIntSet set) {
+			this.elements = set.toArray();
+		}
+
+		private Object readResolve() {
+			// ハッシュ関数は直列化できるとは限らないため引き継がない
+			CuckooHashIntSet result = new CuckooHashIntSet(elements.length);
+			result.addAll(elements);
+			return result;
 		}
-		return table1[hash1.hash(i)%table1.length] == i || table2[hash2.hash(i)%table1.length] == i;
+	}
+
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	private void readObject(java.io.ObjectInputStream s) throws java.io.InvalidObjectException {
+		throw new java.io.InvalidObjectException("Proxy required");
 	}
 }
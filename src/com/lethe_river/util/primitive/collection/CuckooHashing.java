@@ -0,0 +1,150 @@
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import com.lethe_river.util.primitive.IntIntHash;
+
+/**
+ * バケット化したカッコーハッシュの表で，要素の候補バケットを決める.
+ *
+ * 表は4要素ずつのバケットからなり，バケットbは配列のb*4からb*4+3の位置を占める．
+ * 要素は2つのハッシュ関数で決まる2つの候補バケットのどちらかに置かれる．
+ * {@link CuckooHashIntSet}と{@link CuckooHashIntIntMap}で共有する．
+ *
+ * @author YuyaAizawa
+ *
+ */
+final class CuckooHashing {
+
+	// 1バケットの要素数
+	static final int BUCKET_SHIFT = 2;
+	static final int BUCKET_SIZE = 1<<BUCKET_SHIFT;
+
+	static final float LOAD_FACTOR = 0.95f;
+	static final int MAX_BUCKETS = 1<<27;
+
+	// 追い出しを諦めるまでの回数
+	static final int MAX_KICKS = 500;
+
+	// stashの大きさ
+	static final int STASH_SIZE = 4;
+
+	// ハッシュ関数の供給元
+	private final Supplier<IntIntHash> hashSource;
+
+	// ハッシュとして使う関数
+	private IntIntHash hash1, hash2;
+
+	// バケット数-1
+	private int mask;
+
+	// 追い出す位置を選ぶ乱数(xorshift)の状態
+	private int random;
+
+	/**
+	 * ハッシュ関数の供給元を指定して生成する．{@link #reset(int)}を呼ぶまで使えない.
+	 * @param hashSource ハッシュ関数の供給元
+	 */
+	CuckooHashing(Supplier<IntIntHash> hashSource) {
+		this.hashSource = Objects.requireNonNull(hashSource);
+		random = ThreadLocalRandom.current().nextInt() | 1;
+	}
+
+	/**
+	 * 指定した数の要素を格納できるバケット数を返す.
+	 * @param capacity 要素数
+	 * @return 2の冪のバケット数
+	 */
+	static int bucketsFor(int capacity) {
+		int buckets = (int)Math.min((long)(capacity / LOAD_FACTOR) / BUCKET_SIZE + 1, MAX_BUCKETS);
+		return buckets <= 2 ? 2 : Integer.highestOneBit(buckets-1) << 1;
+	}
+
+	/**
+	 * バケット数を設定し，ハッシュ関数を取り替える.
+	 * @param buckets 2の冪のバケット数
+	 */
+	void reset(int buckets) {
+		mask = buckets - 1;
+		hash1 = hashSource.get();
+		hash2 = hashSource.get();
+	}
+
+	/**
+	 * バケット数を返す.
+	 * @return バケット数
+	 */
+	int buckets() {
+		return mask + 1;
+	}
+
+	/**
+	 * 1つ目の候補バケットを返す.
+	 * @param i 要素
+	 * @return バケット番号
+	 */
+	int bucket1(int i) {
+		return hash1.hash(i) & mask;
+	}
+
+	/**
+	 * 2つ目の候補バケットを返す．1つ目と一致する場合は隣のバケットを用いる.
+	 * @param i 要素
+	 * @param b1 1つ目の候補バケット
+	 * @return バケット番号
+	 */
+	int bucket2(int i, int b1) {
+		int b2 = hash2.hash(i) & mask;
+		return b2 == b1 ? b1 ^ 1 : b2;
+	}
+
+	/**
+	 * 要素のもう一方の候補バケットを返す.
+	 * @param i 要素
+	 * @param b 要素が置かれていたバケット
+	 * @return もう一方の候補バケット
+	 */
+	int alternate(int i, int b) {
+		int b1 = bucket1(i);
+		return b == b1 ? bucket2(i, b1) : b1;
+	}
+
+	/**
+	 * 追い出す位置を選ぶための乱数を返す.
+	 * @return 16bitの乱数
+	 */
+	int nextRandom() {
+		int x = random;
+		x ^= x << 13;
+		x ^= x >>> 17;
+		x ^= x << 5;
+		random = x;
+		return x >>> 16;
+	}
+
+	/**
+	 * バケット内で指定した値がある位置を返す.
+	 * @param table 表
+	 * @param bucket バケット番号
+	 * @param i 値
+	 * @return 表上の位置，無ければ-1
+	 */
+	static int indexIn(int[] table, int bucket, int i) {
+		int base = bucket << BUCKET_SHIFT;
+		if(table[base] == i) {
+			return base;
+		}
+		if(table[base+1] == i) {
+			return base+1;
+		}
+		if(table[base+2] == i) {
+			return base+2;
+		}
+		if(table[base+3] == i) {
+			return base+3;
+		}
+		return -1;
+	}
+}
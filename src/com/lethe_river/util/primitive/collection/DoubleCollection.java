@@ -0,0 +1,211 @@
+// このファイルはcodegen/templates/Collection.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Collection;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * doubleを格納するPrimitiveCollection
+ *
+ * @author YuyaAizawa
+ *
+ */
+public interface DoubleCollection extends PrimitiveCollection<Double>, DoubleIterable {
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean equals(Object obj);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean isEmpty();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	int size();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	void clear();
+
+	/**
+	 * このコレクションが指定したdouble値を含んでいればtrueを返す.
+	 * @param d 判定する値
+	 * @return 指定した値を含んでいればtrue
+	 */
+	boolean contains(double d);
+
+	/**
+	 * このコレクションの要素に対する反復操作を提供するPrimitiveIterator.OfDoubleを返す.
+	 * @return PrimitiveIterator.OfDouble
+	 */
+	@Override
+	PrimitiveIterator.OfDouble iterator();
+
+	/**
+	 * このコレクションの格納する要素をすべて含む配列を返す.
+	 * Iteratorが返す要素の順番が保証される場合，配列の順番はこれに準ずる．
+	 * @return すべての要素を含む配列
+	 */
+	double[] toArray();
+
+	/**
+	 * 指定されたdouble値をこのコレクションに追加する(オプションの操作).
+	 *
+	 * @param d 追加する値
+	 * @return このコレクションが変更されればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean add(double d);
+
+	/**
+	 * 指定された要素すべてをこのコレクションに追加する(オプションの操作).
+	 *
+	 * @param ds
+	 * @return このコレクションが変更されればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	default boolean addAll(double... ds) {
+		return addAll(ds, 0, ds.length);
+	}
+
+	/**
+	 * 指定された配列の要素の一部区間をこのコレクションに追加する(オプションの操作).
+	 *
+	 * @param ds 配列
+	 * @param offset 追加する区間の開始インデックス
+	 * @param length 追加する区間の長さ
+	 * @return このコレクションが変更されればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 * @throws IndexOutOfBoundsException offsetまたはlengthが不正だった場合
+	 * @throws NullPointerException 配列がnullだった場合
+	 */
+	boolean addAll(double[] ds, int offset, int length);
+
+	/**
+	 * 指定された要素すべてをこのコレクションに追加する(オプションの操作).
+	 *
+	 * @param ds
+	 * @return このコレクションが変更されればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 * @throws NullPointerException コレクションがnullだった場合
+	 */
+	boolean addAll(DoubleCollection ds);
+
+	/**
+	 * 指定された要素をこのコレクションから削除する(オプションの操作).
+	 *
+	 * @param d
+	 * @return 指定された要素を保持していればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean remove(double d);
+
+	/**
+	 * 指定された要素すべてをこのコレクションから削除する(オプションの操作).
+	 *
+	 * @param ds
+	 * @return 指定された要素を保持していればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean removeAll(double... ds);
+
+	/**
+	 * 指定された要素すべてをこのコレクションから削除する(オプションの操作).
+	 *
+	 * @param ds
+	 * @return 指定された要素を保持していればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean removeAll(DoubleCollection ds);
+
+	/**
+	 * 指定されたdouble値がすべてこのコレクションに含まれていればtrueを返す.
+	 * @param ds
+	 * @return 指定されたdouble値がすべて含まれていればtrue
+	 */
+	boolean containsAll(double... ds);
+
+	/**
+	 * 指定されたコレクションの値がすべてこのコレクションに含まれていればtrueを返す.
+	 * @param ds
+	 * @return 指定されたdouble値がすべて含まれていればtrue
+	 */
+	boolean containsAll(DoubleCollection ds);
+
+	/**
+	 * このコレクションから指定された要素以外の要素を全て削除する(オプションの操作).
+	 * @param ds
+	 * @return 要素が1つでも削除されればtrue
+	 *
+	 *  @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean retainAll(double... ds);
+
+	/**
+	 * このコレクションから指定された要素以外の要素を全て削除する(オプションの操作).
+	 * @param ds
+	 * @return 要素が1つでも削除されればtrue
+	 *
+	 *  @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean retainAll(DoubleCollection ds);
+
+	/**
+	 * このコレクションに対する逐次的なDoubleStreamを返す．
+	 * @return stream
+	 */
+	default DoubleStream stream() {
+		return StreamSupport.doubleStream(spliterator(), false);
+	}
+
+	/**
+	 * このコレクションに対する並列なDoubleStreamを返す．
+	 * @return stream
+	 */
+	default DoubleStream parallelStream() {
+		return StreamSupport.doubleStream(spliterator(), true);
+	}
+
+	/**
+	 * このコレクションの要素に対する反復的な操作を提供するSpliteratorを返す.
+	 * @return spliterator
+	 */
+	@Override
+	default Spliterator.OfDouble spliterator() {
+		return Spliterators.spliterator(iterator(), size(),
+				Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED);
+	}
+
+	/**
+	 * このコレクションのCollection&lt;Double&gt;のビューを返す.
+	 * ビューに対する操作はこのインタンスに反映される．
+	 * @return このDoubleCollectionのCollection&lt;Double&gt;のビュー
+	 */
+	@Override
+	default Collection<Double> boxedView() {
+		return PrimitiveSupport.boxed(this);
+	}
+
+	public static DoubleCollection empty() {
+		return EmptyCollection.ofDouble();
+	}
+}
@@ -0,0 +1,25 @@
+// このファイルはcodegen/templates/Iterable.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+
+/**
+ * doubleの要素それぞれに対する操作を提供するインターフェース
+ * @author YuyaAizawa
+ *
+ */
+interface DoubleIterable extends PrimitiveIterable<Double, DoubleConsumer> {
+	@Override
+	PrimitiveIterator.OfDouble iterator();
+
+	Spliterator.OfDouble spliterator();
+
+	@Override
+	default void forEach(DoubleConsumer action) {
+		Objects.requireNonNull(action);
+		iterator().forEachRemaining(action);
+	}
+}
@@ -0,0 +1,272 @@
+// このファイルはcodegen/templates/List.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * プリミティブのdoubleを扱う，順序付けられたコレクション.
+ *
+ * @author YuyaAizawa
+ *
+ */
+public interface DoubleList extends PrimitiveList<Double>, DoubleCollection {
+
+	/**
+	 * このリストの最後に指定した要素を追加する(オプションの操作)
+	 * @param d 追加する要素
+	 * @return true
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	@Override
+	default boolean add(double d) {
+		insert(size(), d);
+		return true;
+	}
+
+	/**
+	 * このリストの最後に指定した要素をすべて追加する(オプションの操作)
+	 * @param ds 追加する要素
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	@Override
+	boolean addAll(double... ds);
+
+	/**
+	 * このリストの最後に指定された配列の要素の一部区間を追加する(オプションの操作).
+	 *
+	 * @param ds 配列
+	 * @param offset 追加する区間の開始インデックス
+	 * @param length 追加する区間の長さ
+	 *
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされていない場合
+	 * @throws IndexOutOfBoundsException offsetまたはlengthが不正だった場合
+	 * @throws NullPointerException 配列がnullだった場合
+	 */
+	@Override
+	default boolean addAll(double[] ds, int offset, int length) {
+		insertAll(size(), ds, offset, length);
+		return length != 0;
+	}
+
+	/**
+	 * このリストの最後に指定した要素をすべて追加する(オプションの操作)
+	 * @param ds 追加する要素
+	 * @return
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	@Override
+	default boolean addAll(DoubleCollection c) {
+		if(c.isEmpty()) {
+			return false;
+		}
+		insertAll(size(), c);
+		return true;
+	}
+
+	/**
+	 * このリストの指定した位置に挿入的に要素を追加する(オプションの操作)
+	 * @param index 挿入する位置
+	 * @param element 追加する要素
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	void insert(int index, double element);
+
+	/**
+	 * このリストの指定した位置に配列の要素を挿入的に要素を追加する(オプションの操作)
+	 * @param index 挿入の開始インデックス
+	 * @param ds 配列
+	 *
+	 * @throws IndexOutOfBoundsException インデックスが範囲外の場合(index < 0 || index >= size())
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	default void insertAll(int index, double[] ds) {
+		insertAll(index, ds, 0, ds.length);
+	}
+
+	/**
+	 * このリストの指定した位置に，配列の一部区間の要素を挿入的に追加する(オプションの操作)
+	 * @param index 挿入の開始インデックス
+	 * @param ds 配列
+	 * @param offset 区間の開始インデックス
+	 * @param length 区間の長さ
+	 * @return リストに変更があればtrue
+	 *
+	 * @throws IndexOutOfBoundsException index，offsetまたはlengthが不正な場合
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	void insertAll(int index, double[] ds, int offset, int length);
+
+	/**
+	 * このリストの指定した位置に挿入的に要素を追加する(オプションの操作)
+	 * @param index 置換される要素のインデックス
+	 * @param c 指定された位置に格納される要素
+	 * @return 指定された位置に以前あった要素
+	 * @throws IndexOutOfBoundsException インデックスが範囲外の場合(index < 0 || index >= size())
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	void insertAll(int index, DoubleCollection c);
+
+	/**
+	 * このリストが指定した要素を含むとき，最初に出現するものを削除する(オプションの操作)
+	 * @param d 削除する要素
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	@Override
+	boolean remove(double d);
+
+	/**
+	 * このリストに出現する指定した要素をすべてを削除する(オプションの操作).
+	 * @param ds 削除する要素
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	@Override
+	boolean removeAll(double... ds);
+
+	/**
+	 * 指定したindexにある要素を削除する(オプションの操作).
+	 *
+	 * @param index
+	 * @return 削除した要素
+	 * @throws IndexOutOfBoundsException インデックスが範囲外の場合(index < 0 || index >= size())
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	double removeAt(int index);
+
+	/**
+	 * このリストの指定した位置にある要素を返す.
+	 * @param index 返される要素のインデックス
+	 * @return 指定された位置にある要素
+	 * @throws IndexOutOfBoundsException インデックスが範囲外の場合(index < 0 || index >= size())
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	double get(int index);
+
+	/**
+	 * リスト内の指定された位置にある要素を，指定された要素に置き換える(オプションの操作)
+	 * @param index 置換される要素のインデックス
+	 * @param element 指定された位置に格納される要素
+	 * @return 指定された位置に以前あった要素
+	 * @throws IndexOutOfBoundsException インデックスが範囲外の場合(index < 0 || index >= size())
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	double set(int index, double element);
+
+	/**
+	 * このリスト中に指定した要素が最初に出現するindexを返す．このリストが指定した要素を含まなければ-1を返す．
+	 * @param element
+	 * @return 指定した要素の出現位置でもっとも小さいもの(出現しなければ-1)
+	 */
+	int indexOf(double element);
+
+	/**
+	 * このリスト中に指定した要素が最後に出現するindexを返す．このリストが指定した要素を含まなければ-1を返す．
+	 * @param element
+	 * @return 指定した要素の出現位置でもっとも大きいもの(出現しなければ-1)
+	 */
+	int lastIndexOf(double element);
+
+	/**
+	 * このDoubleListが引数の部分系列かどうか判定する
+	 * @param target
+	 * @return 部分系列ならtrue
+	 */
+	default boolean isSubsequence(DoubleList list) {
+		if(this.size() > list.size()) {
+			return false;
+		}
+		PrimitiveIterator.OfDouble i1 = this.iterator();
+		PrimitiveIterator.OfDouble i2 = list.iterator();
+
+		loop: while(i1.hasNext()) {
+			double t1 = i1.nextDouble();
+			while(i2.hasNext()) {
+				double t2 = i2.nextDouble();
+				if(Double.doubleToLongBits(t1) == Double.doubleToLongBits(t2)) {
+					continue loop;
+				}
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * このDoubleListが引数の上位系列かどうか判定する
+	 * @param target
+	 * @return 上位系列ならtrue
+	 */
+	default boolean isSupersequenceOf(DoubleList list) {
+		return list.isSubsequence(this);
+	}
+
+	/**
+	 * このリスト内の要素を指定した位置から適切な順序で繰り返し処理する反復子を返す．
+	 * @param index 繰り返しの開始位置
+	 * @return このリスト要素の繰り返し処理に関する{@link ListIterator}
+	 * @throws IndexOutOfBoundsException index &lt; sizeまたはsize+1 &lt; indexのとき
+	 */
+	@Override
+	DoubleListIterator listIterator(int index);
+
+	@Override
+	default DoubleListIterator listIterator() {
+		return listIterator(0);
+	}
+
+	/**
+	 * このリスト内の要素を逆順で繰り返し処理する反復子を返す．
+	 * @return このリスト要素の逆順繰り返し処理に関する反復子
+	 */
+	@Override
+	PrimitiveIterator.OfDouble reversedIterator();
+
+	/**
+	 * このリストを逆順に処理する逐次的なDoubleStreamを返す．
+	 * @return stream
+	 */
+	default DoubleStream reversedStream() {
+		return StreamSupport.doubleStream(
+				Spliterators.spliterator(
+						reversedIterator(),
+						size(),
+						Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED),
+				false);
+	}
+
+	/**
+	 * このリストの要素を列挙するSpliteratorを返す.
+	 * @return spliterator
+	 */
+	@Override
+	default Spliterator.OfDouble spliterator() {
+		return Spliterators.spliterator(iterator(), size(),
+				Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED);
+	}
+
+	/**
+	 * このリストの指定された範囲のインデックスに対するビューを返す.
+	 * ビューに対する操作は元のリストに反映される.
+	 * 元のリストに対する構造的変更後のビューの動作は未定義．
+	 * @param fromIndex ビューの開始インデックス(この値を含む)
+	 * @param toIndex ビューの終了インデックス(この値を含まず)
+	 * @return 部分リストのビュー
+	 */
+	@Override
+	DoubleList subList(int fromIndex, int toIndex);
+
+	@Override
+	List<Double> boxedView();
+
+	/**
+	 * 空のDoubleListを表すSingletonのインスタンスを返す
+	 * @return 空のDoubleList
+	 */
+	public static DoubleList empty() {
+		return EmptyList.ofDouble();
+	}
+}
@@ -0,0 +1,69 @@
+// このファイルはcodegen/templates/ListIterator.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.ListIterator;
+import java.util.PrimitiveIterator;
+
+/**
+ * ListIteratorのプリミティブ版
+ * @author YuyaAizawa
+ *
+ */
+public interface DoubleListIterator extends ListIterator<Double>, PrimitiveIterator.OfDouble {
+
+	@Override
+	default void add(Double e) {
+		add(e.doubleValue());
+	}
+
+	@Override
+	default Double next() {
+		return Double.valueOf(nextDouble());
+	}
+
+	@Override
+	default Double previous() {
+		return Double.valueOf(previousDouble());
+	}
+
+	@Override
+	default void set(Double e) {
+		set(e.doubleValue());
+	}
+
+	/**
+	 * 指定された要素をリストに挿入する(オプションの操作)．挿入する位置はnextDouble()が返す要素の直前，previousDouble()が返す要素の直後.
+	 * @param element
+	 */
+	void add(double e);
+
+	/**
+	 * リスト内の次の要素を返す．
+	 * @return 次の要素
+	 * @throws NoSuchElementException 次の要素がない場合
+	 */
+	@Override
+	double nextDouble();
+
+	/**
+	 * リスト内の前の要素を返す
+	 * @return 前の要素
+	 * @throws NoSuchElementException 前の要素がない場合
+	 */
+	double previousDouble();
+
+	/**
+	 * next()またはprevious()から最後に返された要素を指定された要素で置き換える(オプションの操作).
+	 * 最後のnext(), previous()の呼び出しからremove(),add(double)のどちらも呼ばれていないときのみ行える
+	 * @param e
+	 */
+	void set(double e);
+
+	/**
+	 * 空のDoubleListIteratorのシングルトンインスタンスを返す．
+	 * @return 空のDoubleListIterator
+	 */
+	static DoubleListIterator empty() {
+		return EmptyListIterator.ofDouble();
+	}
+}
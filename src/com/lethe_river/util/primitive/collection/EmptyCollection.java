@@ -1,11 +1,14 @@
 package com.lethe_river.util.primitive.collection;
 
 import java.util.Objects;
+import java.util.function.DoubleConsumer;
 import java.util.function.IntConsumer;
 import java.util.function.LongConsumer;
 
 import com.lethe_river.util.primitive.function.ByteConsumer;
 import com.lethe_river.util.primitive.function.CharConsumer;
+import com.lethe_river.util.primitive.function.FloatConsumer;
+import com.lethe_river.util.primitive.function.ShortConsumer;
 
 public final class EmptyCollection {
 	private EmptyCollection() {}
@@ -26,6 +29,18 @@ public final class EmptyCollection {
 		return EmptyCharCollection.SINGLETON;
 	}
 
+	public static ShortCollection ofShort() {
+		return EmptyShortCollection.SINGLETON;
+	}
+
+	public static FloatCollection ofFloat() {
+		return EmptyFloatCollection.SINGLETON;
+	}
+
+	public static DoubleCollection ofDouble() {
+		return EmptyDoubleCollection.SINGLETON;
+	}
+
 
 
 	private static final class EmptyIntCollection extends AbstractIntCollection {
@@ -127,4 +142,79 @@ public final class EmptyCollection {
 			return EmptyIterator.ofChar();
 		}
 	}
+
+	private static final class EmptyShortCollection extends AbstractShortCollection {
+
+		static final EmptyShortCollection SINGLETON = new EmptyShortCollection();
+		private EmptyShortCollection() {}
+
+		@Override
+		public void forEach(ShortConsumer action) {
+			Objects.requireNonNull(action);
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+
+		private Object readResolve() {
+			return SINGLETON;
+		}
+
+		@Override
+		public ShortIterator iterator() {
+			return EmptyIterator.ofShort();
+		}
+	}
+
+	private static final class EmptyFloatCollection extends AbstractFloatCollection {
+
+		static final EmptyFloatCollection SINGLETON = new EmptyFloatCollection();
+		private EmptyFloatCollection() {}
+
+		@Override
+		public void forEach(FloatConsumer action) {
+			Objects.requireNonNull(action);
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+
+		private Object readResolve() {
+			return SINGLETON;
+		}
+
+		@Override
+		public FloatIterator iterator() {
+			return EmptyIterator.ofFloat();
+		}
+	}
+
+	private static final class EmptyDoubleCollection extends AbstractDoubleCollection {
+
+		static final EmptyDoubleCollection SINGLETON = new EmptyDoubleCollection();
+		private EmptyDoubleCollection() {}
+
+		@Override
+		public void forEach(DoubleConsumer action) {
+			Objects.requireNonNull(action);
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+
+		private Object readResolve() {
+			return SINGLETON;
+		}
+
+		@Override
+		public java.util.PrimitiveIterator.OfDouble iterator() {
+			return EmptyIterator.ofDouble();
+		}
+	}
 }
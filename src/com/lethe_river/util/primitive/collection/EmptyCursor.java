@@ -11,6 +11,32 @@ public final class EmptyCursor {
 		return EmptyIteratorOfIntInt.SINGLETON;
 	}
 
+	public static IntLongCursor ofIntLong() {
+		return EmptyIteratorOfIntLong.SINGLETON;
+	}
+
+	public static LongLongCursor ofLongLong() {
+		return EmptyIteratorOfLongLong.SINGLETON;
+	}
+
+	public static IntDoubleCursor ofIntDouble() {
+		return EmptyIteratorOfIntDouble.SINGLETON;
+	}
+
+	public static LongDoubleCursor ofLongDouble() {
+		return EmptyIteratorOfLongDouble.SINGLETON;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <V> IntObjectCursor<V> ofIntObject() {
+		return (IntObjectCursor<V>) EmptyIteratorOfIntObject.SINGLETON;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <V> LongObjectCursor<V> ofLongObject() {
+		return (LongObjectCursor<V>) EmptyIteratorOfLongObject.SINGLETON;
+	}
+
 
 
 	private static enum EmptyIteratorOfIntInt implements IntIntCursor {
@@ -70,4 +96,178 @@ public final class EmptyCursor {
 			throw new IllegalStateException();
 		}
 	}
-}
+
+	private static enum EmptyIteratorOfIntLong implements IntLongCursor {
+		SINGLETON;
+
+		@Override
+		public boolean next() {
+			return false;
+		}
+
+		@Override
+		public int key() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public long value() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public void remove() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public void setValue(long value) {
+			throw new IllegalStateException();
+		}
+	}
+
+	private static enum EmptyIteratorOfLongLong implements LongLongCursor {
+		SINGLETON;
+
+		@Override
+		public boolean next() {
+			return false;
+		}
+
+		@Override
+		public long key() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public long value() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public void remove() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public void setValue(long value) {
+			throw new IllegalStateException();
+		}
+	}
+
+	private static enum EmptyIteratorOfIntDouble implements IntDoubleCursor {
+		SINGLETON;
+
+		@Override
+		public boolean next() {
+			return false;
+		}
+
+		@Override
+		public int key() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public double value() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public void remove() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public void setValue(double value) {
+			throw new IllegalStateException();
+		}
+	}
+
+	private static enum EmptyIteratorOfLongDouble implements LongDoubleCursor {
+		SINGLETON;
+
+		@Override
+		public boolean next() {
+			return false;
+		}
+
+		@Override
+		public long key() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public double value() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public void remove() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public void setValue(double value) {
+			throw new IllegalStateException();
+		}
+	}
+
+	private static enum EmptyIteratorOfIntObject implements IntObjectCursor<Object> {
+		SINGLETON;
+
+		@Override
+		public boolean next() {
+			return false;
+		}
+
+		@Override
+		public int key() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public Object value() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public void remove() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public void setValue(Object value) {
+			throw new IllegalStateException();
+		}
+	}
+
+	private static enum EmptyIteratorOfLongObject implements LongObjectCursor<Object> {
+		SINGLETON;
+
+		@Override
+		public boolean next() {
+			return false;
+		}
+
+		@Override
+		public long key() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public Object value() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public void remove() {
+			throw new IllegalStateException();
+		}
+
+		@Override
+		public void setValue(Object value) {
+			throw new IllegalStateException();
+		}
+	}
+}
\ No newline at end of file
@@ -27,6 +27,14 @@ public final class EmptyIterator {
 		return EmptyIteratorOfChar.SINGLETON;
 	}
 
+	public static ShortIterator ofShort() {
+		return EmptyIteratorOfShort.SINGLETON;
+	}
+
+	public static FloatIterator ofFloat() {
+		return EmptyIteratorOfFloat.SINGLETON;
+	}
+
 
 
 	private enum EmptyIteratorOfInt implements PrimitiveIterator.OfInt {
@@ -93,4 +101,30 @@ public final class EmptyIterator {
 			throw new NoSuchElementException();
 		}
 	}
+
+	private enum EmptyIteratorOfShort implements ShortIterator {
+		SINGLETON;
+
+		@Override
+		public boolean hasNext() {
+			return false;
+		}
+		@Override
+		public short nextShort() {
+			throw new NoSuchElementException();
+		}
+	}
+
+	private enum EmptyIteratorOfFloat implements FloatIterator {
+		SINGLETON;
+
+		@Override
+		public boolean hasNext() {
+			return false;
+		}
+		@Override
+		public float nextFloat() {
+			throw new NoSuchElementException();
+		}
+	}
 }
@@ -2,9 +2,14 @@ package com.lethe_river.util.primitive.collection;
 
 import java.util.Objects;
 import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
 import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
 
 import com.lethe_river.util.primitive.function.ByteConsumer;
+import com.lethe_river.util.primitive.function.CharConsumer;
+import com.lethe_river.util.primitive.function.FloatConsumer;
+import com.lethe_river.util.primitive.function.ShortConsumer;
 
 public final class EmptyList {
 	private EmptyList() {}
@@ -17,6 +22,26 @@ public final class EmptyList {
 		return EmptyByteList.SINGLETON;
 	}
 
+	public static LongList ofLong() {
+		return EmptyLongList.SINGLETON;
+	}
+
+	public static DoubleList ofDouble() {
+		return EmptyDoubleList.SINGLETON;
+	}
+
+	public static ShortList ofShort() {
+		return EmptyShortList.SINGLETON;
+	}
+
+	public static CharList ofChar() {
+		return EmptyCharList.SINGLETON;
+	}
+
+	public static FloatList ofFloat() {
+		return EmptyFloatList.SINGLETON;
+	}
+
 
 
 	private static final class EmptyIntList extends AbstractIntList {
@@ -74,4 +99,149 @@ public final class EmptyList {
 			return EmptyListIterator.ofByte();
 		}
 	}
+
+	private static final class EmptyLongList extends AbstractLongList {
+
+		public static final EmptyLongList SINGLETON = new EmptyLongList();
+
+		private Object readResolve() {
+			return SINGLETON;
+		}
+
+		@Override
+		public void forEach(LongConsumer action) {
+			Objects.requireNonNull(action);
+		}
+
+		@Override
+		public PrimitiveIterator.OfLong iterator() {
+			return EmptyIterator.ofLong();
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+
+		@Override
+		public LongListIterator listIterator(int index) {
+			return EmptyListIterator.ofLong();
+		}
+	}
+
+	private static final class EmptyDoubleList extends AbstractDoubleList {
+
+		public static final EmptyDoubleList SINGLETON = new EmptyDoubleList();
+
+		private Object readResolve() {
+			return SINGLETON;
+		}
+
+		@Override
+		public void forEach(DoubleConsumer action) {
+			Objects.requireNonNull(action);
+		}
+
+		@Override
+		public PrimitiveIterator.OfDouble iterator() {
+			return EmptyIterator.ofDouble();
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+
+		@Override
+		public DoubleListIterator listIterator(int index) {
+			return EmptyListIterator.ofDouble();
+		}
+	}
+
+	private static final class EmptyShortList extends AbstractShortList {
+
+		public static final EmptyShortList SINGLETON = new EmptyShortList();
+
+		private Object readResolve() {
+			return SINGLETON;
+		}
+
+		@Override
+		public void forEach(ShortConsumer action) {
+			Objects.requireNonNull(action);
+		}
+
+		@Override
+		public ShortIterator iterator() {
+			return EmptyIterator.ofShort();
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+
+		@Override
+		public ShortListIterator listIterator(int index) {
+			return EmptyListIterator.ofShort();
+		}
+	}
+
+	private static final class EmptyCharList extends AbstractCharList {
+
+		public static final EmptyCharList SINGLETON = new EmptyCharList();
+
+		private Object readResolve() {
+			return SINGLETON;
+		}
+
+		@Override
+		public void forEach(CharConsumer action) {
+			Objects.requireNonNull(action);
+		}
+
+		@Override
+		public CharIterator iterator() {
+			return EmptyIterator.ofChar();
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+
+		@Override
+		public CharListIterator listIterator(int index) {
+			return EmptyListIterator.ofChar();
+		}
+	}
+
+	private static final class EmptyFloatList extends AbstractFloatList {
+
+		public static final EmptyFloatList SINGLETON = new EmptyFloatList();
+
+		private Object readResolve() {
+			return SINGLETON;
+		}
+
+		@Override
+		public void forEach(FloatConsumer action) {
+			Objects.requireNonNull(action);
+		}
+
+		@Override
+		public FloatIterator iterator() {
+			return EmptyIterator.ofFloat();
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+
+		@Override
+		public FloatListIterator listIterator(int index) {
+			return EmptyListIterator.ofFloat();
+		}
+	}
 }
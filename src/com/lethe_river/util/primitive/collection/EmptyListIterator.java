@@ -2,9 +2,14 @@ package com.lethe_river.util.primitive.collection;
 
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.DoubleConsumer;
 import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
 
 import com.lethe_river.util.primitive.function.ByteConsumer;
+import com.lethe_river.util.primitive.function.CharConsumer;
+import com.lethe_river.util.primitive.function.FloatConsumer;
+import com.lethe_river.util.primitive.function.ShortConsumer;
 
 public final class EmptyListIterator {
 	private EmptyListIterator() {}
@@ -17,6 +22,26 @@ public final class EmptyListIterator {
 		return EmptyByteListIterator.SINGLETON;
 	}
 
+	public static LongListIterator ofLong() {
+		return EmptyLongListIterator.SINGLETON;
+	}
+
+	public static DoubleListIterator ofDouble() {
+		return EmptyDoubleListIterator.SINGLETON;
+	}
+
+	public static ShortListIterator ofShort() {
+		return EmptyShortListIterator.SINGLETON;
+	}
+
+	public static CharListIterator ofChar() {
+		return EmptyCharListIterator.SINGLETON;
+	}
+
+	public static FloatListIterator ofFloat() {
+		return EmptyFloatListIterator.SINGLETON;
+	}
+
 
 
 	private static final class EmptyIntListIterator implements IntListIterator {
@@ -108,4 +133,229 @@ public final class EmptyListIterator {
 			throw new UnsupportedOperationException();
 		}
 	}
+
+	private static final class EmptyLongListIterator implements LongListIterator {
+		static final EmptyLongListIterator SINGLETON = new EmptyLongListIterator();
+
+		@Override
+		public void forEachRemaining(LongConsumer action) {
+			Objects.requireNonNull(action);
+		}
+		@Override
+		public void remove() {
+			throw new IllegalStateException();
+		}
+		@Override
+		public int previousIndex() {
+			return -1;
+		}
+		@Override
+		public int nextIndex() {
+			return 0;
+		}
+		@Override
+		public boolean hasPrevious() {
+			return false;
+		}
+		@Override
+		public boolean hasNext() {
+			return false;
+		}
+		@Override
+		public void set(long e) {
+			throw new IllegalStateException();
+		}
+		@Override
+		public long previousLong() {
+			throw new NoSuchElementException();
+		}
+		@Override
+		public long nextLong() {
+			throw new NoSuchElementException();
+		}
+		@Override
+		public void add(long e) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private static final class EmptyDoubleListIterator implements DoubleListIterator {
+		static final EmptyDoubleListIterator SINGLETON = new EmptyDoubleListIterator();
+
+		@Override
+		public void forEachRemaining(DoubleConsumer action) {
+			Objects.requireNonNull(action);
+		}
+		@Override
+		public void remove() {
+			throw new IllegalStateException();
+		}
+		@Override
+		public int previousIndex() {
+			return -1;
+		}
+		@Override
+		public int nextIndex() {
+			return 0;
+		}
+		@Override
+		public boolean hasPrevious() {
+			return false;
+		}
+		@Override
+		public boolean hasNext() {
+			return false;
+		}
+		@Override
+		public void set(double e) {
+			throw new IllegalStateException();
+		}
+		@Override
+		public double previousDouble() {
+			throw new NoSuchElementException();
+		}
+		@Override
+		public double nextDouble() {
+			throw new NoSuchElementException();
+		}
+		@Override
+		public void add(double e) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private static final class EmptyShortListIterator implements ShortListIterator {
+		static final EmptyShortListIterator SINGLETON = new EmptyShortListIterator();
+
+		@Override
+		public void forEachRemaining(ShortConsumer action) {
+			Objects.requireNonNull(action);
+		}
+		@Override
+		public void remove() {
+			throw new IllegalStateException();
+		}
+		@Override
+		public int previousIndex() {
+			return -1;
+		}
+		@Override
+		public int nextIndex() {
+			return 0;
+		}
+		@Override
+		public boolean hasPrevious() {
+			return false;
+		}
+		@Override
+		public boolean hasNext() {
+			return false;
+		}
+		@Override
+		public void set(short e) {
+			throw new IllegalStateException();
+		}
+		@Override
+		public short previousShort() {
+			throw new NoSuchElementException();
+		}
+		@Override
+		public short nextShort() {
+			throw new NoSuchElementException();
+		}
+		@Override
+		public void add(short e) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private static final class EmptyCharListIterator implements CharListIterator {
+		static final EmptyCharListIterator SINGLETON = new EmptyCharListIterator();
+
+		@Override
+		public void forEachRemaining(CharConsumer action) {
+			Objects.requireNonNull(action);
+		}
+		@Override
+		public void remove() {
+			throw new IllegalStateException();
+		}
+		@Override
+		public int previousIndex() {
+			return -1;
+		}
+		@Override
+		public int nextIndex() {
+			return 0;
+		}
+		@Override
+		public boolean hasPrevious() {
+			return false;
+		}
+		@Override
+		public boolean hasNext() {
+			return false;
+		}
+		@Override
+		public void set(char e) {
+			throw new IllegalStateException();
+		}
+		@Override
+		public char previousChar() {
+			throw new NoSuchElementException();
+		}
+		@Override
+		public char nextChar() {
+			throw new NoSuchElementException();
+		}
+		@Override
+		public void add(char e) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	private static final class EmptyFloatListIterator implements FloatListIterator {
+		static final EmptyFloatListIterator SINGLETON = new EmptyFloatListIterator();
+
+		@Override
+		public void forEachRemaining(FloatConsumer action) {
+			Objects.requireNonNull(action);
+		}
+		@Override
+		public void remove() {
+			throw new IllegalStateException();
+		}
+		@Override
+		public int previousIndex() {
+			return -1;
+		}
+		@Override
+		public int nextIndex() {
+			return 0;
+		}
+		@Override
+		public boolean hasPrevious() {
+			return false;
+		}
+		@Override
+		public boolean hasNext() {
+			return false;
+		}
+		@Override
+		public void set(float e) {
+			throw new IllegalStateException();
+		}
+		@Override
+		public float previousFloat() {
+			throw new NoSuchElementException();
+		}
+		@Override
+		public float nextFloat() {
+			throw new NoSuchElementException();
+		}
+		@Override
+		public void add(float e) {
+			throw new UnsupportedOperationException();
+		}
+	}
 }
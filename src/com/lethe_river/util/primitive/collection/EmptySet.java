@@ -5,12 +5,16 @@ import java.util.Comparator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.PrimitiveIterator;
+import java.util.Set;
 import java.util.SortedSet;
+import java.util.function.DoubleConsumer;
 import java.util.function.IntConsumer;
 import java.util.function.LongConsumer;
 
 import com.lethe_river.util.primitive.function.ByteConsumer;
 import com.lethe_river.util.primitive.function.CharConsumer;
+import com.lethe_river.util.primitive.function.FloatConsumer;
+import com.lethe_river.util.primitive.function.ShortConsumer;
 
 public final class EmptySet {
 	private EmptySet() {}
@@ -27,10 +31,22 @@ public final class EmptySet {
 		return EmptyByteSet.SINGLETON;
 	}
 
-	public static CharSet ofChar() {
+	public static CharSortedSet ofChar() {
 		return EmptyCharSet.SINGLETON;
 	}
 
+	public static ShortSet ofShort() {
+		return EmptyShortSet.SINGLETON;
+	}
+
+	public static FloatSet ofFloat() {
+		return EmptyFloatSet.SINGLETON;
+	}
+
+	public static DoubleSet ofDouble() {
+		return EmptyDoubleSet.SINGLETON;
+	}
+
 
 
 	private static final class EmptyIntSet extends AbstractIntSet implements IntSortedSet {
@@ -263,4 +279,91 @@ public final class EmptySet {
 			return Collections.emptySortedSet();
 		}
 	}
+
+	private static final class EmptyShortSet extends AbstractShortSet {
+
+		public static final EmptyShortSet SINGLETON = new EmptyShortSet();
+
+		private EmptyShortSet() {}
+
+		private Object readResolve() {
+			return SINGLETON;
+		}
+
+		@Override
+		public void forEach(ShortConsumer action) {
+			Objects.requireNonNull(action);
+		}
+		@Override
+		public ShortIterator iterator() {
+			return EmptyIterator.ofShort();
+		}
+		@Override
+		public int size() {
+			return 0;
+		}
+
+		@Override
+		public Set<Short> boxedView() {
+			return Collections.emptySet();
+		}
+	}
+
+	private static final class EmptyFloatSet extends AbstractFloatSet {
+
+		public static final EmptyFloatSet SINGLETON = new EmptyFloatSet();
+
+		private EmptyFloatSet() {}
+
+		private Object readResolve() {
+			return SINGLETON;
+		}
+
+		@Override
+		public void forEach(FloatConsumer action) {
+			Objects.requireNonNull(action);
+		}
+		@Override
+		public FloatIterator iterator() {
+			return EmptyIterator.ofFloat();
+		}
+		@Override
+		public int size() {
+			return 0;
+		}
+
+		@Override
+		public Set<Float> boxedView() {
+			return Collections.emptySet();
+		}
+	}
+
+	private static final class EmptyDoubleSet extends AbstractDoubleSet {
+
+		public static final EmptyDoubleSet SINGLETON = new EmptyDoubleSet();
+
+		private EmptyDoubleSet() {}
+
+		private Object readResolve() {
+			return SINGLETON;
+		}
+
+		@Override
+		public void forEach(DoubleConsumer action) {
+			Objects.requireNonNull(action);
+		}
+		@Override
+		public PrimitiveIterator.OfDouble iterator() {
+			return EmptyIterator.ofDouble();
+		}
+		@Override
+		public int size() {
+			return 0;
+		}
+
+		@Override
+		public Set<Double> boxedView() {
+			return Collections.emptySet();
+		}
+	}
 }
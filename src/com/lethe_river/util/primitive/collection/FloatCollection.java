@@ -0,0 +1,210 @@
+// このファイルはcodegen/templates/Collection.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Collection;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * floatを格納するPrimitiveCollection
+ *
+ * @author YuyaAizawa
+ *
+ */
+public interface FloatCollection extends PrimitiveCollection<Float>, FloatIterable {
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean equals(Object obj);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean isEmpty();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	int size();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	void clear();
+
+	/**
+	 * このコレクションが指定したfloat値を含んでいればtrueを返す.
+	 * @param f 判定する値
+	 * @return 指定した値を含んでいればtrue
+	 */
+	boolean contains(float f);
+
+	/**
+	 * このコレクションの要素に対する反復操作を提供するFloatIteratorを返す.
+	 * @return FloatIterator
+	 */
+	@Override
+	FloatIterator iterator();
+
+	/**
+	 * このコレクションの格納する要素をすべて含む配列を返す.
+	 * Iteratorが返す要素の順番が保証される場合，配列の順番はこれに準ずる．
+	 * @return すべての要素を含む配列
+	 */
+	float[] toArray();
+
+	/**
+	 * 指定されたfloat値をこのコレクションに追加する(オプションの操作).
+	 *
+	 * @param f 追加する値
+	 * @return このコレクションが変更されればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean add(float f);
+
+	/**
+	 * 指定された要素すべてをこのコレクションに追加する(オプションの操作).
+	 *
+	 * @param fs
+	 * @return このコレクションが変更されればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	default boolean addAll(float... fs) {
+		return addAll(fs, 0, fs.length);
+	}
+
+	/**
+	 * 指定された配列の要素の一部区間をこのコレクションに追加する(オプションの操作).
+	 *
+	 * @param fs 配列
+	 * @param offset 追加する区間の開始インデックス
+	 * @param length 追加する区間の長さ
+	 * @return このコレクションが変更されればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 * @throws IndexOutOfBoundsException offsetまたはlengthが不正だった場合
+	 * @throws NullPointerException 配列がnullだった場合
+	 */
+	boolean addAll(float[] fs, int offset, int length);
+
+	/**
+	 * 指定された要素すべてをこのコレクションに追加する(オプションの操作).
+	 *
+	 * @param fs
+	 * @return このコレクションが変更されればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 * @throws NullPointerException コレクションがnullだった場合
+	 */
+	boolean addAll(FloatCollection fs);
+
+	/**
+	 * 指定された要素をこのコレクションから削除する(オプションの操作).
+	 *
+	 * @param f
+	 * @return 指定された要素を保持していればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean remove(float f);
+
+	/**
+	 * 指定された要素すべてをこのコレクションから削除する(オプションの操作).
+	 *
+	 * @param fs
+	 * @return 指定された要素を保持していればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean removeAll(float... fs);
+
+	/**
+	 * 指定された要素すべてをこのコレクションから削除する(オプションの操作).
+	 *
+	 * @param fs
+	 * @return 指定された要素を保持していればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean removeAll(FloatCollection fs);
+
+	/**
+	 * 指定されたfloat値がすべてこのコレクションに含まれていればtrueを返す.
+	 * @param fs
+	 * @return 指定されたfloat値がすべて含まれていればtrue
+	 */
+	boolean containsAll(float... fs);
+
+	/**
+	 * 指定されたコレクションの値がすべてこのコレクションに含まれていればtrueを返す.
+	 * @param fs
+	 * @return 指定されたfloat値がすべて含まれていればtrue
+	 */
+	boolean containsAll(FloatCollection fs);
+
+	/**
+	 * このコレクションから指定された要素以外の要素を全て削除する(オプションの操作).
+	 * @param fs
+	 * @return 要素が1つでも削除されればtrue
+	 *
+	 *  @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean retainAll(float... fs);
+
+	/**
+	 * このコレクションから指定された要素以外の要素を全て削除する(オプションの操作).
+	 * @param fs
+	 * @return 要素が1つでも削除されればtrue
+	 *
+	 *  @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean retainAll(FloatCollection fs);
+
+	/**
+	 * このコレクションに対する逐次的なDoubleStreamを返す．float値はdoubleに拡張される．
+	 * @return stream
+	 */
+	default DoubleStream stream() {
+		return StreamSupport.doubleStream(spliterator(), false);
+	}
+
+	/**
+	 * このコレクションに対する並列なDoubleStreamを返す．float値はdoubleに拡張される．
+	 * @return stream
+	 */
+	default DoubleStream parallelStream() {
+		return StreamSupport.doubleStream(spliterator(), true);
+	}
+
+	/**
+	 * このコレクションの要素をdoubleに拡張して列挙するSpliteratorを返す.
+	 * @return spliterator
+	 */
+	@Override
+	default Spliterator.OfDouble spliterator() {
+		return Spliterators.spliterator(iteratorOfDouble(), size(),
+				Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED);
+	}
+
+	/**
+	 * このコレクションのCollection&lt;Float&gt;のビューを返す.
+	 * ビューに対する操作はこのインタンスに反映される．
+	 * @return このFloatCollectionのCollection&lt;Float&gt;のビュー
+	 */
+	@Override
+	default Collection<Float> boxedView() {
+		return PrimitiveSupport.boxed(this);
+	}
+
+	public static FloatCollection empty() {
+		return EmptyCollection.ofFloat();
+	}
+}
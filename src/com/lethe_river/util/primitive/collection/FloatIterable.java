@@ -0,0 +1,48 @@
+// このファイルはcodegen/templates/Iterable.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+
+import com.lethe_river.util.primitive.function.FloatConsumer;
+
+/**
+ * floatの要素それぞれに対する操作を提供するインターフェース
+ * @author YuyaAizawa
+ *
+ */
+interface FloatIterable extends PrimitiveIterable<Float, FloatConsumer> {
+	@Override
+	FloatIterator iterator();
+
+	/**
+	 * 要素をdoubleに拡張して列挙する反復子を返す.
+	 * @return 反復子
+	 */
+	default PrimitiveIterator.OfDouble iteratorOfDouble() {
+		return new PrimitiveIterator.OfDouble() {
+			final FloatIterator original = iterator();
+			@Override
+			public boolean hasNext() {
+				return original.hasNext();
+			}
+			@Override
+			public double nextDouble() {
+				return original.nextFloat();
+			}
+			@Override
+			public void remove() {
+				original.remove();
+			}
+		};
+	}
+
+	Spliterator.OfDouble spliterator();
+
+	@Override
+	default void forEach(FloatConsumer action) {
+		Objects.requireNonNull(action);
+		iterator().forEachRemaining(action);
+	}
+}
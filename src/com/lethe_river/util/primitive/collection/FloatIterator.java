@@ -0,0 +1,39 @@
+// このファイルはcodegen/templates/Iterator.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.Consumer;
+
+import com.lethe_river.util.primitive.function.FloatConsumer;
+
+/**
+ * floatの要素に対する反復子
+ * @author YuyaAizawa
+ *
+ */
+public interface FloatIterator extends PrimitiveIterator<Float, FloatConsumer> {
+
+	float nextFloat();
+
+	@Override
+	default void forEachRemaining(FloatConsumer action) {
+		Objects.requireNonNull(action);
+		while (hasNext())
+			action.accept(nextFloat());
+	}
+
+	@Override
+	default Float next() {
+		return Float.valueOf(nextFloat());
+	}
+
+	@Override
+	default void forEachRemaining(Consumer<? super Float> action) {
+		if(action instanceof FloatConsumer) {
+			forEachRemaining((FloatConsumer) action);
+		} else {
+			forEachRemaining((FloatConsumer) action::accept);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+// このファイルはcodegen/templates/ListIterator.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.ListIterator;
+
+/**
+ * ListIteratorのプリミティブ版
+ * @author YuyaAizawa
+ *
+ */
+public interface FloatListIterator extends ListIterator<Float>, FloatIterator {
+
+	@Override
+	default void add(Float e) {
+		add(e.floatValue());
+	}
+
+	@Override
+	default Float next() {
+		return Float.valueOf(nextFloat());
+	}
+
+	@Override
+	default Float previous() {
+		return Float.valueOf(previousFloat());
+	}
+
+	@Override
+	default void set(Float e) {
+		set(e.floatValue());
+	}
+
+	/**
+	 * 指定された要素をリストに挿入する(オプションの操作)．挿入する位置はnextFloat()が返す要素の直前，previousFloat()が返す要素の直後.
+	 * @param element
+	 */
+	void add(float e);
+
+	/**
+	 * リスト内の次の要素を返す．
+	 * @return 次の要素
+	 * @throws NoSuchElementException 次の要素がない場合
+	 */
+	@Override
+	float nextFloat();
+
+	/**
+	 * リスト内の前の要素を返す
+	 * @return 前の要素
+	 * @throws NoSuchElementException 前の要素がない場合
+	 */
+	float previousFloat();
+
+	/**
+	 * next()またはprevious()から最後に返された要素を指定された要素で置き換える(オプションの操作).
+	 * 最後のnext(), previous()の呼び出しからremove(),add(float)のどちらも呼ばれていないときのみ行える
+	 * @param e
+	 */
+	void set(float e);
+
+	/**
+	 * 空のFloatListIteratorのシングルトンインスタンスを返す．
+	 * @return 空のFloatListIterator
+	 */
+	static FloatListIterator empty() {
+		return EmptyListIterator.ofFloat();
+	}
+}
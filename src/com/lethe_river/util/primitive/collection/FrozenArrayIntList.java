@@ -1,7 +1,10 @@
 package com.lethe_river.util.primitive.collection;
 
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
 
 /**
  * 配列をベースにした変更不可能なIntList
@@ -29,6 +32,70 @@ public class FrozenArrayIntList extends AbstractIntList implements IntList, Rand
 		return field.length;
 	}
 
+	@Override
+	public Spliterator.OfInt spliterator() {
+		return new ArraySpliterator(0, field.length);
+	}
+
+	private class ArraySpliterator implements Spliterator.OfInt {
+
+		// 次に返す位置
+		int index;
+
+		// 範囲の終端(この位置を含まない)
+		final int fence;
+
+		ArraySpliterator(int index, int fence) {
+			this.index = index;
+			this.fence = fence;
+		}
+
+		@Override
+		public Spliterator.OfInt trySplit() {
+			int lo = index;
+			int mid = (lo + fence) >>> 1;
+			if(lo >= mid) {
+				return null;
+			}
+			index = mid;
+			return new ArraySpliterator(lo, mid);
+		}
+
+		@Override
+		public boolean tryAdvance(IntConsumer action) {
+			Objects.requireNonNull(action);
+			if(index >= fence) {
+				return false;
+			}
+			action.accept(field[index++]);
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(IntConsumer action) {
+			Objects.requireNonNull(action);
+			int[] field = FrozenArrayIntList.this.field;
+			for(int i = index;i < fence;i++) {
+				action.accept(field[i]);
+			}
+			index = fence;
+		}
+
+		@Override
+		public long estimateSize() {
+			return fence - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.IMMUTABLE
+				  | Spliterator.NONNULL
+				  | Spliterator.ORDERED
+				  | Spliterator.SIZED
+				  | Spliterator.SUBSIZED;
+		}
+	}
+
 	private class FrozenArrayListIterator implements IntListIterator {
 
 		/*
@@ -12,15 +12,25 @@ import java.util.function.IntConsumer;
 
 /**
  * 内部で自然順序でソートされた不変IntSet
+ *
+ * 差分符号化した形式での読み書きは{@link SortedSetCodec}で行う．
  * @author YuyaAizawa
  *
  */
 public class FrozenArrayIntSet extends AbstractIntSortedSet {
+
+	// 明示する前の既定値．既存の直列化形式との互換性のため変えないこと
+	private static final long serialVersionUID = -1774938168772772106L;
+
 	private final int[] field;
 	private final int from;
 	private final int to;
 
-	private FrozenArrayIntSet(int[] field) {
+	/**
+	 * ソート済みで重複のない配列をそのまま用いてFrozenArrayIntSetを生成する.
+	 * @param field 昇順に並んだ要素
+	 */
+	FrozenArrayIntSet(int[] field) {
 		this(field, 0, field.length);
 	}
 
@@ -233,4 +243,5 @@ public class FrozenArrayIntSet extends AbstractIntSortedSet {
 		}
 		return new FrozenArrayIntSet(field, Math.max(fromIndex, this.from), Math.min(toIndex, this.to));
 	}
+
 }
@@ -0,0 +1,763 @@
+package com.lethe_river.util.primitive.collection;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.IntUnaryOperator;
+
+import com.lethe_river.util.primitive.HashSupport;
+import com.lethe_river.util.primitive.IntIntHash;
+
+/**
+ * hopscotch hashingを用いたIntIntMapの実装
+ *
+ * - open address
+ * - power of two bucket
+ * - エントリは本来の位置から32要素の近傍のどこかに置く
+ * - 位置ごとに，そこを本来の位置とするエントリが近傍のどこにあるかをビットマップで保持する
+ *
+ * 探索はビットマップの立っている位置だけを調べ，近傍の外へは出ない．
+ * 削除や近傍内での移動はエントリを1つずつ動かすだけで，連続した探索列を詰め直すことはない．
+ *
+ * @author YuyaAizawa
+ *
+ */
+@SuppressWarnings("serial") // SerializationProxyに委譲
+public final class HopscotchIntIntMap implements IntIntMap {
+
+	private static final int NULL = 0;
+
+	// 近傍の大きさ(ビットマップのビット数)
+	private static final int NEIGHBORHOOD = 32;
+
+	// 空き位置を探す最大の距離
+	private static final int MAX_PROBE = 1024;
+
+	private static final float DEFAULT_LOAD_FACTOR = 0.9f;
+	private static final int MAX_CAPACITY = 1<<30;
+
+	// NULL以外のkey, value
+	private int[] keys;
+	private int[] values;
+
+	// hops[i]のビットdは，本来の位置がiであるkeyがkeys[i+d]にあることを示す
+	private int[] hops;
+
+	// 配列長-1
+	private int mask;
+
+	// NULLのkey, value
+	private boolean nullKey;
+	private int nullValue;
+
+	// 要素数の合計
+	private int size;
+
+	// 負荷係数
+	private final float loadFactor;
+
+	// keyの位置を決めるハッシュ関数
+	private final IntIntHash hashFunction;
+
+	// 次にリハッシュする容量
+	private int threshold;
+
+	// 構造的変更検出用
+	private int modCount;
+
+	/**
+	 * 初期容量，負荷係数とハッシュ関数を指定してHopscotchIntIntMapを生成する.
+	 *
+	 * ハッシュ関数は下位ビットがよく撹拌されるものを選ぶこと．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 * @param hashFunction keyの位置を決めるハッシュ関数
+	 */
+	public HopscotchIntIntMap(int initCapacity, float loadFactor, IntIntHash hashFunction) {
+		if(initCapacity < 0) {
+			throw new IllegalArgumentException("initCapacity must be positive :"+initCapacity);
+		}
+		if(!(loadFactor > 0 && loadFactor <= 1)) {
+			throw new IllegalArgumentException("loadFactor : "+loadFactor);
+		}
+		this.loadFactor = loadFactor;
+		this.hashFunction = Objects.requireNonNull(hashFunction);
+		allocate(lengthFor(initCapacity));
+		nullKey = false;
+		size = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * 初期容量と負荷係数を指定してHopscotchIntIntMapを生成する.
+	 *
+	 * ハッシュ関数にはインスタンスごとにsaltを乱数で選んだ{@link HashSupport#hash32shiftmult(int, int)}が用いられる．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 */
+	public HopscotchIntIntMap(int initCapacity, float loadFactor) {
+		this(initCapacity, loadFactor, HashSupport.randomizedIntIntHash());
+	}
+
+	/**
+	 * 初期容量を指定してHopscotchIntIntMapを生成する.
+	 *
+	 * 負荷係数はデフォルトの値(0.9)が用いられる
+	 * @param initCapacity 初期容量
+	 */
+	public HopscotchIntIntMap(int initCapacity) {
+		this(initCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * デフォルトの初期容量(32)と負荷係数を利用してHopscotchIntIntMapを生成する.
+	 */
+	public HopscotchIntIntMap() {
+		this(NEIGHBORHOOD);
+	}
+
+	/**
+	 * 指定した容量に対する配列の長さを返す.
+	 * @param capacity 容量
+	 * @return 近傍の大きさ以上の2の冪
+	 */
+	private static int lengthFor(int capacity) {
+		if(capacity <= NEIGHBORHOOD) {
+			return NEIGHBORHOOD;
+		}
+		return Integer.highestOneBit(Math.min(capacity, MAX_CAPACITY)-1) << 1;
+	}
+
+	private void allocate(int length) {
+		keys = new int[length];
+		values = new int[length];
+		hops = new int[length];
+		mask = length - 1;
+		threshold = (int) (length * loadFactor);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(int key) {
+		if(key == NULL) {
+			return nullKey;
+		}
+		return find(key) != -1;
+	}
+
+	@Override
+	public boolean containsValue(int value) {
+		if(nullKey && nullValue == value) {
+			return true;
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if(keys[i] != NULL && values[i] == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(keys, NULL);
+		Arrays.fill(hops, 0);
+		nullKey = false;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public int get(int key) {
+		if(key == NULL) {
+			if(!nullKey) {
+				throw new NoSuchElementException("key: "+key);
+			}
+			return nullValue;
+		}
+
+		int index = find(key);
+		if(index == -1) {
+			throw new NoSuchElementException("key: "+key);
+		}
+		return values[index];
+	}
+
+	@Override
+	public int getOrDefault(int key, int def) {
+		if(key == NULL) {
+			return nullKey ? nullValue : def;
+		}
+
+		int index = find(key);
+		return index == -1 ? def : values[index];
+	}
+
+	/**
+	 * 指定したkeyが格納されている位置を返す.
+	 * @param key NULL以外のkey
+	 * @return keyの位置，存在しなければ-1
+	 */
+	private int find(int key) {
+		int[] keys = this.keys;
+		int mask = this.mask;
+		int home = hash(key) & mask;
+		for(int bits = hops[home];bits != 0;bits &= bits-1) {
+			int index = (home + Integer.numberOfTrailingZeros(bits)) & mask;
+			if(keys[index] == key) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void put(int key, int value) {
+		if(key == NULL) {
+			if(!nullKey) {
+				nullKey = true;
+				size++;
+				modCount++;
+			}
+			nullValue = value;
+			return;
+		}
+
+		int index = find(key);
+		if(index == -1) {
+			insertNew(key, value);
+		} else {
+			values[index] = value;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void merge(int key, int value, IntUnaryOperator updater) {
+		if(key == NULL) {
+			if(!nullKey) {
+				nullKey = true;
+				nullValue = value;
+				size++;
+				modCount++;
+			} else {
+				nullValue = updater.applyAsInt(nullValue);
+			}
+			return;
+		}
+
+		int index = find(key);
+		if(index == -1) {
+			insertNew(key, value);
+		} else {
+			values[index] = updater.applyAsInt(values[index]);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getAndAdd(int key, int delta) {
+		if(key == NULL) {
+			int old = nullKey ? nullValue : 0;
+			if(!nullKey) {
+				nullKey = true;
+				size++;
+				modCount++;
+			}
+			nullValue = old + delta;
+			return old;
+		}
+
+		int index = find(key);
+		if(index == -1) {
+			insertNew(key, delta);
+			return 0;
+		}
+		int old = values[index];
+		values[index] = old + delta;
+		return old;
+	}
+
+	/**
+	 * 含まれていないエントリを追加する.
+	 * @param key 含まれていないNULL以外のkey
+	 * @param value value
+	 */
+	private void insertNew(int key, int value) {
+		if(size >= threshold) {
+			rehash(keys.length << 1);
+		}
+		while(!place(key, value)) {
+			rehash(keys.length << 1);
+		}
+		size++;
+		modCount++;
+	}
+
+	/**
+	 * エントリを近傍内の空き位置に置く.
+	 * 近傍内に空きが無ければ，空き位置の手前のエントリを空き位置へ移すことを繰り返して空きを近づける．
+	 * 失敗した場合も配列の整合性は保たれる．
+	 * @param key 配列に含まれないNULL以外のkey
+	 * @param value value
+	 * @return 置けたらtrue
+	 */
+	private boolean place(int key, int value) {
+		int[] keys = this.keys;
+		int[] values = this.values;
+		int[] hops = this.hops;
+		int mask = this.mask;
+		int home = hash(key) & mask;
+
+		int dist = 0;
+		int limit = Math.min(MAX_PROBE, keys.length);
+		while(keys[(home + dist) & mask] != NULL) {
+			if(++dist == limit) {
+				return false;
+			}
+		}
+		int free = (home + dist) & mask;
+
+		while(dist >= NEIGHBORHOOD) {
+			boolean moved = false;
+			// 遠い位置を本来の位置とするエントリから順に，freeへ移せるものを探す
+			for(int back = NEIGHBORHOOD-1;back > 0;back--) {
+				int bucket = (free - back) & mask;
+				int bits = hops[bucket] & ((1 << back) - 1);
+				if(bits != 0) {
+					int d = Integer.numberOfTrailingZeros(bits);
+					int from = (bucket + d) & mask;
+					keys[free] = keys[from];
+					values[free] = values[from];
+					keys[from] = NULL;
+					hops[bucket] = (hops[bucket] & ~(1 << d)) | (1 << back);
+					free = from;
+					dist -= back - d;
+					moved = true;
+					break;
+				}
+			}
+			if(!moved) {
+				return false;
+			}
+		}
+		keys[free] = key;
+		values[free] = value;
+		hops[home] |= 1 << dist;
+		return true;
+	}
+
+	@Override
+	public boolean remove(int key) {
+		if(key == NULL) {
+			if(nullKey) {
+				nullKey = false;
+				size--;
+				modCount++;
+				return true;
+			}
+			return false;
+		}
+
+		int index = find(key);
+		if(index == -1) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	/**
+	 * 指定した位置のエントリを削除する．他のエントリは移動しない.
+	 * @param index エントリの位置
+	 */
+	private void removeAt(int index) {
+		int home = hash(keys[index]) & mask;
+		hops[home] &= ~(1 << ((index - home) & mask));
+		keys[index] = NULL;
+		size--;
+		modCount++;
+	}
+
+	/**
+	 * 指定した容量を格納できるようこのHopscotchIntIntMapの内部配列を拡張する.
+	 * @param minCapacity 保持するエントリの数
+	 * @throws IllegalArgumentException minCapacityが[1, MAX_CAPACITY]の範囲外だったとき
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if(minCapacity <= 0 || MAX_CAPACITY < minCapacity) {
+			throw new IllegalArgumentException("minCapacity : "+minCapacity);
+		}
+		if(threshold >= minCapacity) {
+			return;
+		}
+		rehash(lengthFor((int)Math.min((long)(minCapacity / loadFactor) + 1, MAX_CAPACITY)));
+	}
+
+	/**
+	 * 指定した長さの配列に全エントリを置き直す．置けなかった場合は更に倍の長さで再試行する.
+	 * @param length 配列の長さ
+	 */
+	private void rehash(int length) {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		retry:
+		for(;;) {
+			if(length > MAX_CAPACITY) {
+				throw new RuntimeException("Too many entries!");
+			}
+			allocate(length);
+			for (int i = 0; i < oldKeys.length; i++) {
+				if(oldKeys[i] != NULL && !place(oldKeys[i], oldValues[i])) {
+					length <<= 1;
+					continue retry;
+				}
+			}
+			break;
+		}
+		modCount++;
+	}
+
+	/**
+	 * keyの配列上での位置を決めるためのhashを返す．
+	 * {@link #hashCode()}とは無関係
+	 * @param key key
+	 * @return keyのハッシュ
+	 */
+	private int hash(int key) {
+		return hashFunction.hash(key);
+	}
+
+	@Override
+	public IntSet keys() {
+		return new KeySet();
+	}
+
+	@Override
+	public IntCollection values() {
+		return new ValueCollection();
+	}
+
+	@Override
+	public IntIntCursor entryCursor() {
+		return new EntryCursor();
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if(object == this) {
+			return true;
+		}
+		if(object == null || !(object instanceof IntIntMap)) {
+			return false;
+		}
+		IntIntMap target = (IntIntMap) object;
+		if(target.size() != size()) {
+			return false;
+		}
+
+		IntIntCursor entries = target.entryCursor();
+		while(entries.next()) {
+			if(getOrDefault(entries.key(), entries.value()+1) != entries.value()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int sum = 0;
+		IntIntCursor cursor = entryCursor();
+		while(cursor.next()) {
+			sum += cursor.key() ^ cursor.value();
+		}
+		return sum;
+	}
+
+	/**
+	 * 配列上のエントリを先頭から順に辿る.
+	 * 削除で他のエントリは移動しないため，走査中に現在のエントリを削除してもよい．
+	 */
+	private class TableWalker {
+		// 次に調べる位置
+		int next = 0;
+
+		// 現在の位置
+		int index = -1;
+
+		/**
+		 * 次のエントリに進む
+		 * @return エントリがあればtrue
+		 */
+		boolean advance() {
+			int[] keys = HopscotchIntIntMap.this.keys;
+			index = -1;
+			while(next < keys.length) {
+				if(keys[next++] != NULL) {
+					index = next-1;
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * NULLのエントリ，配列上のエントリの順に辿るIteratorの骨格.
+	 */
+	private abstract class EntryIterator {
+
+		final TableWalker walker = new TableWalker();
+
+		// 構造的変更検出用
+		int expectedModCount = modCount;
+
+		// nextで返した数
+		int replied = 0;
+
+		// 削除した要素の数
+		int removed = 0;
+
+		// removeが行える状態
+		boolean removable = false;
+		boolean removeNull = false;
+
+		public boolean hasNext() {
+			return replied < size + removed;
+		}
+
+		/**
+		 * 次のエントリに進む
+		 * @return 進んだ先の位置，NULLのエントリなら-1
+		 */
+		int nextIndex() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(replied==0 && nullKey) {
+				replied++;
+				removable = true;
+				removeNull = true;
+				return -1;
+			}
+			if(!walker.advance()) {
+				throw new NoSuchElementException();
+			}
+			replied++;
+			removable = true;
+			removeNull = false;
+			return walker.index;
+		}
+
+		public void remove() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(!removable) {
+				throw new IllegalStateException();
+			}
+			if(removeNull) {
+				HopscotchIntIntMap.this.remove(NULL);
+			} else {
+				removeAt(walker.index);
+			}
+			expectedModCount = modCount;
+			removed++;
+			removable = false;
+		}
+	}
+
+	private class KeySet extends AbstractIntSet {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator() {
+			class KeyIterator extends EntryIterator implements PrimitiveIterator.OfInt {
+				@Override
+				public int nextInt() {
+					int index = nextIndex();
+					return index == -1 ? NULL : keys[index];
+				}
+			}
+			return new KeyIterator();
+		}
+
+		@Override
+		public boolean contains(int i) {
+			return HopscotchIntIntMap.this.containsKey(i);
+		}
+
+		@Override
+		public boolean remove(int i) {
+			return HopscotchIntIntMap.this.remove(i);
+		}
+	}
+
+	private class ValueCollection extends AbstractIntCollection {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator() {
+			class ValueIterator extends EntryIterator implements PrimitiveIterator.OfInt {
+				@Override
+				public int nextInt() {
+					int index = nextIndex();
+					return index == -1 ? nullValue : values[index];
+				}
+			}
+			return new ValueIterator();
+		}
+	}
+
+	private class EntryCursor implements IntIntCursor {
+
+		private static final int INDEX_BEGIN = -2;
+		private static final int INDEX_NULL  = -1;
+		private static final int INDEX_TABLE = 0;
+
+		final TableWalker walker = new TableWalker();
+
+		int state = INDEX_BEGIN;
+
+		// 構造的変更検出用
+		int expectedModCount = modCount;
+
+		// removeしたことを示す
+		boolean removed = false;
+
+		@Override
+		public boolean next() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			removed = false;
+			if(state == INDEX_BEGIN) {
+				state = INDEX_NULL;
+				if(nullKey) {
+					return true;
+				}
+			}
+			state = INDEX_TABLE;
+			return walker.advance();
+		}
+
+		@Override
+		public int key() {
+			checkPosition();
+			return state == INDEX_NULL ? NULL : keys[walker.index];
+		}
+
+		@Override
+		public int value() {
+			checkPosition();
+			return state == INDEX_NULL ? nullValue : values[walker.index];
+		}
+
+		@Override
+		public void remove() {
+			checkPosition();
+			if(state == INDEX_NULL) {
+				HopscotchIntIntMap.this.remove(NULL);
+			} else {
+				removeAt(walker.index);
+			}
+			expectedModCount = modCount;
+			removed = true;
+		}
+
+		@Override
+		public void setValue(int value) {
+			checkPosition();
+			if(state == INDEX_NULL) {
+				nullValue = value;
+			} else {
+				values[walker.index] = value;
+			}
+		}
+
+		private void checkPosition() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(removed || state == INDEX_BEGIN || (state == INDEX_TABLE && walker.index == -1)) {
+				throw new IllegalStateException();
+			}
+		}
+	}
+
+	private static class SerializationProxy implements Serializable {
+		private static final long serialVersionUID = 7710939163427508123L;
+
+		/**
+		 * @serial
+		 */
+		private final int[] keys;
+
+		/**
+		 * @serial
+		 */
+		private final int[] values;
+
+		/**
+		 * @serial
+		 */
+		private final float loadFactor;
+
+		public SerializationProxy(HopscotchIntIntMap map) {
+			this.keys = new int[map.size()];
+			this.values = new int[map.size()];
+
+			int index = 0;
+			for(IntIntCursor cursor = map.entryCursor();cursor.next();) {
+				keys[index] = cursor.key();
+				values[index] = cursor.value();
+				index++;
+			}
+
+			this.loadFactor = map.loadFactor;
+		}
+
+		private Object readResolve() {
+			// ハッシュ関数は直列化できるとは限らないため引き継がない
+			HopscotchIntIntMap result = new HopscotchIntIntMap((int)(keys.length / loadFactor)+1, loadFactor);
+			for (int i = 0; i < keys.length; i++) {
+				result.put(keys[i], values[i]);
+			}
+			return result;
+		}
+	}
+
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	private void readObject(java.io.ObjectInputStream s) throws java.io.InvalidObjectException {
+		throw new java.io.InvalidObjectException("Proxy required");
+	}
+}
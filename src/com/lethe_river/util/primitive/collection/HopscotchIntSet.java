@@ -0,0 +1,440 @@
+package com.lethe_river.util.primitive.collection;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+
+import com.lethe_river.util.primitive.HashSupport;
+import com.lethe_river.util.primitive.IntIntHash;
+
+/**
+ * hopscotch hashingを用いたIntSetの実装
+ *
+ * - open address
+ * - power of two bucket
+ * - 要素は本来の位置から32要素の近傍のどこかに置く
+ * - 位置ごとに，そこを本来の位置とする要素が近傍のどこにあるかをビットマップで保持する
+ *
+ * 探索はビットマップの立っている位置だけを調べ，近傍の外へは出ない．
+ * 近傍に空きが無いときは，空き位置の手前にある要素を近傍の範囲内で空き位置へ移して空きを近づける．
+ * 移せなければ配列を拡張する．
+ *
+ * @author YuyaAizawa
+ *
+ */
+@SuppressWarnings("serial") // SerializationProxyに委譲
+public final class HopscotchIntSet extends AbstractIntSet {
+
+	// NULLをあらわす数字
+	private static final int NULL = 0;
+
+	// 近傍の大きさ(ビットマップのビット数)
+	private static final int NEIGHBORHOOD = 32;
+
+	// 空き位置を探す最大の距離
+	private static final int MAX_PROBE = 1024;
+
+	private static final float DEFAULT_LOAD_FACTOR = 0.9f;
+	private static final int MAX_CAPACITY = 1<<30;
+
+	// NULL以外の要素を入れる配列
+	private int[] keys;
+
+	// hops[i]のビットdは，本来の位置がiである要素がkeys[i+d]にあることを示す
+	private int[] hops;
+
+	// 配列長-1
+	private int mask;
+
+	// NULLで使われている数字を含むか
+	private boolean hasNull;
+
+	// 要素数の合計
+	private int size;
+
+	// 負荷係数
+	private final float loadFactor;
+
+	// 要素の位置を決めるハッシュ関数
+	private final IntIntHash hashFunction;
+
+	// 次にリハッシュする容量
+	private int threshold;
+
+	// 構造的変更検出用
+	private int modCount;
+
+	/**
+	 * 初期容量，負荷係数とハッシュ関数を指定してHopscotchIntSetを生成する.
+	 *
+	 * ハッシュ関数は下位ビットがよく撹拌されるものを選ぶこと．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 * @param hashFunction 要素の位置を決めるハッシュ関数
+	 */
+	public HopscotchIntSet(int initCapacity, float loadFactor, IntIntHash hashFunction) {
+		if(initCapacity < 0) {
+			throw new IllegalArgumentException("initCapacity must be positive :"+initCapacity);
+		}
+		if(!(loadFactor > 0 && loadFactor <= 1)) {
+			throw new IllegalArgumentException("loadFactor : "+loadFactor);
+		}
+		this.loadFactor = loadFactor;
+		this.hashFunction = Objects.requireNonNull(hashFunction);
+		allocate(lengthFor(initCapacity));
+		hasNull = false;
+		size = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * 初期容量と負荷係数を指定してHopscotchIntSetを生成する.
+	 *
+	 * ハッシュ関数にはインスタンスごとにsaltを乱数で選んだ{@link HashSupport#hash32shiftmult(int, int)}が用いられる．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 */
+	public HopscotchIntSet(int initCapacity, float loadFactor) {
+		this(initCapacity, loadFactor, HashSupport.randomizedIntIntHash());
+	}
+
+	/**
+	 * 初期容量を指定してHopscotchIntSetを生成する.
+	 *
+	 * 負荷係数はデフォルトの値(0.9)が用いられる
+	 * @param initCapacity 初期容量
+	 */
+	public HopscotchIntSet(int initCapacity) {
+		this(initCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * デフォルトの初期容量(32)と負荷係数を利用してHopscotchIntSetを生成する.
+	 */
+	public HopscotchIntSet() {
+		this(NEIGHBORHOOD);
+	}
+
+	/**
+	 * 指定した容量に対する配列の長さを返す.
+	 * @param capacity 容量
+	 * @return 近傍の大きさ以上の2の冪
+	 */
+	private static int lengthFor(int capacity) {
+		if(capacity <= NEIGHBORHOOD) {
+			return NEIGHBORHOOD;
+		}
+		return Integer.highestOneBit(Math.min(capacity, MAX_CAPACITY)-1) << 1;
+	}
+
+	private void allocate(int length) {
+		keys = new int[length];
+		hops = new int[length];
+		mask = length - 1;
+		threshold = (int) (length * loadFactor);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean contains(int i) {
+		if(i == NULL) {
+			return hasNull;
+		}
+		return find(i) != -1;
+	}
+
+	/**
+	 * 指定した要素が格納されている位置を返す.
+	 * @param i NULL以外の要素
+	 * @return 要素の位置，存在しなければ-1
+	 */
+	private int find(int i) {
+		int[] keys = this.keys;
+		int mask = this.mask;
+		int home = hash(i) & mask;
+		for(int bits = hops[home];bits != 0;bits &= bits-1) {
+			int index = (home + Integer.numberOfTrailingZeros(bits)) & mask;
+			if(keys[index] == i) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean add(int i) {
+		if(i == NULL) {
+			if(hasNull) {
+				return false;
+			}
+			hasNull = true;
+			size++;
+			modCount++;
+			return true;
+		}
+		if(find(i) != -1) {
+			return false;
+		}
+
+		if(size >= threshold) {
+			rehash(keys.length << 1);
+		}
+		while(!place(i)) {
+			rehash(keys.length << 1);
+		}
+		size++;
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * 要素を近傍内の空き位置に置く.
+	 * 近傍内に空きが無ければ，空き位置の手前の要素を空き位置へ移すことを繰り返して空きを近づける．
+	 * 失敗した場合も配列の整合性は保たれる．
+	 * @param i 配列に含まれないNULL以外の要素
+	 * @return 置けたらtrue
+	 */
+	private boolean place(int i) {
+		int[] keys = this.keys;
+		int[] hops = this.hops;
+		int mask = this.mask;
+		int home = hash(i) & mask;
+
+		int dist = 0;
+		int limit = Math.min(MAX_PROBE, keys.length);
+		while(keys[(home + dist) & mask] != NULL) {
+			if(++dist == limit) {
+				return false;
+			}
+		}
+		int free = (home + dist) & mask;
+
+		while(dist >= NEIGHBORHOOD) {
+			boolean moved = false;
+			// 遠い位置を本来の位置とする要素から順に，freeへ移せるものを探す
+			for(int back = NEIGHBORHOOD-1;back > 0;back--) {
+				int bucket = (free - back) & mask;
+				int bits = hops[bucket] & ((1 << back) - 1);
+				if(bits != 0) {
+					int d = Integer.numberOfTrailingZeros(bits);
+					int from = (bucket + d) & mask;
+					keys[free] = keys[from];
+					keys[from] = NULL;
+					hops[bucket] = (hops[bucket] & ~(1 << d)) | (1 << back);
+					free = from;
+					dist -= back - d;
+					moved = true;
+					break;
+				}
+			}
+			if(!moved) {
+				return false;
+			}
+		}
+		keys[free] = i;
+		hops[home] |= 1 << dist;
+		return true;
+	}
+
+	@Override
+	public boolean remove(int i) {
+		if(i == NULL) {
+			if(hasNull) {
+				hasNull = false;
+				size--;
+				modCount++;
+				return true;
+			}
+			return false;
+		}
+
+		int index = find(i);
+		if(index == -1) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	/**
+	 * 指定した位置の要素を削除する．他の要素は移動しない.
+	 * @param index 要素の位置
+	 */
+	private void removeAt(int index) {
+		int home = hash(keys[index]) & mask;
+		hops[home] &= ~(1 << ((index - home) & mask));
+		keys[index] = NULL;
+		size--;
+		modCount++;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(keys, NULL);
+		Arrays.fill(hops, 0);
+		hasNull = false;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * 指定した容量を格納できるようこのHopscotchIntSetの内部配列を拡張する.
+	 * @param minCapacity 保持する要素の数
+	 * @throws IllegalArgumentException minCapacityが[1, MAX_CAPACITY]の範囲外だったとき
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if(minCapacity <= 0 || MAX_CAPACITY < minCapacity) {
+			throw new IllegalArgumentException("minCapacity : "+minCapacity);
+		}
+		if(threshold >= minCapacity) {
+			return;
+		}
+		rehash(lengthFor((int)Math.min((long)(minCapacity / loadFactor) + 1, MAX_CAPACITY)));
+	}
+
+	/**
+	 * 指定した長さの配列に全要素を置き直す．置けなかった場合は更に倍の長さで再試行する.
+	 * @param length 配列の長さ
+	 */
+	private void rehash(int length) {
+		int[] oldKeys = keys;
+		retry:
+		for(;;) {
+			if(length > MAX_CAPACITY) {
+				throw new RuntimeException("Too many entries!");
+			}
+			allocate(length);
+			for(int i : oldKeys) {
+				if(i != NULL && !place(i)) {
+					length <<= 1;
+					continue retry;
+				}
+			}
+			break;
+		}
+		modCount++;
+	}
+
+	/**
+	 * 要素の配列上での位置を決めるためのhashを返す．
+	 * {@link #hashCode()}とは無関係
+	 * @param i 要素
+	 * @return 要素のハッシュ
+	 */
+	private int hash(int i) {
+		return hashFunction.hash(i);
+	}
+
+	@Override
+	public PrimitiveIterator.OfInt iterator() {
+		// 1つ目は0を返す
+		return new PrimitiveIterator.OfInt() {
+
+			// 構造的変更検出用
+			int expectedModCount = modCount;
+
+			// 次に調べる位置
+			int index = 0;
+
+			// nextで返した数
+			int replied = 0;
+
+			// 削除した要素の数
+			int removed = 0;
+
+			// 次のremoveで削除する位置，-1ならremove不可，-2ならNULL
+			int removeTarget = -1;
+
+			@Override
+			public boolean hasNext() {
+				return replied < size + removed;
+			}
+
+			@Override
+			public int nextInt() {
+				if(expectedModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+				if(replied == 0 && hasNull) {
+					replied++;
+					removeTarget = -2;
+					return NULL;
+				}
+				int[] keys = HopscotchIntSet.this.keys;
+				while(index < keys.length) {
+					int i = keys[index++];
+					if(i != NULL) {
+						replied++;
+						removeTarget = index-1;
+						return i;
+					}
+				}
+				throw new NoSuchElementException();
+			}
+
+			@Override
+			public void remove() {
+				if(expectedModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+				if(removeTarget == -1) {
+					throw new IllegalStateException();
+				}
+				if(removeTarget == -2) {
+					HopscotchIntSet.this.remove(NULL);
+				} else {
+					removeAt(removeTarget);
+				}
+				expectedModCount = modCount;
+				removed++;
+				removeTarget = -1;
+			}
+		};
+	}
+
+	private static class SerializationProxy implements Serializable {
+		private static final long serialVersionUID = -1939516372548262957L;
+
+		/**
+		 * @serial
+		 */
+		private final int[] elements;
+
+		/**
+		 * @serial
+		 */
+		private final float loadFactor;
+
+		public SerializationProxy(HopscotchIntSet set) {
+			this.elements = set.toArray();
+			this.loadFactor = set.loadFactor;
+		}
+
+		private Object readResolve() {
+			// ハッシュ関数は直列化できるとは限らないため引き継がない
+			HopscotchIntSet result = new HopscotchIntSet((int)(elements.length / loadFactor)+1, loadFactor);
+			result.addAll(elements);
+			return result;
+		}
+	}
+
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	private void readObject(java.io.ObjectInputStream s) throws java.io.InvalidObjectException {
+		throw new java.io.InvalidObjectException("Proxy required");
+	}
+}
@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/Collection.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.Collection;
@@ -1,5 +1,7 @@
+// このファイルはcodegen/templates/KeyValueMap.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.function.IntUnaryOperator;
 
@@ -50,6 +52,67 @@ public interface IntIntMap extends PrimitiveMap<Integer, Integer> {
 		merge(key, value, old -> value);
 	}
 
+	/**
+	 * 指定した配列の範囲の各元に対する像を，outの同じ位置に書き込む．像が定義されていない元に対してはdefを書き込む．
+	 *
+	 * 実装は複数の元の探索をまとめて行い，メモリアクセスの待ち時間を重ねることが望ましい．
+	 * @param keys 元の配列
+	 * @param offset 開始インデックス
+	 * @param length 元の数
+	 * @param out 像を書き込む配列
+	 * @param def 像が存在しないときの値
+	 * @throws ArrayIndexOutOfBoundsException offsetまたはlengthが不正だったとき
+	 */
+	default void getAll(int[] keys, int offset, int length, int[] out, int def) {
+		PrimitiveSupport.checkBounds(keys, offset, length);
+		PrimitiveSupport.checkBounds(out, offset, length);
+		for (int i = offset; i < offset + length; i++) {
+			out[i] = getOrDefault(keys[i], def);
+		}
+	}
+
+	/**
+	 * 指定した配列の範囲の各元がこの写像の始域に含まれるか判定し，結果をビットマスクに書き込む．
+	 * keys[offset+i]が含まれるとき，bitmaskOut[i/64]のi%64ビット目が1になる．
+	 * bitmaskOutの先頭から(length+63)/64個の要素は上書きされる．
+	 * @param keys 元の配列
+	 * @param offset 開始インデックス
+	 * @param length 元の数
+	 * @param bitmaskOut 結果を書き込む配列
+	 * @return 含まれていた元の数
+	 * @throws ArrayIndexOutOfBoundsException offsetまたはlengthが不正だったとき
+	 */
+	default int containsKeys(int[] keys, int offset, int length, long[] bitmaskOut) {
+		PrimitiveSupport.checkBounds(keys, offset, length);
+		PrimitiveSupport.checkBounds(bitmaskOut, 0, (length+63)>>>6);
+		Arrays.fill(bitmaskOut, 0, (length+63)>>>6, 0L);
+		int count = 0;
+		for (int i = 0; i < length; i++) {
+			if(containsKey(keys[offset + i])) {
+				bitmaskOut[i>>>6] |= 1L << i;
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 指定した配列の範囲の元と，valuesの同じ位置の像の対応をこの写像に定義する．(オプションの操作)
+	 * @param keys 元の配列
+	 * @param values 像の配列
+	 * @param offset 開始インデックス
+	 * @param length 対応の数
+	 * @throws ArrayIndexOutOfBoundsException offsetまたはlengthが不正だったとき
+	 * @throws UnsupportedOperationException この操作に対応していない場合
+	 */
+	default void putAll(int[] keys, int[] values, int offset, int length) {
+		PrimitiveSupport.checkBounds(keys, offset, length);
+		PrimitiveSupport.checkBounds(values, offset, length);
+		for (int i = offset; i < offset + length; i++) {
+			put(keys[i], values[i]);
+		}
+	}
+
 	/**
 	 * 指定した元と像の対応をこの写像に定義するか，既に定義されている場合は更新する．
 	 * 更新は古い値をとり新しい値を返す関数を指定する．
@@ -60,6 +123,52 @@ public interface IntIntMap extends PrimitiveMap<Integer, Integer> {
 	 */
 	void merge(int key, int value, IntUnaryOperator updater);
 
+	/**
+	 * 指定した元の像にdeltaを加える．像が定義されていなければ0とみなす．(オプションの操作)
+	 * @param key 元
+	 * @param delta 加える値
+	 * @throws UnsupportedOperationException この操作に対応していない場合
+	 */
+	default void addTo(int key, int delta) {
+		getAndAdd(key, delta);
+	}
+
+	/**
+	 * 指定した元の像にdeltaを加え，加える前の像を返す．像が定義されていなければ0とみなす．(オプションの操作)
+	 *
+	 * 実装は1回の探索で更新することが望ましい．
+	 * @param key 元
+	 * @param delta 加える値
+	 * @return 加える前の像
+	 * @throws UnsupportedOperationException この操作に対応していない場合
+	 */
+	default int getAndAdd(int key, int delta) {
+		int old = getOrDefault(key, 0);
+		put(key, old + delta);
+		return old;
+	}
+
+	/**
+	 * 指定した元の像にdeltaを加え，加えた後の像を返す．像が定義されていなければ0とみなす．(オプションの操作)
+	 * @param key 元
+	 * @param delta 加える値
+	 * @return 加えた後の像
+	 * @throws UnsupportedOperationException この操作に対応していない場合
+	 */
+	default int addAndGet(int key, int delta) {
+		return getAndAdd(key, delta) + delta;
+	}
+
+	/**
+	 * 指定した元の像に1を加え，加えた後の像を返す．像が定義されていなければ0とみなす．(オプションの操作)
+	 * @param key 元
+	 * @return 加えた後の像
+	 * @throws UnsupportedOperationException この操作に対応していない場合
+	 */
+	default int incrementAndGet(int key) {
+		return addAndGet(key, 1);
+	}
+
 	/**
 	 * 指定した元をもつ対応関係をこの写像から取り除く
 	 * @param key 元
@@ -97,4 +206,4 @@ public interface IntIntMap extends PrimitiveMap<Integer, Integer> {
 	 */
 	@Override
 	boolean equals(Object obj);
-}
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+// このファイルはcodegen/templates/Iterable.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * intの要素それぞれに対する操作を提供するインターフェース
+ * @author YuyaAizawa
+ *
+ */
+interface IntIterable extends PrimitiveIterable<Integer, IntConsumer> {
+	@Override
+	PrimitiveIterator.OfInt iterator();
+
+	Spliterator.OfInt spliterator();
+
+	@Override
+	default void forEach(IntConsumer action) {
+		Objects.requireNonNull(action);
+		iterator().forEachRemaining(action);
+	}
+}
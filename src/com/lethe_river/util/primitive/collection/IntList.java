@@ -1,13 +1,19 @@
+// このファイルはcodegen/templates/List.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.List;
-import java.util.ListIterator;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
+/**
+ * プリミティブのintを扱う，順序付けられたコレクション.
+ *
+ * @author YuyaAizawa
+ *
+ */
 public interface IntList extends PrimitiveList<Integer>, IntCollection {
 
 	/**
@@ -214,7 +220,7 @@ public interface IntList extends PrimitiveList<Integer>, IntCollection {
 
 	/**
 	 * このリスト内の要素を逆順で繰り返し処理する反復子を返す．
-	 * @return このリスト要素の逆順繰り返し処理に関する{@link PrimitiveIterator}
+	 * @return このリスト要素の逆順繰り返し処理に関する反復子
 	 */
 	@Override
 	PrimitiveIterator.OfInt reversedIterator();
@@ -276,4 +282,3 @@ public interface IntList extends PrimitiveList<Integer>, IntCollection {
 		}
 	}
 }
-
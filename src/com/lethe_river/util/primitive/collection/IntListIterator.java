@@ -1,7 +1,7 @@
+// このファイルはcodegen/templates/ListIterator.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.ListIterator;
-import java.util.NoSuchElementException;
 import java.util.PrimitiveIterator;
 
 /**
@@ -32,7 +32,7 @@ public interface IntListIterator extends ListIterator<Integer>, PrimitiveIterato
 	}
 
 	/**
-	 * 指定された要素をリストに挿入する．挿入する位置はnextInt()が返す要素の直前，previousInt()が返す要素の直後.
+	 * 指定された要素をリストに挿入する(オプションの操作)．挿入する位置はnextInt()が返す要素の直前，previousInt()が返す要素の直後.
 	 * @param element
 	 */
 	void add(int e);
@@ -0,0 +1,58 @@
+// このファイルはcodegen/templates/KeyObjectCursor.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+public interface IntObjectCursor<V> extends PrimitiveMapEntryCursor<Integer, V> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean next();
+
+	/**
+	 * 現在のカーソルが指すキーを返す.
+	 * @return キー
+	 * @throws IllegalStateException カーソルの位置が不正な場合
+	 */
+	int key();
+
+	@Override
+	default Integer keyAsObject() {
+		return Integer.valueOf(key());
+	}
+
+	/**
+	 * 現在のカーソルが指すバリューを返す.
+	 * @return バリュー
+	 * @throws IllegalStateException カーソルの位置が不正な場合
+	 */
+	V value();
+
+	@Override
+	default V valueAsObject() {
+		return value();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	void remove();
+
+	/**
+	 * 現在のカーソルが指すバリューを更新する(オプションの操作)
+	 * @throws NullPointerException valueがnullの場合
+	 * @throws UnsupportedOperationException この機能がサポートされていない場合
+	 * @throws IllegalStateException カーソルの位置が不正な場合
+	 */
+	void setValue(V value);
+
+	/**
+	 * 空のカーソルを返す
+	 * @param <V> 像の型
+	 * @return 空のカーソル
+	 */
+	public static <V> IntObjectCursor<V> empty() {
+		return EmptyCursor.ofIntObject();
+	}
+}
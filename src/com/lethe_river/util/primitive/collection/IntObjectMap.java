@@ -0,0 +1,142 @@
+// このファイルはcodegen/templates/KeyObjectMap.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * intからオブジェクトへの写像
+ *
+ * 像にnullは格納できない．getなどがnullを返した場合は像が定義されていないことを表す．
+ * @author YuyaAizawa
+ *
+ * @param <V> 像の型
+ */
+public interface IntObjectMap<V> extends Serializable {
+
+	/**
+	 * この写像で定義された元と像の対応関係の数を返す．
+	 * @return 要素数
+	 */
+	int size();
+
+	/**
+	 * この写像が空ならtrueを返す.
+	 * @return 空ならtrue
+	 */
+	default boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * この写像で定義された対応関係を全て削除する(オプションの操作)
+	 */
+	void clear();
+
+	/**
+	 * 指定したint値がこのIntObjectMapの始域に含まれるか判定する
+	 * @param key
+	 * @return 含まれればtrue
+	 */
+	boolean containsKey(int key);
+
+	/**
+	 * 指定したオブジェクトがこのIntObjectMapの終域に含まれるか判定する
+	 * @param value
+	 * @return 含まれればtrue
+	 */
+	boolean containsValue(Object value);
+
+	/**
+	 * 指定した元に対する像を返す．
+	 * @param key 元
+	 * @return 像，定義されていなければnull
+	 */
+	V get(int key);
+
+	/**
+	 * 指定した元に対する像を返す．指定された元に対する像が定義されていないときはdefを返す．
+	 * @param key 元
+	 * @param def 像が存在しないときの値
+	 * @return 像またはdefで指定した値
+	 */
+	default V getOrDefault(int key, V def) {
+		V value = get(key);
+		return value == null ? def : value;
+	}
+
+	/**
+	 * 指定した元と像の対応をこの写像に定義する．既に同一の元に対する像が定義されていた場合置き換える．(オプションの操作)
+	 * @param key 元
+	 * @param value 像
+	 * @return 置き換えられた像，定義されていなければnull
+	 * @throws NullPointerException valueがnullの場合
+	 * @throws UnsupportedOperationException この操作に対応していない場合
+	 */
+	V put(int key, V value);
+
+	/**
+	 * 指定した元と像の対応をこの写像に定義するか，既に定義されている場合は更新する．
+	 * 更新は古い値をとり新しい値を返す関数を指定する．
+	 * @param key 元
+	 * @param value 像
+	 * @param updater 更新法
+	 * @throws NullPointerException valueまたは更新後の像がnullの場合
+	 * @throws UnsupportedOperationException この操作に対応していない場合
+	 */
+	void merge(int key, V value, UnaryOperator<V> updater);
+
+	/**
+	 * 指定した元に対する像を返す．像が定義されていなければmappingFunctionで計算してこの写像に定義する．(オプションの操作)
+	 *
+	 * mappingFunctionがnullを返した場合は何も定義せずnullを返す．
+	 * @param key 元
+	 * @param mappingFunction 像を計算する関数
+	 * @return 既存の像または計算した像
+	 * @throws UnsupportedOperationException この操作に対応していない場合
+	 */
+	V computeIfAbsent(int key, IntFunction<? extends V> mappingFunction);
+
+	/**
+	 * 指定した元をもつ対応関係をこの写像から取り除く
+	 * @param key 元
+	 * @return 取り除いた像，定義されていなければnull
+	 */
+	V remove(int key);
+
+	/**
+	 * この写像の始域を返す．戻り値への変更はこの写像へ反映される．
+	 * @return 始域
+	 */
+	IntSet keys();
+
+	/**
+	 * この写像の終域を返す．戻り値への変更はこの写像へ反映される．
+	 * @return 終域
+	 */
+	Collection<V> values();
+
+	/**
+	 * この写像の各元の対応関係を列挙するカーソルを返す．
+	 * @return 対応関係を列挙するカーソル
+	 */
+	IntObjectCursor<V> entryCursor();
+
+	/**
+	 * 指定されたオブジェクトがこの写像と同値か判定する．
+	 * 元と像の対応関係が完全に一致すればtrue.
+	 * IntObjectMap以外に対しては常にfalse.
+	 * @param obj
+	 * @return
+	 */
+	@Override
+	boolean equals(Object obj);
+
+	/**
+	 * 各対応関係(k, v)に対してInteger.hashCode(k) ^ v.hashCode()の総和を返す
+	 */
+	@Override
+	int hashCode();
+}
@@ -1,5 +1,7 @@
+// このファイルはcodegen/templates/Set.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
+import java.util.Arrays;
 import java.util.PrimitiveIterator;
 import java.util.Set;
 import java.util.Spliterator;
@@ -115,6 +117,45 @@ public interface IntSet extends PrimitiveSet<Integer>, IntCollection {
 	@Override
 	boolean retainAll(IntCollection is);
 
+	/**
+	 * 指定した配列の各要素がこの集合に含まれるか判定し，結果をビットマスクに書き込む.
+	 * in[i]が含まれるとき，bitmaskOut[i/64]のi%64ビット目が1になる．
+	 * @param in 判定する要素の配列
+	 * @param bitmaskOut 結果を書き込む配列
+	 * @return 含まれていた要素の数
+	 * @throws ArrayIndexOutOfBoundsException bitmaskOutの長さが足りないとき
+	 */
+	default int containsMask(int[] in, long[] bitmaskOut) {
+		return containsMask(in, 0, in.length, bitmaskOut);
+	}
+
+	/**
+	 * 指定した配列の範囲の各要素がこの集合に含まれるか判定し，結果をビットマスクに書き込む.
+	 * in[offset+i]が含まれるとき，bitmaskOut[i/64]のi%64ビット目が1になる．
+	 * bitmaskOutの先頭から(length+63)/64個の要素は上書きされる．
+	 *
+	 * 実装は複数の要素の探索をまとめて行い，メモリアクセスの待ち時間を重ねることが望ましい．
+	 * @param in 判定する要素の配列
+	 * @param offset 開始インデックス
+	 * @param length 要素の数
+	 * @param bitmaskOut 結果を書き込む配列
+	 * @return 含まれていた要素の数
+	 * @throws ArrayIndexOutOfBoundsException offsetまたはlengthが不正なとき，bitmaskOutの長さが足りないとき
+	 */
+	default int containsMask(int[] in, int offset, int length, long[] bitmaskOut) {
+		PrimitiveSupport.checkBounds(in, offset, length);
+		PrimitiveSupport.checkBounds(bitmaskOut, 0, (length+63)>>>6);
+		Arrays.fill(bitmaskOut, 0, (length+63)>>>6, 0L);
+		int count = 0;
+		for (int i = 0; i < length; i++) {
+			if(contains(in[offset + i])) {
+				bitmaskOut[i>>>6] |= 1L << i;
+				count++;
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * 指定した集合の要素すべてがこの集合に含まれるか判定する.
 	 * @param is
@@ -156,4 +197,3 @@ public interface IntSet extends PrimitiveSet<Integer>, IntCollection {
 		}
 	}
 }
-
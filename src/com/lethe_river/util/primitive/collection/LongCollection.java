@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/Collection.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 import java.util.Collection;
@@ -13,7 +14,7 @@ import java.util.stream.StreamSupport;
  * @author YuyaAizawa
  *
  */
-public interface LongCollection extends PrimitiveCollection<Long> ,LongIterable {
+public interface LongCollection extends PrimitiveCollection<Long>, LongIterable {
 	/**
 	 * {@inheritDoc}
 	 */
@@ -67,7 +68,7 @@ public interface LongCollection extends PrimitiveCollection<Long> ,LongIterable
 	 *
 	 * @throws UnsupportedOperationException 操作がサポートされていない場合
 	 */
-	boolean add(long i);
+	boolean add(long l);
 
 	/**
 	 * 指定された要素すべてをこのコレクションに追加する(オプションの操作).
@@ -104,7 +105,7 @@ public interface LongCollection extends PrimitiveCollection<Long> ,LongIterable
 	 * @throws UnsupportedOperationException 操作がサポートされていない場合
 	 * @throws NullPointerException コレクションがnullだった場合
 	 */
-	boolean addAll(LongCollection is);
+	boolean addAll(LongCollection ls);
 
 	/**
 	 * 指定された要素をこのコレクションから削除する(オプションの操作).
@@ -114,7 +115,7 @@ public interface LongCollection extends PrimitiveCollection<Long> ,LongIterable
 	 *
 	 * @throws UnsupportedOperationException 操作がサポートされていない場合
 	 */
-	boolean remove(long i);
+	boolean remove(long l);
 
 	/**
 	 * 指定された要素すべてをこのコレクションから削除する(オプションの操作).
@@ -195,9 +196,9 @@ public interface LongCollection extends PrimitiveCollection<Long> ,LongIterable
 	}
 
 	/**
-	 * このコレクションのCollection&lt;Integer&gt;のビューを返す.
+	 * このコレクションのCollection&lt;Long&gt;のビューを返す.
 	 * ビューに対する操作はこのインタンスに反映される．
-	 * @return このIntCollectionのCollection&lt;Integer&gt;のビュー
+	 * @return このLongCollectionのCollection&lt;Long&gt;のビュー
 	 */
 	@Override
 	default Collection<Long> boxedView() {
@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/KeyValueCursor.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
 public interface LongIntCursor extends PrimitiveMapEntryCursor<Long, Integer> {
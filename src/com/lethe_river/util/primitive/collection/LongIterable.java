@@ -0,0 +1,25 @@
+// このファイルはcodegen/templates/Iterable.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+/**
+ * longの要素それぞれに対する操作を提供するインターフェース
+ * @author YuyaAizawa
+ *
+ */
+interface LongIterable extends PrimitiveIterable<Long, LongConsumer> {
+	@Override
+	PrimitiveIterator.OfLong iterator();
+
+	Spliterator.OfLong spliterator();
+
+	@Override
+	default void forEach(LongConsumer action) {
+		Objects.requireNonNull(action);
+		iterator().forEachRemaining(action);
+	}
+}
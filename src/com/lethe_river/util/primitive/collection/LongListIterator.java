@@ -0,0 +1,69 @@
+// このファイルはcodegen/templates/ListIterator.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.ListIterator;
+import java.util.PrimitiveIterator;
+
+/**
+ * ListIteratorのプリミティブ版
+ * @author YuyaAizawa
+ *
+ */
+public interface LongListIterator extends ListIterator<Long>, PrimitiveIterator.OfLong {
+
+	@Override
+	default void add(Long e) {
+		add(e.longValue());
+	}
+
+	@Override
+	default Long next() {
+		return Long.valueOf(nextLong());
+	}
+
+	@Override
+	default Long previous() {
+		return Long.valueOf(previousLong());
+	}
+
+	@Override
+	default void set(Long e) {
+		set(e.longValue());
+	}
+
+	/**
+	 * 指定された要素をリストに挿入する(オプションの操作)．挿入する位置はnextLong()が返す要素の直前，previousLong()が返す要素の直後.
+	 * @param element
+	 */
+	void add(long e);
+
+	/**
+	 * リスト内の次の要素を返す．
+	 * @return 次の要素
+	 * @throws NoSuchElementException 次の要素がない場合
+	 */
+	@Override
+	long nextLong();
+
+	/**
+	 * リスト内の前の要素を返す
+	 * @return 前の要素
+	 * @throws NoSuchElementException 前の要素がない場合
+	 */
+	long previousLong();
+
+	/**
+	 * next()またはprevious()から最後に返された要素を指定された要素で置き換える(オプションの操作).
+	 * 最後のnext(), previous()の呼び出しからremove(),add(long)のどちらも呼ばれていないときのみ行える
+	 * @param e
+	 */
+	void set(long e);
+
+	/**
+	 * 空のLongListIteratorのシングルトンインスタンスを返す．
+	 * @return 空のLongListIterator
+	 */
+	static LongListIterator empty() {
+		return EmptyListIterator.ofLong();
+	}
+}
@@ -0,0 +1,56 @@
+// このファイルはcodegen/templates/KeyValueCursor.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+public interface LongLongCursor extends PrimitiveMapEntryCursor<Long, Long> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean next();
+
+	/**
+	 * 現在のカーソルが指すキーを返す.
+	 * @return キー
+	 * @throws IllegalStateException カーソルの位置が不正な場合
+	 */
+	long key();
+
+	@Override
+	default Long keyAsObject() {
+		return Long.valueOf(key());
+	}
+
+	/**
+	 * 現在のカーソルが指すバリューを返す.
+	 * @return バリュー
+	 * @throws IllegalStateException カーソルの位置が不正な場合
+	 */
+	long value();
+
+	@Override
+	default Long valueAsObject() {
+		return Long.valueOf(value());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	void remove();
+
+	/**
+	 * 現在のカーソルが指すバリューを更新する(オプションの操作)
+	 * @throws UnsupportedOperationException この機能がサポートされていない場合
+	 * @throws IllegalStateException カーソルの位置が不正な場合
+	 */
+	void setValue(long value);
+
+	/**
+	 * 空のカーソルを返す
+	 * @return 空のカーソル
+	 */
+	public static LongLongCursor empty() {
+		return EmptyCursor.ofLongLong();
+	}
+}
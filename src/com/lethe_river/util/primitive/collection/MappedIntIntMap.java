@@ -0,0 +1,613 @@
+package com.lethe_river.util.primitive.collection;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntUnaryOperator;
+
+import com.lethe_river.util.primitive.HashSupport;
+
+/**
+ * ファイルをマップして読み出す読み取り専用のIntIntMap
+ *
+ * {@link #write(IntIntMap, Path)}で書き出したハッシュテーブルを{@link #open(Path)}でそのままマップし，
+ * getなどはマップした領域を直接探索する．開くときにエントリを読み込んでテーブルを作り直すことはない．
+ * 変更する操作はUnsupportedOperationExceptionを投げる．変更されないため複数のスレッドから同時に読み出してよい．
+ * {@link #close()}でアンマップし，以降の操作はIllegalStateExceptionを投げる．
+ *
+ * ファイルの形式(リトルエンディアン)
+ *
+ * - ヘッダ(64バイト)
+ *   - 0: マジックナンバー(int) "PCIM"
+ *   - 4: 形式のバージョン(int) 1
+ *   - 8: ハッシュ関数の種類(int) 1: {@link HashSupport#thomasMueller(long)}(key ^ salt)
+ *   - 12: フラグ(int) bit0: NULLのkey(0)を含む
+ *   - 16: NULLのkeyのvalue(int)
+ *   - 24: テーブルの長さ(long) 2の冪
+ *   - 32: エントリの数(long) NULLのkeyを含む
+ *   - 40: salt(long)
+ *   - 残りは予約(0)
+ * - テーブル
+ *   - key(int)とvalue(int)の組をテーブルの長さだけ並べる．keyがNULLの組は空き
+ *   - keyの位置はハッシュ&(長さ-1)から始まるliner probingで決める
+ *
+ * @author YuyaAizawa
+ *
+ */
+@SuppressWarnings("serial") // 直列化しない
+public final class MappedIntIntMap implements IntIntMap, AutoCloseable {
+
+	// NULLをあらわす数字
+	private static final int NULL = 0;
+
+	private static final int MAGIC = 0x4D494350; // "PCIM"
+	private static final int VERSION = 1;
+	private static final int HASH_THOMAS_MUELLER = 1;
+	private static final int FLAG_NULL_KEY = 1;
+
+	// ヘッダ内の位置
+	private static final int MAGIC_OFFSET = 0;
+	private static final int VERSION_OFFSET = 4;
+	private static final int HASH_OFFSET = 8;
+	private static final int FLAGS_OFFSET = 12;
+	private static final int NULL_VALUE_OFFSET = 16;
+	private static final int LENGTH_OFFSET = 24;
+	private static final int SIZE_OFFSET = 32;
+	private static final int SALT_OFFSET = 40;
+	private static final int HEADER_SIZE = 64;
+
+	// エントリのバイト数 keyとvalueを並べて置く
+	private static final int SLOT = 8;
+	private static final int VALUE_OFFSET = 4;
+
+	private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+	private static final long MIN_CAPACITY = 16;
+	private static final long MAX_CAPACITY = 1L<<36;
+
+	// マップしたファイル closeされたらnull
+	private OffHeapMemory file;
+
+	// テーブルの長さ-1
+	private final long mask;
+
+	// NULLのkeyを含むか
+	private final boolean nullKey;
+	private final int nullValue;
+
+	// 要素数の合計
+	private final long size;
+
+	// ハッシュ関数のsalt
+	private final long salt;
+
+	private MappedIntIntMap(OffHeapMemory file, long mask, boolean nullKey, int nullValue, long size, long salt) {
+		this.file = file;
+		this.mask = mask;
+		this.nullKey = nullKey;
+		this.nullValue = nullValue;
+		this.size = size;
+		this.salt = salt;
+	}
+
+	/**
+	 * 指定したファイルをマップしてMappedIntIntMapを生成する.
+	 * @param path {@link #write(IntIntMap, Path)}で書き出したファイル
+	 * @return ファイルを読み出すMappedIntIntMap
+	 * @throws IOException 読み込みに失敗したとき，またはファイルの形式が正しくないとき
+	 */
+	public static MappedIntIntMap open(Path path) throws IOException {
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long fileSize = channel.size();
+			if(fileSize < HEADER_SIZE) {
+				throw new IOException("Invalid format: "+path);
+			}
+			OffHeapMemory file = OffHeapMemory.map(channel, FileChannel.MapMode.READ_ONLY, fileSize);
+			try {
+				long length = file.getLong(LENGTH_OFFSET);
+				boolean nullKey = (file.getInt(FLAGS_OFFSET) & FLAG_NULL_KEY) != 0;
+				long size = file.getLong(SIZE_OFFSET);
+				// テーブルに空きが無いと探索が終わらない
+				long tableSize = nullKey ? size - 1 : size;
+				if(file.getInt(MAGIC_OFFSET) != MAGIC
+						|| file.getInt(VERSION_OFFSET) != VERSION
+						|| file.getInt(HASH_OFFSET) != HASH_THOMAS_MUELLER
+						|| length < MIN_CAPACITY || MAX_CAPACITY < length || Long.bitCount(length) != 1
+						|| fileSize != HEADER_SIZE + length * SLOT
+						|| tableSize < 0 || length <= tableSize) {
+					throw new IOException("Invalid format: "+path);
+				}
+				return new MappedIntIntMap(
+						file,
+						length - 1,
+						nullKey,
+						file.getInt(NULL_VALUE_OFFSET),
+						size,
+						file.getLong(SALT_OFFSET));
+			} catch(IOException | RuntimeException e) {
+				file.close();
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * 指定したマップのエントリをMappedIntIntMapの形式でファイルに書き出す.
+	 *
+	 * 負荷係数はデフォルトの値(0.75)が用いられる
+	 * @param map 書き出すマップ
+	 * @param path 書き出し先．既存のファイルは上書きされる
+	 * @throws IOException 書き出しに失敗したとき
+	 */
+	public static void write(IntIntMap map, Path path) throws IOException {
+		write(map, path, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * 指定したマップのエントリを負荷係数を指定してMappedIntIntMapの形式でファイルに書き出す.
+	 *
+	 * テーブルはファイルをマップした領域の上に直接作る．ヘッダは最後に書くため，
+	 * 書き出しが途中で失敗したファイルは{@link #open(Path)}で開けない．
+	 * @param map 書き出すマップ
+	 * @param path 書き出し先．既存のファイルは上書きされる
+	 * @param loadFactor 負荷係数
+	 * @throws IOException 書き出しに失敗したとき
+	 * @throws ConcurrentModificationException 書き出し中にマップが変更されたとき
+	 */
+	public static void write(IntIntMap map, Path path, float loadFactor) throws IOException {
+		if(!(loadFactor > 0 && loadFactor < 1)) {
+			throw new IllegalArgumentException("loadFactor : "+loadFactor);
+		}
+		long count = sizeOf(map);
+		long length = lengthFor((long) (count / (double) loadFactor) + 1);
+		long capacity = (long) (length * (double) loadFactor);
+		if(capacity < count) {
+			throw new RuntimeException("Too many entries!");
+		}
+		long mask = length - 1;
+		long salt = ThreadLocalRandom.current().nextLong();
+
+		try(FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+				OffHeapMemory file = OffHeapMemory.map(channel, FileChannel.MapMode.READ_WRITE, HEADER_SIZE + length * SLOT)) {
+
+			boolean nullKey = false;
+			int nullValue = 0;
+			// 書き出したエントリの数．ヘッダにはこれを書く
+			long size = 0;
+			for(IntIntCursor cursor = map.entryCursor();cursor.next();) {
+				if(++size > capacity) {
+					throw new ConcurrentModificationException();
+				}
+				int key = cursor.key();
+				if(key == NULL) {
+					nullKey = true;
+					nullValue = cursor.value();
+					continue;
+				}
+				long index = hash(salt, key) & mask;
+				while(file.getInt(HEADER_SIZE + index * SLOT) != NULL) {
+					index = (index + 1) & mask;
+				}
+				file.putInt(HEADER_SIZE + index * SLOT, key);
+				file.putInt(HEADER_SIZE + index * SLOT + VALUE_OFFSET, cursor.value());
+			}
+
+			file.putInt(VERSION_OFFSET, VERSION);
+			file.putInt(HASH_OFFSET, HASH_THOMAS_MUELLER);
+			file.putInt(FLAGS_OFFSET, nullKey ? FLAG_NULL_KEY : 0);
+			file.putInt(NULL_VALUE_OFFSET, nullValue);
+			file.putLong(LENGTH_OFFSET, length);
+			file.putLong(SIZE_OFFSET, size);
+			file.putLong(SALT_OFFSET, salt);
+			file.putInt(MAGIC_OFFSET, MAGIC);
+			file.force();
+		}
+	}
+
+	/**
+	 * 指定したマップのエントリの数を返す.
+	 * {@link #size()}はintの範囲を超えると{@link Integer#MAX_VALUE}を返すため，long値で数えられる実装ではそれを用いる．
+	 * @param map マップ
+	 * @return エントリの数
+	 */
+	private static long sizeOf(IntIntMap map) {
+		if(map instanceof OffHeapIntIntMap) {
+			return ((OffHeapIntIntMap) map).size64();
+		}
+		if(map instanceof MappedIntIntMap) {
+			return ((MappedIntIntMap) map).size64();
+		}
+		return map.size();
+	}
+
+	/**
+	 * 指定した容量に対するテーブルの長さを返す.
+	 * @param capacity 容量
+	 * @return MIN_CAPACITY以上の2の冪
+	 */
+	private static long lengthFor(long capacity) {
+		if(capacity <= MIN_CAPACITY) {
+			return MIN_CAPACITY;
+		}
+		return Long.highestOneBit(Math.min(capacity, MAX_CAPACITY)-1) << 1;
+	}
+
+	/**
+	 * keyのテーブル上での位置を決めるためのhashを返す．
+	 * {@link #hashCode()}とは無関係
+	 * @param salt ファイルごとのsalt
+	 * @param key key
+	 * @return keyのハッシュ
+	 */
+	private static long hash(long salt, int key) {
+		return HashSupport.thomasMueller(key ^ salt);
+	}
+
+	/**
+	 * マップしたファイルを返す.
+	 * @return マップしたファイル
+	 * @throws IllegalStateException closeされていたとき
+	 */
+	private OffHeapMemory file() {
+		OffHeapMemory file = this.file;
+		if(file == null) {
+			throw new IllegalStateException("closed");
+		}
+		return file;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * 要素数がintの範囲を超える場合は{@link Integer#MAX_VALUE}を返す．
+	 */
+	@Override
+	public int size() {
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * このマップのエントリの数を返す.
+	 * @return エントリの数
+	 */
+	public long size64() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(int key) {
+		if(key == NULL) {
+			return nullKey;
+		}
+		return find(key) != -1;
+	}
+
+	@Override
+	public boolean containsValue(int value) {
+		if(nullKey && nullValue == value) {
+			return true;
+		}
+		OffHeapMemory file = file();
+		for (long i = 0; i <= mask; i++) {
+			long offset = HEADER_SIZE + i * SLOT;
+			if(file.getInt(offset) != NULL && file.getInt(offset + VALUE_OFFSET) == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int get(int key) {
+		if(key == NULL) {
+			if(!nullKey) {
+				throw new NoSuchElementException("key: "+key);
+			}
+			return nullValue;
+		}
+
+		long index = find(key);
+		if(index == -1) {
+			throw new NoSuchElementException("key: "+key);
+		}
+		return file.getInt(HEADER_SIZE + index * SLOT + VALUE_OFFSET);
+	}
+
+	@Override
+	public int getOrDefault(int key, int def) {
+		if(key == NULL) {
+			return nullKey ? nullValue : def;
+		}
+
+		long index = find(key);
+		return index == -1 ? def : file.getInt(HEADER_SIZE + index * SLOT + VALUE_OFFSET);
+	}
+
+	/**
+	 * 指定したkeyが格納されている位置を返す.
+	 * @param key NULL以外のkey
+	 * @return keyの位置，存在しなければ-1
+	 */
+	private long find(int key) {
+		OffHeapMemory file = file();
+		long mask = this.mask;
+		for(long index = hash(salt, key) & mask;;index = (index + 1) & mask) {
+			int k = file.getInt(HEADER_SIZE + index * SLOT);
+			if(k == key) {
+				return index;
+			}
+			if(k == NULL) {
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * サポートされない.
+	 * @throws UnsupportedOperationException 常に
+	 */
+	@Override
+	public void merge(int key, int value, IntUnaryOperator updater) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * サポートされない.
+	 * @throws UnsupportedOperationException 常に
+	 */
+	@Override
+	public boolean remove(int key) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * サポートされない.
+	 * @throws UnsupportedOperationException 常に
+	 */
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public IntSet keys() {
+		return new KeySet();
+	}
+
+	@Override
+	public IntCollection values() {
+		return new ValueCollection();
+	}
+
+	@Override
+	public IntIntCursor entryCursor() {
+		return new EntryCursor();
+	}
+
+	/**
+	 * ファイルをアンマップする．以降の操作はIllegalStateExceptionを投げる.
+	 * 既にcloseされていれば何もしない．他のスレッドが読み出している間に呼んではならない．
+	 */
+	@Override
+	public void close() {
+		if(file == null) {
+			return;
+		}
+		file.close();
+		file = null;
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if(object == this) {
+			return true;
+		}
+		if(object == null || !(object instanceof IntIntMap)) {
+			return false;
+		}
+		IntIntMap target = (IntIntMap) object;
+		if(target.size() != size()) {
+			return false;
+		}
+
+		IntIntCursor entries = target.entryCursor();
+		while(entries.next()) {
+			if(getOrDefault(entries.key(), entries.value()+1) != entries.value()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int sum = 0;
+		IntIntCursor cursor = entryCursor();
+		while(cursor.next()) {
+			sum += cursor.key() ^ cursor.value();
+		}
+		return sum;
+	}
+
+	/**
+	 * テーブル上のエントリを先頭から順に辿る.
+	 * NULLのkeyのエントリを最初に返す．
+	 */
+	private class TableWalker {
+
+		// 現在の位置 NULLのkeyのエントリなら-1
+		long index = -2;
+
+		/**
+		 * 次のエントリに進む
+		 * @return エントリがあればtrue
+		 */
+		boolean advance() {
+			if(index == -2) {
+				index = -1;
+				if(nullKey) {
+					return true;
+				}
+			}
+			OffHeapMemory file = file();
+			while(index < mask) {
+				index++;
+				if(file.getInt(HEADER_SIZE + index * SLOT) != NULL) {
+					return true;
+				}
+			}
+			index = mask + 1;
+			return false;
+		}
+
+		boolean hasCurrent() {
+			return -1 <= index && index <= mask;
+		}
+
+		int key() {
+			return index == -1 ? NULL : file().getInt(HEADER_SIZE + index * SLOT);
+		}
+
+		int value() {
+			return index == -1 ? nullValue : file().getInt(HEADER_SIZE + index * SLOT + VALUE_OFFSET);
+		}
+	}
+
+	private class KeySet extends AbstractIntSet {
+
+		@Override
+		public int size() {
+			return MappedIntIntMap.this.size();
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator() {
+			// 1つ目は0を返す
+			return new PrimitiveIterator.OfInt() {
+
+				final TableWalker walker = new TableWalker();
+
+				// nextで返した数
+				long replied = 0;
+
+				@Override
+				public boolean hasNext() {
+					return replied < size;
+				}
+
+				@Override
+				public int nextInt() {
+					if(!walker.advance()) {
+						throw new NoSuchElementException();
+					}
+					replied++;
+					return walker.key();
+				}
+			};
+		}
+
+		@Override
+		public boolean contains(int i) {
+			return MappedIntIntMap.this.containsKey(i);
+		}
+	}
+
+	private class ValueCollection extends AbstractIntCollection {
+
+		@Override
+		public int size() {
+			return MappedIntIntMap.this.size();
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator() {
+			// 1つ目は0を返す
+			return new PrimitiveIterator.OfInt() {
+
+				final TableWalker walker = new TableWalker();
+
+				// nextで返した数
+				long replied = 0;
+
+				@Override
+				public boolean hasNext() {
+					return replied < size;
+				}
+
+				@Override
+				public int nextInt() {
+					if(!walker.advance()) {
+						throw new NoSuchElementException();
+					}
+					replied++;
+					return walker.value();
+				}
+			};
+		}
+	}
+
+	private class EntryCursor implements IntIntCursor {
+
+		final TableWalker walker = new TableWalker();
+
+		@Override
+		public boolean next() {
+			return walker.advance();
+		}
+
+		@Override
+		public int key() {
+			checkPosition();
+			return walker.key();
+		}
+
+		@Override
+		public int value() {
+			checkPosition();
+			return walker.value();
+		}
+
+		/**
+		 * サポートされない.
+		 * @throws UnsupportedOperationException 常に
+		 */
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * サポートされない.
+		 * @throws UnsupportedOperationException 常に
+		 */
+		@Override
+		public void setValue(int value) {
+			throw new UnsupportedOperationException();
+		}
+
+		private void checkPosition() {
+			if(!walker.hasCurrent()) {
+				throw new IllegalStateException();
+			}
+		}
+	}
+
+	private void writeObject(ObjectOutputStream s) throws NotSerializableException {
+		// 数億件を直列化するよりファイルを共有する方がよい
+		throw new NotSerializableException(MappedIntIntMap.class.getName());
+	}
+
+	private void readObject(ObjectInputStream s) throws InvalidObjectException {
+		throw new InvalidObjectException("Not serializable");
+	}
+}
@@ -0,0 +1,868 @@
+// このファイルはcodegen/templates/OffHeapKeyValueMap.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.IntUnaryOperator;
+
+import com.lethe_river.util.primitive.HashSupport;
+import com.lethe_river.util.primitive.LongLongHash;
+
+/**
+ * テーブルをヒープ外のメモリに置くIntIntMapの実装
+ *
+ * - open address
+ * - power of two bucket
+ * - liner probing
+ * - backward shift deletion
+ *
+ * テーブルの位置はlong値で扱うため，要素数がintの範囲を超えても格納できる．
+ * そのときの要素数は{@link #size64()}で得られる．{@link #size()}は{@link Integer#MAX_VALUE}を返す．
+ * テーブルはGCの対象とならず，{@link #close()}で即座に解放される．close後に操作するとIllegalStateExceptionを投げる．
+ * テーブルはdirect ByteBufferとして確保するため，その合計は-XX:MaxDirectMemorySizeで制限される．
+ *
+ * @author YuyaAizawa
+ *
+ */
+@SuppressWarnings("serial") // SerializationProxyに委譲
+public final class OffHeapIntIntMap implements IntIntMap, AutoCloseable {
+
+	// NULLをあらわす数字
+	private static final int NULL = 0;
+
+	// エントリのバイト数 keyとvalueを並べて置く
+	private static final int SLOT = 8;
+	private static final int VALUE_OFFSET = 4;
+
+	private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+	private static final long MIN_CAPACITY = 16;
+	private static final long MAX_CAPACITY = 1L<<36;
+
+	// keyとvalueを格納するテーブル closeされたらnull
+	private OffHeapMemory table;
+
+	// テーブルの長さ-1
+	private long mask;
+
+	// NULLのkeyを含むか
+	private boolean nullKey;
+	private int nullValue;
+
+	// 要素数の合計
+	private long size;
+
+	// 負荷係数
+	private final float loadFactor;
+
+	// keyの位置を決めるハッシュ関数
+	private final LongLongHash hashFunction;
+
+	// 次にリハッシュする容量
+	private long threshold;
+
+	// 構造的変更検出用
+	private int modCount;
+
+	/**
+	 * 初期容量，負荷係数とハッシュ関数を指定してOffHeapIntIntMapを生成する.
+	 *
+	 * ハッシュ関数は下位ビットがよく撹拌されるものを選ぶこと．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 * @param hashFunction keyの位置を決めるハッシュ関数
+	 */
+	public OffHeapIntIntMap(long initCapacity, float loadFactor, LongLongHash hashFunction) {
+		if(initCapacity < 0) {
+			throw new IllegalArgumentException("initCapacity must be positive :"+initCapacity);
+		}
+		if(!(loadFactor > 0 && loadFactor < 1)) {
+			throw new IllegalArgumentException("loadFactor : "+loadFactor);
+		}
+		this.loadFactor = loadFactor;
+		this.hashFunction = Objects.requireNonNull(hashFunction);
+		allocate(lengthFor(initCapacity));
+		nullKey = false;
+		size = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * 初期容量と負荷係数を指定してOffHeapIntIntMapを生成する.
+	 *
+	 * ハッシュ関数にはインスタンスごとにsaltを乱数で選んだ{@link HashSupport#randomizedThomasMueller()}が用いられる．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 */
+	public OffHeapIntIntMap(long initCapacity, float loadFactor) {
+		this(initCapacity, loadFactor, HashSupport.randomizedThomasMueller());
+	}
+
+	/**
+	 * 初期容量を指定してOffHeapIntIntMapを生成する.
+	 *
+	 * 負荷係数はデフォルトの値(0.75)が用いられる
+	 * @param initCapacity 初期容量
+	 */
+	public OffHeapIntIntMap(long initCapacity) {
+		this(initCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * デフォルトの初期容量(16)と負荷係数を利用してOffHeapIntIntMapを生成する.
+	 */
+	public OffHeapIntIntMap() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * 指定した容量に対するテーブルの長さを返す.
+	 * @param capacity 容量
+	 * @return MIN_CAPACITY以上の2の冪
+	 */
+	private static long lengthFor(long capacity) {
+		if(capacity <= MIN_CAPACITY) {
+			return MIN_CAPACITY;
+		}
+		return Long.highestOneBit(Math.min(capacity, MAX_CAPACITY)-1) << 1;
+	}
+
+	private void allocate(long length) {
+		table = new OffHeapMemory(length * SLOT);
+		mask = length - 1;
+		threshold = (long) (length * (double) loadFactor);
+	}
+
+	/**
+	 * テーブルを返す.
+	 * @return テーブル
+	 * @throws IllegalStateException closeされていたとき
+	 */
+	private OffHeapMemory table() {
+		OffHeapMemory table = this.table;
+		if(table == null) {
+			throw new IllegalStateException("closed");
+		}
+		return table;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * 要素数がintの範囲を超える場合は{@link Integer#MAX_VALUE}を返す．
+	 */
+	@Override
+	public int size() {
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * このマップのエントリの数を返す.
+	 * @return エントリの数
+	 */
+	public long size64() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(int key) {
+		table();
+		if(key == NULL) {
+			return nullKey;
+		}
+		return find(key) != -1;
+	}
+
+	@Override
+	public boolean containsValue(int value) {
+		OffHeapMemory table = table();
+		if(nullKey && nullValue == value) {
+			return true;
+		}
+		for (long i = 0; i <= mask; i++) {
+			if(table.getInt(i * SLOT) != NULL && table.getInt(i * SLOT + VALUE_OFFSET) == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		table().clear();
+		nullKey = false;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public int get(int key) {
+		table();
+		if(key == NULL) {
+			if(!nullKey) {
+				throw new NoSuchElementException("key: "+key);
+			}
+			return nullValue;
+		}
+
+		long index = find(key);
+		if(index == -1) {
+			throw new NoSuchElementException("key: "+key);
+		}
+		return table.getInt(index * SLOT + VALUE_OFFSET);
+	}
+
+	@Override
+	public int getOrDefault(int key, int def) {
+		table();
+		if(key == NULL) {
+			return nullKey ? nullValue : def;
+		}
+
+		long index = find(key);
+		return index == -1 ? def : table.getInt(index * SLOT + VALUE_OFFSET);
+	}
+
+	/**
+	 * 指定したkeyが格納されている位置を返す.
+	 * @param key NULL以外のkey
+	 * @return keyの位置，存在しなければ-1
+	 */
+	private long find(int key) {
+		OffHeapMemory table = table();
+		long mask = this.mask;
+		for(long index = hash(key) & mask;;index = (index + 1) & mask) {
+			int k = table.getInt(index * SLOT);
+			if(k == key) {
+				return index;
+			}
+			if(k == NULL) {
+				return -1;
+			}
+		}
+	}
+
+	@Override
+	public void put(int key, int value) {
+		table();
+		if(key == NULL) {
+			if(!nullKey) {
+				nullKey = true;
+				size++;
+				modCount++;
+			}
+			nullValue = value;
+			return;
+		}
+
+		long index = insertionIndex(key);
+		table.putInt((index < 0 ? ~index : index) * SLOT + VALUE_OFFSET, value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void merge(int key, int value, IntUnaryOperator updater) {
+		table();
+		if(key == NULL) {
+			if(!nullKey) {
+				nullKey = true;
+				nullValue = value;
+				size++;
+				modCount++;
+			} else {
+				nullValue = updater.applyAsInt(nullValue);
+			}
+			return;
+		}
+
+		long index = insertionIndex(key);
+		if(index < 0) {
+			table.putInt(~index * SLOT + VALUE_OFFSET, value);
+		} else {
+			long offset = index * SLOT + VALUE_OFFSET;
+			table.putInt(offset, updater.applyAsInt(table.getInt(offset)));
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getAndAdd(int key, int delta) {
+		table();
+		if(key == NULL) {
+			int old = nullKey ? nullValue : 0;
+			if(!nullKey) {
+				nullKey = true;
+				size++;
+				modCount++;
+			}
+			nullValue = old + delta;
+			return old;
+		}
+
+		long index = insertionIndex(key);
+		long offset = (index < 0 ? ~index : index) * SLOT + VALUE_OFFSET;
+		int old = table.getInt(offset);
+		table.putInt(offset, old + delta);
+		return old;
+	}
+
+	/**
+	 * 指定したkeyのエントリの位置を返す.
+	 * keyが無ければvalueを0として追加し，その位置をビット反転した値を返す．
+	 * @param key NULL以外のkey
+	 * @return 既存のエントリの位置，または追加したエントリの位置のビット反転
+	 */
+	private long insertionIndex(int key) {
+		try {
+			ensureCapacity(size+1);
+		} catch(IllegalArgumentException e) {
+			throw new RuntimeException("Too many entries!");
+		}
+
+		OffHeapMemory table = this.table;
+		long mask = this.mask;
+		long index = hash(key) & mask;
+		for(;;index = (index + 1) & mask) {
+			int k = table.getInt(index * SLOT);
+			if(k == key) {
+				return index;
+			}
+			if(k == NULL) {
+				break;
+			}
+		}
+		table.putInt(index * SLOT, key);
+		table.putInt(index * SLOT + VALUE_OFFSET, 0);
+		size++;
+		modCount++;
+		return ~index;
+	}
+
+	@Override
+	public boolean remove(int key) {
+		table();
+		if(key == NULL) {
+			if(nullKey) {
+				nullKey = false;
+				size--;
+				modCount++;
+				return true;
+			}
+			return false;
+		}
+
+		long index = find(key);
+		if(index == -1) {
+			return false;
+		}
+		pull(index);
+		size--;
+		return true;
+	}
+
+	/**
+	 * 指定した位置のエントリを削除する.
+	 * 後続の要素のうち，本来の位置から空いた位置までの間にあるものを空いた位置へ詰めることを空きに達するまで繰り返す(backward shift deletion)．
+	 * @param index エントリの位置
+	 */
+	private void pull(long index) {
+		OffHeapMemory table = this.table;
+		long mask = this.mask;
+		long hole = index;
+		for(long src = (index + 1) & mask;;src = (src + 1) & mask) {
+			int k = table.getInt(src * SLOT);
+			if(k == NULL) {
+				break;
+			}
+			long home = hash(k) & mask;
+			if(((src - home) & mask) >= ((src - hole) & mask)) {
+				table.putInt(hole * SLOT, k);
+				table.putInt(hole * SLOT + VALUE_OFFSET, table.getInt(src * SLOT + VALUE_OFFSET));
+				hole = src;
+			}
+		}
+		table.putInt(hole * SLOT, NULL);
+		modCount++;
+	}
+
+	@Override
+	public IntSet keys() {
+		return new KeySet();
+	}
+
+	@Override
+	public IntCollection values() {
+		return new ValueCollection();
+	}
+
+	@Override
+	public IntIntCursor entryCursor() {
+		return new EntryCursor();
+	}
+
+	/**
+	 * 指定した容量を格納できるようこのOffHeapIntIntMapのテーブルを拡張する.
+	 * @param minCapacity 保持するエントリの数
+	 * @throws IllegalArgumentException minCapacityが[1, 最大容量]の範囲外だったとき
+	 */
+	public void ensureCapacity(long minCapacity) {
+		if(minCapacity <= 0 || (long) (MAX_CAPACITY * (double) loadFactor) < minCapacity) {
+			throw new IllegalArgumentException("minCapacity : "+minCapacity);
+		}
+		if(threshold >= minCapacity) {
+			return;
+		}
+		rehash(Math.max((mask + 1) << 1, lengthFor((long) (minCapacity / (double) loadFactor) + 1)));
+	}
+
+	private void rehash(long length) {
+		OffHeapMemory oldTable = table();
+		long oldLength = mask + 1;
+		OffHeapMemory table = new OffHeapMemory(length * SLOT);
+		long mask = length - 1;
+		for (long i = 0; i < oldLength; i++) {
+			int k = oldTable.getInt(i * SLOT);
+			if(k == NULL) {
+				continue;
+			}
+			long index = hash(k) & mask;
+			while(table.getInt(index * SLOT) != NULL) {
+				index = (index + 1) & mask;
+			}
+			table.putInt(index * SLOT, k);
+			table.putInt(index * SLOT + VALUE_OFFSET, oldTable.getInt(i * SLOT + VALUE_OFFSET));
+		}
+		this.table = table;
+		this.mask = mask;
+		threshold = (long) (length * (double) loadFactor);
+		modCount++;
+		oldTable.close();
+	}
+
+	/**
+	 * keyのテーブル上での位置を決めるためのhashを返す．
+	 * {@link #hashCode()}とは無関係
+	 * @param key key
+	 * @return keyのハッシュ
+	 */
+	private long hash(int key) {
+		return hashFunction.hash(key);
+	}
+
+	/**
+	 * テーブルを解放する．以降の操作はIllegalStateExceptionを投げる.
+	 * 既にcloseされていれば何もしない．
+	 */
+	@Override
+	public void close() {
+		if(table == null) {
+			return;
+		}
+		table.close();
+		table = null;
+		nullKey = false;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if(object == this) {
+			return true;
+		}
+		if(object == null || !(object instanceof IntIntMap)) {
+			return false;
+		}
+		IntIntMap target = (IntIntMap) object;
+		if(target.size() != size()) {
+			return false;
+		}
+
+		IntIntCursor entries = target.entryCursor();
+		while(entries.next()) {
+			if(getOrDefault(entries.key(), entries.value()+1) != entries.value()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int sum = 0;
+		IntIntCursor cursor = entryCursor();
+		while(cursor.next()) {
+			sum += cursor.key() ^ cursor.value();
+		}
+		return sum;
+	}
+
+	/**
+	 * テーブル上のエントリを順に辿る.
+	 *
+	 * 走査はNULLの直後の位置から始めて一周する．後退シフト削除ではNULLを越えて要素が移動しないため，
+	 * 走査中に現在の要素を削除しても，走査済みの要素が未走査の位置に移ることはない．
+	 * 削除で後続の要素が現在の位置に詰められた場合はその位置をもう一度調べる．
+	 */
+	private class TableWalker {
+		// 走査を始める位置
+		final long start;
+
+		// 調べ終えた位置の数
+		long scanned = 0;
+
+		// 現在の位置
+		long index = -1;
+
+		TableWalker() {
+			OffHeapMemory table = table();
+			long s = 0;
+			for (long i = 0; i <= mask; i++) {
+				if(table.getInt(i * SLOT) == NULL) {
+					s = i+1;
+					break;
+				}
+			}
+			start = s;
+		}
+
+		/**
+		 * 次のエントリに進む
+		 * @return エントリがあればtrue
+		 */
+		boolean advance() {
+			OffHeapMemory table = table();
+			long length = mask + 1;
+			index = -1;
+			while(scanned < length) {
+				long i = (start + scanned) & mask;
+				scanned++;
+				if(table.getInt(i * SLOT) != NULL) {
+					index = i;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		int key() {
+			return table().getInt(index * SLOT);
+		}
+
+		int value() {
+			return table().getInt(index * SLOT + VALUE_OFFSET);
+		}
+
+		void setValue(int value) {
+			table().putInt(index * SLOT + VALUE_OFFSET, value);
+		}
+
+		/**
+		 * 現在のエントリを削除する
+		 */
+		void removeCurrent() {
+			pull(index);
+			size--;
+			if(table.getInt(index * SLOT) != NULL) {
+				scanned--;
+			}
+		}
+	}
+
+	private class KeySet extends AbstractIntSet {
+
+		@Override
+		public int size() {
+			return OffHeapIntIntMap.this.size();
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator() {
+			// 1つ目は0を返す
+			return new PrimitiveIterator.OfInt() {
+
+				final TableWalker walker = new TableWalker();
+
+				// 構造的変更検出用
+				int expectedModCount = modCount;
+
+				// nextで返した数
+				long replied = 0;
+
+				// 削除した要素の数
+				long removed = 0;
+
+				// removeが行える状態
+				boolean removable = false;
+				boolean removeNull = false;
+
+				@Override
+				public boolean hasNext() {
+					return replied < size + removed;
+				}
+
+				@Override
+				public int nextInt() {
+					if(expectedModCount != modCount) {
+						throw new ConcurrentModificationException();
+					}
+					if(replied==0 && nullKey) {
+						replied++;
+						removable = true;
+						removeNull = true;
+						return NULL;
+					}
+					if(!walker.advance()) {
+						throw new NoSuchElementException();
+					}
+					replied++;
+					removable = true;
+					removeNull = false;
+					return walker.key();
+				}
+
+				@Override
+				public void remove() {
+					if(expectedModCount != modCount) {
+						throw new ConcurrentModificationException();
+					}
+					if(!removable) {
+						throw new IllegalStateException();
+					}
+					if(removeNull) {
+						OffHeapIntIntMap.this.remove(NULL);
+					} else {
+						walker.removeCurrent();
+					}
+					expectedModCount = modCount;
+					removed++;
+					removable = false;
+				}
+			};
+		}
+
+		@Override
+		public boolean contains(int i) {
+			return OffHeapIntIntMap.this.containsKey(i);
+		}
+
+		@Override
+		public boolean remove(int i) {
+			return OffHeapIntIntMap.this.remove(i);
+		}
+	}
+
+	private class ValueCollection extends AbstractIntCollection {
+
+		@Override
+		public int size() {
+			return OffHeapIntIntMap.this.size();
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator() {
+			// 1つ目は0を返す
+			return new PrimitiveIterator.OfInt() {
+
+				final TableWalker walker = new TableWalker();
+
+				// 構造的変更検出用
+				int expectedModCount = modCount;
+
+				// nextで返した数
+				long replied = 0;
+
+				// 削除した要素の数
+				long removed = 0;
+
+				// removeが行える状態
+				boolean removable = false;
+				boolean removeNull = false;
+
+				@Override
+				public boolean hasNext() {
+					return replied < size + removed;
+				}
+
+				@Override
+				public int nextInt() {
+					if(expectedModCount != modCount) {
+						throw new ConcurrentModificationException();
+					}
+					if(replied==0 && nullKey) {
+						replied++;
+						removable = true;
+						removeNull = true;
+						return nullValue;
+					}
+					if(!walker.advance()) {
+						throw new NoSuchElementException();
+					}
+					replied++;
+					removable = true;
+					removeNull = false;
+					return walker.value();
+				}
+
+				@Override
+				public void remove() {
+					if(expectedModCount != modCount) {
+						throw new ConcurrentModificationException();
+					}
+					if(!removable) {
+						throw new IllegalStateException();
+					}
+					if(removeNull) {
+						OffHeapIntIntMap.this.remove(NULL);
+					} else {
+						walker.removeCurrent();
+					}
+					expectedModCount = modCount;
+					removed++;
+					removable = false;
+				}
+			};
+		}
+	}
+
+	private class EntryCursor implements IntIntCursor {
+
+		private static final int INDEX_BEGIN = -2;
+		private static final int INDEX_NULL  = -1;
+		private static final int INDEX_TABLE = 0;
+
+		final TableWalker walker = new TableWalker();
+
+		int state = INDEX_BEGIN;
+
+		// 構造的変更検出用
+		int expectedModCount = modCount;
+
+		// removeしたことを示す
+		boolean removed = false;
+
+		@Override
+		public boolean next() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			removed = false;
+			if(state == INDEX_BEGIN) {
+				state = INDEX_NULL;
+				if(nullKey) {
+					return true;
+				}
+			}
+			state = INDEX_TABLE;
+			return walker.advance();
+		}
+
+		@Override
+		public int key() {
+			checkPosition();
+			return state == INDEX_NULL ? NULL : walker.key();
+		}
+
+		@Override
+		public int value() {
+			checkPosition();
+			return state == INDEX_NULL ? nullValue : walker.value();
+		}
+
+		@Override
+		public void remove() {
+			checkPosition();
+			if(state == INDEX_NULL) {
+				OffHeapIntIntMap.this.remove(NULL);
+			} else {
+				walker.removeCurrent();
+			}
+			expectedModCount = modCount;
+			removed = true;
+		}
+
+		@Override
+		public void setValue(int value) {
+			checkPosition();
+			if(state == INDEX_NULL) {
+				nullValue = value;
+			} else {
+				walker.setValue(value);
+			}
+		}
+
+		private void checkPosition() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(removed || state == INDEX_BEGIN || (state == INDEX_TABLE && walker.index == -1)) {
+				throw new IllegalStateException();
+			}
+		}
+	}
+
+	/**
+	 * エントリを配列に移さず1つずつ書き出す．そのためintの範囲を超える数のエントリも直列化できる.
+	 */
+	private static class SerializationProxy implements Serializable {
+		private static final long serialVersionUID = 6406405163812880125L;
+
+		/**
+		 * @serial
+		 */
+		private final float loadFactor;
+
+		// 書き出すマップまたは読み込んだマップ
+		private transient OffHeapIntIntMap map;
+
+		public SerializationProxy(OffHeapIntIntMap map) {
+			this.loadFactor = map.loadFactor;
+			this.map = map;
+		}
+
+		/**
+		 * @serialData エントリの数(long)に続けて，各エントリのkey(int)とvalue(int)
+		 */
+		private void writeObject(ObjectOutputStream s) throws IOException {
+			s.defaultWriteObject();
+			s.writeLong(map.size64());
+			for(IntIntCursor cursor = map.entryCursor();cursor.next();) {
+				s.writeInt(cursor.key());
+				s.writeInt(cursor.value());
+			}
+		}
+
+		private void readObject(ObjectInputStream s) throws IOException, ClassNotFoundException {
+			s.defaultReadObject();
+			long size = s.readLong();
+			// ハッシュ関数は直列化できるとは限らないため引き継がない
+			map = new OffHeapIntIntMap((long) (size / (double) loadFactor) + 1, loadFactor);
+			for (long i = 0; i < size; i++) {
+				int key = s.readInt();
+				map.put(key, s.readInt());
+			}
+		}
+
+		private Object readResolve() {
+			return map;
+		}
+	}
+
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	private void readObject(ObjectInputStream s) throws InvalidObjectException {
+		throw new InvalidObjectException("Proxy required");
+	}
+}
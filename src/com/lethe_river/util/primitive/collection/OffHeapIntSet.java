@@ -0,0 +1,498 @@
+package com.lethe_river.util.primitive.collection;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+
+import com.lethe_river.util.primitive.HashSupport;
+import com.lethe_river.util.primitive.LongLongHash;
+
+/**
+ * テーブルをヒープ外のメモリに置くIntSetの実装
+ *
+ * - open address
+ * - power of two bucket
+ * - liner probing
+ * - backward shift deletion
+ *
+ * テーブルの位置はlong値で扱うため，要素数がintの範囲を超えても格納できる．
+ * そのときの要素数は{@link #size64()}で得られる．{@link #size()}は{@link Integer#MAX_VALUE}を返す．
+ * テーブルはGCの対象とならず，{@link #close()}で即座に解放される．close後に操作するとIllegalStateExceptionを投げる．
+ * テーブルはdirect ByteBufferとして確保するため，その合計は-XX:MaxDirectMemorySizeで制限される．
+ *
+ * @author YuyaAizawa
+ *
+ */
+@SuppressWarnings("serial") // SerializationProxyに委譲
+public final class OffHeapIntSet extends AbstractIntSet implements AutoCloseable {
+
+	// NULLをあらわす数字
+	private static final int NULL = 0;
+
+	// 要素のバイト数
+	private static final int SLOT = 4;
+
+	private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+	private static final long MIN_CAPACITY = 16;
+	private static final long MAX_CAPACITY = 1L<<36;
+
+	// NULL以外の要素を格納するテーブル closeされたらnull
+	private OffHeapMemory table;
+
+	// テーブルの長さ-1
+	private long mask;
+
+	// NULLで使われている数字を含むか
+	private boolean hasNull;
+
+	// 要素数の合計
+	private long size;
+
+	// 負荷係数
+	private final float loadFactor;
+
+	// 要素の位置を決めるハッシュ関数
+	private final LongLongHash hashFunction;
+
+	// 次にリハッシュする容量
+	private long threshold;
+
+	// 構造的変更検出用
+	private int modCount;
+
+	/**
+	 * 初期容量，負荷係数とハッシュ関数を指定してOffHeapIntSetを生成する.
+	 *
+	 * ハッシュ関数は下位ビットがよく撹拌されるものを選ぶこと．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 * @param hashFunction 要素の位置を決めるハッシュ関数
+	 */
+	public OffHeapIntSet(long initCapacity, float loadFactor, LongLongHash hashFunction) {
+		if(initCapacity < 0) {
+			throw new IllegalArgumentException("initCapacity must be positive :"+initCapacity);
+		}
+		if(!(loadFactor > 0 && loadFactor < 1)) {
+			throw new IllegalArgumentException("loadFactor : "+loadFactor);
+		}
+		this.loadFactor = loadFactor;
+		this.hashFunction = Objects.requireNonNull(hashFunction);
+		allocate(lengthFor(initCapacity));
+		hasNull = false;
+		size = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * 初期容量と負荷係数を指定してOffHeapIntSetを生成する.
+	 *
+	 * ハッシュ関数にはインスタンスごとにsaltを乱数で選んだ{@link HashSupport#randomizedThomasMueller()}が用いられる．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 */
+	public OffHeapIntSet(long initCapacity, float loadFactor) {
+		this(initCapacity, loadFactor, HashSupport.randomizedThomasMueller());
+	}
+
+	/**
+	 * 初期容量を指定してOffHeapIntSetを生成する.
+	 *
+	 * 負荷係数はデフォルトの値(0.75)が用いられる
+	 * @param initCapacity 初期容量
+	 */
+	public OffHeapIntSet(long initCapacity) {
+		this(initCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * デフォルトの初期容量(16)と負荷係数を利用してOffHeapIntSetを生成する.
+	 */
+	public OffHeapIntSet() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * 指定した容量に対するテーブルの長さを返す.
+	 * @param capacity 容量
+	 * @return MIN_CAPACITY以上の2の冪
+	 */
+	private static long lengthFor(long capacity) {
+		if(capacity <= MIN_CAPACITY) {
+			return MIN_CAPACITY;
+		}
+		return Long.highestOneBit(Math.min(capacity, MAX_CAPACITY)-1) << 1;
+	}
+
+	private void allocate(long length) {
+		table = new OffHeapMemory(length * SLOT);
+		mask = length - 1;
+		threshold = (long) (length * (double) loadFactor);
+	}
+
+	/**
+	 * テーブルを返す.
+	 * @return テーブル
+	 * @throws IllegalStateException closeされていたとき
+	 */
+	private OffHeapMemory table() {
+		OffHeapMemory table = this.table;
+		if(table == null) {
+			throw new IllegalStateException("closed");
+		}
+		return table;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * 要素数がintの範囲を超える場合は{@link Integer#MAX_VALUE}を返す．
+	 */
+	@Override
+	public int size() {
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * このセットの要素数を返す.
+	 * @return 要素数
+	 */
+	public long size64() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean contains(int i) {
+		if(i == NULL) {
+			return hasNull;
+		}
+		return find(i) != -1;
+	}
+
+	/**
+	 * 指定した要素が格納されている位置を返す.
+	 * @param i NULL以外の要素
+	 * @return 要素の位置，存在しなければ-1
+	 */
+	private long find(int i) {
+		OffHeapMemory table = table();
+		long mask = this.mask;
+		for(long index = hash(i) & mask;;index = (index + 1) & mask) {
+			int j = table.getInt(index * SLOT);
+			if(j == i) {
+				return index;
+			}
+			if(j == NULL) {
+				return -1;
+			}
+		}
+	}
+
+	@Override
+	public boolean add(int i) {
+		table();
+		if(i == NULL) {
+			if(hasNull) {
+				return false;
+			}
+			hasNull = true;
+			size++;
+			modCount++;
+			return true;
+		}
+
+		try {
+			ensureCapacity(size+1);
+		} catch(IllegalArgumentException e) {
+			throw new RuntimeException("Too many entries!");
+		}
+
+		OffHeapMemory table = this.table;
+		long mask = this.mask;
+		long index = hash(i) & mask;
+		for(;;index = (index + 1) & mask) {
+			int j = table.getInt(index * SLOT);
+			if(j == i) {
+				return false;
+			}
+			if(j == NULL) {
+				break;
+			}
+		}
+		table.putInt(index * SLOT, i);
+		size++;
+		modCount++;
+		return true;
+	}
+
+	@Override
+	public boolean remove(int i) {
+		table();
+		if(i == NULL) {
+			if(hasNull) {
+				hasNull = false;
+				size--;
+				modCount++;
+				return true;
+			}
+			return false;
+		}
+
+		long index = find(i);
+		if(index == -1) {
+			return false;
+		}
+		pull(index);
+		size--;
+		return true;
+	}
+
+	/**
+	 * 指定した位置の要素を削除する.
+	 * 後続の要素のうち，本来の位置から空いた位置までの間にあるものを空いた位置へ詰めることを空きに達するまで繰り返す(backward shift deletion)．
+	 * @param index 要素の位置
+	 */
+	private void pull(long index) {
+		OffHeapMemory table = this.table;
+		long mask = this.mask;
+		long hole = index;
+		for(long src = (index + 1) & mask;;src = (src + 1) & mask) {
+			int i = table.getInt(src * SLOT);
+			if(i == NULL) {
+				break;
+			}
+			long home = hash(i) & mask;
+			if(((src - home) & mask) >= ((src - hole) & mask)) {
+				table.putInt(hole * SLOT, i);
+				hole = src;
+			}
+		}
+		table.putInt(hole * SLOT, NULL);
+		modCount++;
+	}
+
+	@Override
+	public void clear() {
+		table().clear();
+		hasNull = false;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * 指定した容量を格納できるようこのOffHeapIntSetのテーブルを拡張する.
+	 * @param minCapacity 保持する要素の数
+	 * @throws IllegalArgumentException minCapacityが[1, 最大容量]の範囲外だったとき
+	 */
+	public void ensureCapacity(long minCapacity) {
+		if(minCapacity <= 0 || (long) (MAX_CAPACITY * (double) loadFactor) < minCapacity) {
+			throw new IllegalArgumentException("minCapacity : "+minCapacity);
+		}
+		if(threshold >= minCapacity) {
+			return;
+		}
+		rehash(Math.max((mask + 1) << 1, lengthFor((long) (minCapacity / (double) loadFactor) + 1)));
+	}
+
+	private void rehash(long length) {
+		OffHeapMemory oldTable = table();
+		long oldLength = mask + 1;
+		OffHeapMemory table = new OffHeapMemory(length * SLOT);
+		long mask = length - 1;
+		for (long i = 0; i < oldLength; i++) {
+			int j = oldTable.getInt(i * SLOT);
+			if(j == NULL) {
+				continue;
+			}
+			long index = hash(j) & mask;
+			while(table.getInt(index * SLOT) != NULL) {
+				index = (index + 1) & mask;
+			}
+			table.putInt(index * SLOT, j);
+		}
+		this.table = table;
+		this.mask = mask;
+		threshold = (long) (length * (double) loadFactor);
+		modCount++;
+		oldTable.close();
+	}
+
+	/**
+	 * 要素のテーブル上での位置を決めるためのhashを返す．
+	 * {@link #hashCode()}とは無関係
+	 * @param i 要素
+	 * @return 要素のハッシュ
+	 */
+	private long hash(int i) {
+		return hashFunction.hash(i);
+	}
+
+	/**
+	 * テーブルを解放する．以降の操作はIllegalStateExceptionを投げる.
+	 * 既にcloseされていれば何もしない．
+	 */
+	@Override
+	public void close() {
+		if(table == null) {
+			return;
+		}
+		table.close();
+		table = null;
+		hasNull = false;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public PrimitiveIterator.OfInt iterator() {
+		// 1つ目は0を返す
+		return new PrimitiveIterator.OfInt() {
+
+			// 走査を始める位置 NULLの直後から一周する
+			final long start;
+
+			// 調べ終えた位置の数
+			long scanned = 0;
+
+			// 構造的変更検出用
+			int expectedModCount = modCount;
+
+			// nextで返した数
+			long replied = 0;
+
+			// 削除した要素の数
+			long removed = 0;
+
+			// 次のremoveで削除する位置，-1ならremove不可，-2ならNULL
+			long removeTarget = -1;
+
+			{
+				OffHeapMemory table = table();
+				long s = 0;
+				for (long i = 0; i <= mask; i++) {
+					if(table.getInt(i * SLOT) == NULL) {
+						s = i+1;
+						break;
+					}
+				}
+				start = s;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return replied < size + removed;
+			}
+
+			@Override
+			public int nextInt() {
+				if(expectedModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+				if(replied == 0 && hasNull) {
+					replied++;
+					removeTarget = -2;
+					return NULL;
+				}
+				OffHeapMemory table = table();
+				long length = mask + 1;
+				while(scanned < length) {
+					long index = (start + scanned) & mask;
+					scanned++;
+					int i = table.getInt(index * SLOT);
+					if(i != NULL) {
+						replied++;
+						removeTarget = index;
+						return i;
+					}
+				}
+				throw new NoSuchElementException();
+			}
+
+			@Override
+			public void remove() {
+				if(expectedModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+				if(removeTarget == -1) {
+					throw new IllegalStateException();
+				}
+				if(removeTarget == -2) {
+					OffHeapIntSet.this.remove(NULL);
+				} else {
+					pull(removeTarget);
+					size--;
+					// 後続の要素が詰められた場合はその位置をもう一度調べる
+					if(table.getInt(removeTarget * SLOT) != NULL) {
+						scanned--;
+					}
+				}
+				expectedModCount = modCount;
+				removed++;
+				removeTarget = -1;
+			}
+		};
+	}
+
+	/**
+	 * 要素を配列に移さず1つずつ書き出す．そのためintの範囲を超える数の要素も直列化できる.
+	 */
+	private static class SerializationProxy implements Serializable {
+		private static final long serialVersionUID = 3014863318069406958L;
+
+		/**
+		 * @serial
+		 */
+		private final float loadFactor;
+
+		// 書き出すセットまたは読み込んだセット
+		private transient OffHeapIntSet set;
+
+		public SerializationProxy(OffHeapIntSet set) {
+			this.loadFactor = set.loadFactor;
+			this.set = set;
+		}
+
+		/**
+		 * @serialData 要素数(long)に続けて，各要素(int)
+		 */
+		private void writeObject(ObjectOutputStream s) throws IOException {
+			s.defaultWriteObject();
+			s.writeLong(set.size64());
+			for(PrimitiveIterator.OfInt i = set.iterator();i.hasNext();) {
+				s.writeInt(i.nextInt());
+			}
+		}
+
+		private void readObject(ObjectInputStream s) throws IOException, ClassNotFoundException {
+			s.defaultReadObject();
+			long size = s.readLong();
+			// ハッシュ関数は直列化できるとは限らないため引き継がない
+			set = new OffHeapIntSet((long) (size / (double) loadFactor) + 1, loadFactor);
+			for (long i = 0; i < size; i++) {
+				set.add(s.readInt());
+			}
+		}
+
+		private Object readResolve() {
+			return set;
+		}
+	}
+
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	private void readObject(ObjectInputStream s) throws InvalidObjectException {
+		throw new InvalidObjectException("Proxy required");
+	}
+}
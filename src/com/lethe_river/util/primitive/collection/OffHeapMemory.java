@@ -0,0 +1,188 @@
+package com.lethe_river.util.primitive.collection;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * ヒープ外に確保したメモリ領域
+ *
+ * 1つのdirect ByteBufferはintの範囲でしか扱えないため，1GiBごとのバッファをつないでlong値のオフセットで扱う．
+ * 値がバッファの境界をまたがないよう，オフセットはアクセスする値の大きさの倍数であること．
+ * 確保した領域は0で初期化されている．
+ * {@link #map(FileChannel, FileChannel.MapMode, long)}でファイルをマップした領域も同じように扱える．
+ *
+ * {@link #close()}で領域を即座に解放(マップした領域はアンマップ)する．解放できない環境ではバッファへの参照を捨て，GCによる解放に任せる．
+ * 解放後にアクセスしてはならない．
+ *
+ * @author YuyaAizawa
+ *
+ */
+final class OffHeapMemory implements AutoCloseable {
+
+	private static final int CHUNK_SHIFT = 30;
+	private static final long CHUNK_MASK = (1L<<CHUNK_SHIFT)-1;
+
+	// 0で埋めるときに使う
+	private static final byte[] ZEROS = new byte[8192];
+
+	// direct ByteBufferを解放する手段 使えない環境ではnull
+	private static final Object UNSAFE;
+	private static final Method INVOKE_CLEANER;
+
+	static {
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			unsafe = theUnsafe.get(null);
+			invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			unsafe = null;
+			invokeCleaner = null;
+		}
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+
+	// 領域を分割したバッファ 解放後はnull
+	private ByteBuffer[] chunks;
+
+	// 領域の大きさ
+	private final long byteSize;
+
+	/**
+	 * 指定した大きさの領域を確保する.
+	 * @param byteSize 領域のバイト数
+	 * @throws OutOfMemoryError 領域を確保できなかったとき
+	 */
+	OffHeapMemory(long byteSize) {
+		if(byteSize < 0) {
+			throw new IllegalArgumentException("byteSize : "+byteSize);
+		}
+		this.byteSize = byteSize;
+		this.chunks = new ByteBuffer[(int)((byteSize + CHUNK_MASK) >>> CHUNK_SHIFT)];
+		try {
+			for (int i = 0; i < chunks.length; i++) {
+				int length = (int)Math.min(byteSize - ((long)i << CHUNK_SHIFT), 1L << CHUNK_SHIFT);
+				chunks[i] = ByteBuffer.allocateDirect(length).order(ByteOrder.nativeOrder());
+			}
+		} catch(OutOfMemoryError e) {
+			close();
+			throw e;
+		}
+	}
+
+	private OffHeapMemory(ByteBuffer[] chunks, long byteSize) {
+		this.chunks = chunks;
+		this.byteSize = byteSize;
+	}
+
+	/**
+	 * ファイルの先頭から指定した大きさの領域をマップする.
+	 * バイトオーダーはプラットフォームによらずリトルエンディアンとする．
+	 * 書き込み可能なモードでファイルより大きな領域をマップした場合，ファイルは拡張される．
+	 * @param channel マップするファイル
+	 * @param mode マップのモード
+	 * @param byteSize 領域のバイト数
+	 * @return マップした領域
+	 * @throws IOException マップに失敗したとき
+	 */
+	static OffHeapMemory map(FileChannel channel, FileChannel.MapMode mode, long byteSize) throws IOException {
+		if(byteSize < 0) {
+			throw new IllegalArgumentException("byteSize : "+byteSize);
+		}
+		ByteBuffer[] chunks = new ByteBuffer[(int)((byteSize + CHUNK_MASK) >>> CHUNK_SHIFT)];
+		OffHeapMemory memory = new OffHeapMemory(chunks, byteSize);
+		try {
+			for (int i = 0; i < chunks.length; i++) {
+				long position = (long)i << CHUNK_SHIFT;
+				long length = Math.min(byteSize - position, 1L << CHUNK_SHIFT);
+				chunks[i] = channel.map(mode, position, length).order(ByteOrder.LITTLE_ENDIAN);
+			}
+		} catch(IOException | RuntimeException | Error e) {
+			memory.close();
+			throw e;
+		}
+		return memory;
+	}
+
+	/**
+	 * 領域のバイト数を返す.
+	 * @return 領域のバイト数
+	 */
+	long byteSize() {
+		return byteSize;
+	}
+
+	int getInt(long offset) {
+		return chunks[(int)(offset >>> CHUNK_SHIFT)].getInt((int)(offset & CHUNK_MASK));
+	}
+
+	void putInt(long offset, int value) {
+		chunks[(int)(offset >>> CHUNK_SHIFT)].putInt((int)(offset & CHUNK_MASK), value);
+	}
+
+	long getLong(long offset) {
+		return chunks[(int)(offset >>> CHUNK_SHIFT)].getLong((int)(offset & CHUNK_MASK));
+	}
+
+	void putLong(long offset, long value) {
+		chunks[(int)(offset >>> CHUNK_SHIFT)].putLong((int)(offset & CHUNK_MASK), value);
+	}
+
+	/**
+	 * 領域全体を0で埋める.
+	 */
+	void clear() {
+		for(ByteBuffer chunk : chunks) {
+			ByteBuffer b = chunk.duplicate();
+			b.clear();
+			while(b.hasRemaining()) {
+				b.put(ZEROS, 0, Math.min(ZEROS.length, b.remaining()));
+			}
+		}
+	}
+
+	/**
+	 * マップした領域への変更をファイルに書き出す．マップした領域でなければ何もしない.
+	 */
+	void force() {
+		for(ByteBuffer chunk : chunks) {
+			if(chunk instanceof MappedByteBuffer) {
+				((MappedByteBuffer) chunk).force();
+			}
+		}
+	}
+
+	/**
+	 * 領域を解放する．既に解放済みであれば何もしない.
+	 */
+	@Override
+	public void close() {
+		ByteBuffer[] chunks = this.chunks;
+		if(chunks == null) {
+			return;
+		}
+		this.chunks = null;
+		if(INVOKE_CLEANER == null) {
+			return;
+		}
+		for(ByteBuffer chunk : chunks) {
+			if(chunk == null) {
+				continue;
+			}
+			try {
+				INVOKE_CLEANER.invoke(UNSAFE, chunk);
+			} catch (ReflectiveOperationException e) {
+				// GCによる解放に任せる
+			}
+		}
+	}
+}
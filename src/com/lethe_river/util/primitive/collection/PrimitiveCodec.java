@@ -0,0 +1,419 @@
+package com.lethe_river.util.primitive.collection;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongToIntFunction;
+
+/**
+ * コレクションの内部配列をそのままチャネルに読み書きするための形式
+ *
+ * Java直列化のように要素を1つずつ扱わず，内部配列をdirect ByteBufferを通してまとめて書き出す．
+ * バイトオーダーはプラットフォームによらずリトルエンディアンとする．
+ * 先頭にはマジックナンバー，形式のバージョン，コレクションの種類を書き，続く内容は種類ごとに決める．
+ *
+ * ハッシュテーブルはテーブルの長さと配置に用いたハッシュ関数の指紋を書き出しておく．
+ * 読み込み側のハッシュ関数の指紋が一致すればテーブルをそのまま使い，一致しなければ配置し直す．
+ *
+ * 読み込みは必要なバイト数だけをチャネルから読むため，1つのチャネルに複数のコレクションを続けて書いてよい．
+ *
+ * @author YuyaAizawa
+ *
+ */
+final class PrimitiveCodec {
+	private PrimitiveCodec() {}
+
+	// "LRPC"
+	private static final int MAGIC = 0x4350524C;
+	private static final int VERSION = 1;
+
+	private static final int BUFFER_SIZE = 1<<16;
+	private static final int MIN_BUFFER_SIZE = 64;
+
+	// 指紋を取るときにハッシュ関数に与える値の数
+	private static final int PROBES = 32;
+
+	// コレクションの種類
+	static final int ARRAY_INT_LIST = 1;
+	static final int SCATTER_INT_SET = 2;
+	static final int SCATTER_LONG_SET = 3;
+	static final int SCATTER_INT_INT_MAP = 4;
+	static final int SCATTER_INT_LONG_MAP = 5;
+	static final int SCATTER_LONG_INT_MAP = 6;
+	static final int SCATTER_LONG_LONG_MAP = 7;
+	static final int SORTED_INT_SET = 8;
+	static final int SORTED_LONG_SET = 9;
+	static final int SCATTER_INT_DOUBLE_MAP = 10;
+	static final int SCATTER_LONG_DOUBLE_MAP = 11;
+	static final int ARRAY_LONG_LIST = 12;
+	static final int ARRAY_DOUBLE_LIST = 13;
+	static final int ARRAY_BYTE_LIST = 14;
+	static final int ARRAY_SHORT_LIST = 15;
+	static final int ARRAY_CHAR_LIST = 16;
+	static final int ARRAY_FLOAT_LIST = 17;
+	static final int SCATTER_DOUBLE_SET = 18;
+	static final int SCATTER_BYTE_SET = 19;
+	static final int SCATTER_SHORT_SET = 20;
+	static final int SCATTER_CHAR_SET = 21;
+	static final int SCATTER_FLOAT_SET = 22;
+
+	/**
+	 * int値の位置を決めるハッシュ関数の指紋を返す.
+	 * 決まった値に対するハッシュを混ぜ合わせたもので，同じ関数なら同じ値となる．
+	 * @param hash 位置を決めるハッシュ関数
+	 * @return 指紋
+	 */
+	static long fingerprintOfInt(IntUnaryOperator hash) {
+		long h = 0;
+		for (int i = 1; i <= PROBES; i++) {
+			h = h * 31 + hash.applyAsInt(i * 0x9E3779B9 + i);
+		}
+		return h;
+	}
+
+	/**
+	 * long値の位置を決めるハッシュ関数の指紋を返す.
+	 * 決まった値に対するハッシュを混ぜ合わせたもので，同じ関数なら同じ値となる．
+	 * @param hash 位置を決めるハッシュ関数
+	 * @return 指紋
+	 */
+	static long fingerprintOfLong(LongToIntFunction hash) {
+		long h = 0;
+		for (int i = 1; i <= PROBES; i++) {
+			h = h * 31 + hash.applyAsInt(i * 0x9E3779B97F4A7C15L + i);
+		}
+		return h;
+	}
+
+	/**
+	 * 読み書きに用いるバッファを確保する.
+	 * @param bufferSize バイト数の目安
+	 * @return [MIN_BUFFER_SIZE, BUFFER_SIZE]の範囲に収めた大きさのリトルエンディアンのバッファ
+	 */
+	private static ByteBuffer allocate(long bufferSize) {
+		int size = (int) Math.max(MIN_BUFFER_SIZE, Math.min(bufferSize, BUFFER_SIZE));
+		return ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * 形式が不正であることを表す例外を返す.
+	 * @param detail 不正な箇所
+	 * @return 例外
+	 */
+	static IOException invalid(String detail) {
+		return new IOException("Invalid format: "+detail);
+	}
+
+	/**
+	 * チャネルへの書き出し.
+	 * 生成時にヘッダを書く．最後に{@link #flush()}を呼ぶこと．
+	 */
+	static final class Writer {
+		private final WritableByteChannel channel;
+		private final ByteBuffer buffer;
+
+		Writer(WritableByteChannel channel, int kind) throws IOException {
+			this(channel, kind, BUFFER_SIZE);
+		}
+
+		/**
+		 * バッファの大きさを指定して書き出しを始める.
+		 * 小さなコレクションを多数書き出すときに，書き出す量に見合ったバッファで済ませるために用いる．
+		 * @param channel 書き出し先
+		 * @param kind コレクションの種類
+		 * @param bufferSize バッファのバイト数の目安
+		 * @throws IOException 書き出しに失敗したとき
+		 */
+		Writer(WritableByteChannel channel, int kind, long bufferSize) throws IOException {
+			this.channel = channel;
+			this.buffer = allocate(bufferSize);
+			putInt(MAGIC);
+			putInt(VERSION);
+			putInt(kind);
+		}
+
+		void putInt(int i) throws IOException {
+			require(Integer.BYTES);
+			buffer.putInt(i);
+		}
+
+		void putLong(long l) throws IOException {
+			require(Long.BYTES);
+			buffer.putLong(l);
+		}
+
+		void putFloat(float f) throws IOException {
+			require(Float.BYTES);
+			buffer.putFloat(f);
+		}
+
+		void putDouble(double d) throws IOException {
+			require(Double.BYTES);
+			buffer.putDouble(d);
+		}
+
+		void putSizing(TableSizing sizing) throws IOException {
+			putInt(sizing.ordinal());
+		}
+
+		void putInts(int[] is, int offset, int length) throws IOException {
+			while(length > 0) {
+				require(Integer.BYTES);
+				int n = Math.min(length, buffer.remaining() / Integer.BYTES);
+				buffer.asIntBuffer().put(is, offset, n);
+				buffer.position(buffer.position() + n * Integer.BYTES);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void putBytes(byte[] bs, int offset, int length) throws IOException {
+			while(length > 0) {
+				require(1);
+				int n = Math.min(length, buffer.remaining());
+				buffer.put(bs, offset, n);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void putLongs(long[] ls, int offset, int length) throws IOException {
+			while(length > 0) {
+				require(Long.BYTES);
+				int n = Math.min(length, buffer.remaining() / Long.BYTES);
+				buffer.asLongBuffer().put(ls, offset, n);
+				buffer.position(buffer.position() + n * Long.BYTES);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void putDoubles(double[] ds, int offset, int length) throws IOException {
+			while(length > 0) {
+				require(Double.BYTES);
+				int n = Math.min(length, buffer.remaining() / Double.BYTES);
+				buffer.asDoubleBuffer().put(ds, offset, n);
+				buffer.position(buffer.position() + n * Double.BYTES);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void putShorts(short[] ss, int offset, int length) throws IOException {
+			while(length > 0) {
+				require(Short.BYTES);
+				int n = Math.min(length, buffer.remaining() / Short.BYTES);
+				buffer.asShortBuffer().put(ss, offset, n);
+				buffer.position(buffer.position() + n * Short.BYTES);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void putChars(char[] chs, int offset, int length) throws IOException {
+			while(length > 0) {
+				require(Character.BYTES);
+				int n = Math.min(length, buffer.remaining() / Character.BYTES);
+				buffer.asCharBuffer().put(chs, offset, n);
+				buffer.position(buffer.position() + n * Character.BYTES);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void putFloats(float[] fs, int offset, int length) throws IOException {
+			while(length > 0) {
+				require(Float.BYTES);
+				int n = Math.min(length, buffer.remaining() / Float.BYTES);
+				buffer.asFloatBuffer().put(fs, offset, n);
+				buffer.position(buffer.position() + n * Float.BYTES);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		/**
+		 * バッファに残っている内容をチャネルに書き出す.
+		 * @throws IOException 書き出しに失敗したとき
+		 */
+		void flush() throws IOException {
+			buffer.flip();
+			while(buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		private void require(int bytes) throws IOException {
+			if(buffer.remaining() < bytes) {
+				flush();
+			}
+		}
+	}
+
+	/**
+	 * チャネルからの読み込み.
+	 * 生成時にヘッダを読んで検証する．
+	 */
+	static final class Reader {
+		private final ReadableByteChannel channel;
+		private final ByteBuffer buffer;
+
+		Reader(ReadableByteChannel channel, int kind) throws IOException {
+			this(channel, kind, BUFFER_SIZE);
+		}
+
+		/**
+		 * バッファの大きさを指定して読み込みを始める.
+		 * @param channel 読み込み元
+		 * @param kind コレクションの種類
+		 * @param bufferSize バッファのバイト数の目安
+		 * @throws IOException 読み込みに失敗したとき，または形式が不正なとき
+		 */
+		Reader(ReadableByteChannel channel, int kind, long bufferSize) throws IOException {
+			this.channel = channel;
+			this.buffer = allocate(bufferSize);
+			buffer.limit(0);
+			if(getInt() != MAGIC) {
+				throw invalid("magic");
+			}
+			int version = getInt();
+			if(version != VERSION) {
+				throw invalid("version "+version);
+			}
+			int actual = getInt();
+			if(actual != kind) {
+				throw invalid("kind "+actual);
+			}
+		}
+
+		int getInt() throws IOException {
+			require(Integer.BYTES);
+			return buffer.getInt();
+		}
+
+		long getLong() throws IOException {
+			require(Long.BYTES);
+			return buffer.getLong();
+		}
+
+		float getFloat() throws IOException {
+			require(Float.BYTES);
+			return buffer.getFloat();
+		}
+
+		double getDouble() throws IOException {
+			require(Double.BYTES);
+			return buffer.getDouble();
+		}
+
+		TableSizing getSizing() throws IOException {
+			int ordinal = getInt();
+			TableSizing[] values = TableSizing.values();
+			if(ordinal < 0 || values.length <= ordinal) {
+				throw invalid("sizing "+ordinal);
+			}
+			return values[ordinal];
+		}
+
+		void getInts(int[] is, int offset, int length) throws IOException {
+			while(length > 0) {
+				require(Integer.BYTES * Math.min(length, buffer.capacity() / Integer.BYTES));
+				int n = Math.min(length, buffer.remaining() / Integer.BYTES);
+				buffer.asIntBuffer().get(is, offset, n);
+				buffer.position(buffer.position() + n * Integer.BYTES);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void getBytes(byte[] bs, int offset, int length) throws IOException {
+			while(length > 0) {
+				require(Math.min(length, buffer.capacity()));
+				int n = Math.min(length, buffer.remaining());
+				buffer.get(bs, offset, n);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void getLongs(long[] ls, int offset, int length) throws IOException {
+			while(length > 0) {
+				require(Long.BYTES * Math.min(length, buffer.capacity() / Long.BYTES));
+				int n = Math.min(length, buffer.remaining() / Long.BYTES);
+				buffer.asLongBuffer().get(ls, offset, n);
+				buffer.position(buffer.position() + n * Long.BYTES);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void getDoubles(double[] ds, int offset, int length) throws IOException {
+			while(length > 0) {
+				require(Double.BYTES * Math.min(length, buffer.capacity() / Double.BYTES));
+				int n = Math.min(length, buffer.remaining() / Double.BYTES);
+				buffer.asDoubleBuffer().get(ds, offset, n);
+				buffer.position(buffer.position() + n * Double.BYTES);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void getShorts(short[] ss, int offset, int length) throws IOException {
+			while(length > 0) {
+				require(Short.BYTES * Math.min(length, buffer.capacity() / Short.BYTES));
+				int n = Math.min(length, buffer.remaining() / Short.BYTES);
+				buffer.asShortBuffer().get(ss, offset, n);
+				buffer.position(buffer.position() + n * Short.BYTES);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void getChars(char[] chs, int offset, int length) throws IOException {
+			while(length > 0) {
+				require(Character.BYTES * Math.min(length, buffer.capacity() / Character.BYTES));
+				int n = Math.min(length, buffer.remaining() / Character.BYTES);
+				buffer.asCharBuffer().get(chs, offset, n);
+				buffer.position(buffer.position() + n * Character.BYTES);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		void getFloats(float[] fs, int offset, int length) throws IOException {
+			while(length > 0) {
+				require(Float.BYTES * Math.min(length, buffer.capacity() / Float.BYTES));
+				int n = Math.min(length, buffer.remaining() / Float.BYTES);
+				buffer.asFloatBuffer().get(fs, offset, n);
+				buffer.position(buffer.position() + n * Float.BYTES);
+				offset += n;
+				length -= n;
+			}
+		}
+
+		/**
+		 * バッファに指定したバイト数が残るまでチャネルから読む.
+		 * 後続のデータを読み過ぎないよう，足りない分だけを読む．
+		 * @param bytes 必要なバイト数
+		 * @throws IOException 読み込みに失敗したとき
+		 */
+		private void require(int bytes) throws IOException {
+			if(buffer.remaining() >= bytes) {
+				return;
+			}
+			buffer.compact();
+			buffer.limit(bytes);
+			while(buffer.hasRemaining()) {
+				if(channel.read(buffer) < 0) {
+					throw new EOFException();
+				}
+			}
+			buffer.flip();
+		}
+	}
+}
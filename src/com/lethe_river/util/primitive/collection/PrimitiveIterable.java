@@ -1,16 +1,11 @@
 package com.lethe_river.util.primitive.collection;
 
-import java.util.Objects;
 import java.util.PrimitiveIterator;
-import java.util.Spliterator;
-import java.util.function.IntConsumer;
-import java.util.function.LongConsumer;
-
-import com.lethe_river.util.primitive.function.ByteConsumer;
-import com.lethe_river.util.primitive.function.CharConsumer;
 
 /**
  * PrimitiveCollectionのそれぞれの要素に対する操作を提供するインターフェース
+ *
+ * 要素型ごとの派生(IntIterableなど)はcodegen/templates/Iterable.java.templateから生成される．
  * @author YuyaAizawa
  *
  * @param <T> ラッパー型
@@ -28,109 +23,3 @@ interface PrimitiveIterable<T, T_CONS> {
 	 */
 	void forEach(T_CONS action);
 }
-
-interface IntIterable extends PrimitiveIterable<Integer, IntConsumer> {
-	@Override
-	PrimitiveIterator.OfInt iterator();
-
-	Spliterator.OfInt spliterator();
-
-	@Override
-	default void forEach(IntConsumer action) {
-		Objects.requireNonNull(action);
-		iterator().forEachRemaining(action);
-	}
-}
-
-interface LongIterable extends PrimitiveIterable<Long, LongConsumer> {
-	@Override
-	PrimitiveIterator.OfLong iterator();
-
-	Spliterator.OfLong spliterator();
-
-	@Override
-	default void forEach(LongConsumer action) {
-		Objects.requireNonNull(action);
-		iterator().forEachRemaining(action);
-	}
-}
-
-interface ByteIterable extends PrimitiveIterable<Byte, ByteConsumer> {
-	@Override
-	ByteIterator iterator();
-
-	default PrimitiveIterator.OfInt iteratorSigned() {
-		return new PrimitiveIterator.OfInt() {
-			final ByteIterator original = iterator();
-			@Override
-			public boolean hasNext() {
-				return original.hasNext();
-			}
-			@Override
-			public int nextInt() {
-				return original.nextByte();
-			}
-			@Override
-			public void remove() {
-				original.remove();
-			}
-		};
-	}
-	default PrimitiveIterator.OfInt iteratorUnsigned() {
-		return new PrimitiveIterator.OfInt() {
-			final ByteIterator original = iterator();
-			@Override
-			public boolean hasNext() {
-				return original.hasNext();
-			}
-			@Override
-			public int nextInt() {
-				return Byte.toUnsignedInt(original.nextByte());
-			}
-			@Override
-			public void remove() {
-				original.remove();
-			}
-		};
-	}
-
-	Spliterator.OfInt spliteratorSigned();
-	Spliterator.OfInt spliteratorUnsigned();
-
-	@Override
-	default void forEach(ByteConsumer action) {
-		Objects.requireNonNull(action);
-		iterator().forEachRemaining(action);
-	}
-}
-
-interface CharIterable extends PrimitiveIterable<Character, CharConsumer> {
-	@Override
-	CharIterator iterator();
-
-	default PrimitiveIterator.OfInt iteratorOfInt() {
-		return new PrimitiveIterator.OfInt() {
-			final CharIterator original = iterator();
-			@Override
-			public boolean hasNext() {
-				return original.hasNext();
-			}
-			@Override
-			public int nextInt() {
-				return original.nextChar();
-			}
-			@Override
-			public void remove() {
-				original.remove();
-			}
-		};
-	}
-
-	Spliterator.OfInt spliterator();
-
-	@Override
-	default void forEach(CharConsumer action) {
-		Objects.requireNonNull(action);
-		iterator().forEachRemaining(action);
-	}
-}
\ No newline at end of file
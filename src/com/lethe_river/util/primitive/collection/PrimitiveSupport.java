@@ -1,9 +1,7 @@
 package com.lethe_river.util.primitive.collection;
 
 import java.lang.reflect.Array;
-import java.util.AbstractCollection;
 import java.util.AbstractList;
-import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -16,6 +14,7 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.Spliterator;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
 
@@ -134,6 +133,54 @@ final class PrimitiveSupport {
 		}
 	}
 
+	/**
+	 * 指定した配列に対してoffset及びlengthが妥当か検証する
+	 * @param array 検証する配列
+	 * @param offset 開始インデックス
+	 * @param length 開始からの長さ
+	 *
+	 * @throw NullPointerException 配列がnullだったとき
+	 * @throw ArrayIndexOutOfBoundsException offsetまたはlengthが不正だったとき
+	 */
+	static void checkBounds(short[] array, int offset, int length) {
+		if ((offset | length | (array.length - (length + offset)) | (offset + length)) < 0) {
+			throw new ArrayIndexOutOfBoundsException(String.format(
+					"array length: %d, offset: %d, length: %d",array.length, offset, length));
+		}
+	}
+
+	/**
+	 * 指定した配列に対してoffset及びlengthが妥当か検証する
+	 * @param array 検証する配列
+	 * @param offset 開始インデックス
+	 * @param length 開始からの長さ
+	 *
+	 * @throw NullPointerException 配列がnullだったとき
+	 * @throw ArrayIndexOutOfBoundsException offsetまたはlengthが不正だったとき
+	 */
+	static void checkBounds(float[] array, int offset, int length) {
+		if ((offset | length | (array.length - (length + offset)) | (offset + length)) < 0) {
+			throw new ArrayIndexOutOfBoundsException(String.format(
+					"array length: %d, offset: %d, length: %d",array.length, offset, length));
+		}
+	}
+
+	/**
+	 * 指定した配列に対してoffset及びlengthが妥当か検証する
+	 * @param array 検証する配列
+	 * @param offset 開始インデックス
+	 * @param length 開始からの長さ
+	 *
+	 * @throw NullPointerException 配列がnullだったとき
+	 * @throw ArrayIndexOutOfBoundsException offsetまたはlengthが不正だったとき
+	 */
+	static void checkBounds(double[] array, int offset, int length) {
+		if ((offset | length | (array.length - (length + offset)) | (offset + length)) < 0) {
+			throw new ArrayIndexOutOfBoundsException(String.format(
+					"array length: %d, offset: %d, length: %d",array.length, offset, length));
+		}
+	}
+
 	static IntCollection unmodifiableCollection(IntCollection original) {
 		return new UnmodifiableIntCollection(original);
 	}
@@ -190,13 +237,29 @@ final class PrimitiveSupport {
 		return boxed;
 	}
 
+	static Short[] boxed(short[] array) {
+		Short[] boxed = new Short[array.length];
+		for (int i = 0; i < array.length; i++) {
+			boxed[i] = Short.valueOf(array[i]);
+		}
+		return boxed;
+	}
+
+	static Float[] boxed(float[] array) {
+		Float[] boxed = new Float[array.length];
+		for (int i = 0; i < array.length; i++) {
+			boxed[i] = Float.valueOf(array[i]);
+		}
+		return boxed;
+	}
+
 	static Collection<Integer> boxed(IntCollection original) {
 		return new BoxedIntCollection(original);
 	}
 
 	static List<Integer> boxed(IntList original) {
 		if(original instanceof RandomAccess) {
-			return new BoxedIntListRandomAccess(original);
+			return new BoxedIntList.OfRandomAccess(original);
 		}
 		return new BoxedIntList(original);
 	}
@@ -213,6 +276,13 @@ final class PrimitiveSupport {
 		return new BoxedLongCollection(original);
 	}
 
+	static List<Long> boxed(LongList original) {
+		if(original instanceof RandomAccess) {
+			return new BoxedLongList.OfRandomAccess(original);
+		}
+		return new BoxedLongList(original);
+	}
+
 	static Set<Long> boxed(LongSet original) {
 		return new BoxedLongSet(original);
 	}
@@ -226,6 +296,9 @@ final class PrimitiveSupport {
 	}
 
 	static List<Byte> boxed(ByteList original) {
+		if(original instanceof RandomAccess) {
+			return new BoxedByteList.OfRandomAccess(original);
+		}
 		return new BoxedByteList(original);
 	}
 
@@ -241,6 +314,13 @@ final class PrimitiveSupport {
 		return new BoxedCharCollection(original);
 	}
 
+	static List<Character> boxed(CharList original) {
+		if(original instanceof RandomAccess) {
+			return new BoxedCharList.OfRandomAccess(original);
+		}
+		return new BoxedCharList(original);
+	}
+
 	static Set<Character> boxed(CharSet original) {
 		return new BoxedCharSet(original);
 	}
@@ -249,12 +329,59 @@ final class PrimitiveSupport {
 		return new BoxedCharSortedSet(original);
 	}
 
-	static Spliterator<Byte> toByte(Spliterator<? extends Integer> signed) {
-		return new IntegerByteSpliterator(signed);
+	static Collection<Short> boxed(ShortCollection original) {
+		return new BoxedShortCollection(original);
+	}
+
+	static List<Short> boxed(ShortList original) {
+		if(original instanceof RandomAccess) {
+			return new BoxedShortList.OfRandomAccess(original);
+		}
+		return new BoxedShortList(original);
+	}
+
+	static Set<Short> boxed(ShortSet original) {
+		return new BoxedShortSet(original);
+	}
+
+	static Collection<Float> boxed(FloatCollection original) {
+		return new BoxedFloatCollection(original);
+	}
+
+	static List<Float> boxed(FloatList original) {
+		if(original instanceof RandomAccess) {
+			return new BoxedFloatList.OfRandomAccess(original);
+		}
+		return new BoxedFloatList(original);
+	}
+
+	static Set<Float> boxed(FloatSet original) {
+		return new BoxedFloatSet(original);
+	}
+
+	static Collection<Double> boxed(DoubleCollection original) {
+		return new BoxedDoubleCollection(original);
+	}
+
+	static List<Double> boxed(DoubleList original) {
+		if(original instanceof RandomAccess) {
+			return new BoxedDoubleList.OfRandomAccess(original);
+		}
+		return new BoxedDoubleList(original);
+	}
+
+	static Set<Double> boxed(DoubleSet original) {
+		return new BoxedDoubleSet(original);
 	}
 
-	static Spliterator<Character> toChar(Spliterator<? extends Integer> spliterator) {
-		return new IntegerCharSpliterator(spliterator);
+	/**
+	 * 拡張した型の要素を列挙するSpliteratorを元の型のSpliteratorに変換する.
+	 * @param wide 拡張した型の要素を列挙するSpliterator
+	 * @param narrowing 元の型に戻す関数
+	 * @return 元の型の要素を列挙するSpliterator
+	 */
+	static <W, T> Spliterator<T> narrowed(Spliterator<? extends W> wide, Function<? super W, ? extends T> narrowing) {
+		return new NarrowingSpliterator<>(wide, narrowing);
 	}
 
 	/**
@@ -317,6 +444,51 @@ final class PrimitiveSupport {
 		return -1;
 	}
 
+	/**
+	 * 指定された配列中に指定した値が初めて出現するインデックスを返す．出現しなければ-1.
+	 * @param array
+	 * @param target
+	 * @return 指定した値が初めて出現するインデックス
+	 */
+	static int linearSearchFirst(short[] array, short target) {
+		for (int i = 0; i < array.length; i++) {
+			if(array[i] == target) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 指定された配列中に指定した値が初めて出現するインデックスを返す．出現しなければ-1.
+	 * @param array
+	 * @param target
+	 * @return 指定した値が初めて出現するインデックス
+	 */
+	static int linearSearchFirst(float[] array, float target) {
+		for (int i = 0; i < array.length; i++) {
+			if(Float.floatToIntBits(array[i]) == Float.floatToIntBits(target)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 指定された配列中に指定した値が初めて出現するインデックスを返す．出現しなければ-1.
+	 * @param array
+	 * @param target
+	 * @return 指定した値が初めて出現するインデックス
+	 */
+	static int linearSearchFirst(double[] array, double target) {
+		for (int i = 0; i < array.length; i++) {
+			if(Double.doubleToLongBits(array[i]) == Double.doubleToLongBits(target)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * 第一引数の表す系列が第二引数の表す系列の部分系列かどうか判定する
 	 * @param i1
@@ -662,1349 +834,173 @@ final class PrimitiveSupport {
 
 	}
 
-	private static class BoxedIntCollection extends AbstractCollection<Integer> {
-		final IntCollection original;
+	private static class BoxedIntSortedSet extends BoxedIntSet implements SortedSet<Integer> {
 
-		BoxedIntCollection(IntCollection original) {
+		BoxedIntSortedSet(IntSortedSet original) {
+			super(original);
 			this.original = original;
 		}
 
-		@Override
-		public int size() {
-			return original.size();
-		}
+		private final IntSortedSet original;
 
 		@Override
-		public boolean isEmpty() {
-			return original.isEmpty();
+		public Comparator<? super Integer> comparator() {
+			return Comparator.naturalOrder();
 		}
 
 		@Override
-		public boolean contains(Object o) {
-			if (o != null && o instanceof Integer) {
-				return original.contains((int) o);
-			}
-			return false;
+		public SortedSet<Integer> subSet(Integer from, Integer to) {
+			return boxed(original.subSet(from, to));
 		}
 
 		@Override
-		public Iterator<Integer> iterator() {
-			return original.iterator();
+		public SortedSet<Integer> headSet(Integer to) {
+			return boxed(original.headSet(to));
 		}
 
 		@Override
-		public Object[] toArray() {
-			return boxed(original.toArray());
+		public SortedSet<Integer> tailSet(Integer from) {
+			return boxed(original.tailSet(from));
 		}
 
-		@SuppressWarnings("unchecked")
 		@Override
-		public <T> T[] toArray(T[] a) {
-			Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
-
-			Iterator<Integer> j = iterator();
-			for (int i = 0; i < array.length; i++) {
-				array[i] = Integer.valueOf(j.next());
-			}
-			return (T[]) array;
+		public Integer first() {
+			return original.first();
 		}
 
 		@Override
-		public boolean add(Integer e) {
-			return original.add(e);
+		public Integer last() {
+			return original.last();
 		}
+	}
 
-		@Override
-		public boolean remove(Object o) {
-			if (o instanceof Integer) {
-				return original.remove((int) o);
-			}
-			return false;
+	private static class BoxedLongSortedSet extends BoxedLongSet implements SortedSet<Long> {
+
+		BoxedLongSortedSet(LongSortedSet original) {
+			super(original);
+			this.original = original;
 		}
 
+		private final LongSortedSet original;
+
 		@Override
-		public boolean containsAll(Collection<?> c) {
-			return c.stream().allMatch(e -> contains(e));
+		public Comparator<? super Long> comparator() {
+			return Comparator.naturalOrder();
 		}
 
 		@Override
-		public boolean addAll(Collection<? extends Integer> c) {
-			return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
+		public SortedSet<Long> subSet(Long from, Long to) {
+			return boxed(original.subSet(from, to));
 		}
 
 		@Override
-		public boolean removeAll(Collection<?> c) {
-			return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
+		public SortedSet<Long> headSet(Long to) {
+			return boxed(original.headSet(to));
 		}
 
 		@Override
-		public boolean retainAll(Collection<?> c) {
-			boolean modified = false;
-			Iterator<Integer> i = iterator();
-			for (; i.hasNext();) {
-				if (!c.contains(i.next())) {
-					i.remove();
-					modified = true;
-				}
-			}
-			return modified;
+		public SortedSet<Long> tailSet(Long from) {
+			return boxed(original.tailSet(from));
 		}
 
 		@Override
-		public void clear() {
-			original.clear();
+		public Long first() {
+			return original.first();
 		}
 
 		@Override
-		public Spliterator<Integer> spliterator() {
-			return original.spliterator();
+		public Long last() {
+			return original.last();
 		}
 	}
 
-	private static class BoxedIntList extends AbstractList<Integer> {
-		private final IntList original;
-
-		BoxedIntList(IntList original) {
+	private static class BoxedByteSortedSet extends BoxedByteSet implements SortedSet<Byte> {
+		BoxedByteSortedSet(ByteSortedSet original) {
+			super(original);
 			this.original = original;
 		}
 
-		@Override
-		public int size() {
-			return original.size();
-		}
-
-		@Override
-		public boolean isEmpty() {
-			return original.isEmpty();
-		}
-
-		@Override
-		public boolean contains(Object o) {
-			if (o != null && o instanceof Integer) {
-				return original.contains((int) o);
-			}
-			return false;
-		}
+		private final ByteSortedSet original;
 
 		@Override
-		public Iterator<Integer> iterator() {
-			return original.iterator();
+		public Comparator<? super Byte> comparator() {
+			return Comparator.naturalOrder();
 		}
 
 		@Override
-		public Object[] toArray() {
-			return boxed(original.toArray());
+		public Byte first() {
+			return original.first();
 		}
 
-		@SuppressWarnings("unchecked")
 		@Override
-		public <T> T[] toArray(T[] a) {
-			Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
-
-			Iterator<Integer> j = iterator();
-			for (int i = 0; i < array.length; i++) {
-				array[i] = Integer.valueOf(j.next());
-			}
-			return (T[]) array;
+		public SortedSet<Byte> headSet(Byte to) {
+			return boxed(original.headSet(to));
 		}
 
 		@Override
-		public boolean add(Integer e) {
-			return add(e);
+		public Byte last() {
+			return original.last();
 		}
 
 		@Override
-		public boolean remove(Object o) {
-			if (o instanceof Integer) {
-				return original.remove((Integer) o);
-			}
-			return false;
+		public SortedSet<Byte> subSet(Byte from, Byte to) {
+			return boxed(original.subSet(from, to));
 		}
 
 		@Override
-		public boolean containsAll(Collection<?> c) {
-			return c.stream().allMatch(e -> contains(e));
+		public SortedSet<Byte> tailSet(Byte from) {
+			return boxed(original.tailSet(from));
 		}
 
-		@Override
-		public boolean addAll(Collection<? extends Integer> c) {
-			return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
-		}
+	}
 
-		@Override
-		public boolean addAll(int index, Collection<? extends Integer> c) {
-			int size = original.size();
-			original.addAll(new AbstractIntCollection() {
-				@Override
-				public int size() {
-					return c.size();
-				}
+	private static class BoxedCharSortedSet extends BoxedCharSet implements SortedSet<Character> {
 
-				@Override
-				public PrimitiveIterator.OfInt iterator() {
-					Iterator<? extends Integer> pi = c.iterator();
-					return new PrimitiveIterator.OfInt() {
-						@Override
-						public boolean hasNext() {
-							return pi.hasNext();
-						}
-
-						@Override
-						public int nextInt() {
-							return pi.next();
-						}
-					};
-				}
-			});
-			return size != original.size();
+		BoxedCharSortedSet(CharSortedSet original) {
+			super(original);
+			this.original = original;
 		}
 
-		@Override
-		public boolean removeAll(Collection<?> c) {
-			return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
-		}
+		private final CharSortedSet original;
 
 		@Override
-		public boolean retainAll(Collection<?> c) {
-			boolean modified = false;
-			Iterator<Integer> i = iterator();
-			for (; i.hasNext();) {
-				if (!c.contains(i.next())) {
-					i.remove();
-					modified = true;
-				}
-			}
-			return modified;
+		public Comparator<? super Character> comparator() {
+			return Comparator.naturalOrder();
 		}
 
 		@Override
-		public void clear() {
-			original.clear();
+		public SortedSet<Character> subSet(Character from, Character to) {
+			return boxed(original.subSet(from, to));
 		}
 
 		@Override
-		public Integer get(int index) {
-			return original.get(index);
+		public SortedSet<Character> headSet(Character to) {
+			return boxed(original.headSet(to));
 		}
 
 		@Override
-		public Integer set(int index, Integer element) {
-			return original.set(index, element);
+		public SortedSet<Character> tailSet(Character from) {
+			return boxed(original.tailSet(from));
 		}
 
 		@Override
-		public void add(int index, Integer element) {
-			original.insert(index, element);
+		public Character first() {
+			return original.first();
 		}
 
 		@Override
-		public Integer remove(int index) {
-			return original.removeAt(index);
+		public Character last() {
+			return original.last();
 		}
+	}
 
-		@Override
-		public int indexOf(Object o) {
-			if (o instanceof Integer && o != null) {
-				return original.indexOf((Integer) o);
-			}
-			return -1;
-		}
+	private static class NarrowingSpliterator<W, T> implements Spliterator<T> {
+		final Spliterator<? extends W> original;
+		final Function<? super W, ? extends T> narrowing;
 
-		@Override
-		public int lastIndexOf(Object o) {
-			if (o instanceof Integer && o != null) {
-				return original.lastIndexOf((Integer) o);
-			}
-			return -1;
-		}
-
-		@Override
-		public ListIterator<Integer> listIterator() {
-			return original.listIterator();
-		}
-
-		@Override
-		public ListIterator<Integer> listIterator(int index) {
-			return original.listIterator(index);
-		}
-
-		@Override
-		public List<Integer> subList(int fromIndex, int toIndex) {
-			return original.subList(fromIndex, toIndex).boxedView();
-		}
-	}
-
-	private static class BoxedIntListRandomAccess extends BoxedIntList implements RandomAccess {
-		BoxedIntListRandomAccess(IntList original) {
-			super(original);
-		}
-	}
-
-	private static class BoxedIntSet extends AbstractSet<Integer> {
-		private final IntSet original;
-
-		BoxedIntSet(IntSet original) {
-			this.original = original;
-		}
-
-		@Override
-		public int size() {
-			return original.size();
-		}
-
-		@Override
-		public boolean isEmpty() {
-			return original.isEmpty();
-		}
-
-		@Override
-		public boolean contains(Object o) {
-			if (o != null && o instanceof Integer) {
-				return original.contains((int) o);
-			}
-			return false;
-		}
-
-		@Override
-		public Iterator<Integer> iterator() {
-			return original.iterator();
-		}
-
-		@Override
-		public Object[] toArray() {
-			return boxed(original.toArray());
-		}
-
-		@SuppressWarnings("unchecked")
-		@Override
-		public <T> T[] toArray(T[] a) {
-			Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
-
-			Iterator<Integer> j = iterator();
-			for (int i = 0; i < array.length; i++) {
-				array[i] = Integer.valueOf(j.next());
-			}
-			return (T[]) array;
-		}
-
-		@Override
-		public boolean add(Integer e) {
-			return original.add(e);
-		}
-
-		@Override
-		public boolean remove(Object o) {
-			if (o instanceof Integer) {
-				return original.remove((Integer) o);
-			}
-			return false;
-		}
-
-		@Override
-		public boolean containsAll(Collection<?> c) {
-			return c.stream().allMatch(e -> contains(e));
-		}
-
-		@Override
-		public boolean addAll(Collection<? extends Integer> c) {
-			return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean removeAll(Collection<?> c) {
-			return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean retainAll(Collection<?> c) {
-			boolean modified = false;
-			Iterator<Integer> i = iterator();
-			for (; i.hasNext();) {
-				if (!c.contains(i.next())) {
-					i.remove();
-					modified = true;
-				}
-			}
-			return modified;
-		}
-
-		@Override
-		public void clear() {
-			original.clear();
-		}
-
-		@Override
-		public Spliterator<Integer> spliterator() {
-			return original.spliterator();
-		}
-	}
-
-	private static class BoxedIntSortedSet extends BoxedIntSet implements SortedSet<Integer> {
-
-		BoxedIntSortedSet(IntSortedSet original) {
-			super(original);
-			this.original = original;
-		}
-
-		private final IntSortedSet original;
-
-		@Override
-		public Comparator<? super Integer> comparator() {
-			return Comparator.naturalOrder();
-		}
-
-		@Override
-		public SortedSet<Integer> subSet(Integer from, Integer to) {
-			return boxed(original.subSet(from, to));
-		}
-
-		@Override
-		public SortedSet<Integer> headSet(Integer to) {
-			return boxed(original.headSet(to));
-		}
-
-		@Override
-		public SortedSet<Integer> tailSet(Integer from) {
-			return boxed(original.tailSet(from));
-		}
-
-		@Override
-		public Integer first() {
-			return original.first();
-		}
-
-		@Override
-		public Integer last() {
-			return original.last();
-		}
-	}
-
-	private static class BoxedLongCollection extends AbstractCollection<Long> {
-		final LongCollection original;
-
-		BoxedLongCollection(LongCollection original) {
-			this.original = original;
-		}
-
-		@Override
-		public int size() {
-			return original.size();
-		}
-
-		@Override
-		public boolean isEmpty() {
-			return original.isEmpty();
-		}
-
-		@Override
-		public boolean contains(Object o) {
-			if (o != null && o instanceof Long) {
-				return original.contains((long) o);
-			}
-			return false;
-		}
-
-		@Override
-		public Iterator<Long> iterator() {
-			return original.iterator();
-		}
-
-		@Override
-		public Object[] toArray() {
-			return boxed(original.toArray());
-		}
-
-		@SuppressWarnings("unchecked")
-		@Override
-		public <T> T[] toArray(T[] a) {
-			Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
-
-			Iterator<Long> j = iterator();
-			for (int i = 0; i < array.length; i++) {
-				array[i] = Long.valueOf(j.next());
-			}
-			return (T[]) array;
-		}
-
-		@Override
-		public boolean add(Long e) {
-			return original.add(e);
-		}
-
-		@Override
-		public boolean remove(Object o) {
-			if (o instanceof Long) {
-				return original.remove((long) o);
-			}
-			return false;
-		}
-
-		@Override
-		public boolean containsAll(Collection<?> c) {
-			return c.stream().allMatch(e -> contains(e));
-		}
-
-		@Override
-		public boolean addAll(Collection<? extends Long> c) {
-			return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean removeAll(Collection<?> c) {
-			return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean retainAll(Collection<?> c) {
-			boolean modified = false;
-			Iterator<Long> i = iterator();
-			for (; i.hasNext();) {
-				if (!c.contains(i.next())) {
-					i.remove();
-					modified = true;
-				}
-			}
-			return modified;
-		}
-
-		@Override
-		public void clear() {
-			original.clear();
-		}
-
-		@Override
-		public Spliterator<Long> spliterator() {
-			return original.spliterator();
-		}
-	}
-
-	private static class BoxedLongSet extends AbstractSet<Long> {
-		private final LongSet original;
-
-		BoxedLongSet(LongSet original) {
-			this.original = original;
-		}
-
-		@Override
-		public int size() {
-			return original.size();
-		}
-
-		@Override
-		public boolean isEmpty() {
-			return original.isEmpty();
-		}
-
-		@Override
-		public boolean contains(Object o) {
-			if (o != null && o instanceof Long) {
-				return original.contains((long) o);
-			}
-			return false;
-		}
-
-		@Override
-		public Iterator<Long> iterator() {
-			return original.iterator();
-		}
-
-		@Override
-		public Object[] toArray() {
-			return boxed(original.toArray());
-		}
-
-		@SuppressWarnings("unchecked")
-		@Override
-		public <T> T[] toArray(T[] a) {
-			Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
-
-			Iterator<Long> j = iterator();
-			for (int i = 0; i < array.length; i++) {
-				array[i] = Long.valueOf(j.next());
-			}
-			return (T[]) array;
-		}
-
-		@Override
-		public boolean add(Long e) {
-			return original.add(e);
-		}
-
-		@Override
-		public boolean remove(Object o) {
-			if (o instanceof Integer) {
-				return original.remove((Integer) o);
-			}
-			return false;
-		}
-
-		@Override
-		public boolean containsAll(Collection<?> c) {
-			return c.stream().allMatch(e -> contains(e));
-		}
-
-		@Override
-		public boolean addAll(Collection<? extends Long> c) {
-			return c.stream().map(l -> add(l)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean removeAll(Collection<?> c) {
-			return c.stream().map(l -> remove(l)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean retainAll(Collection<?> c) {
-			boolean modified = false;
-			Iterator<Long> i = iterator();
-			for (; i.hasNext();) {
-				if (!c.contains(i.next())) {
-					i.remove();
-					modified = true;
-				}
-			}
-			return modified;
-		}
-
-		@Override
-		public void clear() {
-			original.clear();
-		}
-
-		@Override
-		public Spliterator<Long> spliterator() {
-			return original.spliterator();
-		}
-	}
-
-	private static class BoxedLongSortedSet extends BoxedLongSet implements SortedSet<Long> {
-
-		BoxedLongSortedSet(LongSortedSet original) {
-			super(original);
-			this.original = original;
-		}
-
-		private final LongSortedSet original;
-
-		@Override
-		public Comparator<? super Long> comparator() {
-			return Comparator.naturalOrder();
-		}
-
-		@Override
-		public SortedSet<Long> subSet(Long from, Long to) {
-			return boxed(original.subSet(from, to));
-		}
-
-		@Override
-		public SortedSet<Long> headSet(Long to) {
-			return boxed(original.headSet(to));
-		}
-
-		@Override
-		public SortedSet<Long> tailSet(Long from) {
-			return boxed(original.tailSet(from));
-		}
-
-		@Override
-		public Long first() {
-			return original.first();
-		}
-
-		@Override
-		public Long last() {
-			return original.last();
-		}
-	}
-
-	private static class BoxedByteCollection extends AbstractCollection<Byte> {
-		final ByteCollection original;
-
-		BoxedByteCollection(ByteCollection original) {
-			this.original = original;
-		}
-
-		@Override
-		public int size() {
-			return original.size();
-		}
-
-		@Override
-		public boolean isEmpty() {
-			return original.isEmpty();
-		}
-
-		@Override
-		public boolean contains(Object o) {
-			if (o != null && o instanceof Byte) {
-				return original.contains((byte) o);
-			}
-			return false;
-		}
-
-		@Override
-		public Iterator<Byte> iterator() {
-			return original.iterator();
-		}
-
-		@Override
-		public Object[] toArray() {
-			return boxed(original.toArray());
-		}
-
-		@SuppressWarnings("unchecked")
-		@Override
-		public <T> T[] toArray(T[] a) {
-			Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
-
-			Iterator<Byte> j = iterator();
-			for (int i = 0; i < array.length; i++) {
-				array[i] = Integer.valueOf(j.next());
-			}
-			return (T[]) array;
-		}
-
-		@Override
-		public boolean add(Byte e) {
-			return original.add(e);
-		}
-
-		@Override
-		public boolean remove(Object o) {
-			if (o instanceof Byte) {
-				return original.remove((byte) o);
-			}
-			return false;
-		}
-
-		@Override
-		public boolean containsAll(Collection<?> c) {
-			return c.stream().allMatch(e -> contains(e));
-		}
-
-		@Override
-		public boolean addAll(Collection<? extends Byte> c) {
-			return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean removeAll(Collection<?> c) {
-			return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean retainAll(Collection<?> c) {
-			boolean modified = false;
-			Iterator<Byte> i = iterator();
-			for (; i.hasNext();) {
-				if (!c.contains(i.next())) {
-					i.remove();
-					modified = true;
-				}
-			}
-			return modified;
-		}
-
-		@Override
-		public void clear() {
-			original.clear();
-		}
-
-		@Override
-		public Spliterator<Byte> spliterator() {
-			return PrimitiveSupport.toByte(original.spliteratorSigned());
-		}
-	}
-
-	private static class BoxedByteList extends AbstractList<Byte> {
-		private final ByteList original;
-
-		BoxedByteList(ByteList original) {
-			this.original = original;
-		}
-
-		@Override
-		public int size() {
-			return original.size();
-		}
-
-		@Override
-		public boolean isEmpty() {
-			return original.isEmpty();
-		}
-
-		@Override
-		public boolean contains(Object o) {
-			if (o != null && o instanceof Byte) {
-				return original.contains((byte) o);
-			}
-			return false;
-		}
-
-		@Override
-		public Iterator<Byte> iterator() {
-			return original.iterator();
-		}
-
-		@Override
-		public Object[] toArray() {
-			return boxed(original.toArray());
-		}
-
-		@SuppressWarnings("unchecked")
-		@Override
-		public <T> T[] toArray(T[] a) {
-			Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
-
-			Iterator<Byte> j = iterator();
-			for (int i = 0; i < array.length; i++) {
-				array[i] = Integer.valueOf(j.next());
-			}
-			return (T[]) array;
-		}
-
-		@Override
-		public boolean add(Byte e) {
-			return add(e);
-		}
-
-		@Override
-		public boolean remove(Object o) {
-			if (o instanceof Byte) {
-				return original.remove((Byte) o);
-			}
-			return false;
-		}
-
-		@Override
-		public boolean containsAll(Collection<?> c) {
-			return c.stream().allMatch(e -> contains(e));
-		}
-
-		@Override
-		public boolean addAll(Collection<? extends Byte> c) {
-			return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean addAll(int index, Collection<? extends Byte> c) {
-			if(c.isEmpty()) {
-				return false;
-			}
-			original.insertAll(index, new AbstractByteCollection() {
-				@Override
-				public int size() {
-					return c.size();
-				}
-
-				@Override
-				public ByteIterator iterator() {
-					Iterator<? extends Byte> pi = c.iterator();
-					return new ByteIterator() {
-						@Override
-						public boolean hasNext() {
-							return pi.hasNext();
-						}
-
-						@Override
-						public byte nextByte() {
-							return pi.next();
-						}
-					};
-				}
-			});
-			return true;
-		}
-
-		@Override
-		public boolean removeAll(Collection<?> c) {
-			return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean retainAll(Collection<?> c) {
-			boolean modified = false;
-			Iterator<Byte> i = iterator();
-			for (; i.hasNext();) {
-				if (!c.contains(i.next())) {
-					i.remove();
-					modified = true;
-				}
-			}
-			return modified;
-		}
-
-		@Override
-		public void clear() {
-			original.clear();
-		}
-
-		@Override
-		public Byte get(int index) {
-			return original.get(index);
-		}
-
-		@Override
-		public Byte set(int index, Byte element) {
-			return original.set(index, element);
-		}
-
-		@Override
-		public void add(int index, Byte element) {
-			original.insert(index, element);
-		}
-
-		@Override
-		public Byte remove(int index) {
-			return original.removeAt(index);
-		}
-
-		@Override
-		public int indexOf(Object o) {
-			if (o != null && o instanceof Byte) {
-				return original.indexOf((Byte) o);
-			}
-			return -1;
-		}
-
-		@Override
-		public int lastIndexOf(Object o) {
-			if (o != null && o instanceof Byte) {
-				return original.lastIndexOf((Byte) o);
-			}
-			return -1;
-		}
-
-		@Override
-		public ListIterator<Byte> listIterator() {
-			return original.listIterator();
-		}
-
-		@Override
-		public ListIterator<Byte> listIterator(int index) {
-			return original.listIterator(index);
-		}
-
-		@Override
-		public List<Byte> subList(int fromIndex, int toIndex) {
-			return original.subList(fromIndex, toIndex).boxedView();
-		}
-	}
-
-	private static class BoxedByteSet extends AbstractSet<Byte> {
-		private final ByteSet original;
-
-		BoxedByteSet(ByteSet original) {
-			this.original = original;
-		}
-
-		@Override
-		public int size() {
-			return original.size();
-		}
-
-		@Override
-		public boolean isEmpty() {
-			return original.isEmpty();
-		}
-
-		@Override
-		public boolean contains(Object o) {
-			if (o != null && o instanceof Byte) {
-				return original.contains((byte) o);
-			}
-			return false;
-		}
-
-		@Override
-		public Iterator<Byte> iterator() {
-			return original.iterator();
-		}
-
-		@Override
-		public Object[] toArray() {
-			return boxed(original.toArray());
-		}
-
-		@SuppressWarnings("unchecked")
-		@Override
-		public <T> T[] toArray(T[] a) {
-			Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
-
-			Iterator<Byte> j = iterator();
-			for (int i = 0; i < array.length; i++) {
-				array[i] = Byte.valueOf(j.next());
-			}
-			return (T[]) array;
-		}
-
-		@Override
-		public boolean add(Byte e) {
-			return original.add(e);
-		}
-
-		@Override
-		public boolean remove(Object o) {
-			if (o instanceof Integer) {
-				return original.remove((Byte) o);
-			}
-			return false;
-		}
-
-		@Override
-		public boolean containsAll(Collection<?> c) {
-			return c.stream().allMatch(e -> contains(e));
-		}
-
-		@Override
-		public boolean addAll(Collection<? extends Byte> c) {
-			return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean removeAll(Collection<?> c) {
-			return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean retainAll(Collection<?> c) {
-			boolean modified = false;
-			Iterator<Byte> i = iterator();
-			for (; i.hasNext();) {
-				if (!c.contains(i.next())) {
-					i.remove();
-					modified = true;
-				}
-			}
-			return modified;
-		}
-
-		@Override
-		public void clear() {
-			original.clear();
-		}
-
-		@Override
-		public Spliterator<Byte> spliterator() {
-			return toByte(original.spliteratorSigned());
-		}
-	}
-
-	private static class BoxedByteSortedSet extends BoxedByteSet implements SortedSet<Byte> {
-		BoxedByteSortedSet(ByteSortedSet original) {
-			super(original);
-			this.original = original;
-		}
-
-		private final ByteSortedSet original;
-
-		@Override
-		public Comparator<? super Byte> comparator() {
-			return Comparator.naturalOrder();
-		}
-
-		@Override
-		public Byte first() {
-			return original.first();
-		}
-
-		@Override
-		public SortedSet<Byte> headSet(Byte to) {
-			return boxed(original.headSet(to));
-		}
-
-		@Override
-		public Byte last() {
-			return original.last();
-		}
-
-		@Override
-		public SortedSet<Byte> subSet(Byte from, Byte to) {
-			return boxed(original.subSet(from, to));
-		}
-
-		@Override
-		public SortedSet<Byte> tailSet(Byte from) {
-			return boxed(original.tailSet(from));
-		}
-
-	}
-
-	private static class BoxedCharCollection extends AbstractCollection<Character> {
-		final CharCollection original;
-
-		BoxedCharCollection(CharCollection original) {
-			this.original = original;
-		}
-
-		@Override
-		public int size() {
-			return original.size();
-		}
-
-		@Override
-		public boolean isEmpty() {
-			return original.isEmpty();
-		}
-
-		@Override
-		public boolean contains(Object o) {
-			if (o != null && o instanceof Character) {
-				return original.contains((char) o);
-			}
-			return false;
-		}
-
-		@Override
-		public Iterator<Character> iterator() {
-			return original.iterator();
-		}
-
-		@Override
-		public Object[] toArray() {
-			return boxed(original.toArray());
-		}
-
-		@SuppressWarnings("unchecked")
-		@Override
-		public <T> T[] toArray(T[] a) {
-			Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
-
-			Iterator<Character> j = iterator();
-			for (int i = 0; i < array.length; i++) {
-				array[i] = Character.valueOf(j.next());
-			}
-			return (T[]) array;
-		}
-
-		@Override
-		public boolean add(Character e) {
-			return original.add(e);
-		}
-
-		@Override
-		public boolean remove(Object o) {
-			if (o instanceof Character) {
-				return original.remove((char) o);
-			}
-			return false;
-		}
-
-		@Override
-		public boolean containsAll(Collection<?> c) {
-			return c.stream().allMatch(e -> contains(e));
-		}
-
-		@Override
-		public boolean addAll(Collection<? extends Character> c) {
-			return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean removeAll(Collection<?> c) {
-			return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean retainAll(Collection<?> c) {
-			boolean modified = false;
-			Iterator<Character> i = iterator();
-			for (; i.hasNext();) {
-				if (!c.contains(i.next())) {
-					i.remove();
-					modified = true;
-				}
-			}
-			return modified;
-		}
-
-		@Override
-		public void clear() {
-			original.clear();
-		}
-
-		@Override
-		public Spliterator<Character> spliterator() {
-			return PrimitiveSupport.toChar(original.spliterator());
-		}
-	}
-
-	private static class BoxedCharSet extends AbstractSet<Character> {
-		private final CharSet original;
-
-		BoxedCharSet(CharSet original) {
-			this.original = original;
-		}
-
-		@Override
-		public int size() {
-			return original.size();
-		}
-
-		@Override
-		public boolean isEmpty() {
-			return original.isEmpty();
-		}
-
-		@Override
-		public boolean contains(Object o) {
-			if (o != null && o instanceof Character) {
-				return original.contains((char) o);
-			}
-			return false;
-		}
-
-		@Override
-		public Iterator<Character> iterator() {
-			return original.iterator();
-		}
-
-		@Override
-		public Object[] toArray() {
-			return boxed(original.toArray());
-		}
-
-		@SuppressWarnings("unchecked")
-		@Override
-		public <T> T[] toArray(T[] a) {
-			Object[] array = (Object[]) Array.newInstance(a.getClass().getComponentType(), size());
-
-			Iterator<Character> j = iterator();
-			for (int i = 0; i < array.length; i++) {
-				array[i] = Character.valueOf(j.next());
-			}
-			return (T[]) array;
-		}
-
-		@Override
-		public boolean add(Character e) {
-			return original.add(e);
-		}
-
-		@Override
-		public boolean remove(Object o) {
-			if (o instanceof Character) {
-				return original.remove((Character) o);
-			}
-			return false;
-		}
-
-		@Override
-		public boolean containsAll(Collection<?> c) {
-			return c.stream().allMatch(e -> contains(e));
-		}
-
-		@Override
-		public boolean addAll(Collection<? extends Character> c) {
-			return c.stream().map(i -> add(i)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean removeAll(Collection<?> c) {
-			return c.stream().map(i -> remove(i)).reduce(false, (l, r) -> l | r);
-		}
-
-		@Override
-		public boolean retainAll(Collection<?> c) {
-			boolean modified = false;
-			Iterator<Character> i = iterator();
-			for (; i.hasNext();) {
-				if (!c.contains(i.next())) {
-					i.remove();
-					modified = true;
-				}
-			}
-			return modified;
-		}
-
-		@Override
-		public void clear() {
-			original.clear();
-		}
-
-		@Override
-		public Spliterator<Character> spliterator() {
-			return toChar(original.spliterator());
-		}
-	}
-
-	private static class BoxedCharSortedSet extends BoxedCharSet implements SortedSet<Character> {
-
-		BoxedCharSortedSet(CharSortedSet original) {
-			super(original);
+		NarrowingSpliterator(Spliterator<? extends W> original, Function<? super W, ? extends T> narrowing) {
 			this.original = original;
-		}
-
-		private final CharSortedSet original;
-
-		@Override
-		public Comparator<? super Character> comparator() {
-			return Comparator.naturalOrder();
-		}
-
-		@Override
-		public SortedSet<Character> subSet(Character from, Character to) {
-			return boxed(original.subSet(from, to));
-		}
-
-		@Override
-		public SortedSet<Character> headSet(Character to) {
-			return boxed(original.headSet(to));
-		}
-
-		@Override
-		public SortedSet<Character> tailSet(Character from) {
-			return boxed(original.tailSet(from));
-		}
-
-		@Override
-		public Character first() {
-			return original.first();
-		}
-
-		@Override
-		public Character last() {
-			return original.last();
-		}
-	}
-
-	private static class IntegerByteSpliterator implements Spliterator<Byte> {
-		final Spliterator<? extends Integer> original;
-
-		IntegerByteSpliterator(Spliterator<? extends Integer> signed) {
-			original = signed;
-		}
-
-		@Override
-		public int characteristics() {
-			return original.characteristics();
-		}
-
-		@Override
-		public long estimateSize() {
-			return original.estimateSize();
-		}
-
-		@Override
-		public boolean tryAdvance(Consumer<? super Byte> arg0) {
-			return original.tryAdvance((Integer b) -> arg0.accept((byte)(int) b));
-		}
-
-		@Override
-		public Spliterator<Byte> trySplit() {
-			Spliterator<? extends Integer> splited = original.trySplit();
-			if(splited == null) {
-				return null;
-			}
-			return new IntegerByteSpliterator(original.trySplit());
-		}
-	}
-
-	private static class IntegerCharSpliterator implements Spliterator<Character> {
-		final Spliterator<? extends Integer> original;
-
-		IntegerCharSpliterator(Spliterator<? extends Integer> spliterator) {
-			original = spliterator;
+			this.narrowing = narrowing;
 		}
 
 		@Override
@@ -2018,17 +1014,17 @@ final class PrimitiveSupport {
 		}
 
 		@Override
-		public boolean tryAdvance(Consumer<? super Character> arg0) {
-			return original.tryAdvance((Integer b) -> arg0.accept((char)(int) b));
+		public boolean tryAdvance(Consumer<? super T> action) {
+			return original.tryAdvance((W w) -> action.accept(narrowing.apply(w)));
 		}
 
 		@Override
-		public Spliterator<Character> trySplit() {
-			Spliterator<? extends Integer> splited = original.trySplit();
+		public Spliterator<T> trySplit() {
+			Spliterator<? extends W> splited = original.trySplit();
 			if(splited == null) {
 				return null;
 			}
-			return new IntegerCharSpliterator(original.trySplit());
+			return new NarrowingSpliterator<>(splited, narrowing);
 		}
 	}
 }
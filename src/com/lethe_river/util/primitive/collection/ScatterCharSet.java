@@ -1,8 +1,16 @@
+// このファイルはcodegen/templates/ScatterSet.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.collection;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
 
 import com.lethe_river.util.primitive.HashSupport;
 
@@ -10,28 +18,29 @@ import com.lethe_river.util.primitive.HashSupport;
  * scatter tableを用いたCharSetの実装
  *
  * - open address
- * - prime number bucket
+ * - prime number bucket (or power of two bucket)
  * - Robin Hood Hashing
  * - liner probing
  *
  * @author YuyaAizawa
  *
  */
-
 @SuppressWarnings("serial") // SerializationProxyに委譲
 public final class ScatterCharSet extends AbstractCharSet {
 
 	// NULLをあらわす数字
 	private static final char NULL = 0;
 
-	private static final int DEFAULT_INIT_CAPACITY = 11;
 	private static final float DEFAULT_LOAD_FACTOR = 0.75f;
 	private static final int MAX_CAPACITY = 1<<30;
 
 	private static final char[] EMPTY_DATA = {};
 
+	// まとめて探索する要素の数
+	private static final int BATCH_SIZE = 32;
+
 	// NULL以外の要素を入れる配列
-	private char [] field;
+	private char[] field;
 
 	// NULLで使われている数字を含むか
 	private boolean hasNull;
@@ -42,22 +51,34 @@ public final class ScatterCharSet extends AbstractCharSet {
 	// 負荷係数
 	private final float loadFactor;
 
+	// 配列長の決め方
+	private final TableSizing sizing;
+	private final boolean powerOfTwo;
+
 	// 次にリハッシュする容量
 	private int threshold;
 
+	// 自動縮小の閾値となる負荷係数．0なら縮小しない
+	private float shrinkFactor;
+
 	// 構造的変更検出用
 	private int modCount;
 
 	/**
-	 * 初期容量と負荷係数を指定してCharScatterTableを生成する.
+	 * 初期容量，負荷係数と配列長の決め方を指定してScatterCharSetを生成する.
 	 *
 	 * @param initCapacity 初期容量
 	 * @param loadFactor 負荷係数
+	 * @param sizing 配列長の決め方
 	 */
-	public ScatterCharSet(int initCapacity, float loadFactor) {
+	public ScatterCharSet(int initCapacity, float loadFactor, TableSizing sizing) {
 		if(initCapacity < 0) {
 			throw new IllegalArgumentException("initCapacity must be positive :"+initCapacity);
 		}
+		Objects.requireNonNull(sizing);
+		if(initCapacity > 0) {
+			initCapacity = sizing.roundUp(Math.min(initCapacity, MAX_CAPACITY));
+		}
 
 		field = initCapacity == 0 ?
 				EMPTY_DATA :
@@ -65,12 +86,24 @@ public final class ScatterCharSet extends AbstractCharSet {
 		hasNull = false;
 		size = 0;
 		this.loadFactor = loadFactor;
+		this.sizing = sizing;
+		this.powerOfTwo = sizing == TableSizing.POWER_OF_TWO;
 		threshold = (int) (initCapacity * loadFactor);
 		modCount = 0;
 	}
 
 	/**
-	 * 初期容量を指定してCharScatterTableを生成する.
+	 * 初期容量と負荷係数を指定してScatterCharSetを生成する.
+	 *
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 */
+	public ScatterCharSet(int initCapacity, float loadFactor) {
+		this(initCapacity, loadFactor, TableSizing.PRIME);
+	}
+
+	/**
+	 * 初期容量を指定してScatterCharSetを生成する.
 	 *
 	 * 負荷係数はデフォルトの値(0.75)が用いられる
 	 * @param initCapacity 初期容量
@@ -80,13 +113,15 @@ public final class ScatterCharSet extends AbstractCharSet {
 	}
 
 	/**
-	 * デフォルトの初期容量(11)と負荷係数を利用してCharScatterTableを生成する.
+	 * デフォルトの初期容量(11)と負荷係数を利用してScatterCharSetを生成する.
 	 */
 	public ScatterCharSet() {
 		field = EMPTY_DATA;
 		hasNull = false;
 		size = 0;
 		loadFactor = DEFAULT_LOAD_FACTOR;
+		sizing = TableSizing.PRIME;
+		powerOfTwo = false;
 		threshold = 0;
 		modCount = 0;
 	}
@@ -94,7 +129,7 @@ public final class ScatterCharSet extends AbstractCharSet {
 	/**
 	 * 指定されたCharSetの内容をコピーする.
 	 * 付加係数はデフォルトの値(0.75)，
-	 * 初期容量はオリジナルのIntSetが拡張なしに入る値となる．
+	 * 初期容量はオリジナルのCharSetが拡張なしに入る値となる．
 	 * @param original
 	 */
 	public ScatterCharSet(CharSet original) {
@@ -119,7 +154,7 @@ public final class ScatterCharSet extends AbstractCharSet {
 		if(field==EMPTY_DATA) {
 			return false;
 		}
-		int index = hash(ch) % field.length;
+		int index = indexFor(hash(ch), field.length);
 		int limit = index-1;
 		if(limit == -1) {
 			limit = field.length;
@@ -141,6 +176,44 @@ public final class ScatterCharSet extends AbstractCharSet {
 
 	/**
 	 * {@inheritDoc}
+	 *
+	 * 要素を一定数ずつまとめ，先に全ての本来の位置を求めて読んでから判定する．
+	 */
+	@Override
+	public int containsMask(char[] in, int offset, int length, long[] bitmaskOut) {
+		PrimitiveSupport.checkBounds(in, offset, length);
+		PrimitiveSupport.checkBounds(bitmaskOut, 0, (length+63)>>>6);
+		Arrays.fill(bitmaskOut, 0, (length+63)>>>6, 0L);
+		char[] field = this.field;
+		if(field == EMPTY_DATA) {
+			return hasNull ? super.containsMask(in, offset, length, bitmaskOut) : 0;
+		}
+		int count = 0;
+		int[] homes = new int[BATCH_SIZE];
+		char[] heads = new char[BATCH_SIZE];
+		for(int done = 0;done < length;done += BATCH_SIZE) {
+			int n = Math.min(BATCH_SIZE, length - done);
+			int base = offset + done;
+			// 互いに依存しない読み込みを並べ，キャッシュミスの待ち時間を重ねる
+			for (int i = 0; i < n; i++) {
+				homes[i] = indexFor(hash(in[base + i]), field.length);
+			}
+			for (int i = 0; i < n; i++) {
+				heads[i] = field[homes[i]];
+			}
+			for (int i = 0; i < n; i++) {
+				char e = in[base + i];
+				if((heads[i] == e && e != NULL) || contains(e)) {
+					bitmaskOut[(done + i)>>>6] |= 1L << (done + i);
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * {@inheritDoc}}
 	 */
 	@Override
 	public boolean add(char ch) {
@@ -160,7 +233,7 @@ public final class ScatterCharSet extends AbstractCharSet {
 			throw new  RuntimeException("Too many entries!");
 		}
 
-		for(int index = hash(ch) % field.length;;index++) {
+		for(int index = indexFor(hash(ch), field.length);;index++) {
 			if(index == field.length) {
 				index = 0;
 			}
@@ -177,10 +250,26 @@ public final class ScatterCharSet extends AbstractCharSet {
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * 指定されたchar値をこのコレクションから削除する
+	 * @return 指定された要素を保持していればtrue
 	 */
 	@Override
 	public boolean remove(char ch) {
+		if(!delete(ch)) {
+			return false;
+		}
+		if(ch != NULL) {
+			shrinkIfSparse();
+		}
+		return true;
+	}
+
+	/**
+	 * 指定された要素を削除する．配列の縮小は行わない.
+	 * @param ch 削除する要素
+	 * @return 指定された要素を保持していればtrue
+	 */
+	private boolean delete(char ch) {
 		if(ch == NULL) {
 			if(hasNull) {
 				hasNull = false;
@@ -193,7 +282,7 @@ public final class ScatterCharSet extends AbstractCharSet {
 		if(field==EMPTY_DATA) {
 			return false;
 		}
-		for(int index = hash(ch) % field.length;;index++) {
+		for(int index = indexFor(hash(ch), field.length);;index++) {
 			if(index == field.length) {
 				index = 0;
 			}
@@ -226,8 +315,9 @@ public final class ScatterCharSet extends AbstractCharSet {
 				modCount++;
 				return;
 			}
-			int pos = hash(ch) % field.length;
-			if((dst < src && pos <= dst)
+			int pos = indexFor(hash(ch), field.length);
+			// 本来の位置が(dst, src]の外にあれば詰める
+			if((dst < src && (pos <= dst || src < pos))
 			|| (src < dst && (src < pos && pos <= dst))) {
 				field[dst] = ch;
 				dst = src;
@@ -246,11 +336,11 @@ public final class ScatterCharSet extends AbstractCharSet {
 		} catch(IllegalArgumentException e) {
 			throw new  RuntimeException("Too many entries!");
 		}
-		chs.forEach(i -> add(i));
+		chs.forEach(ch -> add(ch));
 	}
 
 	/**
-	 * 指定した容量を格納できるようこのCharScatterTableの内部配列を拡張する.
+	 * 指定した容量を格納できるようこのScatterCharSetの内部配列を拡張する.
 	 * @param minCapasity 保持するchar値の数
 	 * @throws IllegalArgumentException minCapacityが[1, MAX_CAPACITY]の範囲外だったとき
 	 */
@@ -262,15 +352,58 @@ public final class ScatterCharSet extends AbstractCharSet {
 			return;
 		}
 
-		int reccommended = (field==EMPTY_DATA) ?
-				DEFAULT_INIT_CAPACITY :
-				HashSupport.avoid2357(field.length<<1);
-		int nextCapacity = Math.max((int)(minCapasity / loadFactor)+1 , reccommended);
-		nextCapacity = Math.min(nextCapacity, MAX_CAPACITY);
+		int nextCapacity = sizing.grownCapacity(field.length, minCapasity, loadFactor, MAX_CAPACITY);
 
 		rehash(nextCapacity);
 	}
 
+	/**
+	 * 内部配列を現在の要素数に見合った長さまで縮小する.
+	 * 要素を含まない場合は配列を解放する．
+	 */
+	public void trimToSize() {
+		int count = hasNull ? size-1 : size;
+		if(count == 0) {
+			if(field != EMPTY_DATA) {
+				field = EMPTY_DATA;
+				threshold = 0;
+				modCount++;
+			}
+			return;
+		}
+		int capacity = sizing.trimmedCapacity(count, loadFactor, MAX_CAPACITY);
+		if(capacity < field.length) {
+			rehash(capacity);
+		}
+	}
+
+	/**
+	 * 要素の削除により負荷係数が指定した値を下回ったとき，内部配列を自動的に縮小するよう設定する.
+	 *
+	 * 縮小後の負荷係数は設定した負荷係数のおよそ半分となる．
+	 * 0を指定すると縮小しない(デフォルト)．イテレータによる削除では縮小しない．
+	 * @param shrinkFactor 縮小の閾値となる負荷係数
+	 * @throws IllegalArgumentException shrinkFactorが[0, 負荷係数/2)の範囲外だったとき
+	 */
+	public void setShrinkFactor(float shrinkFactor) {
+		TableSizing.checkShrinkFactor(shrinkFactor, loadFactor);
+		this.shrinkFactor = shrinkFactor;
+	}
+
+	/**
+	 * 負荷係数が縮小の閾値を下回っていれば内部配列を縮小する.
+	 */
+	private void shrinkIfSparse() {
+		int length = field.length;
+		if(!sizing.isSparse(size, length, shrinkFactor)) {
+			return;
+		}
+		int capacity = sizing.sparseCapacity(size, loadFactor);
+		if(capacity < length) {
+			rehash(capacity);
+		}
+	}
+
 	private void rehash(int nextCapacity) {
 		char[] tmp = new char[nextCapacity];
 		for (int i = 0; i < field.length; i++) {
@@ -278,7 +411,7 @@ public final class ScatterCharSet extends AbstractCharSet {
 			if(j == NULL) {
 				continue;
 			}
-			for(int index = hash(j) % tmp.length;;index++) {
+			for(int index = indexFor(hash(j), tmp.length);;index++) {
 				if(index == tmp.length) {
 					index = 0;
 				}
@@ -303,6 +436,16 @@ public final class ScatterCharSet extends AbstractCharSet {
 		return Integer.MAX_VALUE & HashSupport.thomasMueller(j);
 	}
 
+	/**
+	 * ハッシュから指定した長さの配列上での位置を返す．
+	 * @param hash 要素のハッシュ(正数のint)
+	 * @param length 配列の長さ
+	 * @return 配列上での位置
+	 */
+	private int indexFor(int hash, int length) {
+		return powerOfTwo ? hash & (length-1) : hash % length;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -311,6 +454,14 @@ public final class ScatterCharSet extends AbstractCharSet {
 		return size;
 	}
 
+	@Override
+	public void clear() {
+		Arrays.fill(field, NULL);
+		hasNull = false;
+		size = 0;
+		modCount++;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
@@ -318,10 +469,11 @@ public final class ScatterCharSet extends AbstractCharSet {
 	 */
 	@Override
 	public CharIterator iterator() {
+
 		// 1つ目は0を返す
 		return new CharIterator() {
 
-			int index = 0;
+			final TableWalker walker = new TableWalker();
 
 			// 構造的変更検出用
 			int expectedModCount = modCount;
@@ -334,7 +486,7 @@ public final class ScatterCharSet extends AbstractCharSet {
 
 			// removeが行える状態
 			boolean removable = false;
-			char removeTarget = NULL;
+			boolean removeNull = false;
 
 			@Override
 			public boolean hasNext() {
@@ -349,22 +501,16 @@ public final class ScatterCharSet extends AbstractCharSet {
 				if(replied==0 && hasNull) {
 					replied++;
 					removable = true;
-					removeTarget = NULL;
+					removeNull = true;
 					return NULL;
 				}
-				try {
-					for(;;) {
-						char retVal = field[index++];
-						if(retVal != NULL) {
-							replied++;
-							removable = true;
-							removeTarget = retVal;
-							return retVal;
-						}
-					}
-				} catch (ArrayIndexOutOfBoundsException e){
+				if(!walker.advance()) {
 					throw new NoSuchElementException();
 				}
+				replied++;
+				removable = true;
+				removeNull = false;
+				return field[walker.index];
 			}
 
 			@Override
@@ -375,17 +521,265 @@ public final class ScatterCharSet extends AbstractCharSet {
 				if(!removable) {
 					throw new IllegalStateException();
 				}
-				ScatterCharSet.this.remove(removeTarget);
+				if(removeNull) {
+					delete(NULL);
+				} else {
+					walker.removeCurrent();
+				}
 				expectedModCount = modCount;
 				removed++;
 				removable = false;
+			}
+		};
+	}
 
-				// pullでズレた分を補正
-				if(removeTarget != NULL && field[hash(removeTarget) % field.length] != NULL) {
-					index--;
+	/**
+	 * 配列上の要素を順に辿る.
+	 *
+	 * 走査はNULLの直後の位置から始めて一周する．後退シフト削除ではNULLを越えて要素が移動しないため，
+	 * 走査中に現在の要素を削除しても，走査済みの要素が未走査の位置に移ることはない．
+	 * 削除で後続の要素が現在の位置に詰められた場合はその位置をもう一度調べる．
+	 */
+	private class TableWalker {
+		// 走査を始める位置
+		final int start;
+
+		// 調べ終えた位置の数
+		int scanned = 0;
+
+		// 現在の位置
+		int index = -1;
+
+		TableWalker() {
+			char[] field = ScatterCharSet.this.field;
+			int s = 0;
+			for (int i = 0; i < field.length; i++) {
+				if(field[i] == NULL) {
+					s = i+1;
+					break;
 				}
 			}
-		};
+			start = s;
+		}
+
+		/**
+		 * 次の要素に進む
+		 * @return 要素があればtrue
+		 */
+		boolean advance() {
+			char[] field = ScatterCharSet.this.field;
+			int length = field.length;
+			index = -1;
+			while(scanned < length) {
+				int i = start + scanned;
+				if(i >= length) {
+					i -= length;
+				}
+				scanned++;
+				if(field[i] != NULL) {
+					index = i;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * 現在の要素を削除する
+		 */
+		void removeCurrent() {
+			pull(index);
+			size--;
+			if(field[index] != NULL) {
+				scanned--;
+			}
+		}
+	}
+
+	/**
+	 * 内部配列を添字の範囲で分割するSpliteratorを返す.
+	 * 分割した範囲はそれぞれ独立に空き位置を読み飛ばすため，並列なストリームでよく分散する．
+	 * 走査中に構造的変更があった場合は走査の終わりにConcurrentModificationExceptionを投げる．
+	 * @return spliterator
+	 */
+	@Override
+	public Spliterator.OfInt spliterator() {
+		return new TableSpliterator(field, 0, field.length, hasNull, size, true);
+	}
+
+	/**
+	 * 配列の[index, fence)の範囲を辿るSpliterator.
+	 * NULLの要素は先頭の範囲が受け持つ．
+	 */
+	private class TableSpliterator implements Spliterator.OfInt {
+
+		// 辿る配列
+		final char[] field;
+
+		// 次に調べる位置
+		int index;
+
+		// 範囲の終端(この位置を含まない)
+		final int fence;
+
+		// NULLの要素を受け持つならtrue
+		boolean withNull;
+
+		// 残りの要素数の見積もり
+		long est;
+
+		// 分割していなければtrue
+		boolean sized;
+
+		// 構造的変更検出用
+		final int expectedModCount = modCount;
+
+		TableSpliterator(char[] field, int index, int fence, boolean withNull, long est, boolean sized) {
+			this.field = field;
+			this.index = index;
+			this.fence = fence;
+			this.withNull = withNull;
+			this.est = est;
+			this.sized = sized;
+		}
+
+		@Override
+		public Spliterator.OfInt trySplit() {
+			int lo = index;
+			int mid = (lo + fence) >>> 1;
+			if(lo >= mid) {
+				return null;
+			}
+			TableSpliterator prefix = new TableSpliterator(field, lo, mid, withNull, est >>> 1, false);
+			index = mid;
+			withNull = false;
+			est -= est >>> 1;
+			sized = false;
+			return prefix;
+		}
+
+		@Override
+		public boolean tryAdvance(IntConsumer action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(NULL);
+				checkModCount();
+				return true;
+			}
+			char[] field = this.field;
+			while(index < fence) {
+				char e = field[index++];
+				if(e != NULL) {
+					action.accept(e);
+					checkModCount();
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(IntConsumer action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(NULL);
+			}
+			char[] field = this.field;
+			for(int i = index;i < fence;i++) {
+				char e = field[i];
+				if(e != NULL) {
+					action.accept(e);
+				}
+			}
+			index = fence;
+			checkModCount();
+		}
+
+		@Override
+		public long estimateSize() {
+			return est;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.DISTINCT | Spliterator.NONNULL | (sized ? Spliterator.SIZED : 0);
+		}
+
+		private void checkModCount() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	/**
+	 * このセットをチャネルに書き出す.
+	 *
+	 * 内部配列をリトルエンディアンでそのまま書き出す．{@link #readFrom(ReadableByteChannel)}で読み込める．
+	 * @param channel 書き出し先
+	 * @throws IOException 書き出しに失敗したとき
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		PrimitiveCodec.Writer out = new PrimitiveCodec.Writer(channel, PrimitiveCodec.SCATTER_CHAR_SET);
+		out.putFloat(loadFactor);
+		out.putSizing(sizing);
+		out.putLong(PrimitiveCodec.fingerprintOfInt(i -> hash((char)i)));
+		out.putInt(field.length);
+		out.putInt(size);
+		out.putInt(hasNull ? 1 : 0);
+		out.putChars(field, 0, field.length);
+		out.flush();
+	}
+
+	/**
+	 * {@link #writeTo(WritableByteChannel)}で書き出したセットを読み込む.
+	 *
+	 * 書き出したときと位置の決め方が同じであれば内部配列をそのまま用い，異なれば配置し直す．
+	 * @param channel 読み込み元
+	 * @return 読み込んだセット
+	 * @throws IOException 読み込みに失敗したとき，または形式が不正なとき
+	 */
+	public static ScatterCharSet readFrom(ReadableByteChannel channel) throws IOException {
+		PrimitiveCodec.Reader in = new PrimitiveCodec.Reader(channel, PrimitiveCodec.SCATTER_CHAR_SET);
+		float loadFactor = in.getFloat();
+		TableSizing sizing = in.getSizing();
+		long fingerprint = in.getLong();
+		int length = in.getInt();
+		int size = in.getInt();
+		boolean hasNull = in.getInt() != 0;
+		if(!(loadFactor > 0)) {
+			throw PrimitiveCodec.invalid("loadFactor "+loadFactor);
+		}
+		if(!sizing.isValidLength(length, MAX_CAPACITY)) {
+			throw PrimitiveCodec.invalid("length "+length);
+		}
+
+		ScatterCharSet result = new ScatterCharSet(0, loadFactor, sizing);
+		if(length > 0) {
+			char[] field = new char[length];
+			in.getChars(field, 0, length);
+			int count = 0;
+			for(char ch : field) {
+				if(ch != NULL) {
+					count++;
+				}
+			}
+			if(count != (hasNull ? size-1 : size) || count == length) {
+				throw PrimitiveCodec.invalid("size "+size);
+			}
+			result.field = field;
+			result.threshold = (int) (length * loadFactor);
+			if(fingerprint != PrimitiveCodec.fingerprintOfInt(i -> hash((char)i))) {
+				result.rehash(length);
+			}
+		} else if(size != (hasNull ? 1 : 0)) {
+			throw PrimitiveCodec.invalid("size "+size);
+		}
+		result.hasNull = hasNull;
+		result.size = size;
+		return result;
 	}
 
 	private static class SerializationProxy implements Serializable {
@@ -401,13 +795,20 @@ public final class ScatterCharSet extends AbstractCharSet {
 		 */
 		private final float loadFactor;
 
+		/**
+		 * @serial
+		 */
+		private final TableSizing sizing;
+
 		public SerializationProxy(ScatterCharSet set) {
 			this.elements = set.toArray();
 			this.loadFactor = set.loadFactor;
+			this.sizing = set.sizing;
 		}
 
 		private Object readResolve() {
-			ScatterCharSet result = new ScatterCharSet((int)(elements.length / loadFactor)+1, loadFactor);
+			ScatterCharSet result = new ScatterCharSet((int)(elements.length / loadFactor)+1, loadFactor,
+					sizing == null ? TableSizing.PRIME : sizing);
 			result.addAll(elements);
 			return result;
 		}
@@ -421,4 +822,3 @@ public final class ScatterCharSet extends AbstractCharSet {
 		throw new java.io.InvalidObjectException("Proxy required");
 	}
 }
-
@@ -0,0 +1,1404 @@
+// このファイルはcodegen/templates/ScatterKeyValueMap.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntConsumer;
+
+import com.lethe_river.util.primitive.HashSupport;
+import com.lethe_river.util.primitive.IntIntHash;
+
+/**
+ * scatter tableを用いたIntDoubleMapの実装
+ *
+ * - open address
+ * - prime number bucket (or power of two bucket)
+ * - Robin Hood Hashing
+ * - liner probing
+ * - backward shift deletion
+ *
+ * @author YuyaAizawa
+ *
+ */
+
+@SuppressWarnings("serial") // SerializationProxyに委譲
+public final class ScatterIntDoubleMap implements IntDoubleMap {
+
+	private static final int NULL = 0;
+
+	private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+	private static final int MAX_CAPACITY = 1<<29;
+
+	private static final int[] EMPTY_KEYS = {};
+
+	// まとめて探索するkeyの数
+	private static final int BATCH_SIZE = 32;
+
+	// NULL以外のkey, value
+	private int[] keys;
+	private double[] values;
+
+	// NULLのkey, value
+	private boolean nullKey;
+	private double nullValue;
+
+	// 要素数の合計
+	private int size;
+
+	// 負荷係数
+	private final float loadFactor;
+
+	// 配列長の決め方
+	private final TableSizing sizing;
+	private final boolean powerOfTwo;
+
+	// keyの位置を決めるハッシュ関数
+	private final IntIntHash hashFunction;
+
+	// 次にリハッシュする容量
+	private int threshold;
+
+	// 自動縮小の閾値となる負荷係数．0なら縮小しない
+	private float shrinkFactor;
+
+	// 構造的変更検出用
+	private int modCount;
+
+	/**
+	 * 初期容量，負荷係数，配列長の決め方とハッシュ関数を指定してScatterIntDoubleMapを生成する.
+	 *
+	 * {@link TableSizing#POWER_OF_TWO}を用いる場合，ハッシュ関数は下位ビットがよく撹拌されるものを選ぶこと．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 * @param sizing 配列長の決め方
+	 * @param hashFunction keyの位置を決めるハッシュ関数
+	 */
+	public ScatterIntDoubleMap(int initCapacity, float loadFactor, TableSizing sizing, IntIntHash hashFunction) {
+		if(initCapacity < 0) {
+			throw new IllegalArgumentException("initCapacity must be positive :"+initCapacity);
+		}
+		Objects.requireNonNull(sizing);
+		Objects.requireNonNull(hashFunction);
+		if(initCapacity > 0) {
+			initCapacity = sizing.roundUp(Math.min(initCapacity, MAX_CAPACITY));
+		}
+
+		keys = initCapacity == 0 ?
+				EMPTY_KEYS :
+				new int[initCapacity];
+		values = initCapacity == 0 ?
+				null :
+				new double[initCapacity];
+		nullKey = false;
+		size = 0;
+		this.loadFactor = loadFactor;
+		this.sizing = sizing;
+		this.powerOfTwo = sizing == TableSizing.POWER_OF_TWO;
+		this.hashFunction = hashFunction;
+		threshold = (int) (initCapacity * loadFactor);
+		modCount = 0;
+	}
+
+	/**
+	 * 初期容量，負荷係数と配列長の決め方を指定してScatterIntDoubleMapを生成する.
+	 *
+	 * ハッシュ関数にはインスタンスごとにsaltを乱数で選んだ{@link HashSupport#hash32shiftmult(int, int)}が用いられる．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 * @param sizing 配列長の決め方
+	 */
+	public ScatterIntDoubleMap(int initCapacity, float loadFactor, TableSizing sizing) {
+		this(initCapacity, loadFactor, sizing, HashSupport.randomizedIntIntHash());
+	}
+
+	/**
+	 * 初期容量と負荷係数を指定してScatterIntDoubleMapを生成する.
+	 *
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 */
+	public ScatterIntDoubleMap(int initCapacity, float loadFactor) {
+		this(initCapacity, loadFactor, TableSizing.PRIME);
+	}
+
+	/**
+	 * 初期容量を指定してScatterIntDoubleMapを生成する.
+	 *
+	 * 負荷係数はデフォルトの値(0.75)が用いられる
+	 * @param initCapacity 初期容量
+	 */
+	public ScatterIntDoubleMap(int initCapacity) {
+		this(initCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * デフォルトの初期容量(11)と負荷係数を利用してScatterIntDoubleMapを生成する.
+	 */
+	public ScatterIntDoubleMap() {
+		keys = EMPTY_KEYS;
+		nullKey = false;
+		size = 0;
+		loadFactor = DEFAULT_LOAD_FACTOR;
+		sizing = TableSizing.PRIME;
+		powerOfTwo = false;
+		hashFunction = HashSupport.randomizedIntIntHash();
+		threshold = 0;
+		modCount = 0;
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+
+	@Override
+	public boolean containsKey(int key) {
+		if(key == NULL) {
+			return nullKey;
+		}
+		return find(key) != -1;
+	}
+
+	@Override
+	public boolean containsValue(double value) {
+		if(nullKey && Double.doubleToLongBits(nullValue) == Double.doubleToLongBits(value)) {
+			return true;
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if(keys[i] != NULL && Double.doubleToLongBits(values[i]) == Double.doubleToLongBits(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(keys, NULL);
+		nullKey = false;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public double get(int key) {
+		if(key == NULL) {
+			if(!nullKey) {
+				throw new NoSuchElementException("key: "+key);
+			}
+			return nullValue;
+		}
+
+		int index = find(key);
+		if(index == -1) {
+			throw new NoSuchElementException("key: "+key);
+		}
+		return values[index];
+	}
+
+	@Override
+	public double getOrDefault(int key, double def) {
+		if(key == NULL) {
+			return nullKey ? nullValue : def;
+		}
+
+		int index = find(key);
+		return index == -1 ? def : values[index];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * keyを一定数ずつまとめ，先に全ての本来の位置を求めて読んでから値を取り出す．
+	 */
+	@Override
+	public void getAll(int[] keys, int offset, int length, double[] out, double def) {
+		PrimitiveSupport.checkBounds(keys, offset, length);
+		PrimitiveSupport.checkBounds(out, offset, length);
+		int[] table = this.keys;
+		if(table.length == 0) {
+			for (int i = offset; i < offset + length; i++) {
+				out[i] = getOrDefault(keys[i], def);
+			}
+			return;
+		}
+		double[] values = this.values;
+		int[] homes = new int[BATCH_SIZE];
+		int[] heads = new int[BATCH_SIZE];
+		for(int base = offset, end = offset + length;base < end;base += BATCH_SIZE) {
+			int n = Math.min(BATCH_SIZE, end - base);
+			prefetch(table, keys, base, n, homes, heads);
+			for (int i = 0; i < n; i++) {
+				int key = keys[base + i];
+				out[base + i] = heads[i] == key && key != NULL ?
+						values[homes[i]] :
+						getOrDefault(key, def);
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * keyを一定数ずつまとめ，先に全ての本来の位置を求めて読んでから判定する．
+	 */
+	@Override
+	public int containsKeys(int[] keys, int offset, int length, long[] bitmaskOut) {
+		PrimitiveSupport.checkBounds(keys, offset, length);
+		PrimitiveSupport.checkBounds(bitmaskOut, 0, (length+63)>>>6);
+		Arrays.fill(bitmaskOut, 0, (length+63)>>>6, 0L);
+		int[] table = this.keys;
+		if(table.length == 0) {
+			return nullKey && length > 0 ? IntDoubleMap.super.containsKeys(keys, offset, length, bitmaskOut) : 0;
+		}
+		int count = 0;
+		int[] homes = new int[BATCH_SIZE];
+		int[] heads = new int[BATCH_SIZE];
+		for(int done = 0;done < length;done += BATCH_SIZE) {
+			int n = Math.min(BATCH_SIZE, length - done);
+			prefetch(table, keys, offset + done, n, homes, heads);
+			for (int i = 0; i < n; i++) {
+				int key = keys[offset + done + i];
+				if((heads[i] == key && key != NULL) || containsKey(key)) {
+					bitmaskOut[(done + i)>>>6] |= 1L << (done + i);
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * 先に全体が収まるよう拡張し，keyを一定数ずつまとめて本来の位置を読んでから書き込む．
+	 */
+	@Override
+	public void putAll(int[] keys, double[] values, int offset, int length) {
+		PrimitiveSupport.checkBounds(keys, offset, length);
+		PrimitiveSupport.checkBounds(values, offset, length);
+		if(length == 0) {
+			return;
+		}
+		if(size + length > 0 && size + length <= MAX_CAPACITY) {
+			ensureCapacity(size + length);
+		}
+		int[] homes = new int[BATCH_SIZE];
+		int[] heads = new int[BATCH_SIZE];
+		for(int base = offset, end = offset + length;base < end;base += BATCH_SIZE) {
+			int n = Math.min(BATCH_SIZE, end - base);
+			int[] table = this.keys;
+			prefetch(table, keys, base, n, homes, heads);
+			for (int i = 0; i < n; i++) {
+				int key = keys[base + i];
+				// 挿入で要素が動いている場合があるため，書き込む前に読み直す
+				if(heads[i] == key && key != NULL && table == this.keys && table[homes[i]] == key) {
+					this.values[homes[i]] = values[base + i];
+				} else {
+					put(key, values[base + i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 指定した範囲のkeyの本来の位置を求め，その位置のkeyを読んでおく.
+	 * 互いに依存しない読み込みを並べることで，キャッシュミスの待ち時間を重ねる．
+	 * @param table 探索する配列(長さは正)
+	 * @param keys keyの配列
+	 * @param offset 開始インデックス
+	 * @param n keyの数
+	 * @param homes 本来の位置を書き込む配列
+	 * @param heads 本来の位置にあるkeyを書き込む配列
+	 */
+	private void prefetch(int[] table, int[] keys, int offset, int n, int[] homes, int[] heads) {
+		int length = table.length;
+		for (int i = 0; i < n; i++) {
+			homes[i] = indexFor(hash(keys[offset + i]), length);
+		}
+		for (int i = 0; i < n; i++) {
+			heads[i] = table[homes[i]];
+		}
+	}
+
+	/**
+	 * 指定したkeyが格納されている位置を返す.
+	 *
+	 * Robin Hood Hashingの不変条件より，探索距離が途中の要素の探索距離を超えた時点で
+	 * keyは存在しないことが確定する．
+	 * @param key NULL以外のkey
+	 * @return keyの位置，存在しなければ-1
+	 */
+	private int find(int key) {
+		int[] keys = this.keys;
+		int length = keys.length;
+		if(length == 0) {
+			return -1;
+		}
+		int index = indexFor(hash(key), length);
+		for(int dist = 0;dist < length;dist++) {
+			int j = keys[index];
+			if(j == key) {
+				return index;
+			}
+			if(j == NULL || probeDistance(j, index, length) < dist) {
+				return -1;
+			}
+			if(++index == length) {
+				index = 0;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+ 	@Override
+	public void merge(int key, double value, DoubleUnaryOperator updater) {
+		if(key == NULL) {
+			if(!nullKey) {
+				nullKey = true;
+				nullValue = value;
+				size++;
+			} else {
+				nullValue = updater.applyAsDouble(nullValue);
+			}
+			return;
+		}
+
+		int index = insertionIndex(key);
+		if(index < 0) {
+			values[~index] = value;
+		} else {
+			values[index] = updater.applyAsDouble(values[index]);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void put(int key, double value) {
+		if(key == NULL) {
+			if(!nullKey) {
+				nullKey = true;
+				size++;
+			}
+			nullValue = value;
+			return;
+		}
+
+		int index = insertionIndex(key);
+		values[index < 0 ? ~index : index] = value;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void addTo(int key, double delta) {
+		getAndAdd(key, delta);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double getAndAdd(int key, double delta) {
+		if(key == NULL) {
+			double old = nullKey ? nullValue : 0;
+			if(!nullKey) {
+				nullKey = true;
+				size++;
+			}
+			nullValue = old + delta;
+			return old;
+		}
+
+		int index = insertionIndex(key);
+		if(index < 0) {
+			values[~index] = delta;
+			return 0;
+		}
+		double old = values[index];
+		values[index] = old + delta;
+		return old;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double addAndGet(int key, double delta) {
+		return getAndAdd(key, delta) + delta;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double incrementAndGet(int key) {
+		return getAndAdd(key, 1) + 1;
+	}
+
+	/**
+	 * 指定したkeyのエントリの位置を返す.
+	 * keyが無ければvalueを0として追加し，その位置をビット反転した値を返す．
+	 * @param key NULL以外のkey
+	 * @return 既存のエントリの位置，または追加したエントリの位置のビット反転
+	 */
+	private int insertionIndex(int key) {
+		try {
+			ensureCapacity(size+1);
+		} catch(IllegalArgumentException e) {
+			throw new  RuntimeException("Too many entries!");
+		}
+
+		int[] keys = this.keys;
+		double[] values = this.values;
+		int length = keys.length;
+		int index = indexFor(hash(key), length);
+		for(int dist = 0;;dist++) {
+			int j = keys[index];
+			if(j == key) {
+				return index;
+			}
+			if(j == NULL) {
+				keys[index] = key;
+				values[index] = 0;
+				break;
+			}
+			int jDist = probeDistance(j, index, length);
+			if(jDist < dist) {
+				// keyは存在しないのでここに入れ，元の要素を先へ送る
+				double v = values[index];
+				keys[index] = key;
+				values[index] = 0;
+				place(keys, values, j, v, index, jDist);
+				break;
+			}
+			if(++index == length) {
+				index = 0;
+			}
+		}
+		size++;
+		modCount++;
+		return ~index;
+	}
+
+	/**
+	 * 指定したエントリをRobin Hood Hashingで配置する.
+	 * 探索距離が自身より短い要素を見つけたら入れ替え，押し出した要素の配置を続ける．
+	 * keyは配列に含まれておらず，配列には空きがあるものとする．
+	 * @param keys 配置先のkeyの配列
+	 * @param values 配置先のvalueの配列
+	 * @param key 配置するkey
+	 * @param value 配置するvalue
+	 * @param index keyがあった位置
+	 * @param dist keyがあった位置での探索距離
+	 */
+	private void place(int[] keys, double[] values, int key, double value, int index, int dist) {
+		int length = keys.length;
+		for(;;) {
+			if(++index == length) {
+				index = 0;
+			}
+			dist++;
+			int j = keys[index];
+			if(j == NULL) {
+				keys[index] = key;
+				values[index] = value;
+				return;
+			}
+			int jDist = probeDistance(j, index, length);
+			if(jDist < dist) {
+				double v = values[index];
+				keys[index] = key;
+				values[index] = value;
+				key = j;
+				value = v;
+				dist = jDist;
+			}
+		}
+	}
+
+	@Override
+	public boolean remove(int key) {
+		if(key == NULL) {
+			if(nullKey) {
+				nullKey = false;
+				size--;
+				return true;
+			}
+			return false;
+		}
+
+		int index = find(key);
+		if(index == -1) {
+			return false;
+		}
+		pull(index);
+		size--;
+		shrinkIfSparse();
+		return true;
+	}
+
+	/**
+	 * 指定したindexのエントリを削除する.
+	 * 後続の要素を空きか探索距離0の要素の手前まで1つずつ前に詰める(backward shift deletion)．
+	 * @param index
+	 */
+	private void pull(int index) {
+		int length = keys.length;
+		int dst = index;
+		for(;;) {
+			int src = dst + 1;
+			if(src == length) {
+				src = 0;
+			}
+			int i = keys[src];
+			if(i == NULL || src == index || probeDistance(i, src, length) == 0) {
+				keys[dst] = NULL;
+				modCount++;
+				return;
+			}
+			keys[dst] = i;
+			values[dst] = values[src];
+			dst = src;
+		}
+	}
+
+	/**
+	 * 指定した位置にある要素の探索距離(本来の位置からのずれ)を返す.
+	 * @param key 要素
+	 * @param index 要素の位置
+	 * @param length 配列の長さ
+	 * @return 探索距離
+	 */
+	private int probeDistance(int key, int index, int length) {
+		int dist = index - indexFor(hash(key), length);
+		return dist < 0 ? dist + length : dist;
+	}
+
+	@Override
+	public IntSet keys() {
+		return new KeySet();
+	}
+
+	@Override
+	public DoubleCollection values() {
+		return new ValueCollection();
+	}
+
+	@Override
+	public IntDoubleCursor entryCursor() {
+		return new EntryCursor();
+	}
+
+	/**
+	 * 指定した容量を格納できるようこのIntScatterTableの内部配列を拡張する.
+	 * @param minCapasity 保持するint値の数
+	 * @throws IllegalArgumentException minCapacityが[1, MAX_CAPACITY]の範囲外だったとき
+	 */
+	public void ensureCapacity(int minCapasity) {
+		if(minCapasity <= 0 || MAX_CAPACITY < minCapasity) {
+			throw new IllegalArgumentException("minCapacity : "+minCapasity);
+		}
+		if(threshold >= minCapasity || keys.length == MAX_CAPACITY) {
+			return;
+		}
+
+		int nextCapacity = sizing.grownCapacity(keys.length, minCapasity, loadFactor, MAX_CAPACITY);
+
+		rehash(nextCapacity);
+	}
+
+	/**
+	 * 内部配列を現在の要素数に見合った長さまで縮小する.
+	 * 要素を含まない場合は配列を解放する．
+	 */
+	public void trimToSize() {
+		int count = nullKey ? size-1 : size;
+		if(count == 0) {
+			if(keys != EMPTY_KEYS) {
+				keys = EMPTY_KEYS;
+				values = null;
+				threshold = 0;
+				modCount++;
+			}
+			return;
+		}
+		int capacity = sizing.trimmedCapacity(count, loadFactor, MAX_CAPACITY);
+		if(capacity < keys.length) {
+			rehash(capacity);
+		}
+	}
+
+	/**
+	 * keyの削除により負荷係数が指定した値を下回ったとき，内部配列を自動的に縮小するよう設定する.
+	 *
+	 * 縮小後の負荷係数は設定した負荷係数のおよそ半分となる．
+	 * 0を指定すると縮小しない(デフォルト)．カーソルやビューのイテレータによる削除では縮小しない．
+	 * @param shrinkFactor 縮小の閾値となる負荷係数
+	 * @throws IllegalArgumentException shrinkFactorが[0, 負荷係数/2)の範囲外だったとき
+	 */
+	public void setShrinkFactor(float shrinkFactor) {
+		TableSizing.checkShrinkFactor(shrinkFactor, loadFactor);
+		this.shrinkFactor = shrinkFactor;
+	}
+
+	/**
+	 * 負荷係数が縮小の閾値を下回っていれば内部配列を縮小する.
+	 */
+	private void shrinkIfSparse() {
+		int length = keys.length;
+		if(!sizing.isSparse(size, length, shrinkFactor)) {
+			return;
+		}
+		int capacity = sizing.sparseCapacity(size, loadFactor);
+		if(capacity < length) {
+			rehash(capacity);
+		}
+	}
+
+	private void rehash(int nextCapacity) {
+		int[] tmpKeys = new int[nextCapacity];
+		double[] tmpValues = new double[nextCapacity];
+		for (int i = 0; i < keys.length; i++) {
+			int j = keys[i];
+			if(j == NULL) {
+				continue;
+			}
+			int index = indexFor(hash(j), nextCapacity);
+			if(tmpKeys[index] == NULL) {
+				tmpKeys[index] = j;
+				tmpValues[index] = values[i];
+			} else {
+				place(tmpKeys, tmpValues, j, values[i], index, 0);
+			}
+		}
+		keys = tmpKeys;
+		values = tmpValues;
+		modCount++;
+		threshold = (int) (keys.length * loadFactor);
+	}
+
+	/**
+	 * 要素のScatterTable上での位置を決めるためのhashを返す．
+	 * {@link ScatterIntSet#hashCode()}とは無関係
+	 * @param j 要素
+	 * @return 要素のハッシュ(正数のint)
+	 */
+	private int hash(int i) {
+		return Integer.MAX_VALUE & hashFunction.hash(i);
+	}
+
+	/**
+	 * ハッシュから指定した長さの配列上での位置を返す．
+	 * @param hash 要素のハッシュ(正数のint)
+	 * @param length 配列の長さ
+	 * @return 配列上での位置
+	 */
+	private int indexFor(int hash, int length) {
+		return powerOfTwo ? hash & (length-1) : hash % length;
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if(object == this) {
+			return true;
+		}
+		if(object == null || !(object instanceof IntDoubleMap)) {
+			return false;
+		}
+		IntDoubleMap target = (IntDoubleMap) object;
+		if(target.size() != size()) {
+			return false;
+		}
+
+		IntDoubleCursor entries = target.entryCursor();
+		while(entries.next()) {
+			int key = entries.key();
+			if(!containsKey(key) || Double.doubleToLongBits(get(key)) != Double.doubleToLongBits(entries.value())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	@Override
+	public int hashCode() {
+		int sum = 0;
+		IntDoubleCursor cursor = entryCursor();
+		while(cursor.next()) {
+			sum += cursor.key() ^ Double.doubleToLongBits(cursor.value());
+		}
+		return sum;
+	}
+
+
+	/**
+	 * テーブル上のエントリを順に辿る.
+	 *
+	 * 走査はNULLの直後の位置から始めて一周する．後退シフト削除ではNULLを越えて要素が移動しないため，
+	 * 走査中に現在の要素を削除しても，走査済みの要素が未走査の位置に移ることはない．
+	 * 削除で後続の要素が現在の位置に詰められた場合はその位置をもう一度調べる．
+	 */
+	private class TableWalker {
+		// 走査を始める位置
+		final int start;
+
+		// 調べ終えた位置の数
+		int scanned = 0;
+
+		// 現在の位置
+		int index = -1;
+
+		TableWalker() {
+			int[] keys = ScatterIntDoubleMap.this.keys;
+			int s = 0;
+			for (int i = 0; i < keys.length; i++) {
+				if(keys[i] == NULL) {
+					s = i+1;
+					break;
+				}
+			}
+			start = s;
+		}
+
+		/**
+		 * 次のエントリに進む
+		 * @return エントリがあればtrue
+		 */
+		boolean advance() {
+			int[] keys = ScatterIntDoubleMap.this.keys;
+			int length = keys.length;
+			index = -1;
+			while(scanned < length) {
+				int i = start + scanned;
+				if(i >= length) {
+					i -= length;
+				}
+				scanned++;
+				if(keys[i] != NULL) {
+					index = i;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * 現在のエントリを削除する
+		 */
+		void removeCurrent() {
+			pull(index);
+			size--;
+			if(keys[index] != NULL) {
+				scanned--;
+			}
+		}
+	}
+
+	/**
+	 * 配列の[index, fence)の範囲を辿るSpliteratorの骨格.
+	 * 分割した範囲はそれぞれ独立に空き位置を読み飛ばす．NULLのkeyのエントリは先頭の範囲が受け持つ．
+	 * 走査中に構造的変更があった場合は走査の終わりにConcurrentModificationExceptionを投げる．
+	 * @param <S> 分割で生成するSpliteratorの型
+	 */
+	private abstract class TableSpliterator<S extends TableSpliterator<S>> {
+
+		// 辿る配列
+		final int[] keys;
+		final double[] values;
+
+		// 次に調べる位置
+		int index;
+
+		// 範囲の終端(この位置を含まない)
+		final int fence;
+
+		// NULLのkeyのエントリを受け持つならtrue
+		boolean withNull;
+
+		// 残りの要素数の見積もり
+		long est;
+
+		// 分割していなければtrue
+		boolean sized;
+
+		// 構造的変更検出用
+		final int expectedModCount = modCount;
+
+		TableSpliterator(int[] keys, double[] values, int index, int fence, boolean withNull, long est, boolean sized) {
+			this.keys = keys;
+			this.values = values;
+			this.index = index;
+			this.fence = fence;
+			this.withNull = withNull;
+			this.est = est;
+			this.sized = sized;
+		}
+
+		/**
+		 * 同じ配列の指定した範囲を辿るSpliteratorを生成する.
+		 * @param index 範囲の先頭
+		 * @param fence 範囲の終端
+		 * @param withNull NULLのkeyのエントリを受け持つならtrue
+		 * @param est 要素数の見積もり
+		 * @return spliterator
+		 */
+		abstract S create(int index, int fence, boolean withNull, long est);
+
+		/**
+		 * 範囲を二分し，前半を新しいSpliteratorに渡して自身は後半を受け持つ.
+		 * @return 前半を辿るSpliterator，分割できなければnull
+		 */
+		public S trySplit() {
+			int lo = index;
+			int mid = (lo + fence) >>> 1;
+			if(lo >= mid) {
+				return null;
+			}
+			S prefix = create(lo, mid, withNull, est >>> 1);
+			index = mid;
+			withNull = false;
+			est -= est >>> 1;
+			sized = false;
+			return prefix;
+		}
+
+		public long estimateSize() {
+			return est;
+		}
+
+		int baseCharacteristics() {
+			return Spliterator.NONNULL | (sized ? Spliterator.SIZED : 0);
+		}
+
+		void checkModCount() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	private class KeySpliterator extends TableSpliterator<KeySpliterator> implements Spliterator.OfInt {
+
+		KeySpliterator(int[] keys, double[] values, int index, int fence, boolean withNull, long est, boolean sized) {
+			super(keys, values, index, fence, withNull, est, sized);
+		}
+
+		@Override
+		KeySpliterator create(int index, int fence, boolean withNull, long est) {
+			return new KeySpliterator(keys, values, index, fence, withNull, est, false);
+		}
+
+		@Override
+		public boolean tryAdvance(IntConsumer action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(NULL);
+				checkModCount();
+				return true;
+			}
+			int[] keys = this.keys;
+			while(index < fence) {
+				int key = keys[index++];
+				if(key != NULL) {
+					action.accept(key);
+					checkModCount();
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(IntConsumer action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(NULL);
+			}
+			int[] keys = this.keys;
+			for(int i = index;i < fence;i++) {
+				int key = keys[i];
+				if(key != NULL) {
+					action.accept(key);
+				}
+			}
+			index = fence;
+			checkModCount();
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.DISTINCT | baseCharacteristics();
+		}
+	}
+
+	private class ValueSpliterator extends TableSpliterator<ValueSpliterator> implements Spliterator.OfDouble {
+
+		ValueSpliterator(int[] keys, double[] values, int index, int fence, boolean withNull, long est, boolean sized) {
+			super(keys, values, index, fence, withNull, est, sized);
+		}
+
+		@Override
+		ValueSpliterator create(int index, int fence, boolean withNull, long est) {
+			return new ValueSpliterator(keys, values, index, fence, withNull, est, false);
+		}
+
+		@Override
+		public boolean tryAdvance(DoubleConsumer action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(nullValue);
+				checkModCount();
+				return true;
+			}
+			int[] keys = this.keys;
+			while(index < fence) {
+				int i = index++;
+				if(keys[i] != NULL) {
+					action.accept(values[i]);
+					checkModCount();
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(DoubleConsumer action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(nullValue);
+			}
+			int[] keys = this.keys;
+			double[] values = this.values;
+			for(int i = index;i < fence;i++) {
+				if(keys[i] != NULL) {
+					action.accept(values[i]);
+				}
+			}
+			index = fence;
+			checkModCount();
+		}
+
+		@Override
+		public int characteristics() {
+			return baseCharacteristics();
+		}
+	}
+
+	private class KeySet extends AbstractIntSet {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator() {
+			// 1つ目は0を返す
+			return new PrimitiveIterator.OfInt() {
+
+				final TableWalker walker = new TableWalker();
+
+				// 構造的変更検出用
+				int expectedModCount = modCount;
+
+				// nextで返した数
+				int replied = 0;
+
+				// 削除した要素の数
+				int removed = 0;
+
+				// removeが行える状態
+				boolean removable = false;
+				boolean removeNull = false;
+
+				@Override
+				public boolean hasNext() {
+					return replied < size + removed;
+				}
+
+				@Override
+				public int nextInt() {
+					if(expectedModCount != modCount) {
+						throw new ConcurrentModificationException();
+					}
+					if(replied==0 && nullKey) {
+						replied++;
+						removable = true;
+						removeNull = true;
+						return NULL;
+					}
+					if(!walker.advance()) {
+						throw new NoSuchElementException();
+					}
+					replied++;
+					removable = true;
+					removeNull = false;
+					return keys[walker.index];
+				}
+
+				@Override
+				public void remove() {
+					if(expectedModCount != modCount) {
+						throw new ConcurrentModificationException();
+					}
+					if(!removable) {
+						throw new IllegalStateException();
+					}
+					if(removeNull) {
+						ScatterIntDoubleMap.this.remove(NULL);
+					} else {
+						walker.removeCurrent();
+					}
+					expectedModCount = modCount;
+					removed++;
+					removable = false;
+				}
+			};
+		}
+
+		@Override
+		public boolean contains(int i) {
+			return ScatterIntDoubleMap.this.containsKey(i);
+		}
+
+		@Override
+		public boolean remove(int i) {
+			return ScatterIntDoubleMap.this.remove(i);
+		}
+
+		@Override
+		public Spliterator.OfInt spliterator() {
+			return new KeySpliterator(keys, values, 0, keys.length, nullKey, size, true);
+		}
+	}
+
+	private class ValueCollection extends AbstractDoubleCollection {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public Spliterator.OfDouble spliterator() {
+			return new ValueSpliterator(keys, values, 0, keys.length, nullKey, size, true);
+		}
+
+		@Override
+		public PrimitiveIterator.OfDouble iterator() {
+			// 1つ目は0を返す
+			return new PrimitiveIterator.OfDouble() {
+
+				final TableWalker walker = new TableWalker();
+
+				// 構造的変更検出用
+				int expectedModCount = modCount;
+
+				// nextで返した数
+				int replied = 0;
+
+				// 削除した要素の数
+				int removed = 0;
+
+				// removeが行える状態
+				boolean removable = false;
+				boolean removeNull = false;
+
+				@Override
+				public boolean hasNext() {
+					return replied < size + removed;
+				}
+
+				@Override
+				public double nextDouble() {
+					if(expectedModCount != modCount) {
+						throw new ConcurrentModificationException();
+					}
+					if(replied==0 && nullKey) {
+						replied++;
+						removable = true;
+						removeNull = true;
+						return nullValue;
+					}
+					if(!walker.advance()) {
+						throw new NoSuchElementException();
+					}
+					replied++;
+					removable = true;
+					removeNull = false;
+					return values[walker.index];
+				}
+
+				@Override
+				public void remove() {
+					if(expectedModCount != modCount) {
+						throw new ConcurrentModificationException();
+					}
+					if(!removable) {
+						throw new IllegalStateException();
+					}
+					if(removeNull) {
+						ScatterIntDoubleMap.this.remove(NULL);
+					} else {
+						walker.removeCurrent();
+					}
+					expectedModCount = modCount;
+					removed++;
+					removable = false;
+				}
+			};
+		}
+	}
+
+	private class EntryCursor implements IntDoubleCursor {
+
+		private static final int INDEX_BEGIN = -2;
+		private static final int INDEX_NULL  = -1;
+		private static final int INDEX_TABLE = 0;
+
+		final TableWalker walker = new TableWalker();
+
+		int state = INDEX_BEGIN;
+
+		// 構造的変更検出用
+		int expectedModCount = modCount;
+
+		// removeしたことを示す
+		boolean removed = false;
+
+		@Override
+		public boolean next() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			removed = false;
+			if(state == INDEX_BEGIN) {
+				state = INDEX_NULL;
+				if(nullKey) {
+					return true;
+				}
+			}
+			state = INDEX_TABLE;
+			return walker.advance();
+		}
+
+		@Override
+		public int key() {
+			checkPosition();
+			return state == INDEX_NULL ? NULL : keys[walker.index];
+		}
+
+		@Override
+		public double value() {
+			checkPosition();
+			return state == INDEX_NULL ? nullValue : values[walker.index];
+		}
+
+		@Override
+		public void remove() {
+			checkPosition();
+			if(state == INDEX_NULL) {
+				ScatterIntDoubleMap.this.remove(NULL);
+			} else {
+				walker.removeCurrent();
+			}
+			expectedModCount = modCount;
+			removed = true;
+		}
+
+		@Override
+		public void setValue(double value) {
+			checkPosition();
+			if(state == INDEX_NULL) {
+				nullValue = value;
+			} else {
+				values[walker.index] = value;
+			}
+		}
+
+		private void checkPosition() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(removed || state == INDEX_BEGIN || (state == INDEX_TABLE && walker.index == -1)) {
+				throw new IllegalStateException();
+			}
+		}
+	}
+
+	/**
+	 * この写像をチャネルに書き出す.
+	 *
+	 * 内部配列をリトルエンディアンでそのまま書き出す．{@link #readFrom(ReadableByteChannel, IntIntHash)}で読み込める．
+	 * @param channel 書き出し先
+	 * @throws IOException 書き出しに失敗したとき
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		PrimitiveCodec.Writer out = new PrimitiveCodec.Writer(channel, PrimitiveCodec.SCATTER_INT_DOUBLE_MAP);
+		out.putFloat(loadFactor);
+		out.putSizing(sizing);
+		out.putLong(PrimitiveCodec.fingerprintOfInt(this::hash));
+		out.putInt(keys.length);
+		out.putInt(size);
+		out.putInt(nullKey ? 1 : 0);
+		out.putDouble(nullValue);
+		out.putInts(keys, 0, keys.length);
+		if(keys.length > 0) {
+			out.putDoubles(values, 0, values.length);
+		}
+		out.flush();
+	}
+
+	/**
+	 * {@link #writeTo(WritableByteChannel)}で書き出した写像を，指定したハッシュ関数を用いて読み込む.
+	 *
+	 * 書き出したときと同じハッシュ関数であれば内部配列をそのまま用い，異なれば配置し直す．
+	 * インスタンスごとにsaltを選ぶハッシュ関数では一致しないため，配置し直しを避けるには決まったハッシュ関数を用いること．
+	 * @param channel 読み込み元
+	 * @param hashFunction keyの位置を決めるハッシュ関数
+	 * @return 読み込んだ写像
+	 * @throws IOException 読み込みに失敗したとき，または形式が不正なとき
+	 */
+	public static ScatterIntDoubleMap readFrom(ReadableByteChannel channel, IntIntHash hashFunction) throws IOException {
+		PrimitiveCodec.Reader in = new PrimitiveCodec.Reader(channel, PrimitiveCodec.SCATTER_INT_DOUBLE_MAP);
+		float loadFactor = in.getFloat();
+		TableSizing sizing = in.getSizing();
+		long fingerprint = in.getLong();
+		int length = in.getInt();
+		int size = in.getInt();
+		boolean nullKey = in.getInt() != 0;
+		double nullValue = in.getDouble();
+		if(!(loadFactor > 0)) {
+			throw PrimitiveCodec.invalid("loadFactor "+loadFactor);
+		}
+		if(!sizing.isValidLength(length, MAX_CAPACITY)) {
+			throw PrimitiveCodec.invalid("length "+length);
+		}
+
+		ScatterIntDoubleMap result = new ScatterIntDoubleMap(0, loadFactor, sizing, hashFunction);
+		if(length > 0) {
+			int[] keys = new int[length];
+			double[] values = new double[length];
+			in.getInts(keys, 0, length);
+			in.getDoubles(values, 0, length);
+			int count = 0;
+			for(int i : keys) {
+				if(i != NULL) {
+					count++;
+				}
+			}
+			if(count != (nullKey ? size-1 : size) || count == length) {
+				throw PrimitiveCodec.invalid("size "+size);
+			}
+			result.keys = keys;
+			result.values = values;
+			result.threshold = (int) (length * loadFactor);
+			if(fingerprint != PrimitiveCodec.fingerprintOfInt(result::hash)) {
+				result.rehash(length);
+			}
+		} else if(size != (nullKey ? 1 : 0)) {
+			throw PrimitiveCodec.invalid("size "+size);
+		}
+		result.nullKey = nullKey;
+		result.nullValue = nullValue;
+		result.size = size;
+		return result;
+	}
+
+	/**
+	 * {@link #writeTo(WritableByteChannel)}で書き出した写像を読み込む.
+	 *
+	 * ハッシュ関数にはインスタンスごとにsaltを乱数で選んだものが用いられるため，内部配列は配置し直される．
+	 * @param channel 読み込み元
+	 * @return 読み込んだ写像
+	 * @throws IOException 読み込みに失敗したとき，または形式が不正なとき
+	 */
+	public static ScatterIntDoubleMap readFrom(ReadableByteChannel channel) throws IOException {
+		return readFrom(channel, HashSupport.randomizedIntIntHash());
+	}
+
+	private static class SerializationProxy implements Serializable {
+		private static final long serialVersionUID = 7391054418826620913L;
+
+		/**
+		 * @serial
+		 */
+		private final int[] keys;
+
+		/**
+		 * @serial
+		 */
+		private final double[] values;
+
+		/**
+		 * @serial
+		 */
+		private final float loadFactor;
+
+		/**
+		 * @serial
+		 */
+		private final TableSizing sizing;
+
+		public SerializationProxy(ScatterIntDoubleMap map) {
+			this.keys = new int[map.size()];
+			this.values = new double[map.size()];
+
+			int index = 0;
+			for(IntDoubleCursor cursor = map.entryCursor();cursor.next();) {
+				keys[index] = cursor.key();
+				values[index] = cursor.value();
+				index++;
+			}
+
+			this.loadFactor = map.loadFactor;
+			this.sizing = map.sizing;
+		}
+
+		private Object readResolve() {
+			// ハッシュ関数は直列化できるとは限らないため引き継がない
+			ScatterIntDoubleMap result = new ScatterIntDoubleMap((int)(keys.length / loadFactor)+1, loadFactor,
+					sizing == null ? TableSizing.PRIME : sizing);
+			for (int i = 0; i < keys.length; i++) {
+				result.put(keys[i], values[i]);
+			}
+			return result;
+		}
+	}
+
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	private void readObject(java.io.ObjectInputStream s) throws java.io.InvalidObjectException {
+		throw new java.io.InvalidObjectException("Proxy required");
+	}
+}
@@ -1,21 +1,31 @@
 package com.lethe_river.util.primitive.collection;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
 import java.util.function.IntUnaryOperator;
 
 import com.lethe_river.util.primitive.HashSupport;
+import com.lethe_river.util.primitive.IntIntHash;
 
 /**
  * scatter tableを用いたIntIntMapの実装
  *
  * - open address
- * - prime number bucket
+ * - prime number bucket (or power of two bucket)
  * - Robin Hood Hashing
  * - liner probing
+ * - backward shift deletion
+ * - keyとvalueを1つの配列に交互に格納(1回のメモリアクセスで両方を読める)
+ * - 段階的リハッシュ(オプション，拡張のコストを以降の更新操作に分散する)
  *
  * @author YuyaAizawa
  *
@@ -26,15 +36,25 @@ public final class ScatterIntIntMap implements IntIntMap {
 
 	private static final int NULL = 0;
 
-	private static final int DEFAULT_INIT_CAPACITY = 11;
 	private static final float DEFAULT_LOAD_FACTOR = 0.75f;
 	private static final int MAX_CAPACITY = 1<<29;
 
-	private static final int[] EMPTY_KEYS = {};
+	private static final int[] EMPTY_TABLE = {};
 
-	// NULL以外のkey, value
-	private int[] keys;
-	private int[] values;
+	// 段階的リハッシュで1回の更新操作ごとに移す旧配列の位置の数
+	private static final int MIGRATION_STEP = 16;
+
+	// まとめて探索するkeyの数
+	private static final int BATCH_SIZE = 32;
+
+	// スロットが指す位置
+	// 偶数はtable上の添字，OLD_SLOTを含むものは旧配列上の添字を表す
+	private static final int NULL_SLOT = 1;
+	private static final int OLD_SLOT = 1<<30;
+
+	// NULL以外のkey, valueを交互に並べた配列
+	// i番目の位置のkeyはtable[2i]，valueはtable[2i+1]にある
+	private int[] table;
 
 	// NULLのkey, value
 	private boolean nullKey;
@@ -46,36 +66,108 @@ public final class ScatterIntIntMap implements IntIntMap {
 	// 負荷係数
 	private final float loadFactor;
 
+	// 配列長の決め方
+	private final TableSizing sizing;
+	private final boolean powerOfTwo;
+
+	// keyの位置を決めるハッシュ関数
+	private final IntIntHash hashFunction;
+
+	// 段階的リハッシュを行う
+	private final boolean incremental;
+
+	// 段階的リハッシュ中の旧配列，移行中でなければnull
+	// 移行済みの位置の要素もそのまま残し，旧配列上の探索が成り立つようにする
+	private int[] oldTable;
+
+	// 旧配列の移行を始めた位置(NULLの直後)
+	private int oldStart;
+
+	// 旧配列の移行済みの範囲の長さ
+	private int migrated;
+
 	// 次にリハッシュする容量
 	private int threshold;
 
+	// 自動縮小の閾値となる負荷係数．0なら縮小しない
+	private float shrinkFactor;
+
 	// 構造的変更検出用
 	private int modCount;
 
 	/**
-	 * 初期容量と負荷係数を指定してIntIntScatterMapを生成する.
+	 * 初期容量，負荷係数，配列長の決め方，ハッシュ関数とリハッシュの方法を指定してIntIntScatterMapを生成する.
 	 *
+	 * 段階的リハッシュを有効にすると，拡張時には新しい配列を確保するだけで要素の移行は行わず，
+	 * 以降の更新操作(merge, put, remove)のたびに旧配列の一定数の位置を新しい配列へ移す．
+	 * 移行中の検索は両方の配列を調べる．これにより1回の更新操作にかかる時間の最悪値が抑えられる．
+	 * 移行中にkey, valueの走査を始めた場合は，その時点で残りの移行を完了させる．
 	 * @param initCapacity 初期容量
 	 * @param loadFactor 負荷係数
+	 * @param sizing 配列長の決め方
+	 * @param hashFunction keyの位置を決めるハッシュ関数
+	 * @param incrementalRehash 段階的リハッシュを行うときtrue
 	 */
-	public ScatterIntIntMap(int initCapacity, float loadFactor) {
+	public ScatterIntIntMap(int initCapacity, float loadFactor, TableSizing sizing, IntIntHash hashFunction, boolean incrementalRehash) {
 		if(initCapacity < 0) {
 			throw new IllegalArgumentException("initCapacity must be positive :"+initCapacity);
 		}
+		Objects.requireNonNull(sizing);
+		Objects.requireNonNull(hashFunction);
+		if(initCapacity > 0) {
+			initCapacity = sizing.roundUp(Math.min(initCapacity, MAX_CAPACITY));
+		}
 
-		keys = initCapacity == 0 ?
-				EMPTY_KEYS :
-				new int[initCapacity];
-		values = initCapacity == 0 ?
-				null :
-				new int[initCapacity];
+		table = initCapacity == 0 ?
+				EMPTY_TABLE :
+				new int[initCapacity<<1];
 		nullKey = false;
 		size = 0;
 		this.loadFactor = loadFactor;
+		this.sizing = sizing;
+		this.powerOfTwo = sizing == TableSizing.POWER_OF_TWO;
+		this.hashFunction = hashFunction;
+		this.incremental = incrementalRehash;
+		oldTable = null;
 		threshold = (int) (initCapacity * loadFactor);
 		modCount = 0;
 	}
 
+	/**
+	 * 初期容量，負荷係数，配列長の決め方とハッシュ関数を指定してIntIntScatterMapを生成する.
+	 *
+	 * {@link TableSizing#POWER_OF_TWO}を用いる場合，ハッシュ関数は下位ビットがよく撹拌されるものを選ぶこと．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 * @param sizing 配列長の決め方
+	 * @param hashFunction keyの位置を決めるハッシュ関数
+	 */
+	public ScatterIntIntMap(int initCapacity, float loadFactor, TableSizing sizing, IntIntHash hashFunction) {
+		this(initCapacity, loadFactor, sizing, hashFunction, false);
+	}
+
+	/**
+	 * 初期容量，負荷係数と配列長の決め方を指定してIntIntScatterMapを生成する.
+	 *
+	 * ハッシュ関数にはインスタンスごとにsaltを乱数で選んだ{@link HashSupport#hash32shiftmult(int, int)}が用いられる．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 * @param sizing 配列長の決め方
+	 */
+	public ScatterIntIntMap(int initCapacity, float loadFactor, TableSizing sizing) {
+		this(initCapacity, loadFactor, sizing, HashSupport.randomizedIntIntHash());
+	}
+
+	/**
+	 * 初期容量と負荷係数を指定してIntIntScatterMapを生成する.
+	 *
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 */
+	public ScatterIntIntMap(int initCapacity, float loadFactor) {
+		this(initCapacity, loadFactor, TableSizing.PRIME);
+	}
+
 	/**
 	 * 初期容量を指定してIntIntScatterMapを生成する.
 	 *
@@ -90,10 +182,15 @@ public final class ScatterIntIntMap implements IntIntMap {
 	 * デフォルトの初期容量(11)と負荷係数を利用してIntIntScatterMapを生成する.
 	 */
 	public ScatterIntIntMap() {
-		keys = EMPTY_KEYS;
+		table = EMPTY_TABLE;
 		nullKey = false;
 		size = 0;
 		loadFactor = DEFAULT_LOAD_FACTOR;
+		sizing = TableSizing.PRIME;
+		powerOfTwo = false;
+		hashFunction = HashSupport.randomizedIntIntHash();
+		incremental = false;
+		oldTable = null;
 		threshold = 0;
 		modCount = 0;
 	}
@@ -113,28 +210,7 @@ public final class ScatterIntIntMap implements IntIntMap {
 		if(key == NULL) {
 			return nullKey;
 		}
-
-		if(keys==EMPTY_KEYS) {
-			return false;
-		}
-		int index = hash(key) % keys.length;
-		int limit = index-1;
-		if(limit == -1) {
-			limit = keys.length;
-		}
-		for(;index!=limit;index++) {
-			if(index == keys.length) {
-				index = 0;
-			}
-			int j = keys[index];
-			if(j == key) {
-				return true;
-			}
-			if(j == NULL) {
-				return false;
-			}
-		}
-		return false;
+		return find(table, key) != -1 || findPending(key) != -1;
 	}
 
 	@Override
@@ -142,17 +218,26 @@ public final class ScatterIntIntMap implements IntIntMap {
 		if(nullKey && nullValue == value) {
 			return true;
 		}
-		for (int i = 0; i < keys.length; i++) {
-			if(keys[i] != NULL && values[i] == value) {
+		for (int i = 0; i < table.length; i += 2) {
+			if(table[i] != NULL && table[i+1] == value) {
 				return true;
 			}
 		}
+		int[] old = oldTable;
+		if(old != null) {
+			for (int i = 0; i < old.length; i += 2) {
+				if(old[i] != NULL && old[i+1] == value && isPending(i)) {
+					return true;
+				}
+			}
+		}
 		return false;
 	}
 
 	@Override
 	public void clear() {
-		Arrays.fill(keys, NULL);
+		Arrays.fill(table, NULL);
+		oldTable = null;
 		nullKey = false;
 		size = 0;
 		modCount++;
@@ -161,59 +246,207 @@ public final class ScatterIntIntMap implements IntIntMap {
 	@Override
 	public int get(int key) {
 		if(key == NULL) {
+			if(!nullKey) {
+				throw new NoSuchElementException("key: "+key);
+			}
 			return nullValue;
 		}
 
-		if(keys==EMPTY_KEYS) {
-			throw new NoSuchElementException("key: "+key);
+		int index = find(table, key);
+		if(index != -1) {
+			return table[index+1];
 		}
-		int index = hash(key) % keys.length;
-		int limit = index-1;
-		if(limit == -1) {
-			limit = keys.length;
+		index = findPending(key);
+		if(index != -1) {
+			return oldTable[index+1];
 		}
-		for(;index!=limit;index++) {
-			if(index == keys.length) {
-				index = 0;
-			}
-			int j = keys[index];
-			if(j == key) {
-				return values[index];
+		throw new NoSuchElementException("key: "+key);
+	}
+
+	@Override
+	public int getOrDefault(int key, int def) {
+		if(key == NULL) {
+			return nullKey ? nullValue : def;
+		}
+
+		int index = find(table, key);
+		if(index != -1) {
+			return table[index+1];
+		}
+		index = findPending(key);
+		return index == -1 ? def : oldTable[index+1];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * keyを一定数ずつまとめ，先に全ての本来の位置を求めて読んでから値を取り出す．
+	 */
+	@Override
+	public void getAll(int[] keys, int offset, int length, int[] out, int def) {
+		PrimitiveSupport.checkBounds(keys, offset, length);
+		PrimitiveSupport.checkBounds(out, offset, length);
+		int[] table = this.table;
+		if(table.length == 0) {
+			for (int i = offset; i < offset + length; i++) {
+				out[i] = getOrDefault(keys[i], def);
 			}
-			if(j == NULL) {
-				throw new NoSuchElementException("key: "+key);
+			return;
+		}
+		int[] homes = new int[BATCH_SIZE];
+		int[] heads = new int[BATCH_SIZE];
+		for(int base = offset, end = offset + length;base < end;base += BATCH_SIZE) {
+			int n = Math.min(BATCH_SIZE, end - base);
+			prefetch(table, keys, base, n, homes, heads);
+			for (int i = 0; i < n; i++) {
+				int key = keys[base + i];
+				out[base + i] = heads[i] == key && key != NULL ?
+						table[homes[i]+1] :
+						getOrDefault(key, def);
 			}
 		}
-		throw new AssertionError();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * keyを一定数ずつまとめ，先に全ての本来の位置を求めて読んでから判定する．
+	 */
 	@Override
-	public int getOrDefault(int key, int def) {
-		if(key == NULL) {
-			return nullValue;
+	public int containsKeys(int[] keys, int offset, int length, long[] bitmaskOut) {
+		PrimitiveSupport.checkBounds(keys, offset, length);
+		PrimitiveSupport.checkBounds(bitmaskOut, 0, (length+63)>>>6);
+		Arrays.fill(bitmaskOut, 0, (length+63)>>>6, 0L);
+		int[] table = this.table;
+		if(table.length == 0) {
+			return nullKey && length > 0 ? IntIntMap.super.containsKeys(keys, offset, length, bitmaskOut) : 0;
+		}
+		int count = 0;
+		int[] homes = new int[BATCH_SIZE];
+		int[] heads = new int[BATCH_SIZE];
+		for(int done = 0;done < length;done += BATCH_SIZE) {
+			int n = Math.min(BATCH_SIZE, length - done);
+			prefetch(table, keys, offset + done, n, homes, heads);
+			for (int i = 0; i < n; i++) {
+				int key = keys[offset + done + i];
+				if((heads[i] == key && key != NULL) || containsKey(key)) {
+					bitmaskOut[(done + i)>>>6] |= 1L << (done + i);
+					count++;
+				}
+			}
 		}
+		return count;
+	}
 
-		if(keys==EMPTY_KEYS) {
-			return def;
+	/**
+	 * {@inheritDoc}
+	 *
+	 * 先に全体が収まるよう拡張し，keyを一定数ずつまとめて本来の位置を読んでから書き込む．
+	 */
+	@Override
+	public void putAll(int[] keys, int[] values, int offset, int length) {
+		PrimitiveSupport.checkBounds(keys, offset, length);
+		PrimitiveSupport.checkBounds(values, offset, length);
+		if(length == 0) {
+			return;
 		}
-		int index = hash(key) % keys.length;
-		int limit = index-1;
-		if(limit == -1) {
-			limit = keys.length;
+		if(size + length > 0 && size + length <= MAX_CAPACITY) {
+			ensureCapacity(size + length);
 		}
-		for(;index!=limit;index++) {
-			if(index == keys.length) {
-				index = 0;
+		int[] homes = new int[BATCH_SIZE];
+		int[] heads = new int[BATCH_SIZE];
+		for(int base = offset, end = offset + length;base < end;base += BATCH_SIZE) {
+			int n = Math.min(BATCH_SIZE, end - base);
+			int[] table = this.table;
+			prefetch(table, keys, base, n, homes, heads);
+			for (int i = 0; i < n; i++) {
+				int key = keys[base + i];
+				// 挿入で要素が動いている場合があるため，書き込む前に読み直す
+				if(heads[i] == key && key != NULL && table == this.table && table[homes[i]] == key) {
+					table[homes[i]+1] = values[base + i];
+				} else {
+					put(key, values[base + i]);
+				}
 			}
-			int j = keys[index];
+		}
+	}
+
+	/**
+	 * 指定した範囲のkeyの本来の位置を求め，その位置のkeyを読んでおく.
+	 * 互いに依存しない読み込みを並べることで，キャッシュミスの待ち時間を重ねる．
+	 * @param table 探索する配列(長さは正)
+	 * @param keys keyの配列
+	 * @param offset 開始インデックス
+	 * @param n keyの数
+	 * @param homes 本来の位置を書き込む配列
+	 * @param heads 本来の位置にあるkeyを書き込む配列
+	 */
+	private void prefetch(int[] table, int[] keys, int offset, int n, int[] homes, int[] heads) {
+		int length = table.length;
+		for (int i = 0; i < n; i++) {
+			homes[i] = homeOf(keys[offset + i], length);
+		}
+		for (int i = 0; i < n; i++) {
+			heads[i] = table[homes[i]];
+		}
+	}
+
+	/**
+	 * 指定したkeyが格納されている位置を返す.
+	 *
+	 * Robin Hood Hashingの不変条件より，探索距離が途中の要素の探索距離を超えた時点で
+	 * keyは存在しないことが確定する．
+	 * @param table 探索する配列
+	 * @param key NULL以外のkey
+	 * @return keyのtable上の添字，存在しなければ-1
+	 */
+	private int find(int[] table, int key) {
+		int length = table.length;
+		if(length == 0) {
+			return -1;
+		}
+		int index = homeOf(key, length);
+		for(int dist = 0;dist < length;dist += 2) {
+			int j = table[index];
 			if(j == key) {
-				return values[index];
+				return index;
 			}
-			if(j == NULL) {
-				return def;
+			if(j == NULL || probeDistance(j, index, length) < dist) {
+				return -1;
+			}
+			index += 2;
+			if(index == length) {
+				index = 0;
 			}
 		}
-		throw new AssertionError();
+		return -1;
+	}
+
+	/**
+	 * 旧配列の未移行の位置から指定したkeyを探す.
+	 * @param key NULL以外のkey
+	 * @return keyのoldTable上の添字，移行中でないか存在しなければ-1
+	 */
+	private int findPending(int key) {
+		int[] old = oldTable;
+		if(old == null) {
+			return -1;
+		}
+		int index = find(old, key);
+		return index != -1 && isPending(index) ? index : -1;
+	}
+
+	/**
+	 * 旧配列の指定した位置がまだ移行されていないかを返す.
+	 * @param index oldTable上の添字
+	 * @return 未移行ならtrue
+	 */
+	private boolean isPending(int index) {
+		int offset = index - oldStart;
+		if(offset < 0) {
+			offset += oldTable.length;
+		}
+		return offset >= migrated;
 	}
 
 	/**
@@ -226,33 +459,299 @@ public final class ScatterIntIntMap implements IntIntMap {
 				nullKey = true;
 				nullValue = value;
 				size++;
+				modCount++;
 			} else {
 				nullValue = updater.applyAsInt(nullValue);
 			}
 			return;
 		}
 
+		int index = insertionIndex(key);
+		if(index < 0) {
+			table[~index+1] = value;
+		} else {
+			table[index+1] = updater.applyAsInt(table[index+1]);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void put(int key, int value) {
+		if(key == NULL) {
+			if(!nullKey) {
+				nullKey = true;
+				size++;
+				modCount++;
+			}
+			nullValue = value;
+			return;
+		}
+
+		int index = insertionIndex(key);
+		table[(index < 0 ? ~index : index)+1] = value;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void addTo(int key, int delta) {
+		getAndAdd(key, delta);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getAndAdd(int key, int delta) {
+		if(key == NULL) {
+			int old = nullKey ? nullValue : 0;
+			if(!nullKey) {
+				nullKey = true;
+				size++;
+				modCount++;
+			}
+			nullValue = old + delta;
+			return old;
+		}
+
+		int index = insertionIndex(key);
+		if(index < 0) {
+			table[~index+1] = delta;
+			return 0;
+		}
+		int old = table[index+1];
+		table[index+1] = old + delta;
+		return old;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int addAndGet(int key, int delta) {
+		return getAndAdd(key, delta) + delta;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int incrementAndGet(int key) {
+		return getAndAdd(key, 1) + 1;
+	}
+
+	/**
+	 * 指定したkeyのエントリのtable上の添字を返す.
+	 * keyが無ければvalueを0として追加し，その添字をビット反転した値を返す．
+	 * 段階的リハッシュの旧配列にあった場合は新しい配列へ移してから返す．
+	 * @param key NULL以外のkey
+	 * @return 既存のエントリの添字，または追加したエントリの添字のビット反転
+	 */
+	private int insertionIndex(int key) {
 		try {
 			ensureCapacity(size+1);
 		} catch(IllegalArgumentException e) {
 			throw new  RuntimeException("Too many entries!");
 		}
 
-		for(int index = hash(key) % keys.length;;index++) {
-			if(index == keys.length) {
-				index = 0;
+		// 旧配列から移すエントリ
+		boolean carried = false;
+		int value = 0;
+		if(oldTable != null) {
+			migrate(MIGRATION_STEP);
+			int pending = findPending(key);
+			if(pending != -1) {
+				carried = true;
+				value = oldTable[pending+1];
+				pull(oldTable, pending);
 			}
-			int j = keys[index];
+		}
+
+		int[] table = this.table;
+		int length = table.length;
+		int index = homeOf(key, length);
+		for(int dist = 0;;dist += 2) {
+			int j = table[index];
 			if(j == key) {
-				values[index] = updater.applyAsInt(values[index]);
-				return;
+				return index;
 			}
 			if(j == NULL) {
-				keys[index] = key;
-				values[index] = value;
+				table[index] = key;
+				table[index+1] = value;
+				break;
+			}
+			int jDist = probeDistance(j, index, length);
+			if(jDist < dist) {
+				// keyは存在しないのでここに入れ，元の要素を先へ送る
+				int v = table[index+1];
+				table[index] = key;
+				table[index+1] = value;
+				place(table, j, v, index, jDist);
+				break;
+			}
+			index += 2;
+			if(index == length) {
+				index = 0;
+			}
+		}
+		modCount++;
+		if(carried) {
+			return index;
+		}
+		size++;
+		return ~index;
+	}
+
+	/**
+	 * 指定したkeyのエントリを指すスロットを返す.
+	 *
+	 * スロットは{@link #valueAt(long)}, {@link #setValueAt(long, int)}に渡すことで，
+	 * 再度探索することなくvalueを読み書きできる．
+	 * スロットはこのIntIntScatterMapが構造的に変更されるまで有効で，
+	 * その後は{@link #isValidSlot(long)}がfalseを返す．
+	 * @param key 元
+	 * @return スロット，keyが存在しなければ-1
+	 */
+	public long findSlot(int key) {
+		if(key == NULL) {
+			return nullKey ? slot(NULL_SLOT) : -1;
+		}
+		int index = find(table, key);
+		if(index != -1) {
+			return slot(index);
+		}
+		index = findPending(key);
+		return index == -1 ? -1 : slot(index | OLD_SLOT);
+	}
+
+	/**
+	 * 指定したkeyのエントリを指すスロットを返す.
+	 * keyが存在しなければvalueを0として追加する．
+	 * 追加により，それまでに得たスロットは無効になる．
+	 * @param key 元
+	 * @return スロット
+	 * @see #findSlot(int)
+	 */
+	public long insertSlot(int key) {
+		if(key == NULL) {
+			if(!nullKey) {
+				nullKey = true;
+				nullValue = 0;
 				size++;
+				modCount++;
+			}
+			return slot(NULL_SLOT);
+		}
+		int index = insertionIndex(key);
+		return slot(index < 0 ? ~index : index);
+	}
+
+	/**
+	 * 指定したスロットが現在も有効かを返す.
+	 * @param slot {@link #findSlot(int)}または{@link #insertSlot(int)}が返したスロット
+	 * @return 有効ならtrue
+	 */
+	public boolean isValidSlot(long slot) {
+		return slot != -1 && (int)(slot>>>32) == modCount;
+	}
+
+	/**
+	 * 指定したスロットのvalueを返す.
+	 * @param slot 有効なスロット
+	 * @return value
+	 * @throws IllegalArgumentException slotが-1のとき
+	 * @throws ConcurrentModificationException slotを得た後に構造的な変更があったとき
+	 */
+	public int valueAt(long slot) {
+		int position = positionOf(slot);
+		if(position == NULL_SLOT) {
+			return nullValue;
+		}
+		if((position & OLD_SLOT) != 0) {
+			return oldTable[(position ^ OLD_SLOT)+1];
+		}
+		return table[position+1];
+	}
+
+	/**
+	 * 指定したスロットのvalueを更新する.
+	 * 構造的な変更ではないため，スロットは引き続き有効である．
+	 * @param slot 有効なスロット
+	 * @param value 新しいvalue
+	 * @throws IllegalArgumentException slotが-1のとき
+	 * @throws ConcurrentModificationException slotを得た後に構造的な変更があったとき
+	 */
+	public void setValueAt(long slot, int value) {
+		int position = positionOf(slot);
+		if(position == NULL_SLOT) {
+			nullValue = value;
+		} else if((position & OLD_SLOT) != 0) {
+			oldTable[(position ^ OLD_SLOT)+1] = value;
+		} else {
+			table[position+1] = value;
+		}
+	}
+
+	/**
+	 * 現在のmodCountを付けたスロットを返す.
+	 * @param position スロットが指す位置
+	 * @return スロット
+	 */
+	private long slot(int position) {
+		return ((long)modCount << 32) | position;
+	}
+
+	/**
+	 * スロットの有効性を確かめ，スロットが指す位置を返す.
+	 * @param slot スロット
+	 * @return スロットが指す位置
+	 */
+	private int positionOf(long slot) {
+		if(slot == -1) {
+			throw new IllegalArgumentException("slot: "+slot);
+		}
+		if((int)(slot>>>32) != modCount) {
+			throw new ConcurrentModificationException();
+		}
+		return (int) slot;
+	}
+
+	/**
+	 * 指定したエントリをRobin Hood Hashingで配置する.
+	 * 探索距離が自身より短い要素を見つけたら入れ替え，押し出した要素の配置を続ける．
+	 * keyは配列に含まれておらず，配列には空きがあるものとする．
+	 * @param table 配置先の配列
+	 * @param key 配置するkey
+	 * @param value 配置するvalue
+	 * @param index keyがあったtable上の添字
+	 * @param dist keyがあった位置での探索距離
+	 */
+	private void place(int[] table, int key, int value, int index, int dist) {
+		int length = table.length;
+		for(;;) {
+			index += 2;
+			if(index == length) {
+				index = 0;
+			}
+			dist += 2;
+			int j = table[index];
+			if(j == NULL) {
+				table[index] = key;
+				table[index+1] = value;
 				return;
 			}
+			int jDist = probeDistance(j, index, length);
+			if(jDist < dist) {
+				int v = table[index+1];
+				table[index] = key;
+				table[index+1] = value;
+				key = j;
+				value = v;
+				dist = jDist;
+			}
 		}
 	}
 
@@ -262,56 +761,83 @@ public final class ScatterIntIntMap implements IntIntMap {
 			if(nullKey) {
 				nullKey = false;
 				size--;
+				modCount++;
 				return true;
 			}
 			return false;
 		}
 
-		if(keys==EMPTY_KEYS) {
-			return false;
+		if(oldTable != null) {
+			migrate(MIGRATION_STEP);
 		}
-		for(int index = hash(key) % keys.length;;index++) {
-			if(index == keys.length) {
-				index = 0;
-			}
-			int j = keys[index];
-			if(j == key) {
-				pull(index);
-				size--;
-				return true;
-			}
-			if(j == NULL) {
-				return false;
-			}
+
+		int index = find(table, key);
+		if(index != -1) {
+			pull(table, index);
+			size--;
+			shrinkIfSparse();
+			return true;
 		}
+		index = findPending(key);
+		if(index != -1) {
+			pull(oldTable, index);
+			size--;
+			return true;
+		}
+		return false;
 	}
 
 	/**
-	 * 指定したindexのエントリを削除する
-	 * @param index
+	 * 指定したindexのエントリを削除する.
+	 * 後続の要素を空きか探索距離0の要素の手前まで1つずつ前に詰める(backward shift deletion)．
+	 * 旧配列では移行済みの範囲に入る手前で止める．
+	 * @param table エントリを含む配列
+	 * @param index 削除するエントリのtable上の添字
 	 */
-	private void pull(int index) {
-
+	private void pull(int[] table, int index) {
+		int length = table.length;
+		int end = table == oldTable ? oldStart : index;
 		int dst = index;
-		for(int src = dst + 1;;src++) {
-			if(src == keys.length) {
+		for(;;) {
+			int src = dst + 2;
+			if(src == length) {
 				src = 0;
 			}
-			int i = keys[src];
-			if(i == NULL || src == index) {
-				keys[dst] = NULL;
+			int i = table[src];
+			if(i == NULL || src == end || probeDistance(i, src, length) == 0) {
+				table[dst] = NULL;
+				modCount++;
 				return;
 			}
-			int pos = hash(i) % keys.length;
-			if((dst < src && pos <= dst)
-			|| (src < dst && (src < pos && pos <= dst))) {
-				keys[dst] = i;
-				values[dst] = values[src];
-				dst = src;
-			}
+			table[dst] = i;
+			table[dst+1] = table[src+1];
+			dst = src;
 		}
 	}
 
+	/**
+	 * 指定したkeyの本来の位置を返す.
+	 * @param key 要素
+	 * @param length tableの長さ
+	 * @return keyを置くべきtable上の添字
+	 */
+	private int homeOf(int key, int length) {
+		return indexFor(hash(key), length>>1)<<1;
+	}
+
+	/**
+	 * 指定した位置にある要素の探索距離(本来の位置からのずれ)を返す.
+	 * 距離はtable上の添字の差(エントリ数の2倍)で表す．
+	 * @param key 要素
+	 * @param index 要素のtable上の添字
+	 * @param length tableの長さ
+	 * @return 探索距離
+	 */
+	private int probeDistance(int key, int index, int length) {
+		int dist = index - homeOf(key, length);
+		return dist < 0 ? dist + length : dist;
+	}
+
 	@Override
 	public IntSet keys() {
 		return new KeySet();
@@ -319,17 +845,11 @@ public final class ScatterIntIntMap implements IntIntMap {
 
 	@Override
 	public IntCollection values() {
-		if(keys==EMPTY_KEYS) {
-			return IntCollection.empty();
-		}
 		return new ValueCollection();
 	}
 
 	@Override
 	public IntIntCursor entryCursor() {
-		if(keys==EMPTY_KEYS) {
-			return IntIntCursor.empty();
-		}
 		return new EntryCursor();
 	}
 
@@ -342,43 +862,154 @@ public final class ScatterIntIntMap implements IntIntMap {
 		if(minCapasity <= 0 || MAX_CAPACITY < minCapasity) {
 			throw new IllegalArgumentException("minCapacity : "+minCapasity);
 		}
-		if(threshold >= minCapasity || keys.length == MAX_CAPACITY) {
+		if(threshold >= minCapasity || table.length>>1 == MAX_CAPACITY) {
 			return;
 		}
 
-		int reccommended = (keys==EMPTY_KEYS) ?
-				DEFAULT_INIT_CAPACITY :
-				HashSupport.avoid2357(keys.length<<1);
-		int nextCapacity = Math.max((int)(minCapasity / loadFactor)+1 , reccommended);
-		nextCapacity = Math.min(nextCapacity, MAX_CAPACITY);
+		int nextCapacity = sizing.grownCapacity(table.length>>1, minCapasity, loadFactor, MAX_CAPACITY);
 
-		rehash(nextCapacity);
+		if(incremental && table.length > 0) {
+			startRehash(nextCapacity);
+		} else {
+			rehash(nextCapacity);
+		}
+	}
+
+	/**
+	 * 内部配列を現在の要素数に見合った長さまで縮小する.
+	 * 段階的リハッシュの移行中であれば先に完了させる．要素を含まない場合は配列を解放する．
+	 */
+	public void trimToSize() {
+		completeRehash();
+		int count = nullKey ? size-1 : size;
+		if(count == 0) {
+			if(table != EMPTY_TABLE) {
+				table = EMPTY_TABLE;
+				threshold = 0;
+				modCount++;
+			}
+			return;
+		}
+		int capacity = sizing.trimmedCapacity(count, loadFactor, MAX_CAPACITY);
+		if(capacity < table.length>>1) {
+			rehash(capacity);
+		}
+	}
+
+	/**
+	 * keyの削除により負荷係数が指定した値を下回ったとき，内部配列を自動的に縮小するよう設定する.
+	 *
+	 * 縮小後の負荷係数は設定した負荷係数のおよそ半分となる．
+	 * 0を指定すると縮小しない(デフォルト)．カーソルやビューのイテレータによる削除，
+	 * 段階的リハッシュの移行中の削除では縮小しない．
+	 * @param shrinkFactor 縮小の閾値となる負荷係数
+	 * @throws IllegalArgumentException shrinkFactorが[0, 負荷係数/2)の範囲外だったとき
+	 */
+	public void setShrinkFactor(float shrinkFactor) {
+		TableSizing.checkShrinkFactor(shrinkFactor, loadFactor);
+		this.shrinkFactor = shrinkFactor;
+	}
+
+	/**
+	 * 負荷係数が縮小の閾値を下回っていれば内部配列を縮小する.
+	 */
+	private void shrinkIfSparse() {
+		int capacity = table.length>>1;
+		if(oldTable != null || !sizing.isSparse(size, capacity, shrinkFactor)) {
+			return;
+		}
+		int nextCapacity = sizing.sparseCapacity(size, loadFactor);
+		if(nextCapacity < capacity) {
+			rehash(nextCapacity);
+		}
 	}
 
 	private void rehash(int nextCapacity) {
-		int[] tmpKeys = new int[nextCapacity];
-		int[] tmpValues = new int[nextCapacity];
-		for (int i = 0; i < keys.length; i++) {
-			if(keys[i] == NULL) {
-				continue;
+		completeRehash();
+		int[] tmp = new int[nextCapacity<<1];
+		for (int i = 0; i < table.length; i += 2) {
+			int j = table[i];
+			if(j != NULL) {
+				insert(tmp, j, table[i+1]);
 			}
+		}
+		table = tmp;
+		modCount++;
+		threshold = (int) (nextCapacity * loadFactor);
+	}
 
-			int j = keys[i];
-			for(int index = hash(j) % tmpKeys.length;;index++) {
-				if(index == tmpKeys.length) {
-					index = 0;
-				}
-				if(tmpKeys[index] == NULL) {
-					tmpKeys[index] = j;
-					tmpValues[index] = values[i];
-					break;
-				}
+	/**
+	 * 新しい配列を確保し，現在の配列を旧配列として段階的な移行を始める.
+	 * 前回の移行が終わっていなければ先に完了させる．
+	 * @param nextCapacity 新しい容量
+	 */
+	private void startRehash(int nextCapacity) {
+		completeRehash();
+		int[] old = table;
+		int start = 0;
+		for (int i = 0; i < old.length; i += 2) {
+			if(old[i] == NULL) {
+				start = i+2 == old.length ? 0 : i+2;
+				break;
 			}
 		}
-		keys = tmpKeys;
-		values = tmpValues;
+		oldTable = old;
+		oldStart = start;
+		migrated = 0;
+		table = new int[nextCapacity<<1];
 		modCount++;
-		threshold = (int) (keys.length * loadFactor);
+		threshold = (int) (nextCapacity * loadFactor);
+	}
+
+	/**
+	 * 旧配列の指定した数の位置を新しい配列へ移す.
+	 * 全ての位置を移し終えたら旧配列を解放する．
+	 * @param count 移す位置の数
+	 */
+	private void migrate(int count) {
+		int[] old = oldTable;
+		int length = old.length;
+		int[] table = this.table;
+		for(int n = 0;n < count && migrated < length;n++) {
+			int i = oldStart + migrated;
+			if(i >= length) {
+				i -= length;
+			}
+			migrated += 2;
+			int j = old[i];
+			if(j != NULL) {
+				insert(table, j, old[i+1]);
+				modCount++;
+			}
+		}
+		if(migrated == length) {
+			oldTable = null;
+		}
+	}
+
+	/**
+	 * 段階的リハッシュの移行中であれば残りを全て移す.
+	 */
+	private void completeRehash() {
+		if(oldTable != null) {
+			migrate(oldTable.length);
+		}
+	}
+
+	/**
+	 * 含まれていないことが分かっているエントリを配列に追加する.
+	 * @param table 追加先の配列
+	 * @param key NULL以外のkey
+	 * @param value value
+	 */
+	private void insert(int[] table, int key, int value) {
+		int index = homeOf(key, table.length);
+		if(table[index] == NULL) {
+			table[index] = key;
+			table[index+1] = value;
+		} else {
+			place(table, key, value, index, 0);
+		}
 	}
 
 	/**
@@ -387,9 +1018,18 @@ public final class ScatterIntIntMap implements IntIntMap {
 	 * @param j 要素
 	 * @return 要素のハッシュ(正数のint)
 	 */
-	private static int hash(int j) {
-		// 正の数にするだけ
-		return Integer.MAX_VALUE & j;
+	private int hash(int j) {
+		return Integer.MAX_VALUE & hashFunction.hash(j);
+	}
+
+	/**
+	 * ハッシュから指定した長さの配列上での位置を返す．
+	 * @param hash 要素のハッシュ(正数のint)
+	 * @param length 配列の長さ
+	 * @return 配列上での位置
+	 */
+	private int indexFor(int hash, int length) {
+		return powerOfTwo ? hash & (length-1) : hash % length;
 	}
 
 	@Override
@@ -426,6 +1066,194 @@ public final class ScatterIntIntMap implements IntIntMap {
 	}
 
 
+	/**
+	 * テーブル上のエントリを順に辿る.
+	 *
+	 * 走査はNULLの直後の位置から始めて一周する．後退シフト削除ではNULLを越えて要素が移動しないため，
+	 * 走査中に現在の要素を削除しても，走査済みの要素が未走査の位置に移ることはない．
+	 * 削除で後続の要素が現在の位置に詰められた場合はその位置をもう一度調べる．
+	 * 段階的リハッシュの移行中であれば，走査を始める前に移行を完了させる．
+	 */
+	private class TableWalker {
+		// 走査を始める位置
+		final int start;
+
+		// 調べ終えた範囲の長さ
+		int scanned = 0;
+
+		// 現在のエントリのtable上の添字
+		int index = -1;
+
+		TableWalker() {
+			completeRehash();
+			int[] table = ScatterIntIntMap.this.table;
+			int s = 0;
+			for (int i = 0; i < table.length; i += 2) {
+				if(table[i] == NULL) {
+					s = i+2;
+					break;
+				}
+			}
+			start = s;
+		}
+
+		/**
+		 * 次のエントリに進む
+		 * @return エントリがあればtrue
+		 */
+		boolean advance() {
+			int[] table = ScatterIntIntMap.this.table;
+			int length = table.length;
+			index = -1;
+			while(scanned < length) {
+				int i = start + scanned;
+				if(i >= length) {
+					i -= length;
+				}
+				scanned += 2;
+				if(table[i] != NULL) {
+					index = i;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * 現在のエントリを削除する
+		 */
+		void removeCurrent() {
+			pull(table, index);
+			size--;
+			if(table[index] != NULL) {
+				scanned -= 2;
+			}
+		}
+	}
+
+	/**
+	 * 全てのkeyまたはvalueを辿るSpliteratorを返す.
+	 * 段階的リハッシュの移行中であれば，先に移行を完了させる．
+	 * @param offset 0ならkey，1ならvalueを辿る
+	 * @return spliterator
+	 */
+	private Spliterator.OfInt tableSpliterator(int offset) {
+		completeRehash();
+		return new TableSpliterator(table, offset, 0, table.length>>1, nullKey, size, true);
+	}
+
+	/**
+	 * 配列のエントリ[index, fence)の範囲のkeyまたはvalueを辿るSpliterator.
+	 * 分割した範囲はそれぞれ独立に空き位置を読み飛ばす．NULLのkeyのエントリは先頭の範囲が受け持つ．
+	 * 走査中に構造的変更があった場合は走査の終わりにConcurrentModificationExceptionを投げる．
+	 */
+	private class TableSpliterator implements Spliterator.OfInt {
+
+		// 辿る配列
+		final int[] table;
+
+		// 0ならkey，1ならvalueを辿る
+		final int offset;
+
+		// 次に調べるエントリ
+		int index;
+
+		// 範囲の終端(このエントリを含まない)
+		final int fence;
+
+		// NULLのkeyのエントリを受け持つならtrue
+		boolean withNull;
+
+		// 残りの要素数の見積もり
+		long est;
+
+		// 分割していなければtrue
+		boolean sized;
+
+		// 構造的変更検出用
+		final int expectedModCount = modCount;
+
+		TableSpliterator(int[] table, int offset, int index, int fence, boolean withNull, long est, boolean sized) {
+			this.table = table;
+			this.offset = offset;
+			this.index = index;
+			this.fence = fence;
+			this.withNull = withNull;
+			this.est = est;
+			this.sized = sized;
+		}
+
+		@Override
+		public Spliterator.OfInt trySplit() {
+			int lo = index;
+			int mid = (lo + fence) >>> 1;
+			if(lo >= mid) {
+				return null;
+			}
+			TableSpliterator prefix = new TableSpliterator(table, offset, lo, mid, withNull, est >>> 1, false);
+			index = mid;
+			withNull = false;
+			est -= est >>> 1;
+			sized = false;
+			return prefix;
+		}
+
+		@Override
+		public boolean tryAdvance(IntConsumer action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(offset == 0 ? NULL : nullValue);
+				checkModCount();
+				return true;
+			}
+			int[] table = this.table;
+			while(index < fence) {
+				int i = (index++)<<1;
+				if(table[i] != NULL) {
+					action.accept(table[i+offset]);
+					checkModCount();
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(IntConsumer action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(offset == 0 ? NULL : nullValue);
+			}
+			int[] table = this.table;
+			int offset = this.offset;
+			for(int i = index<<1, end = fence<<1;i < end;i += 2) {
+				if(table[i] != NULL) {
+					action.accept(table[i+offset]);
+				}
+			}
+			index = fence;
+			checkModCount();
+		}
+
+		@Override
+		public long estimateSize() {
+			return est;
+		}
+
+		@Override
+		public int characteristics() {
+			return (offset == 0 ? Spliterator.DISTINCT : 0) | Spliterator.NONNULL | (sized ? Spliterator.SIZED : 0);
+		}
+
+		private void checkModCount() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
 	private class KeySet extends AbstractIntSet {
 
 		@Override
@@ -438,7 +1266,7 @@ public final class ScatterIntIntMap implements IntIntMap {
 			// 1つ目は0を返す
 			return new PrimitiveIterator.OfInt() {
 
-				int index = 0;
+				final TableWalker walker = new TableWalker();
 
 				// 構造的変更検出用
 				int expectedModCount = modCount;
@@ -451,7 +1279,7 @@ public final class ScatterIntIntMap implements IntIntMap {
 
 				// removeが行える状態
 				boolean removable = false;
-				int removeTarget = 0;
+				boolean removeNull = false;
 
 				@Override
 				public boolean hasNext() {
@@ -466,22 +1294,16 @@ public final class ScatterIntIntMap implements IntIntMap {
 					if(replied==0 && nullKey) {
 						replied++;
 						removable = true;
-						removeTarget = NULL;
+						removeNull = true;
 						return NULL;
 					}
-					try {
-						for(;;) {
-							int retVal = keys[index++];
-							if(retVal != NULL) {
-								replied++;
-								removable = true;
-								removeTarget = retVal;
-								return retVal;
-							}
-						}
-					} catch (ArrayIndexOutOfBoundsException e){
+					if(!walker.advance()) {
 						throw new NoSuchElementException();
 					}
+					replied++;
+					removable = true;
+					removeNull = false;
+					return table[walker.index];
 				}
 
 				@Override
@@ -492,7 +1314,11 @@ public final class ScatterIntIntMap implements IntIntMap {
 					if(!removable) {
 						throw new IllegalStateException();
 					}
-					ScatterIntIntMap.this.remove(removeTarget);
+					if(removeNull) {
+						ScatterIntIntMap.this.remove(NULL);
+					} else {
+						walker.removeCurrent();
+					}
 					expectedModCount = modCount;
 					removed++;
 					removable = false;
@@ -509,6 +1335,11 @@ public final class ScatterIntIntMap implements IntIntMap {
 		public boolean remove(int i) {
 			return ScatterIntIntMap.this.remove(i);
 		}
+
+		@Override
+		public Spliterator.OfInt spliterator() {
+			return tableSpliterator(0);
+		}
 	}
 
 	private class ValueCollection extends AbstractIntCollection {
@@ -518,12 +1349,17 @@ public final class ScatterIntIntMap implements IntIntMap {
 			return size;
 		}
 
+		@Override
+		public Spliterator.OfInt spliterator() {
+			return tableSpliterator(1);
+		}
+
 		@Override
 		public PrimitiveIterator.OfInt iterator() {
 			// 1つ目は0を返す
 			return new PrimitiveIterator.OfInt() {
 
-				int index = 0;
+				final TableWalker walker = new TableWalker();
 
 				// 構造的変更検出用
 				int expectedModCount = modCount;
@@ -536,7 +1372,7 @@ public final class ScatterIntIntMap implements IntIntMap {
 
 				// removeが行える状態
 				boolean removable = false;
-				int removeTarget = 0;
+				boolean removeNull = false;
 
 				@Override
 				public boolean hasNext() {
@@ -551,23 +1387,16 @@ public final class ScatterIntIntMap implements IntIntMap {
 					if(replied==0 && nullKey) {
 						replied++;
 						removable = true;
-						removeTarget = NULL;
+						removeNull = true;
 						return nullValue;
 					}
-					try {
-						for(;;) {
-							int v = values[index];
-							int k = keys[index++];
-							if(k != NULL) {
-								replied++;
-								removable = true;
-								removeTarget = k;
-								return v;
-							}
-						}
-					} catch (ArrayIndexOutOfBoundsException e){
+					if(!walker.advance()) {
 						throw new NoSuchElementException();
 					}
+					replied++;
+					removable = true;
+					removeNull = false;
+					return table[walker.index+1];
 				}
 
 				@Override
@@ -578,7 +1407,11 @@ public final class ScatterIntIntMap implements IntIntMap {
 					if(!removable) {
 						throw new IllegalStateException();
 					}
-					ScatterIntIntMap.this.remove(removeTarget);
+					if(removeNull) {
+						ScatterIntIntMap.this.remove(NULL);
+					} else {
+						walker.removeCurrent();
+					}
 					expectedModCount = modCount;
 					removed++;
 					removable = false;
@@ -591,8 +1424,11 @@ public final class ScatterIntIntMap implements IntIntMap {
 
 		private static final int INDEX_BEGIN = -2;
 		private static final int INDEX_NULL  = -1;
+		private static final int INDEX_TABLE = 0;
 
-		int index = INDEX_BEGIN;
+		final TableWalker walker = new TableWalker();
+
+		int state = INDEX_BEGIN;
 
 		// 構造的変更検出用
 		int expectedModCount = modCount;
@@ -605,91 +1441,149 @@ public final class ScatterIntIntMap implements IntIntMap {
 			if(expectedModCount != modCount) {
 				throw new ConcurrentModificationException();
 			}
-			if(index == INDEX_BEGIN) {
-				index = INDEX_NULL;
+			removed = false;
+			if(state == INDEX_BEGIN) {
+				state = INDEX_NULL;
 				if(nullKey) {
 					return true;
 				}
 			}
-			if(removed) {
-				removed = false;
-				if(index != INDEX_NULL && keys[index] != NULL) {
-					return true;
-				}
-			}
-			if(index >= keys.length) {
-				return false;
-			}
-			try {
-				do {
-					index++;
-				} while (keys[index] == NULL);
-				removed = false;
-				return true;
-			} catch (ArrayIndexOutOfBoundsException e){
-				return false;
-			}
+			state = INDEX_TABLE;
+			return walker.advance();
 		}
 
 		@Override
 		public int key() {
-			if(expectedModCount != modCount) {
-				throw new ConcurrentModificationException();
-			}
-			if(removed == true) {
-				throw new IllegalStateException();
-			}
-			try {
-				return index == INDEX_NULL ? NULL : keys[index];
-			} catch (ArrayIndexOutOfBoundsException e){
-				throw new IllegalStateException();
-			}
+			checkPosition();
+			return state == INDEX_NULL ? NULL : table[walker.index];
 		}
 
 		@Override
 		public int value() {
-			if(expectedModCount != modCount) {
-				throw new ConcurrentModificationException();
-			}
-			if(removed == true) {
-				throw new IllegalStateException();
-			}
-			try {
-				return index == INDEX_NULL ? nullValue : values[index];
-			} catch (ArrayIndexOutOfBoundsException e){
-				throw new IllegalStateException();
-			}
+			checkPosition();
+			return state == INDEX_NULL ? nullValue : table[walker.index+1];
 		}
 
 		@Override
 		public void remove() {
+			checkPosition();
+			if(state == INDEX_NULL) {
+				ScatterIntIntMap.this.remove(NULL);
+			} else {
+				walker.removeCurrent();
+			}
+			expectedModCount = modCount;
+			removed = true;
+		}
+
+		@Override
+		public void setValue(int value) {
+			checkPosition();
+			if(state == INDEX_NULL) {
+				nullValue = value;
+			} else {
+				table[walker.index+1] = value;
+			}
+		}
+
+		private void checkPosition() {
 			if(expectedModCount != modCount) {
 				throw new ConcurrentModificationException();
 			}
-			if(removed || index == INDEX_BEGIN) {
+			if(removed || state == INDEX_BEGIN || (state == INDEX_TABLE && walker.index == -1)) {
 				throw new IllegalStateException();
 			}
-			int key = index == INDEX_NULL ? NULL : keys[index];
-			ScatterIntIntMap.this.remove(key);
-			removed = true;
+		}
+	}
 
-			// pullでズレた分を補正
-			if(key != NULL && keys[hash(key) % keys.length] != NULL) {
-				index--;
-			}
+	/**
+	 * この写像をチャネルに書き出す.
+	 *
+	 * 内部配列をリトルエンディアンでそのまま書き出す．{@link #readFrom(ReadableByteChannel, IntIntHash)}で読み込める．
+	 * 段階的リハッシュの移行中であれば先に完了させる．
+	 * @param channel 書き出し先
+	 * @throws IOException 書き出しに失敗したとき
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		completeRehash();
+		PrimitiveCodec.Writer out = new PrimitiveCodec.Writer(channel, PrimitiveCodec.SCATTER_INT_INT_MAP);
+		out.putFloat(loadFactor);
+		out.putSizing(sizing);
+		out.putInt(incremental ? 1 : 0);
+		out.putLong(PrimitiveCodec.fingerprintOfInt(this::hash));
+		out.putInt(table.length>>1);
+		out.putInt(size);
+		out.putInt(nullKey ? 1 : 0);
+		out.putInt(nullValue);
+		out.putInts(table, 0, table.length);
+		out.flush();
+	}
+
+	/**
+	 * {@link #writeTo(WritableByteChannel)}で書き出した写像を，指定したハッシュ関数を用いて読み込む.
+	 *
+	 * 書き出したときと同じハッシュ関数であれば内部配列をそのまま用い，異なれば配置し直す．
+	 * インスタンスごとにsaltを選ぶハッシュ関数では一致しないため，配置し直しを避けるには決まったハッシュ関数を用いること．
+	 * @param channel 読み込み元
+	 * @param hashFunction keyの位置を決めるハッシュ関数
+	 * @return 読み込んだ写像
+	 * @throws IOException 読み込みに失敗したとき，または形式が不正なとき
+	 */
+	public static ScatterIntIntMap readFrom(ReadableByteChannel channel, IntIntHash hashFunction) throws IOException {
+		PrimitiveCodec.Reader in = new PrimitiveCodec.Reader(channel, PrimitiveCodec.SCATTER_INT_INT_MAP);
+		float loadFactor = in.getFloat();
+		TableSizing sizing = in.getSizing();
+		boolean incremental = in.getInt() != 0;
+		long fingerprint = in.getLong();
+		int capacity = in.getInt();
+		int size = in.getInt();
+		boolean nullKey = in.getInt() != 0;
+		int nullValue = in.getInt();
+		if(!(loadFactor > 0)) {
+			throw PrimitiveCodec.invalid("loadFactor "+loadFactor);
+		}
+		if(!sizing.isValidLength(capacity, MAX_CAPACITY)) {
+			throw PrimitiveCodec.invalid("capacity "+capacity);
 		}
 
-		@Override
-		public void setValue(int value) {
-			if(removed || index == INDEX_BEGIN) {
-				throw new IllegalStateException();
+		ScatterIntIntMap result = new ScatterIntIntMap(0, loadFactor, sizing, hashFunction, incremental);
+		if(capacity > 0) {
+			int[] table = new int[capacity<<1];
+			in.getInts(table, 0, table.length);
+			int count = 0;
+			for (int i = 0; i < table.length; i += 2) {
+				if(table[i] != NULL) {
+					count++;
+				}
 			}
-			try {
-				ScatterIntIntMap.this.put(index == INDEX_NULL ? NULL : keys[index], value);
-			} catch(ArrayIndexOutOfBoundsException e) {
-				throw new IllegalStateException();
+			if(count != (nullKey ? size-1 : size) || count == capacity) {
+				throw PrimitiveCodec.invalid("size "+size);
 			}
+			result.table = table;
+			result.threshold = (int) (capacity * loadFactor);
+			if(fingerprint != PrimitiveCodec.fingerprintOfInt(result::hash)) {
+				result.rehash(capacity);
+			}
+		} else if(size != (nullKey ? 1 : 0)) {
+			throw PrimitiveCodec.invalid("size "+size);
 		}
+		result.nullKey = nullKey;
+		result.nullValue = nullValue;
+		result.size = size;
+		return result;
+	}
+
+	/**
+	 * {@link #writeTo(WritableByteChannel)}で書き出した写像を読み込む.
+	 *
+	 * ハッシュ関数にはインスタンスごとにsaltを乱数で選んだ{@link HashSupport#hash32shiftmult(int, int)}が用いられるため，
+	 * 内部配列は配置し直される．
+	 * @param channel 読み込み元
+	 * @return 読み込んだ写像
+	 * @throws IOException 読み込みに失敗したとき，または形式が不正なとき
+	 */
+	public static ScatterIntIntMap readFrom(ReadableByteChannel channel) throws IOException {
+		return readFrom(channel, HashSupport.randomizedIntIntHash());
 	}
 
 	private static class SerializationProxy implements Serializable {
@@ -710,6 +1604,16 @@ public final class ScatterIntIntMap implements IntIntMap {
 		 */
 		private final float loadFactor;
 
+		/**
+		 * @serial
+		 */
+		private final TableSizing sizing;
+
+		/**
+		 * @serial
+		 */
+		private final boolean incrementalRehash;
+
 		public SerializationProxy(ScatterIntIntMap map) {
 			this.keys = new int[map.size()];
 			this.values = new int[map.size()];
@@ -722,10 +1626,14 @@ public final class ScatterIntIntMap implements IntIntMap {
 			}
 
 			this.loadFactor = map.loadFactor;
+			this.sizing = map.sizing;
+			this.incrementalRehash = map.incremental;
 		}
 
 		private Object readResolve() {
-			ScatterIntIntMap result = new ScatterIntIntMap((int)(keys.length / loadFactor)+1, loadFactor);
+			// ハッシュ関数は直列化できるとは限らないため引き継がない
+			ScatterIntIntMap result = new ScatterIntIntMap((int)(keys.length / loadFactor)+1, loadFactor,
+					sizing == null ? TableSizing.PRIME : sizing, HashSupport.randomizedIntIntHash(), incrementalRehash);
 			for (int i = 0; i < keys.length; i++) {
 				result.put(keys[i], values[i]);
 			}
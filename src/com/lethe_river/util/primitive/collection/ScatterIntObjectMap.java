@@ -0,0 +1,1174 @@
+// このファイルはcodegen/templates/ScatterKeyObjectMap.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+import com.lethe_river.util.primitive.HashSupport;
+import com.lethe_river.util.primitive.IntIntHash;
+
+/**
+ * scatter tableを用いたIntObjectMapの実装
+ *
+ * - open address
+ * - prime number bucket (or power of two bucket)
+ * - Robin Hood Hashing
+ * - liner probing
+ * - backward shift deletion
+ *
+ * keyはboxingせずintの配列に，valueはObjectの配列に格納する．
+ *
+ * @author YuyaAizawa
+ *
+ * @param <V> 像の型
+ */
+
+@SuppressWarnings("serial") // SerializationProxyに委譲
+public final class ScatterIntObjectMap<V> implements IntObjectMap<V> {
+
+	private static final int NULL = 0;
+
+	private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+	private static final int MAX_CAPACITY = 1<<29;
+
+	private static final int[] EMPTY_KEYS = {};
+
+	// NULL以外のkey, value
+	private int[] keys;
+	private Object[] values;
+
+	// NULLのkey, value
+	private boolean nullKey;
+	private Object nullValue;
+
+	// 要素数の合計
+	private int size;
+
+	// 負荷係数
+	private final float loadFactor;
+
+	// 配列長の決め方
+	private final TableSizing sizing;
+	private final boolean powerOfTwo;
+
+	// keyの位置を決めるハッシュ関数
+	private final IntIntHash hashFunction;
+
+	// 次にリハッシュする容量
+	private int threshold;
+
+	// 自動縮小の閾値となる負荷係数．0なら縮小しない
+	private float shrinkFactor;
+
+	// 構造的変更検出用
+	private int modCount;
+
+	/**
+	 * 初期容量，負荷係数，配列長の決め方とハッシュ関数を指定してScatterIntObjectMapを生成する.
+	 *
+	 * {@link TableSizing#POWER_OF_TWO}を用いる場合，ハッシュ関数は下位ビットがよく撹拌されるものを選ぶこと．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 * @param sizing 配列長の決め方
+	 * @param hashFunction keyの位置を決めるハッシュ関数
+	 */
+	public ScatterIntObjectMap(int initCapacity, float loadFactor, TableSizing sizing, IntIntHash hashFunction) {
+		if(initCapacity < 0) {
+			throw new IllegalArgumentException("initCapacity must be positive :"+initCapacity);
+		}
+		Objects.requireNonNull(sizing);
+		Objects.requireNonNull(hashFunction);
+		if(initCapacity > 0) {
+			initCapacity = sizing.roundUp(Math.min(initCapacity, MAX_CAPACITY));
+		}
+
+		keys = initCapacity == 0 ?
+				EMPTY_KEYS :
+				new int[initCapacity];
+		values = initCapacity == 0 ?
+				null :
+				new Object[initCapacity];
+		nullKey = false;
+		size = 0;
+		this.loadFactor = loadFactor;
+		this.sizing = sizing;
+		this.powerOfTwo = sizing == TableSizing.POWER_OF_TWO;
+		this.hashFunction = hashFunction;
+		threshold = (int) (initCapacity * loadFactor);
+		modCount = 0;
+	}
+
+	/**
+	 * 初期容量，負荷係数と配列長の決め方を指定してScatterIntObjectMapを生成する.
+	 *
+	 * ハッシュ関数にはインスタンスごとにsaltを乱数で選んだ{@link HashSupport#hash32shiftmult(int, int)}が用いられる．
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 * @param sizing 配列長の決め方
+	 */
+	public ScatterIntObjectMap(int initCapacity, float loadFactor, TableSizing sizing) {
+		this(initCapacity, loadFactor, sizing, HashSupport.randomizedIntIntHash());
+	}
+
+	/**
+	 * 初期容量と負荷係数を指定してScatterIntObjectMapを生成する.
+	 *
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 */
+	public ScatterIntObjectMap(int initCapacity, float loadFactor) {
+		this(initCapacity, loadFactor, TableSizing.PRIME);
+	}
+
+	/**
+	 * 初期容量を指定してScatterIntObjectMapを生成する.
+	 *
+	 * 負荷係数はデフォルトの値(0.75)が用いられる
+	 * @param initCapacity 初期容量
+	 */
+	public ScatterIntObjectMap(int initCapacity) {
+		this(initCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * デフォルトの初期容量(11)と負荷係数を利用してScatterIntObjectMapを生成する.
+	 */
+	public ScatterIntObjectMap() {
+		keys = EMPTY_KEYS;
+		nullKey = false;
+		size = 0;
+		loadFactor = DEFAULT_LOAD_FACTOR;
+		sizing = TableSizing.PRIME;
+		powerOfTwo = false;
+		hashFunction = HashSupport.randomizedIntIntHash();
+		threshold = 0;
+		modCount = 0;
+	}
+
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+
+	@Override
+	public boolean containsKey(int key) {
+		if(key == NULL) {
+			return nullKey;
+		}
+		return find(key) != -1;
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		if(value == null) {
+			return false;
+		}
+		if(nullKey && value.equals(nullValue)) {
+			return true;
+		}
+		for (int i = 0; i < keys.length; i++) {
+			if(keys[i] != NULL && value.equals(values[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(keys, NULL);
+		if(values != null) {
+			Arrays.fill(values, null);
+		}
+		nullKey = false;
+		nullValue = null;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public V get(int key) {
+		if(key == NULL) {
+			return nullKey ? valueOf(nullValue) : null;
+		}
+
+		int index = find(key);
+		return index == -1 ? null : valueOf(values[index]);
+	}
+
+	@Override
+	public V getOrDefault(int key, V def) {
+		V value = get(key);
+		return value == null ? def : value;
+	}
+
+	/**
+	 * 指定したkeyが格納されている位置を返す.
+	 *
+	 * Robin Hood Hashingの不変条件より，探索距離が途中の要素の探索距離を超えた時点で
+	 * keyは存在しないことが確定する．
+	 * @param key NULL以外のkey
+	 * @return keyの位置，存在しなければ-1
+	 */
+	private int find(int key) {
+		int[] keys = this.keys;
+		int length = keys.length;
+		if(length == 0) {
+			return -1;
+		}
+		int index = indexFor(hash(key), length);
+		for(int dist = 0;dist < length;dist++) {
+			int j = keys[index];
+			if(j == key) {
+				return index;
+			}
+			if(j == NULL || probeDistance(j, index, length) < dist) {
+				return -1;
+			}
+			if(++index == length) {
+				index = 0;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public V put(int key, V value) {
+		Objects.requireNonNull(value);
+		if(key == NULL) {
+			V old = nullKey ? valueOf(nullValue) : null;
+			if(!nullKey) {
+				nullKey = true;
+				size++;
+				modCount++;
+			}
+			nullValue = value;
+			return old;
+		}
+
+		int index = insertionIndex(key);
+		if(index < 0) {
+			values[~index] = value;
+			return null;
+		}
+		V old = valueOf(values[index]);
+		values[index] = value;
+		return old;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void merge(int key, V value, UnaryOperator<V> updater) {
+		Objects.requireNonNull(value);
+		if(key == NULL) {
+			if(!nullKey) {
+				nullKey = true;
+				nullValue = value;
+				size++;
+				modCount++;
+			} else {
+				nullValue = Objects.requireNonNull(updater.apply(valueOf(nullValue)));
+			}
+			return;
+		}
+
+		int index = insertionIndex(key);
+		if(index < 0) {
+			values[~index] = value;
+		} else {
+			values[index] = Objects.requireNonNull(updater.apply(valueOf(values[index])));
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * mappingFunctionの呼び出し中にこの写像を変更してはならない．
+	 */
+	@Override
+	public V computeIfAbsent(int key, IntFunction<? extends V> mappingFunction) {
+		V old = get(key);
+		if(old != null) {
+			return old;
+		}
+		int expectedModCount = modCount;
+		V value = mappingFunction.apply(key);
+		if(expectedModCount != modCount) {
+			throw new ConcurrentModificationException();
+		}
+		if(value == null) {
+			return null;
+		}
+		if(key == NULL) {
+			nullKey = true;
+			nullValue = value;
+			size++;
+			modCount++;
+		} else {
+			int index = ~insertionIndex(key);
+			values[index] = value;
+		}
+		return value;
+	}
+
+	/**
+	 * 指定したkeyのエントリの位置を返す.
+	 * keyが無ければvalueをnullとして追加し，その位置をビット反転した値を返す．
+	 * 呼び出し側は追加したエントリのvalueを必ず設定すること．
+	 * @param key NULL以外のkey
+	 * @return 既存のエントリの位置，または追加したエントリの位置のビット反転
+	 */
+	private int insertionIndex(int key) {
+		try {
+			ensureCapacity(size+1);
+		} catch(IllegalArgumentException e) {
+			throw new  RuntimeException("Too many entries!");
+		}
+
+		int[] keys = this.keys;
+		Object[] values = this.values;
+		int length = keys.length;
+		int index = indexFor(hash(key), length);
+		for(int dist = 0;;dist++) {
+			int j = keys[index];
+			if(j == key) {
+				return index;
+			}
+			if(j == NULL) {
+				keys[index] = key;
+				values[index] = null;
+				break;
+			}
+			int jDist = probeDistance(j, index, length);
+			if(jDist < dist) {
+				// keyは存在しないのでここに入れ，元の要素を先へ送る
+				Object v = values[index];
+				keys[index] = key;
+				values[index] = null;
+				place(keys, values, j, v, index, jDist);
+				break;
+			}
+			if(++index == length) {
+				index = 0;
+			}
+		}
+		size++;
+		modCount++;
+		return ~index;
+	}
+
+	/**
+	 * 指定したエントリをRobin Hood Hashingで配置する.
+	 * 探索距離が自身より短い要素を見つけたら入れ替え，押し出した要素の配置を続ける．
+	 * keyは配列に含まれておらず，配列には空きがあるものとする．
+	 * @param keys 配置先のkeyの配列
+	 * @param values 配置先のvalueの配列
+	 * @param key 配置するkey
+	 * @param value 配置するvalue
+	 * @param index keyがあった位置
+	 * @param dist keyがあった位置での探索距離
+	 */
+	private void place(int[] keys, Object[] values, int key, Object value, int index, int dist) {
+		int length = keys.length;
+		for(;;) {
+			if(++index == length) {
+				index = 0;
+			}
+			dist++;
+			int j = keys[index];
+			if(j == NULL) {
+				keys[index] = key;
+				values[index] = value;
+				return;
+			}
+			int jDist = probeDistance(j, index, length);
+			if(jDist < dist) {
+				Object v = values[index];
+				keys[index] = key;
+				values[index] = value;
+				key = j;
+				value = v;
+				dist = jDist;
+			}
+		}
+	}
+
+	@Override
+	public V remove(int key) {
+		if(key == NULL) {
+			if(nullKey) {
+				V old = valueOf(nullValue);
+				nullKey = false;
+				nullValue = null;
+				size--;
+				modCount++;
+				return old;
+			}
+			return null;
+		}
+
+		int index = find(key);
+		if(index == -1) {
+			return null;
+		}
+		V old = valueOf(values[index]);
+		pull(index);
+		size--;
+		shrinkIfSparse();
+		return old;
+	}
+
+	/**
+	 * 指定したindexのエントリを削除する.
+	 * 後続の要素を空きか探索距離0の要素の手前まで1つずつ前に詰める(backward shift deletion)．
+	 * 空いた位置のvalueはGCのためnullにする．
+	 * @param index
+	 */
+	private void pull(int index) {
+		int length = keys.length;
+		int dst = index;
+		for(;;) {
+			int src = dst + 1;
+			if(src == length) {
+				src = 0;
+			}
+			int i = keys[src];
+			if(i == NULL || src == index || probeDistance(i, src, length) == 0) {
+				keys[dst] = NULL;
+				values[dst] = null;
+				modCount++;
+				return;
+			}
+			keys[dst] = i;
+			values[dst] = values[src];
+			dst = src;
+		}
+	}
+
+	/**
+	 * 指定した位置にある要素の探索距離(本来の位置からのずれ)を返す.
+	 * @param key 要素
+	 * @param index 要素の位置
+	 * @param length 配列の長さ
+	 * @return 探索距離
+	 */
+	private int probeDistance(int key, int index, int length) {
+		int dist = index - indexFor(hash(key), length);
+		return dist < 0 ? dist + length : dist;
+	}
+
+	@SuppressWarnings("unchecked")
+	private V valueOf(Object value) {
+		return (V) value;
+	}
+
+	@Override
+	public IntSet keys() {
+		return new KeySet();
+	}
+
+	@Override
+	public Collection<V> values() {
+		return new ValueCollection();
+	}
+
+	@Override
+	public IntObjectCursor<V> entryCursor() {
+		return new EntryCursor();
+	}
+
+	/**
+	 * 指定した容量を格納できるようこのScatterIntObjectMapの内部配列を拡張する.
+	 * @param minCapasity 保持するエントリの数
+	 * @throws IllegalArgumentException minCapacityが[1, MAX_CAPACITY]の範囲外だったとき
+	 */
+	public void ensureCapacity(int minCapasity) {
+		if(minCapasity <= 0 || MAX_CAPACITY < minCapasity) {
+			throw new IllegalArgumentException("minCapacity : "+minCapasity);
+		}
+		if(threshold >= minCapasity || keys.length == MAX_CAPACITY) {
+			return;
+		}
+
+		int nextCapacity = sizing.grownCapacity(keys.length, minCapasity, loadFactor, MAX_CAPACITY);
+
+		rehash(nextCapacity);
+	}
+
+	/**
+	 * 内部配列を現在の要素数に見合った長さまで縮小する.
+	 * 要素を含まない場合は配列を解放する．
+	 */
+	public void trimToSize() {
+		int count = nullKey ? size-1 : size;
+		if(count == 0) {
+			if(keys != EMPTY_KEYS) {
+				keys = EMPTY_KEYS;
+				values = null;
+				threshold = 0;
+				modCount++;
+			}
+			return;
+		}
+		int capacity = sizing.trimmedCapacity(count, loadFactor, MAX_CAPACITY);
+		if(capacity < keys.length) {
+			rehash(capacity);
+		}
+	}
+
+	/**
+	 * keyの削除により負荷係数が指定した値を下回ったとき，内部配列を自動的に縮小するよう設定する.
+	 *
+	 * 縮小後の負荷係数は設定した負荷係数のおよそ半分となる．
+	 * 0を指定すると縮小しない(デフォルト)．カーソルやビューのイテレータによる削除では縮小しない．
+	 * @param shrinkFactor 縮小の閾値となる負荷係数
+	 * @throws IllegalArgumentException shrinkFactorが[0, 負荷係数/2)の範囲外だったとき
+	 */
+	public void setShrinkFactor(float shrinkFactor) {
+		TableSizing.checkShrinkFactor(shrinkFactor, loadFactor);
+		this.shrinkFactor = shrinkFactor;
+	}
+
+	/**
+	 * 負荷係数が縮小の閾値を下回っていれば内部配列を縮小する.
+	 */
+	private void shrinkIfSparse() {
+		int length = keys.length;
+		if(!sizing.isSparse(size, length, shrinkFactor)) {
+			return;
+		}
+		int capacity = sizing.sparseCapacity(size, loadFactor);
+		if(capacity < length) {
+			rehash(capacity);
+		}
+	}
+
+	private void rehash(int nextCapacity) {
+		int[] tmpKeys = new int[nextCapacity];
+		Object[] tmpValues = new Object[nextCapacity];
+		for (int i = 0; i < keys.length; i++) {
+			int j = keys[i];
+			if(j == NULL) {
+				continue;
+			}
+			int index = indexFor(hash(j), nextCapacity);
+			if(tmpKeys[index] == NULL) {
+				tmpKeys[index] = j;
+				tmpValues[index] = values[i];
+			} else {
+				place(tmpKeys, tmpValues, j, values[i], index, 0);
+			}
+		}
+		keys = tmpKeys;
+		values = tmpValues;
+		modCount++;
+		threshold = (int) (keys.length * loadFactor);
+	}
+
+	/**
+	 * 要素のScatterTable上での位置を決めるためのhashを返す．
+	 * {@link #hashCode()}とは無関係
+	 * @param i 要素
+	 * @return 要素のハッシュ(正数のint)
+	 */
+	private int hash(int i) {
+		return Integer.MAX_VALUE & hashFunction.hash(i);
+	}
+
+	/**
+	 * ハッシュから指定した長さの配列上での位置を返す．
+	 * @param hash 要素のハッシュ(正数のint)
+	 * @param length 配列の長さ
+	 * @return 配列上での位置
+	 */
+	private int indexFor(int hash, int length) {
+		return powerOfTwo ? hash & (length-1) : hash % length;
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		if(object == this) {
+			return true;
+		}
+		if(object == null || !(object instanceof IntObjectMap)) {
+			return false;
+		}
+		IntObjectMap<?> target = (IntObjectMap<?>) object;
+		if(target.size() != size()) {
+			return false;
+		}
+
+		IntObjectCursor<?> entries = target.entryCursor();
+		while(entries.next()) {
+			if(!entries.value().equals(get(entries.key()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	@Override
+	public int hashCode() {
+		int sum = 0;
+		IntObjectCursor<V> cursor = entryCursor();
+		while(cursor.next()) {
+			sum += Integer.hashCode(cursor.key()) ^ cursor.value().hashCode();
+		}
+		return sum;
+	}
+
+
+	/**
+	 * テーブル上のエントリを順に辿る.
+	 *
+	 * 走査はNULLの直後の位置から始めて一周する．後退シフト削除ではNULLを越えて要素が移動しないため，
+	 * 走査中に現在の要素を削除しても，走査済みの要素が未走査の位置に移ることはない．
+	 * 削除で後続の要素が現在の位置に詰められた場合はその位置をもう一度調べる．
+	 */
+	private class TableWalker {
+		// 走査を始める位置
+		final int start;
+
+		// 調べ終えた位置の数
+		int scanned = 0;
+
+		// 現在の位置
+		int index = -1;
+
+		TableWalker() {
+			int[] keys = ScatterIntObjectMap.this.keys;
+			int s = 0;
+			for (int i = 0; i < keys.length; i++) {
+				if(keys[i] == NULL) {
+					s = i+1;
+					break;
+				}
+			}
+			start = s;
+		}
+
+		/**
+		 * 次のエントリに進む
+		 * @return エントリがあればtrue
+		 */
+		boolean advance() {
+			int[] keys = ScatterIntObjectMap.this.keys;
+			int length = keys.length;
+			index = -1;
+			while(scanned < length) {
+				int i = start + scanned;
+				if(i >= length) {
+					i -= length;
+				}
+				scanned++;
+				if(keys[i] != NULL) {
+					index = i;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * 現在のエントリを削除する
+		 */
+		void removeCurrent() {
+			pull(index);
+			size--;
+			if(keys[index] != NULL) {
+				scanned--;
+			}
+		}
+	}
+
+	/**
+	 * nullKeyのエントリ，テーブル上のエントリの順に辿るIteratorの骨格.
+	 */
+	private abstract class EntryIterator {
+
+		final TableWalker walker = new TableWalker();
+
+		// 構造的変更検出用
+		int expectedModCount = modCount;
+
+		// nextで返した数
+		int replied = 0;
+
+		// 削除した要素の数
+		int removed = 0;
+
+		// removeが行える状態
+		boolean removable = false;
+		boolean removeNull = false;
+
+		public boolean hasNext() {
+			return replied < size + removed;
+		}
+
+		/**
+		 * 次のエントリに進む
+		 * @return 進んだ先のテーブル上の位置，nullKeyのエントリなら-1
+		 */
+		int nextIndex() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(replied==0 && nullKey) {
+				replied++;
+				removable = true;
+				removeNull = true;
+				return -1;
+			}
+			if(!walker.advance()) {
+				throw new NoSuchElementException();
+			}
+			replied++;
+			removable = true;
+			removeNull = false;
+			return walker.index;
+		}
+
+		public void remove() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(!removable) {
+				throw new IllegalStateException();
+			}
+			if(removeNull) {
+				ScatterIntObjectMap.this.remove(NULL);
+			} else {
+				walker.removeCurrent();
+			}
+			expectedModCount = modCount;
+			removed++;
+			removable = false;
+		}
+	}
+
+	/**
+	 * 配列の[index, fence)の範囲を辿るSpliteratorの骨格.
+	 * 分割した範囲はそれぞれ独立に空き位置を読み飛ばす．NULLのkeyのエントリは先頭の範囲が受け持つ．
+	 * 走査中に構造的変更があった場合は走査の終わりにConcurrentModificationExceptionを投げる．
+	 * @param <S> 分割で生成するSpliteratorの型
+	 */
+	private abstract class TableSpliterator<S extends TableSpliterator<S>> {
+
+		// 辿る配列
+		final int[] keys;
+		final Object[] values;
+
+		// 次に調べる位置
+		int index;
+
+		// 範囲の終端(この位置を含まない)
+		final int fence;
+
+		// NULLのkeyのエントリを受け持つならtrue
+		boolean withNull;
+
+		// 残りの要素数の見積もり
+		long est;
+
+		// 分割していなければtrue
+		boolean sized;
+
+		// 構造的変更検出用
+		final int expectedModCount = modCount;
+
+		TableSpliterator(int[] keys, Object[] values, int index, int fence, boolean withNull, long est, boolean sized) {
+			this.keys = keys;
+			this.values = values;
+			this.index = index;
+			this.fence = fence;
+			this.withNull = withNull;
+			this.est = est;
+			this.sized = sized;
+		}
+
+		/**
+		 * 同じ配列の指定した範囲を辿るSpliteratorを生成する.
+		 * @param index 範囲の先頭
+		 * @param fence 範囲の終端
+		 * @param withNull NULLのkeyのエントリを受け持つならtrue
+		 * @param est 要素数の見積もり
+		 * @return spliterator
+		 */
+		abstract S create(int index, int fence, boolean withNull, long est);
+
+		/**
+		 * 範囲を二分し，前半を新しいSpliteratorに渡して自身は後半を受け持つ.
+		 * @return 前半を辿るSpliterator，分割できなければnull
+		 */
+		public S trySplit() {
+			int lo = index;
+			int mid = (lo + fence) >>> 1;
+			if(lo >= mid) {
+				return null;
+			}
+			S prefix = create(lo, mid, withNull, est >>> 1);
+			index = mid;
+			withNull = false;
+			est -= est >>> 1;
+			sized = false;
+			return prefix;
+		}
+
+		public long estimateSize() {
+			return est;
+		}
+
+		int baseCharacteristics() {
+			return Spliterator.NONNULL | (sized ? Spliterator.SIZED : 0);
+		}
+
+		void checkModCount() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	private class KeySpliterator extends TableSpliterator<KeySpliterator> implements Spliterator.OfInt {
+
+		KeySpliterator(int[] keys, Object[] values, int index, int fence, boolean withNull, long est, boolean sized) {
+			super(keys, values, index, fence, withNull, est, sized);
+		}
+
+		@Override
+		KeySpliterator create(int index, int fence, boolean withNull, long est) {
+			return new KeySpliterator(keys, values, index, fence, withNull, est, false);
+		}
+
+		@Override
+		public boolean tryAdvance(IntConsumer action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(NULL);
+				checkModCount();
+				return true;
+			}
+			int[] keys = this.keys;
+			while(index < fence) {
+				int key = keys[index++];
+				if(key != NULL) {
+					action.accept(key);
+					checkModCount();
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(IntConsumer action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(NULL);
+			}
+			int[] keys = this.keys;
+			for(int i = index;i < fence;i++) {
+				int key = keys[i];
+				if(key != NULL) {
+					action.accept(key);
+				}
+			}
+			index = fence;
+			checkModCount();
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.DISTINCT | baseCharacteristics();
+		}
+	}
+
+	private class ValueSpliterator extends TableSpliterator<ValueSpliterator> implements Spliterator<V> {
+
+		ValueSpliterator(int[] keys, Object[] values, int index, int fence, boolean withNull, long est, boolean sized) {
+			super(keys, values, index, fence, withNull, est, sized);
+		}
+
+		@Override
+		ValueSpliterator create(int index, int fence, boolean withNull, long est) {
+			return new ValueSpliterator(keys, values, index, fence, withNull, est, false);
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super V> action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(valueOf(nullValue));
+				checkModCount();
+				return true;
+			}
+			int[] keys = this.keys;
+			while(index < fence) {
+				int i = index++;
+				if(keys[i] != NULL) {
+					action.accept(valueOf(values[i]));
+					checkModCount();
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super V> action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(valueOf(nullValue));
+			}
+			int[] keys = this.keys;
+			Object[] values = this.values;
+			for(int i = index;i < fence;i++) {
+				if(keys[i] != NULL) {
+					action.accept(valueOf(values[i]));
+				}
+			}
+			index = fence;
+			checkModCount();
+		}
+
+		@Override
+		public int characteristics() {
+			return baseCharacteristics();
+		}
+	}
+
+	private class KeySet extends AbstractIntSet {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public PrimitiveIterator.OfInt iterator() {
+			class KeyIterator extends EntryIterator implements PrimitiveIterator.OfInt {
+				@Override
+				public int nextInt() {
+					int index = nextIndex();
+					return index == -1 ? NULL : keys[index];
+				}
+			}
+			return new KeyIterator();
+		}
+
+		@Override
+		public boolean contains(int i) {
+			return ScatterIntObjectMap.this.containsKey(i);
+		}
+
+		@Override
+		public boolean remove(int i) {
+			if(!ScatterIntObjectMap.this.containsKey(i)) {
+				return false;
+			}
+			ScatterIntObjectMap.this.remove(i);
+			return true;
+		}
+
+		@Override
+		public Spliterator.OfInt spliterator() {
+			return new KeySpliterator(keys, values, 0, keys.length, nullKey, size, true);
+		}
+	}
+
+	private class ValueCollection extends AbstractCollection<V> {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public Spliterator<V> spliterator() {
+			return new ValueSpliterator(keys, values, 0, keys.length, nullKey, size, true);
+		}
+
+		@Override
+		public Iterator<V> iterator() {
+			class ValueIterator extends EntryIterator implements Iterator<V> {
+				@Override
+				public V next() {
+					int index = nextIndex();
+					return valueOf(index == -1 ? nullValue : values[index]);
+				}
+			}
+			return new ValueIterator();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return ScatterIntObjectMap.this.containsValue(o);
+		}
+
+		@Override
+		public void clear() {
+			ScatterIntObjectMap.this.clear();
+		}
+	}
+
+	private class EntryCursor implements IntObjectCursor<V> {
+
+		private static final int INDEX_BEGIN = -2;
+		private static final int INDEX_NULL  = -1;
+		private static final int INDEX_TABLE = 0;
+
+		final TableWalker walker = new TableWalker();
+
+		int state = INDEX_BEGIN;
+
+		// 構造的変更検出用
+		int expectedModCount = modCount;
+
+		// removeしたことを示す
+		boolean removed = false;
+
+		@Override
+		public boolean next() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			removed = false;
+			if(state == INDEX_BEGIN) {
+				state = INDEX_NULL;
+				if(nullKey) {
+					return true;
+				}
+			}
+			state = INDEX_TABLE;
+			return walker.advance();
+		}
+
+		@Override
+		public int key() {
+			checkPosition();
+			return state == INDEX_NULL ? NULL : keys[walker.index];
+		}
+
+		@Override
+		public V value() {
+			checkPosition();
+			return valueOf(state == INDEX_NULL ? nullValue : values[walker.index]);
+		}
+
+		@Override
+		public void remove() {
+			checkPosition();
+			if(state == INDEX_NULL) {
+				ScatterIntObjectMap.this.remove(NULL);
+			} else {
+				walker.removeCurrent();
+			}
+			expectedModCount = modCount;
+			removed = true;
+		}
+
+		@Override
+		public void setValue(V value) {
+			Objects.requireNonNull(value);
+			checkPosition();
+			if(state == INDEX_NULL) {
+				nullValue = value;
+			} else {
+				values[walker.index] = value;
+			}
+		}
+
+		private void checkPosition() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(removed || state == INDEX_BEGIN || (state == INDEX_TABLE && walker.index == -1)) {
+				throw new IllegalStateException();
+			}
+		}
+	}
+
+	private static class SerializationProxy implements Serializable {
+		private static final long serialVersionUID = -5034127843469210658L;
+
+		/**
+		 * @serial
+		 */
+		private final int[] keys;
+
+		/**
+		 * @serial
+		 */
+		private final Object[] values;
+
+		/**
+		 * @serial
+		 */
+		private final float loadFactor;
+
+		/**
+		 * @serial
+		 */
+		private final TableSizing sizing;
+
+		public SerializationProxy(ScatterIntObjectMap<?> map) {
+			this.keys = new int[map.size()];
+			this.values = new Object[map.size()];
+
+			int index = 0;
+			for(IntObjectCursor<?> cursor = map.entryCursor();cursor.next();) {
+				keys[index] = cursor.key();
+				values[index] = cursor.value();
+				index++;
+			}
+
+			this.loadFactor = map.loadFactor;
+			this.sizing = map.sizing;
+		}
+
+		private Object readResolve() {
+			// ハッシュ関数は直列化できるとは限らないため引き継がない
+			ScatterIntObjectMap<Object> result = new ScatterIntObjectMap<>((int)(keys.length / loadFactor)+1, loadFactor,
+					sizing == null ? TableSizing.PRIME : sizing);
+			for (int i = 0; i < keys.length; i++) {
+				result.put(keys[i], values[i]);
+			}
+			return result;
+		}
+	}
+
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	private void readObject(java.io.ObjectInputStream s) throws java.io.InvalidObjectException {
+		throw new java.io.InvalidObjectException("Proxy required");
+	}
+}
@@ -0,0 +1,839 @@
+// このファイルはcodegen/templates/ScatterSet.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+import com.lethe_river.util.primitive.HashSupport;
+
+/**
+ * scatter tableを用いたShortSetの実装
+ *
+ * - open address
+ * - prime number bucket (or power of two bucket)
+ * - Robin Hood Hashing
+ * - liner probing
+ *
+ * @author YuyaAizawa
+ *
+ */
+@SuppressWarnings("serial") // SerializationProxyに委譲
+public final class ScatterShortSet extends AbstractShortSet {
+
+	// NULLをあらわす数字
+	private static final short NULL = 0;
+
+	private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+	private static final int MAX_CAPACITY = 1<<30;
+
+	private static final short[] EMPTY_DATA = {};
+
+	// まとめて探索する要素の数
+	private static final int BATCH_SIZE = 32;
+
+	// NULL以外の要素を入れる配列
+	private short[] field;
+
+	// NULLで使われている数字を含むか
+	private boolean hasNull;
+
+	// 要素数の合計
+	private int size;
+
+	// 負荷係数
+	private final float loadFactor;
+
+	// 配列長の決め方
+	private final TableSizing sizing;
+	private final boolean powerOfTwo;
+
+	// 次にリハッシュする容量
+	private int threshold;
+
+	// 自動縮小の閾値となる負荷係数．0なら縮小しない
+	private float shrinkFactor;
+
+	// 構造的変更検出用
+	private int modCount;
+
+	/**
+	 * 初期容量，負荷係数と配列長の決め方を指定してScatterShortSetを生成する.
+	 *
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 * @param sizing 配列長の決め方
+	 */
+	public ScatterShortSet(int initCapacity, float loadFactor, TableSizing sizing) {
+		if(initCapacity < 0) {
+			throw new IllegalArgumentException("initCapacity must be positive :"+initCapacity);
+		}
+		Objects.requireNonNull(sizing);
+		if(initCapacity > 0) {
+			initCapacity = sizing.roundUp(Math.min(initCapacity, MAX_CAPACITY));
+		}
+
+		field = initCapacity == 0 ?
+				EMPTY_DATA :
+				new short[initCapacity];
+		hasNull = false;
+		size = 0;
+		this.loadFactor = loadFactor;
+		this.sizing = sizing;
+		this.powerOfTwo = sizing == TableSizing.POWER_OF_TWO;
+		threshold = (int) (initCapacity * loadFactor);
+		modCount = 0;
+	}
+
+	/**
+	 * 初期容量と負荷係数を指定してScatterShortSetを生成する.
+	 *
+	 * @param initCapacity 初期容量
+	 * @param loadFactor 負荷係数
+	 */
+	public ScatterShortSet(int initCapacity, float loadFactor) {
+		this(initCapacity, loadFactor, TableSizing.PRIME);
+	}
+
+	/**
+	 * 初期容量を指定してScatterShortSetを生成する.
+	 *
+	 * 負荷係数はデフォルトの値(0.75)が用いられる
+	 * @param initCapacity 初期容量
+	 */
+	public ScatterShortSet(int initCapacity) {
+		this(initCapacity, DEFAULT_LOAD_FACTOR);
+	}
+
+	/**
+	 * デフォルトの初期容量(11)と負荷係数を利用してScatterShortSetを生成する.
+	 */
+	public ScatterShortSet() {
+		field = EMPTY_DATA;
+		hasNull = false;
+		size = 0;
+		loadFactor = DEFAULT_LOAD_FACTOR;
+		sizing = TableSizing.PRIME;
+		powerOfTwo = false;
+		threshold = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * 指定されたShortSetの内容をコピーする.
+	 * 付加係数はデフォルトの値(0.75)，
+	 * 初期容量はオリジナルのShortSetが拡張なしに入る値となる．
+	 * @param original
+	 */
+	public ScatterShortSet(ShortSet original) {
+		this(0);
+		try {
+			ensureCapacity(original.size());
+		} catch(IllegalArgumentException e) {
+			throw new  RuntimeException("Too many entries!");
+		}
+		addAll(original);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(short s) {
+		if(s == NULL) {
+			return hasNull;
+		}
+
+		if(field==EMPTY_DATA) {
+			return false;
+		}
+		int index = indexFor(hash(s), field.length);
+		int limit = index-1;
+		if(limit == -1) {
+			limit = field.length;
+		}
+		for(;index!=limit;index++) {
+			if(index == field.length) {
+				index = 0;
+			}
+			short j = field[index];
+			if(j == s) {
+				return true;
+			}
+			if(j == NULL) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * 要素を一定数ずつまとめ，先に全ての本来の位置を求めて読んでから判定する．
+	 */
+	@Override
+	public int containsMask(short[] in, int offset, int length, long[] bitmaskOut) {
+		PrimitiveSupport.checkBounds(in, offset, length);
+		PrimitiveSupport.checkBounds(bitmaskOut, 0, (length+63)>>>6);
+		Arrays.fill(bitmaskOut, 0, (length+63)>>>6, 0L);
+		short[] field = this.field;
+		if(field == EMPTY_DATA) {
+			return hasNull ? super.containsMask(in, offset, length, bitmaskOut) : 0;
+		}
+		int count = 0;
+		int[] homes = new int[BATCH_SIZE];
+		short[] heads = new short[BATCH_SIZE];
+		for(int done = 0;done < length;done += BATCH_SIZE) {
+			int n = Math.min(BATCH_SIZE, length - done);
+			int base = offset + done;
+			// 互いに依存しない読み込みを並べ，キャッシュミスの待ち時間を重ねる
+			for (int i = 0; i < n; i++) {
+				homes[i] = indexFor(hash(in[base + i]), field.length);
+			}
+			for (int i = 0; i < n; i++) {
+				heads[i] = field[homes[i]];
+			}
+			for (int i = 0; i < n; i++) {
+				short e = in[base + i];
+				if((heads[i] == e && e != NULL) || contains(e)) {
+					bitmaskOut[(done + i)>>>6] |= 1L << (done + i);
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * {@inheritDoc}}
+	 */
+	@Override
+	public boolean add(short s) {
+
+		if(s == NULL) {
+			if(!hasNull) {
+				hasNull = true;
+				size++;
+				return true;
+			}
+			return false;
+		}
+
+		try {
+			ensureCapacity(size+1);
+		} catch(IllegalArgumentException e) {
+			throw new  RuntimeException("Too many entries!");
+		}
+
+		for(int index = indexFor(hash(s), field.length);;index++) {
+			if(index == field.length) {
+				index = 0;
+			}
+			short j = field[index];
+			if(j == s) {
+				return false;
+			}
+			if(j == NULL) {
+				field[index] = s;
+				size++;
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * 指定されたshort値をこのコレクションから削除する
+	 * @return 指定された要素を保持していればtrue
+	 */
+	@Override
+	public boolean remove(short s) {
+		if(!delete(s)) {
+			return false;
+		}
+		if(s != NULL) {
+			shrinkIfSparse();
+		}
+		return true;
+	}
+
+	/**
+	 * 指定された要素を削除する．配列の縮小は行わない.
+	 * @param s 削除する要素
+	 * @return 指定された要素を保持していればtrue
+	 */
+	private boolean delete(short s) {
+		if(s == NULL) {
+			if(hasNull) {
+				hasNull = false;
+				size--;
+				return true;
+			}
+			return false;
+		}
+
+		if(field==EMPTY_DATA) {
+			return false;
+		}
+		for(int index = indexFor(hash(s), field.length);;index++) {
+			if(index == field.length) {
+				index = 0;
+			}
+			short j = field[index];
+			if(j == s) {
+				pull(index);
+				size--;
+				return true;
+			}
+			if(j == NULL) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * 指定したindexのエントリを削除する
+	 * @param index
+	 */
+	private void pull(int index) {
+
+		int dst = index;
+		for(int src = dst + 1;;src++) {
+			if(src == field.length) {
+				src = 0;
+			}
+			short s = field[src];
+			if(s == NULL || src == index) {
+				field[dst] = NULL;
+				modCount++;
+				return;
+			}
+			int pos = indexFor(hash(s), field.length);
+			// 本来の位置が(dst, src]の外にあれば詰める
+			if((dst < src && (pos <= dst || src < pos))
+			|| (src < dst && (src < pos && pos <= dst))) {
+				field[dst] = s;
+				dst = src;
+			}
+		}
+
+	}
+
+	/**
+	 * 指定されたShortSetに含まれる値をこのコレクションに追加する
+	 * @param ss 追加するshort値の入ったShortSet
+	 */
+	public void add(ShortSet ss) {
+		try {
+			ensureCapacity(ss.size());
+		} catch(IllegalArgumentException e) {
+			throw new  RuntimeException("Too many entries!");
+		}
+		ss.forEach(s -> add(s));
+	}
+
+	/**
+	 * 指定した容量を格納できるようこのScatterShortSetの内部配列を拡張する.
+	 * @param minCapasity 保持するshort値の数
+	 * @throws IllegalArgumentException minCapacityが[1, MAX_CAPACITY]の範囲外だったとき
+	 */
+	public void ensureCapacity(int minCapasity) {
+		if(minCapasity <= 0 || MAX_CAPACITY < minCapasity) {
+			throw new IllegalArgumentException("minCapacity : "+minCapasity);
+		}
+		if(threshold >= minCapasity || field.length == MAX_CAPACITY) {
+			return;
+		}
+
+		int nextCapacity = sizing.grownCapacity(field.length, minCapasity, loadFactor, MAX_CAPACITY);
+
+		rehash(nextCapacity);
+	}
+
+	/**
+	 * 内部配列を現在の要素数に見合った長さまで縮小する.
+	 * 要素を含まない場合は配列を解放する．
+	 */
+	public void trimToSize() {
+		int count = hasNull ? size-1 : size;
+		if(count == 0) {
+			if(field != EMPTY_DATA) {
+				field = EMPTY_DATA;
+				threshold = 0;
+				modCount++;
+			}
+			return;
+		}
+		int capacity = sizing.trimmedCapacity(count, loadFactor, MAX_CAPACITY);
+		if(capacity < field.length) {
+			rehash(capacity);
+		}
+	}
+
+	/**
+	 * 要素の削除により負荷係数が指定した値を下回ったとき，内部配列を自動的に縮小するよう設定する.
+	 *
+	 * 縮小後の負荷係数は設定した負荷係数のおよそ半分となる．
+	 * 0を指定すると縮小しない(デフォルト)．イテレータによる削除では縮小しない．
+	 * @param shrinkFactor 縮小の閾値となる負荷係数
+	 * @throws IllegalArgumentException shrinkFactorが[0, 負荷係数/2)の範囲外だったとき
+	 */
+	public void setShrinkFactor(float shrinkFactor) {
+		TableSizing.checkShrinkFactor(shrinkFactor, loadFactor);
+		this.shrinkFactor = shrinkFactor;
+	}
+
+	/**
+	 * 負荷係数が縮小の閾値を下回っていれば内部配列を縮小する.
+	 */
+	private void shrinkIfSparse() {
+		int length = field.length;
+		if(!sizing.isSparse(size, length, shrinkFactor)) {
+			return;
+		}
+		int capacity = sizing.sparseCapacity(size, loadFactor);
+		if(capacity < length) {
+			rehash(capacity);
+		}
+	}
+
+	private void rehash(int nextCapacity) {
+		short[] tmp = new short[nextCapacity];
+		for (int i = 0; i < field.length; i++) {
+			short j = field[i];
+			if(j == NULL) {
+				continue;
+			}
+			for(int index = indexFor(hash(j), tmp.length);;index++) {
+				if(index == tmp.length) {
+					index = 0;
+				}
+				if(tmp[index] == NULL) {
+					tmp[index] = j;
+					break;
+				}
+			}
+		}
+		field = tmp;
+		modCount++;
+		threshold = (int) (field.length * loadFactor);
+	}
+
+	/**
+	 * 要素のScatterTable上での位置を決めるためのhashを返す．
+	 * {@link ScatterShortSet#hashCode()}とは無関係
+	 * @param j 要素
+	 * @return 要素のハッシュ(正数のint)
+	 */
+	private static int hash(short j) {
+		return Integer.MAX_VALUE & HashSupport.thomasMueller(j);
+	}
+
+	/**
+	 * ハッシュから指定した長さの配列上での位置を返す．
+	 * @param hash 要素のハッシュ(正数のint)
+	 * @param length 配列の長さ
+	 * @return 配列上での位置
+	 */
+	private int indexFor(int hash, int length) {
+		return powerOfTwo ? hash & (length-1) : hash % length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(field, NULL);
+		hasNull = false;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * 列挙に必要な計算量はShortSetの容量に比例する．
+	 */
+	@Override
+	public ShortIterator iterator() {
+
+		// 1つ目は0を返す
+		return new ShortIterator() {
+
+			final TableWalker walker = new TableWalker();
+
+			// 構造的変更検出用
+			int expectedModCount = modCount;
+
+			// nextで返した数
+			int replied = 0;
+
+			// 削除した要素の数
+			int removed = 0;
+
+			// removeが行える状態
+			boolean removable = false;
+			boolean removeNull = false;
+
+			@Override
+			public boolean hasNext() {
+				return replied < size + removed;
+			}
+
+			@Override
+			public short nextShort() {
+				if(expectedModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+				if(replied==0 && hasNull) {
+					replied++;
+					removable = true;
+					removeNull = true;
+					return NULL;
+				}
+				if(!walker.advance()) {
+					throw new NoSuchElementException();
+				}
+				replied++;
+				removable = true;
+				removeNull = false;
+				return field[walker.index];
+			}
+
+			@Override
+			public void remove() {
+				if(expectedModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+				if(!removable) {
+					throw new IllegalStateException();
+				}
+				if(removeNull) {
+					delete(NULL);
+				} else {
+					walker.removeCurrent();
+				}
+				expectedModCount = modCount;
+				removed++;
+				removable = false;
+			}
+		};
+	}
+
+	/**
+	 * 配列上の要素を順に辿る.
+	 *
+	 * 走査はNULLの直後の位置から始めて一周する．後退シフト削除ではNULLを越えて要素が移動しないため，
+	 * 走査中に現在の要素を削除しても，走査済みの要素が未走査の位置に移ることはない．
+	 * 削除で後続の要素が現在の位置に詰められた場合はその位置をもう一度調べる．
+	 */
+	private class TableWalker {
+		// 走査を始める位置
+		final int start;
+
+		// 調べ終えた位置の数
+		int scanned = 0;
+
+		// 現在の位置
+		int index = -1;
+
+		TableWalker() {
+			short[] field = ScatterShortSet.this.field;
+			int s = 0;
+			for (int i = 0; i < field.length; i++) {
+				if(field[i] == NULL) {
+					s = i+1;
+					break;
+				}
+			}
+			start = s;
+		}
+
+		/**
+		 * 次の要素に進む
+		 * @return 要素があればtrue
+		 */
+		boolean advance() {
+			short[] field = ScatterShortSet.this.field;
+			int length = field.length;
+			index = -1;
+			while(scanned < length) {
+				int i = start + scanned;
+				if(i >= length) {
+					i -= length;
+				}
+				scanned++;
+				if(field[i] != NULL) {
+					index = i;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * 現在の要素を削除する
+		 */
+		void removeCurrent() {
+			pull(index);
+			size--;
+			if(field[index] != NULL) {
+				scanned--;
+			}
+		}
+	}
+
+	/**
+	 * 要素を符号付き整数として列挙する，内部配列を添字の範囲で分割するSpliteratorを返す.
+	 * 分割した範囲はそれぞれ独立に空き位置を読み飛ばすため，並列なストリームでよく分散する．
+	 * 走査中に構造的変更があった場合は走査の終わりにConcurrentModificationExceptionを投げる．
+	 * @return spliterator
+	 */
+	@Override
+	public Spliterator.OfInt spliteratorSigned() {
+		return new TableSpliterator(field, 0, field.length, hasNull, size, true, false);
+	}
+
+	/**
+	 * 要素を符号無し整数として列挙する，内部配列を添字の範囲で分割するSpliteratorを返す.
+	 * 分割した範囲はそれぞれ独立に空き位置を読み飛ばすため，並列なストリームでよく分散する．
+	 * 走査中に構造的変更があった場合は走査の終わりにConcurrentModificationExceptionを投げる．
+	 * @return spliterator
+	 */
+	@Override
+	public Spliterator.OfInt spliteratorUnsigned() {
+		return new TableSpliterator(field, 0, field.length, hasNull, size, true, true);
+	}
+
+	/**
+	 * 配列の[index, fence)の範囲を辿るSpliterator.
+	 * NULLの要素は先頭の範囲が受け持つ．
+	 */
+	private class TableSpliterator implements Spliterator.OfInt {
+
+		// 辿る配列
+		final short[] field;
+
+		// 次に調べる位置
+		int index;
+
+		// 範囲の終端(この位置を含まない)
+		final int fence;
+
+		// NULLの要素を受け持つならtrue
+		boolean withNull;
+
+		// 残りの要素数の見積もり
+		long est;
+
+		// 分割していなければtrue
+		boolean sized;
+
+		// 符号無し整数として列挙するならtrue
+		final boolean unsigned;
+
+		// 構造的変更検出用
+		final int expectedModCount = modCount;
+
+		TableSpliterator(short[] field, int index, int fence, boolean withNull, long est, boolean sized, boolean unsigned) {
+			this.field = field;
+			this.index = index;
+			this.fence = fence;
+			this.withNull = withNull;
+			this.est = est;
+			this.sized = sized;
+			this.unsigned = unsigned;
+		}
+
+		@Override
+		public Spliterator.OfInt trySplit() {
+			int lo = index;
+			int mid = (lo + fence) >>> 1;
+			if(lo >= mid) {
+				return null;
+			}
+			TableSpliterator prefix = new TableSpliterator(field, lo, mid, withNull, est >>> 1, false, unsigned);
+			index = mid;
+			withNull = false;
+			est -= est >>> 1;
+			sized = false;
+			return prefix;
+		}
+
+		@Override
+		public boolean tryAdvance(IntConsumer action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(NULL);
+				checkModCount();
+				return true;
+			}
+			short[] field = this.field;
+			while(index < fence) {
+				short e = field[index++];
+				if(e != NULL) {
+					action.accept(unsigned ? Short.toUnsignedInt(e) : e);
+					checkModCount();
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(IntConsumer action) {
+			Objects.requireNonNull(action);
+			if(withNull) {
+				withNull = false;
+				action.accept(NULL);
+			}
+			short[] field = this.field;
+			for(int i = index;i < fence;i++) {
+				short e = field[i];
+				if(e != NULL) {
+					action.accept(unsigned ? Short.toUnsignedInt(e) : e);
+				}
+			}
+			index = fence;
+			checkModCount();
+		}
+
+		@Override
+		public long estimateSize() {
+			return est;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.DISTINCT | Spliterator.NONNULL | (sized ? Spliterator.SIZED : 0);
+		}
+
+		private void checkModCount() {
+			if(expectedModCount != modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	/**
+	 * このセットをチャネルに書き出す.
+	 *
+	 * 内部配列をリトルエンディアンでそのまま書き出す．{@link #readFrom(ReadableByteChannel)}で読み込める．
+	 * @param channel 書き出し先
+	 * @throws IOException 書き出しに失敗したとき
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		PrimitiveCodec.Writer out = new PrimitiveCodec.Writer(channel, PrimitiveCodec.SCATTER_SHORT_SET);
+		out.putFloat(loadFactor);
+		out.putSizing(sizing);
+		out.putLong(PrimitiveCodec.fingerprintOfInt(i -> hash((short)i)));
+		out.putInt(field.length);
+		out.putInt(size);
+		out.putInt(hasNull ? 1 : 0);
+		out.putShorts(field, 0, field.length);
+		out.flush();
+	}
+
+	/**
+	 * {@link #writeTo(WritableByteChannel)}で書き出したセットを読み込む.
+	 *
+	 * 書き出したときと位置の決め方が同じであれば内部配列をそのまま用い，異なれば配置し直す．
+	 * @param channel 読み込み元
+	 * @return 読み込んだセット
+	 * @throws IOException 読み込みに失敗したとき，または形式が不正なとき
+	 */
+	public static ScatterShortSet readFrom(ReadableByteChannel channel) throws IOException {
+		PrimitiveCodec.Reader in = new PrimitiveCodec.Reader(channel, PrimitiveCodec.SCATTER_SHORT_SET);
+		float loadFactor = in.getFloat();
+		TableSizing sizing = in.getSizing();
+		long fingerprint = in.getLong();
+		int length = in.getInt();
+		int size = in.getInt();
+		boolean hasNull = in.getInt() != 0;
+		if(!(loadFactor > 0)) {
+			throw PrimitiveCodec.invalid("loadFactor "+loadFactor);
+		}
+		if(!sizing.isValidLength(length, MAX_CAPACITY)) {
+			throw PrimitiveCodec.invalid("length "+length);
+		}
+
+		ScatterShortSet result = new ScatterShortSet(0, loadFactor, sizing);
+		if(length > 0) {
+			short[] field = new short[length];
+			in.getShorts(field, 0, length);
+			int count = 0;
+			for(short s : field) {
+				if(s != NULL) {
+					count++;
+				}
+			}
+			if(count != (hasNull ? size-1 : size) || count == length) {
+				throw PrimitiveCodec.invalid("size "+size);
+			}
+			result.field = field;
+			result.threshold = (int) (length * loadFactor);
+			if(fingerprint != PrimitiveCodec.fingerprintOfInt(i -> hash((short)i))) {
+				result.rehash(length);
+			}
+		} else if(size != (hasNull ? 1 : 0)) {
+			throw PrimitiveCodec.invalid("size "+size);
+		}
+		result.hasNull = hasNull;
+		result.size = size;
+		return result;
+	}
+
+	private static class SerializationProxy implements Serializable {
+		private static final long serialVersionUID = 4616702968421053372L;
+
+		/**
+		 * @serial
+		 */
+		private final short[] elements;
+
+		/**
+		 * @serial
+		 */
+		private final float loadFactor;
+
+		/**
+		 * @serial
+		 */
+		private final TableSizing sizing;
+
+		public SerializationProxy(ScatterShortSet set) {
+			this.elements = set.toArray();
+			this.loadFactor = set.loadFactor;
+			this.sizing = set.sizing;
+		}
+
+		private Object readResolve() {
+			ScatterShortSet result = new ScatterShortSet((int)(elements.length / loadFactor)+1, loadFactor,
+					sizing == null ? TableSizing.PRIME : sizing);
+			result.addAll(elements);
+			return result;
+		}
+	}
+
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	private void readObject(java.io.ObjectInputStream s) throws java.io.InvalidObjectException {
+		throw new java.io.InvalidObjectException("Proxy required");
+	}
+}
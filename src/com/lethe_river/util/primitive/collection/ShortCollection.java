@@ -0,0 +1,236 @@
+// このファイルはcodegen/templates/Collection.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Collection;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * shortを格納するPrimitiveCollection
+ *
+ * @author YuyaAizawa
+ *
+ */
+public interface ShortCollection extends PrimitiveCollection<Short>, ShortIterable {
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean equals(Object obj);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean isEmpty();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	int size();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	void clear();
+
+	/**
+	 * このコレクションが指定したshort値を含んでいればtrueを返す.
+	 * @param s 判定する値
+	 * @return 指定した値を含んでいればtrue
+	 */
+	boolean contains(short s);
+
+	/**
+	 * このコレクションの要素に対する反復操作を提供するShortIteratorを返す.
+	 * @return ShortIterator
+	 */
+	@Override
+	ShortIterator iterator();
+
+	/**
+	 * このコレクションの格納する要素をすべて含む配列を返す.
+	 * Iteratorが返す要素の順番が保証される場合，配列の順番はこれに準ずる．
+	 * @return すべての要素を含む配列
+	 */
+	short[] toArray();
+
+	/**
+	 * 指定されたshort値をこのコレクションに追加する(オプションの操作).
+	 *
+	 * @param s 追加する値
+	 * @return このコレクションが変更されればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean add(short s);
+
+	/**
+	 * 指定された要素すべてをこのコレクションに追加する(オプションの操作).
+	 *
+	 * @param ss
+	 * @return このコレクションが変更されればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	default boolean addAll(short... ss) {
+		return addAll(ss, 0, ss.length);
+	}
+
+	/**
+	 * 指定された配列の要素の一部区間をこのコレクションに追加する(オプションの操作).
+	 *
+	 * @param ss 配列
+	 * @param offset 追加する区間の開始インデックス
+	 * @param length 追加する区間の長さ
+	 * @return このコレクションが変更されればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 * @throws IndexOutOfBoundsException offsetまたはlengthが不正だった場合
+	 * @throws NullPointerException 配列がnullだった場合
+	 */
+	boolean addAll(short[] ss, int offset, int length);
+
+	/**
+	 * 指定された要素すべてをこのコレクションに追加する(オプションの操作).
+	 *
+	 * @param ss
+	 * @return このコレクションが変更されればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 * @throws NullPointerException コレクションがnullだった場合
+	 */
+	boolean addAll(ShortCollection ss);
+
+	/**
+	 * 指定された要素をこのコレクションから削除する(オプションの操作).
+	 *
+	 * @param s
+	 * @return 指定された要素を保持していればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean remove(short s);
+
+	/**
+	 * 指定された要素すべてをこのコレクションから削除する(オプションの操作).
+	 *
+	 * @param ss
+	 * @return 指定された要素を保持していればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean removeAll(short... ss);
+
+	/**
+	 * 指定された要素すべてをこのコレクションから削除する(オプションの操作).
+	 *
+	 * @param ss
+	 * @return 指定された要素を保持していればtrue
+	 *
+	 * @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean removeAll(ShortCollection ss);
+
+	/**
+	 * 指定されたshort値がすべてこのコレクションに含まれていればtrueを返す.
+	 * @param ss
+	 * @return 指定されたshort値がすべて含まれていればtrue
+	 */
+	boolean containsAll(short... ss);
+
+	/**
+	 * 指定されたコレクションの値がすべてこのコレクションに含まれていればtrueを返す.
+	 * @param ss
+	 * @return 指定されたshort値がすべて含まれていればtrue
+	 */
+	boolean containsAll(ShortCollection ss);
+
+	/**
+	 * このコレクションから指定された要素以外の要素を全て削除する(オプションの操作).
+	 * @param ss
+	 * @return 要素が1つでも削除されればtrue
+	 *
+	 *  @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean retainAll(short... ss);
+
+	/**
+	 * このコレクションから指定された要素以外の要素を全て削除する(オプションの操作).
+	 * @param ss
+	 * @return 要素が1つでも削除されればtrue
+	 *
+	 *  @throws UnsupportedOperationException 操作がサポートされていない場合
+	 */
+	boolean retainAll(ShortCollection ss);
+
+	/**
+	 * このコレクションに対する逐次的なIntStreamを返す．short値は符号付きとみなされる．
+	 * @return stream
+	 */
+	default IntStream streamSigned() {
+		return StreamSupport.intStream(spliteratorSigned(), false);
+	}
+
+	/**
+	 * このコレクションに対する逐次的なIntStreamを返す．short値は符号無しとみなされる．
+	 * @return stream
+	 */
+	default IntStream streamUnsigned() {
+		return StreamSupport.intStream(spliteratorUnsigned(), false);
+	}
+
+	/**
+	 * このコレクションに対する並列なIntStreamを返す．short値は符号付きとみなされる．
+	 * @return stream
+	 */
+	default IntStream parallelStreamSigned() {
+		return StreamSupport.intStream(spliteratorSigned(), true);
+	}
+
+	/**
+	 * このコレクションに対する並列なIntStreamを返す．short値は符号無しとみなされる．
+	 * @return stream
+	 */
+	default IntStream parallelStreamUnsigned() {
+		return StreamSupport.intStream(spliteratorUnsigned(), true);
+	}
+
+	/**
+	 * このコレクションの要素を符号付き整数として列挙するSpliteratorを返す.
+	 * @return spliterator
+	 */
+	@Override
+	default Spliterator.OfInt spliteratorSigned() {
+		return Spliterators.spliterator(iteratorSigned(), size(),
+				Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED);
+	}
+
+	/**
+	 * このコレクションの要素を符号無し整数として列挙するSpliteratorを返す.
+	 * @return spliterator
+	 */
+	@Override
+	default Spliterator.OfInt spliteratorUnsigned() {
+		return Spliterators.spliterator(iteratorUnsigned(), size(),
+				Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED);
+	}
+
+	/**
+	 * このコレクションのCollection&lt;Short&gt;のビューを返す.
+	 * ビューに対する操作はこのインタンスに反映される．
+	 * @return このShortCollectionのCollection&lt;Short&gt;のビュー
+	 */
+	@Override
+	default Collection<Short> boxedView() {
+		return PrimitiveSupport.boxed(this);
+	}
+
+	public static ShortCollection empty() {
+		return EmptyCollection.ofShort();
+	}
+}
@@ -0,0 +1,71 @@
+// このファイルはcodegen/templates/Iterable.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+
+import com.lethe_river.util.primitive.function.ShortConsumer;
+
+/**
+ * shortの要素それぞれに対する操作を提供するインターフェース
+ * @author YuyaAizawa
+ *
+ */
+interface ShortIterable extends PrimitiveIterable<Short, ShortConsumer> {
+	@Override
+	ShortIterator iterator();
+
+	/**
+	 * 要素を符号付き整数として列挙する反復子を返す.
+	 * @return 反復子
+	 */
+	default PrimitiveIterator.OfInt iteratorSigned() {
+		return new PrimitiveIterator.OfInt() {
+			final ShortIterator original = iterator();
+			@Override
+			public boolean hasNext() {
+				return original.hasNext();
+			}
+			@Override
+			public int nextInt() {
+				return original.nextShort();
+			}
+			@Override
+			public void remove() {
+				original.remove();
+			}
+		};
+	}
+
+	/**
+	 * 要素を符号無し整数として列挙する反復子を返す.
+	 * @return 反復子
+	 */
+	default PrimitiveIterator.OfInt iteratorUnsigned() {
+		return new PrimitiveIterator.OfInt() {
+			final ShortIterator original = iterator();
+			@Override
+			public boolean hasNext() {
+				return original.hasNext();
+			}
+			@Override
+			public int nextInt() {
+				return Short.toUnsignedInt(original.nextShort());
+			}
+			@Override
+			public void remove() {
+				original.remove();
+			}
+		};
+	}
+
+	Spliterator.OfInt spliteratorSigned();
+	Spliterator.OfInt spliteratorUnsigned();
+
+	@Override
+	default void forEach(ShortConsumer action) {
+		Objects.requireNonNull(action);
+		iterator().forEachRemaining(action);
+	}
+}
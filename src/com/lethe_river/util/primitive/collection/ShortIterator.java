@@ -0,0 +1,47 @@
+// このファイルはcodegen/templates/Iterator.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.Consumer;
+
+import com.lethe_river.util.primitive.function.ShortConsumer;
+
+/**
+ * shortの要素に対する反復子
+ * @author YuyaAizawa
+ *
+ */
+public interface ShortIterator extends PrimitiveIterator<Short, ShortConsumer> {
+
+	short nextShort();
+
+	default int nextSigned() {
+		return nextShort();
+	}
+
+	default int nextUnsigned() {
+		return Short.toUnsignedInt(nextShort());
+	}
+
+	@Override
+	default void forEachRemaining(ShortConsumer action) {
+		Objects.requireNonNull(action);
+		while (hasNext())
+			action.accept(nextShort());
+	}
+
+	@Override
+	default Short next() {
+		return Short.valueOf(nextShort());
+	}
+
+	@Override
+	default void forEachRemaining(Consumer<? super Short> action) {
+		if(action instanceof ShortConsumer) {
+			forEachRemaining((ShortConsumer) action);
+		} else {
+			forEachRemaining((ShortConsumer) action::accept);
+		}
+	}
+}
@@ -0,0 +1,307 @@
+// このファイルはcodegen/templates/List.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * プリミティブのshortを扱う，順序付けられたコレクション.
+ *
+ * @author YuyaAizawa
+ *
+ */
+public interface ShortList extends PrimitiveList<Short>, ShortCollection {
+
+	/**
+	 * このリストの最後に指定した要素を追加する(オプションの操作)
+	 * @param s 追加する要素
+	 * @return true
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	@Override
+	default boolean add(short s) {
+		insert(size(), s);
+		return true;
+	}
+
+	/**
+	 * このリストの最後に指定した要素をすべて追加する(オプションの操作)
+	 * @param ss 追加する要素
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	@Override
+	boolean addAll(short... ss);
+
+	/**
+	 * このリストの最後に指定された配列の要素の一部区間を追加する(オプションの操作).
+	 *
+	 * @param ss 配列
+	 * @param offset 追加する区間の開始インデックス
+	 * @param length 追加する区間の長さ
+	 *
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされていない場合
+	 * @throws IndexOutOfBoundsException offsetまたはlengthが不正だった場合
+	 * @throws NullPointerException 配列がnullだった場合
+	 */
+	@Override
+	default boolean addAll(short[] ss, int offset, int length) {
+		insertAll(size(), ss, offset, length);
+		return length != 0;
+	}
+
+	/**
+	 * このリストの最後に指定した要素をすべて追加する(オプションの操作)
+	 * @param ss 追加する要素
+	 * @return
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	@Override
+	default boolean addAll(ShortCollection c) {
+		if(c.isEmpty()) {
+			return false;
+		}
+		insertAll(size(), c);
+		return true;
+	}
+
+	/**
+	 * このリストの指定した位置に挿入的に要素を追加する(オプションの操作)
+	 * @param index 挿入する位置
+	 * @param element 追加する要素
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	void insert(int index, short element);
+
+	/**
+	 * このリストの指定した位置に配列の要素を挿入的に要素を追加する(オプションの操作)
+	 * @param index 挿入の開始インデックス
+	 * @param ss 配列
+	 *
+	 * @throws IndexOutOfBoundsException インデックスが範囲外の場合(index < 0 || index >= size())
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	default void insertAll(int index, short[] ss) {
+		insertAll(index, ss, 0, ss.length);
+	}
+
+	/**
+	 * このリストの指定した位置に，配列の一部区間の要素を挿入的に追加する(オプションの操作)
+	 * @param index 挿入の開始インデックス
+	 * @param ss 配列
+	 * @param offset 区間の開始インデックス
+	 * @param length 区間の長さ
+	 * @return リストに変更があればtrue
+	 *
+	 * @throws IndexOutOfBoundsException index，offsetまたはlengthが不正な場合
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	void insertAll(int index, short[] ss, int offset, int length);
+
+	/**
+	 * このリストの指定した位置に挿入的に要素を追加する(オプションの操作)
+	 * @param index 置換される要素のインデックス
+	 * @param c 指定された位置に格納される要素
+	 * @return 指定された位置に以前あった要素
+	 * @throws IndexOutOfBoundsException インデックスが範囲外の場合(index < 0 || index >= size())
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	void insertAll(int index, ShortCollection c);
+
+	/**
+	 * このリストが指定した要素を含むとき，最初に出現するものを削除する(オプションの操作)
+	 * @param s 削除する要素
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	@Override
+	boolean remove(short s);
+
+	/**
+	 * このリストに出現する指定した要素をすべてを削除する(オプションの操作).
+	 * @param ss 削除する要素
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	@Override
+	boolean removeAll(short... ss);
+
+	/**
+	 * 指定したindexにある要素を削除する(オプションの操作).
+	 *
+	 * @param index
+	 * @return 削除した要素
+	 * @throws IndexOutOfBoundsException インデックスが範囲外の場合(index < 0 || index >= size())
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	short removeAt(int index);
+
+	/**
+	 * このリストの指定した位置にある要素を返す.
+	 * @param index 返される要素のインデックス
+	 * @return 指定された位置にある要素
+	 * @throws IndexOutOfBoundsException インデックスが範囲外の場合(index < 0 || index >= size())
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	short get(int index);
+
+	/**
+	 * リスト内の指定された位置にある要素を，指定された要素に置き換える(オプションの操作)
+	 * @param index 置換される要素のインデックス
+	 * @param element 指定された位置に格納される要素
+	 * @return 指定された位置に以前あった要素
+	 * @throws IndexOutOfBoundsException インデックスが範囲外の場合(index < 0 || index >= size())
+	 * @throws UnsupportedOperationException 操作がこのリストでサポートされない場合
+	 */
+	short set(int index, short element);
+
+	/**
+	 * このリスト中に指定した要素が最初に出現するindexを返す．このリストが指定した要素を含まなければ-1を返す．
+	 * @param element
+	 * @return 指定した要素の出現位置でもっとも小さいもの(出現しなければ-1)
+	 */
+	int indexOf(short element);
+
+	/**
+	 * このリスト中に指定した要素が最後に出現するindexを返す．このリストが指定した要素を含まなければ-1を返す．
+	 * @param element
+	 * @return 指定した要素の出現位置でもっとも大きいもの(出現しなければ-1)
+	 */
+	int lastIndexOf(short element);
+
+	/**
+	 * このShortListが引数の部分系列かどうか判定する
+	 * @param target
+	 * @return 部分系列ならtrue
+	 */
+	default boolean isSubsequence(ShortList list) {
+		if(this.size() > list.size()) {
+			return false;
+		}
+		ShortIterator i1 = this.iterator();
+		ShortIterator i2 = list.iterator();
+
+		loop: while(i1.hasNext()) {
+			short t1 = i1.nextShort();
+			while(i2.hasNext()) {
+				short t2 = i2.nextShort();
+				if(t1 == t2) {
+					continue loop;
+				}
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * このShortListが引数の上位系列かどうか判定する
+	 * @param target
+	 * @return 上位系列ならtrue
+	 */
+	default boolean isSupersequenceOf(ShortList list) {
+		return list.isSubsequence(this);
+	}
+
+	/**
+	 * このリスト内の要素を指定した位置から適切な順序で繰り返し処理する反復子を返す．
+	 * @param index 繰り返しの開始位置
+	 * @return このリスト要素の繰り返し処理に関する{@link ListIterator}
+	 * @throws IndexOutOfBoundsException index &lt; sizeまたはsize+1 &lt; indexのとき
+	 */
+	@Override
+	ShortListIterator listIterator(int index);
+
+	@Override
+	default ShortListIterator listIterator() {
+		return listIterator(0);
+	}
+
+	/**
+	 * このリスト内の要素を逆順で繰り返し処理する反復子を返す．
+	 * @return このリスト要素の逆順繰り返し処理に関する反復子
+	 */
+	@Override
+	ShortIterator reversedIterator();
+
+	/**
+	 * このリスト内の要素を符号付き整数として逆順で繰り返し処理する反復子を返す．
+	 * @return このリスト要素の逆順繰り返し処理に関する{@link PrimitiveIterator}
+	 */
+	PrimitiveIterator.OfInt reversedIteratorSigned();
+
+	/**
+	 * このリスト内の要素を符号無し整数として逆順で繰り返し処理する反復子を返す．
+	 * @return このリスト要素の逆順繰り返し処理に関する{@link PrimitiveIterator}
+	 */
+	PrimitiveIterator.OfInt reversedIteratorUnsigned();
+
+	/**
+	 * このリストを逆順に処理する逐次的なIntStreamを返す．short値は符号付きとみなされる．
+	 * @return stream
+	 */
+	default IntStream reversedStreamSigned() {
+		return StreamSupport.intStream(
+				Spliterators.spliterator(
+						reversedIteratorSigned(),
+						size(),
+						Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED),
+				false);
+	}
+
+	/**
+	 * このリストを逆順に処理する逐次的なIntStreamを返す．short値は符号無しとみなされる．
+	 * @return stream
+	 */
+	default IntStream reversedStreamUnsigned() {
+		return StreamSupport.intStream(
+				Spliterators.spliterator(
+						reversedIteratorUnsigned(),
+						size(),
+						Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED),
+				false);
+	}
+
+	/**
+	 * このリストの要素を符号付き整数として列挙するSpliteratorを返す.
+	 * @return spliterator
+	 */
+	@Override
+	default Spliterator.OfInt spliteratorSigned() {
+		return Spliterators.spliterator(iteratorSigned(), size(),
+				Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED);
+	}
+
+	/**
+	 * このリストの要素を符号無し整数として列挙するSpliteratorを返す.
+	 * @return spliterator
+	 */
+	@Override
+	default Spliterator.OfInt spliteratorUnsigned() {
+		return Spliterators.spliterator(iteratorUnsigned(), size(),
+				Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED);
+	}
+
+	/**
+	 * このリストの指定された範囲のインデックスに対するビューを返す.
+	 * ビューに対する操作は元のリストに反映される.
+	 * 元のリストに対する構造的変更後のビューの動作は未定義．
+	 * @param fromIndex ビューの開始インデックス(この値を含む)
+	 * @param toIndex ビューの終了インデックス(この値を含まず)
+	 * @return 部分リストのビュー
+	 */
+	@Override
+	ShortList subList(int fromIndex, int toIndex);
+
+	@Override
+	List<Short> boxedView();
+
+	/**
+	 * 空のShortListを表すSingletonのインスタンスを返す
+	 * @return 空のShortList
+	 */
+	public static ShortList empty() {
+		return EmptyList.ofShort();
+	}
+}
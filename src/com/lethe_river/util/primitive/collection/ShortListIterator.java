@@ -0,0 +1,68 @@
+// このファイルはcodegen/templates/ListIterator.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.ListIterator;
+
+/**
+ * ListIteratorのプリミティブ版
+ * @author YuyaAizawa
+ *
+ */
+public interface ShortListIterator extends ListIterator<Short>, ShortIterator {
+
+	@Override
+	default void add(Short e) {
+		add(e.shortValue());
+	}
+
+	@Override
+	default Short next() {
+		return Short.valueOf(nextShort());
+	}
+
+	@Override
+	default Short previous() {
+		return Short.valueOf(previousShort());
+	}
+
+	@Override
+	default void set(Short e) {
+		set(e.shortValue());
+	}
+
+	/**
+	 * 指定された要素をリストに挿入する(オプションの操作)．挿入する位置はnextShort()が返す要素の直前，previousShort()が返す要素の直後.
+	 * @param element
+	 */
+	void add(short e);
+
+	/**
+	 * リスト内の次の要素を返す．
+	 * @return 次の要素
+	 * @throws NoSuchElementException 次の要素がない場合
+	 */
+	@Override
+	short nextShort();
+
+	/**
+	 * リスト内の前の要素を返す
+	 * @return 前の要素
+	 * @throws NoSuchElementException 前の要素がない場合
+	 */
+	short previousShort();
+
+	/**
+	 * next()またはprevious()から最後に返された要素を指定された要素で置き換える(オプションの操作).
+	 * 最後のnext(), previous()の呼び出しからremove(),add(short)のどちらも呼ばれていないときのみ行える
+	 * @param e
+	 */
+	void set(short e);
+
+	/**
+	 * 空のShortListIteratorのシングルトンインスタンスを返す．
+	 * @return 空のShortListIterator
+	 */
+	static ShortListIterator empty() {
+		return EmptyListIterator.ofShort();
+	}
+}
@@ -0,0 +1,196 @@
+// このファイルはcodegen/templates/Set.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * プリミティブのshortを扱う，要素の重複を許さないコレクション.
+ *
+ * @author YuyaAizawa
+ *
+ */
+public interface ShortSet extends PrimitiveSet<Short>, ShortCollection {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean equals(Object obj);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	int hashCode();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean isEmpty();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	int size();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	void clear();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean contains(short s);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	ShortIterator iterator();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	short[] toArray();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean add(short s);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean addAll(short... ss);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean addAll(ShortCollection ss);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean remove(short s);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean removeAll(short... ss);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean removeAll(ShortCollection ss);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean containsAll(short... ss);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean retainAll(short... ss);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean retainAll(ShortCollection ss);
+
+	/**
+	 * 指定した配列の各要素がこの集合に含まれるか判定し，結果をビットマスクに書き込む.
+	 * in[i]が含まれるとき，bitmaskOut[i/64]のi%64ビット目が1になる．
+	 * @param in 判定する要素の配列
+	 * @param bitmaskOut 結果を書き込む配列
+	 * @return 含まれていた要素の数
+	 * @throws ArrayIndexOutOfBoundsException bitmaskOutの長さが足りないとき
+	 */
+	default int containsMask(short[] in, long[] bitmaskOut) {
+		return containsMask(in, 0, in.length, bitmaskOut);
+	}
+
+	/**
+	 * 指定した配列の範囲の各要素がこの集合に含まれるか判定し，結果をビットマスクに書き込む.
+	 * in[offset+i]が含まれるとき，bitmaskOut[i/64]のi%64ビット目が1になる．
+	 * bitmaskOutの先頭から(length+63)/64個の要素は上書きされる．
+	 *
+	 * 実装は複数の要素の探索をまとめて行い，メモリアクセスの待ち時間を重ねることが望ましい．
+	 * @param in 判定する要素の配列
+	 * @param offset 開始インデックス
+	 * @param length 要素の数
+	 * @param bitmaskOut 結果を書き込む配列
+	 * @return 含まれていた要素の数
+	 * @throws ArrayIndexOutOfBoundsException offsetまたはlengthが不正なとき，bitmaskOutの長さが足りないとき
+	 */
+	default int containsMask(short[] in, int offset, int length, long[] bitmaskOut) {
+		PrimitiveSupport.checkBounds(in, offset, length);
+		PrimitiveSupport.checkBounds(bitmaskOut, 0, (length+63)>>>6);
+		Arrays.fill(bitmaskOut, 0, (length+63)>>>6, 0L);
+		int count = 0;
+		for (int i = 0; i < length; i++) {
+			if(contains(in[offset + i])) {
+				bitmaskOut[i>>>6] |= 1L << i;
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 指定した集合の要素すべてがこの集合に含まれるか判定する.
+	 * @param ss
+	 * @return 含まれればture
+	 */
+	boolean containsAll(ShortSet ss);
+
+	/**
+	 * この集合の要素を符号付き整数として列挙するSpliteratorを返す.
+	 * @return spliterator
+	 */
+	@Override
+	default Spliterator.OfInt spliteratorSigned() {
+		return Spliterators.spliterator(iteratorSigned(), size(),
+				Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.DISTINCT);
+	}
+
+	/**
+	 * この集合の要素を符号無し整数として列挙するSpliteratorを返す.
+	 * @return spliterator
+	 */
+	@Override
+	default Spliterator.OfInt spliteratorUnsigned() {
+		return Spliterators.spliterator(iteratorUnsigned(), size(),
+				Spliterator.NONNULL | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.DISTINCT);
+	}
+
+	/**
+	 * このコレクションのSet&lt;Short&gt;のビューを返す.
+	 * ビューに対する操作はこのインタンスに反映される．
+	 * @return このShortSetのSet&lt;Short&gt;のビュー
+	 */
+	@Override
+	Set<Short> boxedView();
+
+	public static ShortSet empty() {
+		return EmptySet.ofShort();
+	}
+}
@@ -0,0 +1,42 @@
+// このファイルはcodegen/templates/Spliterator.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.collection;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.lethe_river.util.primitive.function.ShortConsumer;
+
+/**
+ * short値を列挙するSpliterator
+ * @author YuyaAizawa
+ *
+ */
+public interface ShortSpliterator extends Spliterator.OfPrimitive<Short, ShortConsumer, ShortSpliterator> {
+	@Override
+	ShortSpliterator trySplit();
+
+	@Override
+	boolean tryAdvance(ShortConsumer action);
+
+	@Override
+	default void forEachRemaining(ShortConsumer action) {
+		while(tryAdvance(action));
+	}
+
+	@Override
+	default boolean tryAdvance(Consumer<? super Short> action) {
+		if (action instanceof ShortConsumer) {
+			return tryAdvance((ShortConsumer) action);
+		}
+		return tryAdvance((ShortConsumer) action::accept);
+	}
+
+	@Override
+	default void forEachRemaining(Consumer<? super Short> action) {
+		if (action instanceof ShortConsumer) {
+			forEachRemaining((ShortConsumer) action);
+			return;
+		}
+		forEachRemaining((ShortConsumer) action::accept);
+	}
+}
@@ -0,0 +1,469 @@
+package com.lethe_river.util.primitive.collection;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+
+/**
+ * ソートされた集合を差分で圧縮してチャネルに読み書きする形式
+ *
+ * 先頭の要素はzig-zag符号化したvarintで，以降の要素は直前の要素との差から1を引いた値をvarintで書く．
+ * 要素は{@value #BLOCK_SIZE}個ごとのブロックにまとめ，ブロックのバイト数を前置する．
+ * ビットパッキングを指定すると，ブロック内の差をvarintの代わりにブロック内の最大値に合わせたビット幅で詰めて書く．
+ * 差が揃っている集合ではビットパッキングの方が小さく，ばらつきが大きい集合ではvarintの方が小さくなる．
+ *
+ * ヘッダとバイトオーダーは{@link ScatterIntSet#writeTo(java.nio.channels.WritableByteChannel)}などと共通である．
+ * 読み込みは必要なバイト数だけをチャネルから読むため，1つのチャネルに複数の集合を続けて書いてよい．
+ *
+ * @author YuyaAizawa
+ *
+ */
+public final class SortedSetCodec {
+	private SortedSetCodec() {}
+
+	private static final int BLOCK_SIZE = 128;
+
+	// 1ブロックの最大バイト数 先頭の要素，ビット幅，差がそれぞれ最大の長さとなる場合
+	private static final int MAX_BLOCK_BYTES = 10 + 1 + BLOCK_SIZE * 10;
+
+	// 形式の種類
+	private static final int VARINT = 0;
+	private static final int BIT_PACKING = 1;
+
+	/**
+	 * 集合をvarintで差分符号化してチャネルに書き出す.
+	 * @param set 書き出す集合
+	 * @param channel 書き出し先
+	 * @throws IOException 書き出しに失敗したとき
+	 */
+	public static void writeTo(IntSortedSet set, WritableByteChannel channel) throws IOException {
+		writeTo(set, channel, false);
+	}
+
+	/**
+	 * 集合を差分符号化してチャネルに書き出す.
+	 * @param set 書き出す集合
+	 * @param channel 書き出し先
+	 * @param bitPacking ブロックごとのビットパッキングを用いるときtrue
+	 * @throws IOException 書き出しに失敗したとき
+	 */
+	public static void writeTo(IntSortedSet set, WritableByteChannel channel, boolean bitPacking) throws IOException {
+		Encoder encoder = new Encoder(channel, PrimitiveCodec.SORTED_INT_SET, set.size(), bitPacking);
+		for(PrimitiveIterator.OfInt i = set.iterator();i.hasNext();) {
+			encoder.add(i.nextInt());
+		}
+		encoder.finish();
+	}
+
+	/**
+	 * 集合をvarintで差分符号化してチャネルに書き出す.
+	 * @param set 書き出す集合
+	 * @param channel 書き出し先
+	 * @throws IOException 書き出しに失敗したとき
+	 */
+	public static void writeTo(LongSortedSet set, WritableByteChannel channel) throws IOException {
+		writeTo(set, channel, false);
+	}
+
+	/**
+	 * 集合を差分符号化してチャネルに書き出す.
+	 * @param set 書き出す集合
+	 * @param channel 書き出し先
+	 * @param bitPacking ブロックごとのビットパッキングを用いるときtrue
+	 * @throws IOException 書き出しに失敗したとき
+	 */
+	public static void writeTo(LongSortedSet set, WritableByteChannel channel, boolean bitPacking) throws IOException {
+		Encoder encoder = new Encoder(channel, PrimitiveCodec.SORTED_LONG_SET, set.size(), bitPacking);
+		for(PrimitiveIterator.OfLong i = set.iterator();i.hasNext();) {
+			encoder.add(i.nextLong());
+		}
+		encoder.finish();
+	}
+
+	/**
+	 * int値の集合を読み込み，FrozenArrayIntSetに復元する.
+	 * 要素は復号しながら配列に直接格納する．
+	 * @param channel 読み込み元
+	 * @return 読み込んだ集合
+	 * @throws IOException 読み込みに失敗したとき，または形式が不正なとき
+	 */
+	public static FrozenArrayIntSet readIntSet(ReadableByteChannel channel) throws IOException {
+		Decoder decoder = new Decoder(channel, PrimitiveCodec.SORTED_INT_SET);
+		if(decoder.size > Integer.MAX_VALUE - 8) {
+			throw PrimitiveCodec.invalid("size "+decoder.size);
+		}
+		int[] elements = new int[(int) decoder.size];
+		int index = 0;
+		while(decoder.nextBlock()) {
+			long[] block = decoder.block;
+			for (int i = 0; i < decoder.blockLength; i++) {
+				elements[index++] = (int) block[i];
+			}
+		}
+		return new FrozenArrayIntSet(elements);
+	}
+
+	/**
+	 * int値の集合を，集合を作らずに昇順に辿るイテレータを返す.
+	 * ヘッダはこのメソッドで読み，要素はイテレータを進めるにつれてブロックごとに読む．
+	 * 要素の読み込みに失敗した場合，イテレータは{@link UncheckedIOException}を投げる．
+	 * @param channel 読み込み元
+	 * @return 要素を辿るイテレータ
+	 * @throws IOException ヘッダの読み込みに失敗したとき，または形式が不正なとき
+	 */
+	public static PrimitiveIterator.OfInt intIterator(ReadableByteChannel channel) throws IOException {
+		Decoder decoder = new Decoder(channel, PrimitiveCodec.SORTED_INT_SET);
+		return new PrimitiveIterator.OfInt() {
+			@Override
+			public boolean hasNext() {
+				return decoder.hasNext();
+			}
+
+			@Override
+			public int nextInt() {
+				return (int) decoder.next();
+			}
+		};
+	}
+
+	/**
+	 * long値の集合を，集合を作らずに昇順に辿るイテレータを返す.
+	 * ヘッダはこのメソッドで読み，要素はイテレータを進めるにつれてブロックごとに読む．
+	 * 要素の読み込みに失敗した場合，イテレータは{@link UncheckedIOException}を投げる．
+	 * @param channel 読み込み元
+	 * @return 要素を辿るイテレータ
+	 * @throws IOException ヘッダの読み込みに失敗したとき，または形式が不正なとき
+	 */
+	public static PrimitiveIterator.OfLong longIterator(ReadableByteChannel channel) throws IOException {
+		Decoder decoder = new Decoder(channel, PrimitiveCodec.SORTED_LONG_SET);
+		return new PrimitiveIterator.OfLong() {
+			@Override
+			public boolean hasNext() {
+				return decoder.hasNext();
+			}
+
+			@Override
+			public long nextLong() {
+				return decoder.next();
+			}
+		};
+	}
+
+	private static long zigzag(long l) {
+		return (l << 1) ^ (l >> 63);
+	}
+
+	private static long unzigzag(long l) {
+		return (l >>> 1) ^ -(l & 1);
+	}
+
+	/**
+	 * 昇順に与えられた要素をブロックごとに符号化して書き出す.
+	 * int値もlong値に広げて扱う．
+	 */
+	private static final class Encoder {
+		private final PrimitiveCodec.Writer out;
+		private final boolean bitPacking;
+
+		// ブロック内の差から1を引いた値
+		private final long[] gaps = new long[BLOCK_SIZE];
+		private int gapCount = 0;
+
+		// 書き出すブロック
+		private final byte[] bytes = new byte[MAX_BLOCK_BYTES];
+		private int position;
+
+		// 先頭の要素を受け取ったか，書き出していないブロックに先頭の要素を含むか
+		private boolean started = false;
+		private boolean head = false;
+
+		// 先頭の要素と直前の要素
+		private long first;
+		private long previous;
+
+		// 要素数と受け取った要素の数
+		private final int size;
+		private int count = 0;
+
+		Encoder(WritableByteChannel channel, int kind, int size, boolean bitPacking) throws IOException {
+			Objects.requireNonNull(channel);
+			this.size = size;
+			long blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+			this.out = new PrimitiveCodec.Writer(channel, kind, 24 + blocks * (Integer.BYTES + MAX_BLOCK_BYTES));
+			this.bitPacking = bitPacking;
+			out.putLong(size);
+			out.putInt(bitPacking ? BIT_PACKING : VARINT);
+		}
+
+		void add(long l) throws IOException {
+			if(++count > size) {
+				throw new ConcurrentModificationException();
+			}
+			if(!started) {
+				started = true;
+				head = true;
+				first = l;
+				previous = l;
+				return;
+			}
+			if(l <= previous) {
+				throw new IllegalArgumentException("not ascending : "+l);
+			}
+			gaps[gapCount++] = l - previous - 1;
+			previous = l;
+			if(gapCount + (head ? 1 : 0) == BLOCK_SIZE) {
+				writeBlock();
+			}
+		}
+
+		void finish() throws IOException {
+			if(count != size) {
+				throw new ConcurrentModificationException();
+			}
+			if(head || gapCount > 0) {
+				writeBlock();
+			}
+			out.flush();
+		}
+
+		private void writeBlock() throws IOException {
+			position = 0;
+			if(head) {
+				putVarint(zigzag(first));
+			}
+			if(bitPacking) {
+				long union = 0;
+				for (int i = 0; i < gapCount; i++) {
+					union |= gaps[i];
+				}
+				int width = 64 - Long.numberOfLeadingZeros(union);
+				bytes[position++] = (byte) width;
+				pack(width);
+			} else {
+				for (int i = 0; i < gapCount; i++) {
+					putVarint(gaps[i]);
+				}
+			}
+			out.putInt(position);
+			out.putBytes(bytes, 0, position);
+			head = false;
+			gapCount = 0;
+		}
+
+		private void putVarint(long l) {
+			while((l & ~0x7FL) != 0) {
+				bytes[position++] = (byte) ((l & 0x7F) | 0x80);
+				l >>>= 7;
+			}
+			bytes[position++] = (byte) l;
+		}
+
+		/**
+		 * 差を下位ビットから順に指定したビット幅で詰める.
+		 */
+		private void pack(int width) {
+			if(width == 0) {
+				return;
+			}
+			long buffer = 0;
+			int bits = 0;
+			for (int i = 0; i < gapCount; i++) {
+				long gap = gaps[i];
+				buffer |= gap << bits;
+				if(bits + width >= 64) {
+					putBits(buffer, 64);
+					int used = 64 - bits;
+					buffer = used == 64 ? 0 : gap >>> used;
+					bits += width - 64;
+				} else {
+					bits += width;
+				}
+			}
+			putBits(buffer, bits);
+		}
+
+		private void putBits(long buffer, int bits) {
+			for(int i = 0;i < bits;i += 8) {
+				bytes[position++] = (byte) (buffer >>> i);
+			}
+		}
+	}
+
+	/**
+	 * ブロックごとに読み込んで要素を復号する.
+	 */
+	private static final class Decoder {
+		private final PrimitiveCodec.Reader in;
+		private final int kind;
+		private final boolean bitPacking;
+
+		// 要素数
+		final long size;
+
+		// 読み込んだ要素数
+		private long decoded = 0;
+
+		// 復号したブロック
+		final long[] block = new long[BLOCK_SIZE];
+		int blockLength = 0;
+		private int blockIndex = 0;
+
+		// 読み込んだブロック
+		private final byte[] bytes = new byte[MAX_BLOCK_BYTES];
+		private int position;
+		private int limit;
+
+		// 直前の要素
+		private long previous;
+
+		Decoder(ReadableByteChannel channel, int kind) throws IOException {
+			Objects.requireNonNull(channel);
+			this.in = new PrimitiveCodec.Reader(channel, kind, Integer.BYTES + MAX_BLOCK_BYTES);
+			this.kind = kind;
+			this.size = in.getLong();
+			int format = in.getInt();
+			if(size < 0) {
+				throw PrimitiveCodec.invalid("size "+size);
+			}
+			if(format != VARINT && format != BIT_PACKING) {
+				throw PrimitiveCodec.invalid("format "+format);
+			}
+			this.bitPacking = format == BIT_PACKING;
+		}
+
+		boolean hasNext() {
+			return blockIndex < blockLength || decoded < size;
+		}
+
+		long next() {
+			if(blockIndex == blockLength) {
+				try {
+					if(!nextBlock()) {
+						throw new NoSuchElementException();
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+			return block[blockIndex++];
+		}
+
+		/**
+		 * 次のブロックを読み込んで復号する.
+		 * @return ブロックがあればtrue，全て読み終えていればfalse
+		 * @throws IOException 読み込みに失敗したとき，または形式が不正なとき
+		 */
+		boolean nextBlock() throws IOException {
+			if(decoded == size) {
+				return false;
+			}
+			boolean head = decoded == 0;
+			int length = (int) Math.min(BLOCK_SIZE, size - decoded);
+			limit = in.getInt();
+			if(limit < 0 || MAX_BLOCK_BYTES < limit) {
+				throw PrimitiveCodec.invalid("block "+limit);
+			}
+			in.getBytes(bytes, 0, limit);
+			position = 0;
+
+			int index = 0;
+			if(head) {
+				long first = unzigzag(getVarint());
+				if(kind == PrimitiveCodec.SORTED_INT_SET && first != (int) first) {
+					throw PrimitiveCodec.invalid("element "+first);
+				}
+				block[index++] = first;
+				previous = first;
+			}
+			if(bitPacking) {
+				int width = position < limit ? bytes[position++] : -1;
+				if(width < 0 || 64 < width) {
+					throw PrimitiveCodec.invalid("width "+width);
+				}
+				unpack(index, length, width);
+			} else {
+				for (int i = index; i < length; i++) {
+					block[i] = getVarint();
+				}
+			}
+			for (int i = index; i < length; i++) {
+				long l = previous + block[i] + 1;
+				if(l <= previous || (kind == PrimitiveCodec.SORTED_INT_SET && l > Integer.MAX_VALUE)) {
+					throw PrimitiveCodec.invalid("element "+l);
+				}
+				block[i] = l;
+				previous = l;
+			}
+			if(position != limit) {
+				throw PrimitiveCodec.invalid("block "+limit);
+			}
+			decoded += length;
+			blockLength = length;
+			blockIndex = 0;
+			return true;
+		}
+
+		private long getVarint() throws IOException {
+			long l = 0;
+			for(int shift = 0;shift < 64;shift += 7) {
+				if(position == limit) {
+					throw PrimitiveCodec.invalid("varint");
+				}
+				byte b = bytes[position++];
+				l |= (long) (b & 0x7F) << shift;
+				if(b >= 0) {
+					return l;
+				}
+			}
+			throw PrimitiveCodec.invalid("varint");
+		}
+
+		/**
+		 * 指定したビット幅で詰められた差をblockの[from, to)に読み出す.
+		 */
+		private void unpack(int from, int to, int width) throws IOException {
+			int byteLength = (int) (((long) (to - from) * width + 7) >>> 3);
+			if(limit - position < byteLength) {
+				throw PrimitiveCodec.invalid("block "+limit);
+			}
+			int end = position + byteLength;
+			long mask = width == 64 ? -1L : (1L << width) - 1;
+			long buffer = 0;
+			int bits = 0;
+			for (int i = from; i < to; i++) {
+				if(width == 0) {
+					block[i] = 0;
+					continue;
+				}
+				if(bits >= width) {
+					block[i] = buffer & mask;
+					buffer = width == 64 ? 0 : buffer >>> width;
+					bits -= width;
+				} else {
+					long next = getBits(end);
+					block[i] = (buffer | (next << bits)) & mask;
+					int used = width - bits;
+					buffer = used == 64 ? 0 : next >>> used;
+					bits = 64 - used;
+				}
+			}
+			position = end;
+		}
+
+		/**
+		 * 最大8バイトをリトルエンディアンで読む．endを超える部分は0とする.
+		 */
+		private long getBits(int end) {
+			long l = 0;
+			for(int i = 0;i < 64 && position < end;i += 8) {
+				l |= (bytes[position++] & 0xFFL) << i;
+			}
+			return l;
+		}
+	}
+}
@@ -0,0 +1,447 @@
+package com.lethe_river.util.primitive.collection;
+
+import java.io.Serializable;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import com.lethe_river.util.primitive.HashSupport;
+
+/**
+ * Swiss tableを用いたIntSetの実装
+ *
+ * - open address
+ * - power of two bucket
+ * - 8要素ずつのグループ単位の探索
+ * - 要素ごとにハッシュの下位7bitを制御バイトとして保持する
+ *
+ * 1グループ分の制御バイトを1つのlongに詰め，グループ内の8要素をビット演算でまとめて比較する．
+ * 要素の値は制御バイトが一致したものだけ読むため，探索1回あたりの分岐とメモリアクセスが少ない．
+ * 0も他の値と同様に格納する．
+ *
+ * @author YuyaAizawa
+ *
+ */
+
+@SuppressWarnings("serial") // SerializationProxyに委譲
+public final class SwissTableIntSet extends AbstractIntSet {
+
+	// 1グループの要素数
+	private static final int GROUP_SHIFT = 3;
+	private static final int GROUP_SIZE = 1<<GROUP_SHIFT;
+
+	private static final int DEFAULT_INIT_CAPACITY = 16;
+	private static final int MAX_CAPACITY = 1<<30;
+
+	// 制御バイト．使用中の位置はハッシュの下位7bit(最上位bitが0)
+	private static final long EMPTY = 0x80;
+	private static final long DELETED = 0xFE;
+
+	private static final long LSBS = 0x0101010101010101L;
+	private static final long MSBS = 0x8080808080808080L;
+	private static final long ALL_EMPTY = LSBS * EMPTY;
+
+	private static final long[] EMPTY_CONTROLS = {};
+	private static final int[] EMPTY_SLOTS = {};
+
+	// 制御バイト．controls[g]の下位からkバイト目がslots[g*8+k]の状態を表す
+	private long[] controls;
+
+	// 要素を入れる配列
+	private int[] slots;
+
+	// 要素数の合計
+	private int size;
+
+	// 削除済みの位置の数
+	private int deleted;
+
+	// 使用中と削除済みの位置の数がこれに達したらリハッシュする
+	private int threshold;
+
+	// 構造的変更検出用
+	private int modCount;
+
+	/**
+	 * 初期容量を指定してSwissTableIntSetを生成する.
+	 *
+	 * @param initCapacity 初期容量
+	 */
+	public SwissTableIntSet(int initCapacity) {
+		if(initCapacity < 0) {
+			throw new IllegalArgumentException("initCapacity must be positive :"+initCapacity);
+		}
+		controls = EMPTY_CONTROLS;
+		slots = EMPTY_SLOTS;
+		size = 0;
+		deleted = 0;
+		threshold = 0;
+		modCount = 0;
+		if(initCapacity > 0) {
+			ensureCapacity(initCapacity);
+		}
+	}
+
+	/**
+	 * SwissTableIntSetを生成する.
+	 */
+	public SwissTableIntSet() {
+		this(0);
+	}
+
+	/**
+	 * 指定されたIntSetの内容をコピーする.
+	 * 初期容量はオリジナルのIntSetが拡張なしに入る値となる．
+	 * @param original
+	 */
+	public SwissTableIntSet(IntSet original) {
+		this(original.size());
+		addAll(original);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(int i) {
+		return find(i, hash(i)) != -1;
+	}
+
+	/**
+	 * 指定された値の位置を返す.
+	 * @param i 探す値
+	 * @param h 値のハッシュ
+	 * @return slots上の位置，存在しなければ-1
+	 */
+	private int find(int i, int h) {
+		long[] controls = this.controls;
+		if(controls.length == 0) {
+			return -1;
+		}
+		int[] slots = this.slots;
+		long pattern = LSBS * h2(h);
+		int groupMask = controls.length - 1;
+		int group = h1(h) & groupMask;
+		for(int step = 1;;step++) {
+			long control = controls[group];
+			for(long m = match(control, pattern);m != 0;m &= m - 1) {
+				int index = (group << GROUP_SHIFT) + (Long.numberOfTrailingZeros(m) >>> 3);
+				if(slots[index] == i) {
+					return index;
+				}
+			}
+			if(matchEmpty(control) != 0) {
+				return -1;
+			}
+			group = (group + step) & groupMask;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean add(int i) {
+		int h = hash(i);
+		if(find(i, h) != -1) {
+			return false;
+		}
+		if(size + deleted >= threshold) {
+			try {
+				grow();
+			} catch(IllegalArgumentException e) {
+				throw new  RuntimeException("Too many entries!");
+			}
+		}
+
+		int index = findInsertPosition(controls, h);
+		if(controlAt(index) == DELETED) {
+			deleted--;
+		}
+		setControl(index, h2(h));
+		slots[index] = i;
+		size++;
+		modCount++;
+		return true;
+	}
+
+	/**
+	 * 指定されたint値をこのコレクションから削除する
+	 * @return 指定された要素を保持していればtrue
+	 */
+	@Override
+	public boolean remove(int i) {
+		int index = find(i, hash(i));
+		if(index == -1) {
+			return false;
+		}
+		removeAt(index);
+		return true;
+	}
+
+	/**
+	 * 指定した位置の要素を削除する.
+	 * 空きのあるグループは探索の途中で通過されることがないため空きに戻し，
+	 * そうでなければ削除済みの印を付ける．
+	 * @param index slots上の位置
+	 */
+	private void removeAt(int index) {
+		if(matchEmpty(controls[index >>> GROUP_SHIFT]) != 0) {
+			setControl(index, EMPTY);
+		} else {
+			setControl(index, DELETED);
+			deleted++;
+		}
+		size--;
+		modCount++;
+	}
+
+	@Override
+	public void clear() {
+		for (int g = 0; g < controls.length; g++) {
+			controls[g] = ALL_EMPTY;
+		}
+		size = 0;
+		deleted = 0;
+		modCount++;
+	}
+
+	/**
+	 * 指定された数の要素を拡張なしに格納できるようこのSwissTableIntSetの内部配列を拡張する.
+	 * @param minCapasity 保持するint値の数
+	 * @throws IllegalArgumentException minCapacityが[1, MAX_CAPACITY]の範囲外だったとき
+	 */
+	public void ensureCapacity(int minCapasity) {
+		if(minCapasity <= 0 || MAX_CAPACITY < minCapasity) {
+			throw new IllegalArgumentException("minCapacity : "+minCapasity);
+		}
+		if(threshold - deleted >= minCapasity || slots.length == MAX_CAPACITY) {
+			return;
+		}
+		long required = (long) minCapasity * GROUP_SIZE / (GROUP_SIZE-1) + 1;
+		int nextCapacity = (int) Math.min(MAX_CAPACITY, Math.max(DEFAULT_INIT_CAPACITY, required));
+		rehash(TableSizing.POWER_OF_TWO.roundUp(nextCapacity));
+	}
+
+	/**
+	 * 使用中と削除済みの位置が閾値に達したときに呼ばれる．
+	 * 削除済みが多ければ同じ大きさで作り直し，そうでなければ2倍に拡張する．
+	 */
+	private void grow() {
+		if(slots.length == 0) {
+			rehash(DEFAULT_INIT_CAPACITY);
+		} else if(size < threshold >>> 1) {
+			rehash(slots.length);
+		} else if(slots.length == MAX_CAPACITY) {
+			if(size + deleted >= slots.length - 1) {
+				throw new IllegalArgumentException();
+			}
+		} else {
+			rehash(slots.length << 1);
+		}
+	}
+
+	private void rehash(int nextCapacity) {
+		long[] tmpControls = new long[nextCapacity >>> GROUP_SHIFT];
+		int[] tmpSlots = new int[nextCapacity];
+		for (int g = 0; g < tmpControls.length; g++) {
+			tmpControls[g] = ALL_EMPTY;
+		}
+		for (int g = 0; g < controls.length; g++) {
+			for(long m = matchFull(controls[g]);m != 0;m &= m - 1) {
+				int i = slots[(g << GROUP_SHIFT) + (Long.numberOfTrailingZeros(m) >>> 3)];
+				int h = hash(i);
+				int index = findInsertPosition(tmpControls, h);
+				tmpControls[index >>> GROUP_SHIFT] = withControl(tmpControls[index >>> GROUP_SHIFT], index, h2(h));
+				tmpSlots[index] = i;
+			}
+		}
+		controls = tmpControls;
+		slots = tmpSlots;
+		deleted = 0;
+		modCount++;
+		threshold = nextCapacity - (nextCapacity >>> 3);
+	}
+
+	/**
+	 * 指定されたハッシュをもつ要素を入れられる最初の位置を返す.
+	 * @param controls 制御バイト
+	 * @param h 要素のハッシュ
+	 * @return slots上の位置
+	 */
+	private static int findInsertPosition(long[] controls, int h) {
+		int groupMask = controls.length - 1;
+		int group = h1(h) & groupMask;
+		for(int step = 1;;step++) {
+			long m = matchEmptyOrDeleted(controls[group]);
+			if(m != 0) {
+				return (group << GROUP_SHIFT) + (Long.numberOfTrailingZeros(m) >>> 3);
+			}
+			group = (group + step) & groupMask;
+		}
+	}
+
+	private long controlAt(int index) {
+		return (controls[index >>> GROUP_SHIFT] >>> ((index & (GROUP_SIZE-1)) << 3)) & 0xFF;
+	}
+
+	private void setControl(int index, long control) {
+		controls[index >>> GROUP_SHIFT] = withControl(controls[index >>> GROUP_SHIFT], index, control);
+	}
+
+	private static long withControl(long group, int index, long control) {
+		int shift = (index & (GROUP_SIZE-1)) << 3;
+		return (group & ~(0xFFL << shift)) | (control << shift);
+	}
+
+	/*
+	 * 以下はグループ内の各バイトについて条件を満たせば最上位bitを立てたマスクを返す
+	 */
+
+	/**
+	 * 制御バイトが指定したパターンと等しいものを返す．
+	 * 一致しないものが混ざることがあるが，使用中の位置に限られるので値の比較で除ける．
+	 */
+	private static long match(long control, long pattern) {
+		long x = control ^ pattern;
+		return (x - LSBS) & ~x & MSBS;
+	}
+
+	private static long matchEmpty(long control) {
+		return control & ~(control << 6) & MSBS;
+	}
+
+	private static long matchEmptyOrDeleted(long control) {
+		return control & ~(control << 7) & MSBS;
+	}
+
+	private static long matchFull(long control) {
+		return ~control & MSBS;
+	}
+
+	/**
+	 * 要素の位置を決めるためのhashを返す．
+	 * {@link SwissTableIntSet#hashCode()}とは無関係
+	 * @param i 要素
+	 * @return 要素のハッシュ
+	 */
+	private static int hash(int i) {
+		return HashSupport.thomasMueller(i);
+	}
+
+	/**
+	 * ハッシュのうち探索を始めるグループを決める部分
+	 */
+	private static int h1(int h) {
+		return h >>> 7;
+	}
+
+	/**
+	 * ハッシュのうち制御バイトに格納する部分
+	 */
+	private static long h2(int h) {
+		return h & 0x7F;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * 列挙に必要な計算量はIntSetの容量に比例する．
+	 */
+	@Override
+	public PrimitiveIterator.OfInt iterator() {
+		return new PrimitiveIterator.OfInt() {
+
+			// 走査中のグループ
+			int group = -1;
+
+			// 走査中のグループで未走査の使用中の位置
+			long full = 0;
+
+			// 構造的変更検出用
+			int expectedModCount = modCount;
+
+			// nextで返した数
+			int replied = 0;
+
+			// 削除した要素の数
+			int removed = 0;
+
+			// removeの対象 対象がない場合-1
+			int removeTarget = -1;
+
+			@Override
+			public boolean hasNext() {
+				return replied < size + removed;
+			}
+
+			@Override
+			public int nextInt() {
+				if(expectedModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+				while(full == 0) {
+					group++;
+					if(group >= controls.length) {
+						throw new NoSuchElementException();
+					}
+					full = matchFull(controls[group]);
+				}
+				int index = (group << GROUP_SHIFT) + (Long.numberOfTrailingZeros(full) >>> 3);
+				full &= full - 1;
+				replied++;
+				removeTarget = index;
+				return slots[index];
+			}
+
+			@Override
+			public void remove() {
+				if(expectedModCount != modCount) {
+					throw new ConcurrentModificationException();
+				}
+				if(removeTarget == -1) {
+					throw new IllegalStateException();
+				}
+				removeAt(removeTarget);
+				expectedModCount = modCount;
+				removed++;
+				removeTarget = -1;
+			}
+		};
+	}
+
+	private static class SerializationProxy implements Serializable {
+		private static final long serialVersionUID = -4170512046379183745L;
+
+		/**
+		 * @serial
+		 */
+		private final int[] elements;
+
+		public SerializationProxy(SwissTableIntSet set) {
+			this.elements = set.toArray();
+		}
+
+		private Object readResolve() {
+			SwissTableIntSet result = new SwissTableIntSet(elements.length);
+			result.addAll(elements);
+			return result;
+		}
+	}
+
+	private Object writeReplace() {
+		return new SerializationProxy(this);
+	}
+
+	private void readObject(java.io.ObjectInputStream s) throws java.io.InvalidObjectException {
+		throw new java.io.InvalidObjectException("Proxy required");
+	}
+}
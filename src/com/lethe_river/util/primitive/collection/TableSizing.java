@@ -0,0 +1,163 @@
+package com.lethe_river.util.primitive.collection;
+
+import com.lethe_river.util.primitive.HashSupport;
+
+/**
+ * scatter tableの内部配列の長さの決め方.
+ *
+ * @author YuyaAizawa
+ *
+ */
+public enum TableSizing {
+
+	/**
+	 * 2, 3, 5, 7で割り切れない長さの配列を用い，ハッシュの剰余で位置を決める.
+	 * ハッシュの質が低くても衝突しにくいが，探索のたびに除算が必要となる．
+	 */
+	PRIME {
+		@Override
+		int defaultCapacity() {
+			return 11;
+		}
+
+		@Override
+		int roundUp(int capacity) {
+			return capacity;
+		}
+
+		@Override
+		int grow(int length) {
+			return HashSupport.avoid2357(length<<1);
+		}
+
+		@Override
+		int shrink(int capacity) {
+			return HashSupport.avoid2357(capacity);
+		}
+	},
+
+	/**
+	 * 2の冪の長さの配列を用い，ハッシュの下位ビットで位置を決める.
+	 * 除算が不要になるが，ハッシュの下位ビットが十分に撹拌されている必要がある．
+	 */
+	POWER_OF_TWO {
+		@Override
+		int defaultCapacity() {
+			return 16;
+		}
+
+		@Override
+		int roundUp(int capacity) {
+			if(capacity <= 2) {
+				return 2;
+			}
+			return Integer.highestOneBit(capacity-1) << 1;
+		}
+
+		@Override
+		int grow(int length) {
+			return length<<1;
+		}
+
+		@Override
+		int shrink(int capacity) {
+			return roundUp(capacity);
+		}
+	};
+
+	/**
+	 * 初期容量が指定されなかったときの配列の長さを返す.
+	 * @return 配列の長さ
+	 */
+	abstract int defaultCapacity();
+
+	/**
+	 * 指定した長さ以上で，この方式で利用できる配列の長さを返す.
+	 * @param capacity 必要な長さ(正数)
+	 * @return 配列の長さ
+	 */
+	abstract int roundUp(int capacity);
+
+	/**
+	 * 拡張時に推奨される次の配列の長さを返す.
+	 * @param length 現在の配列の長さ
+	 * @return 次の配列の長さ
+	 */
+	abstract int grow(int length);
+
+	/**
+	 * 縮小時に，指定した長さ以上でこの方式に適した配列の長さを返す.
+	 * @param capacity 必要な長さ(正数)
+	 * @return 配列の長さ
+	 */
+	abstract int shrink(int capacity);
+
+	/**
+	 * 指定した数の要素を格納するために拡張する配列の長さを返す.
+	 * @param length 現在の配列の長さ(未確保なら0)
+	 * @param minCapacity 格納する要素の数
+	 * @param loadFactor 負荷係数
+	 * @param maxCapacity 配列の長さの上限
+	 * @return 次の配列の長さ
+	 */
+	int grownCapacity(int length, int minCapacity, float loadFactor, int maxCapacity) {
+		int reccommended = length == 0 ? defaultCapacity() : grow(length);
+		int nextCapacity = Math.max((int)(minCapacity / loadFactor)+1, reccommended);
+		return roundUp(Math.min(nextCapacity, maxCapacity));
+	}
+
+	/**
+	 * 指定した数の要素に見合った配列の長さを返す.
+	 * @param count 要素の数(正数)
+	 * @param loadFactor 負荷係数
+	 * @param maxCapacity 配列の長さの上限
+	 * @return 配列の長さ
+	 */
+	int trimmedCapacity(int count, float loadFactor, int maxCapacity) {
+		return shrink(Math.min((int)(count / loadFactor)+1, maxCapacity));
+	}
+
+	/**
+	 * 負荷係数が縮小の閾値を下回っているかを返す.
+	 * 配列が初期容量以下の場合は縮小しない．
+	 * @param size 要素の数
+	 * @param length 配列の長さ
+	 * @param shrinkFactor 縮小の閾値となる負荷係数
+	 * @return 縮小すべきならtrue
+	 */
+	boolean isSparse(int size, int length, float shrinkFactor) {
+		return size < length * shrinkFactor && length > defaultCapacity();
+	}
+
+	/**
+	 * 縮小後の負荷係数が設定した負荷係数のおよそ半分となる配列の長さを返す.
+	 * @param size 要素の数
+	 * @param loadFactor 負荷係数
+	 * @return 配列の長さ
+	 */
+	int sparseCapacity(int size, float loadFactor) {
+		return shrink(Math.max((int)(size * 2 / loadFactor)+1, defaultCapacity()));
+	}
+
+	/**
+	 * 読み込んだ配列の長さがこの方式で利用できるものかを返す.
+	 * @param length 配列の長さ
+	 * @param maxCapacity 配列の長さの上限
+	 * @return 利用できるならtrue
+	 */
+	boolean isValidLength(int length, int maxCapacity) {
+		return 0 <= length && length <= maxCapacity && (length == 0 || roundUp(length) == length);
+	}
+
+	/**
+	 * 縮小の閾値となる負荷係数を検査する.
+	 * @param shrinkFactor 縮小の閾値となる負荷係数
+	 * @param loadFactor 負荷係数
+	 * @throws IllegalArgumentException shrinkFactorが[0, loadFactor/2)の範囲外だったとき
+	 */
+	static void checkShrinkFactor(float shrinkFactor, float loadFactor) {
+		if(!(shrinkFactor >= 0 && shrinkFactor < loadFactor / 2)) {
+			throw new IllegalArgumentException("shrinkFactor : "+shrinkFactor);
+		}
+	}
+}
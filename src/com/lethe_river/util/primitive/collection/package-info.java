@@ -1,7 +1,8 @@
 /**
  * プリミティブを扱うコレクションが含まれる.
  *
- * 今のところint, long, byte, char用のみ．必要ができたら作る
+ * Collection, Set, Listはint, long, double, short, byte, char, float用がある．
+ * これらのインタフェースとスケルトン，Array*List, Scatter*Setはcodegen/templatesのテンプレートから生成される．
  *
  * 主なコンセプト
  *
@@ -15,9 +16,20 @@
  * - PrimitiveList
  *   - ByteList
  *     - ArrayByteList
+ *   - CharList
+ *     - ArrayCharList
+ *   - DoubleList
+ *     - ArrayDoubleList
+ *   - FloatList
+ *     - ArrayFloatList
  *   - IntList
  *     - ArrayIntList
+ *     - BlockLinkedIntList
  *     - FrozenArrayIntList
+ *   - LongList
+ *     - ArrayLongList
+ *   - ShortList
+ *     - ArrayShortList
  * - PrimitiveSet
  *   - ByteSet
  *     - BitFieldByteSet
@@ -25,17 +37,46 @@
  *     - ScatterByteSet
  *   - CharSet
  *     - ScatterCharSet
+ *   - DoubleSet
+ *     - ScatterDoubleSet
+ *   - FloatSet
+ *     - ScatterFloatSet
  *   - IntSet
  *     - CuckooHashIntSet
  *     - ScatterIntSet
+ *     - SwissTableIntSet
+ *     - HopscotchIntSet
+ *     - OffHeapIntSet
  *     - FrozenArrayIntSet
  *   - LongSet
  *     - ScatterLongSet
+ *     - BigLongSet
+ *   - ShortSet
+ *     - ScatterShortSet
  * - PrimitiveMap
  *   - IntIntMap
  *     - ScatterIntIntMap
+ *     - ConcurrentScatterIntIntMap
+ *     - CuckooHashIntIntMap
+ *     - HopscotchIntIntMap
+ *     - CompactIntIntMap
+ *     - OffHeapIntIntMap
+ *     - MappedIntIntMap
+ *   - IntLongMap
+ *     - ScatterIntLongMap
+ *   - IntDoubleMap
+ *     - ScatterIntDoubleMap
  *   - LongIntMap
  *     - ScatterLongIntMap
+ *     - OffHeapLongIntMap
+ *   - LongLongMap
+ *     - ScatterLongLongMap
+ *   - LongDoubleMap
+ *     - ScatterLongDoubleMap
+ * - IntObjectMap
+ *   - ScatterIntObjectMap
+ * - LongObjectMap
+ *   - ScatterLongObjectMap
  */
 package com.lethe_river.util.primitive.collection;
 
@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/Consumer.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.function;
 
 import java.util.Objects;
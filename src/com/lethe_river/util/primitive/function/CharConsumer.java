@@ -1,3 +1,4 @@
+// このファイルはcodegen/templates/Consumer.java.templateから生成される．直接編集しないこと．
 package com.lethe_river.util.primitive.function;
 
 import java.util.Objects;
@@ -10,4 +11,4 @@ public interface CharConsumer {
 		Objects.requireNonNull(after);
 		return (char t) -> { accept(t); after.accept(t); };
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+// このファイルはcodegen/templates/Consumer.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.function;
+
+import java.util.Objects;
+
+@FunctionalInterface
+public interface FloatConsumer {
+	void accept(float value);
+
+	default FloatConsumer andThen(FloatConsumer after) {
+		Objects.requireNonNull(after);
+		return (float t) -> { accept(t); after.accept(t); };
+	}
+}
@@ -0,0 +1,7 @@
+// このファイルはcodegen/templates/IndexFunction.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.function;
+
+@FunctionalInterface
+public interface IntToFloatFunction {
+	float applyAsFloat(int value);
+}
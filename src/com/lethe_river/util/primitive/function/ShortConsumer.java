@@ -0,0 +1,14 @@
+// このファイルはcodegen/templates/Consumer.java.templateから生成される．直接編集しないこと．
+package com.lethe_river.util.primitive.function;
+
+import java.util.Objects;
+
+@FunctionalInterface
+public interface ShortConsumer {
+	void accept(short value);
+
+	default ShortConsumer andThen(ShortConsumer after) {
+		Objects.requireNonNull(after);
+		return (short t) -> { accept(t); after.accept(t); };
+	}
+}
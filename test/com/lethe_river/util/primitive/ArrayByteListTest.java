@@ -1,13 +1,18 @@
 package com.lethe_river.util.primitive;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
 
 import com.lethe_river.util.primitive.collection.ArrayByteList;
+import com.lethe_river.util.primitive.collection.ByteSpliterator;
+import com.lethe_river.util.primitive.function.ByteConsumer;
 
 public class ArrayByteListTest {
 	@Test
@@ -18,4 +23,33 @@ public class ArrayByteListTest {
 
 		assertEquals(expected, actual);
 	}
+
+	@Test
+	public void spliteratorTest() {
+		ArrayByteList list = new ArrayByteList();
+		for (int i = 0; i < 1000; i++) {
+			list.add((byte)0);
+		}
+		list.parallelSetAll(i -> (byte)i);
+
+		assertArrayEquals(
+				IntStream.range(0, 1000).map(i -> (byte)i).toArray(),
+				list.parallelStreamSigned().toArray());
+		assertArrayEquals(
+				IntStream.range(0, 1000).map(i -> i & 0xFF).toArray(),
+				list.parallelStreamUnsigned().toArray());
+
+		ByteSpliterator right = list.spliterator();
+		ByteSpliterator left = right.trySplit();
+		assertEquals(500, left.estimateSize());
+		ArrayByteList collected = new ArrayByteList();
+		left.forEachRemaining((ByteConsumer) collected::add);
+		while(right.tryAdvance((ByteConsumer) collected::add));
+		assertEquals(list, collected);
+
+		list.parallelSort();
+		for (int i = 1; i < list.size(); i++) {
+			assertTrue(list.get(i-1) <= list.get(i));
+		}
+	}
 }
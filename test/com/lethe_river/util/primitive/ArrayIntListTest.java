@@ -1,12 +1,20 @@
 package com.lethe_river.util.primitive;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 import org.junit.Test;
 
 import com.lethe_river.util.primitive.collection.ArrayIntList;
+import com.lethe_river.util.primitive.collection.FrozenArrayIntList;
 import com.lethe_river.util.primitive.collection.IntList;
 
 public class ArrayIntListTest {
@@ -21,4 +29,71 @@ public class ArrayIntListTest {
 						ArrayIntList::addAll);
 		assertEquals(expected, actual);
 	}
+
+	@Test
+	public void parallelStreamTest() {
+		ArrayIntList list = new ArrayIntList();
+		for (int i = 0; i < 100000; i++) {
+			list.add(i * 3);
+		}
+
+		assertArrayEquals(
+				IntStream.range(0, 100000).map(i -> i * 3).toArray(),
+				list.parallelStream().toArray());
+		assertEquals(
+				IntStream.range(0, 100000).mapToLong(i -> i * 3).sum(),
+				list.parallelStream().asLongStream().sum());
+
+		IntList frozen = new FrozenArrayIntList(list.toArray());
+		assertArrayEquals(list.toArray(), frozen.parallelStream().toArray());
+	}
+
+	@Test
+	public void frozenSpliteratorTest() {
+		int[] elements = IntStream.range(0, 1000).map(i -> i * 7).toArray();
+		FrozenArrayIntList frozen = new FrozenArrayIntList(elements);
+
+		Spliterator.OfInt right = frozen.spliterator();
+		assertEquals(1000, right.getExactSizeIfKnown());
+		assertTrue(right.hasCharacteristics(Spliterator.SUBSIZED | Spliterator.IMMUTABLE | Spliterator.ORDERED));
+
+		// 二分した前半と後半を順に辿ると元の並びになる
+		Spliterator.OfInt left = right.trySplit();
+		assertEquals(500, left.estimateSize());
+		assertEquals(500, right.estimateSize());
+		ArrayIntList actual = new ArrayIntList();
+		assertTrue(left.tryAdvance((IntConsumer) actual::add));
+		left.forEachRemaining((IntConsumer) actual::add);
+		assertFalse(left.tryAdvance((IntConsumer) actual::add));
+		right.forEachRemaining((IntConsumer) actual::add);
+		assertArrayEquals(elements, actual.toArray());
+
+		// 要素が1つになるまで分割できる
+		Spliterator.OfInt single = new FrozenArrayIntList(42).spliterator();
+		assertNull(single.trySplit());
+		assertEquals(42, StreamSupport.intStream(single, false).sum());
+	}
+
+	@Test
+	public void parallelBulkTest() {
+		ArrayIntList list = new ArrayIntList();
+		for (int i = 0; i < 50000; i++) {
+			list.add(0);
+		}
+
+		list.parallelSetAll(i -> (i * 7919) % 50000);
+		for (int i = 0; i < 50000; i++) {
+			assertEquals((i * 7919) % 50000, list.get(i));
+		}
+
+		list.parallelSort();
+		for (int i = 0; i < 50000; i++) {
+			assertEquals(i, list.get(i));
+		}
+
+		list.parallelPrefix((a, b) -> a + b);
+		for (int i = 0; i < 50000; i++) {
+			assertEquals((int)((long)i * (i + 1) / 2), list.get(i));
+		}
+	}
 }
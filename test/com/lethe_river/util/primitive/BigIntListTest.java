@@ -0,0 +1,103 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.BigIntList;
+import com.lethe_river.util.primitive.collection.IntList;
+
+public class BigIntListTest {
+
+	@Test
+	public void addGetSetTest() {
+		List<Integer> oracle = new ArrayList<>();
+		BigIntList testee = new BigIntList();
+
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 100000; i++) {
+			int v = random.nextInt();
+			int op = random.nextInt(10);
+			if(op < 6 || oracle.isEmpty()) {
+				oracle.add(v);
+				testee.add(v);
+			} else if(op < 8) {
+				int index = random.nextInt(oracle.size());
+				assertEquals(oracle.set(index, v).intValue(), testee.set(index, v));
+			} else {
+				assertEquals(oracle.remove(oracle.size() - 1).intValue(), testee.removeLast());
+			}
+		}
+
+		assertEquals(oracle.size(), testee.size64());
+		for (int i = 0; i < oracle.size(); i++) {
+			assertEquals(oracle.get(i).intValue(), testee.get(i));
+		}
+		assertEquals(oracle, testee.asIntList().boxedView());
+	}
+
+	@Test
+	public void segmentTest() {
+		// セグメントの境界をまたぐ
+		int n = (1 << 24) + 1000;
+		BigIntList testee = new BigIntList();
+		int[] chunk = new int[1 << 20];
+		for (int i = 0; i < n; i += chunk.length) {
+			int length = Math.min(chunk.length, n - i);
+			for (int j = 0; j < length; j++) {
+				chunk[j] = i + j;
+			}
+			testee.addAll(chunk, 0, length);
+		}
+
+		assertEquals(n, testee.size64());
+		assertEquals(1 << 24, testee.get(1 << 24));
+		assertEquals(n - 1, testee.get(n - 1));
+
+		long expected = (long) n * (n - 1) / 2;
+		assertEquals(expected, testee.stream().asLongStream().sum());
+		assertEquals(expected, testee.parallelStream().asLongStream().sum());
+		assertEquals(n, testee.spliterator().estimateSize());
+	}
+
+	@Test
+	public void viewTest() {
+		BigIntList testee = new BigIntList();
+		IntList view = testee.asIntList();
+		for (int i = 0; i < 100; i++) {
+			view.add(i);
+		}
+		assertEquals(100, testee.size64());
+		view.set(3, -3);
+		assertEquals(-3, testee.get(3));
+		view.removeAt(99);
+		assertEquals(99, testee.size64());
+		assertEquals(testee.stream().sum(), view.stream().sum());
+	}
+
+	@Test
+	public void serializeTest() throws IOException, ClassNotFoundException {
+		BigIntList testee = new BigIntList();
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 1000; i++) {
+			testee.add(random.nextInt());
+		}
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			oos.writeObject(testee);
+		}
+		try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			assertEquals(testee, ois.readObject());
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.BigLongSet;
+
+public class BigLongSetTest {
+
+	@Test
+	public void addRemoveTest() {
+		Set<Long> oracle = new HashSet<>();
+		BigLongSet testee = new BigLongSet(0, 0.9f);
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 50000; i++) {
+			long e = random.nextInt(5000) - 2500;
+			if(random.nextInt(3) == 0) {
+				assertEquals(oracle.remove(e), testee.remove(e));
+			} else {
+				assertEquals(oracle.add(e), testee.add(e));
+			}
+		}
+
+		assertEquals(oracle.size(), testee.size64());
+		for (long e = -2500; e < 2500; e++) {
+			assertEquals(oracle.contains(e), testee.contains(e));
+		}
+		assertEquals(oracle, testee.boxedView());
+
+		for(PrimitiveIterator.OfLong i = testee.iterator();i.hasNext();) {
+			long e = i.nextLong();
+			if((e & 3) != 0) {
+				oracle.remove(e);
+				i.remove();
+			}
+		}
+		assertEquals(oracle, testee.boxedView());
+
+		testee.clear();
+		assertEquals(0, testee.size());
+		testee.add(1);
+		assertEquals(1, testee.size());
+	}
+
+	@Test
+	public void spliteratorTest() {
+		// テーブルが複数のセグメントに分かれる
+		int n = 1 << 24;
+		BigLongSet testee = new BigLongSet(n);
+		long expected = 0;
+		for (long i = 0; i < n; i++) {
+			long e = i * 0x9E3779B97F4A7C15L;
+			testee.add(e);
+			expected += e;
+		}
+
+		assertEquals(n, testee.size64());
+		assertEquals(expected, testee.stream().sum());
+		assertEquals(expected, testee.parallelStream().sum());
+		assertEquals(n, testee.parallelStream().count());
+	}
+
+	@Test
+	public void serializeTest() throws IOException, ClassNotFoundException {
+		BigLongSet testee = new BigLongSet();
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 1000; i++) {
+			testee.add(random.nextLong());
+		}
+		testee.add(0);
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			oos.writeObject(testee);
+		}
+		try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			assertEquals(testee, ois.readObject());
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.BlockLinkedIntList;
+import com.lethe_river.util.primitive.collection.IntListIterator;
+
+public class BlockLinkedIntListTest {
+
+	@Test
+	public void insertRemoveTest() {
+		List<Integer> oracle = new ArrayList<>();
+		BlockLinkedIntList testee = new BlockLinkedIntList();
+
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 200000; i++) {
+			int v = random.nextInt();
+			// 前半は増やし，後半は減らす
+			int op = random.nextInt(10) + (i < 100000 ? 0 : 3);
+			if(op < 6 || oracle.isEmpty()) {
+				int index = random.nextInt(oracle.size() + 1);
+				oracle.add(index, v);
+				testee.insert(index, v);
+			} else if(op < 8) {
+				int index = random.nextInt(oracle.size());
+				assertEquals(oracle.set(index, v).intValue(), testee.set(index, v));
+			} else {
+				int index = random.nextInt(oracle.size());
+				assertEquals(oracle.remove(index).intValue(), testee.removeAt(index));
+			}
+		}
+
+		assertEquals(oracle.size(), testee.size());
+		for (int i = 0; i < oracle.size(); i++) {
+			assertEquals(oracle.get(i).intValue(), testee.get(i));
+		}
+		assertEquals(oracle, new ArrayList<>(testee.boxedView()));
+
+		testee.clear();
+		assertEquals(0, testee.size());
+		testee.add(3);
+		assertEquals(3, testee.get(0));
+	}
+
+	@Test
+	public void iteratorTest() {
+		List<Integer> oracle = new ArrayList<>();
+		BlockLinkedIntList testee = new BlockLinkedIntList();
+		for (int i = 0; i < 10000; i++) {
+			oracle.add(i);
+			testee.add(i);
+		}
+
+		Random random = new Random(1145141919810L);
+		ListIterator<Integer> expected = oracle.listIterator(5000);
+		IntListIterator actual = testee.listIterator(5000);
+		for (int i = 0; i < 50000; i++) {
+			int v = random.nextInt();
+			switch(random.nextInt(6)) {
+			case 0:
+			case 1:
+				if(expected.hasNext()) {
+					assertEquals(expected.next().intValue(), actual.nextInt());
+				} else {
+					assertFalse(actual.hasNext());
+				}
+				break;
+			case 2:
+			case 3:
+				if(expected.hasPrevious()) {
+					assertEquals(expected.previous().intValue(), actual.previousInt());
+				} else {
+					assertFalse(actual.hasPrevious());
+				}
+				break;
+			case 4:
+				expected.add(v);
+				actual.add(v);
+				break;
+			default:
+				if(expected.hasNext()) {
+					assertEquals(expected.next().intValue(), actual.nextInt());
+					if((v & 1) == 0) {
+						expected.remove();
+						actual.remove();
+					} else {
+						expected.set(v);
+						actual.set(v);
+					}
+				}
+			}
+			assertEquals(expected.nextIndex(), actual.nextIndex());
+		}
+		assertEquals(oracle, new ArrayList<>(testee.boxedView()));
+	}
+}
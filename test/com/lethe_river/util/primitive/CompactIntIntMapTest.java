@@ -0,0 +1,131 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.CompactIntIntMap;
+import com.lethe_river.util.primitive.collection.IntIntCursor;
+import com.lethe_river.util.primitive.collection.ScatterIntIntMap;
+
+public class CompactIntIntMapTest {
+
+	@Test
+	public void putGetRemoveTest() {
+		Map<Integer, Integer> oracle = new LinkedHashMap<>();
+		CompactIntIntMap testee = new CompactIntIntMap(0);
+
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 20000; i++) {
+			int k = random.nextInt(3000) - 1500;
+			int v = random.nextInt();
+			switch(random.nextInt(4)) {
+			case 0:
+				assertEquals(oracle.remove(k) != null, testee.remove(k));
+				break;
+			case 1:
+				oracle.merge(k, v, (a, b) -> a + 1);
+				testee.merge(k, v, a -> a + 1);
+				break;
+			default:
+				oracle.put(k, v);
+				testee.put(k, v);
+			}
+		}
+
+		assertEquals(oracle.size(), testee.size());
+		for (int k = -1500; k < 1500; k++) {
+			assertEquals(oracle.containsKey(k), testee.containsKey(k));
+			assertEquals(oracle.getOrDefault(k, -1).intValue(), testee.getOrDefault(k, -1));
+		}
+		assertEquals(entriesOf(oracle), entriesOf(testee));
+	}
+
+	@Test
+	public void insertionOrderTest() {
+		Map<Integer, Integer> oracle = new LinkedHashMap<>();
+		CompactIntIntMap testee = new CompactIntIntMap();
+
+		// 0も他のkeyと同じく挿入した位置に並ぶ
+		for (int i = 10; i >= -10; i--) {
+			oracle.put(i, i);
+			testee.put(i, i);
+		}
+		for (int i = -10; i <= 10; i += 3) {
+			oracle.remove(i);
+			testee.remove(i);
+		}
+		oracle.put(5, 0);
+		testee.put(5, 0);
+		oracle.put(-10, 1);
+		testee.put(-10, 1);
+
+		assertEquals(entriesOf(oracle), entriesOf(testee));
+		assertEquals(new ArrayList<>(oracle.keySet()), new ArrayList<>(testee.keys().boxedView()));
+
+		testee.trimToSize();
+		assertEquals(entriesOf(oracle), entriesOf(testee));
+	}
+
+	@Test
+	public void cursorTest() {
+		Map<Integer, Integer> oracle = new LinkedHashMap<>();
+		CompactIntIntMap testee = new CompactIntIntMap();
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 5000; i++) {
+			int k = random.nextInt();
+			oracle.put(k, i);
+			testee.put(k, i);
+		}
+		oracle.put(0, -1);
+		testee.put(0, -1);
+
+		IntIntCursor cursor = testee.entryCursor();
+		while(cursor.next()) {
+			assertEquals(oracle.get(cursor.key()).intValue(), cursor.value());
+			if((cursor.value() & 1) == 0) {
+				oracle.remove(cursor.key());
+				cursor.remove();
+			} else {
+				oracle.put(cursor.key(), cursor.value() * 2);
+				cursor.setValue(cursor.value() * 2);
+			}
+		}
+		assertEquals(entriesOf(oracle), entriesOf(testee));
+
+		ScatterIntIntMap expected = new ScatterIntIntMap();
+		oracle.forEach(expected::put);
+		assertTrue(expected.equals(testee));
+		assertTrue(testee.equals(expected));
+
+		testee.clear();
+		assertEquals(0, testee.size());
+		assertFalse(testee.entryCursor().next());
+	}
+
+	private static List<Integer> entriesOf(Map<Integer, Integer> map) {
+		List<Integer> result = new ArrayList<>();
+		map.forEach((k, v) -> {
+			result.add(k);
+			result.add(v);
+		});
+		return result;
+	}
+
+	private static List<Integer> entriesOf(CompactIntIntMap map) {
+		List<Integer> result = new ArrayList<>();
+		for(IntIntCursor cursor = map.entryCursor();cursor.next();) {
+			result.add(cursor.key());
+			result.add(cursor.value());
+		}
+		return result;
+	}
+}
@@ -0,0 +1,158 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.ConcurrentScatterIntIntMap;
+import com.lethe_river.util.primitive.collection.IntIntCursor;
+
+public class ConcurrentScatterIntIntMapTest {
+
+	@Test
+	public void putGetTest() {
+		Map<Integer, Integer> oracle = new HashMap<>();
+		ConcurrentScatterIntIntMap testee = new ConcurrentScatterIntIntMap(2);
+
+		Random random = new Random(1145141919810L);
+
+		for (int i = 0; i < 20000; i++) {
+			int k = random.nextInt(3000) - 1000;
+			switch(random.nextInt(3)) {
+			case 0:
+				int v = random.nextInt();
+				oracle.put(k, v);
+				testee.put(k, v);
+				break;
+			case 1:
+				oracle.merge(k, 1, (a, b) -> a + 1);
+				testee.merge(k, 1, a -> a + 1);
+				break;
+			default:
+				assertEquals(
+						oracle.remove(k) != null,
+						testee.remove(k));
+			}
+		}
+
+		assertEquals(oracle.size(), testee.size());
+		assertEquals(
+				oracle.keySet(),
+				testee.keys().boxedView());
+
+		for (int i = -1000; i < 2000; i++) {
+			Integer expected = oracle.get(i);
+			assertEquals(
+					expected == null ? -1 : (int)expected,
+					testee.getOrDefault(i, -1));
+		}
+	}
+
+	@Test
+	public void cursorTest() {
+		Map<Integer, Integer> oracle = new HashMap<>();
+		ConcurrentScatterIntIntMap testee = new ConcurrentScatterIntIntMap();
+
+		Random random = new Random(1145141919810L);
+
+		for (int i = 0; i < 1000; i++) {
+			int k = random.nextInt(500)*7;
+			int v = random.nextInt(100);
+			oracle.put(k, v);
+			testee.put(k, v);
+		}
+
+		IntIntCursor cursor = testee.entryCursor();
+		while(cursor.next()) {
+			assertEquals(
+					(int)oracle.get(cursor.key()),
+					cursor.value());
+			if(cursor.value() % 2 == 0) {
+				oracle.remove(cursor.key());
+				cursor.remove();
+			} else {
+				oracle.put(cursor.key(), 1);
+				cursor.setValue(1);
+			}
+		}
+
+		assertEquals(oracle.size(), testee.size());
+		for(int i : oracle.keySet()) {
+			assertEquals(1, testee.get(i));
+		}
+	}
+
+	@Test
+	public void concurrentMergeTest() throws InterruptedException {
+		ConcurrentScatterIntIntMap testee = new ConcurrentScatterIntIntMap(2);
+		int threads = 4;
+		int count = 50000;
+
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			Thread worker = new Thread(() -> {
+				for (int i = 0; i < count; i++) {
+					if(i % 2 == 0) {
+						testee.merge(i % 5000, 1, v -> v + 1);
+					} else {
+						testee.incrementAndGet(i % 5000);
+					}
+				}
+			});
+			workers.add(worker);
+			worker.start();
+		}
+		for(Thread worker : workers) {
+			worker.join();
+		}
+
+		assertEquals(5000, testee.size());
+		for (int i = 0; i < 5000; i++) {
+			assertEquals(threads * count / 5000, testee.get(i));
+		}
+	}
+
+	@Test
+	public void concurrentPutGetTest() throws InterruptedException {
+		for (int round = 0; round < 20; round++) {
+			ConcurrentScatterIntIntMap testee = new ConcurrentScatterIntIntMap(2);
+			int threads = 8;
+			int count = 20000;
+
+			List<Thread> workers = new ArrayList<>();
+			List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+			for (int t = 0; t < threads; t++) {
+				int offset = t;
+				Thread worker = new Thread(() -> {
+					try {
+						for (int i = 1; i <= count; i++) {
+							int k = i * threads + offset;
+							testee.put(k, -k);
+							assertEquals(-k, testee.get(k));
+						}
+					} catch (Throwable e) {
+						errors.add(e);
+					}
+				});
+				workers.add(worker);
+				worker.start();
+			}
+			for(Thread worker : workers) {
+				worker.join();
+			}
+
+			assertEquals(Collections.emptyList(), errors);
+			assertEquals(threads * count, testee.size());
+			for (int k = threads; k < (count + 1) * threads; k++) {
+				assertEquals(-k, testee.get(k));
+			}
+		}
+	}
+}
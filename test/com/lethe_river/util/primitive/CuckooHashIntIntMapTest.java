@@ -0,0 +1,95 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.CuckooCyclePolicy;
+import com.lethe_river.util.primitive.collection.CuckooHashIntIntMap;
+import com.lethe_river.util.primitive.collection.IntIntCursor;
+import com.lethe_river.util.primitive.collection.ScatterIntIntMap;
+
+public class CuckooHashIntIntMapTest {
+
+	@Test
+	public void putGetRemoveTest() {
+		for(CuckooCyclePolicy policy : CuckooCyclePolicy.values()) {
+			Map<Integer, Integer> oracle = new HashMap<>();
+			CuckooHashIntIntMap testee = new CuckooHashIntIntMap(0, policy);
+
+			Random random = new Random(1145141919810L);
+			for (int i = 0; i < 20000; i++) {
+				int k = random.nextInt(3000) - 1500;
+				int v = random.nextInt();
+				switch(random.nextInt(4)) {
+				case 0:
+					assertEquals(oracle.remove(k) != null, testee.remove(k));
+					break;
+				case 1:
+					oracle.merge(k, v, (a, b) -> a + 1);
+					testee.merge(k, v, a -> a + 1);
+					break;
+				default:
+					oracle.put(k, v);
+					testee.put(k, v);
+				}
+			}
+
+			assertEquals(oracle.size(), testee.size());
+			for (int k = -1500; k < 1500; k++) {
+				assertEquals(oracle.containsKey(k), testee.containsKey(k));
+				assertEquals(oracle.getOrDefault(k, -1).intValue(), testee.getOrDefault(k, -1));
+			}
+			assertEquals(oracle.keySet(), testee.keys().boxedView());
+		}
+	}
+
+	@Test
+	public void cursorTest() {
+		Map<Integer, Integer> oracle = new HashMap<>();
+		CuckooHashIntIntMap testee = new CuckooHashIntIntMap();
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 5000; i++) {
+			int k = random.nextInt();
+			oracle.put(k, i);
+			testee.put(k, i);
+		}
+		oracle.put(0, -1);
+		testee.put(0, -1);
+
+		IntIntCursor cursor = testee.entryCursor();
+		while(cursor.next()) {
+			assertEquals(oracle.get(cursor.key()).intValue(), cursor.value());
+			if((cursor.value() & 1) == 0) {
+				oracle.remove(cursor.key());
+				cursor.remove();
+			} else {
+				oracle.put(cursor.key(), cursor.value() * 2);
+				cursor.setValue(cursor.value() * 2);
+			}
+		}
+
+		ScatterIntIntMap expected = new ScatterIntIntMap();
+		oracle.forEach(expected::put);
+		assertTrue(expected.equals(testee));
+		assertTrue(testee.equals(expected));
+		assertEquals(expected.hashCode(), testee.hashCode());
+	}
+
+	@Test
+	public void counterTest() {
+		CuckooHashIntIntMap testee = new CuckooHashIntIntMap(0, CuckooCyclePolicy.RESIZE);
+		for (int i = 0; i < 100000; i++) {
+			testee.incrementAndGet(i % 1000);
+		}
+		assertEquals(1000, testee.size());
+		for (int k = 0; k < 1000; k++) {
+			assertEquals(100, testee.get(k));
+		}
+	}
+}
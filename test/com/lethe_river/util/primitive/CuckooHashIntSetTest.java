@@ -0,0 +1,81 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.CuckooHashIntSet;
+
+public class CuckooHashIntSetTest {
+
+	@Test
+	public void addRemoveTest() {
+		Set<Integer> oracle = new HashSet<>();
+		CuckooHashIntSet testee = new CuckooHashIntSet();
+		Random random = new Random(1145141919810L);
+		for (int j = 0; j < 10; j++) {
+			for (int i = 0; i < 1000; i++) {
+				int e = random.nextInt(1000) * 3 - 1500;
+				assertEquals(
+						oracle.add(e),
+						testee.add(e));
+			}
+			for (int i = 0; i < 1000; i++) {
+				int e = random.nextInt(3000) - 1500;
+				assertEquals(
+						oracle.remove(e),
+						testee.remove(e));
+			}
+			assertEquals(oracle.size(), testee.size());
+			for (int e = -1500; e < 1500; e++) {
+				assertEquals(oracle.contains(e), testee.contains(e));
+			}
+		}
+		assertEquals(oracle, testee.boxedView());
+	}
+
+	@Test
+	public void iteratorRemoveTest() {
+		Set<Integer> oracle = new HashSet<>();
+		CuckooHashIntSet testee = new CuckooHashIntSet(0);
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 5000; i++) {
+			int e = random.nextInt();
+			oracle.add(e);
+			testee.add(e);
+		}
+		oracle.add(0);
+		testee.add(0);
+
+		for(PrimitiveIterator.OfInt i = testee.iterator();i.hasNext();) {
+			int e = i.nextInt();
+			assertTrue(oracle.contains(e));
+			if((e & 1) == 0) {
+				i.remove();
+				oracle.remove(e);
+			}
+		}
+		assertEquals(oracle, testee.boxedView());
+		assertFalse(testee.contains(0));
+	}
+
+	@Test
+	public void sequentialKeysTest() {
+		CuckooHashIntSet testee = new CuckooHashIntSet(100000);
+		for (int i = 1; i <= 100000; i++) {
+			assertTrue(testee.add(i));
+		}
+		assertEquals(100000, testee.size());
+		for (int i = 1; i <= 100000; i++) {
+			assertTrue(testee.contains(i));
+		}
+		assertFalse(testee.contains(100001));
+	}
+}
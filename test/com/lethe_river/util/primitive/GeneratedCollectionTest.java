@@ -0,0 +1,49 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.DoubleSet;
+import com.lethe_river.util.primitive.collection.FloatSet;
+import com.lethe_river.util.primitive.collection.IntSet;
+import com.lethe_river.util.primitive.collection.ShortCollection;
+import com.lethe_river.util.primitive.collection.ShortSet;
+
+public class GeneratedCollectionTest {
+
+	@Test
+	public void containsAllTest() {
+		IntSet testee = IntSet.of(1, 2, 3);
+
+		assertTrue(testee.containsAll(1, 3));
+		assertFalse(testee.containsAll(1, 4));
+		assertTrue(testee.containsAll(IntSet.of(2, 3)));
+		assertFalse(testee.containsAll(IntSet.of(3, 4)));
+	}
+
+	@Test
+	public void toStringTest() {
+		assertEquals("{}", IntSet.empty().toString());
+		assertEquals("{}", DoubleSet.empty().toString());
+	}
+
+	@Test
+	public void emptyTest() {
+		assertEquals(0, DoubleSet.empty().size());
+		assertEquals(0, FloatSet.empty().size());
+		assertEquals(0, ShortSet.empty().size());
+		assertEquals(0, ShortCollection.empty().size());
+
+		assertEquals(Collections.emptySet(), DoubleSet.empty().boxedView());
+		assertEquals(DoubleSet.empty(), DoubleSet.empty());
+		assertEquals(0, FloatSet.empty().hashCode());
+		assertFalse(FloatSet.empty().iterator().hasNext());
+		assertFalse(ShortSet.empty().contains((short)0));
+		assertEquals(0L, DoubleSet.empty().stream().count());
+	}
+}
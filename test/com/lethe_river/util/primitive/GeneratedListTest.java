@@ -0,0 +1,132 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.ArrayCharList;
+import com.lethe_river.util.primitive.collection.ArrayDoubleList;
+import com.lethe_river.util.primitive.collection.ArrayFloatList;
+import com.lethe_river.util.primitive.collection.ArrayIntList;
+import com.lethe_river.util.primitive.collection.ArrayLongList;
+import com.lethe_river.util.primitive.collection.ArrayShortList;
+import com.lethe_river.util.primitive.collection.DoubleList;
+import com.lethe_river.util.primitive.collection.LongList;
+import com.lethe_river.util.primitive.collection.ShortSpliterator;
+
+public class GeneratedListTest {
+
+	@Test
+	public void insertTest() {
+		ArrayIntList testee = ArrayIntList.of(1, 2, 3);
+		testee.insert(1, 9);
+		testee.insertAll(0, new int[] {7, 8}, 0, 2);
+		testee.insertAll(testee.size(), ArrayIntList.of(5));
+
+		assertArrayEquals(new int[] {7, 8, 1, 9, 2, 3, 5}, testee.toArray());
+		assertEquals(9, testee.removeAt(3));
+		assertArrayEquals(new int[] {7, 8, 1, 2, 3, 5}, testee.toArray());
+	}
+
+	@Test
+	public void subListTest() {
+		ArrayLongList testee = ArrayLongList.of(0L, 1L, 2L, 3L, 4L);
+		LongList sub = testee.subList(1, 4).subList(1, 3);
+
+		assertEquals(2L, sub.get(0));
+		assertEquals(3L, sub.get(1));
+		sub.insert(2, 10L);
+		assertArrayEquals(new long[] {0L, 1L, 2L, 3L, 10L, 4L}, testee.toArray());
+	}
+
+	@Test
+	public void doubleListTest() {
+		ArrayDoubleList testee = ArrayDoubleList.of(1.0, Double.NaN, -0.0);
+
+		assertEquals(1, testee.indexOf(Double.NaN));
+		assertEquals(-1, testee.indexOf(0.0));
+		assertEquals(2, testee.lastIndexOf(-0.0));
+		assertEquals(ArrayDoubleList.of(1.0, Double.NaN, -0.0), testee);
+		assertEquals(Arrays.asList(1.0, Double.NaN, -0.0), testee.boxedView());
+		assertEquals(ArrayDoubleList.of(1.0, Double.NaN, -0.0).hashCode(), testee.hashCode());
+		assertEquals(0, DoubleList.empty().size());
+	}
+
+	@Test
+	public void boxedViewTest() {
+		ArrayCharList testee = ArrayCharList.of('a', 'b', 'c');
+		List<Character> boxed = testee.boxedView();
+
+		assertTrue(boxed instanceof RandomAccess);
+		boxed.add('d');
+		boxed.add(0, 'z');
+		boxed.addAll(1, Arrays.asList('x', 'y'));
+		boxed.remove(Character.valueOf('b'));
+
+		assertEquals(ArrayCharList.of('z', 'x', 'y', 'a', 'c', 'd'), testee);
+		assertEquals(Arrays.asList('x', 'y'), boxed.subList(1, 3));
+	}
+
+	@Test
+	public void spliteratorTest() {
+		ArrayShortList testee = new ArrayShortList();
+		for (int i = 0; i < 1000; i++) {
+			testee.add((short)(i - 500));
+		}
+
+		ShortSpliterator right = testee.spliterator();
+		ShortSpliterator left = right.trySplit();
+		assertNotNull(left);
+		assertEquals(1000, left.estimateSize() + right.estimateSize());
+		assertEquals(-500 * 2 + 999, testee.parallelStreamSigned().min().getAsInt() + testee.parallelStreamSigned().max().getAsInt());
+		assertEquals(65535, testee.parallelStreamUnsigned().max().getAsInt());
+	}
+
+	@Test
+	public void codecTest() throws IOException {
+		ArrayFloatList testee = new ArrayFloatList();
+		for (int i = 0; i < 100000; i++) {
+			testee.add(i * 0.5f);
+		}
+		testee.add(Float.NaN);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(WritableByteChannel out = Channels.newChannel(bytes)) {
+			testee.writeTo(out);
+		}
+		try(ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertEquals(testee, ArrayFloatList.readFrom(in));
+		}
+	}
+
+	@Test
+	public void serializationTest() throws IOException, ClassNotFoundException {
+		ArrayShortList testee = ArrayShortList.of((short)1, (short)-1, Short.MAX_VALUE);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(testee);
+		}
+		try(ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			Object read = in.readObject();
+			assertEquals(testee, read);
+			assertFalse(read == testee);
+		}
+	}
+}
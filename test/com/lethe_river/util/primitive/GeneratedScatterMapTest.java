@@ -0,0 +1,238 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.LongDoubleCursor;
+import com.lethe_river.util.primitive.collection.LongLongCursor;
+import com.lethe_river.util.primitive.collection.ScatterIntDoubleMap;
+import com.lethe_river.util.primitive.collection.ScatterIntLongMap;
+import com.lethe_river.util.primitive.collection.ScatterLongDoubleMap;
+import com.lethe_river.util.primitive.collection.ScatterLongLongMap;
+import com.lethe_river.util.primitive.collection.TableSizing;
+
+public class GeneratedScatterMapTest {
+
+	@Test
+	public void intLongTest() {
+		Map<Integer, Long> oracle = new HashMap<>();
+		ScatterIntLongMap testee = new ScatterIntLongMap(11, 0.75f);
+
+		Random random = new Random(1145141919810L);
+
+		for (int i = 0; i < 1000; i++) {
+			int k = random.nextInt(300)-150;
+			long v = random.nextLong();
+			if(random.nextInt(4) == 0) {
+				oracle.remove(k);
+				testee.remove(k);
+			} else {
+				oracle.put(k, v);
+				testee.put(k, v);
+			}
+		}
+
+		assertEquals(oracle.size(), testee.size());
+		for (int k = -150; k < 150; k++) {
+			assertEquals(oracle.containsKey(k), testee.containsKey(k));
+			if(oracle.containsKey(k)) {
+				assertEquals(oracle.get(k).longValue(), testee.get(k));
+			}
+		}
+	}
+
+	@Test
+	public void longLongTest() {
+		Map<Long, Long> oracle = new HashMap<>();
+		ScatterLongLongMap testee = new ScatterLongLongMap(0, 0.75f, TableSizing.POWER_OF_TWO);
+
+		Random random = new Random(1145141919810L);
+
+		for (int i = 0; i < 1000; i++) {
+			long k = (random.nextInt(300)-150) * 0x1_0000_0000L;
+			long v = random.nextLong();
+			oracle.merge(k, v, Long::sum);
+			testee.merge(k, v, old -> old+v);
+		}
+
+		assertEquals(oracle.size(), testee.size());
+		Map<Long, Long> actual = new HashMap<>();
+		LongLongCursor cursor = testee.entryCursor();
+		while(cursor.next()) {
+			actual.put(cursor.key(), cursor.value());
+		}
+		assertEquals(oracle, actual);
+	}
+
+	@Test
+	public void parallelStreamTest() {
+		Map<Long, Long> oracle = new HashMap<>();
+		ScatterLongLongMap testee = new ScatterLongLongMap(0, 0.75f);
+
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 100000; i++) {
+			long k = random.nextLong();
+			oracle.put(k, (long)i);
+			testee.put(k, i);
+		}
+		oracle.put(0L, -1L);
+		testee.put(0L, -1L);
+
+		assertEquals(oracle.keySet(), testee.keys().parallelStream().boxed().collect(Collectors.toSet()));
+		assertEquals(
+				oracle.values().stream().mapToLong(v -> v).sum(),
+				testee.values().parallelStream().sum());
+	}
+
+	@Test
+	public void intDoubleTest() {
+		Map<Integer, Double> oracle = new HashMap<>();
+		ScatterIntDoubleMap testee = new ScatterIntDoubleMap(11, 0.75f);
+
+		Random random = new Random(1145141919810L);
+
+		for (int i = 0; i < 1000; i++) {
+			int k = random.nextInt(300)-150;
+			double v = random.nextGaussian();
+			if(random.nextInt(4) == 0) {
+				oracle.remove(k);
+				testee.remove(k);
+			} else {
+				oracle.merge(k, v, Double::sum);
+				testee.merge(k, v, old -> old+v);
+			}
+		}
+
+		assertEquals(oracle.size(), testee.size());
+		for (int k = -150; k < 150; k++) {
+			assertEquals(oracle.containsKey(k), testee.containsKey(k));
+			if(oracle.containsKey(k)) {
+				assertEquals(oracle.get(k), testee.get(k), 0.0);
+			}
+		}
+		assertEquals(
+				oracle.values().stream().mapToDouble(v -> v).sum(),
+				testee.values().stream().sum(), 1e-9);
+	}
+
+	@Test
+	public void doubleValueEqualityTest() {
+		// 像はDouble#equalsと同じくビット列で比べる
+		ScatterIntDoubleMap testee = new ScatterIntDoubleMap();
+		testee.put(0, Double.NaN);
+		testee.put(1, -0.0);
+
+		assertTrue(testee.containsValue(Double.NaN));
+		assertTrue(testee.containsValue(-0.0));
+		assertFalse(testee.containsValue(0.0));
+
+		ScatterIntDoubleMap same = new ScatterIntDoubleMap();
+		same.put(1, -0.0);
+		same.put(0, Double.NaN);
+		assertEquals(testee, same);
+		assertEquals(testee.hashCode(), same.hashCode());
+
+		same.put(1, 0.0);
+		assertNotEquals(testee, same);
+
+		// 像の値によらず元がなければ異なる
+		ScatterIntDoubleMap large = new ScatterIntDoubleMap();
+		large.put(0, 1e20);
+		ScatterIntDoubleMap other = new ScatterIntDoubleMap();
+		other.put(1, 1e20);
+		assertNotEquals(large, other);
+	}
+
+	@Test
+	public void longDoubleCodecTest() throws IOException {
+		ScatterLongDoubleMap map = new ScatterLongDoubleMap(0, 0.75f, TableSizing.POWER_OF_TWO);
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 10000; i++) {
+			map.put(random.nextLong(), random.nextDouble());
+		}
+		map.put(0L, Double.NaN);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(WritableByteChannel out = Channels.newChannel(bytes)) {
+			map.writeTo(out);
+		}
+		try(ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()))) {
+			ScatterLongDoubleMap read = ScatterLongDoubleMap.readFrom(in);
+			assertEquals(map, read);
+
+			Map<Long, Double> expected = new HashMap<>();
+			for(LongDoubleCursor cursor = map.entryCursor();cursor.next();) {
+				expected.put(cursor.key(), cursor.value());
+			}
+			Map<Long, Double> actual = new HashMap<>();
+			for(LongDoubleCursor cursor = read.entryCursor();cursor.next();) {
+				actual.put(cursor.key(), cursor.value());
+			}
+			assertEquals(expected, actual);
+		}
+	}
+
+	@Test
+	public void batchTest() {
+		Map<Integer, Long> oracle = new HashMap<>();
+		ScatterIntLongMap testee = new ScatterIntLongMap(11, 0.75f);
+		Random random = new Random(1145141919810L);
+
+		int[] keys = new int[1000];
+		long[] values = new long[1000];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = random.nextInt(600)-300;
+			values[i] = random.nextLong();
+			oracle.put(keys[i], values[i]);
+		}
+		testee.putAll(keys, values, 0, keys.length);
+		assertEquals(oracle.size(), testee.size());
+
+		int[] queries = new int[700];
+		long[] expected = new long[queries.length];
+		for (int i = 0; i < queries.length; i++) {
+			queries[i] = i-350;
+			expected[i] = oracle.getOrDefault(queries[i], -1L);
+		}
+		long[] actual = new long[queries.length];
+		testee.getAll(queries, 0, queries.length, actual, -1L);
+		assertArrayEquals(expected, actual);
+
+		long[] mask = new long[(queries.length+63)>>>6];
+		assertEquals(oracle.size(), testee.containsKeys(queries, 0, queries.length, mask));
+		for (int i = 0; i < queries.length; i++) {
+			assertEquals(oracle.containsKey(queries[i]), (mask[i>>>6] & (1L << i)) != 0);
+		}
+	}
+
+	@Test
+	public void longDoubleBatchTest() {
+		ScatterLongDoubleMap testee = new ScatterLongDoubleMap(0, 0.75f, TableSizing.POWER_OF_TWO);
+		long[] keys = {0L, 16L, 32L, 0L, 48L, 16L};
+		double[] values = {1.0, 2.0, 3.0, 4.0, Double.NaN, -0.0};
+		testee.putAll(keys, values, 1, 5);
+
+		double[] actual = new double[4];
+		testee.getAll(new long[] {0L, 16L, 48L, 64L}, 0, 4, actual, 9.0);
+		assertArrayEquals(new double[] {4.0, -0.0, Double.NaN, 9.0}, actual, 0.0);
+		assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(testee.get(16L)));
+		assertEquals(4, testee.size());
+	}
+}
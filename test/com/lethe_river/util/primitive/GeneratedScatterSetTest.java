@@ -0,0 +1,182 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.ByteIterator;
+import com.lethe_river.util.primitive.collection.ScatterByteSet;
+import com.lethe_river.util.primitive.collection.ScatterCharSet;
+import com.lethe_river.util.primitive.collection.ScatterDoubleSet;
+import com.lethe_river.util.primitive.collection.ScatterFloatSet;
+import com.lethe_river.util.primitive.collection.ScatterLongSet;
+import com.lethe_river.util.primitive.collection.ScatterShortSet;
+import com.lethe_river.util.primitive.collection.ShortIterator;
+import com.lethe_river.util.primitive.collection.TableSizing;
+
+public class GeneratedScatterSetTest {
+
+	@Test
+	public void doubleEqualityTest() {
+		ScatterDoubleSet testee = new ScatterDoubleSet();
+
+		assertTrue(testee.add(0.0));
+		assertTrue(testee.add(-0.0));
+		assertTrue(testee.add(Double.NaN));
+		assertFalse(testee.add(Double.NaN));
+		assertEquals(3, testee.size());
+
+		assertTrue(testee.remove(-0.0));
+		assertTrue(testee.contains(0.0));
+		assertFalse(testee.contains(-0.0));
+		assertTrue(testee.contains(Double.NaN));
+		assertEquals(2, testee.stream().count());
+	}
+
+	@Test
+	public void byteTest() {
+		ScatterByteSet testee = new ScatterByteSet();
+		for (int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i++) {
+			assertTrue(testee.add((byte)i));
+		}
+		assertEquals(256, testee.size());
+		assertEquals(255 * 256 / 2, testee.streamUnsigned().sum());
+		assertEquals(-128, testee.parallelStreamSigned().sum());
+
+		ByteIterator i = testee.iterator();
+		while(i.hasNext()) {
+			if((i.nextByte() & 1) == 0) {
+				i.remove();
+			}
+		}
+		assertEquals(128, testee.size());
+		for (int j = Byte.MIN_VALUE; j <= Byte.MAX_VALUE; j++) {
+			assertEquals((j & 1) != 0, testee.contains((byte)j));
+		}
+	}
+
+	@Test
+	public void spliteratorTest() {
+		ScatterCharSet chars = new ScatterCharSet(0, 0.75f, TableSizing.POWER_OF_TWO);
+		ScatterShortSet shorts = new ScatterShortSet();
+		for (int i = 0; i < 1000; i++) {
+			chars.add((char)(i * 7));
+			shorts.add((short)-i);
+		}
+
+		assertEquals(1000, chars.parallelStream().distinct().count());
+		assertEquals(7 * 999 * 1000 / 2, chars.parallelStream().sum());
+		assertEquals(-999 * 1000 / 2, shorts.parallelStreamSigned().sum());
+		assertEquals(65536 * 999 - 999 * 1000 / 2, shorts.parallelStreamUnsigned().sum());
+	}
+
+	@Test
+	public void containsMaskTest() {
+		ScatterLongSet testee = new ScatterLongSet();
+		Set<Long> expected = new HashSet<>();
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 1000; i++) {
+			long l = random.nextInt(2000);
+			testee.add(l);
+			expected.add(l);
+		}
+
+		long[] in = new long[2000];
+		for (int i = 0; i < in.length; i++) {
+			in[i] = i;
+		}
+		long[] mask = new long[(in.length+63)>>>6];
+		int count = testee.containsMask(in, mask);
+
+		assertEquals(expected.size(), count);
+		for (int i = 0; i < in.length; i++) {
+			assertEquals(expected.contains(in[i]), (mask[i>>>6] & (1L << i)) != 0);
+		}
+	}
+
+	@Test
+	public void codecTest() throws IOException {
+		ScatterFloatSet testee = new ScatterFloatSet();
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 10000; i++) {
+			testee.add(random.nextFloat());
+		}
+		testee.add(0.0f);
+		testee.add(Float.NaN);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(WritableByteChannel out = Channels.newChannel(bytes)) {
+			testee.writeTo(out);
+		}
+		try(ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()))) {
+			ScatterFloatSet read = ScatterFloatSet.readFrom(in);
+			assertEquals(testee, read);
+			float[] expected = testee.toArray();
+			float[] actual = read.toArray();
+			assertArrayEquals(expected, actual, 0.0f);
+		}
+	}
+
+	@Test
+	public void iteratorRemoveWrapAroundTest() {
+		Random random = new Random(1145141919810L);
+		for (int round = 0; round < 1000; round++) {
+			// 小さな配列を密に埋め，末尾から先頭へ回り込む要素を作る
+			ScatterShortSet testee = new ScatterShortSet(16, 0.9f, TableSizing.POWER_OF_TWO);
+			Set<Short> expected = new HashSet<>();
+			for (int i = 0; i < 14; i++) {
+				short s = (short) random.nextInt(1000);
+				testee.add(s);
+				expected.add(s);
+			}
+
+			Set<Short> original = new HashSet<>(expected);
+			Set<Short> visited = new HashSet<>();
+			ShortIterator i = testee.iterator();
+			while(i.hasNext()) {
+				short s = i.nextShort();
+				assertTrue(visited.add(s));
+				if(random.nextBoolean()) {
+					i.remove();
+					expected.remove(s);
+				}
+			}
+
+			assertEquals(original, visited);
+			assertEquals(expected.size(), testee.size());
+			assertEquals(expected, testee.boxedView());
+			for(short s : original) {
+				assertEquals(expected.contains(s), testee.contains(s));
+			}
+		}
+	}
+
+	@Test
+	public void clearTest() {
+		ScatterDoubleSet testee = new ScatterDoubleSet(16, 0.9f, TableSizing.POWER_OF_TWO);
+		for (int i = 0; i < 14; i++) {
+			testee.add(i * 0.5);
+		}
+		testee.add(0.0);
+
+		testee.clear();
+		assertEquals(0, testee.size());
+		assertFalse(testee.iterator().hasNext());
+		for (int i = 0; i < 14; i++) {
+			assertFalse(testee.contains(i * 0.5));
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.HopscotchIntSet;
+
+public class HopscotchIntSetTest {
+
+	@Test
+	public void addRemoveTest() {
+		Set<Integer> oracle = new HashSet<>();
+		HopscotchIntSet testee = new HopscotchIntSet();
+		Random random = new Random(1145141919810L);
+		for (int j = 0; j < 10; j++) {
+			for (int i = 0; i < 1000; i++) {
+				int e = random.nextInt(1000) * 3 - 1500;
+				assertEquals(
+						oracle.add(e),
+						testee.add(e));
+			}
+			for (int i = 0; i < 1000; i++) {
+				int e = random.nextInt(3000) - 1500;
+				assertEquals(
+						oracle.remove(e),
+						testee.remove(e));
+			}
+			assertEquals(oracle.size(), testee.size());
+			for (int e = -1500; e < 1500; e++) {
+				assertEquals(oracle.contains(e), testee.contains(e));
+			}
+		}
+		assertEquals(oracle, testee.boxedView());
+	}
+
+	@Test
+	public void highLoadTest() {
+		// 下位ビットの偏ったハッシュでも近傍内に収まる
+		HopscotchIntSet testee = new HopscotchIntSet(0, 0.95f, i -> i * 0x9E3779B1);
+		for (int i = 1; i <= 100000; i++) {
+			assertTrue(testee.add(i));
+		}
+		assertEquals(100000, testee.size());
+		for (int i = 1; i <= 100000; i++) {
+			assertTrue(testee.contains(i));
+		}
+
+		int count = 0;
+		for(PrimitiveIterator.OfInt i = testee.iterator();i.hasNext();) {
+			if(i.nextInt() % 2 == 0) {
+				i.remove();
+			}
+			count++;
+		}
+		assertEquals(100000, count);
+		assertEquals(50000, testee.size());
+		for (int i = 1; i <= 100000; i++) {
+			assertEquals(i % 2 != 0, testee.contains(i));
+		}
+	}
+}
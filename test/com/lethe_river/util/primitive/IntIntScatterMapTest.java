@@ -1,16 +1,21 @@
 package com.lethe_river.util.primitive;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 
 import com.lethe_river.util.primitive.collection.IntIntCursor;
 import com.lethe_river.util.primitive.collection.ScatterIntIntMap;
+import com.lethe_river.util.primitive.collection.TableSizing;
 
 public class IntIntScatterMapTest {
 
@@ -103,6 +108,329 @@ public class IntIntScatterMapTest {
 		}
 	}
 
+	@Test
+	public void powerOfTwoTest() {
+		Map<Integer, Integer> oracle = new HashMap<>();
+		ScatterIntIntMap testee = new ScatterIntIntMap(10, 0.75f, TableSizing.POWER_OF_TWO);
+
+		Random random = new Random(1145141919810L);
+
+		for (int i = 0; i < 1000; i++) {
+			int k = random.nextInt(300)*16;
+			int v = random.nextInt(100);
+			oracle.put(k, v);
+			testee.put(k, v);
+		}
+
+		for (int i = 0; i < 500; i++) {
+			int k = random.nextInt(300)*16;
+			oracle.remove(k);
+			testee.remove(k);
+		}
+
+		assertEquals(
+				oracle.keySet(),
+				testee.keys().boxedView());
+
+		for(int i : oracle.keySet()) {
+			assertEquals(
+					(int)oracle.get(i),
+					testee.get(i));
+		}
+	}
+
+	@Test
+	public void hashFunctionTest() {
+		Map<Integer, Integer> oracle = new HashMap<>();
+		// 衝突の多いハッシュ関数
+		ScatterIntIntMap testee = new ScatterIntIntMap(11, 0.75f, TableSizing.PRIME, i -> i & 0xf);
+
+		Random random = new Random(1145141919810L);
+
+		for (int i = 0; i < 500; i++) {
+			int k = random.nextInt(1000);
+			int v = random.nextInt(100);
+			oracle.put(k, v);
+			testee.put(k, v);
+		}
+
+		for (int i = 0; i < 500; i++) {
+			int k = random.nextInt(1000);
+			oracle.remove(k);
+			testee.remove(k);
+		}
+
+		for (int i = 0; i < 1000; i++) {
+			Integer expected = oracle.get(i);
+			assertEquals(
+					expected == null ? -1 : (int)expected,
+					testee.getOrDefault(i, -1));
+		}
+	}
+
+	@Test
+	public void cursorRemoveTest() {
+		Map<Integer, Integer> oracle = new HashMap<>();
+		ScatterIntIntMap testee = new ScatterIntIntMap(11, 0.9f);
+
+		Random random = new Random(1145141919810L);
+
+		for (int i = 0; i < 1000; i++) {
+			int k = random.nextInt(500)*7;
+			int v = random.nextInt(100);
+			oracle.put(k, v);
+			testee.put(k, v);
+		}
+
+		int expectedCount = oracle.size();
+		int count = 0;
+		IntIntCursor cursor = testee.entryCursor();
+		while(cursor.next()) {
+			count++;
+			assertEquals(
+					(int)oracle.get(cursor.key()),
+					cursor.value());
+			if(cursor.value() % 2 == 0) {
+				oracle.remove(cursor.key());
+				cursor.remove();
+			}
+		}
+		assertEquals(expectedCount, count);
+
+		assertEquals(
+				oracle.keySet(),
+				testee.keys().boxedView());
+
+		for (int i = 0; i < 3500; i++) {
+			assertEquals(
+					oracle.containsKey(i),
+					testee.containsKey(i));
+		}
+	}
+
+	@Test
+	public void incrementalRehashTest() {
+		Map<Integer, Integer> oracle = new HashMap<>();
+		ScatterIntIntMap testee = new ScatterIntIntMap(11, 0.75f, TableSizing.PRIME, HashSupport.randomizedIntIntHash(), true);
+
+		Random random = new Random(1145141919810L);
+
+		// 移行中の更新と検索を混ぜる
+		for (int i = 0; i < 20000; i++) {
+			int k = random.nextInt(5000);
+			switch(random.nextInt(3)) {
+			case 0:
+			case 1:
+				int v = random.nextInt(100);
+				oracle.put(k, v);
+				testee.put(k, v);
+				break;
+			default:
+				assertEquals(
+						oracle.remove(k) != null,
+						testee.remove(k));
+			}
+			Integer expected = oracle.get(k);
+			assertEquals(
+					expected == null ? -1 : (int)expected,
+					testee.getOrDefault(k, -1));
+			assertEquals(oracle.size(), testee.size());
+		}
+
+		assertEquals(
+				oracle.keySet(),
+				testee.keys().boxedView());
+
+		for(int i : oracle.keySet()) {
+			assertEquals(
+					(int)oracle.get(i),
+					testee.get(i));
+		}
+	}
+
+	@Test
+	public void shrinkTest() {
+		Map<Integer, Integer> oracle = new HashMap<>();
+		ScatterIntIntMap testee = new ScatterIntIntMap(11, 0.75f, TableSizing.POWER_OF_TWO, HashSupport.randomizedIntIntHash(), true);
+		testee.setShrinkFactor(0.2f);
+
+		Random random = new Random(1145141919810L);
+
+		// 増やしては減らすことを繰り返し，拡張と縮小を交互に起こす
+		for (int round = 0; round < 4; round++) {
+			for (int i = 0; i < 5000; i++) {
+				int k = random.nextInt(10000);
+				oracle.put(k, i);
+				testee.put(k, i);
+			}
+			for (int i = 0; i < 20000; i++) {
+				int k = random.nextInt(10000);
+				assertEquals(
+						oracle.remove(k) != null,
+						testee.remove(k));
+			}
+			assertEquals(oracle.size(), testee.size());
+			for(int k : oracle.keySet()) {
+				assertEquals((int)oracle.get(k), testee.get(k));
+			}
+		}
+
+		testee.put(0, 1);
+		oracle.put(0, 1);
+		testee.trimToSize();
+		assertEquals(oracle.keySet(), testee.keys().boxedView());
+		for(int k : oracle.keySet()) {
+			assertEquals((int)oracle.get(k), testee.get(k));
+		}
+
+		for(int k : oracle.keySet()) {
+			testee.remove(k);
+		}
+		testee.trimToSize();
+		assertEquals(0, testee.size());
+		testee.put(3, 4);
+		assertEquals(4, testee.get(3));
+	}
+
+	@Test
+	public void parallelStreamTest() {
+		Map<Integer, Integer> oracle = new HashMap<>();
+		ScatterIntIntMap testee = new ScatterIntIntMap(11, 0.75f, TableSizing.PRIME, HashSupport.randomizedIntIntHash(), true);
+
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 100000; i++) {
+			int k = random.nextInt();
+			oracle.put(k, i);
+			testee.put(k, i);
+		}
+		oracle.put(0, -1);
+		testee.put(0, -1);
+
+		// 段階的リハッシュの移行中でも全ての要素を辿る
+		assertEquals(oracle.keySet(), testee.keys().parallelStream().boxed().collect(Collectors.toSet()));
+		assertEquals(
+				oracle.values().stream().mapToLong(v -> v).sum(),
+				testee.values().parallelStream().asLongStream().sum());
+		assertEquals(oracle.size(), testee.values().parallelStream().count());
+	}
+
+	@Test
+	public void counterTest() {
+		Map<Integer, Integer> oracle = new HashMap<>();
+		ScatterIntIntMap testee = new ScatterIntIntMap(11, 0.75f, TableSizing.PRIME, HashSupport.randomizedIntIntHash(), true);
+
+		Random random = new Random(1145141919810L);
+
+		for (int i = 0; i < 10000; i++) {
+			int k = random.nextInt(2000) - 1000;
+			int d = random.nextInt(10);
+			int expected = oracle.getOrDefault(k, 0);
+			oracle.put(k, expected + d);
+			switch(random.nextInt(3)) {
+			case 0:
+				assertEquals(expected, testee.getAndAdd(k, d));
+				break;
+			case 1:
+				assertEquals(expected + d, testee.addAndGet(k, d));
+				break;
+			default:
+				testee.addTo(k, d);
+			}
+		}
+		assertEquals(oracle.size(), testee.size());
+
+		for(int i : oracle.keySet()) {
+			assertEquals(
+					(int)oracle.get(i)+1,
+					testee.incrementAndGet(i));
+		}
+	}
+
+	@Test
+	public void slotTest() {
+		Map<Integer, Integer> oracle = new HashMap<>();
+		ScatterIntIntMap testee = new ScatterIntIntMap(11, 0.75f, TableSizing.PRIME, HashSupport.randomizedIntIntHash(), true);
+
+		Random random = new Random(1145141919810L);
+
+		for (int i = 0; i < 10000; i++) {
+			int k = random.nextInt(2000) - 1000;
+			if(random.nextBoolean()) {
+				long slot = testee.insertSlot(k);
+				int v = testee.valueAt(slot) * 3 + 1;
+				testee.setValueAt(slot, v);
+				assertTrue(testee.isValidSlot(slot));
+				oracle.put(k, oracle.getOrDefault(k, 0) * 3 + 1);
+			} else {
+				long slot = testee.findSlot(k);
+				assertEquals(oracle.containsKey(k), slot != -1);
+				if(slot != -1) {
+					assertEquals((int)oracle.get(k), testee.valueAt(slot));
+					testee.setValueAt(slot, k);
+					oracle.put(k, k);
+				}
+			}
+		}
+		assertEquals(oracle.size(), testee.size());
+		for(int i : oracle.keySet()) {
+			assertEquals(
+					(int)oracle.get(i),
+					testee.get(i));
+		}
+
+		long slot = testee.findSlot(oracle.keySet().iterator().next());
+		testee.put(100000, 1);
+		assertFalse(testee.isValidSlot(slot));
+		try {
+			testee.valueAt(slot);
+			fail();
+		} catch(ConcurrentModificationException e) {
+			// OK
+		}
+	}
+
+	@Test
+	public void batchTest() {
+		Map<Integer, Integer> oracle = new HashMap<>();
+		ScatterIntIntMap testee = new ScatterIntIntMap();
+
+		Random random = new Random(1145141919810L);
+
+		int[] keys = new int[1000];
+		int[] values = new int[1000];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = random.nextInt(2000) - 500;
+			values[i] = random.nextInt();
+			oracle.put(keys[i], values[i]);
+		}
+		testee.putAll(keys, values, 0, keys.length);
+		assertEquals(oracle.size(), testee.size());
+
+		int[] queries = new int[1000];
+		for (int i = 0; i < queries.length; i++) {
+			queries[i] = random.nextInt(3000) - 1000;
+		}
+		int[] out = new int[1000];
+		testee.getAll(queries, 10, 980, out, -1);
+		long[] mask = new long[16];
+		int count = testee.containsKeys(queries, 10, 980, mask);
+
+		int expectedCount = 0;
+		for (int i = 10; i < 990; i++) {
+			Integer expected = oracle.get(queries[i]);
+			assertEquals(
+					expected == null ? -1 : (int)expected,
+					out[i]);
+			assertEquals(
+					expected != null,
+					(mask[(i-10)>>>6] & (1L << (i-10))) != 0);
+			if(expected != null) {
+				expectedCount++;
+			}
+		}
+		assertEquals(expectedCount, count);
+	}
+
 	@Test
 	public void entriesTest() {
 		ScatterIntIntMap map = new ScatterIntIntMap();
@@ -0,0 +1,130 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.lethe_river.util.primitive.collection.IntIntCursor;
+import com.lethe_river.util.primitive.collection.MappedIntIntMap;
+import com.lethe_river.util.primitive.collection.OffHeapIntIntMap;
+import com.lethe_river.util.primitive.collection.ScatterIntIntMap;
+
+public class MappedIntIntMapTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void writeOpenTest() throws IOException {
+		Map<Integer, Integer> oracle = new HashMap<>();
+		ScatterIntIntMap source = new ScatterIntIntMap();
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 20000; i++) {
+			int k = random.nextInt(50000) - 25000;
+			oracle.put(k, i);
+			source.put(k, i);
+		}
+		oracle.put(0, -1);
+		source.put(0, -1);
+
+		Path path = folder.newFile().toPath();
+		MappedIntIntMap.write(source, path);
+		try(MappedIntIntMap testee = MappedIntIntMap.open(path)) {
+			assertEquals(oracle.size(), testee.size());
+			for (int k = -25000; k < 25000; k++) {
+				assertEquals(oracle.containsKey(k), testee.containsKey(k));
+				assertEquals(oracle.getOrDefault(k, -2).intValue(), testee.getOrDefault(k, -2));
+			}
+			assertEquals(oracle.keySet(), testee.keys().boxedView());
+			assertTrue(testee.equals(source));
+			assertTrue(source.equals(testee));
+			assertEquals(source.hashCode(), testee.hashCode());
+
+			IntIntCursor cursor = testee.entryCursor();
+			while(cursor.next()) {
+				assertEquals(oracle.get(cursor.key()).intValue(), cursor.value());
+			}
+		}
+	}
+
+	@Test
+	public void readOnlyTest() throws IOException {
+		ScatterIntIntMap source = new ScatterIntIntMap();
+		source.put(1, 2);
+
+		Path path = folder.newFile().toPath();
+		MappedIntIntMap.write(source, path);
+		MappedIntIntMap testee = MappedIntIntMap.open(path);
+		assertFalse(testee.containsKey(0));
+		try {
+			testee.put(3, 4);
+			throw new AssertionError();
+		} catch(UnsupportedOperationException e) {
+			// OK
+		}
+		testee.close();
+		try {
+			testee.get(1);
+			throw new AssertionError();
+		} catch(IllegalStateException e) {
+			// OK
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void invalidFileTest() throws IOException {
+		Path path = folder.newFile().toPath();
+		Files.write(path, new byte[100]);
+		MappedIntIntMap.open(path).close();
+	}
+
+	@Test(expected = IOException.class)
+	public void fullTableTest() throws IOException {
+		ScatterIntIntMap source = new ScatterIntIntMap();
+		for (int i = 1; i <= 10; i++) {
+			source.put(i, i);
+		}
+		Path path = folder.newFile().toPath();
+		MappedIntIntMap.write(source, path);
+
+		// エントリの数をテーブルの長さに書き換える
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer length = ByteBuffer.allocate(8);
+			channel.read(length, 24);
+			length.flip();
+			channel.write(length, 32);
+		}
+		MappedIntIntMap.open(path).close();
+	}
+
+	@Test
+	public void offHeapSourceTest() throws IOException {
+		Path path = folder.newFile().toPath();
+		try(OffHeapIntIntMap source = new OffHeapIntIntMap()) {
+			for (int i = 0; i < 1000; i++) {
+				source.put(i * 3, -i);
+			}
+			MappedIntIntMap.write(source, path);
+		}
+		try(MappedIntIntMap testee = MappedIntIntMap.open(path)) {
+			assertEquals(1000, testee.size64());
+			for (int i = 0; i < 1000; i++) {
+				assertEquals(-i, testee.get(i * 3));
+			}
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.IntIntCursor;
+import com.lethe_river.util.primitive.collection.LongIntCursor;
+import com.lethe_river.util.primitive.collection.OffHeapIntIntMap;
+import com.lethe_river.util.primitive.collection.OffHeapLongIntMap;
+import com.lethe_river.util.primitive.collection.ScatterIntIntMap;
+import com.lethe_river.util.primitive.collection.ScatterLongIntMap;
+
+public class OffHeapIntIntMapTest {
+
+	@Test
+	public void putGetRemoveTest() {
+		Map<Integer, Integer> oracle = new HashMap<>();
+		try(OffHeapIntIntMap testee = new OffHeapIntIntMap(0, 0.9f)) {
+			Random random = new Random(1145141919810L);
+			for (int i = 0; i < 20000; i++) {
+				int k = random.nextInt(3000) - 1500;
+				int v = random.nextInt();
+				switch(random.nextInt(4)) {
+				case 0:
+					assertEquals(oracle.remove(k) != null, testee.remove(k));
+					break;
+				case 1:
+					oracle.merge(k, v, (a, b) -> a + 1);
+					testee.merge(k, v, a -> a + 1);
+					break;
+				default:
+					oracle.put(k, v);
+					testee.put(k, v);
+				}
+			}
+
+			assertEquals(oracle.size(), testee.size());
+			assertEquals(oracle.size(), testee.size64());
+			for (int k = -1500; k < 1500; k++) {
+				assertEquals(oracle.containsKey(k), testee.containsKey(k));
+				assertEquals(oracle.getOrDefault(k, -1).intValue(), testee.getOrDefault(k, -1));
+			}
+			assertEquals(oracle.keySet(), testee.keys().boxedView());
+		}
+	}
+
+	@Test
+	public void cursorTest() {
+		Map<Integer, Integer> oracle = new HashMap<>();
+		try(OffHeapIntIntMap testee = new OffHeapIntIntMap()) {
+			Random random = new Random(1145141919810L);
+			for (int i = 0; i < 5000; i++) {
+				int k = random.nextInt();
+				oracle.put(k, i);
+				testee.put(k, i);
+			}
+			oracle.put(0, -1);
+			testee.put(0, -1);
+
+			IntIntCursor cursor = testee.entryCursor();
+			while(cursor.next()) {
+				assertEquals(oracle.get(cursor.key()).intValue(), cursor.value());
+				if((cursor.value() & 1) == 0) {
+					oracle.remove(cursor.key());
+					cursor.remove();
+				} else {
+					oracle.put(cursor.key(), cursor.value() * 2);
+					cursor.setValue(cursor.value() * 2);
+				}
+			}
+
+			ScatterIntIntMap expected = new ScatterIntIntMap();
+			oracle.forEach(expected::put);
+			assertTrue(expected.equals(testee));
+			assertTrue(testee.equals(expected));
+			assertEquals(expected.hashCode(), testee.hashCode());
+		}
+	}
+
+	@Test
+	public void longKeyTest() {
+		Map<Long, Integer> oracle = new HashMap<>();
+		try(OffHeapLongIntMap testee = new OffHeapLongIntMap()) {
+			Random random = new Random(1145141919810L);
+			for (int i = 0; i < 20000; i++) {
+				long k = random.nextInt(3000) * 0x1_0000_0001L;
+				int v = random.nextInt();
+				if(random.nextInt(4) == 0) {
+					assertEquals(oracle.remove(k) != null, testee.remove(k));
+				} else {
+					oracle.put(k, v);
+					testee.put(k, v);
+				}
+			}
+			assertEquals(oracle.keySet(), testee.keys().boxedView());
+
+			LongIntCursor cursor = testee.entryCursor();
+			while(cursor.next()) {
+				if((cursor.value() & 1) == 0) {
+					oracle.remove(cursor.key());
+					cursor.remove();
+				}
+			}
+			ScatterLongIntMap expected = new ScatterLongIntMap();
+			oracle.forEach(expected::put);
+			assertTrue(expected.equals(testee));
+			assertTrue(testee.equals(expected));
+		}
+	}
+
+	@Test
+	public void closeTest() throws IOException, ClassNotFoundException {
+		OffHeapIntIntMap testee = new OffHeapIntIntMap();
+		for (int i = 0; i < 1000; i++) {
+			testee.put(i * 7, i);
+		}
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			oos.writeObject(testee);
+		}
+		try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+				OffHeapIntIntMap copy = (OffHeapIntIntMap) ois.readObject()) {
+			assertEquals(testee, copy);
+		}
+
+		testee.close();
+		testee.close();
+		assertEquals(0, testee.size());
+		try {
+			testee.get(7);
+			throw new AssertionError();
+		} catch(IllegalStateException e) {
+			// OK
+		}
+	}
+
+	@Test
+	public void closedNullKeyTest() {
+		OffHeapLongIntMap testee = new OffHeapLongIntMap();
+		testee.put(0L, 1);
+		testee.close();
+
+		Runnable[] operations = {
+				() -> testee.containsKey(0L),
+				() -> testee.remove(0L),
+				() -> testee.get(0L),
+				() -> testee.getOrDefault(0L, -1),
+				() -> testee.containsValue(1),
+		};
+		for(Runnable operation : operations) {
+			try {
+				operation.run();
+				throw new AssertionError();
+			} catch(IllegalStateException e) {
+				// OK
+			}
+		}
+	}
+}
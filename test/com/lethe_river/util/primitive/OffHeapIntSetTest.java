@@ -0,0 +1,51 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.OffHeapIntSet;
+
+public class OffHeapIntSetTest {
+
+	@Test
+	public void addRemoveTest() {
+		Set<Integer> oracle = new HashSet<>();
+		try(OffHeapIntSet testee = new OffHeapIntSet(0, 0.9f)) {
+			Random random = new Random(1145141919810L);
+			for (int i = 0; i < 50000; i++) {
+				int e = random.nextInt(5000) - 2500;
+				if(random.nextInt(3) == 0) {
+					assertEquals(oracle.remove(e), testee.remove(e));
+				} else {
+					assertEquals(oracle.add(e), testee.add(e));
+				}
+			}
+
+			assertEquals(oracle.size(), testee.size64());
+			for (int e = -2500; e < 2500; e++) {
+				assertEquals(oracle.contains(e), testee.contains(e));
+			}
+			assertEquals(oracle, testee.boxedView());
+
+			for(PrimitiveIterator.OfInt i = testee.iterator();i.hasNext();) {
+				int e = i.nextInt();
+				if((e & 3) != 0) {
+					oracle.remove(e);
+					i.remove();
+				}
+			}
+			assertEquals(oracle, testee.boxedView());
+
+			testee.clear();
+			assertEquals(0, testee.size());
+			testee.add(1);
+			assertEquals(1, testee.size());
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.ArrayIntList;
+import com.lethe_river.util.primitive.collection.ScatterIntIntMap;
+import com.lethe_river.util.primitive.collection.ScatterIntSet;
+import com.lethe_river.util.primitive.collection.ScatterLongIntMap;
+import com.lethe_river.util.primitive.collection.ScatterLongSet;
+import com.lethe_river.util.primitive.collection.TableSizing;
+
+public class PrimitiveCodecTest {
+
+	@Test
+	public void roundTripTest() throws IOException {
+		Random random = new Random(1145141919810L);
+		ArrayIntList list = new ArrayIntList();
+		ScatterIntSet intSet = new ScatterIntSet(0, 0.75f, TableSizing.POWER_OF_TWO);
+		ScatterLongSet longSet = new ScatterLongSet();
+		IntIntHash hash = i -> HashSupport.thomasMueller(i);
+		ScatterIntIntMap intIntMap = new ScatterIntIntMap(0, 0.75f, TableSizing.PRIME, hash, true);
+		ScatterLongIntMap longIntMap = new ScatterLongIntMap();
+		for (int i = 0; i < 10000; i++) {
+			int e = random.nextInt(20000) - 10000;
+			list.add(e);
+			intSet.add(e);
+			longSet.add(e * 0x100000001L);
+			intIntMap.put(e, i);
+			longIntMap.put(e * 0x100000001L, i);
+		}
+		intSet.remove(0);
+		intIntMap.put(0, -1);
+
+		// 1つのチャネルに続けて書き出す
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(WritableByteChannel out = Channels.newChannel(bytes)) {
+			list.writeTo(out);
+			intSet.writeTo(out);
+			longSet.writeTo(out);
+			intIntMap.writeTo(out);
+			longIntMap.writeTo(out);
+			new ArrayIntList().writeTo(out);
+			new ScatterIntSet().writeTo(out);
+		}
+
+		try(ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertEquals(list, ArrayIntList.readFrom(in));
+			assertEquals(intSet, ScatterIntSet.readFrom(in));
+			assertEquals(longSet, ScatterLongSet.readFrom(in));
+			// 同じハッシュ関数ならテーブルをそのまま使う
+			ScatterIntIntMap readIntIntMap = ScatterIntIntMap.readFrom(in, hash);
+			assertEquals(intIntMap, readIntIntMap);
+			readIntIntMap.put(12345, 6789);
+			assertEquals(6789, readIntIntMap.get(12345));
+			// 異なるハッシュ関数なら配置し直す
+			ScatterLongIntMap readLongIntMap = ScatterLongIntMap.readFrom(in);
+			assertEquals(longIntMap, readLongIntMap);
+			for (int e = -10000; e < 10000; e++) {
+				assertEquals(longIntMap.containsKey(e * 0x100000001L), readLongIntMap.containsKey(e * 0x100000001L));
+			}
+			assertEquals(0, ArrayIntList.readFrom(in).size());
+			assertEquals(0, ScatterIntSet.readFrom(in).size());
+			assertEquals(-1, in.read(ByteBuffer.allocate(1)));
+		}
+	}
+
+	@Test
+	public void invalidTest() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(WritableByteChannel out = Channels.newChannel(bytes)) {
+			ArrayIntList.of(1, 2, 3).writeTo(out);
+		}
+		try(ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()))) {
+			ScatterIntSet.readFrom(in);
+			fail();
+		} catch(IOException e) {
+			// 種類が異なる
+		}
+
+		byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+		try(ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(truncated))) {
+			ArrayIntList.readFrom(in);
+			fail();
+		} catch(IOException e) {
+			// 途中で終わっている
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.IntObjectCursor;
+import com.lethe_river.util.primitive.collection.ScatterIntObjectMap;
+import com.lethe_river.util.primitive.collection.ScatterLongObjectMap;
+
+public class ScatterIntObjectMapTest {
+
+	@Test
+	public void putGetRemoveTest() {
+		Map<Integer, String> oracle = new HashMap<>();
+		ScatterIntObjectMap<String> testee = new ScatterIntObjectMap<>(11, 0.75f);
+
+		Random random = new Random(1145141919810L);
+
+		for (int i = 0; i < 1000; i++) {
+			int k = random.nextInt(300)-150;
+			String v = "v"+random.nextInt(100);
+			if(random.nextInt(4) == 0) {
+				assertEquals(oracle.remove(k), testee.remove(k));
+			} else {
+				assertEquals(oracle.put(k, v), testee.put(k, v));
+			}
+		}
+
+		assertEquals(oracle.size(), testee.size());
+		for (int k = -150; k < 150; k++) {
+			assertEquals(oracle.get(k), testee.get(k));
+			assertEquals(oracle.containsKey(k), testee.containsKey(k));
+		}
+		assertEquals(oracle.keySet(), testee.keys().boxedView());
+		assertEquals(new ArrayList<>(oracle.values()).size(), new ArrayList<>(testee.values()).size());
+		assertTrue(oracle.values().containsAll(testee.values()));
+
+		Map<Integer, String> actual = new HashMap<>();
+		IntObjectCursor<String> cursor = testee.entryCursor();
+		while(cursor.next()) {
+			actual.put(cursor.key(), cursor.value());
+		}
+		assertEquals(oracle, actual);
+	}
+
+	@Test
+	public void computeIfAbsentTest() {
+		ScatterLongObjectMap<List<Long>> testee = new ScatterLongObjectMap<>();
+
+		for (long i = 0; i < 100; i++) {
+			testee.computeIfAbsent(i % 7, k -> new ArrayList<>()).add(i);
+		}
+		assertEquals(7, testee.size());
+		for (long k = 0; k < 7; k++) {
+			for(long e : testee.get(k)) {
+				assertEquals(k, e % 7);
+			}
+		}
+		List<Long> zero = testee.get(0L);
+		assertSame(zero, testee.computeIfAbsent(0L, k -> new ArrayList<>()));
+
+		assertNull(testee.computeIfAbsent(100L, k -> null));
+		assertFalse(testee.containsKey(100L));
+	}
+
+	@Test
+	public void valuesRemoveTest() {
+		ScatterIntObjectMap<String> testee = new ScatterIntObjectMap<>();
+		for (int i = 0; i < 100; i++) {
+			testee.put(i, Integer.toString(i % 2));
+		}
+		for(Iterator<String> i = testee.values().iterator();i.hasNext();) {
+			if(i.next().equals("0")) {
+				i.remove();
+			}
+		}
+		assertEquals(50, testee.size());
+		assertFalse(testee.containsKey(0));
+		assertFalse(testee.containsValue("0"));
+		assertTrue(testee.containsValue("1"));
+	}
+
+	@Test
+	public void parallelStreamTest() {
+		ScatterIntObjectMap<String> testee = new ScatterIntObjectMap<>();
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			testee.put(i, "v"+i);
+			expected.add("v"+i);
+		}
+
+		List<String> actual = testee.values().parallelStream().sorted().collect(Collectors.toList());
+		expected.sort(null);
+		assertEquals(expected, actual);
+		assertEquals(49995000L, testee.keys().parallelStream().asLongStream().sum());
+	}
+
+	@Test
+	public void serializeTest() throws IOException, ClassNotFoundException {
+		ScatterIntObjectMap<String> testee = new ScatterIntObjectMap<>();
+		for (int i = 0; i < 100; i++) {
+			testee.put(i*3, "v"+i);
+		}
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			oos.writeObject(testee);
+		}
+		Object copy;
+		try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			copy = ois.readObject();
+		}
+		assertEquals(testee, copy);
+		assertEquals(testee.hashCode(), copy.hashCode());
+	}
+}
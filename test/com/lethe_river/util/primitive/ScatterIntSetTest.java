@@ -10,16 +10,20 @@ import java.io.FileNotFoundException;
 import java.io.PrintStream;
 //import java.io.PrintWriter;
 import java.util.HashSet;
+import java.util.PrimitiveIterator;
 import java.util.Random;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 
 import com.lethe_river.util.primitive.collection.ArrayIntList;
 import com.lethe_river.util.primitive.collection.IntSet;
 import com.lethe_river.util.primitive.collection.ScatterIntSet;
+import com.lethe_river.util.primitive.collection.TableSizing;
 
 //import net.sourceforge.sizeof.SizeOf;
 
@@ -37,6 +41,74 @@ public class ScatterIntSetTest {
 		assertTrue(testee.stream().allMatch(i -> oracle.contains(i)));
 	}
 
+	@Test
+	public void shrinkTest() {
+		Set<Integer> oracle = new HashSet<>();
+		ScatterIntSet testee = new ScatterIntSet(11, 0.75f, TableSizing.PRIME);
+		testee.setShrinkFactor(0.1f);
+
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 5000; i++) {
+			int e = random.nextInt(20000);
+			oracle.add(e);
+			testee.add(e);
+		}
+
+		// イテレータによる削除の途中では縮小しない
+		PrimitiveIterator.OfInt it = testee.iterator();
+		while(it.hasNext()) {
+			int i = it.nextInt();
+			if(i % 8 != 0) {
+				it.remove();
+				oracle.remove(i);
+			}
+		}
+		assertEquals(oracle, testee.boxedView());
+
+		for(int i : oracle.toArray(new Integer[0])) {
+			if(i % 16 != 0) {
+				assertTrue(testee.remove(i));
+				oracle.remove(i);
+			}
+		}
+		assertEquals(oracle, testee.boxedView());
+
+		testee.trimToSize();
+		assertEquals(oracle, testee.boxedView());
+		for(int i : oracle) {
+			assertTrue(testee.contains(i));
+		}
+	}
+
+	@Test
+	public void spliteratorTest() {
+		Set<Integer> oracle = new HashSet<>();
+		ScatterIntSet testee = new ScatterIntSet(0, 0.75f, TableSizing.POWER_OF_TWO);
+
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 100000; i++) {
+			int e = random.nextInt(1000000) - 500000;
+			oracle.add(e);
+			testee.add(e);
+		}
+		oracle.add(0);
+		testee.add(0);
+
+		assertEquals(oracle, testee.parallelStream().boxed().collect(Collectors.toSet()));
+		assertEquals(oracle.size(), testee.parallelStream().count());
+		assertEquals(
+				oracle.stream().mapToLong(i -> i).sum(),
+				testee.parallelStream().asLongStream().sum());
+
+		// 分割した範囲はそれぞれ重複なく要素を受け持つ
+		Spliterator.OfInt right = testee.spliterator();
+		Spliterator.OfInt left = right.trySplit();
+		Set<Integer> seen = new HashSet<>();
+		left.forEachRemaining((IntConsumer) i -> assertTrue(seen.add(i)));
+		while(right.tryAdvance((IntConsumer) i -> assertTrue(seen.add(i))));
+		assertEquals(oracle, seen);
+	}
+
 	@Test
 	public void boxedTest() {
 		Set<Integer> oracle = new HashSet<>();
@@ -65,6 +137,34 @@ public class ScatterIntSetTest {
 		}
 	}
 
+	@Test
+	public void containsMaskTest() {
+		Set<Integer> oracle = new HashSet<>();
+		ScatterIntSet testee = new ScatterIntSet();
+
+		addSome(oracle, testee);
+
+		Random random = new Random(1145141919810L);
+		int[] in = new int[200];
+		for (int i = 0; i < in.length; i++) {
+			in[i] = random.nextInt(150);
+		}
+		long[] mask = new long[4];
+		int count = testee.containsMask(in, mask);
+
+		int expectedCount = 0;
+		for (int i = 0; i < in.length; i++) {
+			boolean expected = oracle.contains(in[i]);
+			if(expected) {
+				expectedCount++;
+			}
+			assertEquals(
+					expected,
+					(mask[i>>>6] & (1L << i)) != 0);
+		}
+		assertEquals(expectedCount, count);
+	}
+
 	@Test
 	public void removeTest() {
 		Set<Integer> oracle = new HashSet<>();
@@ -89,6 +189,26 @@ public class ScatterIntSetTest {
 		assertEquals(oracle, testee.boxedView());
 	}
 
+	@Test
+	public void powerOfTwoTest() {
+		Set<Integer> oracle = new HashSet<>();
+		ScatterIntSet testee = new ScatterIntSet(10, 0.75f, TableSizing.POWER_OF_TWO);
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 1000; i++) {
+			int e = random.nextInt(1000) * 64;
+			oracle.add(e);
+			testee.add(e);
+		}
+		for (int i = 0; i < 1000; i++) {
+			int e = random.nextInt(1000) * 64;
+			assertEquals(
+					oracle.remove(e),
+					testee.remove(e));
+		}
+		assertEquals(oracle.size(), testee.size());
+		assertEquals(oracle, testee.boxedView());
+	}
+
 //	@Test
 //	public void sizeTest() throws FileNotFoundException {
 //		PrintWriter pw = new PrintWriter(new File("C:\\home\\log.txt"));
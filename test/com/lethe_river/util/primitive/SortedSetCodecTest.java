@@ -0,0 +1,197 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.AbstractLongSet;
+import com.lethe_river.util.primitive.collection.EmptySet;
+import com.lethe_river.util.primitive.collection.FrozenArrayIntSet;
+import com.lethe_river.util.primitive.collection.IntSortedSet;
+import com.lethe_river.util.primitive.collection.LongSortedSet;
+import com.lethe_river.util.primitive.collection.SortedSetCodec;
+
+public class SortedSetCodecTest {
+
+	@Test
+	public void intSetTest() throws IOException {
+		Random random = new Random(1145141919810L);
+		Set<Integer> dense = new HashSet<>();
+		Set<Integer> sparse = new HashSet<>();
+		for (int i = 0; i < 10000; i++) {
+			dense.add(random.nextInt(30000) - 15000);
+			sparse.add(random.nextInt());
+		}
+		sparse.add(Integer.MIN_VALUE);
+		sparse.add(Integer.MAX_VALUE);
+		IntSortedSet[] sets = {
+				FrozenArrayIntSet.of(dense),
+				FrozenArrayIntSet.of(sparse),
+				FrozenArrayIntSet.of(),
+				FrozenArrayIntSet.of(-1),
+				FrozenArrayIntSet.of(dense).subSet(-100, 100)};
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(WritableByteChannel out = Channels.newChannel(bytes)) {
+			for(IntSortedSet set : sets) {
+				SortedSetCodec.writeTo(set, out, false);
+				SortedSetCodec.writeTo(set, out, true);
+			}
+		}
+		// 密な集合は1要素あたり1バイト程度に収まる
+		assertTrue(bytes.size() < 10000 * 4 * 2);
+
+		try(ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()))) {
+			for(IntSortedSet set : sets) {
+				assertEquals(set, SortedSetCodec.readIntSet(in));
+				PrimitiveIterator.OfInt expected = set.iterator();
+				PrimitiveIterator.OfInt actual = SortedSetCodec.intIterator(in);
+				while(expected.hasNext()) {
+					assertTrue(actual.hasNext());
+					assertEquals(expected.nextInt(), actual.nextInt());
+				}
+				assertFalse(actual.hasNext());
+			}
+		}
+	}
+
+	@Test
+	public void longSetTest() throws IOException {
+		Random random = new Random(1145141919810L);
+		TreeSet<Long> elements = new TreeSet<>();
+		for (int i = 0; i < 1000; i++) {
+			elements.add(random.nextLong());
+			elements.add(1L << 40 | i * 3);
+		}
+		elements.add(Long.MIN_VALUE);
+		elements.add(Long.MAX_VALUE);
+
+		for(boolean bitPacking : new boolean[] {false, true}) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try(WritableByteChannel out = Channels.newChannel(bytes)) {
+				SortedSetCodec.writeTo(new TreeLongSet(elements), out, bitPacking);
+				SortedSetCodec.writeTo(EmptySet.ofLong(), out, bitPacking);
+			}
+			try(ReadableByteChannel in = Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()))) {
+				PrimitiveIterator.OfLong actual = SortedSetCodec.longIterator(in);
+				for(long l : elements) {
+					assertEquals(l, actual.nextLong());
+				}
+				assertFalse(actual.hasNext());
+				assertFalse(SortedSetCodec.longIterator(in).hasNext());
+			}
+		}
+	}
+
+	@Test
+	public void serializeTest() throws IOException, ClassNotFoundException {
+		FrozenArrayIntSet set = FrozenArrayIntSet.of(-3, 1, 5, 9);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+			oos.writeObject(set);
+			oos.writeObject("end");
+		}
+		try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertEquals(set, ois.readObject());
+			assertEquals("end", ois.readObject());
+		}
+	}
+
+	@Test
+	public void serializedFormCompatibilityTest() throws IOException, ClassNotFoundException {
+		// コーデック追加前に直列化したFrozenArrayIntSet.of(-3, 1, 5, 9)
+		byte[] old = Base64.getDecoder().decode(
+				"rO0ABXNyADtjb20ubGV0aGVfcml2ZXIudXRpbC5wcmltaXRpdmUuY29sbGVjdGlvbi5Gcm96ZW5BcnJheUludFNldOdeJyO4BD72AgAD"
+				+ "SQAEZnJvbUkAAnRvWwAFZmllbGR0AAJbSXhyAD5jb20ubGV0aGVfcml2ZXIudXRpbC5wcmltaXRpdmUuY29sbGVjdGlvbi5BYnN0cmFj"
+				+ "dEludFNvcnRlZFNldCVjXNWORqOmAgAAeHIAOGNvbS5sZXRoZV9yaXZlci51dGlsLnByaW1pdGl2ZS5jb2xsZWN0aW9uLkFic3RyYWN0"
+				+ "SW50U2V06UB6aPF1Lt4CAAB4cgA/Y29tLmxldGhlX3JpdmVyLnV0aWwucHJpbWl0aXZlLmNvbGxlY3Rpb24uQWJzdHJhY3RJbnRDb2xs"
+				+ "ZWN0aW9uo7qkRAahna0CAAB4cAAAAAAAAAAEdXIAAltJTbpgJnbqsqUCAAB4cAAAAAT////9AAAAAQAAAAUAAAAJ");
+		try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(old))) {
+			assertEquals(FrozenArrayIntSet.of(-3, 1, 5, 9), ois.readObject());
+		}
+	}
+
+	/**
+	 * TreeSetを包んだLongSortedSet
+	 */
+	private static class TreeLongSet extends AbstractLongSet implements LongSortedSet {
+		private static final long serialVersionUID = 1L;
+
+		private final TreeSet<Long> elements;
+
+		TreeLongSet(TreeSet<Long> elements) {
+			this.elements = elements;
+		}
+
+		@Override
+		public int size() {
+			return elements.size();
+		}
+
+		@Override
+		public PrimitiveIterator.OfLong iterator() {
+			Iterator<Long> i = elements.iterator();
+			return new PrimitiveIterator.OfLong() {
+				@Override
+				public boolean hasNext() {
+					return i.hasNext();
+				}
+
+				@Override
+				public long nextLong() {
+					return i.next();
+				}
+			};
+		}
+
+		@Override
+		public long first() {
+			return elements.first();
+		}
+
+		@Override
+		public long last() {
+			return elements.last();
+		}
+
+		@Override
+		public LongSortedSet subSet(long from, long to) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public LongSortedSet headSet(long to) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public LongSortedSet tailSet(long from) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public SortedSet<Long> boxedView() {
+			return elements;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.lethe_river.util.primitive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.lethe_river.util.primitive.collection.IntSet;
+import com.lethe_river.util.primitive.collection.SwissTableIntSet;
+
+public class SwissTableIntSetTest {
+	@Test
+	public void test() {
+		Set<Integer> oracle = new HashSet<>();
+		SwissTableIntSet testee = new SwissTableIntSet();
+
+		addSome(oracle, testee);
+
+		assertEquals(oracle.size(), testee.size());
+		assertTrue(oracle.containsAll(testee.boxedView()));
+		assertTrue(testee.stream().allMatch(i -> oracle.contains(i)));
+	}
+
+	@Test
+	public void containsTest() {
+		Set<Integer> oracle = new HashSet<>();
+		SwissTableIntSet testee = new SwissTableIntSet();
+
+		addSome(oracle, testee);
+
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 1000; i++) {
+			int e = random.nextInt(1500) - 500;
+			assertEquals(
+					oracle.contains(e),
+					testee.contains(e));
+		}
+	}
+
+	@Test
+	public void removeTest() {
+		Set<Integer> oracle = new HashSet<>();
+		SwissTableIntSet testee = new SwissTableIntSet();
+		Random random = new Random(1145141919810L);
+		for (int j = 0; j < 10; j++) {
+			for (int i = 0; i < 1000; i++) {
+				int e = random.nextInt(1000) * 3;
+				assertEquals(
+						oracle.add(e),
+						testee.add(e));
+			}
+			for (int i = 0; i < 1000; i++) {
+				int e = random.nextInt(3000);
+				assertEquals(
+						oracle.remove(e),
+						testee.remove(e));
+			}
+		}
+		assertEquals(oracle.size(), testee.size());
+		assertEquals(oracle, testee.boxedView());
+	}
+
+	@Test
+	public void iteratorRemoveTest() {
+		Set<Integer> oracle = new HashSet<>();
+		SwissTableIntSet testee = new SwissTableIntSet();
+
+		addSome(oracle, testee);
+
+		for(PrimitiveIterator.OfInt i = testee.iterator();i.hasNext();) {
+			int e = i.nextInt();
+			if(e % 2 == 0) {
+				i.remove();
+				oracle.remove(e);
+			}
+		}
+		assertEquals(oracle, testee.boxedView());
+	}
+
+	private void addSome(Set<Integer> oracle, IntSet testee) {
+		Random random = new Random(1145141919810L);
+		for (int i = 0; i < 1000; i++) {
+			int e = random.nextInt(1000) - 500;
+			oracle.add(e);
+			testee.add(e);
+		}
+	}
+}